@@ -17,7 +17,8 @@ CREATE TABLE `house` (
                          `door_number` VARCHAR(10),
                          `zip_code` VARCHAR(10),
                          `city` VARCHAR(100),
-                         `country` VARCHAR(100)
+                         `country` VARCHAR(100),
+                         `version` BIGINT NOT NULL DEFAULT 0
 );
 
 -- Create room table
@@ -28,6 +29,7 @@ CREATE TABLE `room` (
                         `height` DOUBLE,
                         `width` DOUBLE,
                         `length` DOUBLE,
+                        `version` BIGINT NOT NULL DEFAULT 0,
                         FOREIGN KEY (`houseID`) REFERENCES `house`(`houseID`)
 );
 
@@ -37,6 +39,7 @@ CREATE TABLE `device` (
                           `device_model` VARCHAR(255),
                           `device_status` VARCHAR(255),
                           `roomID` VARCHAR(255),
+                          `version` BIGINT NOT NULL DEFAULT 0,
                           FOREIGN KEY (`roomID`) REFERENCES `room`(`roomID`)
 );
 
@@ -53,6 +56,15 @@ CREATE TABLE `actuator` (
                             FOREIGN KEY (`deviceID`) REFERENCES `device`(`deviceID`)
 );
 
+-- Last value applied to each actuator by a command
+CREATE TABLE `actuator_state` (
+                                  `actuatorID` VARCHAR(255) PRIMARY KEY,
+                                  `target_value` DOUBLE NOT NULL,
+                                  `commandID` VARCHAR(255),
+                                  `applied_at` TIMESTAMP,
+                                  FOREIGN KEY (`actuatorID`) REFERENCES `actuator`(`actuatorID`)
+);
+
 -- Create sensor table
 CREATE TABLE `sensor`  (
                            `sensorID` VARCHAR(255) PRIMARY KEY,
@@ -65,6 +77,7 @@ CREATE TABLE `instant_time_value` (
                                       `valueID` VARCHAR(255) PRIMARY KEY,
                                       `measurement` VARCHAR(255) NOT NULL,
                                       `unit` VARCHAR(50) NOT NULL,
+                                      `numeric_measurement` DOUBLE,
                                       `instant_time` TIMESTAMP NOT NULL,
                                       `sensorID` VARCHAR(255) NOT NULL,
                                       FOREIGN KEY (`sensorID`) REFERENCES `sensor`(`sensorID`)
@@ -74,6 +87,7 @@ CREATE TABLE `instant_time_location_value` (
                                                `valueID` VARCHAR(255) PRIMARY KEY,
                                                `measurement` VARCHAR(255) NOT NULL,
                                                `unit` VARCHAR(50) NOT NULL,
+                                               `numeric_measurement` DOUBLE,
                                                `instant_time` TIMESTAMP NOT NULL,
                                                `latitude` DOUBLE NOT NULL,
                                                `longitude` DOUBLE NOT NULL,
@@ -85,12 +99,42 @@ CREATE TABLE `period_time_value` (
                                      `valueID` VARCHAR(255) PRIMARY KEY,
                                      `measurement` VARCHAR(255) NOT NULL,
                                      `unit` VARCHAR(50) NOT NULL,
+                                     `numeric_measurement` DOUBLE,
                                      `start_time` TIMESTAMP NOT NULL,
                                      `end_time` TIMESTAMP NOT NULL,
                                      `sensorID` VARCHAR(255) NOT NULL,
                                      FOREIGN KEY (`sensorID`) REFERENCES `sensor`(`sensorID`)
 );
 
+-- Indexes serving the per-sensor value queries: by sensor and time range, latest value of a sensor, and keyset pages
+-- ordered by time and valueID. They match the @Index definitions of the value data models.
+CREATE INDEX `idx_instant_time_value_sensor_time` ON `instant_time_value` (`sensorID`, `instant_time` DESC, `valueID` DESC);
+CREATE INDEX `idx_instant_time_location_value_sensor_time` ON `instant_time_location_value` (`sensorID`, `instant_time` DESC, `valueID` DESC);
+CREATE INDEX `idx_period_time_value_sensor_period` ON `period_time_value` (`sensorID`, `start_time`, `valueID`, `end_time`);
+
+-- Per-sensor aggregates of the numeric readings, by resolution and bucket; filled on ingestion and backfilled on startup
+CREATE TABLE `value_rollup` (
+                                `rollupID` VARCHAR(255) PRIMARY KEY,
+                                `sensorID` VARCHAR(255) NOT NULL,
+                                `resolution` VARCHAR(50) NOT NULL,
+                                `bucket_start` TIMESTAMP NOT NULL,
+                                `unit` VARCHAR(50) NOT NULL,
+                                `minimum` DOUBLE NOT NULL,
+                                `maximum` DOUBLE NOT NULL,
+                                `total` DOUBLE NOT NULL,
+                                `reading_count` BIGINT NOT NULL,
+                                FOREIGN KEY (`sensorID`) REFERENCES `sensor`(`sensorID`)
+);
+
+CREATE INDEX `idx_value_rollup_sensor_resolution_bucket` ON `value_rollup` (`sensorID`, `resolution`, `bucket_start`);
+
+-- Sensors whose rollups were backfilled, including those whose readings produce no rollup
+CREATE TABLE `value_rollup_backfill` (
+                                         `sensorID` VARCHAR(255) PRIMARY KEY,
+                                         `backfilled_at` TIMESTAMP NOT NULL,
+                                         FOREIGN KEY (`sensorID`) REFERENCES `sensor`(`sensorID`)
+);
+
 -- Insert initial data into house table
 INSERT INTO `house` (`houseID`, `latitude`, `longitude`, `street`, `door_number`, `zip_code`, `city`, `country`) VALUES
     ('House001', 50.7958, -4.2596, 'Rua do Amial', '123', '4435-123', 'Porto', 'Portugal');
@@ -152,42 +196,42 @@ INSERT INTO `sensor` (`sensorID`, `sensor_functionalityid`, `deviceID`) VALUES
                                                                             ('Sensor017', 'Scale', 'BlindRoller02');
 
 -- Insert initial data into InstantTimeValue table
-INSERT INTO `instant_time_value` (`valueID`, `measurement`, `unit`, `instant_time`, `sensorID`) VALUES
-                                                                                                   ('Consumption13Value1', '10', 'W', '2024-04-01 12:00:00', 'Sensor013'),
-                                                                                                   ('Consumption13Value2', '20', 'W', '2024-04-01 12:21:00', 'Sensor013'),
-                                                                                                   ('Consumption14Value1', '30', 'W', '2024-04-01 12:35:00', 'Sensor014'),
-                                                                                                   ('InsideTemperatureValue1', '20', 'ºC', '2024-04-15 08:00:00', 'Sensor001'),
-                                                                                                   ('InsideTemperatureValue2', '20', 'ºC', '2024-04-15 10:00:00', 'Sensor001'),
-                                                                                                   ('InsideTemperatureValue3', '20', 'ºC', '2024-04-15 12:00:00', 'Sensor001'),
-                                                                                                   ('InsideTemperatureValue4', '20', 'ºC', '2024-04-15 14:00:00', 'Sensor001'),
-                                                                                                   ('InsideTemperatureValue5', '20', 'ºC', '2024-04-15 16:00:00', 'Sensor001'),
-                                                                                                   ('OutsideTemperatureValue1', '14', 'ºC', '2024-04-15 08:00:00', 'Sensor007'),
-                                                                                                   ('OutsideTemperatureValue2', '17', 'ºC', '2024-04-15 09:30:00', 'Sensor007'),
-                                                                                                   ('OutsideTemperatureValue3', '18', 'ºC', '2024-04-15 10:50:00', 'Sensor007'),
-                                                                                                   ('OutsideTemperatureValue4', '22', 'ºC', '2024-04-15 12:35:00', 'Sensor007'),
-                                                                                                   ('OutsideTemperatureValue5', '24', 'ºC', '2024-04-15 14:05:00', 'Sensor007'),
-                                                                                                   ('OutsideTemperatureValue6', '24', 'ºC', '2024-04-15 15:30:00', 'Sensor007'),
-                                                                                                   ('OutsideTemperatureValue7', '21', 'ºC', '2024-04-15 17:00:00', 'Sensor007'),
-                                                                                                   ('OutsideTemperatureValue8', '18', 'ºC', '2024-04-15 18:45:00', 'Sensor007'),
-                                                                                                   ('OutsideTemperatureValue9', '16', 'ºC', '2024-04-15 20:00:00', 'Sensor007'),
-                                                                                                   ('Blinder11Value1', '50', '%', '2024-04-15 20:00:00', 'Sensor011'),
-                                                                                                   ('HumidityValue1', '15', '%','2024-04-15 16:30:00', 'Sensor015'),
-                                                                                                   ('HumidityValue2', '35', '%','2024-04-15 18:30:00', 'Sensor015'),
-                                                                                                   ('Blinder16Value1', '20', '%', '2024-04-20 10:00:00', 'Sensor016'),
-                                                                                                   ('Blinder17Value1', '100', '%', '2024-04-21 09:00:00', 'Sensor017'),
-                                                                                                   ('Blinder17Value2', '70', '%', '2024-04-21 12:00:00', 'Sensor017');
+INSERT INTO `instant_time_value` (`valueID`, `measurement`, `unit`, `numeric_measurement`, `instant_time`, `sensorID`) VALUES
+                                                                                                   ('Consumption13Value1', '10', 'W', 10, '2024-04-01 12:00:00', 'Sensor013'),
+                                                                                                   ('Consumption13Value2', '20', 'W', 20, '2024-04-01 12:21:00', 'Sensor013'),
+                                                                                                   ('Consumption14Value1', '30', 'W', 30, '2024-04-01 12:35:00', 'Sensor014'),
+                                                                                                   ('InsideTemperatureValue1', '20', 'ºC', 20, '2024-04-15 08:00:00', 'Sensor001'),
+                                                                                                   ('InsideTemperatureValue2', '20', 'ºC', 20, '2024-04-15 10:00:00', 'Sensor001'),
+                                                                                                   ('InsideTemperatureValue3', '20', 'ºC', 20, '2024-04-15 12:00:00', 'Sensor001'),
+                                                                                                   ('InsideTemperatureValue4', '20', 'ºC', 20, '2024-04-15 14:00:00', 'Sensor001'),
+                                                                                                   ('InsideTemperatureValue5', '20', 'ºC', 20, '2024-04-15 16:00:00', 'Sensor001'),
+                                                                                                   ('OutsideTemperatureValue1', '14', 'ºC', 14, '2024-04-15 08:00:00', 'Sensor007'),
+                                                                                                   ('OutsideTemperatureValue2', '17', 'ºC', 17, '2024-04-15 09:30:00', 'Sensor007'),
+                                                                                                   ('OutsideTemperatureValue3', '18', 'ºC', 18, '2024-04-15 10:50:00', 'Sensor007'),
+                                                                                                   ('OutsideTemperatureValue4', '22', 'ºC', 22, '2024-04-15 12:35:00', 'Sensor007'),
+                                                                                                   ('OutsideTemperatureValue5', '24', 'ºC', 24, '2024-04-15 14:05:00', 'Sensor007'),
+                                                                                                   ('OutsideTemperatureValue6', '24', 'ºC', 24, '2024-04-15 15:30:00', 'Sensor007'),
+                                                                                                   ('OutsideTemperatureValue7', '21', 'ºC', 21, '2024-04-15 17:00:00', 'Sensor007'),
+                                                                                                   ('OutsideTemperatureValue8', '18', 'ºC', 18, '2024-04-15 18:45:00', 'Sensor007'),
+                                                                                                   ('OutsideTemperatureValue9', '16', 'ºC', 16, '2024-04-15 20:00:00', 'Sensor007'),
+                                                                                                   ('Blinder11Value1', '50', '%', 50, '2024-04-15 20:00:00', 'Sensor011'),
+                                                                                                   ('HumidityValue1', '15', '%', 15, '2024-04-15 16:30:00', 'Sensor015'),
+                                                                                                   ('HumidityValue2', '35', '%', 35, '2024-04-15 18:30:00', 'Sensor015'),
+                                                                                                   ('Blinder16Value1', '20', '%', 20, '2024-04-20 10:00:00', 'Sensor016'),
+                                                                                                   ('Blinder17Value1', '100', '%', 100, '2024-04-21 09:00:00', 'Sensor017'),
+                                                                                                   ('Blinder17Value2', '70', '%', 70, '2024-04-21 12:00:00', 'Sensor017');
 
 -- Insert initial data into InstantTimeLocationValue table
-INSERT INTO `instant_time_location_value` (`valueID`, `measurement`, `unit`, `instant_time`, `latitude`, `longitude`, `sensorID`) VALUES
-                                                                                                                                     ('Sunrise1', '07:08', 'h', '2024-04-15 07:08:00', 50.7958, -4.2596, 'Sensor003'),
-                                                                                                                                     ('Sunrise2', '06:55', 'h', '2024-05-15 06:55:00', 50.7958, -4.2596, 'Sensor003'),
-                                                                                                                                     ('Sunrise3', '06:25', 'h', '2024-06-05 06:25:00', 50.7958, -4.2596, 'Sensor003'),
-                                                                                                                                     ('Sunrise4', '05:58', 'h', '2024-07-04 05:58:00', 50.7958, -4.2596, 'Sensor003'),
-                                                                                                                                     ('Sunset1', '18:45', 'h', '2024-04-15 18:45:00', 50.7958, -4.2596, 'Sensor004'),
-                                                                                                                                     ('Sunset2', '19:15', 'h', '2024-05-15 19:15:00', 50.7958, -4.2596, 'Sensor004'),
-                                                                                                                                     ('Sunset3', '20:15', 'h', '2024-06-05 20:15:00', 50.7958, -4.2596, 'Sensor004'),
-                                                                                                                                     ('Sunset4', '21:00', 'h', '2024-07-04 21:00:00', 50.7958, -4.2596, 'Sensor004');
+INSERT INTO `instant_time_location_value` (`valueID`, `measurement`, `unit`, `numeric_measurement`, `instant_time`, `latitude`, `longitude`, `sensorID`) VALUES
+                                                                                                                                     ('Sunrise1', '07:08', 'h', NULL, '2024-04-15 07:08:00', 50.7958, -4.2596, 'Sensor003'),
+                                                                                                                                     ('Sunrise2', '06:55', 'h', NULL, '2024-05-15 06:55:00', 50.7958, -4.2596, 'Sensor003'),
+                                                                                                                                     ('Sunrise3', '06:25', 'h', NULL, '2024-06-05 06:25:00', 50.7958, -4.2596, 'Sensor003'),
+                                                                                                                                     ('Sunrise4', '05:58', 'h', NULL, '2024-07-04 05:58:00', 50.7958, -4.2596, 'Sensor003'),
+                                                                                                                                     ('Sunset1', '18:45', 'h', NULL, '2024-04-15 18:45:00', 50.7958, -4.2596, 'Sensor004'),
+                                                                                                                                     ('Sunset2', '19:15', 'h', NULL, '2024-05-15 19:15:00', 50.7958, -4.2596, 'Sensor004'),
+                                                                                                                                     ('Sunset3', '20:15', 'h', NULL, '2024-06-05 20:15:00', 50.7958, -4.2596, 'Sensor004'),
+                                                                                                                                     ('Sunset4', '21:00', 'h', NULL, '2024-07-04 21:00:00', 50.7958, -4.2596, 'Sensor004');
 -- Insert initial data into PeriodTimeValue table
-INSERT INTO `period_time_value` (`valueID`, `measurement`, `unit`, `start_time`, `end_time`, `sensorID`) VALUES
-                                                                                                           ('GridValue1', '50', 'W', '2024-04-01 12:15:00', '2024-04-01 12:30:00', 'Sensor012'),
-                                                                                                           ('GridValue2', '60', 'W', '2024-04-01 12:30:00', '2024-04-01 12:45:00', 'Sensor012');
\ No newline at end of file
+INSERT INTO `period_time_value` (`valueID`, `measurement`, `unit`, `numeric_measurement`, `start_time`, `end_time`, `sensorID`) VALUES
+                                                                                                           ('GridValue1', '50', 'W', 50, '2024-04-01 12:15:00', '2024-04-01 12:30:00', 'Sensor012'),
+                                                                                                           ('GridValue2', '60', 'W', 60, '2024-04-01 12:30:00', '2024-04-01 12:45:00', 'Sensor012');
\ No newline at end of file
@@ -4,14 +4,21 @@ import org.springframework.hateoas.Link;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import smarthome.domain.valueobjects.ActuatorCommandID;
 import smarthome.domain.valueobjects.ActuatorFunctionalityID;
 import smarthome.domain.valueobjects.ActuatorID;
 import smarthome.domain.valueobjects.ActuatorProperties;
 import smarthome.domain.valueobjects.DeviceID;
+import smarthome.mapper.ActuatorCommandDTO;
 import smarthome.mapper.ActuatorDTO;
 import smarthome.mapper.AssemblerActuatorProperties;
+import smarthome.service.ActuatorCommandService;
 import smarthome.service.ActuatorService;
+import smarthome.service.internaldto.InternalActuatorCommandDTO;
 import smarthome.service.internaldto.InternalActuatorDTO;
+import smarthome.util.exceptions.ActuatorNotFoundException;
+
+import java.util.Optional;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 
@@ -29,15 +36,23 @@ public class ActuatorControllerWeb {
 	 */
 	private AssemblerActuatorProperties assemblerActuatorProperties;
 
+	/**
+	 * ActuatorCommandService instance that queues the commands sent to actuators.
+	 */
+	private ActuatorCommandService actuatorCommandService;
+
 	/**
 	 * Constructs a new ActuatorWebController with the specified services.
 	 *
 	 * @param actuatorService The ActuatorService instance for actuator-related operations.
 	 * @param assemblerActuatorProperties The Assembler Actuator Properties instance for handling Actuator properties conversion.
+	 * @param actuatorCommandService The ActuatorCommandService instance that queues the commands sent to actuators.
 	 */
-	public ActuatorControllerWeb(ActuatorService actuatorService, AssemblerActuatorProperties assemblerActuatorProperties) {
+	public ActuatorControllerWeb(ActuatorService actuatorService, AssemblerActuatorProperties assemblerActuatorProperties,
+								 ActuatorCommandService actuatorCommandService) {
 		this.actuatorService = actuatorService;
 		this.assemblerActuatorProperties = assemblerActuatorProperties;
+		this.actuatorCommandService = actuatorCommandService;
 	}
 
 	/**
@@ -105,4 +120,56 @@ public class ActuatorControllerWeb {
 			return new ResponseEntity<>(e.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Method to queue a command setting an actuator to a value. The actuatorID is passed as a path variable and the
+	 * value in the request body. The request returns as soon as the command is queued; a newer command for the same
+	 * actuator sent before this one is applied replaces it.
+	 *
+	 * @param actuatorID The unique identifier of the actuator.
+	 * @param commandDTO The ActuatorCommandDTO holding the value to set the actuator to.
+	 * @return ResponseEntity with the queued ActuatorCommandDTO, linked to its status, and HttpStatus.ACCEPTED.
+	 *         ResponseEntity with the error message and HttpStatus.NOT_FOUND if the actuator is not found.
+	 *         ResponseEntity with the error message and HttpStatus.UNPROCESSABLE_ENTITY if the request is invalid.
+	 */
+	@PostMapping("/{id}/commands")
+	public ResponseEntity<Object> sendCommandToActuator(@PathVariable("id") String actuatorID, @RequestBody ActuatorCommandDTO commandDTO) {
+		try {
+			ActuatorCommandID commandID = actuatorCommandService.enqueueCommand(new ActuatorID(actuatorID), commandDTO.value);
+
+			ActuatorCommandDTO queuedCommandDTO = new ActuatorCommandDTO(commandID.toString(), actuatorID, commandDTO.value, "PENDING");
+			queuedCommandDTO.add(linkTo(ActuatorControllerWeb.class).slash("commands").slash(queuedCommandDTO.commandID).withSelfRel());
+
+			return new ResponseEntity<>(queuedCommandDTO, HttpStatus.ACCEPTED);
+		} catch (ActuatorNotFoundException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+		} catch (RuntimeException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+		}
+	}
+
+	/**
+	 * Method to poll the progress of a command queued for an actuator. The commandID is passed as a path variable.
+	 *
+	 * @param commandID The unique identifier of the command.
+	 * @return ResponseEntity with the ActuatorCommandDTO and HttpStatus.OK if the command is known.
+	 *         ResponseEntity with HttpStatus.NOT_FOUND if the command is unknown or finished too long ago.
+	 *         ResponseEntity with the error message and HttpStatus.UNPROCESSABLE_ENTITY if the commandID is invalid.
+	 */
+	@GetMapping("/commands/{commandId}")
+	public ResponseEntity<Object> getActuatorCommand(@PathVariable("commandId") String commandID) {
+		try {
+			Optional<InternalActuatorCommandDTO> command = actuatorCommandService.findCommand(new ActuatorCommandID(commandID));
+			if (command.isEmpty())
+				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+
+			ActuatorCommandDTO commandDTO = new ActuatorCommandDTO(commandID, command.get().actuatorID.toString(),
+					command.get().value, command.get().status.name());
+			commandDTO.add(linkTo(ActuatorControllerWeb.class).slash("commands").slash(commandID).withSelfRel());
+
+			return new ResponseEntity<>(commandDTO, HttpStatus.OK);
+		} catch (RuntimeException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+		}
+	}
+}
@@ -160,7 +160,7 @@ public class ActuatorFunctionalityControllerWeb {
 
                         // Add a self link for each device
                         Link deviceLink = linkTo(methodOn(DeviceControllerWeb.class)
-                                .getObjectByDeviceID(entry.getKey().toString(),null,null, null))
+                                .getObjectByDeviceID(entry.getKey().toString(),null,null, null, null))
                                 .withRel("self");
                         entityModel.add(deviceLink);
 
@@ -1,16 +1,29 @@
 package smarthome.controllerweb;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.Link;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import smarthome.domain.sensor.Sensor;
+import smarthome.domain.value.Value;
 import smarthome.domain.valueobjects.*;
 import smarthome.mapper.*;
 import smarthome.service.*;
 import smarthome.service.internaldto.InternalDeviceDTO;
+import smarthome.service.internaldto.InternalReadingPageDTO;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -28,6 +41,13 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping(path = "/devices")
 public class DeviceControllerWeb {
 
+    /**
+     * Writer of the lines of a streamed measurement listing, leaving the response open after each line.
+     */
+    private static final ObjectWriter NDJSON_WRITER = new ObjectMapper()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .writerFor(DeviceReadingDTO.class);
+
     /**
      * DeviceService instance to interact with device-related operations.
      */
@@ -137,6 +157,27 @@ public class DeviceControllerWeb {
         }
     }
 
+    /**
+     * Method to ingest a batch of readings for the sensors of a device.
+     * All readings are validated before any of them is persisted, and they are written in batches.
+     *
+     * @param deviceName  The device identification representing the device.
+     * @param newReadings List of NewReadingDTO with the readings to ingest.
+     * @return ResponseEntity containing the number of readings persisted if successful, otherwise an error message.
+     */
+    @PostMapping("/{id}/readings:batch")
+    public ResponseEntity<Object> addReadingsToDevice(@PathVariable("id") String deviceName,
+                                                      @RequestBody List<NewReadingDTO> newReadings) {
+        try {
+            DeviceID deviceID = new DeviceID(deviceName);
+            int savedReadings = valueService.addReadingsToDevice(deviceID, mapperReading.newReadingsToInternalDTOList(newReadings));
+
+            return new ResponseEntity<>(savedReadings, HttpStatus.CREATED);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+    }
+
     /**
      * Method to get a list by a chosen sensor functionality.
      * Method to get a list of sensors by device ID.
@@ -288,17 +329,22 @@ public class DeviceControllerWeb {
      * @param givenStart LocalDateTime object representing the start of the "given period".
      * @param givenEnd   LocalDateTime object representing the end of the "given period".
      * @param sensorFunctionality   String that represents the sensor functionality ID.
-     * @return Map with SensorFunctionalityDTO as key and List of ReadingDTO as value.
+     * @param resolution Maximum number of points per sensor. When given along with the period, the readings are
+     *                   returned as rollups of the finest resolution that fits the period in that many points.
+     * @return Map with SensorFunctionalityDTO as key and List of ReadingDTO (or ValueRollupDTO) as value.
      * Return the DeviceDTO with associated links.
      */
     @GetMapping("/{id}")
     public ResponseEntity<Object> getObjectByDeviceID(@PathVariable("id") String deviceName,
                                                       @RequestParam(name = "givenStart", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime givenStart,
                                                       @RequestParam(name = "givenEnd", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime givenEnd,
-                                                      @RequestParam(name = "functionality", required = false) String sensorFunctionality
+                                                      @RequestParam(name = "functionality", required = false) String sensorFunctionality,
+                                                      @RequestParam(name = "resolution", required = false) Integer resolution
     ) {
         try {
-            if (givenStart != null && givenEnd != null)
+            if (givenStart != null && givenEnd != null && resolution != null)
+                return listRollupsOfDeviceInPeriod(deviceName, givenStart, givenEnd, resolution);
+            else if (givenStart != null && givenEnd != null)
                 return listAllMeasurementsOfDeviceInPeriod(deviceName, givenStart, givenEnd);
             else if (sensorFunctionality != null)
                 return getCurrentMeasurementOfADeviceByID(deviceName, sensorFunctionality);
@@ -309,6 +355,122 @@ public class DeviceControllerWeb {
         }
     }
 
+    /**
+     * Method to get all values for all sensors present within a device, within a given period, as columnar series.
+     * Chosen over getObjectByDeviceID when shape=columnar is given. Each sensor functionality is a ColumnarSeriesDTO with
+     * parallel arrays of timestamps and values and its unit stated once, which keeps the repeated keys and units of the
+     * per-reading shape out of the payload, in JSON or in CBOR when the client accepts application/cbor.
+     *
+     * @param deviceName String that represents the ID of the device.
+     * @param givenStart LocalDateTime object representing the start of the "given period".
+     * @param givenEnd   LocalDateTime object representing the end of the "given period".
+     * @return ResponseEntity with the list of ColumnarSeriesDTO and HTTP status OK, or the error message and HTTP status
+     * UNPROCESSABLE_ENTITY.
+     */
+    @GetMapping(path = "/{id}", params = {"givenStart", "givenEnd", "shape=columnar"})
+    public ResponseEntity<Object> listColumnarMeasurementsOfDeviceInPeriod(@PathVariable("id") String deviceName,
+                                                                           @RequestParam(name = "givenStart") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime givenStart,
+                                                                           @RequestParam(name = "givenEnd") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime givenEnd
+    ) {
+        try {
+            Map<SensorFunctionalityID, List<Value>> values = valueService.getAllValuesForDeviceBetweenPeriod(
+                    new DeviceID(deviceName), Timestamp.valueOf(givenStart), Timestamp.valueOf(givenEnd));
+
+            return new ResponseEntity<>(mapperReading.valuesToColumnarSeriesDTOList(values), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+    }
+
+    /**
+     * Method to get a page of the values of all sensors present within a device, within a given period, ordered by time.
+     * Chosen over getObjectByDeviceID when a limit is given. The page carries a "next" link with the opaque cursor of
+     * the following page, unless it is the last one; each page is sought from its cursor, so following the links costs
+     * the same on every page.
+     *
+     * @param deviceName String that represents the ID of the device.
+     * @param givenStart LocalDateTime object representing the start of the "given period".
+     * @param givenEnd   LocalDateTime object representing the end of the "given period".
+     * @param limit      Maximum number of readings in the page.
+     * @param cursor     Opaque cursor from the "next" link of the previous page, or null for the first page.
+     * @return ResponseEntity with the ReadingPageDTO and HTTP status OK, or the error message and HTTP status
+     * UNPROCESSABLE_ENTITY if the limit or the cursor is not valid.
+     */
+    @GetMapping(path = "/{id}", params = {"givenStart", "givenEnd", "limit"})
+    public ResponseEntity<Object> listMeasurementsPageOfDeviceInPeriod(@PathVariable("id") String deviceName,
+                                                                       @RequestParam(name = "givenStart") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime givenStart,
+                                                                       @RequestParam(name = "givenEnd") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime givenEnd,
+                                                                       @RequestParam(name = "limit") int limit,
+                                                                       @RequestParam(name = "cursor", required = false) String cursor
+    ) {
+        try {
+            ValueCursor after = cursor == null ? null : mapperReading.tokenToCursor(cursor);
+            InternalReadingPageDTO page = valueService.getMeasurementsPageForDeviceBetweenPeriod(
+                    new DeviceID(deviceName), Timestamp.valueOf(givenStart), Timestamp.valueOf(givenEnd), after, limit);
+
+            ReadingPageDTO pageDTO = mapperReading.readingPageToDTO(page);
+            pageDTO.add(linkTo(methodOn(DeviceControllerWeb.class)
+                    .listMeasurementsPageOfDeviceInPeriod(deviceName, givenStart, givenEnd, limit, cursor)).withSelfRel());
+            if (page.nextCursor != null) {
+                pageDTO.add(linkTo(methodOn(DeviceControllerWeb.class)
+                        .listMeasurementsPageOfDeviceInPeriod(deviceName, givenStart, givenEnd, limit,
+                                mapperReading.cursorToToken(page.nextCursor))).withRel("next"));
+            }
+            return new ResponseEntity<>(pageDTO, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+    }
+
+    /**
+     * Method to stream all values for all sensors present within a device, within a given period, as newline-delimited
+     * JSON (one DeviceReadingDTO per line). Chosen over getObjectByDeviceID only when the client explicitly accepts
+     * application/x-ndjson; requests accepting any media type keep getting the JSON document.
+     * Readings are written to the response as they are read from the repositories, so neither the server nor the
+     * client has to hold the whole period in memory. The device and its sensors are resolved and checked before the
+     * response is returned, so only the reading of the rows is deferred to the body.
+     *
+     * @param deviceName String that represents the ID of the device.
+     * @param givenStart LocalDateTime object representing the start of the "given period".
+     * @param givenEnd   LocalDateTime object representing the end of the "given period".
+     * @return ResponseEntity with the body writing one DeviceReadingDTO line per reading, or with HTTP code
+     * UNPROCESSABLE_ENTITY and the error message if the device ID or a sensor's functionality is not valid.
+     */
+    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllMeasurementsOfDeviceInPeriod(@PathVariable("id") String deviceName,
+                                                                                       @RequestParam(name = "givenStart") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime givenStart,
+                                                                                       @RequestParam(name = "givenEnd") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime givenEnd
+    ) {
+        Timestamp start = Timestamp.valueOf(givenStart);
+        Timestamp end = Timestamp.valueOf(givenEnd);
+        List<Sensor> sensors;
+        try {
+            sensors = valueService.findStreamableSensorsOfDevice(new DeviceID(deviceName));
+        } catch (RuntimeException e) {
+            String message = String.valueOf(e.getMessage());
+            return ResponseEntity.unprocessableEntity().contentType(MediaType.TEXT_PLAIN)
+                    .body(outputStream -> outputStream.write(message.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream bufferedOutput = new BufferedOutputStream(outputStream);
+            try {
+                valueService.streamMeasurementsOfSensorsBetweenPeriod(sensors, start, end, (sensorFunctionalityID, reading) -> {
+                    try {
+                        NDJSON_WRITER.writeValue(bufferedOutput, mapperReading.readingToDeviceReadingDTO(sensorFunctionalityID, reading));
+                        bufferedOutput.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            bufferedOutput.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * Method to get all values for all sensors present within a device, within a given period.
      * If no device is found/no sensors are found/no values within period are found, list will be empty.
@@ -334,6 +496,34 @@ public class DeviceControllerWeb {
     }
 
 
+    /**
+     * Method to get the rollups of the readings of all sensors present within a device, within a given period.
+     * The rollup resolution is the finest one that keeps each sensor within the given number of points.
+     *
+     * @param deviceIDString String that represents the ID of the device.
+     * @param givenStart     LocalDateTime object representing the start of the "given period".
+     * @param givenEnd       LocalDateTime object representing the end of the "given period".
+     * @param pointLimit     Maximum number of points per sensor.
+     * @return Map with SensorFunctionalityDTO as key and List of ValueRollupDTO, ordered by bucket start, as value.
+     */
+    private ResponseEntity<Object> listRollupsOfDeviceInPeriod(String deviceIDString, LocalDateTime givenStart,
+                                                               LocalDateTime givenEnd, int pointLimit) {
+        Timestamp start = Timestamp.valueOf(givenStart);
+        Timestamp end = Timestamp.valueOf(givenEnd);
+
+        DeviceID deviceID = new DeviceID(deviceIDString);
+        Map<SensorFunctionalityID, List<ValueRollup>> rollups =
+                valueService.getRollupsForDeviceBetweenPeriod(deviceID, start, end, pointLimit);
+
+        Map<SensorFunctionalityDTO, List<ValueRollupDTO>> convertedDTOMap = new HashMap<>();
+        for (Map.Entry<SensorFunctionalityID, List<ValueRollup>> entry : rollups.entrySet()) {
+            convertedDTOMap.put(mapperSensorFunctionality.sensorFunctionalityToDTO(entry.getKey()),
+                    mapperReading.rollupsToDTOList(entry.getValue()));
+        }
+
+        return new ResponseEntity<>(convertedDTOMap, HttpStatus.OK);
+    }
+
     /**
      * Helper method to convert Map<SensorFunctionalityID, List<Reading>> resulting from the service call to
      * Map<SensorFunctionalityDTO, List<ReadingDTO> containing the DTO objects.
@@ -14,6 +14,7 @@ import smarthome.service.internaldto.InternalHouseDTO;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -58,6 +59,11 @@ public class HouseControllerWeb {
      */
     private final WeatherAPIService weatherAPIService;
 
+    /**
+     * CloseBlindRollerService instance.
+     */
+    private final CloseBlindRollerService closeBlindRollerService;
+
     /**
      * RoomMapperDTO responsible for converting room-related data transfer objects (DTOs).
      */
@@ -92,6 +98,7 @@ public class HouseControllerWeb {
      * @param sensorFunctionalityMapperDTO      The mapper responsible for converting sensorFunctionality-related DTOs.
      * @param valueService                      The service layer to interact with for value-related operations.
      * @param weatherAPIService                 The service layer to interact with for weather service-related operations.
+     * @param closeBlindRollerService           The service layer to set the blind rollers of the house.
      */
     public HouseControllerWeb(HouseService houseService,
                               RoomService roomService,
@@ -103,7 +110,8 @@ public class HouseControllerWeb {
                               ActuatorFunctionalityMapperDTO actuatorFunctionalityMapperDTO,
                               SensorFunctionalityMapperDTO sensorFunctionalityMapperDTO,
                               ValueService valueService,
-                              WeatherAPIService weatherAPIService) {
+                              WeatherAPIService weatherAPIService,
+                              CloseBlindRollerService closeBlindRollerService) {
         this.houseService = houseService;
         this.roomService = roomService;
         this.deviceService = deviceService;
@@ -115,6 +123,7 @@ public class HouseControllerWeb {
         this.sensorFunctionalityMapperDTO = sensorFunctionalityMapperDTO;
         this.valueService = valueService;
         this.weatherAPIService = weatherAPIService;
+        this.closeBlindRollerService = closeBlindRollerService;
     }
 
     /**
@@ -227,6 +236,32 @@ public class HouseControllerWeb {
         }
     }
 
+    /**
+     * Sets the close percentage of every blind roller in the house in a single request.
+     * @param houseIDstr      String representing the house ID.
+     * @param closePercentage The close percentage to set, from 0 to 100%.
+     * @return ResponseEntity containing, for the name of each blind roller in the house, whether it was set, if
+     * successful.
+     */
+    @PatchMapping(path = "/{id}/blinds", params = "closePercentage")
+    //http://localhost:8080/api/house/House001/blinds?closePercentage=100
+    public ResponseEntity<Object> closeBlindRollersInHouse(@PathVariable("id") String houseIDstr,
+                                                           @RequestParam int closePercentage) {
+        try {
+            HouseID houseID = new HouseID(houseIDstr);
+            ActuatorFunctionalityID actuatorFunctionalityID = new ActuatorFunctionalityID("BlindSetter");
+
+            Map<DeviceID, Boolean> results = closeBlindRollerService.setActuatorStateOfBlindRollersInHouse(houseID,
+                    actuatorFunctionalityID, closePercentage);
+
+            Map<String, Boolean> resultsByDeviceName = new LinkedHashMap<>();
+            results.forEach((deviceID, isSet) -> resultsByDeviceName.put(deviceID.toString(), isSet));
+            return new ResponseEntity<>(resultsByDeviceName, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+    }
+
     /**
      * Retrieves the information requested in the query parameters.
      * @param groupedByFunctionality Boolean parameter indicating whether to group devices by functionality.
@@ -11,12 +11,15 @@ import smarthome.domain.valueobjects.*;
 import smarthome.mapper.DeviceDTO;
 import smarthome.mapper.DeviceMapperDTO;
 import smarthome.mapper.RoomDTO;
+import smarthome.service.CloseBlindRollerService;
 import smarthome.service.DeviceService;
 import smarthome.service.RoomService;
 import smarthome.service.internaldto.InternalRoomDTO;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -44,19 +47,27 @@ public class RoomControllerWeb {
      */
     private DeviceMapperDTO deviceMapperDTO;
 
+    /**
+     * CloseBlindRollerService instance to set the blind rollers of a room.
+     */
+    private CloseBlindRollerService closeBlindRollerService;
+
     /**
      * Constructor for RoomControllerWeb class.
      *
      * @param roomService   The service layer responsible for handling room-related business logic.
      * @param deviceService The service layer responsible for handling device-related business logic.
      * @param deviceMapperDTO The mapper responsible for converting device-related DTOs.
+     * @param closeBlindRollerService The service layer responsible for setting the blind rollers.
      */
     public RoomControllerWeb(RoomService roomService,
                              DeviceService deviceService,
-                             DeviceMapperDTO deviceMapperDTO) {
+                             DeviceMapperDTO deviceMapperDTO,
+                             CloseBlindRollerService closeBlindRollerService) {
         this.roomService = roomService;
         this.deviceService = deviceService;
         this.deviceMapperDTO = deviceMapperDTO;
+        this.closeBlindRollerService = closeBlindRollerService;
     }
 
 
@@ -147,7 +158,7 @@ public class RoomControllerWeb {
             List<EntityModel<DeviceDTO>> deviceDTOEntities = new ArrayList<>();
             for (DeviceDTO deviceDTO : deviceDTOList) {
                 Link deviceLink = WebMvcLinkBuilder.linkTo(
-                        WebMvcLinkBuilder.methodOn(DeviceControllerWeb.class).getObjectByDeviceID(deviceDTO.deviceName, null, null, null)
+                        WebMvcLinkBuilder.methodOn(DeviceControllerWeb.class).getObjectByDeviceID(deviceDTO.deviceName, null, null, null, null)
                 ).withSelfRel();
                 EntityModel<DeviceDTO> deviceEntity = EntityModel.of(deviceDTO, deviceLink);
                 deviceDTOEntities.add(deviceEntity);
@@ -195,4 +206,30 @@ public class RoomControllerWeb {
                 return new ResponseEntity<>(e.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
             }
     }
+
+    /**
+     * Endpoint for setting the close percentage of every blind roller in a room in a single request.
+     *
+     * @param roomName        The String representing the room name.
+     * @param closePercentage The close percentage to set, from 0 to 100%.
+     * @return ResponseEntity containing, for the name of each blind roller in the room, whether it was set if
+     * successful, otherwise an error message with HttpStatus.UNPROCESSABLE_ENTITY.
+     */
+    @PatchMapping(path = "/{id}/blinds", params = "closePercentage")
+    public ResponseEntity<Object> closeBlindRollersInRoom(@PathVariable("id") String roomName,
+                                                          @RequestParam int closePercentage) {
+        try {
+            RoomID roomID = new RoomID(roomName);
+            ActuatorFunctionalityID actuatorFunctionalityID = new ActuatorFunctionalityID("BlindSetter");
+
+            Map<DeviceID, Boolean> results = closeBlindRollerService.setActuatorStateOfBlindRollersInRoom(roomID,
+                    actuatorFunctionalityID, closePercentage);
+
+            Map<String, Boolean> resultsByDeviceName = new LinkedHashMap<>();
+            results.forEach((deviceID, isSet) -> resultsByDeviceName.put(deviceID.toString(), isSet));
+            return new ResponseEntity<>(resultsByDeviceName, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+    }
 }
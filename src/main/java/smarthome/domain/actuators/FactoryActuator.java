@@ -1,35 +1,134 @@
 package smarthome.domain.actuators;
 
-import org.springframework.stereotype.Component;
 import smarthome.domain.valueobjects.ActuatorFunctionalityID;
 import smarthome.domain.valueobjects.ActuatorID;
 import smarthome.domain.valueobjects.ActuatorProperties;
 import smarthome.domain.valueobjects.DeviceID;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
- * Factory class that creates Actuator objects based on the ActuatorFunctionalityID
+ * Factory class that creates Actuator objects based on the ActuatorFunctionalityID.
+ * The constructor of every Actuator class is resolved only once, when the factory is built or when the first actuator
+ * of that class is created.
  */
-@Component
 public class FactoryActuator {
 
+    /**
+     * Type of the constructor every Actuator class must declare, as seen by the factory.
+     */
+    private static final MethodType ACTUATOR_CONSTRUCTOR = MethodType.methodType(Actuator.class,
+            ActuatorID.class, ActuatorFunctionalityID.class, ActuatorProperties.class, DeviceID.class);
+
+    /**
+     * Constructor of each Actuator class resolved so far, by fully qualified class name.
+     */
+    private final Map<String, MethodHandle> constructors;
+
+    /**
+     * Whether Actuator classes the factory was not built with are resolved the first time they are created.
+     */
+    private final boolean resolvesOnFirstUse;
+
+    /**
+     * Constructor for FactoryActuator, able to create any Actuator class.
+     * The constructor of each class is resolved the first time an actuator of that class is created.
+     */
+    public FactoryActuator() {
+        this.constructors = new ConcurrentHashMap<>();
+        this.resolvesOnFirstUse = true;
+    }
+
+    /**
+     * Constructor for FactoryActuator, able to create only the given Actuator classes.
+     *
+     * @param actuatorClasses fully qualified names of the Actuator classes.
+     * @throws IllegalArgumentException if a class does not exist, is not an Actuator or lacks the expected constructor.
+     */
+    public FactoryActuator(Collection<String> actuatorClasses) {
+        Map<String, MethodHandle> handles = new HashMap<>();
+        for (String actuatorClass : actuatorClasses) {
+            handles.put(actuatorClass, findConstructor(actuatorClass));
+        }
+        this.constructors = Map.copyOf(handles);
+        this.resolvesOnFirstUse = false;
+    }
+
+    /**
+     * Retrieves the constructor of an Actuator class, resolving it if the factory resolves classes on first use.
+     *
+     * @param actuatorClass fully qualified name of the Actuator class.
+     * @return MethodHandle of the constructor, or null if the class cannot be created by this factory.
+     */
+    private MethodHandle constructorOf(String actuatorClass) {
+        if (actuatorClass == null)
+            return null;
+
+        MethodHandle constructor = constructors.get(actuatorClass);
+        if (constructor != null || !resolvesOnFirstUse)
+            return constructor;
+
+        try {
+            constructor = findConstructor(actuatorClass);
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+        constructors.putIfAbsent(actuatorClass, constructor);
+        return constructor;
+    }
+
+    /**
+     * Resolves the constructor of an Actuator class.
+     *
+     * @param actuatorClass fully qualified name of the Actuator class.
+     * @return MethodHandle of the constructor, adapted to return an Actuator.
+     * @throws IllegalArgumentException if the class does not exist, is not an Actuator or lacks the expected constructor.
+     */
+    private static MethodHandle findConstructor(String actuatorClass) {
+        try {
+            Class<? extends Actuator> type = Class.forName(actuatorClass).asSubclass(Actuator.class);
+            return MethodHandles.lookup()
+                    .findConstructor(type, ACTUATOR_CONSTRUCTOR.changeReturnType(void.class))
+                    .asType(ACTUATOR_CONSTRUCTOR);
+        } catch (ClassNotFoundException |
+                 ClassCastException |
+                 NoSuchMethodException |
+                 IllegalAccessException exception) {
+            throw new IllegalArgumentException("Invalid actuator class: " + actuatorClass, exception);
+        }
+    }
+
+    /**
+     * Creates an Actuator object from the Actuator classes known to the factory.
+     *
+     * @param actuatorID              ID of the new actuator
+     * @param actuatorFunctionalityID ID of the actuator functionality that the actuator has
+     * @param actuatorProperties      properties of the actuator
+     * @param deviceID                ID of the device that the actuator belongs to
+     * @param actuatorClass           class that represents the path + name of Actuator class
+     * @return Actuator object if successful, null if unsuccessful.
+     */
     public Actuator createActuator(ActuatorID actuatorID,
                                    ActuatorFunctionalityID actuatorFunctionalityID,
                                    ActuatorProperties actuatorProperties,
                                    DeviceID deviceID,
                                    String actuatorClass) {
+        MethodHandle constructor = constructorOf(actuatorClass);
+        if (constructor == null)
+            return null;
+
         try {
-            return (Actuator) Class.forName(actuatorClass).getDeclaredConstructor(
-                    ActuatorID.class,
-                    ActuatorFunctionalityID.class,
-                    ActuatorProperties.class,
-                    DeviceID.class).newInstance(
-                    actuatorID,
-                    actuatorFunctionalityID,
-                    actuatorProperties,
-                    deviceID
-            );
-        } catch (Exception exception) {
+            return (Actuator) constructor.invokeExact(actuatorID, actuatorFunctionalityID, actuatorProperties, deviceID);
+        } catch (RuntimeException exception) {
             return null;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Unexpected failure creating actuator of class " + actuatorClass, throwable);
         }
     }
 }
@@ -0,0 +1,63 @@
+package smarthome.domain.gateway;
+
+import smarthome.service.internaldto.InstTemperatureDTO;
+import smarthome.service.internaldto.InstWindSpeedAndDirectionDTO;
+import smarthome.service.internaldto.MaxWindSpeedAndDirectionOverAPeriodDTO;
+import smarthome.service.internaldto.SunriseSunsetDTO;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link WeatherAPIGateway}: every request returns at once and its response completes the
+ * returned future, so several requests can be in flight in parallel.
+ * A failed request completes its future exceptionally with a WeatherAPIException.
+ */
+public interface AsyncWeatherAPIGateway {
+
+    /**
+     * Requests the /InstantaneousTemperature endpoint with the specified group number, latitude, longitude, and hour.
+     *
+     * @param groupNumber the group number to fetch the temperature for
+     * @param latitude    the latitude of the location
+     * @param longitude   the longitude of the location
+     * @param hour        the specific hour to fetch the temperature for
+     * @return future of the response containing the instantaneous temperature measurement and additional info
+     */
+    CompletableFuture<InstTemperatureDTO> getInstantaneousTemperatureAsync(int groupNumber, double latitude, double longitude, int hour);
+
+    /**
+     * Requests the /InstantaneousWindSpeedAndDirection endpoint with the specified group number, latitude, longitude,
+     * and hour.
+     *
+     * @param groupNumber the group number to fetch the wind speed and direction for
+     * @param latitude    the latitude of the location
+     * @param longitude   the longitude of the location
+     * @param hour        the specific hour to fetch the wind speed and direction for
+     * @return future of the response containing the instantaneous wind speed and direction measurement and additional info
+     */
+    CompletableFuture<InstWindSpeedAndDirectionDTO> getInstantaneousWindSpeedAndDirectionAsync(int groupNumber, double latitude, double longitude, int hour);
+
+    /**
+     * Requests the /MaximumWindSpeedAndDirectionOverAPeriod endpoint with the specified group number, latitude,
+     * longitude, start hour, and end hour.
+     *
+     * @param groupNumber the group number to fetch the maximum wind speed and direction for
+     * @param latitude    the latitude of the location
+     * @param longitude   the longitude of the location
+     * @param hourStart   the start hour of the period to fetch the maximum wind speed and direction for
+     * @param hourEnd     the end hour of the period to fetch the maximum wind speed and direction for
+     * @return future of the response containing the maximum wind speed and direction measurement and additional info
+     */
+    CompletableFuture<MaxWindSpeedAndDirectionOverAPeriodDTO> getMaximumWindSpeedAndDirectionOverAPeriodAsync(int groupNumber, double latitude, double longitude, int hourStart, int hourEnd);
+
+    /**
+     * Requests the /SunriseOrSunsetTime endpoint with the specified group number, latitude, longitude, and option.
+     *
+     * @param groupNumber the group number to fetch the hour for
+     * @param latitude    the latitude of the location
+     * @param longitude   the longitude of the location
+     * @param option      the specific option to fetch the Sunrise or Sunset
+     * @return future of the response containing the hour measurement and additional info
+     */
+    CompletableFuture<SunriseSunsetDTO> getSunriseSunsetHourAsync(int groupNumber, double latitude, double longitude, String option);
+}
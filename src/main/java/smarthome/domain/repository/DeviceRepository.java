@@ -3,45 +3,47 @@ package smarthome.domain.repository;
 import smarthome.ddd.Repository;
 import smarthome.domain.device.Device;
 import smarthome.domain.valueobjects.DeviceID;
+import smarthome.domain.valueobjects.DeviceModel;
+import smarthome.domain.valueobjects.DeviceStatus;
+import smarthome.domain.valueobjects.HouseID;
 import smarthome.domain.valueobjects.RoomID;
 
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 /**
  * Represents an interface {@code DeviceRepository} for persistence in JPA.
  */
 public interface DeviceRepository extends Repository<DeviceID, Device> {
-    /**
-     * Saves the given entity in the repository.
-     *
-     * @param device The entity to save or update.
-     * @return The saved or updated entity.
-     */
-    Device save(Device device);
 
     /**
-     * Updates the given entity in the repository.
-     *
-     * @param device The entity to update.
-     * @return The updated entity.
+     * Summary of a device, read straight from the stored columns without building the Device aggregate.
+     * @param deviceID     DeviceID of the device.
+     * @param deviceModel  DeviceModel of the device.
+     * @param deviceStatus DeviceStatus of the device.
+     * @param roomID       RoomID of the room the device is in.
      */
-    Device update(Device device);
+    record DeviceSummary(DeviceID deviceID, DeviceModel deviceModel, DeviceStatus deviceStatus, RoomID roomID) {
+    }
 
     /**
-     * Updates the given entity in the repository.
+     * Saves the given entity in the repository.
      *
-     * @param device The entity to update.
-     * @return The updated entity.
+     * @param device The entity to save or update.
+     * @return The saved or updated entity.
      */
-    Device updateReserved(Device device);
+    Device save(Device device);
 
     /**
-     * Retrieves a reserved Device entity by its ID from the repository.
+     * Applies a change to the stored entity and writes it back only if no other update was written in between.
+     * When another update wins, the entity is read again and the change applied again, a bounded number of times.
      *
-     * @param deviceID The unique identifier of the entity to find.
-     * @return An Optional containing the found entity, or empty if not found.
+     * @param deviceID The unique identifier of the entity to update.
+     * @param change   The change to apply to the current entity, returning the changed entity, or null to leave it as is.
+     * @return An Optional containing the updated entity, or empty if not found or left as is.
+     * @throws smarthome.util.exceptions.ConcurrentUpdateException if every attempt lost to a concurrent update.
      */
-    Optional<Device> findEntityByIDAndReserve(DeviceID deviceID);
+    Optional<Device> update(DeviceID deviceID, UnaryOperator<Device> change);
 
     /**
      * Retrieves a list of Devices entities by their room ID.
@@ -50,4 +52,13 @@ public interface DeviceRepository extends Repository<DeviceID, Device> {
      * @return An Iterable containing all device with the given room ID.
      */
     Iterable<Device> findByRoomID(RoomID roomID);
+
+    /**
+     * Retrieves the summary of every device in the rooms of a house, joining the devices to their rooms in a single
+     * query.
+     *
+     * @param houseID The house ID to search for.
+     * @return An Iterable containing the summary of each device in a room of the given house.
+     */
+    Iterable<DeviceSummary> findDeviceSummariesByHouseID(HouseID houseID);
 }
@@ -5,6 +5,7 @@ import smarthome.domain.house.House;
 import smarthome.domain.valueobjects.HouseID;
 
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 /**
  * An interface that extends Repository interface. This interface contains method's signatures to save and retrieve house objects.
@@ -19,24 +20,12 @@ public interface HouseRepository extends Repository<HouseID, House> {
 	House save(House house);
 
 	/**
-	 * Updates the given house in the repository.
-	 * @param house The house object to update.
-	 * @return      The updated house.
-	 */
-
-	House update(House house);
-
-	/**
-	 * Updates the last edited house object that was in cache to prevent another request to the database.
-	 * @param house The house object to update.
-	 * @return      The updated house.
-	 */
-	House updateReserved(House house);
-
-	/**
-	 * Returns the house ID of the last consulted house object.
+	 * Applies a change to the stored house and writes it back only if no other update was written in between.
+	 * When another update wins, the house is read again and the change applied again, a bounded number of times.
 	 * @param houseID The unique identifier of the house.
-	 * @return        An Optional containing the found house, or empty if not found.
+	 * @param change  The change to apply to the current house, returning the changed house, or null to leave it as is.
+	 * @return        An Optional containing the updated house, or empty if not found or left as is.
+	 * @throws smarthome.util.exceptions.ConcurrentUpdateException if every attempt lost to a concurrent update.
 	 */
-	Optional<House> findEntityByIDAndReserve(HouseID houseID);
+	Optional<House> update(HouseID houseID, UnaryOperator<House> change);
 }
@@ -7,6 +7,7 @@ import smarthome.domain.valueobjects.HouseID;
 import smarthome.domain.valueobjects.RoomID;
 
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 @Component
 
@@ -23,25 +24,14 @@ public interface RoomRepository extends Repository<RoomID, Room> {
     Room save(Room room);
 
     /**
-     * Method that updated a Room object
-     * @param room the room object to update
-     * @return the updated Room object
+     * Method that applies a change to the stored Room and writes it back only if no other update was written in
+     * between. When another update wins, the Room is read again and the change applied again, a bounded number of times.
+     * @param roomID The unique identifier of the room.
+     * @param change the change to apply to the current Room, returning the changed Room, or null to leave it as is
+     * @return An Optional containing the updated Room, or empty if not found or left as is.
+     * @throws smarthome.util.exceptions.ConcurrentUpdateException if every attempt lost to a concurrent update.
      */
-    Room update(Room room);
-
-    /**
-     * Method that updates the last edited Room object that was in cache to prevent another request to the database
-     * @param room the room object to update
-     * @return the updated Room object
-     */
-    Room updateReserved(Room room);
-
-    /**
-     * Method that returns the Room of the last consulted Room Object.
-     * @param roomID The unique identifier of the room to check.
-     * @return Room object.
-     */
-    Optional<Room> findEntityByIDAndReserve(RoomID roomID);
+    Optional<Room> update(RoomID roomID, UnaryOperator<Room> change);
 
     /**
      * Retrieves a list of Rooms entities by their house ID.
@@ -23,4 +23,11 @@ public interface SensorFunctionalityRepository extends Repository<SensorFunction
      */
     String getServiceMethodToCallForSensorFunctionalityID(SensorFunctionalityID sensorFunctionalityID);
 
+    /**
+     * Retrieve the unit of the readings for the sensor functionality ID.
+     * @param sensorFunctionalityID The sensor functionality ID.
+     * @return A string representing the unit.
+     */
+    String getUnitForSensorFunctionalityID(SensorFunctionalityID sensorFunctionalityID);
+
 }
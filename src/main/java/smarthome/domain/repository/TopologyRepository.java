@@ -0,0 +1,48 @@
+package smarthome.domain.repository;
+
+import smarthome.ddd.DomainID;
+import smarthome.domain.actuators.Actuator;
+import smarthome.domain.valueobjects.ActuatorFunctionalityID;
+import smarthome.domain.valueobjects.DeviceID;
+import smarthome.domain.valueobjects.DeviceStatus;
+import smarthome.domain.valueobjects.RoomID;
+
+/**
+ * Read-only projection of the topology of the house: where each sensor and actuator functionality is, found in a
+ * single query instead of loading every sensor, actuator and device.
+ */
+public interface TopologyRepository {
+
+    /**
+     * Location of a functionality: the device with a sensor or actuator of that functionality, and the room the
+     * device is in.
+     * @param functionalityID SensorFunctionalityID or ActuatorFunctionalityID of the sensor or actuator.
+     * @param roomID          RoomID of the room the device is in.
+     * @param deviceID        DeviceID of the device the sensor or actuator belongs to.
+     */
+    record FunctionalityLocation(DomainID functionalityID, RoomID roomID, DeviceID deviceID) {
+    }
+
+    /**
+     * Finds the location of the functionality of every sensor and actuator that belongs to an existing device.
+     * @return the location of each sensor and actuator.
+     */
+    Iterable<FunctionalityLocation> findFunctionalityLocations();
+
+    /**
+     * Actuator that a command can be sent to, along with the status of its device and the room the device is in.
+     * @param actuator     the actuator.
+     * @param deviceStatus DeviceStatus of the device the actuator belongs to.
+     * @param roomID       RoomID of the room the device is in.
+     */
+    record ActuatorTarget(Actuator actuator, DeviceStatus deviceStatus, RoomID roomID) {
+    }
+
+    /**
+     * Finds every actuator of a functionality that belongs to an existing device, joined to its device in a single
+     * query instead of looking up the device of each actuator.
+     * @param actuatorFunctionalityID the functionality of the actuators.
+     * @return the actuators of the functionality, each with the status and room of its device.
+     */
+    Iterable<ActuatorTarget> findActuatorTargets(ActuatorFunctionalityID actuatorFunctionalityID);
+}
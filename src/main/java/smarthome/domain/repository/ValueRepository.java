@@ -3,10 +3,13 @@ package smarthome.domain.repository;
 import smarthome.ddd.Repository;
 import smarthome.domain.value.Value;
 import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueCursor;
 import smarthome.domain.valueobjects.ValueID;
 
 import java.sql.Timestamp;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Represents the ValueRepository interface for persistence.
@@ -29,4 +32,48 @@ public interface ValueRepository extends Repository<ValueID, Value> {
      */
     List<Value> findBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end);
 
+    /**
+     * Method to stream the values belonging to a specific SensorID and present in persistence between the start and
+     * end variables, matching the same values as findBySensorIdBetweenPeriodOfTime.
+     * Implementations backed by a database read the rows lazily, a fetch size at a time, so the values of a long period
+     * are never all held in memory; their stream must be consumed within a transaction.
+     * The stream must be closed once consumed.
+     * @param sensorID  SensorID object that the value belongs to.
+     * @param start     Timestamp object that represents the start of the period.
+     * @param end       Timestamp object that represents the end of the period.
+     * @return  Stream of Value type objects. Stream may be empty if no Values are found.
+     */
+    default Stream<Value> streamBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end) {
+        return findBySensorIdBetweenPeriodOfTime(sensorID, start, end).stream();
+    }
+
+    /**
+     * Method to find a page of the values belonging to a specific SensorID and present in persistence between the start
+     * and end variables, matching the same values as findBySensorIdBetweenPeriodOfTime.
+     * The values are ordered by ValueCursor and the page starts right after the given cursor. Implementations backed by
+     * a database seek to the cursor through the sensor and time index, so a deep page costs as much as the first one.
+     * @param sensorID  SensorID object that the value belongs to.
+     * @param start     Timestamp object that represents the start of the period.
+     * @param end       Timestamp object that represents the end of the period.
+     * @param after     ValueCursor of the last value of the previous page, or null for the first page.
+     * @param limit     maximum number of values in the page.
+     * @return  List of at most limit Value type objects, ordered by ValueCursor. List may be empty if no Values are found.
+     */
+    default List<Value> findPageBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end,
+                                                              ValueCursor after, int limit) {
+        return findBySensorIdBetweenPeriodOfTime(sensorID, start, end).stream()
+                .filter(value -> after == null || ValueCursor.of(value).compareTo(after) > 0)
+                .sorted(Comparator.comparing(ValueCursor::of))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Method to persist a batch of values in a single operation.
+     * Implementations backed by a database write the whole batch in one transaction, using JDBC batching.
+     * @param values List of Value objects to persist.
+     * @return List of the persisted Value objects.
+     */
+    List<Value> saveAll(List<Value> values);
+
 }
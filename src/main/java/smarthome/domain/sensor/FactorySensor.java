@@ -1,21 +1,111 @@
 package smarthome.domain.sensor;
 
 
-import org.springframework.stereotype.Component;
 import smarthome.domain.valueobjects.DeviceID;
 import smarthome.domain.valueobjects.SensorFunctionalityID;
 import smarthome.domain.valueobjects.SensorID;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Factory class to create Sensor objects.
+ * The constructor of every Sensor class is resolved only once, when the factory is built or when the first sensor of
+ * that class is created, so creating a sensor is a direct constructor call.
  */
-@Component
 public class FactorySensor {
 
     /**
-     * Method to create a Sensor object from the classes available in the sensorClasses List.
+     * Type of the constructor every Sensor class must declare, as seen by the factory.
+     */
+    private static final MethodType SENSOR_CONSTRUCTOR =
+            MethodType.methodType(Sensor.class, SensorID.class, DeviceID.class, SensorFunctionalityID.class);
+
+    /**
+     * Constructor of each Sensor class resolved so far, by fully qualified class name.
+     */
+    private final Map<String, MethodHandle> constructors;
+
+    /**
+     * Whether Sensor classes the factory was not built with are resolved the first time they are created.
+     */
+    private final boolean resolvesOnFirstUse;
+
+    /**
+     * Constructor for FactorySensor, able to create any Sensor class.
+     * The constructor of each class is resolved the first time a sensor of that class is created.
+     */
+    public FactorySensor() {
+        this.constructors = new ConcurrentHashMap<>();
+        this.resolvesOnFirstUse = true;
+    }
+
+    /**
+     * Constructor for FactorySensor, able to create only the given Sensor classes.
+     *
+     * @param sensorClasses fully qualified names of the Sensor classes.
+     * @throws IllegalArgumentException if a class does not exist, is not a Sensor or lacks the expected constructor.
+     */
+    public FactorySensor(Collection<String> sensorClasses) {
+        Map<String, MethodHandle> handles = new HashMap<>();
+        for (String sensorClass : sensorClasses) {
+            handles.put(sensorClass, findConstructor(sensorClass));
+        }
+        this.constructors = Map.copyOf(handles);
+        this.resolvesOnFirstUse = false;
+    }
+
+    /**
+     * Retrieves the constructor of a Sensor class, resolving it if the factory resolves classes on first use.
+     *
+     * @param sensorClass fully qualified name of the Sensor class.
+     * @return MethodHandle of the constructor, or null if the class cannot be created by this factory.
+     */
+    private MethodHandle constructorOf(String sensorClass) {
+        if (sensorClass == null)
+            return null;
+
+        MethodHandle constructor = constructors.get(sensorClass);
+        if (constructor != null || !resolvesOnFirstUse)
+            return constructor;
+
+        try {
+            constructor = findConstructor(sensorClass);
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+        constructors.putIfAbsent(sensorClass, constructor);
+        return constructor;
+    }
+
+    /**
+     * Resolves the constructor of a Sensor class.
+     *
+     * @param sensorClass fully qualified name of the Sensor class.
+     * @return MethodHandle of the constructor, adapted to return a Sensor.
+     * @throws IllegalArgumentException if the class does not exist, is not a Sensor or lacks the expected constructor.
+     */
+    private static MethodHandle findConstructor(String sensorClass) {
+        try {
+            Class<? extends Sensor> type = Class.forName(sensorClass).asSubclass(Sensor.class);
+            return MethodHandles.lookup()
+                    .findConstructor(type, SENSOR_CONSTRUCTOR.changeReturnType(void.class))
+                    .asType(SENSOR_CONSTRUCTOR);
+        } catch (ClassNotFoundException |
+                 ClassCastException |
+                 NoSuchMethodException |
+                 IllegalAccessException exception) {
+            throw new IllegalArgumentException("Invalid sensor class: " + sensorClass, exception);
+        }
+    }
+
+    /**
+     * Method to create a Sensor object from the Sensor classes known to the factory.
      *
      * @param deviceID              ID of the device that the sensor belongs to
      * @param sensorFunctionalityID ID of the sensor functionality that the sensor has
@@ -29,23 +119,16 @@ public class FactorySensor {
             SensorFunctionalityID sensorFunctionalityID,
             String sensorClass
     ) {
+        MethodHandle constructor = constructorOf(sensorClass);
+        if (constructor == null)
+            return null;
+
         try {
-            return (Sensor) Class.forName(sensorClass).getDeclaredConstructor(
-                                    SensorID.class,
-                                    DeviceID.class,
-                                    SensorFunctionalityID.class
-                            ).newInstance(
-                                    sensorID,
-                                    deviceID,
-                                    sensorFunctionalityID
-                            );
-        } catch (ClassNotFoundException |
-                 InstantiationException |
-                 IllegalAccessException |
-                 InvocationTargetException |
-                 NoSuchMethodException |
-                 NullPointerException exception) {
+            return (Sensor) constructor.invokeExact(sensorID, deviceID, sensorFunctionalityID);
+        } catch (RuntimeException exception) {
             return null;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Unexpected failure creating sensor of class " + sensorClass, throwable);
         }
     }
 
@@ -6,7 +6,6 @@ import smarthome.domain.valueobjects.SensorID;
 import smarthome.domain.valueobjects.ValueID;
 
 import java.sql.Timestamp;
-import java.util.UUID;
 
 /**
  * Represents a value in instant time and location.
@@ -39,7 +38,7 @@ public class InstantTimeLocationValue implements Value {
     private final GPSCode gpsCode;
 
     /**
-     * Constructs an InstantTimeLocationValue object with a randomly generated valueID.
+     * Constructs an InstantTimeLocationValue object with a valueID generated from the sensor and time of the reading.
      *
      * @param sensorID           The ID of the sensor associated with this value.
      * @param reading            The value's reading.
@@ -49,7 +48,7 @@ public class InstantTimeLocationValue implements Value {
      */
     protected InstantTimeLocationValue(SensorID sensorID, Reading reading, Timestamp instantTimeReading, GPSCode gpsCode)
     {
-        this.valueID = new ValueID(UUID.randomUUID().toString());
+        this.valueID = ValueID.ofReading(sensorID, instantTimeReading);
         this.sensorID = sensorID;
         this.reading = reading;
         this.instantTimeReading = instantTimeReading;
@@ -5,7 +5,6 @@ import smarthome.domain.valueobjects.SensorID;
 import smarthome.domain.valueobjects.ValueID;
 
 import java.sql.Timestamp;
-import java.util.UUID;
 
 /**
  * Represents a value in specific instant.
@@ -35,7 +34,7 @@ public class InstantTimeValue implements Value
 
 
     /**
-     * Constructs an InstantValue object with a randomly generated valueID.
+     * Constructs an InstantValue object with a valueID generated from the sensor and time of the reading.
      *
      * @param sensorID           The ID of the sensor associated with this value.
      * @param reading            The value's reading.
@@ -44,7 +43,7 @@ public class InstantTimeValue implements Value
      */
     protected InstantTimeValue(SensorID sensorID, Reading reading, Timestamp instantTimeReading)
     {
-        this.valueID = new ValueID(UUID.randomUUID().toString());
+        this.valueID = ValueID.ofReading(sensorID, instantTimeReading);
         this.sensorID = sensorID;
         this.reading = reading;
         this.instantTimeReading = instantTimeReading;
@@ -5,7 +5,6 @@ import smarthome.domain.valueobjects.SensorID;
 import smarthome.domain.valueobjects.ValueID;
 
 import java.sql.Timestamp;
-import java.util.UUID;
 
 /**
  * Represents a value over a period of time.
@@ -37,7 +36,7 @@ public class PeriodTimeValue implements Value
     private final Timestamp endTimeReading;
 
     /**
-     * Constructs a PeriodValue object with a randomly generated valueID.
+     * Constructs a PeriodValue object with a valueID generated from the sensor and time of the reading.
      * @param sensorID           The ID of the sensor associated with this value.
      * @param reading            The reading over a period of time.
      * @param startTimeReading   The timestamp when the period started.
@@ -46,7 +45,7 @@ public class PeriodTimeValue implements Value
      */
     protected PeriodTimeValue(SensorID sensorID, Reading reading, Timestamp startTimeReading, Timestamp endTimeReading)
     {
-        this.valueID = new ValueID(UUID.randomUUID().toString());
+        this.valueID = ValueID.ofReading(sensorID, startTimeReading);
         this.sensorID = sensorID;
         this.reading = reading;
         this.startTimeReading = startTimeReading;
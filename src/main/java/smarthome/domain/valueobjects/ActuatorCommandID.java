@@ -0,0 +1,63 @@
+package smarthome.domain.valueobjects;
+
+import smarthome.ddd.DomainID;
+
+import java.util.Objects;
+
+/**
+ * Represents a {@code ActuatorCommandID} class within the smart home system, identifying a command queued for an
+ * actuator.
+ */
+public class ActuatorCommandID implements DomainID {
+
+    /**
+     * The identifier of the command.
+     */
+    private final String commandID;
+
+    /**
+     * Constructor for the ActuatorCommandID object with the provided identifier
+     * @param commandID the identifier of the command
+     * @throws IllegalArgumentException if the commandID is null, empty or blank
+     */
+    public ActuatorCommandID(String commandID) {
+        if (commandID == null || commandID.isBlank()) {
+            throw new IllegalArgumentException("Invalid ID! The ID cannot be null, empty!");
+        }
+        this.commandID = commandID;
+    }
+
+    /**
+     * Compares this ActuatorCommandID to the specified object. The result is true if the argument is not null
+     * and is an ActuatorCommandID object that represents the same identifier as this object.
+     * @param object The object to compare this ActuatorCommandID against.
+     * @return true if the given object represents an equivalent ActuatorCommandID, false otherwise.
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object)
+            return true;
+        if (object == null || getClass() != object.getClass())
+            return false;
+        ActuatorCommandID actuatorCommandID = (ActuatorCommandID) object;
+        return Objects.equals(commandID, actuatorCommandID.commandID);
+    }
+
+    /**
+     * Returns the hash code value for this ActuatorCommandID object.
+     * @return the hash code value for this ActuatorCommandID object.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(commandID);
+    }
+
+    /**
+     * Returns the string representation of the ActuatorCommandID, which is its identifier.
+     * @return The identifier of the ActuatorCommandID.
+     */
+    @Override
+    public String toString() {
+        return commandID;
+    }
+}
@@ -0,0 +1,38 @@
+package smarthome.domain.valueobjects;
+
+import smarthome.ddd.ValueObject;
+
+/**
+ * Represents the progress of a command queued for an actuator. A command is PENDING until a worker takes it, and then
+ * ends in one of the other statuses.
+ */
+public enum ActuatorCommandStatus implements ValueObject {
+    /**
+     * The command is queued and waiting to be applied.
+     */
+    PENDING,
+    /**
+     * The command was applied to the actuator.
+     */
+    APPLIED,
+    /**
+     * A newer command for the same actuator arrived before this one was applied, so it was skipped.
+     */
+    SUPERSEDED,
+    /**
+     * The actuator refused the value, or its device is not active.
+     */
+    REJECTED,
+    /**
+     * The command could not be applied because of an unexpected error.
+     */
+    FAILED;
+
+    /**
+     * Indicates whether a command with this status has finished.
+     * @return true if the status is final, false if the command is still PENDING.
+     */
+    public boolean isFinal() {
+        return this != PENDING;
+    }
+}
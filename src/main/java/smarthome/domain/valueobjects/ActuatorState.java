@@ -0,0 +1,94 @@
+package smarthome.domain.valueobjects;
+
+import smarthome.ddd.ValueObject;
+
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Last value applied to an actuator, together with the command that applied it and when.
+ */
+public class ActuatorState implements ValueObject {
+
+    private final ActuatorID actuatorID;
+    private final double value;
+    private final ActuatorCommandID commandID;
+    private final Timestamp appliedAt;
+
+    /**
+     * Constructor for ActuatorState objects.
+     * @param actuatorID ActuatorID of the actuator the value was applied to.
+     * @param value      value applied to the actuator.
+     * @param commandID  ActuatorCommandID of the command that applied the value.
+     * @param appliedAt  Timestamp of when the value was applied.
+     * @throws IllegalArgumentException if an argument is null or the value is not a number.
+     */
+    public ActuatorState(ActuatorID actuatorID, double value, ActuatorCommandID commandID, Timestamp appliedAt) {
+        if (actuatorID == null || commandID == null || appliedAt == null)
+            throw new IllegalArgumentException("Actuator state arguments cannot be null");
+        if (Double.isNaN(value))
+            throw new IllegalArgumentException("Actuator state value must be a number");
+
+        this.actuatorID = actuatorID;
+        this.value = value;
+        this.commandID = commandID;
+        this.appliedAt = appliedAt;
+    }
+
+    /**
+     * Retrieves the actuator the value was applied to.
+     * @return ActuatorID of the actuator.
+     */
+    public ActuatorID getActuatorID() {
+        return actuatorID;
+    }
+
+    /**
+     * Retrieves the value applied to the actuator.
+     * @return value applied to the actuator.
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Retrieves the command that applied the value.
+     * @return ActuatorCommandID of the command.
+     */
+    public ActuatorCommandID getCommandID() {
+        return commandID;
+    }
+
+    /**
+     * Retrieves when the value was applied.
+     * @return Timestamp of when the value was applied.
+     */
+    public Timestamp getAppliedAt() {
+        return appliedAt;
+    }
+
+    /**
+     * Method that checks if two ActuatorState are equal.
+     * @param object Object that is compared to the ActuatorState.
+     * @return True if both states have the same actuator, value, command and time. False if not.
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object)
+            return true;
+        if (object == null || getClass() != object.getClass())
+            return false;
+        ActuatorState that = (ActuatorState) object;
+        return Double.compare(value, that.value) == 0 && actuatorID.equals(that.actuatorID)
+                && commandID.equals(that.commandID) && appliedAt.equals(that.appliedAt);
+    }
+
+    /**
+     * Method that returns the hash code of the ActuatorState.
+     * @return Hash code of the ActuatorState.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(actuatorID, value, commandID, appliedAt);
+    }
+}
@@ -5,9 +5,25 @@ import smarthome.util.ReadingUtil;
 
 public class Reading implements ValueObject {
 
+    /**
+     * Separator of the channels of a multi-channel measurement (e.g. wind speed and direction).
+     */
+    private static final String CHANNEL_SEPARATOR = ";";
+
     private final String measurement;
     private final String unit;
 
+    /**
+     * Marks a measurement with a channel that is not numeric, once it has been parsed.
+     */
+    private static final double[] NOT_NUMERIC = new double[0];
+
+    /**
+     * Numeric value of each channel of the measurement, parsed on first use, or NOT_NUMERIC if any channel of the
+     * measurement is not numeric. Null until the measurement is first read as a number.
+     */
+    private volatile double[] numericMeasurements;
+
     /**
      * Constructor for Reading objects. Value attribute is set as a String so it works for numeric/non-numeric values.
      * Unit is defined within config.properties file and depends on the sensorFunctionality of the Value type Object.
@@ -22,6 +38,51 @@ public class Reading implements ValueObject {
         this.unit = unit;
     }
 
+    /**
+     * Constructor for Reading objects whose numeric value is already known, such as one read back from a numeric column,
+     * so the measurement does not have to be parsed.
+     * @param measurement String representing the read value. Can be numeric or non-numeric.
+     * @param unit String representing the unit of the Sensor that the Value is associated with.
+     * @param numericMeasurement numeric value of a single channel measurement, or null to parse the measurement on first use.
+     */
+    public Reading(String measurement, String unit, Double numericMeasurement) {
+        this(measurement, unit);
+        if (numericMeasurement != null)
+            this.numericMeasurements = new double[]{numericMeasurement};
+    }
+
+    /**
+     * Retrieves the numeric value of each channel of the measurement, parsing it on first use.
+     * Concurrent first uses may parse it more than once, always to the same result.
+     * @return array with the numeric value of each channel, or NOT_NUMERIC if any channel is not numeric.
+     */
+    private double[] numericMeasurements() {
+        double[] parsed = numericMeasurements;
+        if (parsed == null) {
+            parsed = parseNumericMeasurements(measurement);
+            numericMeasurements = parsed;
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses each channel of a measurement into a double.
+     * @param measurement String representing the read value, with channels separated by ";".
+     * @return array with the numeric value of each channel, or NOT_NUMERIC if any channel is not numeric.
+     */
+    private static double[] parseNumericMeasurements(String measurement) {
+        String[] channels = measurement.split(CHANNEL_SEPARATOR);
+        double[] numericMeasurements = new double[channels.length];
+        try {
+            for (int i = 0; i < channels.length; i++) {
+                numericMeasurements[i] = Double.parseDouble(channels[i]);
+            }
+        } catch (NumberFormatException exception) {
+            return NOT_NUMERIC;
+        }
+        return numericMeasurements;
+    }
+
     /**
      * Checks if the constructor arguments are valid.
      * @param value value of the Reading object.
@@ -48,6 +109,46 @@ public class Reading implements ValueObject {
         return unit;
     }
 
+    /**
+     * Checks if every channel of the measurement is numeric.
+     * @return True if the measurement can be read with getNumericMeasurement, false otherwise.
+     */
+    public boolean isNumeric() {
+        return numericMeasurements() != NOT_NUMERIC;
+    }
+
+    /**
+     * Retrieves the number of channels of the measurement, i.e. the number of values separated by ";".
+     * @return the number of channels of a numeric measurement, or 0 if the measurement is not numeric.
+     */
+    public int getChannelCount() {
+        return numericMeasurements().length;
+    }
+
+    /**
+     * Retrieves the numeric value of the measurement, or of its first channel for multi-channel measurements.
+     * The measurement String is parsed at most once per Reading, and not at all if its numeric value was given on creation.
+     * @return double representing the value of the Reading object.
+     * @throws NumberFormatException if the measurement is not numeric.
+     */
+    public double getNumericMeasurement() {
+        return getNumericMeasurement(0);
+    }
+
+    /**
+     * Retrieves the numeric value of a channel of the measurement.
+     * @param channel index of the channel, starting at 0.
+     * @return double representing the value of the channel.
+     * @throws NumberFormatException if the measurement is not numeric.
+     * @throws IndexOutOfBoundsException if the measurement has no such channel.
+     */
+    public double getNumericMeasurement(int channel) {
+        double[] parsed = numericMeasurements();
+        if (parsed == NOT_NUMERIC)
+            throw new NumberFormatException("Measurement is not numeric: " + measurement);
+        return parsed[channel];
+    }
+
     /**
      * Uses the method getReadingAsSingleString to return all values with respective units of a Reading object.
      * If there are multiple values or units separated by ";" method will separate them with "and".
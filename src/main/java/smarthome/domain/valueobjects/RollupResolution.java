@@ -0,0 +1,95 @@
+package smarthome.domain.valueobjects;
+
+import smarthome.ddd.ValueObject;
+
+import java.sql.Timestamp;
+
+/**
+ * Width of the buckets in which the readings of a sensor are rolled up, from the finest to the coarsest.
+ * Buckets are aligned to the epoch, so a bucket of a given resolution always starts at a multiple of its width.
+ */
+public enum RollupResolution implements ValueObject {
+    ONE_MINUTE("1m", 60_000L),
+    FIFTEEN_MINUTES("15m", 900_000L),
+    ONE_HOUR("1h", 3_600_000L),
+    ONE_DAY("1d", 86_400_000L);
+
+    /**
+     * Short name of the resolution, as shown to clients and stored in persistence.
+     */
+    private final String label;
+
+    /**
+     * Width of each bucket, in milliseconds.
+     */
+    private final long bucketMillis;
+
+    RollupResolution(String label, long bucketMillis) {
+        this.label = label;
+        this.bucketMillis = bucketMillis;
+    }
+
+    /**
+     * Retrieves the short name of the resolution.
+     * @return String with the short name of the resolution (e.g. "15m").
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Retrieves the width of each bucket.
+     * @return width of each bucket, in milliseconds.
+     */
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    /**
+     * Retrieves the start of the bucket a time falls in.
+     * @param time Timestamp of a reading.
+     * @return Timestamp of the start of the bucket containing the time.
+     */
+    public Timestamp bucketStartOf(Timestamp time) {
+        return new Timestamp(Math.floorDiv(time.getTime(), bucketMillis) * bucketMillis);
+    }
+
+    /**
+     * Retrieves the resolution with a given short name.
+     * @param label short name of the resolution (e.g. "15m").
+     * @return the RollupResolution with that short name.
+     * @throws IllegalArgumentException if no resolution has that short name.
+     */
+    public static RollupResolution fromLabel(String label) {
+        for (RollupResolution resolution : values()) {
+            if (resolution.label.equals(label))
+                return resolution;
+        }
+        throw new IllegalArgumentException("Unknown rollup resolution: " + label);
+    }
+
+    /**
+     * Picks the finest resolution whose buckets over a period do not exceed a number of points, i.e. the coarsest
+     * rollup the period needs to fit in that many points. Periods too long for even the coarsest resolution to fit
+     * are served by the coarsest resolution.
+     * @param start      Timestamp of the start of the period.
+     * @param end        Timestamp of the end of the period.
+     * @param pointLimit maximum number of points wanted for the period.
+     * @return the finest RollupResolution that fits the period in the point limit, or ONE_DAY if none does.
+     * @throws IllegalArgumentException if the point limit is not positive or the period ends before it starts.
+     */
+    public static RollupResolution forPointLimit(Timestamp start, Timestamp end, int pointLimit) {
+        if (pointLimit <= 0)
+            throw new IllegalArgumentException("Point limit must be positive");
+        if (end.before(start))
+            throw new IllegalArgumentException("Period cannot end before it starts");
+
+        for (RollupResolution resolution : values()) {
+            long firstBucket = Math.floorDiv(start.getTime(), resolution.bucketMillis);
+            long lastBucket = Math.floorDiv(end.getTime(), resolution.bucketMillis);
+            if (lastBucket - firstBucket + 1 <= pointLimit)
+                return resolution;
+        }
+        return ONE_DAY;
+    }
+}
@@ -0,0 +1,98 @@
+package smarthome.domain.valueobjects;
+
+import smarthome.ddd.ValueObject;
+import smarthome.domain.value.InstantTimeLocationValue;
+import smarthome.domain.value.InstantTimeValue;
+import smarthome.domain.value.PeriodTimeValue;
+import smarthome.domain.value.Value;
+
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Position of a value in the reading history of a sensor, ordered by the time of the value and then by its ValueID.
+ * Pages of readings are read after a cursor by seeking to it, so a deep page costs as much as the first one.
+ */
+public class ValueCursor implements ValueObject, Comparable<ValueCursor> {
+
+    private final Timestamp time;
+    private final ValueID valueID;
+
+    /**
+     * Constructor for ValueCursor objects.
+     * @param time    Timestamp of the value: its instant time, or the start time of a period value.
+     * @param valueID ValueID of the value.
+     * @throws IllegalArgumentException if an argument is null.
+     */
+    public ValueCursor(Timestamp time, ValueID valueID) {
+        if (time == null || valueID == null)
+            throw new IllegalArgumentException("Cursor arguments cannot be null");
+
+        this.time = time;
+        this.valueID = valueID;
+    }
+
+    /**
+     * Creates the cursor positioned at a value.
+     * @param value InstantTimeValue, PeriodTimeValue or InstantTimeLocationValue.
+     * @return ValueCursor of the value.
+     * @throws IllegalArgumentException if the value is null or of an unknown type.
+     */
+    public static ValueCursor of(Value value) {
+        if (value instanceof InstantTimeValue instantTimeValue)
+            return new ValueCursor(instantTimeValue.getInstantTimeReading(), value.identity());
+        if (value instanceof PeriodTimeValue periodTimeValue)
+            return new ValueCursor(periodTimeValue.getStartTimeReading(), value.identity());
+        if (value instanceof InstantTimeLocationValue instantTimeLocationValue)
+            return new ValueCursor(instantTimeLocationValue.getInstantTime(), value.identity());
+        throw new IllegalArgumentException("Cursor cannot be created for this value");
+    }
+
+    /**
+     * Returns the time of the value the cursor is positioned at.
+     * @return Timestamp of the value.
+     */
+    public Timestamp getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the ID of the value the cursor is positioned at.
+     * @return ValueID of the value.
+     */
+    public ValueID getValueID() {
+        return valueID;
+    }
+
+    /**
+     * Orders cursors by time and then by ValueID, the order pages of readings are read in.
+     * @param other ValueCursor to compare to.
+     * @return negative, zero or positive as this cursor comes before, at or after the other.
+     */
+    @Override
+    public int compareTo(ValueCursor other) {
+        int result = time.compareTo(other.time);
+        return result != 0 ? result : valueID.toString().compareTo(other.valueID.toString());
+    }
+
+    /**
+     * Method to compare two ValueCursor objects.
+     * @param o Object to compare.
+     * @return True if both cursors are positioned at the same value, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ValueCursor that)) return false;
+        return time.equals(that.time) && valueID.equals(that.valueID);
+    }
+
+    /**
+     * Method to generate the hash code of a ValueCursor object.
+     * @return Integer representing the hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(time, valueID);
+    }
+}
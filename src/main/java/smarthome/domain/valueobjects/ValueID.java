@@ -2,7 +2,11 @@ package smarthome.domain.valueobjects;
 
 import smarthome.ddd.DomainID;
 
+import java.security.SecureRandom;
+import java.sql.Timestamp;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents a {@code ValueID} class within the smart home system.
@@ -16,6 +20,26 @@ public class ValueID implements DomainID
      */
     private final String valueIdentifier;
 
+    /**
+     * Number of low bits of the ID of a reading that hold its sequence number; the bits above them hold the hash of
+     * its sensor.
+     */
+    public static final int SEQUENCE_BITS = 40;
+
+    /**
+     * Mask of the sequence number in the least significant half of the ID of a reading.
+     */
+    public static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MILLIS_PER_SECOND = 1_000L;
+
+    /**
+     * Sequence number of the next ID of a reading. It starts at a random number, so IDs created by different runs or
+     * instances of the application for readings of a sensor taken at the same time do not repeat.
+     */
+    private static final AtomicLong nextSequence = new AtomicLong(new SecureRandom().nextLong());
+
     /**
      * Constructor that receives a string and creates a new ValueID.
      *
@@ -30,6 +54,42 @@ public class ValueID implements DomainID
         }
     }
 
+    /**
+     * Creates the ID of a new reading of a sensor. The ID is written as a UUID whose most significant half is the time
+     * of the reading in nanoseconds since the epoch, and whose least significant half is the hash of the sensor
+     * followed by a sequence number. IDs are unique like random UUIDs, but the reading can be located from its ID, so
+     * time-series stores do not need to keep it. Readings taken outside the years 1677 to 2262 get a random UUID.
+     *
+     * @param sensorID SensorID of the sensor that took the reading.
+     * @param time     Timestamp of the reading (its start time, for period readings).
+     * @return the ValueID of the reading.
+     * @throws IllegalArgumentException if an argument is null.
+     */
+    public static ValueID ofReading(SensorID sensorID, Timestamp time) {
+        if (sensorID == null || time == null)
+            throw new IllegalArgumentException("Please provide a valid sensor and time to the Value");
+
+        long epochNanos;
+        try {
+            long seconds = Math.floorDiv(time.getTime(), MILLIS_PER_SECOND);
+            epochNanos = Math.addExact(Math.multiplyExact(seconds, NANOS_PER_SECOND), time.getNanos());
+        } catch (ArithmeticException exception) {
+            return new ValueID(UUID.randomUUID().toString());
+        }
+        long sequence = nextSequence.getAndIncrement() & SEQUENCE_MASK;
+        return new ValueID(new UUID(epochNanos, ((long) sensorHashOf(sensorID) << SEQUENCE_BITS) | sequence).toString());
+    }
+
+    /**
+     * Retrieves the hash of a sensor held by the IDs of its readings.
+     *
+     * @param sensorID SensorID of the sensor.
+     * @return the hash, a non-negative number of 64 - SEQUENCE_BITS bits.
+     */
+    public static int sensorHashOf(SensorID sensorID) {
+        return (sensorID.toString().hashCode() * 0x9E3779B9) >>> SEQUENCE_BITS - 32;
+    }
+
     /**
      * Validates the ID string to ensure it is non-null and non-empty.
      *
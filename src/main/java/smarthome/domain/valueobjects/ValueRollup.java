@@ -0,0 +1,188 @@
+package smarthome.domain.valueobjects;
+
+import smarthome.ddd.ValueObject;
+
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Aggregate of the numeric readings of a sensor in one bucket of a rollup resolution: their minimum, maximum, sum and
+ * count. Rollups of the same bucket are merged as readings arrive, so a bucket never has to be recomputed from the
+ * raw readings.
+ */
+public class ValueRollup implements ValueObject {
+
+    private final SensorID sensorID;
+    private final RollupResolution resolution;
+    private final Timestamp bucketStart;
+    private final String unit;
+    private final double minimum;
+    private final double maximum;
+    private final double sum;
+    private final long count;
+
+    /**
+     * Constructor for ValueRollup objects.
+     * @param sensorID    SensorID of the sensor the readings belong to.
+     * @param resolution  RollupResolution of the bucket.
+     * @param bucketStart Timestamp of the start of the bucket, aligned to the resolution.
+     * @param unit        unit of the readings.
+     * @param minimum     smallest reading in the bucket.
+     * @param maximum     largest reading in the bucket.
+     * @param sum         sum of the readings in the bucket.
+     * @param count       number of readings in the bucket.
+     * @throws IllegalArgumentException if an argument is null, the bucket start is not aligned, the count is not
+     *                                  positive or the minimum is larger than the maximum.
+     */
+    public ValueRollup(SensorID sensorID, RollupResolution resolution, Timestamp bucketStart, String unit,
+                       double minimum, double maximum, double sum, long count) {
+        if (sensorID == null || resolution == null || bucketStart == null || unit == null)
+            throw new IllegalArgumentException("Rollup arguments cannot be null");
+        if (!resolution.bucketStartOf(bucketStart).equals(bucketStart))
+            throw new IllegalArgumentException("Bucket start must be aligned to the rollup resolution");
+        if (count <= 0 || minimum > maximum)
+            throw new IllegalArgumentException("Invalid rollup aggregates");
+
+        this.sensorID = sensorID;
+        this.resolution = resolution;
+        this.bucketStart = bucketStart;
+        this.unit = unit;
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.sum = sum;
+        this.count = count;
+    }
+
+    /**
+     * Creates the rollup of a single reading, in the bucket of the given resolution it falls in.
+     * @param sensorID    SensorID of the sensor the reading belongs to.
+     * @param resolution  RollupResolution of the bucket.
+     * @param time        Timestamp of the reading.
+     * @param measurement numeric value of the reading.
+     * @param unit        unit of the reading.
+     * @return ValueRollup holding only the given reading.
+     */
+    public static ValueRollup of(SensorID sensorID, RollupResolution resolution, Timestamp time, double measurement, String unit) {
+        return new ValueRollup(sensorID, resolution, resolution.bucketStartOf(time), unit, measurement, measurement, measurement, 1);
+    }
+
+    /**
+     * Merges this rollup with another rollup of the same bucket. The unit of this rollup is kept.
+     * @param other ValueRollup of the same sensor, resolution and bucket.
+     * @return ValueRollup holding the readings of both rollups.
+     * @throws IllegalArgumentException if the other rollup belongs to a different bucket.
+     */
+    public ValueRollup merge(ValueRollup other) {
+        if (!getRollupID().equals(other.getRollupID()))
+            throw new IllegalArgumentException("Only rollups of the same bucket can be merged");
+
+        return new ValueRollup(sensorID, resolution, bucketStart, unit,
+                Math.min(minimum, other.minimum), Math.max(maximum, other.maximum), sum + other.sum, count + other.count);
+    }
+
+    /**
+     * Retrieves the identifier of the bucket of this rollup, unique per sensor, resolution and bucket start.
+     * @return String identifying the bucket (e.g. "Sensor001_15m_1713168000000").
+     */
+    public String getRollupID() {
+        return sensorID + "_" + resolution.getLabel() + "_" + bucketStart.getTime();
+    }
+
+    /**
+     * Retrieves the sensor the readings belong to.
+     * @return SensorID of the sensor.
+     */
+    public SensorID getSensorID() {
+        return sensorID;
+    }
+
+    /**
+     * Retrieves the resolution of the bucket.
+     * @return RollupResolution of the bucket.
+     */
+    public RollupResolution getResolution() {
+        return resolution;
+    }
+
+    /**
+     * Retrieves the start of the bucket.
+     * @return Timestamp of the start of the bucket.
+     */
+    public Timestamp getBucketStart() {
+        return bucketStart;
+    }
+
+    /**
+     * Retrieves the unit of the readings.
+     * @return String representing the unit of the readings.
+     */
+    public String getUnit() {
+        return unit;
+    }
+
+    /**
+     * Retrieves the smallest reading in the bucket.
+     * @return smallest reading in the bucket.
+     */
+    public double getMinimum() {
+        return minimum;
+    }
+
+    /**
+     * Retrieves the largest reading in the bucket.
+     * @return largest reading in the bucket.
+     */
+    public double getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * Retrieves the sum of the readings in the bucket.
+     * @return sum of the readings in the bucket.
+     */
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * Retrieves the number of readings in the bucket.
+     * @return number of readings in the bucket.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Retrieves the average of the readings in the bucket.
+     * @return sum of the readings divided by their count.
+     */
+    public double getAverage() {
+        return sum / count;
+    }
+
+    /**
+     * Method that checks if two ValueRollup are equal.
+     * @param object Object that is compared to the ValueRollup.
+     * @return True if both rollups have the same bucket, unit and aggregates. False if not.
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object)
+            return true;
+        if (object == null || getClass() != object.getClass())
+            return false;
+        ValueRollup that = (ValueRollup) object;
+        return Double.compare(minimum, that.minimum) == 0 && Double.compare(maximum, that.maximum) == 0
+                && Double.compare(sum, that.sum) == 0 && count == that.count && sensorID.equals(that.sensorID)
+                && resolution == that.resolution && bucketStart.equals(that.bucketStart) && unit.equals(that.unit);
+    }
+
+    /**
+     * Method that returns the hash code of the ValueRollup.
+     * @return Hash code of the ValueRollup.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(sensorID, resolution, bucketStart, unit, minimum, maximum, sum, count);
+    }
+}
@@ -0,0 +1,320 @@
+package smarthome.gateway;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import smarthome.domain.gateway.AsyncWeatherAPIGateway;
+import smarthome.domain.gateway.WeatherAPIGateway;
+import smarthome.service.internaldto.InstTemperatureDTO;
+import smarthome.service.internaldto.InstWindSpeedAndDirectionDTO;
+import smarthome.service.internaldto.MaxWindSpeedAndDirectionOverAPeriodDTO;
+import smarthome.service.internaldto.SunriseSunsetDTO;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Weather API gateway that caches the responses of another gateway, for both blocking and non-blocking requests.
+ * Responses are kept for a fixed time to live, keyed by endpoint, group number, location and hour or option, and the
+ * least recently used ones are evicted once the cache is full. Concurrent identical requests share a single call to
+ * the underlying gateways, whether they are blocking or not. Hits and misses are published as metrics.
+ */
+@Primary
+@Component
+public class CachingWeatherAPIGateway implements WeatherAPIGateway, AsyncWeatherAPIGateway {
+
+    /**
+     * Default time a response is kept for.
+     */
+    static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    /**
+     * Default maximum number of responses kept.
+     */
+    static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    /**
+     * Identifies a request: the endpoint, group number, location and the hour, period or option asked for.
+     */
+    private record CacheKey(String endpoint, int groupNumber, double latitude, double longitude, String argument) {
+    }
+
+    /**
+     * Response of a request, pending until the underlying call completes.
+     */
+    private static final class CacheEntry {
+        private final CompletableFuture<Object> response = new CompletableFuture<>();
+        private long expiresAtNanos = Long.MAX_VALUE;
+    }
+
+    /**
+     * Gateway the responses of blocking requests are requested from.
+     */
+    private final WeatherAPIGateway delegate;
+
+    /**
+     * Gateway the responses of non-blocking requests are requested from.
+     */
+    private final AsyncWeatherAPIGateway asyncDelegate;
+
+    /**
+     * Time a response is kept for, in nanoseconds.
+     */
+    private final long timeToLiveNanos;
+
+    /**
+     * Source of the current time, in nanoseconds.
+     */
+    private final LongSupplier nanoClock;
+
+    /**
+     * Cached responses, in least recently used order. Guarded by itself.
+     */
+    private final Map<CacheKey, CacheEntry> entries;
+
+    /**
+     * Requests answered from the cache, including the ones that joined a pending call.
+     */
+    private final Counter hits;
+
+    /**
+     * Requests forwarded to the underlying gateway.
+     */
+    private final Counter misses;
+
+    /**
+     * Constructs a CachingWeatherAPIGateway with the default time to live and size.
+     *
+     * @param delegate      the gateway the responses of blocking requests are requested from
+     * @param asyncDelegate the gateway the responses of non-blocking requests are requested from
+     * @param meterRegistry the registry the cache metrics are published to
+     */
+    @Autowired
+    public CachingWeatherAPIGateway(WeatherAPIGatewayHttpImpl delegate, WeatherAPIGatewayAsyncHttpImpl asyncDelegate,
+                                    MeterRegistry meterRegistry) {
+        this(delegate, asyncDelegate, meterRegistry, DEFAULT_TIME_TO_LIVE, DEFAULT_MAXIMUM_SIZE, System::nanoTime);
+    }
+
+    /**
+     * Constructs a CachingWeatherAPIGateway.
+     *
+     * @param delegate      the gateway the responses of blocking requests are requested from
+     * @param asyncDelegate the gateway the responses of non-blocking requests are requested from
+     * @param meterRegistry the registry the cache metrics are published to
+     * @param timeToLive    the time a response is kept for
+     * @param maximumSize   the maximum number of responses kept
+     * @param nanoClock     the source of the current time, in nanoseconds
+     * @throws IllegalArgumentException if an argument is null, the time to live is not positive or the size is not
+     *                                  positive
+     */
+    public CachingWeatherAPIGateway(WeatherAPIGateway delegate, AsyncWeatherAPIGateway asyncDelegate,
+                                    MeterRegistry meterRegistry, Duration timeToLive, int maximumSize,
+                                    LongSupplier nanoClock) {
+        if (delegate == null || asyncDelegate == null || meterRegistry == null || timeToLive == null || nanoClock == null)
+            throw new IllegalArgumentException("Cache arguments cannot be null.");
+        if (timeToLive.isZero() || timeToLive.isNegative() || maximumSize <= 0)
+            throw new IllegalArgumentException("Cache time to live and size must be positive.");
+
+        this.delegate = delegate;
+        this.asyncDelegate = asyncDelegate;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+        this.hits = Counter.builder("smarthome.weather.cache.requests").tag("result", "hit")
+                .description("Weather API requests answered from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("smarthome.weather.cache.requests").tag("result", "miss")
+                .description("Weather API requests forwarded to the Weather API")
+                .register(meterRegistry);
+        Gauge.builder("smarthome.weather.cache.hit.ratio", this, CachingWeatherAPIGateway::hitRatio)
+                .description("Share of Weather API requests answered from the cache")
+                .register(meterRegistry);
+        Gauge.builder("smarthome.weather.cache.size", this, CachingWeatherAPIGateway::size)
+                .description("Weather API responses currently cached")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public InstTemperatureDTO getInstantaneousTemperature(int groupNumber, double latitude, double longitude, int hour) {
+        return (InstTemperatureDTO) join(instantaneousTemperature(groupNumber, latitude, longitude, hour,
+                () -> CompletableFuture.completedFuture(delegate.getInstantaneousTemperature(groupNumber, latitude, longitude, hour))));
+    }
+
+    @Override
+    public CompletableFuture<InstTemperatureDTO> getInstantaneousTemperatureAsync(int groupNumber, double latitude, double longitude, int hour) {
+        return instantaneousTemperature(groupNumber, latitude, longitude, hour,
+                () -> asyncDelegate.getInstantaneousTemperatureAsync(groupNumber, latitude, longitude, hour))
+                .thenApply(InstTemperatureDTO.class::cast);
+    }
+
+    @Override
+    public InstWindSpeedAndDirectionDTO getInstantaneousWindSpeedAndDirection(int groupNumber, double latitude, double longitude, int hour) {
+        return (InstWindSpeedAndDirectionDTO) join(instantaneousWindSpeedAndDirection(groupNumber, latitude, longitude, hour,
+                () -> CompletableFuture.completedFuture(delegate.getInstantaneousWindSpeedAndDirection(groupNumber, latitude, longitude, hour))));
+    }
+
+    @Override
+    public CompletableFuture<InstWindSpeedAndDirectionDTO> getInstantaneousWindSpeedAndDirectionAsync(int groupNumber, double latitude, double longitude, int hour) {
+        return instantaneousWindSpeedAndDirection(groupNumber, latitude, longitude, hour,
+                () -> asyncDelegate.getInstantaneousWindSpeedAndDirectionAsync(groupNumber, latitude, longitude, hour))
+                .thenApply(InstWindSpeedAndDirectionDTO.class::cast);
+    }
+
+    @Override
+    public MaxWindSpeedAndDirectionOverAPeriodDTO getMaximumWindSpeedAndDirectionOverAPeriod(int groupNumber, double latitude, double longitude, int hourStart, int hourEnd) {
+        return (MaxWindSpeedAndDirectionOverAPeriodDTO) join(maximumWindSpeedAndDirection(groupNumber, latitude, longitude, hourStart, hourEnd,
+                () -> CompletableFuture.completedFuture(delegate.getMaximumWindSpeedAndDirectionOverAPeriod(groupNumber, latitude, longitude, hourStart, hourEnd))));
+    }
+
+    @Override
+    public CompletableFuture<MaxWindSpeedAndDirectionOverAPeriodDTO> getMaximumWindSpeedAndDirectionOverAPeriodAsync(int groupNumber, double latitude, double longitude, int hourStart, int hourEnd) {
+        return maximumWindSpeedAndDirection(groupNumber, latitude, longitude, hourStart, hourEnd,
+                () -> asyncDelegate.getMaximumWindSpeedAndDirectionOverAPeriodAsync(groupNumber, latitude, longitude, hourStart, hourEnd))
+                .thenApply(MaxWindSpeedAndDirectionOverAPeriodDTO.class::cast);
+    }
+
+    @Override
+    public SunriseSunsetDTO getSunriseSunsetHour(int groupNumber, double latitude, double longitude, String option) {
+        return (SunriseSunsetDTO) join(sunriseSunsetHour(groupNumber, latitude, longitude, option,
+                () -> CompletableFuture.completedFuture(delegate.getSunriseSunsetHour(groupNumber, latitude, longitude, option))));
+    }
+
+    @Override
+    public CompletableFuture<SunriseSunsetDTO> getSunriseSunsetHourAsync(int groupNumber, double latitude, double longitude, String option) {
+        return sunriseSunsetHour(groupNumber, latitude, longitude, option,
+                () -> asyncDelegate.getSunriseSunsetHourAsync(groupNumber, latitude, longitude, option))
+                .thenApply(SunriseSunsetDTO.class::cast);
+    }
+
+    /**
+     * Retrieves a cached /InstantaneousTemperature response, or requests it.
+     */
+    private CompletableFuture<Object> instantaneousTemperature(int groupNumber, double latitude, double longitude, int hour,
+                                                               Supplier<CompletableFuture<?>> request) {
+        return getOrRequest(new CacheKey("InstantaneousTemperature", groupNumber, latitude, longitude, String.valueOf(hour)), request);
+    }
+
+    /**
+     * Retrieves a cached /InstantaneousWindSpeedAndDirection response, or requests it.
+     */
+    private CompletableFuture<Object> instantaneousWindSpeedAndDirection(int groupNumber, double latitude, double longitude, int hour,
+                                                                         Supplier<CompletableFuture<?>> request) {
+        return getOrRequest(new CacheKey("InstantaneousWindSpeedAndDirection", groupNumber, latitude, longitude, String.valueOf(hour)), request);
+    }
+
+    /**
+     * Retrieves a cached /MaximumWindSpeedAndDirectionOverAPeriod response, or requests it.
+     */
+    private CompletableFuture<Object> maximumWindSpeedAndDirection(int groupNumber, double latitude, double longitude, int hourStart,
+                                                                   int hourEnd, Supplier<CompletableFuture<?>> request) {
+        return getOrRequest(new CacheKey("MaximumWindSpeedAndDirectionOverAPeriod", groupNumber, latitude, longitude, hourStart + "-" + hourEnd), request);
+    }
+
+    /**
+     * Retrieves a cached /SunriseOrSunsetTime response, or requests it.
+     */
+    private CompletableFuture<Object> sunriseSunsetHour(int groupNumber, double latitude, double longitude, String option,
+                                                        Supplier<CompletableFuture<?>> request) {
+        return getOrRequest(new CacheKey("SunriseOrSunsetTime", groupNumber, latitude, longitude, option), request);
+    }
+
+    /**
+     * Retrieves the share of requests answered from the cache.
+     *
+     * @return hits divided by all requests, or 0 if there were no requests
+     */
+    public double hitRatio() {
+        double requests = hits.count() + misses.count();
+        return requests == 0 ? 0 : hits.count() / requests;
+    }
+
+    /**
+     * Retrieves the number of responses currently cached, including pending ones.
+     *
+     * @return the number of cached responses
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns the cached response of a request, sharing the pending call if there is one, or requests it from an
+     * underlying gateway. Failed calls and empty responses are not cached.
+     *
+     * @param key     the request
+     * @param request the call to an underlying gateway
+     * @return future of the response of the request
+     */
+    private CompletableFuture<Object> getOrRequest(CacheKey key, Supplier<CompletableFuture<?>> request) {
+        CacheEntry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || entry.expiresAtNanos <= nanoClock.getAsLong()) {
+                entry = new CacheEntry();
+                entries.put(key, entry);
+                owner = true;
+            }
+        }
+
+        if (!owner) {
+            hits.increment();
+            return entry.response.thenApply(response -> response);
+        }
+
+        misses.increment();
+        CompletableFuture<?> call;
+        try {
+            call = request.get();
+        } catch (RuntimeException exception) {
+            call = CompletableFuture.failedFuture(exception);
+        }
+
+        CacheEntry requested = entry;
+        call.whenComplete((response, failure) -> {
+            synchronized (entries) {
+                if (failure != null || response == null)
+                    entries.remove(key, requested);
+                else
+                    requested.expiresAtNanos = nanoClock.getAsLong() + timeToLiveNanos;
+            }
+            if (failure != null)
+                requested.response.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure);
+            else
+                requested.response.complete(response);
+        });
+        return requested.response.thenApply(response -> response);
+    }
+
+    /**
+     * Waits for a response, rethrowing the failure of the call if it failed.
+     *
+     * @param response the pending response
+     * @return the response
+     */
+    private static Object join(CompletableFuture<Object> response) {
+        try {
+            return response.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package smarthome.gateway;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker guarding calls to a remote service.
+ * After a number of consecutive failed calls the circuit opens and calls are rejected at once, without reaching the
+ * service. Once the open period has passed a single trial call is let through: its success closes the circuit, its
+ * failure opens it again.
+ */
+public class CircuitBreaker {
+
+    /**
+     * State of the circuit.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Consecutive failed calls that open the circuit.
+     */
+    private final int failureThreshold;
+
+    /**
+     * Time the circuit stays open before a trial call is let through, in nanoseconds.
+     */
+    private final long openNanos;
+
+    /**
+     * Source of the current time, in nanoseconds.
+     */
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+
+    /**
+     * Constructor for CircuitBreaker.
+     *
+     * @param failureThreshold consecutive failed calls that open the circuit
+     * @param openDuration     time the circuit stays open before a trial call is let through
+     * @param nanoClock        source of the current time, in nanoseconds
+     * @throws IllegalArgumentException if the threshold or the duration are not positive, or an argument is null
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        if (openDuration == null || nanoClock == null)
+            throw new IllegalArgumentException("Circuit breaker arguments cannot be null.");
+        if (failureThreshold <= 0 || openDuration.isZero() || openDuration.isNegative())
+            throw new IllegalArgumentException("Circuit breaker threshold and open duration must be positive.");
+
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Asks permission for a call. A closed circuit always allows it; an open circuit allows a single trial call once
+     * its open period has passed.
+     *
+     * @return true if the call may go ahead, false if it must be rejected.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.CLOSED)
+            return true;
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= openNanos) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records a successful call, closing the circuit.
+     */
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Records a failed call, opening the circuit if it was a trial call or the threshold was reached.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtNanos = nanoClock.getAsLong();
+        }
+    }
+
+    /**
+     * Retrieves the state of the circuit.
+     *
+     * @return the current State.
+     */
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,278 @@
+package smarthome.gateway;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import smarthome.domain.gateway.AsyncWeatherAPIGateway;
+import smarthome.service.internaldto.InstTemperatureDTO;
+import smarthome.service.internaldto.InstWindSpeedAndDirectionDTO;
+import smarthome.service.internaldto.MaxWindSpeedAndDirectionOverAPeriodDTO;
+import smarthome.service.internaldto.SunriseSunsetDTO;
+import smarthome.util.GeneralPropertiesProvider;
+import smarthome.util.exceptions.WeatherAPIException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Non-blocking gateway for interacting with the Weather API, built on a shared {@link HttpClient} whose connections
+ * are pooled and reused across requests.
+ * Every attempt has a deadline; attempts failing with an I/O error, a timeout or a server error are retried a bounded
+ * number of times with a growing pause. Requests are guarded by a circuit breaker, so once the Weather API keeps
+ * failing requests are rejected at once instead of waiting for their deadlines.
+ */
+@Component
+public class WeatherAPIGatewayAsyncHttpImpl implements AsyncWeatherAPIGateway {
+
+    /**
+     * Default time allowed to open a connection.
+     */
+    static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
+
+    /**
+     * Default time allowed for each attempt to receive a response.
+     */
+    static final Duration CALL_DEADLINE = Duration.ofSeconds(5);
+
+    /**
+     * Default number of times a failed attempt is retried.
+     */
+    static final int MAX_RETRIES = 2;
+
+    /**
+     * Default pause before the first retry; each further retry waits one more pause.
+     */
+    static final Duration RETRY_BACKOFF = Duration.ofMillis(200);
+
+    /**
+     * Default number of consecutive failed requests that open the circuit.
+     */
+    static final int FAILURE_THRESHOLD = 5;
+
+    /**
+     * Default time the circuit stays open.
+     */
+    static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    /**
+     * Provider of the general properties, holding the base URL for the Weather API.
+     */
+    private final GeneralPropertiesProvider generalPropertiesProvider;
+
+    /**
+     * Client the requests are sent with.
+     */
+    private final HttpClient httpClient;
+
+    /**
+     * Reader of the JSON responses.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Time allowed for each attempt to receive a response.
+     */
+    private final Duration callDeadline;
+
+    /**
+     * Number of times a failed attempt is retried.
+     */
+    private final int maxRetries;
+
+    /**
+     * Pause before the first retry.
+     */
+    private final Duration retryBackoff;
+
+    /**
+     * Circuit breaker guarding the requests.
+     */
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * Constructs a WeatherAPIGatewayAsyncHttpImpl with the default timeouts, retries and circuit breaker.
+     *
+     * @param generalPropertiesProvider the provider of the general properties holding the Weather API URL
+     */
+    @Autowired
+    public WeatherAPIGatewayAsyncHttpImpl(GeneralPropertiesProvider generalPropertiesProvider) {
+        this(generalPropertiesProvider,
+                HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(CONNECT_TIMEOUT).build(),
+                CALL_DEADLINE, MAX_RETRIES, RETRY_BACKOFF,
+                new CircuitBreaker(FAILURE_THRESHOLD, OPEN_DURATION, System::nanoTime));
+    }
+
+    /**
+     * Constructs a WeatherAPIGatewayAsyncHttpImpl.
+     *
+     * @param generalPropertiesProvider the provider of the general properties holding the Weather API URL
+     * @param httpClient                the client the requests are sent with
+     * @param callDeadline              the time allowed for each attempt to receive a response
+     * @param maxRetries                the number of times a failed attempt is retried
+     * @param retryBackoff              the pause before the first retry
+     * @param circuitBreaker            the circuit breaker guarding the requests
+     * @throws IllegalArgumentException if an argument is null, the deadline is not positive or the retries are negative
+     */
+    public WeatherAPIGatewayAsyncHttpImpl(GeneralPropertiesProvider generalPropertiesProvider, HttpClient httpClient,
+                                          Duration callDeadline, int maxRetries, Duration retryBackoff,
+                                          CircuitBreaker circuitBreaker) {
+        if (generalPropertiesProvider == null || httpClient == null || callDeadline == null || retryBackoff == null
+                || circuitBreaker == null)
+            throw new IllegalArgumentException("Gateway arguments cannot be null.");
+        if (callDeadline.isZero() || callDeadline.isNegative() || maxRetries < 0 || retryBackoff.isNegative())
+            throw new IllegalArgumentException("Gateway deadline must be positive and retries cannot be negative.");
+
+        this.generalPropertiesProvider = generalPropertiesProvider;
+        this.httpClient = httpClient;
+        this.objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.callDeadline = callDeadline;
+        this.maxRetries = maxRetries;
+        this.retryBackoff = retryBackoff;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public CompletableFuture<InstTemperatureDTO> getInstantaneousTemperatureAsync(int groupNumber, double latitude, double longitude, int hour) {
+        return get("/InstantaneousTemperature?groupNumber=" + groupNumber + "&latitude=" + latitude + "&longitude=" + longitude + "&hour=" + hour,
+                InstTemperatureDTO.class);
+    }
+
+    @Override
+    public CompletableFuture<InstWindSpeedAndDirectionDTO> getInstantaneousWindSpeedAndDirectionAsync(int groupNumber, double latitude, double longitude, int hour) {
+        return get("/InstantaneousWindSpeedAndDirection?groupNumber=" + groupNumber + "&latitude=" + latitude + "&longitude=" + longitude + "&hour=" + hour,
+                InstWindSpeedAndDirectionDTO.class);
+    }
+
+    @Override
+    public CompletableFuture<MaxWindSpeedAndDirectionOverAPeriodDTO> getMaximumWindSpeedAndDirectionOverAPeriodAsync(int groupNumber, double latitude, double longitude, int hourStart, int hourEnd) {
+        return get("/MaximumWindSpeedAndDirectionOverAPeriod?groupNumber=" + groupNumber + "&latitude=" + latitude + "&longitude=" + longitude + "&hourStart=" + hourStart + "&hourEnd=" + hourEnd,
+                MaxWindSpeedAndDirectionOverAPeriodDTO.class);
+    }
+
+    @Override
+    public CompletableFuture<SunriseSunsetDTO> getSunriseSunsetHourAsync(int groupNumber, double latitude, double longitude, String option) {
+        return get("/SunriseOrSunsetTime?groupNumber=" + groupNumber + "&latitude=" + latitude + "&longitude=" + longitude + "&option=" + option,
+                SunriseSunsetDTO.class);
+    }
+
+    /**
+     * Retrieves the state of the circuit breaker guarding the requests.
+     *
+     * @return the current state of the circuit
+     */
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Sends a GET request to an endpoint of the Weather API, retrying failed attempts, and reads its JSON response.
+     * Requests are rejected at once while the circuit is open.
+     *
+     * @param pathAndQuery the endpoint and query string of the request
+     * @param type         the type of the response body
+     * @param <T>          the type of the response body
+     * @return future of the response body, completed exceptionally with a WeatherAPIException if the request fails
+     */
+    private <T> CompletableFuture<T> get(String pathAndQuery, Class<T> type) {
+        if (!circuitBreaker.tryAcquire())
+            return CompletableFuture.failedFuture(new WeatherAPIException("Weather API is unavailable: circuit is open"));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl() + pathAndQuery))
+                .timeout(callDeadline)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(request, 0).whenComplete((response, failure) -> {
+            if (failure != null) {
+                circuitBreaker.recordFailure();
+                result.completeExceptionally(failure instanceof CompletionException ? failure.getCause() : failure);
+                return;
+            }
+            circuitBreaker.recordSuccess();
+            try {
+                result.complete(readBody(response, type));
+            } catch (WeatherAPIException exception) {
+                result.completeExceptionally(exception);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Sends a request, retrying it after a pause if it fails with an I/O error, a timeout or a server error.
+     *
+     * @param request       the request to send
+     * @param attemptNumber the number of attempts already made
+     * @return future of the response, completed exceptionally with a WeatherAPIException once the retries run out
+     */
+    private CompletableFuture<HttpResponse<String>> attempt(HttpRequest request, int attemptNumber) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, failure) -> {
+                    if (failure == null && response.statusCode() < 500)
+                        return CompletableFuture.completedFuture(response);
+                    if (attemptNumber >= maxRetries)
+                        return CompletableFuture.<HttpResponse<String>>failedFuture(new WeatherAPIException(
+                                "Failed to receive response from the Weather API: " + describe(response, failure)));
+
+                    Executor afterPause = CompletableFuture.delayedExecutor(
+                            retryBackoff.toMillis() * (attemptNumber + 1), TimeUnit.MILLISECONDS);
+                    return CompletableFuture.runAsync(() -> { }, afterPause)
+                            .thenCompose(ignored -> attempt(request, attemptNumber + 1));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Reads the body of a response.
+     *
+     * @param response the response received
+     * @param type     the type of the response body
+     * @param <T>      the type of the response body
+     * @return the response body
+     * @throws WeatherAPIException if the request was rejected or the body cannot be read
+     */
+    private <T> T readBody(HttpResponse<String> response, Class<T> type) {
+        if (response.statusCode() >= 300)
+            throw new WeatherAPIException("Weather API rejected the request with status " + response.statusCode());
+        try {
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException exception) {
+            throw new WeatherAPIException("Invalid response from the Weather API: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Describes why an attempt failed.
+     *
+     * @param response the response received, if any
+     * @param failure  the failure of the attempt, if any
+     * @return a description of the failure
+     */
+    private static String describe(HttpResponse<String> response, Throwable failure) {
+        if (failure == null)
+            return "status " + response.statusCode();
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause.getClass().getSimpleName() + (cause.getMessage() == null ? "" : " " + cause.getMessage());
+    }
+
+    /**
+     * Retrieves the base URL for the Weather API from the current general properties.
+     *
+     * @return the base URL for the Weather API
+     */
+    private String baseUrl() {
+        return generalPropertiesProvider.current().getWeatherServiceAPIHTTPURL();
+    }
+}
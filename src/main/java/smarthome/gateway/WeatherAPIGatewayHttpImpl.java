@@ -1,5 +1,6 @@
 package smarthome.gateway;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import smarthome.domain.gateway.WeatherAPIGateway;
@@ -7,8 +8,7 @@ import smarthome.service.internaldto.InstTemperatureDTO;
 import smarthome.service.internaldto.InstWindSpeedAndDirectionDTO;
 import smarthome.service.internaldto.MaxWindSpeedAndDirectionOverAPeriodDTO;
 import smarthome.service.internaldto.SunriseSunsetDTO;
-import smarthome.util.ConfigScraper;
-import smarthome.util.PropertyLoader;
+import smarthome.util.GeneralPropertiesProvider;
 import smarthome.util.exceptions.WeatherAPIException;
 
 /**
@@ -18,9 +18,19 @@ import smarthome.util.exceptions.WeatherAPIException;
 public class WeatherAPIGatewayHttpImpl implements WeatherAPIGateway {
 
     /**
-     * The base URL for the Weather API.
+     * Time allowed to open a connection to the Weather API, in milliseconds.
      */
-    private final String BASE_URL;
+    static final int CONNECT_TIMEOUT_MILLIS = 2000;
+
+    /**
+     * Time allowed to wait for the Weather API to respond, in milliseconds.
+     */
+    static final int READ_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * Provider of the general properties, holding the base URL for the Weather API.
+     */
+    private final GeneralPropertiesProvider generalPropertiesProvider;
 
     /**
      * The RestTemplate instance used for making HTTP requests.
@@ -30,12 +40,14 @@ public class WeatherAPIGatewayHttpImpl implements WeatherAPIGateway {
     /**
      * Constructs a WeatherService with the given RestTemplate instance.
      *
+     * @param generalPropertiesProvider the provider of the general properties holding the Weather API URL
      */
-    public WeatherAPIGatewayHttpImpl() {
-        this.restTemplate = new RestTemplate();
-        PropertyLoader propertyLoader = new PropertyLoader();
-        ConfigScraper configScraper = new ConfigScraper("config/general.properties", propertyLoader);
-        this.BASE_URL = configScraper.loadWeatherServicesAPIHTTPURL();
+    public WeatherAPIGatewayHttpImpl(GeneralPropertiesProvider generalPropertiesProvider) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+        requestFactory.setReadTimeout(READ_TIMEOUT_MILLIS);
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.generalPropertiesProvider = generalPropertiesProvider;
     }
 
     /**
@@ -51,7 +63,7 @@ public class WeatherAPIGatewayHttpImpl implements WeatherAPIGateway {
      */
     @Override
     public InstTemperatureDTO getInstantaneousTemperature(int groupNumber, double latitude, double longitude, int hour) {
-        String url = BASE_URL + "/InstantaneousTemperature?groupNumber=" + groupNumber + "&latitude=" + latitude + "&longitude=" + longitude + "&hour=" + hour;
+        String url = baseUrl() + "/InstantaneousTemperature?groupNumber=" + groupNumber + "&latitude=" + latitude + "&longitude=" + longitude + "&hour=" + hour;
         ResponseEntity<InstTemperatureDTO> responseEntity = restTemplate.getForEntity(url, InstTemperatureDTO.class);
         return handleResponseEntity(responseEntity);
     }
@@ -69,7 +81,7 @@ public class WeatherAPIGatewayHttpImpl implements WeatherAPIGateway {
      */
     @Override
     public InstWindSpeedAndDirectionDTO getInstantaneousWindSpeedAndDirection(int groupNumber, double latitude, double longitude, int hour) {
-        String url = BASE_URL + "/InstantaneousWindSpeedAndDirection?groupNumber=" + groupNumber + "&latitude=" + latitude + "&longitude=" + longitude + "&hour=" + hour;
+        String url = baseUrl() + "/InstantaneousWindSpeedAndDirection?groupNumber=" + groupNumber + "&latitude=" + latitude + "&longitude=" + longitude + "&hour=" + hour;
         ResponseEntity<InstWindSpeedAndDirectionDTO> responseEntity = restTemplate.getForEntity(url, InstWindSpeedAndDirectionDTO.class);
         return handleResponseEntity(responseEntity);
     }
@@ -88,11 +100,20 @@ public class WeatherAPIGatewayHttpImpl implements WeatherAPIGateway {
      */
     @Override
     public MaxWindSpeedAndDirectionOverAPeriodDTO getMaximumWindSpeedAndDirectionOverAPeriod(int groupNumber, double latitude, double longitude, int hourStart, int hourEnd) {
-        String url = BASE_URL + "/MaximumWindSpeedAndDirectionOverAPeriod?groupNumber=" + groupNumber + "&latitude=" + latitude + "&longitude=" + longitude + "&hourStart=" + hourStart + "&hourEnd=" + hourEnd;
+        String url = baseUrl() + "/MaximumWindSpeedAndDirectionOverAPeriod?groupNumber=" + groupNumber + "&latitude=" + latitude + "&longitude=" + longitude + "&hourStart=" + hourStart + "&hourEnd=" + hourEnd;
         ResponseEntity<MaxWindSpeedAndDirectionOverAPeriodDTO> responseEntity = restTemplate.getForEntity(url, MaxWindSpeedAndDirectionOverAPeriodDTO.class);
         return handleResponseEntity(responseEntity);
     }
 
+    /**
+     * Retrieves the base URL for the Weather API from the current general properties.
+     *
+     * @return the base URL for the Weather API
+     */
+    private String baseUrl() {
+        return generalPropertiesProvider.current().getWeatherServiceAPIHTTPURL();
+    }
+
     /**
      * Handles the ResponseEntity.
      *
@@ -130,7 +151,7 @@ public class WeatherAPIGatewayHttpImpl implements WeatherAPIGateway {
      */
     @Override
     public SunriseSunsetDTO getSunriseSunsetHour(int groupNumber, double latitude, double longitude, String option) {
-        String url = BASE_URL + "/SunriseOrSunsetTime?groupNumber=" + groupNumber + "&latitude=" + latitude + "&longitude=" + longitude + "&option=" + option;
+        String url = baseUrl() + "/SunriseOrSunsetTime?groupNumber=" + groupNumber + "&latitude=" + latitude + "&longitude=" + longitude + "&option=" + option;
         ResponseEntity<SunriseSunsetDTO> responseEntity = restTemplate.getForEntity(url, SunriseSunsetDTO.class);
         return handleResponseEntity(responseEntity);
     }
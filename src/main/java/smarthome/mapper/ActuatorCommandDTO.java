@@ -0,0 +1,90 @@
+package smarthome.mapper;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.util.Objects;
+
+/**
+ * Data Transfer Object (DTO) representing a command queued for an actuator. Requests only carry the value; responses
+ * also carry the command ID, the actuator and the progress of the command.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class ActuatorCommandDTO extends RepresentationModel<ActuatorCommandDTO> {
+
+    /**
+     * The identifier of the command.
+     */
+    public String commandID;
+
+    /**
+     * The name of the actuator the command targets.
+     */
+    public String actuatorName;
+
+    /**
+     * The value requested for the actuator.
+     */
+    @JsonInclude(JsonInclude.Include.ALWAYS)
+    public double value;
+
+    /**
+     * The progress of the command (PENDING, APPLIED, SUPERSEDED, REJECTED or FAILED).
+     */
+    public String status;
+
+    /**
+     * No-param constructor for json serialization and deserialization purposes.
+     */
+    public ActuatorCommandDTO() {
+    }
+
+    /**
+     * Constructor for ActuatorCommandDTO objects sent in requests.
+     *
+     * @param value The value requested for the actuator.
+     */
+    public ActuatorCommandDTO(@JsonProperty("value") double value) {
+        this.value = value;
+    }
+
+    /**
+     * Constructor for ActuatorCommandDTO objects sent in responses.
+     *
+     * @param commandID    The identifier of the command.
+     * @param actuatorName The name of the actuator the command targets.
+     * @param value        The value requested for the actuator.
+     * @param status       The progress of the command.
+     */
+    public ActuatorCommandDTO(String commandID, String actuatorName, double value, String status) {
+        this.commandID = commandID;
+        this.actuatorName = actuatorName;
+        this.value = value;
+        this.status = status;
+    }
+
+    /**
+     * Method to compare two ActuatorCommandDTO objects by their attributes
+     * @param obj Object to be compared with the ActuatorCommandDTO
+     * @return boolean that represents the comparison result between the two ActuatorCommandDTO objects
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        if (!super.equals(obj)) return false;
+        ActuatorCommandDTO that = (ActuatorCommandDTO) obj;
+        return Double.compare(value, that.value) == 0 && Objects.equals(commandID, that.commandID) &&
+                Objects.equals(actuatorName, that.actuatorName) && Objects.equals(status, that.status);
+    }
+
+    /**
+     * Method to generate the hashcode of an ActuatorCommandDTO object
+     * @return int that represents the hashcode of an ActuatorCommandDTO object
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), commandID, actuatorName, value, status);
+    }
+}
@@ -0,0 +1,101 @@
+package smarthome.mapper;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Data transfer object for the readings of a sensor functionality as a columnar series: parallel arrays of timestamps
+ * and values, in time order, with the unit stated once for the whole series instead of once per reading.
+ * Series of numeric single channel readings carry their values as numbers; any other series carries its measurements
+ * as strings, along with their units when the readings do not share one.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ColumnarSeriesDTO
+{
+
+    /**
+     * The name of the functionality of the sensors that took the readings.
+     */
+    public final String sensorFunctionality;
+
+    /**
+     * The unit shared by every reading of the series, or null if the readings do not share one.
+     */
+    public final String unit;
+
+    /**
+     * The times of the readings in milliseconds since the epoch: their instant time, or the start of their period.
+     */
+    public final long[] timestamps;
+
+    /**
+     * The ends of the periods of the readings in milliseconds since the epoch, or null if the readings are instantaneous.
+     */
+    public final long[] endTimestamps;
+
+    /**
+     * The numeric values of the readings, or null if they are not all numeric single channel readings of one unit.
+     */
+    public final double[] values;
+
+    /**
+     * The measurements of the readings, or null if the values are given as numbers.
+     */
+    public final String[] measurements;
+
+    /**
+     * Constructor for the ColumnarSeriesDTO class.
+     * @param sensorFunctionality The name of the functionality of the sensors that took the readings.
+     * @param unit                The unit shared by every reading, or null.
+     * @param timestamps          The times of the readings in milliseconds since the epoch.
+     * @param endTimestamps       The ends of the periods of the readings, or null.
+     * @param values              The numeric values of the readings, or null.
+     * @param measurements        The measurements of the readings, or null.
+     */
+    public ColumnarSeriesDTO(String sensorFunctionality, String unit, long[] timestamps, long[] endTimestamps,
+                             double[] values, String[] measurements)
+    {
+        this.sensorFunctionality = sensorFunctionality;
+        this.unit = unit;
+        this.timestamps = timestamps;
+        this.endTimestamps = endTimestamps;
+        this.values = values;
+        this.measurements = measurements;
+    }
+
+    /**
+     * Method to compare two ColumnarSeriesDTO objects, comparing the contents of their arrays.
+     * @param o The object to compare.
+     * @return True if the objects are equal, false if not.
+     */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ColumnarSeriesDTO that = (ColumnarSeriesDTO) o;
+        return Objects.equals(sensorFunctionality, that.sensorFunctionality)
+                && Objects.equals(unit, that.unit)
+                && Arrays.equals(timestamps, that.timestamps)
+                && Arrays.equals(endTimestamps, that.endTimestamps)
+                && Arrays.equals(values, that.values)
+                && Arrays.equals(measurements, that.measurements);
+    }
+
+    /**
+     * Method to generate the hash code of a ColumnarSeriesDTO object.
+     * @return The hash code of the ColumnarSeriesDTO object.
+     */
+    @Override
+    public int hashCode()
+    {
+        int result = Objects.hash(sensorFunctionality, unit);
+        result = 31 * result + Arrays.hashCode(timestamps);
+        result = 31 * result + Arrays.hashCode(endTimestamps);
+        result = 31 * result + Arrays.hashCode(values);
+        result = 31 * result + Arrays.hashCode(measurements);
+        return result;
+    }
+}
@@ -0,0 +1,57 @@
+package smarthome.mapper;
+
+import java.util.Objects;
+
+/**
+ * Data transfer object for a Reading of a device, along with the functionality of the sensor that took it.
+ * Written one per line when the readings of a device are streamed as NDJSON.
+ */
+public class DeviceReadingDTO
+{
+
+    /**
+     * The name of the functionality of the sensor that took the reading.
+     */
+    public final String sensorFunctionality;
+
+    /**
+     * The reading, with its unit.
+     */
+    public final String valueWithUnit;
+
+    /**
+     * Constructor for the DeviceReadingDTO class.
+     * @param sensorFunctionality The name of the functionality of the sensor that took the reading.
+     * @param valueWithUnit       The reading, with its unit.
+     */
+    public DeviceReadingDTO(String sensorFunctionality, String valueWithUnit)
+    {
+        this.sensorFunctionality = sensorFunctionality;
+        this.valueWithUnit = valueWithUnit;
+    }
+
+    /**
+     * Method to compare two DeviceReadingDTO objects.
+     * @param o The object to compare.
+     * @return True if the objects are equal, false if not.
+     */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DeviceReadingDTO that = (DeviceReadingDTO) o;
+        return Objects.equals(sensorFunctionality, that.sensorFunctionality)
+                && Objects.equals(valueWithUnit, that.valueWithUnit);
+    }
+
+    /**
+     * Method to generate the hash code of a DeviceReadingDTO object.
+     * @return The hash code of the DeviceReadingDTO object.
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(sensorFunctionality, valueWithUnit);
+    }
+}
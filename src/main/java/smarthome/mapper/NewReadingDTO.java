@@ -0,0 +1,106 @@
+package smarthome.mapper;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Data transfer object for a reading sent to the reading ingestion endpoint.
+ * Only the time fields of the sensor's value type are required: instantTime for instant values,
+ * startTime and endTime for period values, and instantTime, latitude and longitude for instant location values.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NewReadingDTO
+{
+    /**
+     * The name and identifier of the sensor that produced the reading.
+     */
+    public final String sensorName;
+
+    /**
+     * The measurement of the reading.
+     */
+    public final String measurement;
+
+    /**
+     * The instant the reading was taken.
+     */
+    public final LocalDateTime instantTime;
+
+    /**
+     * The start of the period the reading refers to.
+     */
+    public final LocalDateTime startTime;
+
+    /**
+     * The end of the period the reading refers to.
+     */
+    public final LocalDateTime endTime;
+
+    /**
+     * The latitude where the reading was taken.
+     */
+    public final Double latitude;
+
+    /**
+     * The longitude where the reading was taken.
+     */
+    public final Double longitude;
+
+    /**
+     * Constructor for the NewReadingDTO class.
+     *
+     * @param sensorName  The name of the sensor that produced the reading.
+     * @param measurement The measurement of the reading.
+     * @param instantTime The instant the reading was taken.
+     * @param startTime   The start of the period the reading refers to.
+     * @param endTime     The end of the period the reading refers to.
+     * @param latitude    The latitude where the reading was taken.
+     * @param longitude   The longitude where the reading was taken.
+     */
+    public NewReadingDTO(@JsonProperty("sensorName") String sensorName,
+                         @JsonProperty("measurement") String measurement,
+                         @JsonProperty("instantTime") LocalDateTime instantTime,
+                         @JsonProperty("startTime") LocalDateTime startTime,
+                         @JsonProperty("endTime") LocalDateTime endTime,
+                         @JsonProperty("latitude") Double latitude,
+                         @JsonProperty("longitude") Double longitude)
+    {
+        this.sensorName = sensorName;
+        this.measurement = measurement;
+        this.instantTime = instantTime;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * Method to compare two NewReadingDTO objects.
+     * @param o The object to compare.
+     * @return True if the objects are equal, false if not.
+     */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NewReadingDTO that = (NewReadingDTO) o;
+        return Objects.equals(sensorName, that.sensorName) && Objects.equals(measurement, that.measurement) &&
+                Objects.equals(instantTime, that.instantTime) && Objects.equals(startTime, that.startTime) &&
+                Objects.equals(endTime, that.endTime) && Objects.equals(latitude, that.latitude) &&
+                Objects.equals(longitude, that.longitude);
+    }
+
+    /**
+     * Method to generate the hash code of a NewReadingDTO object.
+     * @return The hash code of the NewReadingDTO object.
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(sensorName, measurement, instantTime, startTime, endTime, latitude, longitude);
+    }
+}
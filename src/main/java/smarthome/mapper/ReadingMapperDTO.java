@@ -1,13 +1,35 @@
 package smarthome.mapper;
 
 import org.springframework.stereotype.Component;
+import smarthome.domain.value.PeriodTimeValue;
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.GPSCode;
 import smarthome.domain.valueobjects.Reading;
+import smarthome.domain.valueobjects.SensorFunctionalityID;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueCursor;
+import smarthome.domain.valueobjects.ValueID;
+import smarthome.domain.valueobjects.ValueRollup;
+import smarthome.service.internaldto.InternalReadingDTO;
+import smarthome.service.internaldto.InternalReadingPageDTO;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class ReadingMapperDTO {
+    /**
+     * Separator between the time and the ValueID of an encoded cursor. Never part of an ISO-8601 instant.
+     */
+    private static final String CURSOR_SEPARATOR = "|";
+
     /**
      * Method to convert a List<Reading> to a List<ReadingDTO>
      * @param readings list of Reading objects (VO)
@@ -21,4 +43,169 @@ public class ReadingMapperDTO {
         }
         return listOfReadingsDTO;
     }
+
+    /**
+     * Method to convert a Reading of a device to a DeviceReadingDTO
+     * @param sensorFunctionalityID functionality of the sensor that took the reading (VO)
+     * @param reading Reading object (VO)
+     * @return DeviceReadingDTO with the functionality name and the output of the Reading object
+     */
+    public DeviceReadingDTO readingToDeviceReadingDTO (SensorFunctionalityID sensorFunctionalityID, Reading reading) {
+        return new DeviceReadingDTO(sensorFunctionalityID.toString(), reading.getAllValuesWithUnits());
+    }
+
+    /**
+     * Method to convert the values of each sensor functionality of a device to columnar series
+     * @param valuesBySensorFunctionality map of SensorFunctionalityID (VO) to the Value objects of its sensors
+     * @return list with a ColumnarSeriesDTO per sensor functionality, in the order of the map
+     */
+    public List<ColumnarSeriesDTO> valuesToColumnarSeriesDTOList (Map<SensorFunctionalityID, List<Value>> valuesBySensorFunctionality) {
+        List<ColumnarSeriesDTO> listOfSeriesDTO = new ArrayList<>();
+        for (Map.Entry<SensorFunctionalityID, List<Value>> entry : valuesBySensorFunctionality.entrySet()) {
+            listOfSeriesDTO.add(valuesToColumnarSeriesDTO(entry.getKey(), entry.getValue()));
+        }
+        return listOfSeriesDTO;
+    }
+
+    /**
+     * Method to convert the values of a sensor functionality to a columnar series, in time order
+     * @param sensorFunctionalityID functionality of the sensors that took the readings (VO)
+     * @param values list of Value objects, of any type and order
+     * @return ColumnarSeriesDTO with the unit once and the timestamps and values as parallel arrays
+     */
+    public ColumnarSeriesDTO valuesToColumnarSeriesDTO (SensorFunctionalityID sensorFunctionalityID, List<Value> values) {
+        List<Value> orderedValues = new ArrayList<>(values);
+        orderedValues.sort(Comparator.comparing(ValueCursor::of));
+
+        String unit = orderedValues.isEmpty() ? null : orderedValues.get(0).getReading().getUnit();
+        boolean numeric = true;
+        boolean periods = !orderedValues.isEmpty();
+        for (Value value : orderedValues) {
+            Reading reading = value.getReading();
+            if (unit != null && !unit.equals(reading.getUnit()))
+                unit = null;
+            numeric &= reading.isNumeric() && reading.getChannelCount() == 1;
+            periods &= value instanceof PeriodTimeValue;
+        }
+        numeric &= unit != null || orderedValues.isEmpty();
+
+        int size = orderedValues.size();
+        long[] timestamps = new long[size];
+        long[] endTimestamps = periods ? new long[size] : null;
+        double[] numericValues = numeric ? new double[size] : null;
+        String[] measurements = numeric ? null : new String[size];
+        for (int i = 0; i < size; i++) {
+            Value value = orderedValues.get(i);
+            timestamps[i] = ValueCursor.of(value).getTime().getTime();
+            if (periods)
+                endTimestamps[i] = ((PeriodTimeValue) value).getEndTimeReading().getTime();
+            if (numeric)
+                numericValues[i] = value.getReading().getNumericMeasurement();
+            else
+                measurements[i] = unit != null ? value.getReading().getMeasurement() : value.getReading().getAllValuesWithUnits();
+        }
+        return new ColumnarSeriesDTO(sensorFunctionalityID.toString(), unit, timestamps, endTimestamps, numericValues, measurements);
+    }
+
+    /**
+     * Method to convert a page of the readings of a device to a ReadingPageDTO, without links
+     * @param page InternalReadingPageDTO with the readings of the page
+     * @return ReadingPageDTO with a DeviceReadingDTO for each reading, in the same order
+     */
+    public ReadingPageDTO readingPageToDTO (InternalReadingPageDTO page) {
+        List<DeviceReadingDTO> listOfReadingsDTO = new ArrayList<>();
+        for (InternalReadingPageDTO.PagedReading pagedReading : page.readings) {
+            listOfReadingsDTO.add(readingToDeviceReadingDTO(pagedReading.sensorFunctionalityID(), pagedReading.reading()));
+        }
+        return new ReadingPageDTO(listOfReadingsDTO);
+    }
+
+    /**
+     * Method to encode a ValueCursor as the opaque cursor handed to clients to request the following page
+     * @param cursor ValueCursor object (VO)
+     * @return URL-safe Base64 encoding of the time and ValueID of the cursor
+     */
+    public String cursorToToken (ValueCursor cursor) {
+        String cursorText = cursor.getTime().toInstant() + CURSOR_SEPARATOR + cursor.getValueID();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursorText.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Method to decode an opaque cursor handed to a client back to a ValueCursor
+     * @param token cursor obtained from cursorToToken
+     * @return ValueCursor object (VO)
+     * @throws IllegalArgumentException if the cursor is not a valid encoding
+     */
+    public ValueCursor tokenToCursor (String token) {
+        try {
+            String cursorText = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = cursorText.indexOf(CURSOR_SEPARATOR);
+            Timestamp time = Timestamp.from(Instant.parse(cursorText.substring(0, separator)));
+            return new ValueCursor(time, new ValueID(cursorText.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Method to convert a List<ValueRollup> to a List<ValueRollupDTO>
+     * @param rollups list of ValueRollup objects (VO)
+     * @return list of ValueRollupDTO in the same order, with the bucket start as an ISO-8601 local date-time
+     */
+    public List<ValueRollupDTO> rollupsToDTOList (List<ValueRollup> rollups) {
+        List<ValueRollupDTO> listOfRollupsDTO = new ArrayList<>();
+        for (ValueRollup rollup : rollups) {
+            ValueRollupDTO rollupDTO = new ValueRollupDTO(
+                    rollup.getBucketStart().toLocalDateTime().toString(),
+                    rollup.getResolution().getLabel(),
+                    rollup.getUnit(),
+                    rollup.getMinimum(),
+                    rollup.getMaximum(),
+                    rollup.getAverage(),
+                    rollup.getSum(),
+                    rollup.getCount());
+            listOfRollupsDTO.add(rollupDTO);
+        }
+        return listOfRollupsDTO;
+    }
+
+    /**
+     * Method to convert a List<NewReadingDTO> received by the ingestion endpoint to a List<InternalReadingDTO>
+     * @param newReadings list of NewReadingDTO objects
+     * @return list of InternalReadingDTO where each object holds the value objects of the corresponding NewReadingDTO
+     * @throws IllegalArgumentException if the list or any of its entries is null
+     */
+    public List<InternalReadingDTO> newReadingsToInternalDTOList (List<NewReadingDTO> newReadings) {
+        if (newReadings == null)
+            throw new IllegalArgumentException("Readings cannot be null");
+
+        List<InternalReadingDTO> internalReadings = new ArrayList<>();
+        for (NewReadingDTO newReading : newReadings) {
+            if (newReading == null)
+                throw new IllegalArgumentException("Readings cannot be null");
+
+            GPSCode gpsCode = null;
+            if (newReading.latitude != null && newReading.longitude != null)
+                gpsCode = new GPSCode(newReading.latitude, newReading.longitude);
+
+            InternalReadingDTO internalReading = new InternalReadingDTO(
+                    new SensorID(newReading.sensorName),
+                    newReading.measurement,
+                    toTimestamp(newReading.instantTime),
+                    toTimestamp(newReading.startTime),
+                    toTimestamp(newReading.endTime),
+                    gpsCode);
+            internalReadings.add(internalReading);
+        }
+        return internalReadings;
+    }
+
+    /**
+     * Converts a LocalDateTime to a Timestamp, keeping null values.
+     * @param localDateTime LocalDateTime to convert, may be null
+     * @return the corresponding Timestamp, or null
+     */
+    private Timestamp toTimestamp (LocalDateTime localDateTime) {
+        return localDateTime == null ? null : Timestamp.valueOf(localDateTime);
+    }
 }
@@ -0,0 +1,55 @@
+package smarthome.mapper;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Data transfer object for a page of the readings of a device, ordered by time.
+ * Carries a "next" link with the cursor of the following page, unless it is the last page.
+ */
+public class ReadingPageDTO extends RepresentationModel<ReadingPageDTO>
+{
+
+    /**
+     * The readings of the page, along with the functionality of the sensor that took them.
+     */
+    @JsonProperty("readings")
+    public final List<DeviceReadingDTO> readings;
+
+    /**
+     * Constructor for the ReadingPageDTO class.
+     * @param readings The readings of the page, ordered by time.
+     */
+    public ReadingPageDTO(List<DeviceReadingDTO> readings)
+    {
+        this.readings = readings;
+    }
+
+    /**
+     * Method to compare two ReadingPageDTO objects, along with their links.
+     * @param o The object to compare.
+     * @return True if the objects are equal, false if not.
+     */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (!super.equals(o)) return false;
+        ReadingPageDTO that = (ReadingPageDTO) o;
+        return Objects.equals(readings, that.readings);
+    }
+
+    /**
+     * Method to generate the hash code of a ReadingPageDTO object.
+     * @return The hash code of the ReadingPageDTO object.
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(super.hashCode(), readings);
+    }
+}
@@ -0,0 +1,104 @@
+package smarthome.mapper;
+
+import org.springframework.hateoas.RepresentationModel;
+
+import java.util.Objects;
+
+/**
+ * Data transfer object for the ValueRollup class.
+ */
+public class ValueRollupDTO extends RepresentationModel<ValueRollupDTO>
+{
+
+    /**
+     * The start of the bucket, as an ISO-8601 local date-time.
+     */
+    public final String bucketStart;
+
+    /**
+     * The short name of the resolution of the bucket (e.g. "15m").
+     */
+    public final String resolution;
+
+    /**
+     * The unit of the readings.
+     */
+    public final String unit;
+
+    /**
+     * The smallest reading in the bucket.
+     */
+    public final double min;
+
+    /**
+     * The largest reading in the bucket.
+     */
+    public final double max;
+
+    /**
+     * The average of the readings in the bucket.
+     */
+    public final double avg;
+
+    /**
+     * The sum of the readings in the bucket.
+     */
+    public final double sum;
+
+    /**
+     * The number of readings in the bucket.
+     */
+    public final long count;
+
+    /**
+     * Constructor for the ValueRollupDTO class.
+     * @param bucketStart The start of the bucket.
+     * @param resolution  The short name of the resolution of the bucket.
+     * @param unit        The unit of the readings.
+     * @param min         The smallest reading in the bucket.
+     * @param max         The largest reading in the bucket.
+     * @param avg         The average of the readings in the bucket.
+     * @param sum         The sum of the readings in the bucket.
+     * @param count       The number of readings in the bucket.
+     */
+    public ValueRollupDTO(String bucketStart, String resolution, String unit, double min, double max, double avg,
+                          double sum, long count)
+    {
+        this.bucketStart = bucketStart;
+        this.resolution = resolution;
+        this.unit = unit;
+        this.min = min;
+        this.max = max;
+        this.avg = avg;
+        this.sum = sum;
+        this.count = count;
+    }
+
+    /**
+     * Method to compare two ValueRollupDTO objects.
+     * @param o The object to compare.
+     * @return True if the objects are equal, false if not.
+     */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (!super.equals(o)) return false;
+        ValueRollupDTO that = (ValueRollupDTO) o;
+        return Double.compare(min, that.min) == 0 && Double.compare(max, that.max) == 0
+                && Double.compare(avg, that.avg) == 0 && Double.compare(sum, that.sum) == 0 && count == that.count
+                && Objects.equals(bucketStart, that.bucketStart) && Objects.equals(resolution, that.resolution)
+                && Objects.equals(unit, that.unit);
+    }
+
+    /**
+     * Method to generate the hash code of a ValueRollupDTO object.
+     * @return The hash code of the ValueRollupDTO object.
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(super.hashCode(), bucketStart, resolution, unit, min, max, avg, sum, count);
+    }
+}
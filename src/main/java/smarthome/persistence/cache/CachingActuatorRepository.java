@@ -0,0 +1,95 @@
+package smarthome.persistence.cache;
+
+import smarthome.domain.actuators.Actuator;
+import smarthome.domain.repository.ActuatorRepository;
+import smarthome.domain.valueobjects.ActuatorFunctionalityID;
+import smarthome.domain.valueobjects.ActuatorID;
+import smarthome.domain.valueobjects.DeviceID;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Actuator repository that serves reads from a TopologyCache in front of another actuator repository.
+ * Writes go through to the underlying repository and invalidate the cache.
+ * Cached actuators are copied before they are handed out, so callers can change them without changing the cache.
+ */
+public class CachingActuatorRepository implements ActuatorRepository {
+
+    /**
+     * Repository the actuators are read from and written to.
+     */
+    private final ActuatorRepository delegate;
+
+    /**
+     * Cached results of the queries of the repository.
+     */
+    private final TopologyCache cache;
+
+    /**
+     * Copies a cached actuator for a caller.
+     */
+    private final UnaryOperator<Actuator> copy;
+
+    /**
+     * Constructs a CachingActuatorRepository.
+     *
+     * @param delegate the repository the actuators are read from and written to
+     * @param cache    the cache the query results are kept in
+     * @param copy     copies a cached actuator for a caller
+     * @throws IllegalArgumentException if an argument is null
+     */
+    public CachingActuatorRepository(ActuatorRepository delegate, TopologyCache cache, UnaryOperator<Actuator> copy) {
+        if (delegate == null || cache == null || copy == null)
+            throw new IllegalArgumentException("Repository arguments cannot be null.");
+        this.delegate = delegate;
+        this.cache = cache;
+        this.copy = copy;
+    }
+
+    @Override
+    public Actuator save(Actuator actuator) {
+        try {
+            return delegate.save(actuator);
+        } finally {
+            cache.invalidate(actuator.identity());
+        }
+    }
+
+    @Override
+    public Iterable<Actuator> findByDeviceID(DeviceID deviceID) {
+        Iterable<Actuator> actuators = cache.getOrLoadAll("findByDeviceID", deviceID, () -> delegate.findByDeviceID(deviceID));
+        return TopologyCache.copyAll(actuators, copy);
+    }
+
+    @Override
+    public Iterable<Actuator> findByActuatorFunctionalityID(ActuatorFunctionalityID actuatorFunctionalityID) {
+        Iterable<Actuator> actuators = cache.getOrLoadAll("findByActuatorFunctionalityID", actuatorFunctionalityID,
+                () -> delegate.findByActuatorFunctionalityID(actuatorFunctionalityID));
+        return TopologyCache.copyAll(actuators, copy);
+    }
+
+    @Override
+    public Iterable<Actuator> findByDeviceIDAndActuatorFunctionalityID(DeviceID deviceID, ActuatorFunctionalityID actuatorFunctionalityID) {
+        Iterable<Actuator> actuators = cache.getOrLoadAll("findByDeviceIDAndActuatorFunctionalityID", Arrays.asList(deviceID, actuatorFunctionalityID),
+                () -> delegate.findByDeviceIDAndActuatorFunctionalityID(deviceID, actuatorFunctionalityID));
+        return TopologyCache.copyAll(actuators, copy);
+    }
+
+    @Override
+    public Optional<Actuator> findEntityByID(ActuatorID actuatorID) {
+        return cache.getOrLoad(TopologyCache.FIND_BY_ID, actuatorID, () -> delegate.findEntityByID(actuatorID)).map(copy);
+    }
+
+    @Override
+    public Iterable<Actuator> findAllEntities() {
+        Iterable<Actuator> actuators = cache.getOrLoadAll("findAllEntities", null, delegate::findAllEntities);
+        return TopologyCache.copyAll(actuators, copy);
+    }
+
+    @Override
+    public boolean containsEntityByID(ActuatorID actuatorID) {
+        return cache.getOrLoad("containsEntityByID", actuatorID, () -> delegate.containsEntityByID(actuatorID));
+    }
+}
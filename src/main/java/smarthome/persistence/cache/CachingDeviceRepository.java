@@ -0,0 +1,96 @@
+package smarthome.persistence.cache;
+
+import smarthome.domain.device.Device;
+import smarthome.domain.repository.DeviceRepository;
+import smarthome.domain.valueobjects.DeviceID;
+import smarthome.domain.valueobjects.HouseID;
+import smarthome.domain.valueobjects.RoomID;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Device repository that serves reads from a TopologyCache in front of another device repository.
+ * Writes go through to the underlying repository and invalidate the cache; versioned updates always read the
+ * underlying repository, so a change is applied to the stored entity rather than to a cached copy.
+ * Cached devices are copied before they are handed out, so callers can change them without changing the cache.
+ */
+public class CachingDeviceRepository implements DeviceRepository {
+
+    /**
+     * Repository the devices are read from and written to.
+     */
+    private final DeviceRepository delegate;
+
+    /**
+     * Cached results of the queries of the repository.
+     */
+    private final TopologyCache cache;
+
+    /**
+     * Copies a cached device for a caller.
+     */
+    private final UnaryOperator<Device> copy;
+
+    /**
+     * Constructs a CachingDeviceRepository.
+     *
+     * @param delegate the repository the devices are read from and written to
+     * @param cache    the cache the query results are kept in
+     * @param copy     copies a cached device for a caller
+     * @throws IllegalArgumentException if an argument is null
+     */
+    public CachingDeviceRepository(DeviceRepository delegate, TopologyCache cache, UnaryOperator<Device> copy) {
+        if (delegate == null || cache == null || copy == null)
+            throw new IllegalArgumentException("Repository arguments cannot be null.");
+        this.delegate = delegate;
+        this.cache = cache;
+        this.copy = copy;
+    }
+
+    @Override
+    public Device save(Device device) {
+        try {
+            return delegate.save(device);
+        } finally {
+            cache.invalidate(device.identity());
+        }
+    }
+
+    @Override
+    public Optional<Device> update(DeviceID deviceID, UnaryOperator<Device> change) {
+        try {
+            return delegate.update(deviceID, change);
+        } finally {
+            cache.invalidate(deviceID);
+        }
+    }
+
+    @Override
+    public Iterable<Device> findByRoomID(RoomID roomID) {
+        Iterable<Device> devices = cache.getOrLoadAll("findByRoomID", roomID, () -> delegate.findByRoomID(roomID));
+        return TopologyCache.copyAll(devices, copy);
+    }
+
+    @Override
+    public Iterable<DeviceSummary> findDeviceSummariesByHouseID(HouseID houseID) {
+        return cache.getOrLoadAll("findDeviceSummariesByHouseID", houseID,
+                () -> delegate.findDeviceSummariesByHouseID(houseID));
+    }
+
+    @Override
+    public Optional<Device> findEntityByID(DeviceID deviceID) {
+        return cache.getOrLoad(TopologyCache.FIND_BY_ID, deviceID, () -> delegate.findEntityByID(deviceID)).map(copy);
+    }
+
+    @Override
+    public Iterable<Device> findAllEntities() {
+        Iterable<Device> devices = cache.getOrLoadAll("findAllEntities", null, delegate::findAllEntities);
+        return TopologyCache.copyAll(devices, copy);
+    }
+
+    @Override
+    public boolean containsEntityByID(DeviceID deviceID) {
+        return cache.getOrLoad("containsEntityByID", deviceID, () -> delegate.containsEntityByID(deviceID));
+    }
+}
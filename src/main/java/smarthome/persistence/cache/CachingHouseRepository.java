@@ -0,0 +1,82 @@
+package smarthome.persistence.cache;
+
+import smarthome.domain.house.House;
+import smarthome.domain.repository.HouseRepository;
+import smarthome.domain.valueobjects.HouseID;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * House repository that serves reads from a TopologyCache in front of another house repository.
+ * Writes go through to the underlying repository and invalidate the cache; versioned updates always read the
+ * underlying repository, so a change is applied to the stored entity rather than to a cached copy.
+ * Cached houses are copied before they are handed out, so callers can change them without changing the cache.
+ */
+public class CachingHouseRepository implements HouseRepository {
+
+    /**
+     * Repository the houses are read from and written to.
+     */
+    private final HouseRepository delegate;
+
+    /**
+     * Cached results of the queries of the repository.
+     */
+    private final TopologyCache cache;
+
+    /**
+     * Copies a cached house for a caller.
+     */
+    private final UnaryOperator<House> copy;
+
+    /**
+     * Constructs a CachingHouseRepository.
+     *
+     * @param delegate the repository the houses are read from and written to
+     * @param cache    the cache the query results are kept in
+     * @param copy     copies a cached house for a caller
+     * @throws IllegalArgumentException if an argument is null
+     */
+    public CachingHouseRepository(HouseRepository delegate, TopologyCache cache, UnaryOperator<House> copy) {
+        if (delegate == null || cache == null || copy == null)
+            throw new IllegalArgumentException("Repository arguments cannot be null.");
+        this.delegate = delegate;
+        this.cache = cache;
+        this.copy = copy;
+    }
+
+    @Override
+    public House save(House house) {
+        try {
+            return delegate.save(house);
+        } finally {
+            cache.invalidate(house.identity());
+        }
+    }
+
+    @Override
+    public Optional<House> update(HouseID houseID, UnaryOperator<House> change) {
+        try {
+            return delegate.update(houseID, change);
+        } finally {
+            cache.invalidate(houseID);
+        }
+    }
+
+    @Override
+    public Optional<House> findEntityByID(HouseID houseID) {
+        return cache.getOrLoad(TopologyCache.FIND_BY_ID, houseID, () -> delegate.findEntityByID(houseID)).map(copy);
+    }
+
+    @Override
+    public Iterable<House> findAllEntities() {
+        Iterable<House> houses = cache.getOrLoadAll("findAllEntities", null, delegate::findAllEntities);
+        return TopologyCache.copyAll(houses, copy);
+    }
+
+    @Override
+    public boolean containsEntityByID(HouseID houseID) {
+        return cache.getOrLoad("containsEntityByID", houseID, () -> delegate.containsEntityByID(houseID));
+    }
+}
@@ -0,0 +1,89 @@
+package smarthome.persistence.cache;
+
+import smarthome.domain.room.Room;
+import smarthome.domain.repository.RoomRepository;
+import smarthome.domain.valueobjects.HouseID;
+import smarthome.domain.valueobjects.RoomID;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Room repository that serves reads from a TopologyCache in front of another room repository.
+ * Writes go through to the underlying repository and invalidate the cache; versioned updates always read the
+ * underlying repository, so a change is applied to the stored entity rather than to a cached copy.
+ * Cached rooms are copied before they are handed out, so callers can change them without changing the cache.
+ */
+public class CachingRoomRepository implements RoomRepository {
+
+    /**
+     * Repository the rooms are read from and written to.
+     */
+    private final RoomRepository delegate;
+
+    /**
+     * Cached results of the queries of the repository.
+     */
+    private final TopologyCache cache;
+
+    /**
+     * Copies a cached room for a caller.
+     */
+    private final UnaryOperator<Room> copy;
+
+    /**
+     * Constructs a CachingRoomRepository.
+     *
+     * @param delegate the repository the rooms are read from and written to
+     * @param cache    the cache the query results are kept in
+     * @param copy     copies a cached room for a caller
+     * @throws IllegalArgumentException if an argument is null
+     */
+    public CachingRoomRepository(RoomRepository delegate, TopologyCache cache, UnaryOperator<Room> copy) {
+        if (delegate == null || cache == null || copy == null)
+            throw new IllegalArgumentException("Repository arguments cannot be null.");
+        this.delegate = delegate;
+        this.cache = cache;
+        this.copy = copy;
+    }
+
+    @Override
+    public Room save(Room room) {
+        try {
+            return delegate.save(room);
+        } finally {
+            cache.invalidate(room.identity());
+        }
+    }
+
+    @Override
+    public Optional<Room> update(RoomID roomID, UnaryOperator<Room> change) {
+        try {
+            return delegate.update(roomID, change);
+        } finally {
+            cache.invalidate(roomID);
+        }
+    }
+
+    @Override
+    public Iterable<Room> findByHouseID(HouseID houseID) {
+        Iterable<Room> rooms = cache.getOrLoadAll("findByHouseID", houseID, () -> delegate.findByHouseID(houseID));
+        return TopologyCache.copyAll(rooms, copy);
+    }
+
+    @Override
+    public Optional<Room> findEntityByID(RoomID roomID) {
+        return cache.getOrLoad(TopologyCache.FIND_BY_ID, roomID, () -> delegate.findEntityByID(roomID)).map(copy);
+    }
+
+    @Override
+    public Iterable<Room> findAllEntities() {
+        Iterable<Room> rooms = cache.getOrLoadAll("findAllEntities", null, delegate::findAllEntities);
+        return TopologyCache.copyAll(rooms, copy);
+    }
+
+    @Override
+    public boolean containsEntityByID(RoomID roomID) {
+        return cache.getOrLoad("containsEntityByID", roomID, () -> delegate.containsEntityByID(roomID));
+    }
+}
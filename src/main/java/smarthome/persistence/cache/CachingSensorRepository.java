@@ -0,0 +1,82 @@
+package smarthome.persistence.cache;
+
+import smarthome.domain.repository.SensorRepository;
+import smarthome.domain.sensor.Sensor;
+import smarthome.domain.valueobjects.DeviceID;
+import smarthome.domain.valueobjects.SensorFunctionalityID;
+import smarthome.domain.valueobjects.SensorID;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Sensor repository that serves reads from a TopologyCache in front of another sensor repository.
+ * Writes go through to the underlying repository and invalidate the cache.
+ */
+public class CachingSensorRepository implements SensorRepository {
+
+    /**
+     * Repository the sensors are read from and written to.
+     */
+    private final SensorRepository delegate;
+
+    /**
+     * Cached results of the queries of the repository.
+     */
+    private final TopologyCache cache;
+
+    /**
+     * Constructs a CachingSensorRepository.
+     *
+     * @param delegate the repository the sensors are read from and written to
+     * @param cache    the cache the query results are kept in
+     * @throws IllegalArgumentException if an argument is null
+     */
+    public CachingSensorRepository(SensorRepository delegate, TopologyCache cache) {
+        if (delegate == null || cache == null)
+            throw new IllegalArgumentException("Repository arguments cannot be null.");
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Sensor save(Sensor sensor) {
+        try {
+            return delegate.save(sensor);
+        } finally {
+            cache.invalidate(sensor.identity());
+        }
+    }
+
+    @Override
+    public Iterable<Sensor> findByDeviceID(DeviceID deviceID) {
+        return cache.getOrLoadAll("findByDeviceID", deviceID, () -> delegate.findByDeviceID(deviceID));
+    }
+
+    @Override
+    public Iterable<Sensor> findBySensorFunctionality(SensorFunctionalityID sensorFunctionalityID) {
+        return cache.getOrLoadAll("findBySensorFunctionality", sensorFunctionalityID,
+                () -> delegate.findBySensorFunctionality(sensorFunctionalityID));
+    }
+
+    @Override
+    public Iterable<Sensor> findByDeviceIDAndSensorFunctionality(DeviceID deviceID, SensorFunctionalityID sensorFunctionalityID) {
+        return cache.getOrLoadAll("findByDeviceIDAndSensorFunctionality", Arrays.asList(deviceID, sensorFunctionalityID),
+                () -> delegate.findByDeviceIDAndSensorFunctionality(deviceID, sensorFunctionalityID));
+    }
+
+    @Override
+    public Optional<Sensor> findEntityByID(SensorID sensorID) {
+        return cache.getOrLoad(TopologyCache.FIND_BY_ID, sensorID, () -> delegate.findEntityByID(sensorID));
+    }
+
+    @Override
+    public Iterable<Sensor> findAllEntities() {
+        return cache.getOrLoadAll("findAllEntities", null, delegate::findAllEntities);
+    }
+
+    @Override
+    public boolean containsEntityByID(SensorID sensorID) {
+        return cache.getOrLoad("containsEntityByID", sensorID, () -> delegate.containsEntityByID(sensorID));
+    }
+}
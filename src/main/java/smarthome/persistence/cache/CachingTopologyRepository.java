@@ -0,0 +1,47 @@
+package smarthome.persistence.cache;
+
+import smarthome.domain.repository.TopologyRepository;
+import smarthome.domain.valueobjects.ActuatorFunctionalityID;
+
+/**
+ * Topology repository that serves the topology projection from a TopologyCache in front of another topology
+ * repository. The projection has no writes of its own; its cache is cleared by the caches of the devices, sensors
+ * and actuators it is derived from. Actuator targets are not cached: commands are applied to them, so they are always
+ * read from the underlying repository with the current status of their devices.
+ */
+public class CachingTopologyRepository implements TopologyRepository {
+
+    /**
+     * Repository the topology projection is read from.
+     */
+    private final TopologyRepository delegate;
+
+    /**
+     * Cached topology projection.
+     */
+    private final TopologyCache cache;
+
+    /**
+     * Constructs a CachingTopologyRepository.
+     *
+     * @param delegate the repository the topology projection is read from
+     * @param cache    the cache the projection is kept in
+     * @throws IllegalArgumentException if an argument is null
+     */
+    public CachingTopologyRepository(TopologyRepository delegate, TopologyCache cache) {
+        if (delegate == null || cache == null)
+            throw new IllegalArgumentException("Repository arguments cannot be null.");
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Iterable<FunctionalityLocation> findFunctionalityLocations() {
+        return cache.getOrLoadAll("findFunctionalityLocations", null, delegate::findFunctionalityLocations);
+    }
+
+    @Override
+    public Iterable<ActuatorTarget> findActuatorTargets(ActuatorFunctionalityID actuatorFunctionalityID) {
+        return delegate.findActuatorTargets(actuatorFunctionalityID);
+    }
+}
@@ -0,0 +1,280 @@
+package smarthome.persistence.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded cache of the results of the queries of a topology repository, keyed by query and argument.
+ * The least recently used results are evicted once the cache is full. Writes invalidate the result of the written
+ * aggregate and every result of any other query, since any of them may include it; a query that was running while
+ * a write happened does not cache its result. Caches of results derived from the same aggregates, such as the
+ * topology projection, can be cleared along with it. Hits and misses are published as metrics, tagged with the
+ * repository.
+ * Writes are only seen by the cache of the application instance they go through, so results also expire after a time
+ * to live: writes made by other instances, or straight to the database, are picked up once it has passed.
+ */
+public class TopologyCache {
+
+    /**
+     * Name of the query the aggregates are found by their ID with.
+     */
+    static final String FIND_BY_ID = "findEntityByID";
+
+    /**
+     * Default maximum number of results kept.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    /**
+     * Default time a result is served from the cache before the query is run again.
+     */
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofSeconds(30);
+
+    /**
+     * Identifies a query result: the query and the argument it was run with, if any.
+     */
+    private record CacheKey(String query, Object argument) {
+    }
+
+    /**
+     * A cached result and the time, in epoch milliseconds, it was cached at.
+     */
+    private record Entry(Object result, long cachedAt) {
+    }
+
+    /**
+     * Cached results, in least recently used order. Guarded by itself.
+     */
+    private final Map<CacheKey, Entry> entries;
+
+    /**
+     * Time, in milliseconds, a result is served before the query is run again.
+     */
+    private final long timeToLiveMillis;
+
+    /**
+     * Clock the age of the results is measured with.
+     */
+    private final Clock clock;
+
+    /**
+     * Number of invalidations so far, so results of queries that overlapped one are not cached. Guarded by entries.
+     */
+    private long generation;
+
+    /**
+     * Caches cleared whenever this cache is invalidated.
+     */
+    private final List<TopologyCache> dependents = new CopyOnWriteArrayList<>();
+
+    /**
+     * Queries answered from the cache.
+     */
+    private final Counter hits;
+
+    /**
+     * Queries forwarded to the underlying repository.
+     */
+    private final Counter misses;
+
+    /**
+     * Constructs a TopologyCache whose results expire after the default time to live.
+     *
+     * @param repository    the name of the cached repository, used to tag the metrics
+     * @param meterRegistry the registry the cache metrics are published to
+     * @param maximumSize   the maximum number of results kept
+     * @throws IllegalArgumentException if an argument is null or the size is not positive
+     */
+    public TopologyCache(String repository, MeterRegistry meterRegistry, int maximumSize) {
+        this(repository, meterRegistry, maximumSize, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * Constructs a TopologyCache.
+     *
+     * @param repository    the name of the cached repository, used to tag the metrics
+     * @param meterRegistry the registry the cache metrics are published to
+     * @param maximumSize   the maximum number of results kept
+     * @param timeToLive    how long a result is served before the query is run again
+     * @throws IllegalArgumentException if an argument is null, or the size or time to live is not positive
+     */
+    public TopologyCache(String repository, MeterRegistry meterRegistry, int maximumSize, Duration timeToLive) {
+        this(repository, meterRegistry, maximumSize, timeToLive, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a TopologyCache that measures the age of its results with the given clock.
+     *
+     * @param repository    the name of the cached repository, used to tag the metrics
+     * @param meterRegistry the registry the cache metrics are published to
+     * @param maximumSize   the maximum number of results kept
+     * @param timeToLive    how long a result is served before the query is run again
+     * @param clock         the clock the age of the results is measured with
+     * @throws IllegalArgumentException if an argument is null, or the size or time to live is not positive
+     */
+    TopologyCache(String repository, MeterRegistry meterRegistry, int maximumSize, Duration timeToLive, Clock clock) {
+        if (repository == null || meterRegistry == null || timeToLive == null || clock == null)
+            throw new IllegalArgumentException("Cache arguments cannot be null.");
+        if (maximumSize <= 0)
+            throw new IllegalArgumentException("Cache size must be positive.");
+        if (timeToLive.isNegative() || timeToLive.isZero())
+            throw new IllegalArgumentException("Cache time to live must be positive.");
+
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.clock = clock;
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+        this.hits = Counter.builder("smarthome.topology.cache.requests").tag("repository", repository).tag("result", "hit")
+                .description("Topology queries answered from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("smarthome.topology.cache.requests").tag("repository", repository).tag("result", "miss")
+                .description("Topology queries forwarded to the repository")
+                .register(meterRegistry);
+        Gauge.builder("smarthome.topology.cache.hit.ratio", this, TopologyCache::hitRatio).tag("repository", repository)
+                .description("Share of topology queries answered from the cache")
+                .register(meterRegistry);
+        Gauge.builder("smarthome.topology.cache.size", this, TopologyCache::size).tag("repository", repository)
+                .description("Topology query results currently cached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached result of a query, or runs it and caches its result if there is none or it has expired.
+     *
+     * @param query    the name of the query
+     * @param argument the argument the query is run with, or null
+     * @param loader   runs the query on the underlying repository
+     * @param <V>      the type of the result
+     * @return the result of the query
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V getOrLoad(String query, Object argument, Supplier<V> loader) {
+        CacheKey key = new CacheKey(query, argument);
+        long loadGeneration;
+        synchronized (entries) {
+            Entry cached = entries.get(key);
+            if (cached != null && clock.millis() - cached.cachedAt() < timeToLiveMillis) {
+                hits.increment();
+                return (V) cached.result();
+            }
+            loadGeneration = generation;
+        }
+
+        misses.increment();
+        long loadedAt = clock.millis();
+        V result = loader.get();
+        synchronized (entries) {
+            if (result != null && generation == loadGeneration)
+                entries.put(key, new Entry(result, loadedAt));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cached aggregates found by a query, or runs it and caches them as an unmodifiable list, so they
+     * can be iterated any number of times.
+     *
+     * @param query    the name of the query
+     * @param argument the argument the query is run with, or null
+     * @param loader   runs the query on the underlying repository
+     * @param <T>      the type of the aggregates
+     * @return the aggregates found by the query
+     */
+    public <T> Iterable<T> getOrLoadAll(String query, Object argument, Supplier<Iterable<T>> loader) {
+        return getOrLoad(query, argument, () -> {
+            List<T> aggregates = new ArrayList<>();
+            loader.get().forEach(aggregates::add);
+            return Collections.unmodifiableList(aggregates);
+        });
+    }
+
+    /**
+     * Copies aggregates handed out by a caching repository, so callers never share the instances kept in the cache.
+     *
+     * @param aggregates the cached aggregates
+     * @param copy       copies one aggregate
+     * @param <T>        the type of the aggregates
+     * @return an unmodifiable list with a copy of each aggregate
+     */
+    public static <T> List<T> copyAll(Iterable<T> aggregates, UnaryOperator<T> copy) {
+        List<T> copies = new ArrayList<>();
+        for (T aggregate : aggregates) {
+            copies.add(copy.apply(aggregate));
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    /**
+     * Invalidates the cached aggregate with the given ID and the results of every other query.
+     *
+     * @param id the ID of the written aggregate
+     */
+    public void invalidate(Object id) {
+        synchronized (entries) {
+            generation++;
+            entries.keySet().removeIf(key -> !key.query().equals(FIND_BY_ID) || Objects.equals(key.argument(), id));
+        }
+        dependents.forEach(TopologyCache::invalidateAll);
+    }
+
+    /**
+     * Invalidates every cached result.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+        dependents.forEach(TopologyCache::invalidateAll);
+    }
+
+    /**
+     * Clears another cache whenever this one is invalidated, for results derived from the aggregates of this one.
+     *
+     * @param dependent the cache to clear along with this one
+     */
+    public void addDependent(TopologyCache dependent) {
+        if (dependent == null)
+            throw new IllegalArgumentException("Dependent cache cannot be null.");
+        dependents.add(dependent);
+    }
+
+    /**
+     * Retrieves the share of queries answered from the cache.
+     *
+     * @return hits divided by all queries, or 0 if there were no queries
+     */
+    public double hitRatio() {
+        double requests = hits.count() + misses.count();
+        return requests == 0 ? 0 : hits.count() / requests;
+    }
+
+    /**
+     * Retrieves the number of query results currently cached.
+     *
+     * @return the number of cached results
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package smarthome.persistence.jpa.datamodel;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+import smarthome.domain.valueobjects.ActuatorState;
+
+import java.sql.Timestamp;
+
+@Entity
+@Table(name = "ActuatorState")
+
+/**
+ * ActuatorStateDataModel class for managing the last value applied to an actuator in the database.
+ */
+public class ActuatorStateDataModel implements Persistable<String> {
+
+    @Id
+    /**
+     * The ID of the actuator.
+     */
+    private String actuatorID;
+
+    /**
+     * The value applied to the actuator.
+     */
+    private double targetValue;
+
+    /**
+     * The ID of the command that applied the value.
+     */
+    private String commandID;
+
+    /**
+     * The time the value was applied.
+     */
+    private Timestamp appliedAt;
+
+    /**
+     * Flag indicating whether this data model has not yet been persisted or loaded from the database.
+     */
+    @Transient
+    private boolean isNew = true;
+
+    /**
+     * Default constructor for ActuatorStateDataModel.
+     */
+    public ActuatorStateDataModel() {
+    }
+
+    /**
+     * Constructor for ActuatorStateDataModel. Used to persist ActuatorState objects in DB.
+     *
+     * @param state ActuatorState object that needs to be persisted in DB.
+     */
+    public ActuatorStateDataModel(ActuatorState state) {
+        this.actuatorID = state.getActuatorID().toString();
+        updateFromDomain(state);
+    }
+
+    /**
+     * Retrieves the ID of the actuator.
+     *
+     * @return The ID of the actuator as a string.
+     */
+    public String getActuatorID() {
+        return actuatorID;
+    }
+
+    /**
+     * Retrieves the value applied to the actuator.
+     *
+     * @return The value applied to the actuator.
+     */
+    public double getTargetValue() {
+        return targetValue;
+    }
+
+    /**
+     * Retrieves the ID of the command that applied the value.
+     *
+     * @return The ID of the command as a string.
+     */
+    public String getCommandID() {
+        return commandID;
+    }
+
+    /**
+     * Retrieves the time the value was applied.
+     *
+     * @return The time the value was applied.
+     */
+    public Timestamp getAppliedAt() {
+        return appliedAt;
+    }
+
+    /**
+     * Updates this data model with a newer ActuatorState of the same actuator.
+     *
+     * @param state The ActuatorState domain object containing the updated value.
+     * @return True if the update was successful, false otherwise.
+     */
+    public boolean updateFromDomain(ActuatorState state) {
+        if (state == null || !state.getActuatorID().toString().equals(actuatorID))
+            return false;
+
+        this.targetValue = state.getValue();
+        this.commandID = state.getCommandID().toString();
+        this.appliedAt = state.getAppliedAt();
+        return true;
+    }
+
+    /**
+     * Retrieves the identifier of this data model.
+     *
+     * @return The ID of the actuator as a string.
+     */
+    @Override
+    public String getId() {
+        return actuatorID;
+    }
+
+    /**
+     * Indicates whether this data model still has to be inserted in the database.
+     *
+     * @return True if the data model was neither persisted nor loaded, false otherwise.
+     */
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    /**
+     * Marks this data model as already present in the database, once it is persisted or loaded.
+     */
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
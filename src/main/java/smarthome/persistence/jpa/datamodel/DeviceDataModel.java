@@ -3,6 +3,7 @@ package smarthome.persistence.jpa.datamodel;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import smarthome.domain.device.Device;
 
 @Entity
@@ -34,6 +35,13 @@ public class DeviceDataModel {
      */
     private String roomID;
 
+    /**
+     * The version of the row, increased on every update and checked before writing, so concurrent updates of the same
+     * device are detected instead of overwriting each other.
+     */
+    @Version
+    private long version;
+
     /**
      * Default constructor.
      */
@@ -86,6 +94,15 @@ public class DeviceDataModel {
         return roomID;
     }
 
+    /**
+     * Retrieves the version of the row, increased on every update of the device.
+     *
+     * @return The version of the row.
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Updates the DeviceDataModel based on the information provided by the given Device from Domain.
      *
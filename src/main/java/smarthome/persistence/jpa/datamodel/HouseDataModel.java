@@ -17,6 +17,8 @@ public class HouseDataModel {
     private String zipCode;
     private String city;
     private String country;
+    @Version
+    private long version;
 
     /**
      * Empty constructor of House Data Model Object.
@@ -116,6 +118,15 @@ public class HouseDataModel {
         return country;
     }
 
+    /**
+     * Retrieves the version of the row, increased on every update of the house.
+     *
+     * @return The version of the row.
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Method that updates the House Data Model from a House object from domain.
      *
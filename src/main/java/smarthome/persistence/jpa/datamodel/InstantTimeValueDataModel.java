@@ -2,14 +2,20 @@ package smarthome.persistence.jpa.datamodel;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import smarthome.domain.value.InstantTimeValue;
 import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.Reading;
 
 import java.sql.Timestamp;
 
 @Entity
-@Table(name = "InstantTimeValue")
+@Table(name = "InstantTimeValue",
+        indexes = @Index(name = "idx_instant_time_value_sensor_time", columnList = "sensorID, instantTime DESC, valueID DESC"))
 
 /**
  * InstantTimeValueDataModel class for managing Value entities in the database in a given instant.
@@ -32,6 +38,12 @@ public class InstantTimeValueDataModel implements ValueDataModel{
      */
     private String unit;
 
+    /**
+     * The numeric value of the reading, null if the reading is not a single numeric value.
+     * Stored in a numeric column so readings can be filtered and aggregated without parsing the measurement.
+     */
+    private Double numericMeasurement;
+
     /**
      * The start time of the value reading.
      */
@@ -42,6 +54,12 @@ public class InstantTimeValueDataModel implements ValueDataModel{
      */
     private String sensorID;
 
+    /**
+     * Flag indicating whether this data model has not yet been persisted or loaded from the database.
+     */
+    @Transient
+    private boolean isNew = true;
+
     /**
      * Default constructor for InstantTimeValueDataModel.
      */
@@ -58,6 +76,7 @@ public class InstantTimeValueDataModel implements ValueDataModel{
         this.valueID = value.identity().toString();
         this.measurement = value.getReading().getMeasurement();
         this.unit = value.getReading().getUnit();
+        this.numericMeasurement = numericMeasurementOf(value.getReading());
         this.instantTime = instantTimeValue.getInstantTimeReading();
         this.sensorID = value.getSensorID().toString();
     }
@@ -89,6 +108,15 @@ public class InstantTimeValueDataModel implements ValueDataModel{
         return unit;
     }
 
+    /**
+     * Retrieves the numeric value of the reading associated with this value.
+     *
+     * @return The numeric value of the reading, or null if the reading is not a single numeric value.
+     */
+    public Double getNumericMeasurement() {
+        return numericMeasurement;
+    }
+
     /**
      * Retrieves the start time of the value reading.
      *
@@ -120,10 +148,51 @@ public class InstantTimeValueDataModel implements ValueDataModel{
         this.valueID = value.identity().toString();
         this.measurement = value.getReading().getMeasurement();
         this.unit = value.getReading().getUnit();
+        this.numericMeasurement = numericMeasurementOf(value.getReading());
         this.instantTime = ((InstantTimeValue) value).getInstantTimeReading();
         this.sensorID = value.getSensorID().toString();
 
         return true;
     }
 
+    /**
+     * Retrieves the numeric value of a reading to be stored in the numeric column.
+     *
+     * @param reading The reading of the value.
+     * @return The numeric value of a single channel numeric reading, or null otherwise.
+     */
+    private static Double numericMeasurementOf(Reading reading) {
+        if (!reading.isNumeric() || reading.getChannelCount() != 1)
+            return null;
+        return reading.getNumericMeasurement();
+    }
+
+    /**
+     * Retrieves the identifier of this data model.
+     *
+     * @return The ID of this value as a string.
+     */
+    @Override
+    public String getId() {
+        return valueID;
+    }
+
+    /**
+     * Indicates whether this data model still has to be inserted in the database.
+     *
+     * @return True if the data model was neither persisted nor loaded, false otherwise.
+     */
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    /**
+     * Marks this data model as already present in the database, once it is persisted or loaded.
+     */
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
 }
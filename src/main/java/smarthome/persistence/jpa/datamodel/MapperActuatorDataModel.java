@@ -1,16 +1,14 @@
 package smarthome.persistence.jpa.datamodel;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import smarthome.domain.actuatorfunctionality.FactoryActuatorFunctionality;
-import smarthome.domain.actuatorfunctionality.ImpFactoryActuatorFunctionality;
 import smarthome.domain.actuators.Actuator;
 import smarthome.domain.actuators.FactoryActuator;
-import smarthome.domain.repository.ActuatorFunctionalityRepository;
 import smarthome.domain.valueobjects.ActuatorFunctionalityID;
 import smarthome.domain.valueobjects.ActuatorID;
 import smarthome.domain.valueobjects.ActuatorProperties;
 import smarthome.domain.valueobjects.DeviceID;
-import smarthome.persistence.repositoriesmem.ActuatorFunctionalityRepositoryMem;
+import smarthome.util.FunctionalityRegistry;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,9 +21,25 @@ import java.util.List;
 public class MapperActuatorDataModel {
 
     /**
-     * Mapper empty constructor
+     * Registry of the Actuator class of each actuator functionality.
+     */
+    private final FunctionalityRegistry functionalityRegistry;
+
+    /**
+     * Mapper empty constructor, using the shared functionality registry
      */
     public MapperActuatorDataModel() {
+        this(FunctionalityRegistry.getInstance());
+    }
+
+    /**
+     * Mapper constructor
+     *
+     * @param functionalityRegistry registry of the Actuator class of each actuator functionality
+     */
+    @Autowired
+    public MapperActuatorDataModel(FunctionalityRegistry functionalityRegistry) {
+        this.functionalityRegistry = functionalityRegistry;
     }
 
     /**
@@ -42,9 +56,7 @@ public class MapperActuatorDataModel {
             ActuatorProperties actuatorProperties = createActuatorProperties(actuatorDataModel);
             ActuatorID actuatorID = new ActuatorID(actuatorDataModel.getActuatorID());
             DeviceID deviceName = new DeviceID(actuatorDataModel.getDeviceID());
-            FactoryActuatorFunctionality factoryActuatorFunctionality = new ImpFactoryActuatorFunctionality();
-            ActuatorFunctionalityRepository actuatorFunctionalityRepository = new ActuatorFunctionalityRepositoryMem(factoryActuatorFunctionality);
-            String actuatorClass = actuatorFunctionalityRepository.getClassNameForActuatorFunctionalityID((actuatorFunctionalityID));
+            String actuatorClass = functionalityRegistry.getClassNameForActuatorFunctionalityID(actuatorFunctionalityID);
             return factoryActuator.createActuator(actuatorID, actuatorFunctionalityID, actuatorProperties, deviceName, actuatorClass);
         } catch (NullPointerException e) {
             return null;
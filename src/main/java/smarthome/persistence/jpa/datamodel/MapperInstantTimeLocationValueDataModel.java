@@ -30,7 +30,8 @@ public class MapperInstantTimeLocationValueDataModel {
             ValueID valueID = new ValueID(valueDataModel.getValueID());
 
             SensorID sensorID = new SensorID(valueDataModel.getSensorID());
-            Reading reading = new Reading(valueDataModel.getMeasurement(), valueDataModel.getUnit());
+            Reading reading = new Reading(valueDataModel.getMeasurement(), valueDataModel.getUnit(),
+                    valueDataModel.getNumericMeasurement());
             GPSCode gpsCode = new GPSCode(valueDataModel.getLatitude(), valueDataModel.getLongitude());
             Timestamp instantTime = valueDataModel.getInstantTime();
 
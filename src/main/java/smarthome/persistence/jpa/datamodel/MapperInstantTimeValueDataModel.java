@@ -29,7 +29,8 @@ public class MapperInstantTimeValueDataModel {
             ValueID valueID = new ValueID(valueDataModel.getValueID());
 
             SensorID sensorID = new SensorID(valueDataModel.getSensorID());
-            Reading reading = new Reading(valueDataModel.getMeasurement(), valueDataModel.getUnit());
+            Reading reading = new Reading(valueDataModel.getMeasurement(), valueDataModel.getUnit(),
+                    valueDataModel.getNumericMeasurement());
             Timestamp instantTime = valueDataModel.getInstantTime();
 
             return factory.createValue(valueID, sensorID, reading, instantTime);
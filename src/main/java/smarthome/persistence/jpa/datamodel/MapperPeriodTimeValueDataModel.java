@@ -30,7 +30,8 @@ public class MapperPeriodTimeValueDataModel {
             ValueID valueID = new ValueID(valueDataModel.getValueID());
 
             SensorID sensorID = new SensorID(valueDataModel.getSensorID());
-            Reading reading = new Reading(valueDataModel.getMeasurement(), valueDataModel.getUnit());
+            Reading reading = new Reading(valueDataModel.getMeasurement(), valueDataModel.getUnit(),
+                    valueDataModel.getNumericMeasurement());
             Timestamp starTime = valueDataModel.getStartTime();
             Timestamp endTime = valueDataModel.getEndTime();
 
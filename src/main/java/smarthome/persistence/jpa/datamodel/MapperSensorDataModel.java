@@ -1,14 +1,13 @@
 package smarthome.persistence.jpa.datamodel;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import smarthome.domain.sensor.FactorySensor;
 import smarthome.domain.sensor.Sensor;
-import smarthome.domain.sensorfunctionality.FactorySensorFunctionality;
-import smarthome.domain.sensorfunctionality.ImpFactorySensorFunctionality;
 import smarthome.domain.valueobjects.DeviceID;
 import smarthome.domain.valueobjects.SensorFunctionalityID;
 import smarthome.domain.valueobjects.SensorID;
-import smarthome.persistence.repositoriesmem.SensorFunctionalityRepositoryMem;
+import smarthome.util.FunctionalityRegistry;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,6 +18,28 @@ import java.util.List;
 @Component
 public class MapperSensorDataModel {
 
+    /**
+     * Registry of the Sensor class of each sensor functionality.
+     */
+    private final FunctionalityRegistry functionalityRegistry;
+
+    /**
+     * Constructor for MapperSensorDataModel, using the shared functionality registry.
+     */
+    public MapperSensorDataModel() {
+        this(FunctionalityRegistry.getInstance());
+    }
+
+    /**
+     * Constructor for MapperSensorDataModel.
+     *
+     * @param functionalityRegistry The registry of the Sensor class of each sensor functionality.
+     */
+    @Autowired
+    public MapperSensorDataModel(FunctionalityRegistry functionalityRegistry) {
+        this.functionalityRegistry = functionalityRegistry;
+    }
+
     /**
      * Converts a SensorDataModel object to a corresponding Sensor.
      *
@@ -35,10 +56,7 @@ public class MapperSensorDataModel {
             //Instantiating a SensorFunctionalityID
             SensorFunctionalityID sensorFunctionalityID = new SensorFunctionalityID(sensorDataModel.getSensorFunctionalityID());
 
-            FactorySensorFunctionality factorySensorFunctionality = new ImpFactorySensorFunctionality();
-            SensorFunctionalityRepositoryMem sensorFunctionalityRepositoryMem = new SensorFunctionalityRepositoryMem(factorySensorFunctionality);
-
-            String sensorClass = sensorFunctionalityRepositoryMem.getClassNameForSensorFunctionalityID(sensorFunctionalityID);
+            String sensorClass = functionalityRegistry.getClassNameForSensorFunctionalityID(sensorFunctionalityID);
 
             return factorySensor.createSensor(sensorID, deviceID, sensorFunctionalityID, sensorClass);
         } catch (NullPointerException e) {
@@ -0,0 +1,47 @@
+package smarthome.persistence.jpa.datamodel;
+
+import org.springframework.stereotype.Component;
+import smarthome.domain.valueobjects.RollupResolution;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueRollup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mapper class that has the responsibility of converting ValueRollupDataModel objects to ValueRollup domain objects.
+ */
+@Component
+public class MapperValueRollupDataModel {
+    /**
+     * Converts a ValueRollupDataModel object to a corresponding ValueRollup.
+     *
+     * @param rollupDataModel The ValueRollupDataModel to be converted.
+     * @return ValueRollup object from domain.
+     */
+    public ValueRollup toDomain(ValueRollupDataModel rollupDataModel) {
+        return new ValueRollup(
+                new SensorID(rollupDataModel.getSensorID()),
+                RollupResolution.fromLabel(rollupDataModel.getResolution()),
+                rollupDataModel.getBucketStart(),
+                rollupDataModel.getUnit(),
+                rollupDataModel.getMinimum(),
+                rollupDataModel.getMaximum(),
+                rollupDataModel.getTotal(),
+                rollupDataModel.getReadingCount());
+    }
+
+    /**
+     * Converts a list of ValueRollupDataModel objects to a list of corresponding ValueRollup objects.
+     *
+     * @param rollupDataModels Iterable of ValueRollupDataModel objects to be converted.
+     * @return List of ValueRollup objects from domain.
+     */
+    public List<ValueRollup> toDomainList(Iterable<ValueRollupDataModel> rollupDataModels) {
+        List<ValueRollup> rollups = new ArrayList<>();
+        for (ValueRollupDataModel rollupDataModel : rollupDataModels) {
+            rollups.add(toDomain(rollupDataModel));
+        }
+        return rollups;
+    }
+}
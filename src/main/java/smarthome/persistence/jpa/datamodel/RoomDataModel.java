@@ -15,6 +15,8 @@ public class RoomDataModel {
     private double height;
     private double width;
     private double length;
+    @Version
+    private long version;
 
     public RoomDataModel() {
     }
@@ -90,6 +92,15 @@ public class RoomDataModel {
         return houseID;
     }
 
+    /**
+     * Retrieves the version of the row, increased on every update of the room.
+     *
+     * @return The version of the row.
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Method that updates the Room Data Model object from a Room object.
      *
@@ -1,4 +1,11 @@
 package smarthome.persistence.jpa.datamodel;
 
-public interface ValueDataModel {
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Common contract for the value data models.
+ * Values are always inserted with an assigned identifier, so each data model reports whether it is new
+ * to let Spring Data persist it directly instead of merging it (which would issue a SELECT per row).
+ */
+public interface ValueDataModel extends Persistable<String> {
 }
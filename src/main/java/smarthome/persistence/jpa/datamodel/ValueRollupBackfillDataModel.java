@@ -0,0 +1,102 @@
+package smarthome.persistence.jpa.datamodel;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+import java.sql.Timestamp;
+
+@Entity
+@Table(name = "ValueRollupBackfill")
+
+/**
+ * ValueRollupBackfillDataModel class for recording in the database that the rollups of a sensor were backfilled,
+ * including sensors whose readings produce no rollup at all.
+ */
+public class ValueRollupBackfillDataModel implements Persistable<String> {
+
+    @Id
+    /**
+     * The ID of the backfilled sensor.
+     */
+    private String sensorID;
+
+    /**
+     * The time the sensor was backfilled.
+     */
+    private Timestamp backfilledAt;
+
+    /**
+     * Flag indicating whether this data model has not yet been persisted or loaded from the database.
+     */
+    @Transient
+    private boolean isNew = true;
+
+    /**
+     * Default constructor for ValueRollupBackfillDataModel.
+     */
+    public ValueRollupBackfillDataModel() {
+    }
+
+    /**
+     * Constructor for ValueRollupBackfillDataModel.
+     *
+     * @param sensorID     The ID of the backfilled sensor.
+     * @param backfilledAt The time the sensor was backfilled.
+     */
+    public ValueRollupBackfillDataModel(String sensorID, Timestamp backfilledAt) {
+        this.sensorID = sensorID;
+        this.backfilledAt = backfilledAt;
+    }
+
+    /**
+     * Retrieves the ID of the backfilled sensor.
+     *
+     * @return The ID of the sensor as a string.
+     */
+    public String getSensorID() {
+        return sensorID;
+    }
+
+    /**
+     * Retrieves the time the sensor was backfilled.
+     *
+     * @return The time the sensor was backfilled.
+     */
+    public Timestamp getBackfilledAt() {
+        return backfilledAt;
+    }
+
+    /**
+     * Retrieves the identifier of this data model.
+     *
+     * @return The ID of the sensor as a string.
+     */
+    @Override
+    public String getId() {
+        return sensorID;
+    }
+
+    /**
+     * Indicates whether this data model still has to be inserted in the database.
+     *
+     * @return True if the data model was neither persisted nor loaded, false otherwise.
+     */
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    /**
+     * Marks this data model as already present in the database, once it is persisted or loaded.
+     */
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,222 @@
+package smarthome.persistence.jpa.datamodel;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+import smarthome.domain.valueobjects.ValueRollup;
+
+import java.sql.Timestamp;
+
+@Entity
+@Table(name = "ValueRollup",
+        indexes = @Index(name = "idx_value_rollup_sensor_resolution_bucket", columnList = "sensorID, resolution, bucketStart"))
+
+/**
+ * ValueRollupDataModel class for managing the rollup of the readings of a sensor in one bucket in the database.
+ */
+public class ValueRollupDataModel implements Persistable<String> {
+
+    @Id
+    /**
+     * The ID of the bucket, unique per sensor, resolution and bucket start.
+     */
+    private String rollupID;
+
+    /**
+     * The ID of the sensor that produced the readings.
+     */
+    private String sensorID;
+
+    /**
+     * The short name of the resolution of the bucket.
+     */
+    private String resolution;
+
+    /**
+     * The start time of the bucket.
+     */
+    private Timestamp bucketStart;
+
+    /**
+     * The unit of the readings.
+     */
+    private String unit;
+
+    /**
+     * The smallest reading in the bucket.
+     */
+    private double minimum;
+
+    /**
+     * The largest reading in the bucket.
+     */
+    private double maximum;
+
+    /**
+     * The sum of the readings in the bucket.
+     */
+    private double total;
+
+    /**
+     * The number of readings in the bucket.
+     */
+    private long readingCount;
+
+    /**
+     * Flag indicating whether this data model has not yet been persisted or loaded from the database.
+     */
+    @Transient
+    private boolean isNew = true;
+
+    /**
+     * Default constructor for ValueRollupDataModel.
+     */
+    public ValueRollupDataModel() {
+    }
+
+    /**
+     * Constructor for ValueRollupDataModel. Used to persist ValueRollup objects in DB.
+     *
+     * @param rollup ValueRollup object that needs to be persisted in DB.
+     */
+    public ValueRollupDataModel(ValueRollup rollup) {
+        this.rollupID = rollup.getRollupID();
+        this.sensorID = rollup.getSensorID().toString();
+        this.resolution = rollup.getResolution().getLabel();
+        this.bucketStart = rollup.getBucketStart();
+        this.unit = rollup.getUnit();
+        updateFromDomain(rollup);
+    }
+
+    /**
+     * Retrieves the ID of the bucket.
+     *
+     * @return The ID of the bucket as a string.
+     */
+    public String getRollupID() {
+        return rollupID;
+    }
+
+    /**
+     * Retrieves the ID of the sensor that produced the readings.
+     *
+     * @return The ID of the sensor as a string.
+     */
+    public String getSensorID() {
+        return sensorID;
+    }
+
+    /**
+     * Retrieves the short name of the resolution of the bucket.
+     *
+     * @return The short name of the resolution (e.g. "15m").
+     */
+    public String getResolution() {
+        return resolution;
+    }
+
+    /**
+     * Retrieves the start time of the bucket.
+     *
+     * @return The start time of the bucket.
+     */
+    public Timestamp getBucketStart() {
+        return bucketStart;
+    }
+
+    /**
+     * Retrieves the unit of the readings.
+     *
+     * @return The unit of the readings.
+     */
+    public String getUnit() {
+        return unit;
+    }
+
+    /**
+     * Retrieves the smallest reading in the bucket.
+     *
+     * @return The smallest reading in the bucket.
+     */
+    public double getMinimum() {
+        return minimum;
+    }
+
+    /**
+     * Retrieves the largest reading in the bucket.
+     *
+     * @return The largest reading in the bucket.
+     */
+    public double getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * Retrieves the sum of the readings in the bucket.
+     *
+     * @return The sum of the readings in the bucket.
+     */
+    public double getTotal() {
+        return total;
+    }
+
+    /**
+     * Retrieves the number of readings in the bucket.
+     *
+     * @return The number of readings in the bucket.
+     */
+    public long getReadingCount() {
+        return readingCount;
+    }
+
+    /**
+     * Updates the aggregates of this data model with the ones of a ValueRollup of the same bucket.
+     *
+     * @param rollup The ValueRollup domain object containing the updated aggregates.
+     * @return True if the update was successful, false otherwise.
+     */
+    public boolean updateFromDomain(ValueRollup rollup) {
+        if (rollup == null || !rollup.getRollupID().equals(rollupID))
+            return false;
+
+        this.minimum = rollup.getMinimum();
+        this.maximum = rollup.getMaximum();
+        this.total = rollup.getSum();
+        this.readingCount = rollup.getCount();
+        return true;
+    }
+
+    /**
+     * Retrieves the identifier of this data model.
+     *
+     * @return The ID of the bucket as a string.
+     */
+    @Override
+    public String getId() {
+        return rollupID;
+    }
+
+    /**
+     * Indicates whether this data model still has to be inserted in the database.
+     *
+     * @return True if the data model was neither persisted nor loaded, false otherwise.
+     */
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    /**
+     * Marks this data model as already present in the database, once it is persisted or loaded.
+     */
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
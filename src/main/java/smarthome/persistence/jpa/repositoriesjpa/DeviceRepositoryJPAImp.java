@@ -5,14 +5,19 @@ import smarthome.domain.device.Device;
 import smarthome.domain.device.FactoryDevice;
 import smarthome.domain.repository.DeviceRepository;
 import smarthome.domain.valueobjects.DeviceID;
+import smarthome.domain.valueobjects.DeviceModel;
+import smarthome.domain.valueobjects.DeviceStatus;
+import smarthome.domain.valueobjects.HouseID;
 import smarthome.domain.valueobjects.RoomID;
 import smarthome.persistence.jpa.datamodel.DeviceDataModel;
 import smarthome.persistence.jpa.datamodel.MapperDeviceDataModel;
-import smarthome.util.EntityUpdater;
+import smarthome.util.OptimisticRetry;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 /**
  * Represents a {@code DeviceRepositoryJPAImp} for persistence in JPA.
@@ -23,11 +28,6 @@ public class DeviceRepositoryJPAImp implements DeviceRepository {
      */
     FactoryDevice factoryDevice;
 
-    /**
-     * The Device Data Model used for updating the Device.
-     */
-    DeviceDataModel deviceDataModelForUpdate;
-
     /**
      * Entity Manager instance for managing persistence operations.
      */
@@ -64,48 +64,37 @@ public class DeviceRepositoryJPAImp implements DeviceRepository {
     }
 
     /**
-     * Updates a Device entity.
+     * Applies a change to the stored Device entity and commits it only if its version is still the one read.
+     * Each attempt reads the row in a new transaction, applies the change and commits it; a commit that finds a newer
+     * version is rolled back, and the attempt runs again on the new row, a bounded number of times.
      *
-     * @param device The Device entity to be updated.
-     * @return The updated Device entity if successful, null otherwise.
+     * @param deviceID The identity of the Device entity to update.
+     * @param change The change to apply to the current Device entity.
+     * @return An Optional containing the updated Device entity, or empty if not found or left as is.
      */
     @Override
-    public Device update(Device device) {
-        DeviceDataModel deviceDataModel = entityManager.find(DeviceDataModel.class, device.getDeviceName());
-        return deviceUpdater(device, deviceDataModel);
-
-    }
-
-    private Device deviceUpdater(Device device, DeviceDataModel deviceDataModel) {
-        if (deviceDataModel != null) {
-            boolean isUpdated = deviceDataModel.updatedFromDomain(device);
-
-            if (isUpdated) {
-                // Utilize EntityUpdater for persistence
-                EntityUpdater entityUpdater = new EntityUpdater();
-                if (entityUpdater.persistEntity(deviceDataModel, entityManager)) {
-                    return device;
-                } else {
-                    // Handle persistence failure if needed
-                    return null;
-                }
-            } else {
-                return null;
+    public Optional<Device> update(DeviceID deviceID, UnaryOperator<Device> change) {
+        return OptimisticRetry.retryOnConflict(() -> {
+            entityManager.clear();
+            EntityTransaction entityTransaction = entityManager.getTransaction();
+            try {
+                entityTransaction.begin();
+                DeviceDataModel deviceDataModel = entityManager.find(DeviceDataModel.class, deviceID.toString());
+                if (deviceDataModel == null)
+                    return Optional.empty();
+
+                MapperDeviceDataModel mapperDeviceDataModel = new MapperDeviceDataModel();
+                Device changedDevice = change.apply(mapperDeviceDataModel.toDomain(factoryDevice, deviceDataModel));
+                if (changedDevice == null || !deviceDataModel.updatedFromDomain(changedDevice))
+                    return Optional.empty();
+
+                entityTransaction.commit();
+                return Optional.of(changedDevice);
+            } finally {
+                if (entityTransaction.isActive())
+                    entityTransaction.rollback();
             }
-        } else {
-            return null;
-        }
-    }
-
-    /**
-     * Updates a reserved a Device entity.
-     *
-     * @param device The Device entity to be updated.
-     * @return The updated Device entity if successful, null otherwise.
-     */
-    @Override
-    public Device updateReserved(Device device) {
-        return deviceUpdater(device, deviceDataModelForUpdate);
+        });
     }
 
     /**
@@ -139,23 +128,6 @@ public class DeviceRepositoryJPAImp implements DeviceRepository {
         return Optional.of(deviceDomain);
     }
 
-    /**
-     * Retrieves a reserved Device entity by its ID from the repository.
-     *
-     * @param deviceID The identity of the Device entity.
-     * @return An Optional containing the Device entity if found, otherwise an empty Optional.
-     */
-    @Override
-    public Optional<Device> findEntityByIDAndReserve(DeviceID deviceID) {
-        DeviceDataModel deviceDataModel = entityManager.find(DeviceDataModel.class, deviceID.toString());
-        if (deviceDataModel == null)
-            return Optional.empty();
-        MapperDeviceDataModel mapperDeviceDataModel = new MapperDeviceDataModel();
-        Device deviceDomain = mapperDeviceDataModel.toDomain(factoryDevice, deviceDataModel);
-        deviceDataModelForUpdate = deviceDataModel;
-        return Optional.of(deviceDomain);
-    }
-
     /**
      * Checks if a device object with the specified identity exists in the database.
      *
@@ -177,10 +149,31 @@ public class DeviceRepositoryJPAImp implements DeviceRepository {
     @Override
     public Iterable<Device> findByRoomID(RoomID roomID) {
         Query query = Objects.requireNonNull(entityManager).createQuery("SELECT e FROM DeviceDataModel e WHERE e.roomID = :roomID");
-        query.setParameter("roomID", roomID);
+        query.setParameter("roomID", roomID.toString());
         List<DeviceDataModel> deviceDataModelList = query.getResultList();
 
         MapperDeviceDataModel mapperDeviceDataModel = new MapperDeviceDataModel();
         return mapperDeviceDataModel.toDomainList(factoryDevice, deviceDataModelList);
     }
+
+    /**
+     * Finds the summary of every device in the rooms of a specified houseID, in a single query that joins the devices
+     * to their rooms and maps the columns without building the Device aggregates.
+     *
+     * @param houseID The house ID to search for.
+     * @return An Iterable containing the summary of each device in the house.
+     */
+    @Override
+    public Iterable<DeviceSummary> findDeviceSummariesByHouseID(HouseID houseID) {
+        TypedQuery<Object[]> query = Objects.requireNonNull(entityManager).createQuery(
+                "SELECT d.deviceID, d.deviceModel, d.deviceStatus, d.roomID FROM DeviceDataModel d "
+                        + "JOIN RoomDataModel r ON r.roomID = d.roomID WHERE r.houseID = :houseID", Object[].class);
+        query.setParameter("houseID", houseID.toString());
+
+        List<DeviceSummary> summaries = new ArrayList<>();
+        for (Object[] row : query.getResultList())
+            summaries.add(new DeviceSummary(new DeviceID((String) row[0]), new DeviceModel((String) row[1]),
+                    DeviceStatus.valueOf((String) row[2]), new RoomID((String) row[3])));
+        return summaries;
+    }
 }
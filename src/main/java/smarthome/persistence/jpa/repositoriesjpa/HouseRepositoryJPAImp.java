@@ -8,11 +8,12 @@ import smarthome.domain.repository.HouseRepository;
 import smarthome.domain.valueobjects.HouseID;
 import smarthome.persistence.jpa.datamodel.HouseDataModel;
 import smarthome.persistence.jpa.datamodel.MapperHouseDataModel;
-import smarthome.util.EntityUpdater;
+import smarthome.util.OptimisticRetry;
 import smarthome.util.exceptions.SingleHouseViolationException;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 /**
  * A class that implements the HouseRepository interface and provides methods to save and retrieve house objects from the database.
@@ -24,11 +25,6 @@ public class HouseRepositoryJPAImp implements HouseRepository
      */
     FactoryHouse factoryHouse;
 
-    /**
-     * The house data model used for updating houses.
-     */
-    HouseDataModel houseDataModelForUpdate;
-
     /**
      * Entity Manager instance for managing persistence operations.
      */
@@ -70,58 +66,38 @@ public class HouseRepositoryJPAImp implements HouseRepository
         return house;
     }
 
-    /**
-     * Method that updates a house object in the database.
-     *
-     * @param house the house object to update.
-     * @return the updated house object.
-     */
-
-    @Override
-    public House update(House house)
-    {
-        HouseDataModel houseDataModel = entityManager.find(HouseDataModel.class, house.identity().toString());
-        return houseUpdater(house, houseDataModel);
-    }
-
-    /**
-     * Retrieves the updated House object after updating its data from the corresponding HouseDataModel.
-     * If the update is successful, the changes are persisted using EntityUpdater.
-     *
-     * @param house          The House object to be updated.
-     * @param houseDataModel The corresponding HouseDataModel object containing updated data.
-     * @return The updated House object if the update is successful and persisted, otherwise null.
-     */
-    private House houseUpdater(House house, HouseDataModel houseDataModel)
-    {
-        if (houseDataModel == null)
-        {
-            return null;
-        }
-        if (!houseDataModel.updateFromDomain(house))
-        {
-            return null;
-        }
-        // Utilize EntityUpdater for persistence
-        EntityUpdater entityUpdater = new EntityUpdater();
-        if (entityUpdater.persistEntity(houseDataModel, entityManager))
-        {
-            return house;
-        }
-        return null;
-    }
-
         /**
-         * Updates the last edited house object that was in cache to prevent another request to the database.
+         * Applies a change to the stored House entity and commits it only if its version is still the one read.
+         * Each attempt reads the row in a new transaction, applies the change and commits it; a commit that finds a newer
+         * version is rolled back, and the attempt runs again on the new row, a bounded number of times.
          *
-         * @param house the house object to update.
-         * @return the updated house object.
+         * @param houseID The identity of the House entity to update.
+         * @param change The change to apply to the current House entity.
+         * @return An Optional containing the updated House entity, or empty if not found or left as is.
          */
-
         @Override
-        public House updateReserved (House house)
-        {
-            return houseUpdater(house, houseDataModelForUpdate);
+        public Optional<House> update(HouseID houseID, UnaryOperator<House> change) {
+            return OptimisticRetry.retryOnConflict(() -> {
+                entityManager.clear();
+                EntityTransaction entityTransaction = entityManager.getTransaction();
+                try {
+                    entityTransaction.begin();
+                    HouseDataModel houseDataModel = entityManager.find(HouseDataModel.class, houseID.toString());
+                    if (houseDataModel == null)
+                        return Optional.empty();
+
+                    MapperHouseDataModel mapperHouseDataModel = new MapperHouseDataModel();
+                    House changedHouse = change.apply(mapperHouseDataModel.toDomain(factoryHouse, houseDataModel));
+                    if (changedHouse == null || !houseDataModel.updateFromDomain(changedHouse))
+                        return Optional.empty();
+
+                    entityTransaction.commit();
+                    return Optional.of(changedHouse);
+                } finally {
+                    if (entityTransaction.isActive())
+                        entityTransaction.rollback();
+                }
+            });
         }
 
         /**
@@ -159,29 +135,6 @@ public class HouseRepositoryJPAImp implements HouseRepository
             }
         }
 
-        /**
-         * Method that retrieves a house object from the database with the given id and reserves it for update.
-         * @param houseID the id of the house
-         * @return the house object with the specified id.
-         */
-
-        @Override
-        public Optional<House> findEntityByIDAndReserve (HouseID houseID)
-        {
-            HouseDataModel houseDataModel = entityManager.find(HouseDataModel.class, houseID.toString());
-
-            if (houseDataModel != null) {
-                MapperHouseDataModel mapperHouseDataModel = new MapperHouseDataModel();
-                House houseDomain = mapperHouseDataModel.toDomain(factoryHouse, houseDataModel);
-
-                this.houseDataModelForUpdate = houseDataModel;
-
-                return Optional.of(houseDomain);
-            } else {
-                return Optional.empty();
-            }
-        }
-
         /**
          * Method that checks if a house object with the given id exists in the database.
          *
@@ -3,14 +3,18 @@ package smarthome.persistence.jpa.repositoriesjpa;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import smarthome.domain.value.ImpFactoryInstantTimeLocationValue;
+import smarthome.domain.value.InstantTimeLocationValue;
 import smarthome.domain.value.Value;
 import smarthome.domain.valueobjects.SensorID;
 import smarthome.domain.valueobjects.ValueID;
 import smarthome.persistence.jpa.datamodel.InstantTimeLocationValueDataModel;
 import smarthome.persistence.jpa.datamodel.MapperInstantTimeLocationValueDataModel;
 import smarthome.persistence.repositoriesmem.InstantTimeLocationValueRepository;
+import smarthome.persistence.repositoriesmem.LatestValueCache;
+import smarthome.util.EntityUpdater;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +23,11 @@ import java.util.Optional;
  */
 public class InstantTimeLocationValueJPAImp implements InstantTimeLocationValueRepository
 {
+    /**
+     * Number of values persisted between flushes of the persistence context when saving a batch.
+     */
+    private static final int BATCH_SIZE = 500;
+
     /**
      * ImpFactoryInstantTimeLocationValue object.
      */
@@ -29,6 +38,11 @@ public class InstantTimeLocationValueJPAImp implements InstantTimeLocationValueR
      */
     EntityManager entityManager;
 
+    /**
+     * Last value recorded by each sensor, kept up to date by saveAll and loaded again once older than its time to live.
+     */
+    private final LatestValueCache latestValueCache;
+
 
     /**
      * Instantiates a new InstantTimeLocationValueJPAImp.
@@ -41,6 +55,7 @@ public class InstantTimeLocationValueJPAImp implements InstantTimeLocationValueR
     {
         this.impFactoryInstantTimeLocationValue = impFactoryInstantTimeLocationValue;
         this.entityManager = entityManager;
+        this.latestValueCache = new LatestValueCache(value -> ((InstantTimeLocationValue) value).getInstantTime(), LatestValueCache.DEFAULT_TIME_TO_LIVE);
     }
 
 
@@ -126,10 +141,10 @@ public class InstantTimeLocationValueJPAImp implements InstantTimeLocationValueR
     public List<Value> findBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end)
     {
         Query query = entityManager.createQuery(
-                "SELECT e FROM InstantTimeValueDataModel e WHERE e.sensorID =" +
+                "SELECT e FROM InstantTimeLocationValueDataModel e WHERE e.sensorID =" +
                         " :sensorID AND e.instantTime BETWEEN :start AND :end"
         );
-        query.setParameter("sensorID", sensorID);
+        query.setParameter("sensorID", sensorID.toString());
         query.setParameter("start", start);
         query.setParameter("end", end);
         List<InstantTimeLocationValueDataModel> listDataModel = query.getResultList();
@@ -141,12 +156,24 @@ public class InstantTimeLocationValueJPAImp implements InstantTimeLocationValueR
 
     /**
      * Retrieves the last value recorded according to instant time by sensorID.
+     * Served from the latest value cache, so storage is only queried the first time a sensor is looked up and once its
+     * cached value is older than the cache time to live.
      *
      * @param sensorID SensorID object that the value belongs to
      * @return the object value that was last recorded.
      */
     @Override
     public Value findLastValueRecorded(SensorID sensorID) {
+        return latestValueCache.getOrLoad(sensorID, this::queryLastValueRecorded);
+    }
+
+    /**
+     * Queries the storage for the last value recorded according to instant time by sensorID.
+     *
+     * @param sensorID SensorID object that the value belongs to
+     * @return the object value that was last recorded, or null if the sensor has no values.
+     */
+    private Value queryLastValueRecorded(SensorID sensorID) {
         Query query = entityManager.createQuery(
                 "SELECT e FROM InstantTimeLocationValueDataModel e WHERE e.sensorID = :sensorID ORDER BY e.instantTime DESC");
 
@@ -159,4 +186,24 @@ public class InstantTimeLocationValueJPAImp implements InstantTimeLocationValueR
         return mapper.toDomain(impFactoryInstantTimeLocationValue, valueDataModel);
     }
 
+    /**
+     * Persists a batch of values in a single transaction, flushing every {@code BATCH_SIZE} values.
+     *
+     * @param values List of Value objects to persist.
+     * @return List of the persisted Value objects, or an empty list if the batch could not be persisted.
+     */
+    @Override
+    public List<Value> saveAll(List<Value> values) {
+        List<InstantTimeLocationValueDataModel> dataModels = new ArrayList<>();
+        for (Value value : values) {
+            dataModels.add(new InstantTimeLocationValueDataModel(value));
+        }
+
+        EntityUpdater entityUpdater = new EntityUpdater();
+        if (entityUpdater.persistEntities(dataModels, entityManager, BATCH_SIZE)) {
+            latestValueCache.offerAll(values);
+            return values;
+        }
+        return new ArrayList<>();
+    }
 }
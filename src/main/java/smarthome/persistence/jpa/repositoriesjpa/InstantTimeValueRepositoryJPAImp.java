@@ -2,24 +2,40 @@ package smarthome.persistence.jpa.repositoriesjpa;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.AvailableHints;
 import smarthome.domain.value.ImpFactoryInstantTimeValue;
 import smarthome.domain.value.InstantTimeValue;
 import smarthome.domain.value.Value;
 import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueCursor;
 import smarthome.domain.valueobjects.ValueID;
 import smarthome.persistence.jpa.datamodel.InstantTimeValueDataModel;
 import smarthome.persistence.jpa.datamodel.MapperInstantTimeValueDataModel;
 import smarthome.persistence.repositoriesmem.InstantTimeValueRepository;
+import smarthome.persistence.repositoriesmem.LatestValueCache;
+import smarthome.util.EntityUpdater;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Class to represent a repository for instant time values using JPA.
  */
 public class InstantTimeValueRepositoryJPAImp implements InstantTimeValueRepository {
+    /**
+     * Number of values persisted between flushes of the persistence context when saving a batch.
+     */
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * Number of rows fetched from the database at a time when streaming values.
+     */
+    private static final int FETCH_SIZE = 500;
+
     /**
      * The factory for creating Value objects.
      */
@@ -30,6 +46,11 @@ public class InstantTimeValueRepositoryJPAImp implements InstantTimeValueReposit
      */
     private EntityManager entityManager;
 
+    /**
+     * Last value recorded by each sensor, kept up to date by saveAll and loaded again once older than its time to live.
+     */
+    private final LatestValueCache latestValueCache;
+
     /**
      * Constructs a new InstantTimeValueRepositoryJPAImp with the specified factory for creating value objects.
      *
@@ -39,6 +60,7 @@ public class InstantTimeValueRepositoryJPAImp implements InstantTimeValueReposit
     public InstantTimeValueRepositoryJPAImp(ImpFactoryInstantTimeValue factory, EntityManager entityManager) {
         this.factory = factory;
         this.entityManager = entityManager;
+        this.latestValueCache = new LatestValueCache(value -> ((InstantTimeValue) value).getInstantTimeReading(), LatestValueCache.DEFAULT_TIME_TO_LIVE);
     }
 
     /**
@@ -96,6 +118,68 @@ public class InstantTimeValueRepositoryJPAImp implements InstantTimeValueReposit
         return values;
     }
 
+    /**
+     * Method that streams the values that belong to a specific sensor and are between a specific period of time, ordered
+     * by time. Rows are fetched from the database {@code FETCH_SIZE} at a time as the stream is consumed, and detached
+     * from the persistence context once mapped.
+     *
+     * @param sensorID SensorID object that the value belongs to.
+     * @param start    Timestamp object that represents the start of the period.
+     * @param end      Timestamp object that represents the end of the period.
+     * @return Stream of Value objects that belong to the specified sensor and are between the specified period.
+     */
+    @Override
+    public Stream<Value> streamBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end) {
+        TypedQuery<InstantTimeValueDataModel> query = entityManager.createQuery(
+                "SELECT e FROM InstantTimeValueDataModel e WHERE e.sensorID = :sensorID AND e.instantTime BETWEEN :start AND :end"
+                        + " ORDER BY e.instantTime", InstantTimeValueDataModel.class);
+        query.setParameter("sensorID", sensorID.toString());
+        query.setParameter("start", start);
+        query.setParameter("end", end);
+        query.setHint(AvailableHints.HINT_FETCH_SIZE, FETCH_SIZE);
+        MapperInstantTimeValueDataModel mapper = new MapperInstantTimeValueDataModel();
+
+        return query.getResultStream().map(dataModel -> {
+            Value value = mapper.toDomain(factory, dataModel);
+            entityManager.detach(dataModel);
+            return value;
+        });
+    }
+
+    /**
+     * Method that finds a page of the values that belong to a specific sensor and are between a specific period of
+     * time, ordered by time and ValueID and starting right after the given cursor. The page is sought through the
+     * sensor and time index, so a deep page costs as much as the first one.
+     *
+     * @param sensorID SensorID object that the value belongs to.
+     * @param start    Timestamp object that represents the start of the period.
+     * @param end      Timestamp object that represents the end of the period.
+     * @param after    ValueCursor of the last value of the previous page, or null for the first page.
+     * @param limit    maximum number of values in the page.
+     * @return List of at most limit Value objects that belong to the specified sensor and are between the specified period.
+     */
+    @Override
+    public List<Value> findPageBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end,
+                                                             ValueCursor after, int limit) {
+        TypedQuery<InstantTimeValueDataModel> query = entityManager.createQuery(
+                "SELECT e FROM InstantTimeValueDataModel e WHERE e.sensorID = :sensorID AND e.instantTime BETWEEN :start AND :end"
+                        + " AND (e.instantTime > :afterTime OR (e.instantTime = :afterTime AND e.valueID > :afterValueID))"
+                        + " ORDER BY e.instantTime, e.valueID", InstantTimeValueDataModel.class);
+        query.setParameter("sensorID", sensorID.toString());
+        query.setParameter("start", start);
+        query.setParameter("end", end);
+        query.setParameter("afterTime", after == null ? start : after.getTime());
+        query.setParameter("afterValueID", after == null ? "" : after.getValueID().toString());
+        query.setMaxResults(limit);
+        MapperInstantTimeValueDataModel mapper = new MapperInstantTimeValueDataModel();
+
+        List<Value> values = new ArrayList<>();
+        for (InstantTimeValueDataModel dataModel : query.getResultList()) {
+            values.add(mapper.toDomain(factory, dataModel));
+        }
+        return values;
+    }
+
     /**
      * Finds an InstantTimeValue object in the database by its identity.
      *
@@ -141,12 +225,24 @@ public class InstantTimeValueRepositoryJPAImp implements InstantTimeValueReposit
 
     /**
      * Retrieves the last value recorded according to instant time by sensorID.
+     * Served from the latest value cache, so storage is only queried the first time a sensor is looked up and once its
+     * cached value is older than the cache time to live.
      *
      * @param sensorID SensorID object that the value belongs to
      * @return the object value that was last recorded.
      */
     @Override
     public Value findLastValueRecorded(SensorID sensorID) {
+        return latestValueCache.getOrLoad(sensorID, this::queryLastValueRecorded);
+    }
+
+    /**
+     * Queries the storage for the last value recorded according to instant time by sensorID.
+     *
+     * @param sensorID SensorID object that the value belongs to
+     * @return the object value that was last recorded, or null if the sensor has no values.
+     */
+    private Value queryLastValueRecorded(SensorID sensorID) {
         Query query = entityManager.createQuery(
                 "SELECT e FROM InstantTimeValueDataModel e WHERE e.sensorID = :sensorID ORDER BY e.instantTime DESC");
 
@@ -158,4 +254,25 @@ public class InstantTimeValueRepositoryJPAImp implements InstantTimeValueReposit
         MapperInstantTimeValueDataModel mapperInstantTimeValueDataModel = new MapperInstantTimeValueDataModel();
         return mapperInstantTimeValueDataModel.toDomain(factory, valueDataModel);
     }
+
+    /**
+     * Persists a batch of values in a single transaction, flushing every {@code BATCH_SIZE} values.
+     *
+     * @param values List of Value objects to persist.
+     * @return List of the persisted Value objects, or an empty list if the batch could not be persisted.
+     */
+    @Override
+    public List<Value> saveAll(List<Value> values) {
+        List<InstantTimeValueDataModel> dataModels = new ArrayList<>();
+        for (Value value : values) {
+            dataModels.add(new InstantTimeValueDataModel(value));
+        }
+
+        EntityUpdater entityUpdater = new EntityUpdater();
+        if (entityUpdater.persistEntities(dataModels, entityManager, BATCH_SIZE)) {
+            latestValueCache.offerAll(values);
+            return values;
+        }
+        return new ArrayList<>();
+    }
 }
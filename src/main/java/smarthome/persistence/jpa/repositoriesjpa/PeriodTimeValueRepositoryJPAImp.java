@@ -2,25 +2,40 @@ package smarthome.persistence.jpa.repositoriesjpa;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.AvailableHints;
 import smarthome.domain.value.ImpFactoryPeriodTimeValue;
 import smarthome.domain.value.PeriodTimeValue;
 import smarthome.domain.value.Value;
 import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueCursor;
 import smarthome.domain.valueobjects.ValueID;
 import smarthome.persistence.jpa.datamodel.MapperPeriodTimeValueDataModel;
 import smarthome.persistence.jpa.datamodel.PeriodTimeValueDataModel;
 import smarthome.persistence.repositoriesmem.PeriodTimeValueRepository;
+import smarthome.util.EntityUpdater;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Represents a {@code PeriodTimeValueRepositoryJPAImp} for persistence in JPA.
  */
 public class PeriodTimeValueRepositoryJPAImp implements PeriodTimeValueRepository {
+    /**
+     * Number of values persisted between flushes of the persistence context when saving a batch.
+     */
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * Number of rows fetched from the database at a time when streaming values.
+     */
+    private static final int FETCH_SIZE = 500;
+
 
     /**
      * The factory that creates period time value objects.
@@ -140,4 +155,85 @@ public class PeriodTimeValueRepositoryJPAImp implements PeriodTimeValueRepositor
         }
         return values;
     }
-}
\ No newline at end of file
+
+    /**
+     * Method that streams the values that belong to a specific sensor and are between a specific period of time, ordered
+     * by time. Rows are fetched from the database {@code FETCH_SIZE} at a time as the stream is consumed, and detached
+     * from the persistence context once mapped.
+     *
+     * @param sensorID SensorID object that the value belongs to.
+     * @param start    Timestamp object that represents the start of the period.
+     * @param end      Timestamp object that represents the end of the period.
+     * @return Stream of Value objects that belong to the specified sensor and are between the specified period.
+     */
+    @Override
+    public Stream<Value> streamBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end) {
+        TypedQuery<PeriodTimeValueDataModel> query = Objects.requireNonNull(entityManager).createQuery(
+                "SELECT e FROM PeriodTimeValueDataModel e WHERE e.sensorID = :sensorID AND e.startTime > :start AND e.endTime < :end"
+                        + " ORDER BY e.startTime", PeriodTimeValueDataModel.class);
+        query.setParameter("sensorID", sensorID.toString());
+        query.setParameter("start", start);
+        query.setParameter("end", end);
+        query.setHint(AvailableHints.HINT_FETCH_SIZE, FETCH_SIZE);
+        MapperPeriodTimeValueDataModel mapper = new MapperPeriodTimeValueDataModel();
+
+        return query.getResultStream().map(dataModel -> {
+            Value value = mapper.toDomain(factoryValue, dataModel);
+            entityManager.detach(dataModel);
+            return value;
+        });
+    }
+
+    /**
+     * Method that finds a page of the values that belong to a specific sensor and are between a specific period of
+     * time, ordered by time and ValueID and starting right after the given cursor. The page is sought through the
+     * sensor and time index, so a deep page costs as much as the first one.
+     *
+     * @param sensorID SensorID object that the value belongs to.
+     * @param start    Timestamp object that represents the start of the period.
+     * @param end      Timestamp object that represents the end of the period.
+     * @param after    ValueCursor of the last value of the previous page, or null for the first page.
+     * @param limit    maximum number of values in the page.
+     * @return List of at most limit Value objects that belong to the specified sensor and are between the specified period.
+     */
+    @Override
+    public List<Value> findPageBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end,
+                                                             ValueCursor after, int limit) {
+        TypedQuery<PeriodTimeValueDataModel> query = Objects.requireNonNull(entityManager).createQuery(
+                "SELECT e FROM PeriodTimeValueDataModel e WHERE e.sensorID = :sensorID AND e.startTime > :start AND e.endTime < :end"
+                        + " AND (e.startTime > :afterTime OR (e.startTime = :afterTime AND e.valueID > :afterValueID))"
+                        + " ORDER BY e.startTime, e.valueID", PeriodTimeValueDataModel.class);
+        query.setParameter("sensorID", sensorID.toString());
+        query.setParameter("start", start);
+        query.setParameter("end", end);
+        query.setParameter("afterTime", after == null ? start : after.getTime());
+        query.setParameter("afterValueID", after == null ? "" : after.getValueID().toString());
+        query.setMaxResults(limit);
+        MapperPeriodTimeValueDataModel mapper = new MapperPeriodTimeValueDataModel();
+
+        List<Value> values = new ArrayList<>();
+        for (PeriodTimeValueDataModel dataModel : query.getResultList()) {
+            values.add(mapper.toDomain(factoryValue, dataModel));
+        }
+        return values;
+    }
+
+    /**
+     * Persists a batch of values in a single transaction, flushing every {@code BATCH_SIZE} values.
+     *
+     * @param values List of Value objects to persist.
+     * @return List of the persisted Value objects, or an empty list if the batch could not be persisted.
+     */
+    @Override
+    public List<Value> saveAll(List<Value> values) {
+        List<PeriodTimeValueDataModel> dataModels = new ArrayList<>();
+        for (Value value : values) {
+            dataModels.add(new PeriodTimeValueDataModel(value));
+        }
+
+        EntityUpdater entityUpdater = new EntityUpdater();
+        if (entityUpdater.persistEntities(dataModels, entityManager, BATCH_SIZE))
+            return values;
+        return new ArrayList<>();
+    }
+}
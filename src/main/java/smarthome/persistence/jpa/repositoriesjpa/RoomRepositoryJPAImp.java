@@ -8,11 +8,12 @@ import smarthome.domain.valueobjects.HouseID;
 import smarthome.domain.valueobjects.RoomID;
 import smarthome.persistence.jpa.datamodel.MapperRoomDataModel;
 import smarthome.persistence.jpa.datamodel.RoomDataModel;
-import smarthome.util.EntityUpdater;
+import smarthome.util.OptimisticRetry;
 
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 /**
  * Class to represent a repository for rooms using JPA.
@@ -23,11 +24,6 @@ public class RoomRepositoryJPAImp implements RoomRepository {
      */
     FactoryRoom factoryRoom;
 
-    /**
-     * Sensor data model used for updating reserved Room.
-     */
-    RoomDataModel roomDataModelForUpdate;
-
     /**
      * Entity Manager instance for managing persistence operations.
      */
@@ -114,71 +110,37 @@ public class RoomRepositoryJPAImp implements RoomRepository {
     }
 
     /**
-     * Updates the given room.
+     * Applies a change to the stored Room entity and commits it only if its version is still the one read.
+     * Each attempt reads the row in a new transaction, applies the change and commits it; a commit that finds a newer
+     * version is rolled back, and the attempt runs again on the new row, a bounded number of times.
      *
-     * @param room The room object to be updated.
-     * @return The updated room if the operation is successful, or null if the room is not found or the update fails.
+     * @param roomID The identity of the Room entity to update.
+     * @param change The change to apply to the current Room entity.
+     * @return An Optional containing the updated Room entity, or empty if not found or left as is.
      */
     @Override
-    public Room update(Room room) {
-        RoomDataModel roomDataModel = entityManager.find(RoomDataModel.class, room.identity().toString());
-
-        return roomUpdater(room, roomDataModel);
-    }
-
-    /**
-     * Updates the Room object with data from the corresponding RoomDataModel and persists the changes.
-     *
-     * @param room           The Room object to be updated.
-     * @param roomDataModel The corresponding RoomDataModel object containing updated data.
-     * @return The updated Room object if the update is successful and persisted, otherwise null.
-     */
-    private Room roomUpdater(Room room, RoomDataModel roomDataModel) {
-        if (roomDataModel != null){
-            boolean isUpdated = roomDataModel.updateFromDomain(room);
-
-            if (isUpdated){
-                EntityUpdater entityUpdater = new EntityUpdater();
-                if(entityUpdater.persistEntity(roomDataModel, entityManager))
-                    return room;
+    public Optional<Room> update(RoomID roomID, UnaryOperator<Room> change) {
+        return OptimisticRetry.retryOnConflict(() -> {
+            entityManager.clear();
+            EntityTransaction entityTransaction = entityManager.getTransaction();
+            try {
+                entityTransaction.begin();
+                RoomDataModel roomDataModel = entityManager.find(RoomDataModel.class, roomID.toString());
+                if (roomDataModel == null)
+                    return Optional.empty();
+
+                MapperRoomDataModel mapperRoomDataModel = new MapperRoomDataModel();
+                Room changedRoom = change.apply(mapperRoomDataModel.toDomain(factoryRoom, roomDataModel));
+                if (changedRoom == null || !roomDataModel.updateFromDomain(changedRoom))
+                    return Optional.empty();
+
+                entityTransaction.commit();
+                return Optional.of(changedRoom);
+            } finally {
+                if (entityTransaction.isActive())
+                    entityTransaction.rollback();
             }
-            else
-                return null;
-        }
-        else
-            return null;
-        return null;
-    }
-
-    /**
-     * Updates the reserved room.
-     *
-     * @param room The reserved room object to be updated.
-     * @return The updated room if the operation is successful, or null if the room is not found or the update fails.
-     */
-    @Override
-    public Room updateReserved(Room room) {
-        return roomUpdater(room, roomDataModelForUpdate);
-    }
-
-    /**
-     * Finds an entity by its ID and reserves it.
-     *
-     * @param roomID The ID of the room to find and reserve.
-     * @return An optional containing the reserved room if found, or an empty optional if not found.
-     */
-    @Override
-    public Optional<Room> findEntityByIDAndReserve(RoomID roomID) {
-        RoomDataModel roomDataModel = entityManager.find(RoomDataModel.class, roomID.toString());
-
-        if (roomDataModel != null){
-            MapperRoomDataModel mapperRoomDataModel = new MapperRoomDataModel();
-            Room roomDomain = mapperRoomDataModel.toDomain(factoryRoom, roomDataModel);
-            this.roomDataModelForUpdate = roomDataModel;
-            return Optional.of(roomDomain);
-        }
-        else
-            return Optional.empty();
+        });
     }
 
     /**
@@ -190,7 +152,7 @@ public class RoomRepositoryJPAImp implements RoomRepository {
     @Override
     public Iterable<Room> findByHouseID(HouseID houseID) {
         Query query = Objects.requireNonNull(entityManager).createQuery("SELECT e FROM RoomDataModel e WHERE e.houseID = :houseID");
-        query.setParameter("houseID", houseID);
+        query.setParameter("houseID", houseID.toString());
         List<RoomDataModel> roomDataModelList = query.getResultList();
 
         MapperRoomDataModel mapperRoomDataModel = new MapperRoomDataModel();
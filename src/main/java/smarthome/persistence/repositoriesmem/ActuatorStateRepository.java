@@ -0,0 +1,17 @@
+package smarthome.persistence.repositoriesmem;
+
+import smarthome.domain.valueobjects.ActuatorState;
+
+import java.util.List;
+
+/**
+ * Represents the ActuatorStateRepository interface for persistence of the last value applied to each actuator.
+ */
+public interface ActuatorStateRepository {
+
+    /**
+     * Method to store a batch of actuator states, replacing the stored state of each actuator.
+     * @param states List of ActuatorState objects, at most one per actuator.
+     */
+    void saveAll(List<ActuatorState> states);
+}
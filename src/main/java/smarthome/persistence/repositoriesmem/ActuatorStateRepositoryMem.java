@@ -0,0 +1,37 @@
+package smarthome.persistence.repositoriesmem;
+
+import smarthome.domain.valueobjects.ActuatorID;
+import smarthome.domain.valueobjects.ActuatorState;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the ActuatorStateRepositoryMem class for persistence in memory.
+ */
+public class ActuatorStateRepositoryMem implements ActuatorStateRepository {
+
+    /**
+     * Map of ActuatorID and the stored ActuatorState of each actuator.
+     */
+    private final Map<ActuatorID, ActuatorState> stateData;
+
+    /**
+     * Constructor for ActuatorStateRepositoryMem objects.
+     * @param stateData Map of ActuatorID and ActuatorState objects, safe for use by concurrent writers.
+     */
+    public ActuatorStateRepositoryMem(Map<ActuatorID, ActuatorState> stateData) {
+        this.stateData = stateData;
+    }
+
+    /**
+     * Method to store a batch of actuator states, replacing the stored state of each actuator.
+     * @param states List of ActuatorState objects, at most one per actuator.
+     */
+    @Override
+    public void saveAll(List<ActuatorState> states) {
+        for (ActuatorState state : states) {
+            stateData.put(state.getActuatorID(), state);
+        }
+    }
+}
@@ -2,13 +2,19 @@ package smarthome.persistence.repositoriesmem;
 
 import smarthome.domain.device.Device;
 import smarthome.domain.repository.DeviceRepository;
+import smarthome.domain.repository.RoomRepository;
+import smarthome.domain.room.Room;
 import smarthome.domain.valueobjects.DeviceID;
+import smarthome.domain.valueobjects.HouseID;
 import smarthome.domain.valueobjects.RoomID;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 
 /**
  * Repository class for managing devices.
@@ -21,18 +27,23 @@ public class DeviceRepositoryMem implements DeviceRepository {
     private final Map<DeviceID, Device> deviceData;
 
     /**
-     * The device entity used for updating a reserved device.
+     * Repository the rooms of a house are read from, to find the devices of a house.
      */
-    private Device deviceForUpdate;
+    private final RoomRepository roomRepository;
 
     /**
      * Constructor for DeviceRepository object.
      * Currently stands in this way as there doesn't exist a database yet.
      *
-     * @param deviceData Map of DeviceID and Device objects.
+     * @param deviceData     Map of DeviceID and Device objects.
+     * @param roomRepository Repository the rooms of a house are read from, to find the devices of a house.
+     * @throws IllegalArgumentException if the room repository is null.
      */
-    public DeviceRepositoryMem(Map<DeviceID, Device> deviceData) {
+    public DeviceRepositoryMem(Map<DeviceID, Device> deviceData, RoomRepository roomRepository) {
+        if (roomRepository == null)
+            throw new IllegalArgumentException("Invalid room repository");
         this.deviceData = deviceData;
+        this.roomRepository = roomRepository;
     }
 
     /**
@@ -48,42 +59,24 @@ public class DeviceRepositoryMem implements DeviceRepository {
     }
 
     /**
-     * Updates the provided device entity in the repository.
+     * Applies a change to the stored device entity and stores the result, holding the repository while doing so, so no
+     * other update of the repository can be written in between.
      *
-     * @param device The device entity to be updated.
-     * @return The updated device entity if it exists in the repository, otherwise returns null.
+     * @param deviceID The identity of the device entity to update.
+     * @param change   The change to apply to the current device entity.
+     * @return An Optional containing the updated device entity, or empty if not found or left as is.
      */
     @Override
-    public Device update(Device device) {
-        if (deviceData.containsKey(device.identity())) {
-            deviceData.put(device.identity(), device);
-            return device;
-        }
-        return null;
-    }
-
-    /**
-     * Updates a reserved device with new information.
-     *
-     * @param device The device containing updated information.
-     * @return The updated device entity if the update is successful,
-     * null if the device is not reserved or null if the identity doesn't match.
-     */
-    @Override
-    public Device updateReserved(Device device) {
-        // Check if the repository contains the reserved device
-        if (deviceForUpdate != null) {
-            // Check if they have the same identification
-            if (deviceForUpdate.identity() == device.identity()) {
-                // Update the reserved device entity with the new information
-                deviceData.put(deviceForUpdate.identity(), device);
-                // Return the updated device
-                return device;
-            } else {
-                return null;
-            }
-        } else {
-            return null;
+    public Optional<Device> update(DeviceID deviceID, UnaryOperator<Device> change) {
+        synchronized (deviceData) {
+            Device currentDevice = deviceData.get(deviceID);
+            if (currentDevice == null)
+                return Optional.empty();
+            Device changedDevice = change.apply(currentDevice);
+            if (changedDevice == null)
+                return Optional.empty();
+            deviceData.put(deviceID, changedDevice);
+            return Optional.of(changedDevice);
         }
     }
 
@@ -119,21 +112,6 @@ public class DeviceRepositoryMem implements DeviceRepository {
         return deviceData.containsKey(id);
     }
 
-    /**
-     * Finds a device entity by its ID and reserves it for further processing.
-     *
-     * @param deviceID The ID of the device entity to find and reserve.
-     * @return An Optional containing the reserved device entity if found, or empty if not found.
-     */
-    @Override
-    public Optional<Device> findEntityByIDAndReserve(DeviceID deviceID) {
-        if (!containsEntityByID(deviceID)) {
-            return Optional.empty();
-        }
-        this.deviceForUpdate = deviceData.get(deviceID);
-        return Optional.of(deviceForUpdate);
-    }
-
     /**
      * Finds all Device entities in a specified roomID.
      *
@@ -150,5 +128,26 @@ public class DeviceRepositoryMem implements DeviceRepository {
         }
         return deviceWithRoomID;
     }
-}
 
+    /**
+     * Finds the summary of every device in the rooms of a specified houseID, reading the rooms of the house once and
+     * then the devices in a single pass.
+     *
+     * @param houseID The house ID to search for.
+     * @return An Iterable containing the summary of each device in the house.
+     */
+    @Override
+    public Iterable<DeviceSummary> findDeviceSummariesByHouseID(HouseID houseID) {
+        Set<RoomID> roomsOfHouse = new HashSet<>();
+        for (Room room : roomRepository.findByHouseID(houseID))
+            roomsOfHouse.add(room.identity());
+
+        List<DeviceSummary> summaries = new ArrayList<>();
+        for (Device device : deviceData.values()) {
+            if (roomsOfHouse.contains(device.getRoomID()))
+                summaries.add(new DeviceSummary(device.identity(), device.getDeviceModel(), device.getDeviceStatus(),
+                        device.getRoomID()));
+        }
+        return summaries;
+    }
+}
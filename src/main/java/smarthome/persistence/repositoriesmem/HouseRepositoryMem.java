@@ -7,6 +7,7 @@ import smarthome.util.exceptions.SingleHouseViolationException;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 /**
  * An implementation of a repository for managing House entities.
@@ -19,11 +20,6 @@ public class HouseRepositoryMem implements HouseRepository
      */
     private Map<HouseID, House> houseData;
 
-    /**
-     * The house entity used for updating a reserved house.
-     */
-    private House houseForUpdate;
-
     /**
      * Constructor for HouseRepository object. Currently, stands this way since there's no database for the time being.
      * @param houseData Map of HouseID and House objects.
@@ -48,45 +44,24 @@ public class HouseRepositoryMem implements HouseRepository
     }
 
     /**
-     * Updates the provided house entity in the repository.
+     * Applies a change to the stored house entity and stores the result, holding the repository while doing so, so no
+     * other update of the repository can be written in between.
      *
-     * @param house The house entity to be updated.
-     * @return The updated house entity if it exists in the repository, otherwise returns null.
+     * @param houseID The identity of the house entity to update.
+     * @param change  The change to apply to the current house entity.
+     * @return An Optional containing the updated house entity, or empty if not found or left as is.
      */
     @Override
-    public House update(House house)
-    {
-        if(houseData.containsKey(house.identity())){
-            houseData.put(house.identity(), house);
-            return house;
-        }
-        return null;
-    }
-
-    /**
-     * Updates a reserved house with new information.
-     *
-     * @param house The house containing updated information.
-     * @return The updated house entity if the update is successful,
-     * null if the house is not reserved or null if the identity doesn't match.
-     */
-    @Override
-    public House updateReserved(House house)
-    {
-        // Check if the repository contains the reserved house
-        if (houseForUpdate != null)
-        {
-            // Check if they have the same identification
-            if (houseForUpdate.identity() == house.identity()) {
-                // Update the reserved house entity with the new information
-                houseData.put(houseForUpdate.identity(), house);
-                // Return the updated house
-                return house;
-            } else {
-                return null;
-            }
-        } else {
-            return null;
+    public Optional<House> update(HouseID houseID, UnaryOperator<House> change) {
+        synchronized (houseData) {
+            House currentHouse = houseData.get(houseID);
+            if (currentHouse == null)
+                return Optional.empty();
+            House changedHouse = change.apply(currentHouse);
+            if (changedHouse == null)
+                return Optional.empty();
+            houseData.put(houseID, changedHouse);
+            return Optional.of(changedHouse);
         }
     }
 
@@ -126,21 +101,4 @@ public class HouseRepositoryMem implements HouseRepository
     {
         return houseData.containsKey(id);
     }
-
-    /**
-     * Finds a house entity by its ID and reserves it for further processing.
-     *
-     * @param houseID The ID of the house entity to find and reserve.
-     * @return An Optional containing the reserved house entity if found, or empty if not found.
-     */
-    @Override
-    public Optional<House> findEntityByIDAndReserve(HouseID houseID)
-    {
-        if (!containsEntityByID(houseID))
-        {
-            return Optional.empty();
-        }
-        this.houseForUpdate = houseData.get(houseID);
-        return Optional.of(houseForUpdate);
-    }
 }
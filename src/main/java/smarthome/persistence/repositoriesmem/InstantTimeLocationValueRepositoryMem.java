@@ -6,8 +6,8 @@ import smarthome.domain.valueobjects.SensorID;
 import smarthome.domain.valueobjects.ValueID;
 
 import java.sql.Timestamp;
-import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,13 +22,26 @@ public class InstantTimeLocationValueRepositoryMem implements InstantTimeLocatio
      */
     private Map<ValueID, Value> valueMap;
 
+    /**
+     * Per-sensor index of the values, sorted by instant time.
+     */
+    private final SensorTimeIndex sensorTimeIndex;
+
+    /**
+     * Last value recorded by each sensor.
+     */
+    private final LatestValueCache latestValueCache;
+
     /**
      * Constructs an InstantTimeLocationValueRepositoryMem with the provided value map.
      *
-     * @param valueMap The map containing ValueID as keys and Value objects as values.
+     * @param valueMap The map containing ValueID as keys and Value objects as values, copied so that every later write goes through saveAll.
      */
     public InstantTimeLocationValueRepositoryMem(Map<ValueID, Value> valueMap) {
-        this.valueMap = valueMap;
+        this.valueMap = new LinkedHashMap<>(valueMap);
+        this.sensorTimeIndex = new SensorTimeIndex(value -> ((InstantTimeLocationValue) value).getInstantTime());
+        this.sensorTimeIndex.addAll(valueMap.values());
+        this.latestValueCache = new LatestValueCache(value -> ((InstantTimeLocationValue) value).getInstantTime());
     }
 
     /**
@@ -39,19 +52,13 @@ public class InstantTimeLocationValueRepositoryMem implements InstantTimeLocatio
      */
     @Override
     public List<Value> findBySensorId(SensorID sensorID) {
-        List<Value> values = new ArrayList<>();
-        for (Value value : valueMap.values()) {
-            InstantTimeLocationValue instantTimeLocationValue = (InstantTimeLocationValue) value;
-            if (instantTimeLocationValue.getSensorID().equals(sensorID)) {
-                values.add(value);
-            }
-        }
-        return values;
+        return sensorTimeIndex.findBySensorId(sensorID);
     }
 
     /**
      * Method to find a value associated to a SensorID and where the timestamp1 variable present in persistence
      * is between the start and end variables.
+     * Candidates are sliced from the per-sensor time index, so the cost grows with the readings in the period, not with the repository.
      *
      * @param sensorID SensorID object that the value is associated with
      * @param start    Timestamp object that represents the start of the period
@@ -61,11 +68,9 @@ public class InstantTimeLocationValueRepositoryMem implements InstantTimeLocatio
     @Override
     public List<Value> findBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end) {
         List<Value> values = new ArrayList<>();
-        for (Value value : valueMap.values()) {
+        for (Value value : sensorTimeIndex.findBySensorIdBetween(sensorID, start, end)) {
             InstantTimeLocationValue instantTimeLocationValue = (InstantTimeLocationValue) value;
-            if (instantTimeLocationValue.getSensorID().equals(sensorID) &&
-                    instantTimeLocationValue.getInstantTime().after(start) &&
-                    instantTimeLocationValue.getInstantTime().before(end)) {
+            if (instantTimeLocationValue.getInstantTime().after(start) && instantTimeLocationValue.getInstantTime().before(end)) {
                 values.add(value);
             }
         }
@@ -106,38 +111,31 @@ public class InstantTimeLocationValueRepositoryMem implements InstantTimeLocatio
 
     /**
      * Retrieves the last value recorded according to instant time by sensorID.
+     * Served from the latest value cache, which falls back to the last entry of the sensor's time index on a miss.
      *
      * @param sensorID SensorID object that the value belongs to
      * @return the object value that was last recorded.
      */
     @Override
     public Value findLastValueRecorded(SensorID sensorID) {
-        List<InstantTimeLocationValue> values = new ArrayList<>();
-        for (Value value : valueMap.values()) {
-            if (value.getSensorID().equals(sensorID)) {
-                values.add((InstantTimeLocationValue) value);
-            }
-        }
-        //Bubble sort to order the list of values by timestamp descending
-        for (int i = 0; i < values.size() - 1; i++) {
-            for (int j = 0; j < values.size() - i - 1; j++) {
-                InstantTimeLocationValue value1 = values.get(j);
-                InstantTimeLocationValue value2 = values.get(j + 1);
-
-                Timestamp timestamp1 = value1.getInstantTime();
-                Timestamp timestamp2 = value2.getInstantTime();
-                Instant instant1 = timestamp1.toInstant();
-                Instant instant2 = timestamp2.toInstant();
+        return latestValueCache.getOrLoad(sensorID, sensorTimeIndex::findLast);
+    }
 
-                if (instant1.compareTo(instant2) < 0) {
-                    InstantTimeLocationValue temp = values.get(j);
-                    values.set(j, values.get(j + 1));
-                    values.set(j + 1, temp);
-                }
-            }
+    /**
+     * Method to persist a batch of values in memory.
+     *
+     * @param values List of Value objects to persist.
+     * @return List of the persisted Value objects.
+     */
+    @Override
+    public List<Value> saveAll(List<Value> values) {
+        for (Value value : values) {
+            Value previous = valueMap.put(value.identity(), value);
+            if (previous != null)
+                sensorTimeIndex.remove(previous);
+            sensorTimeIndex.add(value);
+            latestValueCache.offer(value);
         }
-        if (!values.isEmpty())
-            return values.get(0);
-        return null;
+        return values;
     }
 }
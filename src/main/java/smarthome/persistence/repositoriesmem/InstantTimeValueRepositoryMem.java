@@ -6,8 +6,8 @@ import smarthome.domain.valueobjects.SensorID;
 import smarthome.domain.valueobjects.ValueID;
 
 import java.sql.Timestamp;
-import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -21,13 +21,26 @@ public class InstantTimeValueRepositoryMem implements InstantTimeValueRepository
      */
     private Map<ValueID, Value> valueMap;
 
+    /**
+     * Per-sensor index of the values, sorted by instant time.
+     */
+    private final SensorTimeIndex sensorTimeIndex;
+
+    /**
+     * Last value recorded by each sensor.
+     */
+    private final LatestValueCache latestValueCache;
+
     /**
      * Constructor for InstantTimeValueRepositoryMem object. Currently, built this way as there doesn't exist a database yet.
      *
-     * @param valueMap with ValueID as key and Value as value.
+     * @param valueMap with ValueID as key and Value as value, copied so that every later write goes through saveAll.
      */
     public InstantTimeValueRepositoryMem(Map<ValueID, Value> valueMap) {
-        this.valueMap = valueMap;
+        this.valueMap = new LinkedHashMap<>(valueMap);
+        this.sensorTimeIndex = new SensorTimeIndex(value -> ((InstantTimeValue) value).getInstantTimeReading());
+        this.sensorTimeIndex.addAll(valueMap.values());
+        this.latestValueCache = new LatestValueCache(value -> ((InstantTimeValue) value).getInstantTimeReading());
     }
 
     /**
@@ -38,19 +51,13 @@ public class InstantTimeValueRepositoryMem implements InstantTimeValueRepository
      */
     @Override
     public List<Value> findBySensorId(SensorID sensorID) {
-        List<Value> values = new ArrayList<>();
-        for (Value value : valueMap.values()) {
-            InstantTimeValue instantTimeValue = (InstantTimeValue) value;
-            if (instantTimeValue.getSensorID().equals(sensorID)) {
-                values.add(value);
-            }
-        }
-        return values;
+        return sensorTimeIndex.findBySensorId(sensorID);
     }
 
     /**
      * Method to find a value belonging to a specific SensorID and where the timestamp1 variable present in persistence
      * is between the start and end variables.
+     * Candidates are sliced from the per-sensor time index, so the cost grows with the readings in the period, not with the repository.
      *
      * @param sensorID SensorID object that the value belongs to
      * @param start    Timestamp object that represents the start of the period
@@ -60,13 +67,9 @@ public class InstantTimeValueRepositoryMem implements InstantTimeValueRepository
     @Override
     public List<Value> findBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end) {
         List<Value> values = new ArrayList<>();
-        for (Value value : valueMap.values()) {
+        for (Value value : sensorTimeIndex.findBySensorIdBetween(sensorID, start, end)) {
             InstantTimeValue instantTimeValue = (InstantTimeValue) value;
-            if (
-                    instantTimeValue.getSensorID().equals(sensorID) &&
-                            instantTimeValue.getInstantTimeReading().after(start) &&
-                            instantTimeValue.getInstantTimeReading().before(end)
-            ) {
+            if (instantTimeValue.getInstantTimeReading().after(start) && instantTimeValue.getInstantTimeReading().before(end)) {
                 values.add(value);
             }
         }
@@ -107,38 +110,31 @@ public class InstantTimeValueRepositoryMem implements InstantTimeValueRepository
 
     /**
      * Retrieves the last value recorded according to instant time by sensorID.
+     * Served from the latest value cache, which falls back to the last entry of the sensor's time index on a miss.
      *
      * @param sensorID SensorID object that the value belongs to
      * @return the object value that was last recorded.
      */
     @Override
     public Value findLastValueRecorded(SensorID sensorID) {
-        List<InstantTimeValue> values = new ArrayList<>();
-        for (Value value : valueMap.values()) {
-            if (value.getSensorID().equals(sensorID)) {
-                values.add((InstantTimeValue) value);
-            }
-        }
-        //Bubble sort to order the list of values by timestamp descending
-        for (int i = 0; i < values.size() - 1; i++) {
-            for (int j = 0; j < values.size() - i - 1; j++) {
-                InstantTimeValue value1 = values.get(j);
-                InstantTimeValue value2 = values.get(j + 1);
-
-                Timestamp timestamp1 = value1.getInstantTimeReading();
-                Timestamp timestamp2 = value2.getInstantTimeReading();
-                Instant instant1 = timestamp1.toInstant();
-                Instant instant2 = timestamp2.toInstant();
+        return latestValueCache.getOrLoad(sensorID, sensorTimeIndex::findLast);
+    }
 
-                if (instant1.compareTo(instant2) < 0) {
-                    InstantTimeValue temp = values.get(j);
-                    values.set(j, values.get(j + 1));
-                    values.set(j + 1, temp);
-                }
-            }
+    /**
+     * Method to persist a batch of values in memory.
+     *
+     * @param values List of Value objects to persist.
+     * @return List of the persisted Value objects.
+     */
+    @Override
+    public List<Value> saveAll(List<Value> values) {
+        for (Value value : values) {
+            Value previous = valueMap.put(value.identity(), value);
+            if (previous != null)
+                sensorTimeIndex.remove(previous);
+            sensorTimeIndex.add(value);
+            latestValueCache.offer(value);
         }
-        if (!values.isEmpty())
-            return values.get(0);
-        return null;
+        return values;
     }
 }
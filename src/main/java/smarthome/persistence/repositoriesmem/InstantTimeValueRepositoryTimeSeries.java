@@ -0,0 +1,128 @@
+package smarthome.persistence.repositoriesmem;
+
+import smarthome.domain.value.ImpFactoryInstantTimeValue;
+import smarthome.domain.value.InstantTimeValue;
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueID;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Represents the InstantTimeValueRepositoryTimeSeries class for persistence in memory, keeping the values in the
+ * columns of a TimeSeriesStore instead of as Value objects. Values are built from the columns whenever they are
+ * retrieved, so the returned objects are new instances that are equal in content to the saved ones.
+ */
+public class InstantTimeValueRepositoryTimeSeries implements InstantTimeValueRepository {
+
+    /**
+     * Columnar store of the values, indexed by instant time.
+     */
+    private final TimeSeriesStore timeSeriesStore;
+
+    /**
+     * Factory used to build the values retrieved from the store.
+     */
+    private final TimeSeriesStore.RowMapper<Value> rowMapper;
+
+    /**
+     * Constructor for InstantTimeValueRepositoryTimeSeries object.
+     *
+     * @param factory the factory used to build the values retrieved from the repository.
+     */
+    public InstantTimeValueRepositoryTimeSeries(ImpFactoryInstantTimeValue factory) {
+        if (factory == null)
+            throw new IllegalArgumentException("Factory cannot be null.");
+
+        this.timeSeriesStore = new TimeSeriesStore(false);
+        this.rowMapper = (valueID, sensorID, reading, instantTime, endTime) ->
+                factory.createValue(valueID, sensorID, reading, instantTime);
+    }
+
+    /**
+     * Method to find the values belonging to a specific SensorID, ordered by instant time.
+     *
+     * @param sensorID SensorID object that the value belongs to
+     * @return List of InstantTimeValue type objects. List may be empty if no Values are found.
+     */
+    @Override
+    public List<Value> findBySensorId(SensorID sensorID) {
+        return timeSeriesStore.findBySensorId(sensorID, rowMapper);
+    }
+
+    /**
+     * Method to find the values belonging to a specific SensorID whose instant time is strictly between the start and
+     * end of a period. Only the values in the period are built.
+     *
+     * @param sensorID SensorID object that the value belongs to
+     * @param start    Timestamp object that represents the start of the period
+     * @param end      Timestamp object that represents the end of the period
+     * @return List of Value type objects. List may be empty if no Values are found.
+     */
+    @Override
+    public List<Value> findBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end) {
+        return timeSeriesStore.findBySensorIdBetween(sensorID, start, end, rowMapper);
+    }
+
+    /**
+     * Finds an entity in the repository by its unique identifier.
+     *
+     * @param id The unique identifier of the entity to find.
+     * @return An Optional containing the found entity, or empty if not found.
+     */
+    @Override
+    public Optional<Value> findEntityByID(ValueID id) {
+        return Optional.ofNullable(timeSeriesStore.find(id, rowMapper));
+    }
+
+    /**
+     * Retrieves all entity objects from the repository.
+     *
+     * @return an iterable collection of entity objects
+     */
+    @Override
+    public Iterable<Value> findAllEntities() {
+        return timeSeriesStore.findAll(rowMapper);
+    }
+
+    /**
+     * Checks whether an entity with the given identifier exists in the repository.
+     *
+     * @param id The unique identifier of the entity to check.
+     * @return true if the entity exists in the repository, false otherwise.
+     */
+    @Override
+    public boolean containsEntityByID(ValueID id) {
+        return timeSeriesStore.contains(id);
+    }
+
+    /**
+     * Retrieves the last value recorded according to instant time by sensorID.
+     *
+     * @param sensorID SensorID object that the value belongs to
+     * @return the object value that was last recorded, or null if the sensor has no values.
+     */
+    @Override
+    public Value findLastValueRecorded(SensorID sensorID) {
+        return timeSeriesStore.findLast(sensorID, rowMapper);
+    }
+
+    /**
+     * Method to persist a batch of values in memory. A value with the ID of a value already in the repository
+     * replaces it.
+     *
+     * @param values List of Value objects to persist.
+     * @return List of the persisted Value objects.
+     */
+    @Override
+    public List<Value> saveAll(List<Value> values) {
+        for (Value value : values) {
+            InstantTimeValue instantTimeValue = (InstantTimeValue) value;
+            timeSeriesStore.add(value.identity(), value.getSensorID(), value.getReading(),
+                    instantTimeValue.getInstantTimeReading(), null);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,180 @@
+package smarthome.persistence.repositoriesmem;
+
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.SensorID;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache of the last value recorded by each sensor, maintained by the value repositories on write.
+ * Entries only move forward in time: a value replaces the cached one only if its timestamp is newer, so concurrent
+ * writers cannot overwrite a newer reading with an older one.
+ * On a miss the repository's own query is used and its result is kept. A cache built with a time to live uses the query
+ * again once an entry is older than it, so values written to the underlying storage by anything other than the
+ * repository are picked up within that time; a cache built without one never expires its entries.
+ */
+public class LatestValueCache {
+
+    /**
+     * Time to live of the entries of the database backed repositories, which other writers may insert values into.
+     */
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofSeconds(30);
+
+    /**
+     * Last value recorded by each sensor, with the time it was cached at.
+     */
+    private final Map<SensorID, Entry> latestBySensor;
+
+    /**
+     * Function returning the timestamp a value was recorded at.
+     */
+    private final Function<Value, Timestamp> recordedTime;
+
+    /**
+     * Milliseconds an entry is served for before the repository's query is used again.
+     */
+    private final long timeToLiveMillis;
+
+    /**
+     * Clock the age of the entries is measured with.
+     */
+    private final Clock clock;
+
+    /**
+     * Constructor for a LatestValueCache whose entries never expire, for repositories every write goes through.
+     *
+     * @param recordedTime function returning the timestamp a value was recorded at.
+     */
+    public LatestValueCache(Function<Value, Timestamp> recordedTime) {
+        this(recordedTime, Duration.ofMillis(Long.MAX_VALUE), Clock.systemUTC());
+    }
+
+    /**
+     * Constructor for a LatestValueCache whose entries expire after the given time to live.
+     *
+     * @param recordedTime function returning the timestamp a value was recorded at.
+     * @param timeToLive   how long an entry is served before the repository's query is used again.
+     */
+    public LatestValueCache(Function<Value, Timestamp> recordedTime, Duration timeToLive) {
+        this(recordedTime, timeToLive, Clock.systemUTC());
+    }
+
+    /**
+     * Constructor for a LatestValueCache whose entries expire after the given time to live, measured with the given clock.
+     *
+     * @param recordedTime function returning the timestamp a value was recorded at.
+     * @param timeToLive   how long an entry is served before the repository's query is used again.
+     * @param clock        clock the age of the entries is measured with.
+     */
+    LatestValueCache(Function<Value, Timestamp> recordedTime, Duration timeToLive, Clock clock) {
+        if (timeToLive.isNegative() || timeToLive.isZero())
+            throw new IllegalArgumentException("Time to live must be positive");
+
+        this.latestBySensor = new ConcurrentHashMap<>();
+        this.recordedTime = recordedTime;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Offers a value to the cache. It becomes the last value of its sensor unless a value recorded at the same time or
+     * later is already cached.
+     *
+     * @param value Value object that was recorded.
+     */
+    public void offer(Value value) {
+        latestBySensor.merge(value.getSensorID(), new Entry(value, clock.millis()), this::newest);
+    }
+
+    /**
+     * Offers every value of a collection to the cache.
+     *
+     * @param values Value objects that were recorded.
+     */
+    public void offerAll(Collection<Value> values) {
+        for (Value value : values) {
+            offer(value);
+        }
+    }
+
+    /**
+     * Retrieves the last value recorded by a sensor, loading it on a miss or when the cached entry has expired.
+     *
+     * @param sensorID SensorID object the value belongs to.
+     * @param loader   function that queries the last value of a sensor from storage; may return null.
+     * @return the last value recorded, or null if the sensor has no values.
+     */
+    public Value getOrLoad(SensorID sensorID, Function<SensorID, Value> loader) {
+        Entry cached = latestBySensor.get(sensorID);
+        if (cached != null && !isExpired(cached))
+            return cached.value();
+
+        Value loaded = loader.apply(sensorID);
+        if (loaded == null) {
+            if (cached != null)
+                latestBySensor.remove(sensorID, cached);
+            return null;
+        }
+
+        return latestBySensor.merge(sensorID, new Entry(loaded, clock.millis()), this::reloaded).value();
+    }
+
+    /**
+     * Removes every entry from the cache.
+     */
+    public void clear() {
+        latestBySensor.clear();
+    }
+
+    /**
+     * Checks whether an entry has been cached for longer than the time to live.
+     *
+     * @param entry cached entry.
+     * @return true if the entry must be loaded again, false otherwise.
+     */
+    private boolean isExpired(Entry entry) {
+        return clock.millis() - entry.cachedAt() >= timeToLiveMillis;
+    }
+
+    /**
+     * Chooses the entry with the most recent of two values of the same sensor, keeping the cached one on a tie.
+     *
+     * @param cached  entry currently cached.
+     * @param offered entry offered to the cache.
+     * @return the entry with the most recent Value object.
+     */
+    private Entry newest(Entry cached, Entry offered) {
+        if (recordedTime.apply(offered.value()).after(recordedTime.apply(cached.value())))
+            return offered;
+        return cached;
+    }
+
+    /**
+     * Chooses the entry to keep once a value has been loaded from storage. A value offered while loading is kept if it is
+     * more recent; otherwise the loaded value is kept and its age starts again.
+     *
+     * @param cached entry currently cached.
+     * @param loaded entry with the value loaded from storage.
+     * @return the entry to keep.
+     */
+    private Entry reloaded(Entry cached, Entry loaded) {
+        if (recordedTime.apply(cached.value()).after(recordedTime.apply(loaded.value())) && !isExpired(cached))
+            return cached;
+        return loaded;
+    }
+
+    /**
+     * Value cached for a sensor and the time, in epoch milliseconds, it was cached at.
+     *
+     * @param value    last Value object recorded by the sensor.
+     * @param cachedAt time the value was cached at.
+     */
+    private record Entry(Value value, long cachedAt) {
+    }
+}
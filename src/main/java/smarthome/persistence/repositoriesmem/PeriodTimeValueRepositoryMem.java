@@ -7,6 +7,7 @@ import smarthome.domain.valueobjects.ValueID;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,14 +24,21 @@ public class PeriodTimeValueRepositoryMem implements PeriodTimeValueRepository {
 
     private final Map<ValueID, Value> valueMap;
 
+    /**
+     * Per-sensor index of the values, sorted by start time.
+     */
+    private final SensorTimeIndex sensorTimeIndex;
+
     /**
      * The PeriodTimeValueRepositoryMem constructor.
      *
-     * @param valueMap The map of ValueID and Value.
+     * @param valueMap The map of ValueID and Value, copied so that every later write goes through saveAll.
      */
 
     public PeriodTimeValueRepositoryMem(Map<ValueID, Value> valueMap) {
-        this.valueMap = valueMap;
+        this.valueMap = new LinkedHashMap<>(valueMap);
+        this.sensorTimeIndex = new SensorTimeIndex(value -> ((PeriodTimeValue) value).getStartTimeReading());
+        this.sensorTimeIndex.addAll(valueMap.values());
     }
 
     /**
@@ -42,19 +50,13 @@ public class PeriodTimeValueRepositoryMem implements PeriodTimeValueRepository {
 
     @Override
     public List<Value> findBySensorId(SensorID sensorID) {
-        List<Value> values = new ArrayList<>();
-        for (Value value : valueMap.values()) {
-            PeriodTimeValue periodTimeValue = (PeriodTimeValue) value;
-            if (periodTimeValue.getSensorID().equals(sensorID)) {
-                values.add(value);
-            }
-        }
-        return values;
+        return sensorTimeIndex.findBySensorId(sensorID);
     }
 
     /**
      * Method to find a value belonging to a specific SensorID and where the timestamp1 variable present in persistence
      * is between the start and end variables.
+     * Candidates are sliced from the per-sensor time index, so the cost grows with the readings in the period, not with the repository.
      *
      * @param sensorID SensorID object that the value belongs to
      * @param start    Timestamp object that represents the start of the period
@@ -63,13 +65,9 @@ public class PeriodTimeValueRepositoryMem implements PeriodTimeValueRepository {
      */
     public List<Value> findBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end) {
         List<Value> values = new ArrayList<>();
-        for (Value value : valueMap.values()) {
+        for (Value value : sensorTimeIndex.findBySensorIdBetween(sensorID, start, end)) {
             PeriodTimeValue periodTimeValue = (PeriodTimeValue) value;
-            if (
-                            periodTimeValue.getSensorID().equals(sensorID) &&
-                            periodTimeValue.getStartTimeReading().after(start) &&
-                            periodTimeValue.getEndTimeReading().before(end)
-            ) {
+            if (periodTimeValue.getStartTimeReading().after(start) && periodTimeValue.getEndTimeReading().before(end)) {
                 values.add(value);
             }
         }
@@ -110,5 +108,20 @@ public class PeriodTimeValueRepositoryMem implements PeriodTimeValueRepository {
         return valueMap.containsKey(id);
     }
 
-
+    /**
+     * Method to persist a batch of values in memory.
+     *
+     * @param values List of Value objects to persist.
+     * @return List of the persisted Value objects.
+     */
+    @Override
+    public List<Value> saveAll(List<Value> values) {
+        for (Value value : values) {
+            Value previous = valueMap.put(value.identity(), value);
+            if (previous != null)
+                sensorTimeIndex.remove(previous);
+            sensorTimeIndex.add(value);
+        }
+        return values;
+    }
 }
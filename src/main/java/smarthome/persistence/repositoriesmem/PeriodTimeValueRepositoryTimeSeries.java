@@ -0,0 +1,116 @@
+package smarthome.persistence.repositoriesmem;
+
+import smarthome.domain.value.ImpFactoryPeriodTimeValue;
+import smarthome.domain.value.PeriodTimeValue;
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueID;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Represents the PeriodTimeValueRepositoryTimeSeries class for persistence in memory, keeping the values in the
+ * columns of a TimeSeriesStore instead of as Value objects. Values are built from the columns whenever they are
+ * retrieved, so the returned objects are new instances that are equal in content to the saved ones.
+ */
+public class PeriodTimeValueRepositoryTimeSeries implements PeriodTimeValueRepository {
+
+    /**
+     * Columnar store of the values, indexed by start time.
+     */
+    private final TimeSeriesStore timeSeriesStore;
+
+    /**
+     * Factory used to build the values retrieved from the store.
+     */
+    private final TimeSeriesStore.RowMapper<Value> rowMapper;
+
+    /**
+     * Constructor for PeriodTimeValueRepositoryTimeSeries object.
+     *
+     * @param factory the factory used to build the values retrieved from the repository.
+     */
+    public PeriodTimeValueRepositoryTimeSeries(ImpFactoryPeriodTimeValue factory) {
+        if (factory == null)
+            throw new IllegalArgumentException("Factory cannot be null.");
+
+        this.timeSeriesStore = new TimeSeriesStore(true);
+        this.rowMapper = factory::createValue;
+    }
+
+    /**
+     * Method to find values belonging to a specific SensorID, ordered by start time.
+     *
+     * @param sensorID SensorID object that the values belongs to
+     * @return List of PeriodTimeValue type objects.
+     */
+    @Override
+    public List<Value> findBySensorId(SensorID sensorID) {
+        return timeSeriesStore.findBySensorId(sensorID, rowMapper);
+    }
+
+    /**
+     * Method to find the values belonging to a specific SensorID that start after the start of a period and end before
+     * its end. Only the values in the period are built.
+     *
+     * @param sensorID SensorID object that the value belongs to
+     * @param start    Timestamp object that represents the start of the period
+     * @param end      Timestamp object that represents the end of the period
+     * @return List of Value type objects.
+     */
+    @Override
+    public List<Value> findBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end) {
+        return timeSeriesStore.findBySensorIdBetween(sensorID, start, end, rowMapper);
+    }
+
+    /**
+     * Finds a value in the repository by its unique identifier.
+     *
+     * @param id The unique identifier of the entity to find.
+     * @return An Optional containing the found entity, or empty if not found.
+     */
+    @Override
+    public Optional<Value> findEntityByID(ValueID id) {
+        return Optional.ofNullable(timeSeriesStore.find(id, rowMapper));
+    }
+
+    /**
+     * Retrieves all entity objects from the repository.
+     *
+     * @return an iterable collection of entity objects
+     */
+    @Override
+    public Iterable<Value> findAllEntities() {
+        return timeSeriesStore.findAll(rowMapper);
+    }
+
+    /**
+     * Method to check if the repository contains a specific entity.
+     *
+     * @param id The unique identifier of the entity to find.
+     * @return boolean value indicating if the entity is present in the repository.
+     */
+    @Override
+    public boolean containsEntityByID(ValueID id) {
+        return timeSeriesStore.contains(id);
+    }
+
+    /**
+     * Method to persist a batch of values in memory. A value with the ID of a value already in the repository
+     * replaces it.
+     *
+     * @param values List of Value objects to persist.
+     * @return List of the persisted Value objects.
+     */
+    @Override
+    public List<Value> saveAll(List<Value> values) {
+        for (Value value : values) {
+            PeriodTimeValue periodTimeValue = (PeriodTimeValue) value;
+            timeSeriesStore.add(value.identity(), value.getSensorID(), value.getReading(),
+                    periodTimeValue.getStartTimeReading(), periodTimeValue.getEndTimeReading());
+        }
+        return values;
+    }
+}
@@ -9,6 +9,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 /**
  * An implementation of a repository for managing Room entities.
@@ -19,11 +20,6 @@ public class RoomRepositoryMem implements RoomRepository {
      */
     private Map<RoomID, Room> roomData;
 
-    /**
-     * The room entity used for updating a reserved device.
-     */
-    private Room roomForUpdate;
-
     /**
      * Constructor for RoomRepository object.
      *
@@ -49,42 +45,24 @@ public class RoomRepositoryMem implements RoomRepository {
 
 
     /**
-     * Updates the provided room entity in the repository.
-     *
-     * @param room The room entity to be updated.
-     * @return The updated room entity if it exists in the repository, otherwise returns null.
-     */
-    @Override
-    public Room update(Room room) {
-        if (roomData.containsKey(room.identity())) {
-            roomData.put(room.identity(), room);
-            return room;
-        }
-        return null;
-    }
-
-    /**
-     * Updates a reserved room with new information.
+     * Applies a change to the stored room entity and stores the result, holding the repository while doing so, so no
+     * other update of the repository can be written in between.
      *
-     * @param room The room containing updated information.
-     * @return The updated room entity if the update is successful,
-     * null if the room is not reserved or null if the identity doesn't match.
+     * @param roomID The identity of the room entity to update.
+     * @param change The change to apply to the current room entity.
+     * @return An Optional containing the updated room entity, or empty if not found or left as is.
      */
     @Override
-    public Room updateReserved(Room room) {
-        // Check if the repository contains the reserved room
-        if (roomForUpdate != null) {
-            // Check if they have the same identification
-            if (roomForUpdate.identity() == room.identity()) {
-                // Update the reserved room entity with the new information
-                roomData.put(roomForUpdate.identity(), room);
-                // Return the updated room
-                return room;
-            } else {
-                return null;
-            }
-        } else {
-            return null;
+    public Optional<Room> update(RoomID roomID, UnaryOperator<Room> change) {
+        synchronized (roomData) {
+            Room currentRoom = roomData.get(roomID);
+            if (currentRoom == null)
+                return Optional.empty();
+            Room changedRoom = change.apply(currentRoom);
+            if (changedRoom == null)
+                return Optional.empty();
+            roomData.put(roomID, changedRoom);
+            return Optional.of(changedRoom);
         }
     }
 
@@ -114,21 +92,6 @@ public class RoomRepositoryMem implements RoomRepository {
         return roomData.containsKey(id);
     }
 
-    /**
-     * Finds a Room entity by its ID and reserves it for further processing.
-     *
-     * @param roomID The ID of the Room entity to find and reserve.
-     * @return An Optional containing the reserved device entity if found, or empty if not found.
-     */
-    @Override
-    public Optional<Room> findEntityByIDAndReserve(RoomID roomID) {
-        if (!containsEntityByID(roomID)) {
-            return Optional.empty();
-        }
-        this.roomForUpdate = roomData.get(roomID);
-        return Optional.of(roomForUpdate);
-    }
-
     /**
      * Finds all Room entities in a specified house.
      *
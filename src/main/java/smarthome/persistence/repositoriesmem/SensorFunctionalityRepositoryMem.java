@@ -177,6 +177,10 @@ public class SensorFunctionalityRepositoryMem implements SensorFunctionalityRepo
         return sensorFunctionalityIDServiceMethodCallMap.get(sensorFunctionalityID);
     }
 
+    public String getUnitForSensorFunctionalityID (SensorFunctionalityID sensorFunctionalityID) {
+        return sensorFunctionalityIDUnitMap.get(sensorFunctionalityID);
+    }
+
     /**
      * Retrieves all entities from the repository.
      *
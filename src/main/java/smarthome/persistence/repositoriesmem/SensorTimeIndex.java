@@ -0,0 +1,153 @@
+package smarthome.persistence.repositoriesmem;
+
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.SensorID;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Per-sensor index of values sorted by timestamp, used by the in-memory value repositories.
+ * A range query becomes a binary search on the sensor's sorted map plus a contiguous slice, instead of a scan over
+ * every value in the repository.
+ * The index is kept in step by its owner on every write: a replaced value is removed before its replacement is added.
+ * All access is synchronized, since the values of a device are queried concurrently.
+ */
+class SensorTimeIndex {
+
+    /**
+     * Values of each sensor, keyed by the epoch milliseconds of their indexed timestamp.
+     * Values sharing the same millisecond are kept together in insertion order.
+     */
+    private final Map<SensorID, NavigableMap<Long, List<Value>>> valuesBySensor;
+
+    /**
+     * Function returning the timestamp each value is indexed by.
+     */
+    private final Function<Value, Timestamp> indexedTime;
+
+    /**
+     * Constructor for SensorTimeIndex.
+     *
+     * @param indexedTime function returning the timestamp each value is indexed by.
+     */
+    SensorTimeIndex(Function<Value, Timestamp> indexedTime) {
+        this.valuesBySensor = new HashMap<>();
+        this.indexedTime = indexedTime;
+    }
+
+    /**
+     * Adds a value to the index.
+     *
+     * @param value Value object to index.
+     */
+    synchronized void add(Value value) {
+        valuesBySensor
+                .computeIfAbsent(value.getSensorID(), sensorID -> new TreeMap<>())
+                .computeIfAbsent(indexedTime.apply(value).getTime(), time -> new ArrayList<>(1))
+                .add(value);
+    }
+
+    /**
+     * Adds every value of a collection to the index.
+     *
+     * @param values Value objects to index.
+     */
+    synchronized void addAll(Collection<Value> values) {
+        for (Value value : values) {
+            add(value);
+        }
+    }
+
+    /**
+     * Removes a value from the index.
+     *
+     * @param value Value object to remove.
+     */
+    synchronized void remove(Value value) {
+        NavigableMap<Long, List<Value>> sensorValues = valuesBySensor.get(value.getSensorID());
+        if (sensorValues == null)
+            return;
+
+        long time = indexedTime.apply(value).getTime();
+        List<Value> valuesAtTime = sensorValues.get(time);
+        if (valuesAtTime == null)
+            return;
+
+        if (!valuesAtTime.remove(value))
+            return;
+
+        if (valuesAtTime.isEmpty())
+            sensorValues.remove(time);
+        if (sensorValues.isEmpty())
+            valuesBySensor.remove(value.getSensorID());
+    }
+
+    /**
+     * Retrieves all values of a sensor, ordered by their indexed timestamp.
+     *
+     * @param sensorID SensorID object the values belong to.
+     * @return List of Value objects. List may be empty if no Values are found.
+     */
+    synchronized List<Value> findBySensorId(SensorID sensorID) {
+        NavigableMap<Long, List<Value>> sensorValues = valuesBySensor.get(sensorID);
+        if (sensorValues == null)
+            return new ArrayList<>();
+
+        return flatten(sensorValues);
+    }
+
+    /**
+     * Retrieves the value of a sensor with the latest indexed timestamp.
+     *
+     * @param sensorID SensorID object the value belongs to.
+     * @return the latest Value object, or null if the sensor has no values.
+     */
+    synchronized Value findLast(SensorID sensorID) {
+        NavigableMap<Long, List<Value>> sensorValues = valuesBySensor.get(sensorID);
+        if (sensorValues == null)
+            return null;
+
+        List<Value> valuesAtTime = sensorValues.lastEntry().getValue();
+        return valuesAtTime.get(valuesAtTime.size() - 1);
+    }
+
+    /**
+     * Retrieves the values of a sensor whose indexed timestamp falls in the milliseconds of the given bounds, inclusive,
+     * ordered by their indexed timestamp. Callers apply their exact (sub-millisecond, inclusive or exclusive) comparison
+     * on this slice.
+     *
+     * @param sensorID SensorID object the values belong to.
+     * @param start    Timestamp object that represents the start of the period.
+     * @param end      Timestamp object that represents the end of the period.
+     * @return List of Value objects. List may be empty if no Values are found.
+     */
+    synchronized List<Value> findBySensorIdBetween(SensorID sensorID, Timestamp start, Timestamp end) {
+        NavigableMap<Long, List<Value>> sensorValues = valuesBySensor.get(sensorID);
+        if (sensorValues == null || start.getTime() > end.getTime())
+            return new ArrayList<>();
+
+        return flatten(sensorValues.subMap(start.getTime(), true, end.getTime(), true));
+    }
+
+    /**
+     * Flattens a slice of the index into a list.
+     *
+     * @param slice sorted map of values per timestamp.
+     * @return List of Value objects in timestamp order.
+     */
+    private List<Value> flatten(NavigableMap<Long, List<Value>> slice) {
+        List<Value> values = new ArrayList<>();
+        for (List<Value> valuesAtTime : slice.values()) {
+            values.addAll(valuesAtTime);
+        }
+        return values;
+    }
+}
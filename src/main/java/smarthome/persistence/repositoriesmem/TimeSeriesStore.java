@@ -0,0 +1,1298 @@
+package smarthome.persistence.repositoriesmem;
+
+import smarthome.domain.valueobjects.Reading;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueID;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Columnar in-memory store of sensor readings, used by the time-series value repositories.
+ * <p>
+ * The readings of each sensor are kept in chunks sorted by time. The last chunk of a sensor, which new readings go to,
+ * holds primitive columns: epoch nanoseconds in a {@code long[]}, the numeric measurement in a {@code double[]} with a
+ * {@code byte[]} telling how it was written ("20" or "20.0"), and the sequence number of the value ID. Once a chunk is
+ * followed by another one, its columns are compressed into a bit stream: times and sequence numbers as deltas of their
+ * deltas, measurements with up to six decimals as deltas of integers, and forms as their changes only. Readings taken
+ * at a regular interval with a few decimals take one or two bytes each. A compressed chunk is decompressed whenever it
+ * is read, and compressed again after it is changed. Chunks start small and grow up to their capacity, so a sensor
+ * with a few readings does not hold a full chunk.
+ * <p>
+ * Value IDs created by {@link ValueID#ofReading} hold the time and the hash of the sensor of their reading, so only
+ * their sequence number is stored, and a reading is found from such an ID by looking up the sensors of the hash at that
+ * time. Anything the columns cannot reproduce exactly (another value ID, a measurement that is not a single number
+ * written in one of those two ways, a unit other than the first one of the sensor) is kept per reading on the side,
+ * and other value IDs are kept in a hash index of their fingerprint, series and time, so a reading with such an ID
+ * costs about a hundred bytes more.
+ * Domain objects are only built when a query returns them.
+ * Values whose end time is before their start time are not supported by the period queries.
+ * All access is synchronized.
+ */
+class TimeSeriesStore {
+
+    /**
+     * Maximum number of readings of a chunk.
+     */
+    static final int CHUNK_CAPACITY = 1024;
+
+    /**
+     * Number of readings a new chunk has room for before its columns grow.
+     */
+    static final int INITIAL_CHUNK_CAPACITY = 16;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MILLIS_PER_SECOND = 1_000L;
+
+    /**
+     * How a numeric measurement was written: in its shortest form ("20", "21.5"), as Double.toString writes it
+     * ("20.0", "21.5"), or in some other way that is kept on the side.
+     */
+    private static final byte SHORTEST_FORM = 0;
+    private static final byte DOUBLE_FORM = 1;
+    private static final byte OTHER_FORM = 2;
+
+    /**
+     * Sequence number of a reading whose value ID is kept on the side.
+     */
+    private static final long NO_SEQUENCE = -1L;
+
+    /**
+     * Slot of a reading that has no entry in the value ID index.
+     */
+    private static final int NO_SLOT = -1;
+
+    /**
+     * Builds the object returned for a stored reading.
+     *
+     * @param <T> type of the returned object.
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        /**
+         * Builds the object returned for a stored reading.
+         *
+         * @param valueID  ValueID of the reading.
+         * @param sensorID SensorID of the sensor that took the reading.
+         * @param reading  Reading with the measurement and unit.
+         * @param time     Timestamp the reading is indexed by (instant time or start time).
+         * @param endTime  Timestamp the reading ended at, null if the store has no end times.
+         * @return the object for the reading.
+         */
+        T map(ValueID valueID, SensorID sensorID, Reading reading, Timestamp time, Timestamp endTime);
+    }
+
+    /**
+     * Whether readings have an end time besides the time they are indexed by.
+     */
+    private final boolean hasEndTime;
+
+    /**
+     * Readings of each sensor.
+     */
+    private final Map<SensorID, Series> seriesBySensor;
+
+    /**
+     * Series of each sensor hash held by value IDs; sensors whose IDs share a hash are all listed.
+     */
+    private final Map<Integer, List<Series>> seriesByHash;
+
+    /**
+     * Index of the value IDs kept on the side, giving the series and time of each reading.
+     */
+    private final ValueIDIndex valueIDIndex;
+
+    /**
+     * Number of readings in the store.
+     */
+    private int size;
+
+    /**
+     * Constructor for TimeSeriesStore.
+     *
+     * @param hasEndTime whether readings have an end time besides the time they are indexed by.
+     */
+    TimeSeriesStore(boolean hasEndTime) {
+        this.hasEndTime = hasEndTime;
+        this.seriesBySensor = new HashMap<>();
+        this.seriesByHash = new HashMap<>();
+        this.valueIDIndex = new ValueIDIndex();
+    }
+
+    /**
+     * Adds a reading to the store, replacing the reading with the same value ID if there is one.
+     *
+     * @param valueID  ValueID of the reading.
+     * @param sensorID SensorID of the sensor that took the reading.
+     * @param reading  Reading with the measurement and unit.
+     * @param time     Timestamp the reading is indexed by.
+     * @param endTime  Timestamp the reading ended at; ignored if the store has no end times.
+     * @throws IllegalArgumentException if a timestamp is outside the years 1677 to 2262, or the end time is missing.
+     */
+    synchronized void add(ValueID valueID, SensorID sensorID, Reading reading, Timestamp time, Timestamp endTime) {
+        if (hasEndTime && endTime == null)
+            throw new IllegalArgumentException("End time cannot be null.");
+
+        long epochNanos = toEpochNanos(time);
+        long endEpochNanos = hasEndTime ? toEpochNanos(endTime) : 0L;
+        remove(valueID);
+
+        Series series = seriesBySensor.get(sensorID);
+        if (series == null) {
+            series = new Series(sensorID, reading.getUnit());
+            seriesBySensor.put(sensorID, series);
+            seriesByHash.computeIfAbsent(series.hash, hash -> new ArrayList<>(1)).add(series);
+        }
+
+        long sequence = series.sequenceOf(valueID, epochNanos);
+        String sideValueID = sequence == NO_SEQUENCE ? valueID.toString() : null;
+        double value = numericValue(reading);
+        byte form = measurementForm(value, reading.getMeasurement());
+        series.insert(new Row(
+                epochNanos,
+                endEpochNanos,
+                value,
+                form,
+                sequence == NO_SEQUENCE ? 0L : sequence,
+                Extras.of(sideValueID, reading, form, series.unit)));
+        size++;
+        if (sideValueID != null)
+            valueIDIndex.put(fingerprint(sideValueID), series, epochNanos);
+    }
+
+    /**
+     * Removes the reading with a value ID.
+     *
+     * @param valueID ValueID of the reading.
+     * @return true if a reading was removed, false if there was none.
+     */
+    synchronized boolean remove(ValueID valueID) {
+        Location location = locate(valueID);
+        if (location == null)
+            return false;
+
+        Series series = location.series();
+        series.remove(location.chunkIndex(), location.index());
+        if (series.chunks.isEmpty()) {
+            seriesBySensor.remove(series.sensorID);
+            List<Series> sharingHash = seriesByHash.get(series.hash);
+            sharingHash.remove(series);
+            if (sharingHash.isEmpty())
+                seriesByHash.remove(series.hash);
+        }
+        if (location.slot() != NO_SLOT)
+            valueIDIndex.remove(location.slot());
+        size--;
+        return true;
+    }
+
+    /**
+     * Checks whether the store has a reading with a value ID.
+     *
+     * @param valueID ValueID of the reading.
+     * @return true if the reading exists, false otherwise.
+     */
+    synchronized boolean contains(ValueID valueID) {
+        return locate(valueID) != null;
+    }
+
+    /**
+     * Retrieves the reading with a value ID.
+     *
+     * @param valueID ValueID of the reading.
+     * @param mapper  builds the returned object.
+     * @param <T>     type of the returned object.
+     * @return the object for the reading, or null if there is none.
+     */
+    synchronized <T> T find(ValueID valueID, RowMapper<T> mapper) {
+        Location location = locate(valueID);
+        if (location == null)
+            return null;
+
+        Chunk chunk = location.series().chunks.get(location.chunkIndex());
+        return location.series().materialize(chunk, chunk.columns(), location.index(), mapper);
+    }
+
+    /**
+     * Retrieves every reading, grouped by sensor and ordered by time.
+     *
+     * @param mapper builds the returned objects.
+     * @param <T>    type of the returned objects.
+     * @return List of the objects for the readings.
+     */
+    synchronized <T> List<T> findAll(RowMapper<T> mapper) {
+        List<T> rows = new ArrayList<>(size);
+        for (Series series : seriesBySensor.values()) {
+            series.collectAll(mapper, rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Retrieves every reading of a sensor, ordered by time.
+     *
+     * @param sensorID SensorID of the sensor.
+     * @param mapper   builds the returned objects.
+     * @param <T>      type of the returned objects.
+     * @return List of the objects for the readings. List may be empty if the sensor has no readings.
+     */
+    synchronized <T> List<T> findBySensorId(SensorID sensorID, RowMapper<T> mapper) {
+        List<T> rows = new ArrayList<>();
+        Series series = seriesBySensor.get(sensorID);
+        if (series != null)
+            series.collectAll(mapper, rows);
+        return rows;
+    }
+
+    /**
+     * Retrieves the reading of a sensor with the latest time.
+     *
+     * @param sensorID SensorID of the sensor.
+     * @param mapper   builds the returned object.
+     * @param <T>      type of the returned object.
+     * @return the object for the reading, or null if the sensor has no readings.
+     */
+    synchronized <T> T findLast(SensorID sensorID, RowMapper<T> mapper) {
+        Series series = seriesBySensor.get(sensorID);
+        if (series == null)
+            return null;
+
+        Chunk last = series.chunks.get(series.chunks.size() - 1);
+        return series.materialize(last, last.columns(), last.size - 1, mapper);
+    }
+
+    /**
+     * Retrieves the readings of a sensor taken strictly after the start of a period and, by their end time if the store
+     * has end times, strictly before its end, ordered by time.
+     *
+     * @param sensorID SensorID of the sensor.
+     * @param start    Timestamp of the start of the period, exclusive.
+     * @param end      Timestamp of the end of the period, exclusive.
+     * @param mapper   builds the returned objects.
+     * @param <T>      type of the returned objects.
+     * @return List of the objects for the readings. List may be empty if no readings are found.
+     */
+    synchronized <T> List<T> findBySensorIdBetween(SensorID sensorID, Timestamp start, Timestamp end, RowMapper<T> mapper) {
+        List<T> rows = new ArrayList<>();
+        Series series = seriesBySensor.get(sensorID);
+        if (series != null)
+            series.collectBetween(toEpochNanos(start), toEpochNanos(end), mapper, rows);
+        return rows;
+    }
+
+    /**
+     * Retrieves the number of readings in the store.
+     *
+     * @return the number of readings.
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Finds where the reading with a value ID is stored. An ID created by ValueID.ofReading is looked up among the
+     * readings that the sensors of its hash took at its time; any ID is then looked up in the index of the IDs kept on
+     * the side, whose entries with the fingerprint of the ID are checked against the readings of their series at their
+     * time, so fingerprints shared by different IDs are told apart.
+     *
+     * @param valueID ValueID of the reading.
+     * @return the Location of the reading, or null if there is none.
+     */
+    private Location locate(ValueID valueID) {
+        String identifier = valueID.toString();
+        UUID uuid = parseUUID(identifier);
+        if (uuid != null) {
+            int hash = (int) (uuid.getLeastSignificantBits() >>> ValueID.SEQUENCE_BITS);
+            long sequence = uuid.getLeastSignificantBits() & ValueID.SEQUENCE_MASK;
+            for (Series series : seriesByHash.getOrDefault(hash, List.of())) {
+                Location location = series.locate(uuid.getMostSignificantBits(), null, sequence, NO_SLOT);
+                if (location != null)
+                    return location;
+            }
+        }
+
+        long fingerprint = fingerprint(identifier);
+        for (int slot = valueIDIndex.firstSlot(fingerprint); valueIDIndex.isOccupied(slot); slot = valueIDIndex.nextSlot(slot)) {
+            if (valueIDIndex.fingerprints[slot] != fingerprint)
+                continue;
+
+            Location location = valueIDIndex.series[slot].locate(valueIDIndex.times[slot], identifier, NO_SEQUENCE, slot);
+            if (location != null)
+                return location;
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the value of the numeric column for a reading.
+     *
+     * @param reading Reading to store.
+     * @return the measurement of a single channel numeric reading, NaN otherwise.
+     */
+    private static double numericValue(Reading reading) {
+        if (reading.isNumeric() && reading.getChannelCount() == 1)
+            return reading.getNumericMeasurement();
+        return Double.NaN;
+    }
+
+    /**
+     * Finds how a numeric measurement was written.
+     *
+     * @param value       numeric measurement, NaN if the measurement is not a single number.
+     * @param measurement measurement String.
+     * @return the form of the measurement, OTHER_FORM if the columns cannot reproduce it.
+     */
+    private static byte measurementForm(double value, String measurement) {
+        if (Double.isNaN(value))
+            return OTHER_FORM;
+        if (render(value, SHORTEST_FORM).equals(measurement))
+            return SHORTEST_FORM;
+        if (render(value, DOUBLE_FORM).equals(measurement))
+            return DOUBLE_FORM;
+        return OTHER_FORM;
+    }
+
+    /**
+     * Renders a number as a measurement String.
+     *
+     * @param value numeric measurement.
+     * @param form  SHORTEST_FORM for e.g. "20", DOUBLE_FORM for e.g. "20.0".
+     * @return the measurement String.
+     */
+    private static String render(double value, byte form) {
+        if (form == SHORTEST_FORM && value == Math.rint(value) && Math.abs(value) < 1e15)
+            return Long.toString((long) value);
+        return Double.toString(value);
+    }
+
+    /**
+     * Converts a Timestamp to nanoseconds since the epoch, keeping its sub-millisecond precision.
+     *
+     * @param timestamp Timestamp to convert.
+     * @return nanoseconds since the epoch.
+     * @throws IllegalArgumentException if the timestamp is outside the years 1677 to 2262.
+     */
+    private static long toEpochNanos(Timestamp timestamp) {
+        try {
+            long seconds = Math.floorDiv(timestamp.getTime(), MILLIS_PER_SECOND);
+            return Math.addExact(Math.multiplyExact(seconds, NANOS_PER_SECOND), timestamp.getNanos());
+        } catch (ArithmeticException exception) {
+            throw new IllegalArgumentException("Timestamp out of the supported range: " + timestamp);
+        }
+    }
+
+    /**
+     * Converts nanoseconds since the epoch back to a Timestamp.
+     *
+     * @param epochNanos nanoseconds since the epoch.
+     * @return the Timestamp.
+     */
+    private static Timestamp toTimestamp(long epochNanos) {
+        Timestamp timestamp = new Timestamp(Math.floorDiv(epochNanos, NANOS_PER_SECOND) * MILLIS_PER_SECOND);
+        timestamp.setNanos((int) Math.floorMod(epochNanos, NANOS_PER_SECOND));
+        return timestamp;
+    }
+
+    /**
+     * Parses a String that is the canonical form of a UUID.
+     *
+     * @param identifier value ID String.
+     * @return the UUID, or null if the String is not a UUID in canonical form.
+     */
+    private static UUID parseUUID(String identifier) {
+        if (identifier.length() != 36)
+            return null;
+        try {
+            UUID uuid = UUID.fromString(identifier);
+            return uuid.toString().equals(identifier) ? uuid : null;
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * 64-bit hash of a value ID kept on the side, used by the value ID index.
+     *
+     * @param identifier value ID String.
+     * @return the fingerprint of the value ID.
+     */
+    private static long fingerprint(String identifier) {
+        long hash = 1125899906842597L;
+        for (int i = 0; i < identifier.length(); i++) {
+            hash = 31 * hash + identifier.charAt(i);
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Readings of one sensor, in chunks ordered by time. Every reading of a chunk is taken at or before the first reading
+     * of the next chunk, and readings taken at the same time are kept in insertion order. Every chunk but the last one
+     * is kept compressed.
+     */
+    private final class Series {
+        private final SensorID sensorID;
+
+        /**
+         * Unit of the first reading of the sensor, shared by the readings that have the same unit.
+         */
+        private final String unit;
+
+        /**
+         * Hash of the sensor held by the value IDs created for its readings.
+         */
+        private final int hash;
+
+        private final List<Chunk> chunks;
+
+        private Series(SensorID sensorID, String unit) {
+            this.sensorID = sensorID;
+            this.unit = unit;
+            this.hash = ValueID.sensorHashOf(sensorID);
+            this.chunks = new ArrayList<>();
+        }
+
+        /**
+         * Retrieves the sequence number of a value ID created by ValueID.ofReading for a reading of this sensor at a
+         * time.
+         *
+         * @return the sequence number, or NO_SEQUENCE if the ID was not created for that reading and is kept on the side.
+         */
+        private long sequenceOf(ValueID valueID, long time) {
+            UUID uuid = parseUUID(valueID.toString());
+            if (uuid == null || uuid.getMostSignificantBits() != time
+                    || uuid.getLeastSignificantBits() >>> ValueID.SEQUENCE_BITS != hash)
+                return NO_SEQUENCE;
+            return uuid.getLeastSignificantBits() & ValueID.SEQUENCE_MASK;
+        }
+
+        /**
+         * Inserts a reading after the readings taken at or before its time, splitting a full chunk if the reading does
+         * not go at the end of the series.
+         */
+        private void insert(Row row) {
+            if (chunks.isEmpty())
+                chunks.add(new Chunk(hasEndTime, INITIAL_CHUNK_CAPACITY));
+
+            int chunkIndex = chunkIndexFor(row.time());
+            Chunk chunk = chunks.get(chunkIndex);
+            boolean last = chunkIndex == chunks.size() - 1;
+            if (chunk.size == CHUNK_CAPACITY && last && row.time() >= chunk.lastTime()) {
+                chunk.compress();
+                Chunk next = new Chunk(hasEndTime, INITIAL_CHUNK_CAPACITY);
+                next.insert(0, row);
+                chunks.add(next);
+                return;
+            }
+
+            int position = chunk.decompress().upperBound(row.time(), chunk.size);
+            if (chunk.size == CHUNK_CAPACITY) {
+                Chunk upperHalf = chunk.splitUpperHalf();
+                chunks.add(chunkIndex + 1, upperHalf);
+                if (position > chunk.size) {
+                    upperHalf.insert(position - chunk.size, row);
+                } else {
+                    chunk.insert(position, row);
+                }
+                compressUnlessLast(chunkIndex + 1);
+            } else {
+                chunk.insert(position, row);
+            }
+            compressUnlessLast(chunkIndex);
+        }
+
+        /**
+         * Removes the reading at a position of a chunk, dropping the chunk once it is empty.
+         */
+        private void remove(int chunkIndex, int index) {
+            Chunk chunk = chunks.get(chunkIndex);
+            chunk.decompress();
+            chunk.remove(index);
+            if (chunk.size == 0)
+                chunks.remove(chunkIndex);
+            else
+                compressUnlessLast(chunkIndex);
+        }
+
+        /**
+         * Compresses a chunk that is not the last one of the series, after it was changed.
+         */
+        private void compressUnlessLast(int chunkIndex) {
+            if (chunkIndex < chunks.size() - 1)
+                chunks.get(chunkIndex).compress();
+        }
+
+        /**
+         * Finds the last chunk whose first reading is taken at or before a time, or the first chunk if there is none.
+         */
+        private int chunkIndexFor(long time) {
+            int low = 0;
+            int high = chunks.size() - 1;
+            int found = 0;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (chunks.get(middle).firstTime() <= time) {
+                    found = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return found;
+        }
+
+        /**
+         * Finds a reading among the readings taken at a time: the one whose value ID is kept on the side, or, if that is
+         * null, the one whose value ID has a sequence number. Readings taken at the same time may span the end of one
+         * chunk and the start of the next; chunks without readings at that time are not decompressed.
+         */
+        private Location locate(long time, String sideValueID, long sequence, int slot) {
+            int c = chunkIndexFor(time);
+            while (c > 0 && chunks.get(c - 1).lastTime() >= time)
+                c--;
+
+            for (; c < chunks.size(); c++) {
+                Chunk chunk = chunks.get(c);
+                if (chunk.firstTime() > time)
+                    return null;
+                if (chunk.lastTime() < time)
+                    continue;
+
+                Columns columns = chunk.columns();
+                for (int i = columns.lowerBound(time, chunk.size); i < chunk.size && columns.times[i] == time; i++) {
+                    if (chunk.matches(columns, i, sideValueID, sequence))
+                        return new Location(this, c, i, slot);
+                }
+                if (chunk.lastTime() > time)
+                    return null;
+            }
+            return null;
+        }
+
+        private <T> void collectAll(RowMapper<T> mapper, List<T> rows) {
+            for (Chunk chunk : chunks) {
+                Columns columns = chunk.columns();
+                for (int i = 0; i < chunk.size; i++) {
+                    rows.add(materialize(chunk, columns, i, mapper));
+                }
+            }
+        }
+
+        /**
+         * Collects the readings taken after the start and ending before the end, both exclusive. The scan starts with a
+         * binary search and stops at the first reading taken at or after the end.
+         */
+        private <T> void collectBetween(long start, long end, RowMapper<T> mapper, List<T> rows) {
+            int firstChunk = chunkIndexFor(start);
+            for (int c = firstChunk; c < chunks.size(); c++) {
+                Chunk chunk = chunks.get(c);
+                if (chunk.firstTime() >= end)
+                    return;
+                if (chunk.lastTime() <= start)
+                    continue;
+
+                Columns columns = chunk.columns();
+                int i = c == firstChunk ? columns.upperBound(start, chunk.size) : 0;
+                for (; i < chunk.size; i++) {
+                    if (columns.times[i] >= end)
+                        return;
+                    long rowEnd = hasEndTime ? columns.endTimes[i] : columns.times[i];
+                    if (rowEnd < end)
+                        rows.add(materialize(chunk, columns, i, mapper));
+                }
+            }
+        }
+
+        /**
+         * Builds the domain objects of a reading and hands them to the mapper.
+         */
+        private <T> T materialize(Chunk chunk, Columns columns, int index, RowMapper<T> mapper) {
+            Extras extras = chunk.extras == null ? null : chunk.extras[index];
+
+            String valueID = extras != null && extras.valueID() != null
+                    ? extras.valueID()
+                    : new UUID(columns.times[index], ((long) hash << ValueID.SEQUENCE_BITS) | columns.sequences[index]).toString();
+            String measurement = extras != null && extras.measurement() != null
+                    ? extras.measurement()
+                    : render(columns.values[index], columns.forms[index]);
+            String readingUnit = extras != null && extras.unit() != null ? extras.unit() : unit;
+
+            return mapper.map(
+                    new ValueID(valueID),
+                    sensorID,
+                    new Reading(measurement, readingUnit),
+                    toTimestamp(columns.times[index]),
+                    hasEndTime ? toTimestamp(columns.endTimes[index]) : null);
+        }
+    }
+
+    /**
+     * Readings sorted by time, up to CHUNK_CAPACITY, held either in Columns or compressed into a bit stream.
+     */
+    private static final class Chunk {
+        private final boolean hasEndTime;
+
+        /**
+         * Columns of the readings, null while the chunk is compressed.
+         */
+        private Columns columns;
+
+        /**
+         * Compressed columns of the readings, null while the chunk is decompressed.
+         */
+        private long[] compressed;
+
+        /**
+         * Times of the first and last readings, kept while the chunk is compressed.
+         */
+        private long firstTime;
+        private long lastTime;
+
+        /**
+         * Per reading data the columns cannot reproduce, allocated when the first such reading is added.
+         */
+        private Extras[] extras;
+
+        private int size;
+
+        private Chunk(boolean hasEndTime, int capacity) {
+            this.hasEndTime = hasEndTime;
+            this.columns = new Columns(hasEndTime, capacity);
+        }
+
+        private long firstTime() {
+            return columns == null ? firstTime : columns.times[0];
+        }
+
+        private long lastTime() {
+            return columns == null ? lastTime : columns.times[size - 1];
+        }
+
+        /**
+         * Retrieves the columns of the readings, decoding them into new columns if the chunk is compressed.
+         */
+        private Columns columns() {
+            return columns != null ? columns : ColumnCodec.decode(compressed, size, hasEndTime);
+        }
+
+        /**
+         * Decompresses the chunk so that it can be changed.
+         *
+         * @return the columns of the readings.
+         */
+        private Columns decompress() {
+            if (columns == null) {
+                columns = ColumnCodec.decode(compressed, size, hasEndTime);
+                compressed = null;
+            }
+            return columns;
+        }
+
+        /**
+         * Compresses the chunk once no more readings are expected to go to it.
+         */
+        private void compress() {
+            if (columns == null)
+                return;
+
+            firstTime = columns.times[0];
+            lastTime = columns.times[size - 1];
+            compressed = ColumnCodec.encode(columns, size, hasEndTime);
+            columns = null;
+            if (extras != null)
+                extras = Arrays.copyOf(extras, size);
+        }
+
+        private void insert(int position, Row row) {
+            if (size == columns.times.length)
+                columns.grow();
+            columns.insert(position, row, size);
+
+            if (row.extras() != null && extras == null)
+                extras = new Extras[columns.times.length];
+            if (extras != null) {
+                if (extras.length == size)
+                    extras = Arrays.copyOf(extras, columns.times.length);
+                System.arraycopy(extras, position, extras, position + 1, size - position);
+                extras[position] = row.extras();
+            }
+            size++;
+        }
+
+        private void remove(int position) {
+            columns.remove(position, size);
+            if (extras != null) {
+                System.arraycopy(extras, position + 1, extras, position, size - position - 1);
+                extras[size - 1] = null;
+            }
+            size--;
+        }
+
+        /**
+         * Moves the upper half of the readings of a decompressed chunk to a new chunk.
+         */
+        private Chunk splitUpperHalf() {
+            int half = size / 2;
+            int moved = size - half;
+            Chunk upperHalf = new Chunk(hasEndTime, moved);
+            columns.copyTo(half, upperHalf.columns, moved);
+            if (extras != null) {
+                upperHalf.extras = new Extras[moved];
+                System.arraycopy(extras, half, upperHalf.extras, 0, moved);
+                Arrays.fill(extras, half, size, null);
+            }
+            upperHalf.size = moved;
+            size = half;
+            return upperHalf;
+        }
+
+        /**
+         * Checks whether the reading at a position has a value ID: the one kept on the side if it is not null, or
+         * otherwise a value ID with a sequence number that is not kept on the side.
+         */
+        private boolean matches(Columns columns, int index, String sideValueID, long sequence) {
+            String stored = extras == null || extras[index] == null ? null : extras[index].valueID();
+            if (sideValueID != null)
+                return sideValueID.equals(stored);
+            return stored == null && columns.sequences[index] == sequence;
+        }
+    }
+
+    /**
+     * Primitive columns of the readings of a chunk, growing up to CHUNK_CAPACITY readings.
+     */
+    private static final class Columns {
+        private long[] times;
+        private long[] endTimes;
+        private double[] values;
+        private byte[] forms;
+        private long[] sequences;
+
+        private Columns(boolean hasEndTime, int capacity) {
+            this.times = new long[capacity];
+            this.endTimes = hasEndTime ? new long[capacity] : null;
+            this.values = new double[capacity];
+            this.forms = new byte[capacity];
+            this.sequences = new long[capacity];
+        }
+
+        /**
+         * Doubles the room of the columns, up to CHUNK_CAPACITY readings.
+         */
+        private void grow() {
+            int capacity = Math.min(times.length * 2, CHUNK_CAPACITY);
+            times = Arrays.copyOf(times, capacity);
+            values = Arrays.copyOf(values, capacity);
+            forms = Arrays.copyOf(forms, capacity);
+            sequences = Arrays.copyOf(sequences, capacity);
+            if (endTimes != null)
+                endTimes = Arrays.copyOf(endTimes, capacity);
+        }
+
+        /**
+         * Finds the position of the first reading taken at or after a time.
+         */
+        private int lowerBound(long time, int size) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (times[middle] < time)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            return low;
+        }
+
+        /**
+         * Finds the position after the last reading taken at or before a time.
+         */
+        private int upperBound(long time, int size) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (times[middle] <= time)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            return low;
+        }
+
+        private void insert(int position, Row row, int size) {
+            int moved = size - position;
+            System.arraycopy(times, position, times, position + 1, moved);
+            System.arraycopy(values, position, values, position + 1, moved);
+            System.arraycopy(forms, position, forms, position + 1, moved);
+            System.arraycopy(sequences, position, sequences, position + 1, moved);
+            if (endTimes != null)
+                System.arraycopy(endTimes, position, endTimes, position + 1, moved);
+
+            times[position] = row.time();
+            values[position] = row.value();
+            forms[position] = row.form();
+            sequences[position] = row.sequence();
+            if (endTimes != null)
+                endTimes[position] = row.endTime();
+        }
+
+        private void remove(int position, int size) {
+            int moved = size - position - 1;
+            System.arraycopy(times, position + 1, times, position, moved);
+            System.arraycopy(values, position + 1, values, position, moved);
+            System.arraycopy(forms, position + 1, forms, position, moved);
+            System.arraycopy(sequences, position + 1, sequences, position, moved);
+            if (endTimes != null)
+                System.arraycopy(endTimes, position + 1, endTimes, position, moved);
+        }
+
+        /**
+         * Copies readings from a position to the start of other columns.
+         */
+        private void copyTo(int position, Columns target, int count) {
+            System.arraycopy(times, position, target.times, 0, count);
+            System.arraycopy(values, position, target.values, 0, count);
+            System.arraycopy(forms, position, target.forms, 0, count);
+            System.arraycopy(sequences, position, target.sequences, 0, count);
+            if (endTimes != null)
+                System.arraycopy(endTimes, position, target.endTimes, 0, count);
+        }
+    }
+
+    /**
+     * Compression of the columns of a chunk into a bit stream, and back.
+     * <p>
+     * Times are divided by the largest of a millisecond, a microsecond or a nanosecond that divides all of them, and
+     * written as the change of their delta to the previous time, which is zero for readings taken at a regular interval.
+     * End times are written as the change of the duration of the reading. Measurements are written, if every one of the
+     * chunk is a number with up to MAX_DECIMALS decimals, as the delta of the integer they make once multiplied by a
+     * power of ten, or otherwise as their bits when they differ from the previous ones. Forms are written when they
+     * change, and sequence numbers like times. Deltas are written in a few bits when they are small.
+     */
+    private static final class ColumnCodec {
+
+        /**
+         * Largest number of decimals of the measurements written as integers.
+         */
+        private static final int MAX_DECIMALS = 6;
+
+        /**
+         * Decimals code of measurements written as their bits.
+         */
+        private static final int RAW_VALUES = 7;
+
+        private static final long[] TIME_SCALES = {1_000_000L, 1_000L, 1L};
+        private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6};
+
+        /**
+         * Largest magnitude of a measurement multiplied by a power of ten that is still an exact integer as a double.
+         */
+        private static final double MAX_EXACT_INTEGER = 0x1p53;
+
+        private ColumnCodec() {
+        }
+
+        private static long[] encode(Columns columns, int size, boolean hasEndTime) {
+            BitWriter out = new BitWriter(size);
+
+            int scaleCode = timeScaleCode(columns, size, hasEndTime);
+            long scale = TIME_SCALES[scaleCode];
+            out.write(scaleCode, 2);
+            writeDeltasOfDeltas(out, columns.times, size, scale);
+            if (hasEndTime) {
+                long previousDuration = 0L;
+                for (int i = 0; i < size; i++) {
+                    long duration = columns.endTimes[i] / scale - columns.times[i] / scale;
+                    out.writeSigned(duration - previousDuration);
+                    previousDuration = duration;
+                }
+            }
+
+            int decimals = decimalsOf(columns.values, size);
+            out.write(decimals, 3);
+            if (decimals == RAW_VALUES) {
+                long previousBits = 0L;
+                for (int i = 0; i < size; i++) {
+                    long bits = Double.doubleToRawLongBits(columns.values[i]);
+                    if (i > 0 && bits == previousBits) {
+                        out.write(0L, 1);
+                    } else {
+                        out.write(1L, 1);
+                        out.write(bits, 64);
+                    }
+                    previousBits = bits;
+                }
+            } else {
+                double power = POWERS_OF_TEN[decimals];
+                long previous = 0L;
+                for (int i = 0; i < size; i++) {
+                    long scaled = Math.round(columns.values[i] * power);
+                    out.writeSigned(scaled - previous);
+                    previous = scaled;
+                }
+            }
+
+            byte previousForm = -1;
+            for (int i = 0; i < size; i++) {
+                if (columns.forms[i] == previousForm) {
+                    out.write(0L, 1);
+                } else {
+                    out.write(1L, 1);
+                    out.write(columns.forms[i], 2);
+                }
+                previousForm = columns.forms[i];
+            }
+
+            writeDeltasOfDeltas(out, columns.sequences, size, 1L);
+            return out.toArray();
+        }
+
+        private static Columns decode(long[] compressed, int size, boolean hasEndTime) {
+            BitReader in = new BitReader(compressed);
+            Columns columns = new Columns(hasEndTime, size);
+
+            long scale = TIME_SCALES[(int) in.read(2)];
+            readDeltasOfDeltas(in, columns.times, size, scale);
+            if (hasEndTime) {
+                long duration = 0L;
+                for (int i = 0; i < size; i++) {
+                    duration += in.readSigned();
+                    columns.endTimes[i] = columns.times[i] + duration * scale;
+                }
+            }
+
+            int decimals = (int) in.read(3);
+            if (decimals == RAW_VALUES) {
+                long bits = 0L;
+                for (int i = 0; i < size; i++) {
+                    if (in.read(1) == 1L)
+                        bits = in.read(64);
+                    columns.values[i] = Double.longBitsToDouble(bits);
+                }
+            } else {
+                double power = POWERS_OF_TEN[decimals];
+                long scaled = 0L;
+                for (int i = 0; i < size; i++) {
+                    scaled += in.readSigned();
+                    columns.values[i] = scaled / power;
+                }
+            }
+
+            byte form = 0;
+            for (int i = 0; i < size; i++) {
+                if (in.read(1) == 1L)
+                    form = (byte) in.read(2);
+                columns.forms[i] = form;
+            }
+
+            readDeltasOfDeltas(in, columns.sequences, size, 1L);
+            return columns;
+        }
+
+        /**
+         * Writes numbers divided by a scale as the changes of their deltas, the first one against zero.
+         */
+        private static void writeDeltasOfDeltas(BitWriter out, long[] numbers, int size, long scale) {
+            long previous = 0L;
+            long previousDelta = 0L;
+            for (int i = 0; i < size; i++) {
+                long scaled = numbers[i] / scale;
+                long delta = scaled - previous;
+                out.writeSigned(delta - previousDelta);
+                previous = scaled;
+                previousDelta = delta;
+            }
+        }
+
+        private static void readDeltasOfDeltas(BitReader in, long[] numbers, int size, long scale) {
+            long previous = 0L;
+            long delta = 0L;
+            for (int i = 0; i < size; i++) {
+                delta += in.readSigned();
+                previous += delta;
+                numbers[i] = previous * scale;
+            }
+        }
+
+        /**
+         * Finds the largest time unit that divides every time and end time of the columns.
+         *
+         * @return the index of the unit in TIME_SCALES.
+         */
+        private static int timeScaleCode(Columns columns, int size, boolean hasEndTime) {
+            for (int code = 0; code < TIME_SCALES.length - 1; code++) {
+                if (divides(TIME_SCALES[code], columns.times, size)
+                        && (!hasEndTime || divides(TIME_SCALES[code], columns.endTimes, size)))
+                    return code;
+            }
+            return TIME_SCALES.length - 1;
+        }
+
+        private static boolean divides(long scale, long[] numbers, int size) {
+            for (int i = 0; i < size; i++) {
+                if (numbers[i] % scale != 0)
+                    return false;
+            }
+            return true;
+        }
+
+        /**
+         * Finds the fewest decimals every measurement of the columns is written with exactly.
+         *
+         * @return the number of decimals, or RAW_VALUES if a measurement has more than MAX_DECIMALS or is not a number.
+         */
+        private static int decimalsOf(double[] values, int size) {
+            for (int decimals = 0; decimals <= MAX_DECIMALS; decimals++) {
+                double power = POWERS_OF_TEN[decimals];
+                boolean exact = true;
+                for (int i = 0; i < size && exact; i++) {
+                    double multiplied = values[i] * power;
+                    exact = Math.abs(multiplied) < MAX_EXACT_INTEGER
+                            && Double.doubleToRawLongBits(Math.round(multiplied) / power) == Double.doubleToRawLongBits(values[i]);
+                }
+                if (exact)
+                    return decimals;
+            }
+            return RAW_VALUES;
+        }
+    }
+
+    /**
+     * Writes numbers of up to 64 bits one after another into an array of longs, most significant bit first.
+     */
+    private static final class BitWriter {
+        private long[] words;
+        private int position;
+
+        private BitWriter(int expectedNumbers) {
+            this.words = new long[Math.max(1, expectedNumbers / 4)];
+        }
+
+        /**
+         * Writes the lowest bits of a number.
+         */
+        private void write(long value, int bits) {
+            if (bits < 64)
+                value &= (1L << bits) - 1;
+            if (((position + bits - 1) >>> 6) >= words.length)
+                words = Arrays.copyOf(words, words.length * 2 + 1);
+
+            int word = position >>> 6;
+            int free = 64 - (position & 63);
+            if (bits <= free) {
+                words[word] |= value << (free - bits);
+            } else {
+                int overflow = bits - free;
+                words[word] |= value >>> overflow;
+                words[word + 1] |= value << (64 - overflow);
+            }
+            position += bits;
+        }
+
+        /**
+         * Writes a signed number zigzag encoded behind a prefix telling its length: one bit for zero, and 10, 19, 36 or
+         * 68 bits for numbers of up to 8, 16, 32 or 64 bits.
+         */
+        private void writeSigned(long value) {
+            long zigzag = (value << 1) ^ (value >> 63);
+            if (zigzag == 0) {
+                write(0b0L, 1);
+            } else if (zigzag >>> 8 == 0) {
+                write(0b10L, 2);
+                write(zigzag, 8);
+            } else if (zigzag >>> 16 == 0) {
+                write(0b110L, 3);
+                write(zigzag, 16);
+            } else if (zigzag >>> 32 == 0) {
+                write(0b1110L, 4);
+                write(zigzag, 32);
+            } else {
+                write(0b1111L, 4);
+                write(zigzag, 64);
+            }
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(words, (position + 63) >>> 6);
+        }
+    }
+
+    /**
+     * Reads the numbers written by a BitWriter.
+     */
+    private static final class BitReader {
+        private final long[] words;
+        private int position;
+
+        private BitReader(long[] words) {
+            this.words = words;
+        }
+
+        private long read(int bits) {
+            int word = position >>> 6;
+            int free = 64 - (position & 63);
+            long value;
+            if (bits <= free) {
+                value = words[word] >>> (free - bits);
+            } else {
+                int overflow = bits - free;
+                value = (words[word] << overflow) | (words[word + 1] >>> (64 - overflow));
+            }
+            position += bits;
+            return bits == 64 ? value : value & ((1L << bits) - 1);
+        }
+
+        private long readSigned() {
+            int bits;
+            if (read(1) == 0L)
+                return 0L;
+            else if (read(1) == 0L)
+                bits = 8;
+            else if (read(1) == 0L)
+                bits = 16;
+            else if (read(1) == 0L)
+                bits = 32;
+            else
+                bits = 64;
+            long zigzag = read(bits);
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+    }
+
+    /**
+     * Where a reading is stored: its series, the position of its chunk in the series, its position in the chunk, and
+     * its slot in the value ID index, NO_SLOT if its value ID is not kept on the side.
+     */
+    private record Location(Series series, int chunkIndex, int index, int slot) {
+    }
+
+    /**
+     * A reading encoded for the columns.
+     */
+    private record Row(long time, long endTime, double value, byte form, long sequence, Extras extras) {
+    }
+
+    /**
+     * Data of a reading the columns cannot reproduce; null fields are read from the columns.
+     */
+    private record Extras(String valueID, String measurement, String unit) {
+
+        /**
+         * Retrieves what the columns cannot reproduce of a reading.
+         *
+         * @return the Extras of the reading, or null if the columns reproduce it exactly.
+         */
+        private static Extras of(String sideValueID, Reading reading, byte form, String seriesUnit) {
+            String measurement = form == OTHER_FORM ? reading.getMeasurement() : null;
+            String unit = seriesUnit.equals(reading.getUnit()) ? null : reading.getUnit();
+
+            if (sideValueID == null && measurement == null && unit == null)
+                return null;
+            return new Extras(sideValueID, measurement, unit);
+        }
+    }
+
+    /**
+     * Open addressing hash index of the value IDs kept on the side, with the series and time of the reading of each ID,
+     * in parallel arrays. Fingerprints are 64-bit hashes, so entries with the fingerprint of an ID are candidates to
+     * check against the readings, not matches. Removed entries are filled by shifting back the entries after them, so
+     * lookups never walk over deleted slots.
+     */
+    private static final class ValueIDIndex {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private long[] fingerprints;
+        private long[] times;
+
+        /**
+         * Series of the reading of each slot, null for an empty slot.
+         */
+        private Series[] series;
+
+        private int size;
+
+        private ValueIDIndex() {
+            allocate(INITIAL_CAPACITY);
+        }
+
+        private void allocate(int capacity) {
+            this.fingerprints = new long[capacity];
+            this.times = new long[capacity];
+            this.series = new Series[capacity];
+        }
+
+        private int firstSlot(long fingerprint) {
+            return (int) (fingerprint ^ (fingerprint >>> 32)) & (series.length - 1);
+        }
+
+        private int nextSlot(int slot) {
+            return (slot + 1) & (series.length - 1);
+        }
+
+        private boolean isOccupied(int slot) {
+            return series[slot] != null;
+        }
+
+        /**
+         * Adds the entry of a reading, doubling the table once it is three quarters full.
+         */
+        private void put(long fingerprint, Series readingSeries, long time) {
+            if ((size + 1) * 4L > series.length * 3L)
+                resize(series.length * 2);
+
+            int slot = firstSlot(fingerprint);
+            while (isOccupied(slot))
+                slot = nextSlot(slot);
+            fingerprints[slot] = fingerprint;
+            times[slot] = time;
+            series[slot] = readingSeries;
+            size++;
+        }
+
+        /**
+         * Removes the entry of a slot and shifts back the entries of its probe sequence that would no longer be found.
+         */
+        private void remove(int slot) {
+            int empty = slot;
+            int next = nextSlot(slot);
+            while (isOccupied(next)) {
+                int home = firstSlot(fingerprints[next]);
+                boolean reachableWithoutEmpty = empty <= next
+                        ? empty < home && home <= next
+                        : empty < home || home <= next;
+                if (!reachableWithoutEmpty) {
+                    fingerprints[empty] = fingerprints[next];
+                    times[empty] = times[next];
+                    series[empty] = series[next];
+                    empty = next;
+                }
+                next = nextSlot(next);
+            }
+            series[empty] = null;
+            size--;
+        }
+
+        private void resize(int capacity) {
+            long[] oldFingerprints = fingerprints;
+            long[] oldTimes = times;
+            Series[] oldSeries = series;
+            allocate(capacity);
+            size = 0;
+            for (int slot = 0; slot < oldSeries.length; slot++) {
+                if (oldSeries[slot] != null)
+                    put(oldFingerprints[slot], oldSeries[slot], oldTimes[slot]);
+            }
+        }
+    }
+}
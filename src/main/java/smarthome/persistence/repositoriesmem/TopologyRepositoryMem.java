@@ -0,0 +1,99 @@
+package smarthome.persistence.repositoriesmem;
+
+import smarthome.domain.actuators.Actuator;
+import smarthome.domain.device.Device;
+import smarthome.domain.repository.ActuatorRepository;
+import smarthome.domain.repository.DeviceRepository;
+import smarthome.domain.repository.SensorRepository;
+import smarthome.domain.repository.TopologyRepository;
+import smarthome.domain.sensor.Sensor;
+import smarthome.domain.valueobjects.ActuatorFunctionalityID;
+import smarthome.domain.valueobjects.DeviceID;
+import smarthome.domain.valueobjects.RoomID;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Topology projection joined in memory from the device, sensor and actuator repositories, reading each of them once.
+ */
+public class TopologyRepositoryMem implements TopologyRepository {
+
+    /**
+     * Repository the devices are read from.
+     */
+    private final DeviceRepository deviceRepository;
+
+    /**
+     * Repository the sensors are read from.
+     */
+    private final SensorRepository sensorRepository;
+
+    /**
+     * Repository the actuators are read from.
+     */
+    private final ActuatorRepository actuatorRepository;
+
+    /**
+     * Constructor for TopologyRepositoryMem object.
+     *
+     * @param deviceRepository   Repository the devices are read from.
+     * @param sensorRepository   Repository the sensors are read from.
+     * @param actuatorRepository Repository the actuators are read from.
+     */
+    public TopologyRepositoryMem(DeviceRepository deviceRepository, SensorRepository sensorRepository,
+                                 ActuatorRepository actuatorRepository) {
+        this.deviceRepository = deviceRepository;
+        this.sensorRepository = sensorRepository;
+        this.actuatorRepository = actuatorRepository;
+    }
+
+    /**
+     * Finds the location of the functionality of every sensor and actuator that belongs to an existing device.
+     *
+     * @return the location of each sensor and actuator.
+     */
+    @Override
+    public Iterable<FunctionalityLocation> findFunctionalityLocations() {
+        Map<DeviceID, RoomID> roomOfDevice = new HashMap<>();
+        for (Device device : deviceRepository.findAllEntities())
+            roomOfDevice.put(device.identity(), device.getRoomID());
+
+        List<FunctionalityLocation> locations = new ArrayList<>();
+        for (Sensor sensor : sensorRepository.findAllEntities()) {
+            RoomID roomID = roomOfDevice.get(sensor.getDeviceID());
+            if (roomID != null)
+                locations.add(new FunctionalityLocation(sensor.getSensorFunctionalityID(), roomID, sensor.getDeviceID()));
+        }
+        for (Actuator actuator : actuatorRepository.findAllEntities()) {
+            RoomID roomID = roomOfDevice.get(actuator.getDeviceName());
+            if (roomID != null)
+                locations.add(new FunctionalityLocation(actuator.getActuatorFunctionalityID(), roomID, actuator.getDeviceName()));
+        }
+        return locations;
+    }
+
+    /**
+     * Finds every actuator of a functionality that belongs to an existing device, reading the actuators of the
+     * functionality and the devices once each.
+     *
+     * @param actuatorFunctionalityID the functionality of the actuators.
+     * @return the actuators of the functionality, each with the status and room of its device.
+     */
+    @Override
+    public Iterable<ActuatorTarget> findActuatorTargets(ActuatorFunctionalityID actuatorFunctionalityID) {
+        Map<DeviceID, Device> devices = new HashMap<>();
+        for (Device device : deviceRepository.findAllEntities())
+            devices.put(device.identity(), device);
+
+        List<ActuatorTarget> targets = new ArrayList<>();
+        for (Actuator actuator : actuatorRepository.findByActuatorFunctionalityID(actuatorFunctionalityID)) {
+            Device device = devices.get(actuator.getDeviceName());
+            if (device != null)
+                targets.add(new ActuatorTarget(actuator, device.getDeviceStatus(), device.getRoomID()));
+        }
+        return targets;
+    }
+}
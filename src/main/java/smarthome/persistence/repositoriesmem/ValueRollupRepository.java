@@ -0,0 +1,42 @@
+package smarthome.persistence.repositoriesmem;
+
+import smarthome.domain.valueobjects.RollupResolution;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueRollup;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Represents the ValueRollupRepository interface for persistence of the rolled up readings of the sensors.
+ */
+public interface ValueRollupRepository {
+
+    /**
+     * Method to merge a batch of rollups into the stored ones. Rollups of a bucket that is not stored yet are added,
+     * and rollups of a stored bucket are merged with it.
+     * @param rollups List of ValueRollup objects, at most one per bucket.
+     */
+    void mergeAll(List<ValueRollup> rollups);
+
+    /**
+     * Method to store the rollups of a sensor that has none yet, such as one whose readings were stored before rollups
+     * were kept. Each sensor is backfilled once: it is recorded as backfilled even if its readings produce no rollup,
+     * and the rollups are only computed if it was not backfilled before and has none.
+     * @param sensorID SensorID object of the sensor.
+     * @param rollups  supplies the rollups of every stored reading of the sensor.
+     * @return true if the rollups were computed and stored, false otherwise.
+     */
+    boolean backfill(SensorID sensorID, Supplier<List<ValueRollup>> rollups);
+
+    /**
+     * Method to find the rollups of a sensor at a resolution whose bucket overlaps a period, ordered by bucket start.
+     * @param sensorID   SensorID object that the rollups belong to.
+     * @param resolution RollupResolution of the rollups.
+     * @param start      Timestamp object that represents the start of the period.
+     * @param end        Timestamp object that represents the end of the period.
+     * @return List of ValueRollup objects. List may be empty if no rollups are found.
+     */
+    List<ValueRollup> findBySensorIdBetweenPeriodOfTime(SensorID sensorID, RollupResolution resolution, Timestamp start, Timestamp end);
+}
@@ -0,0 +1,84 @@
+package smarthome.persistence.repositoriesmem;
+
+import smarthome.domain.valueobjects.RollupResolution;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueRollup;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Represents the ValueRollupRepositoryMem class for persistence in memory.
+ * Rollups are kept per sensor and resolution, sorted by the start of their bucket.
+ */
+public class ValueRollupRepositoryMem implements ValueRollupRepository {
+
+    /**
+     * Rollups of each sensor and resolution, by bucket start in epoch milliseconds.
+     */
+    private final Map<SensorID, Map<RollupResolution, NavigableMap<Long, ValueRollup>>> rollupsBySensor = new HashMap<>();
+
+    /**
+     * Sensors whose rollups were backfilled.
+     */
+    private final Set<SensorID> backfilledSensors = new HashSet<>();
+
+    /**
+     * Method to merge a batch of rollups into the stored ones.
+     * @param rollups List of ValueRollup objects, at most one per bucket.
+     */
+    @Override
+    public synchronized void mergeAll(List<ValueRollup> rollups) {
+        for (ValueRollup rollup : rollups) {
+            rollupsBySensor
+                    .computeIfAbsent(rollup.getSensorID(), id -> new EnumMap<>(RollupResolution.class))
+                    .computeIfAbsent(rollup.getResolution(), resolution -> new TreeMap<>())
+                    .merge(rollup.getBucketStart().getTime(), rollup, ValueRollup::merge);
+        }
+    }
+
+    /**
+     * Method to store the rollups of a sensor that was not backfilled yet and has no rollups, recording it as backfilled.
+     * @param sensorID SensorID object of the sensor.
+     * @param rollups  supplies the rollups of every stored reading of the sensor.
+     * @return true if the rollups were computed and stored, false otherwise.
+     */
+    @Override
+    public synchronized boolean backfill(SensorID sensorID, Supplier<List<ValueRollup>> rollups) {
+        if (!backfilledSensors.add(sensorID) || rollupsBySensor.containsKey(sensorID))
+            return false;
+
+        mergeAll(rollups.get());
+        return true;
+    }
+
+    /**
+     * Method to find the rollups of a sensor at a resolution whose bucket overlaps a period, ordered by bucket start.
+     * @param sensorID   SensorID object that the rollups belong to.
+     * @param resolution RollupResolution of the rollups.
+     * @param start      Timestamp object that represents the start of the period.
+     * @param end        Timestamp object that represents the end of the period.
+     * @return List of ValueRollup objects. List may be empty if no rollups are found.
+     */
+    @Override
+    public synchronized List<ValueRollup> findBySensorIdBetweenPeriodOfTime(SensorID sensorID, RollupResolution resolution,
+                                                                           Timestamp start, Timestamp end) {
+        NavigableMap<Long, ValueRollup> rollups = rollupsBySensor
+                .getOrDefault(sensorID, Map.of())
+                .get(resolution);
+        if (rollups == null || end.before(start))
+            return new ArrayList<>();
+
+        long firstBucket = resolution.bucketStartOf(start).getTime();
+        return new ArrayList<>(rollups.subMap(firstBucket, true, end.getTime(), false).values());
+    }
+}
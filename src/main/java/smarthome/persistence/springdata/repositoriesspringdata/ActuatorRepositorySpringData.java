@@ -1,8 +1,12 @@
 package smarthome.persistence.springdata.repositoriesspringdata;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import smarthome.persistence.jpa.datamodel.ActuatorDataModel;
 
+import java.util.List;
+
 /**
  * ActuatorRepositorySpringData interface for managing Actuator entities in the database.
  */
@@ -33,4 +37,15 @@ public interface ActuatorRepositorySpringData extends JpaRepository<ActuatorData
      */
     Iterable <ActuatorDataModel> findByDeviceIDAndActuatorFunctionalityID(String deviceID, String actuatorFunctionalityID);
 
+    /**
+     * Finds, in a single query, every ActuatorDataModel entity with the specified ActuatorFunctionalityID along with
+     * the status and room of its device. Actuators of devices that do not exist are left out.
+     *
+     * @param actuatorFunctionalityID The ActuatorFunctionalityID to search for.
+     * @return a row per actuator, each holding the ActuatorDataModel, the device status and the room ID.
+     */
+    @Query("SELECT a, d.deviceStatus, d.roomID FROM ActuatorDataModel a "
+            + "JOIN DeviceDataModel d ON d.deviceID = a.deviceID "
+            + "WHERE a.actuatorFunctionalityID = :actuatorFunctionalityID")
+    List<Object[]> findTargetsByActuatorFunctionalityID(@Param("actuatorFunctionalityID") String actuatorFunctionalityID);
 }
@@ -0,0 +1,7 @@
+package smarthome.persistence.springdata.repositoriesspringdata;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import smarthome.persistence.jpa.datamodel.ActuatorStateDataModel;
+
+public interface ActuatorStateRepositorySpringData extends JpaRepository<ActuatorStateDataModel, String> {
+}
@@ -0,0 +1,67 @@
+package smarthome.persistence.springdata.repositoriesspringdata;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import smarthome.domain.valueobjects.ActuatorState;
+import smarthome.persistence.jpa.datamodel.ActuatorStateDataModel;
+import smarthome.persistence.repositoriesmem.ActuatorStateRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the ActuatorStateRepository interface using Spring Data JPA.
+ */
+@Repository
+@Profile("!test")
+public class ActuatorStateRepositorySpringDataImp implements ActuatorStateRepository {
+    /**
+     * The repository for accessing ActuatorState data managed by Spring Data.
+     */
+    ActuatorStateRepositorySpringData repositorySpringData;
+
+    /**
+     * Constructs a new ActuatorStateRepositorySpringDataImp with the specified ActuatorStateRepositorySpringData.
+     *
+     * @param repositorySpringData The Spring Data repository for ActuatorState entities.
+     */
+    public ActuatorStateRepositorySpringDataImp(ActuatorStateRepositorySpringData repositorySpringData) {
+        this.repositorySpringData = repositorySpringData;
+    }
+
+    /**
+     * Stores a batch of actuator states in a single transaction.
+     * The stored states of the batch are loaded with one query; missing states are inserted and the others updated,
+     * grouped into JDBC batches according to the configured Hibernate batch size.
+     *
+     * @param states List of ActuatorState objects, at most one per actuator.
+     */
+    @Override
+    @Transactional
+    public void saveAll(List<ActuatorState> states) {
+        List<String> actuatorIDs = new ArrayList<>();
+        for (ActuatorState state : states) {
+            actuatorIDs.add(state.getActuatorID().toString());
+        }
+
+        Map<String, ActuatorStateDataModel> storedDataModels = new HashMap<>();
+        for (ActuatorStateDataModel dataModel : repositorySpringData.findAllById(actuatorIDs)) {
+            storedDataModels.put(dataModel.getActuatorID(), dataModel);
+        }
+
+        List<ActuatorStateDataModel> dataModels = new ArrayList<>();
+        for (ActuatorState state : states) {
+            ActuatorStateDataModel dataModel = storedDataModels.get(state.getActuatorID().toString());
+            if (dataModel == null) {
+                dataModel = new ActuatorStateDataModel(state);
+            } else {
+                dataModel.updateFromDomain(state);
+            }
+            dataModels.add(dataModel);
+        }
+        repositorySpringData.saveAllAndFlush(dataModels);
+    }
+}
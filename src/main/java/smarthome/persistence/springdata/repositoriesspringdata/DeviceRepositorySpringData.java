@@ -1,8 +1,12 @@
 package smarthome.persistence.springdata.repositoriesspringdata;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import smarthome.persistence.jpa.datamodel.DeviceDataModel;
 
+import java.util.List;
+
 public interface DeviceRepositorySpringData extends JpaRepository<DeviceDataModel, String> {
     /**
      * Method that finds all Device entities in a specified roomID using the JPARepository.
@@ -11,4 +15,30 @@ public interface DeviceRepositorySpringData extends JpaRepository<DeviceDataMode
      * @return an Iterable containing all devices found for that roomID.
      */
     Iterable<DeviceDataModel> findAllByRoomID(String roomID);
+
+    /**
+     * Method that finds, in a single query, the functionality of every sensor and actuator along with the device it
+     * belongs to and the room of that device. Sensors and actuators of devices that do not exist are left out.
+     *
+     * @return a row per sensor and per actuator, each holding "SENSOR" or "ACTUATOR", the
+     * functionality ID, the room ID and the device ID.
+     */
+    @Query("SELECT 'SENSOR', s.sensorFunctionalityID, d.roomID, d.deviceID FROM SensorDataModel s "
+            + "JOIN DeviceDataModel d ON d.deviceID = s.deviceID "
+            + "UNION ALL "
+            + "SELECT 'ACTUATOR', a.actuatorFunctionalityID, d.roomID, d.deviceID FROM ActuatorDataModel a "
+            + "JOIN DeviceDataModel d ON d.deviceID = a.deviceID")
+    List<Object[]> findFunctionalityLocations();
+
+    /**
+     * Method that finds, in a single query, the columns of every device in a room of a specified house, joining the
+     * devices to their rooms.
+     *
+     * @param houseID The house ID to search for.
+     * @return a row per device, each holding the device ID, the device model, the device status and the room ID.
+     */
+    @Query("SELECT d.deviceID, d.deviceModel, d.deviceStatus, d.roomID FROM DeviceDataModel d "
+            + "JOIN RoomDataModel r ON r.roomID = d.roomID "
+            + "WHERE r.houseID = :houseID")
+    List<Object[]> findDeviceSummariesByHouseID(@Param("houseID") String houseID);
 }
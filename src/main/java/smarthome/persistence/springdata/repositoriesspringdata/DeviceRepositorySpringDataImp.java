@@ -6,12 +6,18 @@ import smarthome.domain.device.Device;
 import smarthome.domain.device.FactoryDevice;
 import smarthome.domain.repository.DeviceRepository;
 import smarthome.domain.valueobjects.DeviceID;
+import smarthome.domain.valueobjects.DeviceModel;
+import smarthome.domain.valueobjects.DeviceStatus;
+import smarthome.domain.valueobjects.HouseID;
 import smarthome.domain.valueobjects.RoomID;
 import smarthome.persistence.jpa.datamodel.DeviceDataModel;
 import smarthome.persistence.jpa.datamodel.MapperDeviceDataModel;
+import smarthome.util.OptimisticRetry;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 /**
  * The DeviceRepositorySpringData class represents a repository for managing Device entities using Spring Data.
@@ -31,11 +37,6 @@ public class DeviceRepositorySpringDataImp implements DeviceRepository {
      */
     FactoryDevice factoryDevice;
 
-    /**
-     * The Device Data Model used for updating the Device.
-     */
-    DeviceDataModel deviceDataModelUpdated;
-
     /**
      * Mapper Device Data Model instance for managing persistence operations.
      */
@@ -71,44 +72,28 @@ public class DeviceRepositorySpringDataImp implements DeviceRepository {
     }
 
     /**
-     * Updates a Device entity.
-     *
-     * @param device The Device entity to be updated.
-     * @return The updated Device entity if successful, null otherwise.
-     */
-    @Override
-    public Device update(Device device) {
-        Optional<DeviceDataModel> optDeviceDataModelExisting = deviceRepositorySpringData.findById(device.identity().toString());
-        if (optDeviceDataModelExisting.isPresent()) {
-            var deviceDataModelExisting = optDeviceDataModelExisting.get();
-            boolean isUpdated = deviceDataModelExisting.updatedFromDomain(device);
-
-            if (isUpdated) {
-                this.deviceRepositorySpringData.save(deviceDataModelExisting);
-                return device;
-            } else
-                return null;
-        } else
-            return null;
-    }
-
-    /**
-     * Updates a reserved a Device entity.
+     * Applies a change to the stored Device entity and writes it back only if its version is still the one read.
+     * Each attempt reads the row, applies the change and saves it; a save that finds a newer version fails, and the
+     * attempt runs again on the new row, a bounded number of times.
      *
-     * @param device The Device entity to be updated.
-     * @return The updated Device entity if successful, null otherwise.
+     * @param deviceID The identity of the Device entity to update.
+     * @param change   The change to apply to the current Device entity.
+     * @return An Optional containing the updated Device entity, or empty if not found or left as is.
      */
     @Override
-    public Device updateReserved(Device device) {
-        if (deviceDataModelUpdated != null) {
-            boolean isUpdated = deviceDataModelUpdated.updatedFromDomain(device);
-            if (isUpdated) {
-                this.deviceRepositorySpringData.save(deviceDataModelUpdated);
-                return device;
-            } else
-                return null;
-        } else
-            return null;
+    public Optional<Device> update(DeviceID deviceID, UnaryOperator<Device> change) {
+        return OptimisticRetry.retryOnConflict(() -> {
+            Optional<DeviceDataModel> deviceDataModel = deviceRepositorySpringData.findById(deviceID.toString());
+            if (deviceDataModel.isEmpty())
+                return Optional.empty();
+
+            Device changedDevice = change.apply(mapperDeviceDataModel.toDomain(factoryDevice, deviceDataModel.get()));
+            if (changedDevice == null || !deviceDataModel.get().updatedFromDomain(changedDevice))
+                return Optional.empty();
+
+            deviceRepositorySpringData.saveAndFlush(deviceDataModel.get());
+            return Optional.of(changedDevice);
+        });
     }
 
     /**
@@ -140,24 +125,6 @@ public class DeviceRepositorySpringDataImp implements DeviceRepository {
             return Optional.empty();
     }
 
-    /**
-     * Retrieves a reserved Device entity by its ID from the repository.
-     *
-     * @param deviceID The identity of the Device entity.
-     * @return An Optional containing the Device entity if found, otherwise an empty Optional.
-     */
-    @Override
-    public Optional<Device> findEntityByIDAndReserve(DeviceID deviceID) {
-        Optional<DeviceDataModel> optionalDeviceDataModel = this.deviceRepositorySpringData.findById(deviceID.toString());
-
-        if (optionalDeviceDataModel.isPresent()) {
-            Device deviceDomain = mapperDeviceDataModel.toDomain(factoryDevice, optionalDeviceDataModel.get());
-            this.deviceDataModelUpdated = optionalDeviceDataModel.get();
-            return Optional.of(deviceDomain);
-        } else
-            return Optional.empty();
-    }
-
     /**
      * Checks if a Device entity exists based on its identity.
      *
@@ -180,4 +147,21 @@ public class DeviceRepositorySpringDataImp implements DeviceRepository {
         Iterable<DeviceDataModel> deviceDataModelList = deviceRepositorySpringData.findAllByRoomID(roomID.toString());
         return mapperDeviceDataModel.toDomainList(factoryDevice, deviceDataModelList);
     }
-}
\ No newline at end of file
+
+    /**
+     * Finds the summary of every device in the rooms of a specified house ID, in a single query that joins the devices
+     * to their rooms and maps the columns without building the Device aggregates.
+     *
+     * @param houseID The house ID to search for.
+     * @return An Iterable containing the summary of each device in the house.
+     */
+    @Override
+    public Iterable<DeviceSummary> findDeviceSummariesByHouseID(HouseID houseID) {
+        List<Object[]> rows = deviceRepositorySpringData.findDeviceSummariesByHouseID(houseID.toString());
+        List<DeviceSummary> summaries = new ArrayList<>(rows.size());
+        for (Object[] row : rows)
+            summaries.add(new DeviceSummary(new DeviceID((String) row[0]), new DeviceModel((String) row[1]),
+                    DeviceStatus.valueOf((String) row[2]), new RoomID((String) row[3])));
+        return summaries;
+    }
+}
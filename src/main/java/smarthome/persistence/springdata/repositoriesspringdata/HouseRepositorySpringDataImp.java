@@ -8,10 +8,12 @@ import smarthome.domain.repository.HouseRepository;
 import smarthome.domain.valueobjects.HouseID;
 import smarthome.persistence.jpa.datamodel.HouseDataModel;
 import smarthome.persistence.jpa.datamodel.MapperHouseDataModel;
+import smarthome.util.OptimisticRetry;
 import smarthome.util.exceptions.SingleHouseViolationException;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 /**
  * The ImpHouseRepositorySpringData class is a repository for House entities that uses Spring Data.
@@ -31,11 +33,6 @@ public class HouseRepositorySpringDataImp implements HouseRepository
      */
     FactoryHouse factoryHouse;
 
-    /**
-     * The house data model for update.
-     */
-    HouseDataModel houseDataModelForUpdate;
-
     /**
      * Mapper House Data Model instance for managing persistence operations.
      */
@@ -73,47 +70,28 @@ public class HouseRepositorySpringDataImp implements HouseRepository
     }
 
     /**
-     * Updates the specified house.
-     * @param house The house to update.
-     * @return The updated house.
-     */
-    @Override
-    public House update(House house) {
-        Optional<HouseDataModel> houseDataModel = houseRepositorySpringData.findById(house.identity().toString());
-
-        if (houseDataModel.isPresent()) {
-            var houseDataModelExisting = houseDataModel.get();
-            boolean isUpdated = houseDataModelExisting.updateFromDomain(house);
-
-            if (isUpdated) {
-                this.houseRepositorySpringData.save(houseDataModelExisting);
-                return house;
-            } else
-                return null;
-        } else
-            return null;
-    }
-
-    /**
-     * Updates a reserved House entity in the repository.
-     * @param house The house to update.
-     * @return The updated house.
+     * Applies a change to the stored House entity and writes it back only if its version is still the one read.
+     * Each attempt reads the row, applies the change and saves it; a save that finds a newer version fails, and the
+     * attempt runs again on the new row, a bounded number of times.
+     *
+     * @param houseID The identity of the House entity to update.
+     * @param change  The change to apply to the current House entity.
+     * @return An Optional containing the updated House entity, or empty if not found or left as is.
      */
-
     @Override
-    public House updateReserved(House house)
-    {
-        if (houseDataModelForUpdate != null)
-        {
-            boolean isUpdated = houseDataModelForUpdate.updateFromDomain(house);
-
-            if (isUpdated) {
-                this.houseRepositorySpringData.save(houseDataModelForUpdate);
-                return house;
-            } else
-                return null;
-        } else
-            return null;
+    public Optional<House> update(HouseID houseID, UnaryOperator<House> change) {
+        return OptimisticRetry.retryOnConflict(() -> {
+            Optional<HouseDataModel> houseDataModel = houseRepositorySpringData.findById(houseID.toString());
+            if (houseDataModel.isEmpty())
+                return Optional.empty();
+
+            House changedHouse = change.apply(mapperHouseDataModel.toDomain(factoryHouse, houseDataModel.get()));
+            if (changedHouse == null || !houseDataModel.get().updateFromDomain(changedHouse))
+                return Optional.empty();
+
+            houseRepositorySpringData.saveAndFlush(houseDataModel.get());
+            return Optional.of(changedHouse);
+        });
     }
 
     /**
@@ -148,29 +126,6 @@ public class HouseRepositorySpringDataImp implements HouseRepository
         }
     }
 
-    /**
-     * Retrieves a reserved House entity by its ID from the repository.
-     *
-     * @param houseID The ID of the House entity to retrieve.
-     * @return An Optional containing the retrieved House entity, or empty if not found.
-     */
-
-    @Override
-    public Optional<House> findEntityByIDAndReserve(HouseID houseID)
-    {
-        Optional<HouseDataModel> houseDataModelSaved = this.houseRepositorySpringData.findById(houseID.toString());
-
-        if (houseDataModelSaved.isPresent())
-        {
-            House houseDomain = mapperHouseDataModel.toDomain(factoryHouse, houseDataModelSaved.get());
-            this.houseDataModelForUpdate = houseDataModelSaved.get();
-
-            return Optional.of(houseDomain);
-        } else {
-            return Optional.empty();
-        }
-    }
-
     /**
      * Checks if a House entity with a specified ID exists in the repository.
      * @param houseID The ID of the House entity to check for.
@@ -1,18 +1,28 @@
 package smarthome.persistence.springdata.repositoriesspringdata;
 
+import jakarta.persistence.EntityManager;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import smarthome.domain.value.ImpFactoryInstantTimeLocationValue;
+import smarthome.domain.value.InstantTimeLocationValue;
 import smarthome.domain.value.Value;
 import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueCursor;
 import smarthome.domain.valueobjects.ValueID;
 import smarthome.persistence.jpa.datamodel.InstantTimeLocationValueDataModel;
 import smarthome.persistence.jpa.datamodel.MapperInstantTimeLocationValueDataModel;
 import smarthome.persistence.repositoriesmem.InstantTimeLocationValueRepository;
+import smarthome.persistence.repositoriesmem.LatestValueCache;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Implementation of InstantTimeLocationValueRepository using Spring Data.
@@ -36,20 +46,35 @@ public class InstantTimeLocationValueRepositorySpringDataImp implements InstantT
      */
     MapperInstantTimeLocationValueDataModel mapperInstantTimeLocationValueDataModel;
 
+    /**
+     * Persistence context the streamed data models are detached from once mapped, so it does not grow with the stream.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Last value recorded by each sensor, kept up to date by saveAll once its transaction commits, and loaded again
+     * once older than its time to live so that values inserted by other writers are picked up.
+     */
+    private final LatestValueCache latestValueCache;
+
     /**
      * Constructs a new ImpInstantTimeLocationValueRepositorySpringData.
      * @param instantTimeLocationValueRepositorySpringData The Spring Data repository.
      * @param factoryInstantTimeLocationValue The factory for InstantTimeLocationValue.
      * @param mapperInstantTimeLocationValueDataModel The mapper for InstantTimeLocationValueDataModel.
+     * @param entityManager The persistence context the streamed data models are detached from.
      */
     public InstantTimeLocationValueRepositorySpringDataImp(
             InstantTimeLocationValueRepositorySpringData instantTimeLocationValueRepositorySpringData,
             ImpFactoryInstantTimeLocationValue factoryInstantTimeLocationValue,
-            MapperInstantTimeLocationValueDataModel mapperInstantTimeLocationValueDataModel)
+            MapperInstantTimeLocationValueDataModel mapperInstantTimeLocationValueDataModel,
+            EntityManager entityManager)
     {
         this.instantTimeLocationValueRepositorySpringData = instantTimeLocationValueRepositorySpringData;
         this.factoryInstantTimeLocationValue = factoryInstantTimeLocationValue;
         this.mapperInstantTimeLocationValueDataModel = mapperInstantTimeLocationValueDataModel;
+        this.entityManager = entityManager;
+        this.latestValueCache = new LatestValueCache(value -> ((InstantTimeLocationValue) value).getInstantTime(), LatestValueCache.DEFAULT_TIME_TO_LIVE);
     }
 
 
@@ -86,6 +111,49 @@ public class InstantTimeLocationValueRepositorySpringDataImp implements InstantT
                 .toDomainList(factoryInstantTimeLocationValue, listDataModel);
     }
 
+    /**
+     * Finds a page of the values of a Sensor measured between an interval, ordered by time and ValueID and starting
+     * right after the given cursor. The first page starts at the start of the period.
+     *
+     * @param sensorID SensorID object that the value belongs to.
+     * @param start    Timestamp object that represents the start of the period.
+     * @param end      Timestamp object that represents the end of the period.
+     * @param after    ValueCursor of the last value of the previous page, or null for the first page.
+     * @param limit    maximum number of values in the page.
+     * @return A List containing at most limit values with the given sensor ID in the period.
+     */
+    @Override
+    public List<Value> findPageBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end,
+                                                             ValueCursor after, int limit)
+    {
+        Timestamp afterTime = after == null ? start : after.getTime();
+        String afterValueID = after == null ? "" : after.getValueID().toString();
+        List<InstantTimeLocationValueDataModel> listDataModel = this.instantTimeLocationValueRepositorySpringData.findPageBySensorIDAfter(
+                sensorID.toString(), start, end, afterTime, afterValueID, Limit.of(limit));
+
+        return (List<Value>) mapperInstantTimeLocationValueDataModel.toDomainList(factoryInstantTimeLocationValue, listDataModel);
+    }
+
+    /**
+     * Streams the values of a Sensor measured between an interval, ordered by time, reading them from the database a
+     * fetch size at a time. Must be consumed within a transaction.
+     *
+     * @param sensorID SensorID object that the value belongs to.
+     * @param start    Timestamp object that represents the start of the period.
+     * @param end      Timestamp object that represents the end of the period.
+     * @return A Stream of the values with the given sensor ID in the period, to be closed once consumed.
+     */
+    @Override
+    public Stream<Value> streamBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end) {
+        return this.instantTimeLocationValueRepositorySpringData
+                .streamBySensorIDAndInstantTimeBetweenOrderByInstantTimeAsc(sensorID.toString(), start, end)
+                .map(dataModel -> {
+                    Value value = mapperInstantTimeLocationValueDataModel.toDomain(factoryInstantTimeLocationValue, dataModel);
+                    entityManager.detach(dataModel);
+                    return value;
+                });
+    }
+
     /**
      * Finds a value by its ID.
      * @param id The ID of the value.
@@ -136,16 +204,67 @@ public class InstantTimeLocationValueRepositorySpringDataImp implements InstantT
 
     /**
      * Retrieves the last value recorded according to instant time by sensorID.
+     * Served from the latest value cache, so storage is only queried the first time a sensor is looked up and once its
+     * cached value is older than the cache time to live.
      *
      * @param sensorID SensorID object that the value belongs to
      * @return the object value that was last recorded.
      */
     @Override
     public Value findLastValueRecorded(SensorID sensorID) {
+        return latestValueCache.getOrLoad(sensorID, this::queryLastValueRecorded);
+    }
+
+    /**
+     * Queries the storage for the last value recorded according to instant time by sensorID.
+     *
+     * @param sensorID SensorID object that the value belongs to
+     * @return the object value that was last recorded, or null if the sensor has no values.
+     */
+    private Value queryLastValueRecorded(SensorID sensorID) {
         Optional<InstantTimeLocationValueDataModel> optValueDataModel =
                 this.instantTimeLocationValueRepositorySpringData.findFirstBySensorIDOrderByInstantTimeDesc(sensorID.toString());
         InstantTimeLocationValueDataModel valueDataModel = optValueDataModel.orElse(null);
         return mapperInstantTimeLocationValueDataModel.toDomain(factoryInstantTimeLocationValue, valueDataModel);
     }
 
+    /**
+     * Persists a batch of InstantTimeLocationValue entities in a single transaction.
+     * Inserts are grouped into JDBC batches according to the configured Hibernate batch size.
+     * The latest value cache is only updated once the surrounding transaction commits, so a rolled back insert never
+     * reaches the cache.
+     *
+     * @param values List of InstantTimeLocationValue entities to persist.
+     * @return List of the persisted InstantTimeLocationValue entities.
+     */
+    @Override
+    @Transactional
+    public List<Value> saveAll(List<Value> values) {
+        List<InstantTimeLocationValueDataModel> dataModels = new ArrayList<>();
+        for (Value value : values) {
+            dataModels.add(new InstantTimeLocationValueDataModel(value));
+        }
+        this.instantTimeLocationValueRepositorySpringData.saveAllAndFlush(dataModels);
+        offerAfterCommit(values);
+        return values;
+    }
+
+    /**
+     * Offers saved values to the latest value cache once the current transaction commits, or at once if there is none.
+     *
+     * @param values List of saved Value objects.
+     */
+    private void offerAfterCommit(List<Value> values) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            latestValueCache.offerAll(values);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                latestValueCache.offerAll(values);
+            }
+        });
+    }
 }
@@ -1,18 +1,28 @@
 package smarthome.persistence.springdata.repositoriesspringdata;
 
+import jakarta.persistence.EntityManager;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import smarthome.domain.value.ImpFactoryInstantTimeValue;
+import smarthome.domain.value.InstantTimeValue;
 import smarthome.domain.value.Value;
 import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueCursor;
 import smarthome.domain.valueobjects.ValueID;
 import smarthome.persistence.jpa.datamodel.InstantTimeValueDataModel;
 import smarthome.persistence.jpa.datamodel.MapperInstantTimeValueDataModel;
 import smarthome.persistence.repositoriesmem.InstantTimeValueRepository;
+import smarthome.persistence.repositoriesmem.LatestValueCache;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the InstantValueRepository interface using Spring Data JPA.
@@ -35,21 +45,36 @@ public class InstantTimeValueRepositorySpringDataImp implements InstantTimeValue
      */
     MapperInstantTimeValueDataModel mapperInstantTimeValueDataModel;
 
+    /**
+     * Persistence context the streamed data models are detached from once mapped, so it does not grow with the stream.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Last value recorded by each sensor, kept up to date by saveAll once its transaction commits, and loaded again
+     * once older than its time to live so that values inserted by other writers are picked up.
+     */
+    private final LatestValueCache latestValueCache;
+
     /**
      * Constructs a new ImpRepositorySensorSpringData with the specified RepositoryInstantValueSpringData and ImpFactoryInstantTimeValue.
      *
      * @param repositorySpringData The Spring Data repository for InstantTimeValue entities.
      * @param factorySpringData    The factory for creating InstantTimeValue entities.
      * @param mapperInstantTimeValueDataModel The mapper for InstantTimeValueDataModel.
+     * @param entityManager The persistence context the streamed data models are detached from.
      */
     public InstantTimeValueRepositorySpringDataImp(
             InstantTimeValueRepositorySpringData repositorySpringData,
             ImpFactoryInstantTimeValue factorySpringData,
-            MapperInstantTimeValueDataModel mapperInstantTimeValueDataModel
+            MapperInstantTimeValueDataModel mapperInstantTimeValueDataModel,
+            EntityManager entityManager
     ) {
         this.repositorySpringData = repositorySpringData;
         this.factorySpringData = factorySpringData;
         this.mapperInstantTimeValueDataModel = mapperInstantTimeValueDataModel;
+        this.entityManager = entityManager;
+        this.latestValueCache = new LatestValueCache(value -> ((InstantTimeValue) value).getInstantTimeReading(), LatestValueCache.DEFAULT_TIME_TO_LIVE);
     }
 
     /**
@@ -123,17 +148,111 @@ public class InstantTimeValueRepositorySpringDataImp implements InstantTimeValue
         return (List<Value>) mapperInstantTimeValueDataModel.toDomainList(factorySpringData, listInstantTimeDataModel);
     }
 
+    /**
+     * Finds a page of the values of a Sensor measured between an interval, ordered by time and ValueID and starting
+     * right after the given cursor. The first page starts at the start of the period.
+     *
+     * @param sensorID SensorID object that the value belongs to.
+     * @param start    Timestamp object that represents the start of the period.
+     * @param end      Timestamp object that represents the end of the period.
+     * @param after    ValueCursor of the last value of the previous page, or null for the first page.
+     * @param limit    maximum number of values in the page.
+     * @return A List containing at most limit values with the given sensor ID in the period.
+     */
+    @Override
+    public List<Value> findPageBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end,
+                                                             ValueCursor after, int limit) {
+        Timestamp afterTime = after == null ? start : after.getTime();
+        String afterValueID = after == null ? "" : after.getValueID().toString();
+        List<InstantTimeValueDataModel> listDataModel = this.repositorySpringData.findPageBySensorIDAfter(
+                sensorID.toString(), start, end, afterTime, afterValueID, Limit.of(limit));
+
+        return (List<Value>) mapperInstantTimeValueDataModel.toDomainList(factorySpringData, listDataModel);
+    }
+
+    /**
+     * Streams the values of a Sensor measured between an interval, ordered by time, reading them from the database a
+     * fetch size at a time. Must be consumed within a transaction.
+     *
+     * @param sensorID SensorID object that the value belongs to.
+     * @param start    Timestamp object that represents the start of the period.
+     * @param end      Timestamp object that represents the end of the period.
+     * @return A Stream of the values with the given sensor ID in the period, to be closed once consumed.
+     */
+    @Override
+    public Stream<Value> streamBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end) {
+        return this.repositorySpringData
+                .streamBySensorIDAndInstantTimeBetweenOrderByInstantTimeAsc(sensorID.toString(), start, end)
+                .map(dataModel -> {
+                    Value value = mapperInstantTimeValueDataModel.toDomain(factorySpringData, dataModel);
+                    entityManager.detach(dataModel);
+                    return value;
+                });
+    }
+
     /**
      * Retrieves the last value recorded according to instant time by sensorID.
+     * Served from the latest value cache, so storage is only queried the first time a sensor is looked up and once its
+     * cached value is older than the cache time to live.
      *
      * @param sensorID SensorID object that the value belongs to
      * @return the object value that was last recorded.
      */
     @Override
     public Value findLastValueRecorded(SensorID sensorID) {
+        return latestValueCache.getOrLoad(sensorID, this::queryLastValueRecorded);
+    }
+
+    /**
+     * Queries the storage for the last value recorded according to instant time by sensorID.
+     *
+     * @param sensorID SensorID object that the value belongs to
+     * @return the object value that was last recorded, or null if the sensor has no values.
+     */
+    private Value queryLastValueRecorded(SensorID sensorID) {
         Optional<InstantTimeValueDataModel> optInstantTimeDataModel =
                 this.repositorySpringData.findFirstBySensorIDOrderByInstantTimeDesc(sensorID.toString());
         InstantTimeValueDataModel valueDataModel = optInstantTimeDataModel.orElse(null);
         return mapperInstantTimeValueDataModel.toDomain(factorySpringData, valueDataModel);
     }
+
+    /**
+     * Persists a batch of InstantTimeValue entities in a single transaction.
+     * Inserts are grouped into JDBC batches according to the configured Hibernate batch size.
+     * The latest value cache is only updated once the surrounding transaction commits, so a rolled back insert never
+     * reaches the cache.
+     *
+     * @param values List of InstantTimeValue entities to persist.
+     * @return List of the persisted InstantTimeValue entities.
+     */
+    @Override
+    @Transactional
+    public List<Value> saveAll(List<Value> values) {
+        List<InstantTimeValueDataModel> dataModels = new ArrayList<>();
+        for (Value value : values) {
+            dataModels.add(new InstantTimeValueDataModel(value));
+        }
+        this.repositorySpringData.saveAllAndFlush(dataModels);
+        offerAfterCommit(values);
+        return values;
+    }
+
+    /**
+     * Offers saved values to the latest value cache once the current transaction commits, or at once if there is none.
+     *
+     * @param values List of saved Value objects.
+     */
+    private void offerAfterCommit(List<Value> values) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            latestValueCache.offerAll(values);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                latestValueCache.offerAll(values);
+            }
+        });
+    }
 }
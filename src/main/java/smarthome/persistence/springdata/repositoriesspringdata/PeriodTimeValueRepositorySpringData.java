@@ -1,10 +1,17 @@
 package smarthome.persistence.springdata.repositoriesspringdata;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import smarthome.persistence.jpa.datamodel.PeriodTimeValueDataModel;
 
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface PeriodTimeValueRepositorySpringData extends JpaRepository<PeriodTimeValueDataModel, String> {
     /**
@@ -25,4 +32,37 @@ public interface PeriodTimeValueRepositorySpringData extends JpaRepository<Perio
      * @return List containing Zero or more dataModels based of data retrieved from persistence.
      */
     List<PeriodTimeValueDataModel> findBySensorID (String sensorID);
+
+    /**
+     * Method to stream the dataModels from persistence with a matching SensorID within a period, ordered by start time.
+     * Rows are fetched from persistence a fetch size at a time as the stream is consumed, within a transaction.
+     * @param sensorID SensorID that should be used to query for data.
+     * @param startPeriod Timestamp object that represents the start of the period.
+     * @param endPeriod Timestamp object that represents the end of the period.
+     * @return Stream of dataModels retrieved from persistence, to be closed once consumed.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<PeriodTimeValueDataModel> streamBySensorIDAndStartTimeGreaterThanEqualAndEndTimeLessThanEqualOrderByStartTimeAsc
+            (String sensorID, Timestamp startPeriod, Timestamp endPeriod);
+
+    /**
+     * Method to return a page of the dataModels from persistence with a matching SensorID within a period, ordered by
+     * start time and valueID, starting right after the given start time and valueID. The page is sought through the sensor
+     * and time index instead of skipping the rows of the previous pages, so a deep page costs as much as the first one.
+     * @param sensorID SensorID that should be used to query for data.
+     * @param startPeriod Timestamp object that represents the start of the period.
+     * @param endPeriod Timestamp object that represents the end of the period.
+     * @param afterTime Timestamp of the last dataModel of the previous page, or the start of the period for the first page.
+     * @param afterValueID valueID of the last dataModel of the previous page, or an empty String for the first page.
+     * @param limit maximum number of dataModels in the page.
+     * @return List containing Zero or more dataModels retrieved from persistence.
+     */
+    @Query("SELECT v FROM PeriodTimeValueDataModel v WHERE v.sensorID = :sensorID"
+            + " AND v.startTime >= :startPeriod AND v.endTime <= :endPeriod"
+            + " AND (v.startTime > :afterTime OR (v.startTime = :afterTime AND v.valueID > :afterValueID))"
+            + " ORDER BY v.startTime ASC, v.valueID ASC")
+    List<PeriodTimeValueDataModel> findPageBySensorIDAfter
+            (@Param("sensorID") String sensorID, @Param("startPeriod") Timestamp startPeriod,
+             @Param("endPeriod") Timestamp endPeriod, @Param("afterTime") Timestamp afterTime,
+             @Param("afterValueID") String afterValueID, Limit limit);
 }
@@ -1,18 +1,24 @@
 package smarthome.persistence.springdata.repositoriesspringdata;
 
+import jakarta.persistence.EntityManager;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import smarthome.domain.value.ImpFactoryPeriodTimeValue;
 import smarthome.domain.value.Value;
 import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueCursor;
 import smarthome.domain.valueobjects.ValueID;
 import smarthome.persistence.jpa.datamodel.MapperPeriodTimeValueDataModel;
 import smarthome.persistence.jpa.datamodel.PeriodTimeValueDataModel;
 import smarthome.persistence.repositoriesmem.PeriodTimeValueRepository;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the PeriodTimeValueRepository using Spring Data.
@@ -36,6 +42,10 @@ public class PeriodTimeValueRepositorySpringDataImp implements PeriodTimeValueRe
      */
     MapperPeriodTimeValueDataModel mapperPeriodTimeValueDataModel;
 
+    /**
+     * Persistence context the streamed data models are detached from once mapped, so it does not grow with the stream.
+     */
+    private final EntityManager entityManager;
 
     /**
      * Constructor for the ImpPeriodTimeValueRepositorySpringData class.
@@ -43,14 +53,17 @@ public class PeriodTimeValueRepositorySpringDataImp implements PeriodTimeValueRe
      * @param periodTimeValueRepositorySpringData The repository for PeriodTimeValueDataModel instances.
      * @param factoryValue The factory for creating value instances.
      * @param mapperPeriodTimeValueDataModel The mapper for PeriodTimeValueDataModel.
+     * @param entityManager The persistence context the streamed data models are detached from.
      */
     public PeriodTimeValueRepositorySpringDataImp(
             PeriodTimeValueRepositorySpringData periodTimeValueRepositorySpringData,
             ImpFactoryPeriodTimeValue factoryValue,
-            MapperPeriodTimeValueDataModel mapperPeriodTimeValueDataModel) {
+            MapperPeriodTimeValueDataModel mapperPeriodTimeValueDataModel,
+            EntityManager entityManager) {
         this.periodTimeValueRepositorySpringData = periodTimeValueRepositorySpringData;
         this.factoryValue = factoryValue;
         this.mapperPeriodTimeValueDataModel = mapperPeriodTimeValueDataModel;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -87,6 +100,48 @@ public class PeriodTimeValueRepositorySpringDataImp implements PeriodTimeValueRe
                 listPeriodTimeValueDataModel);
     }
 
+    /**
+     * Finds a page of the values of a Sensor measured between an interval, ordered by time and ValueID and starting
+     * right after the given cursor. The first page starts at the start of the period.
+     *
+     * @param sensorID SensorID object that the value belongs to.
+     * @param start    Timestamp object that represents the start of the period.
+     * @param end      Timestamp object that represents the end of the period.
+     * @param after    ValueCursor of the last value of the previous page, or null for the first page.
+     * @param limit    maximum number of values in the page.
+     * @return A List containing at most limit values with the given sensor ID in the period.
+     */
+    @Override
+    public List<Value> findPageBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end,
+                                                             ValueCursor after, int limit) {
+        Timestamp afterTime = after == null ? start : after.getTime();
+        String afterValueID = after == null ? "" : after.getValueID().toString();
+        List<PeriodTimeValueDataModel> listDataModel = this.periodTimeValueRepositorySpringData.findPageBySensorIDAfter(
+                sensorID.toString(), start, end, afterTime, afterValueID, Limit.of(limit));
+
+        return (List<Value>) mapperPeriodTimeValueDataModel.toDomainList(factoryValue, listDataModel);
+    }
+
+    /**
+     * Streams the values of a Sensor measured between an interval, ordered by time, reading them from the database a
+     * fetch size at a time. Must be consumed within a transaction.
+     *
+     * @param sensorID SensorID object that the value belongs to.
+     * @param start    Timestamp object that represents the start of the period.
+     * @param end      Timestamp object that represents the end of the period.
+     * @return A Stream of the values with the given sensor ID in the period, to be closed once consumed.
+     */
+    @Override
+    public Stream<Value> streamBySensorIdBetweenPeriodOfTime(SensorID sensorID, Timestamp start, Timestamp end) {
+        return this.periodTimeValueRepositorySpringData
+                .streamBySensorIDAndStartTimeGreaterThanEqualAndEndTimeLessThanEqualOrderByStartTimeAsc(sensorID.toString(), start, end)
+                .map(dataModel -> {
+                    Value value = mapperPeriodTimeValueDataModel.toDomain(factoryValue, dataModel);
+                    entityManager.detach(dataModel);
+                    return value;
+                });
+    }
+
     /**
      * Retrieves the value associated with the given ID.
      *
@@ -130,4 +185,22 @@ public class PeriodTimeValueRepositorySpringDataImp implements PeriodTimeValueRe
     public boolean containsEntityByID(ValueID id) {
         return this.periodTimeValueRepositorySpringData.existsById(id.toString());
     }
+
+    /**
+     * Persists a batch of PeriodTimeValue entities in a single transaction.
+     * Inserts are grouped into JDBC batches according to the configured Hibernate batch size.
+     *
+     * @param values List of PeriodTimeValue entities to persist.
+     * @return List of the persisted PeriodTimeValue entities.
+     */
+    @Override
+    @Transactional
+    public List<Value> saveAll(List<Value> values) {
+        List<PeriodTimeValueDataModel> dataModels = new ArrayList<>();
+        for (Value value : values) {
+            dataModels.add(new PeriodTimeValueDataModel(value));
+        }
+        this.periodTimeValueRepositorySpringData.saveAll(dataModels);
+        return values;
+    }
 }
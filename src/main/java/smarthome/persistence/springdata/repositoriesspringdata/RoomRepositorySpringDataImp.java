@@ -9,9 +9,11 @@ import smarthome.domain.valueobjects.HouseID;
 import smarthome.domain.valueobjects.RoomID;
 import smarthome.persistence.jpa.datamodel.MapperRoomDataModel;
 import smarthome.persistence.jpa.datamodel.RoomDataModel;
+import smarthome.util.OptimisticRetry;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 @Repository
 @Profile("!test")
@@ -29,11 +31,6 @@ public class RoomRepositorySpringDataImp implements RoomRepository {
      */
     FactoryRoom factoryRoom;
 
-    /**
-     * Room data model used for updating reserved rooms.
-     */
-    RoomDataModel roomDataModelForUpdate;
-
     /**
      * Mapper for converting RoomDataModel to Room.
      */
@@ -109,65 +106,28 @@ public class RoomRepositorySpringDataImp implements RoomRepository {
     }
 
     /**
-     * Updates a Room entity in the repository.
-     *
-     * @param room The Sensor entity to update.
-     * @return The updated Room entity if successful, null otherwise.
-     */
-    @Override
-    public Room update(Room room) {
-        Optional<RoomDataModel> roomDataModel = roomRepositorySpringDataInt.findById(room.identity().toString());
-
-        if (roomDataModel.isPresent()) {
-            var roomDataModelExisting = roomDataModel.get();
-            boolean isUpdated = roomDataModelExisting.updateFromDomain(room);
-
-            if (isUpdated) {
-                this.roomRepositorySpringDataInt.save(roomDataModelExisting);
-                return room;
-            } else
-                return null;
-        } else
-            return null;
-    }
-
-    /**
-     * Updates a reserved Room entity in the repository.
-     *
-     * @param room The Room entity with reserved updates to apply.
-     * @return The updated Room entity if successful, null otherwise.
-     */
-    @Override
-    public Room updateReserved(Room room) {
-        if (roomDataModelForUpdate != null) {
-            boolean isUpdated = roomDataModelForUpdate.updateFromDomain(room);
-
-            if (isUpdated) {
-                this.roomRepositorySpringDataInt.save(roomDataModelForUpdate);
-                return room;
-            } else
-                return null;
-        } else
-            return null;
-    }
-
-    /**
-     * Retrieves all Room entities from the repository.
+     * Applies a change to the stored Room entity and writes it back only if its version is still the one read.
+     * Each attempt reads the row, applies the change and saves it; a save that finds a newer version fails, and the
+     * attempt runs again on the new row, a bounded number of times.
      *
-     * @param roomID The RoomID of the room to retrieve.
-     * @return An Iterable containing all Room entities.
+     * @param roomID The identity of the Room entity to update.
+     * @param change The change to apply to the current Room entity.
+     * @return An Optional containing the updated Room entity, or empty if not found or left as is.
      */
     @Override
-    public Optional<Room> findEntityByIDAndReserve(RoomID roomID) {
-        Optional<RoomDataModel> roomDataModel = this.roomRepositorySpringDataInt.findById(roomID.toString());
-
-        if (roomDataModel.isPresent()) {
-            Room room = mapperRoomDataModel.toDomain(factoryRoom, roomDataModel.get());
-            this.roomDataModelForUpdate = roomDataModel.get();
-            return Optional.of(room);
-        } else {
-            return Optional.empty();
-        }
+    public Optional<Room> update(RoomID roomID, UnaryOperator<Room> change) {
+        return OptimisticRetry.retryOnConflict(() -> {
+            Optional<RoomDataModel> roomDataModel = roomRepositorySpringDataInt.findById(roomID.toString());
+            if (roomDataModel.isEmpty())
+                return Optional.empty();
+
+            Room changedRoom = change.apply(mapperRoomDataModel.toDomain(factoryRoom, roomDataModel.get()));
+            if (changedRoom == null || !roomDataModel.get().updateFromDomain(changedRoom))
+                return Optional.empty();
+
+            roomRepositorySpringDataInt.saveAndFlush(roomDataModel.get());
+            return Optional.of(changedRoom);
+        });
     }
 
     /**
@@ -0,0 +1,109 @@
+package smarthome.persistence.springdata.repositoriesspringdata;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import smarthome.domain.actuators.Actuator;
+import smarthome.domain.actuators.FactoryActuator;
+import smarthome.domain.repository.TopologyRepository;
+import smarthome.domain.valueobjects.ActuatorFunctionalityID;
+import smarthome.domain.valueobjects.DeviceID;
+import smarthome.domain.valueobjects.DeviceStatus;
+import smarthome.domain.valueobjects.RoomID;
+import smarthome.domain.valueobjects.SensorFunctionalityID;
+import smarthome.persistence.jpa.datamodel.ActuatorDataModel;
+import smarthome.persistence.jpa.datamodel.MapperActuatorDataModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The TopologyRepositorySpringDataImp class projects the topology of the house using Spring Data.
+ * The sensors and actuators are joined to their devices in a single query, without mapping any of them to the domain.
+ */
+@Repository
+@Profile("!test")
+public class TopologyRepositorySpringDataImp implements TopologyRepository {
+
+    /**
+     * Row kind of the projection rows of sensors.
+     */
+    static final String SENSOR = "SENSOR";
+
+    /**
+     * The repository interface for managing DeviceDataModel entities using Spring Data.
+     */
+    private final DeviceRepositorySpringData deviceRepositorySpringData;
+
+    /**
+     * The repository interface for managing ActuatorDataModel entities using Spring Data.
+     */
+    private final ActuatorRepositorySpringData actuatorRepositorySpringData;
+
+    /**
+     * Factory for creating Actuator entities.
+     */
+    private final FactoryActuator factoryActuator;
+
+    /**
+     * Mapper of ActuatorDataModel entities to Actuator entities.
+     */
+    private final MapperActuatorDataModel mapperActuatorDataModel;
+
+    /**
+     * Constructs a TopologyRepositorySpringDataImp object.
+     *
+     * @param deviceRepositorySpringData   The Spring Data repository for Device entities.
+     * @param actuatorRepositorySpringData The Spring Data repository for Actuator entities.
+     * @param factoryActuator              The factory for creating Actuator entities.
+     * @param mapperActuatorDataModel      The mapper of ActuatorDataModel entities to Actuator entities.
+     */
+    public TopologyRepositorySpringDataImp(DeviceRepositorySpringData deviceRepositorySpringData,
+                                           ActuatorRepositorySpringData actuatorRepositorySpringData,
+                                           FactoryActuator factoryActuator,
+                                           MapperActuatorDataModel mapperActuatorDataModel) {
+        this.deviceRepositorySpringData = deviceRepositorySpringData;
+        this.actuatorRepositorySpringData = actuatorRepositorySpringData;
+        this.factoryActuator = factoryActuator;
+        this.mapperActuatorDataModel = mapperActuatorDataModel;
+    }
+
+    /**
+     * Finds the location of the functionality of every sensor and actuator that belongs to an existing device.
+     *
+     * @return the location of each sensor and actuator.
+     */
+    @Override
+    public Iterable<FunctionalityLocation> findFunctionalityLocations() {
+        List<Object[]> rows = deviceRepositorySpringData.findFunctionalityLocations();
+        List<FunctionalityLocation> locations = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            String functionality = (String) row[1];
+            RoomID roomID = new RoomID((String) row[2]);
+            DeviceID deviceID = new DeviceID((String) row[3]);
+            if (SENSOR.equals(row[0]))
+                locations.add(new FunctionalityLocation(new SensorFunctionalityID(functionality), roomID, deviceID));
+            else
+                locations.add(new FunctionalityLocation(new ActuatorFunctionalityID(functionality), roomID, deviceID));
+        }
+        return locations;
+    }
+
+    /**
+     * Finds every actuator of a functionality that belongs to an existing device, in a single query that joins the
+     * actuators to their devices.
+     *
+     * @param actuatorFunctionalityID the functionality of the actuators.
+     * @return the actuators of the functionality, each with the status and room of its device.
+     */
+    @Override
+    public Iterable<ActuatorTarget> findActuatorTargets(ActuatorFunctionalityID actuatorFunctionalityID) {
+        List<Object[]> rows = actuatorRepositorySpringData.findTargetsByActuatorFunctionalityID(actuatorFunctionalityID.toString());
+        List<ActuatorTarget> targets = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Actuator actuator = mapperActuatorDataModel.toDomain(factoryActuator, (ActuatorDataModel) row[0]);
+            if (actuator != null)
+                targets.add(new ActuatorTarget(actuator, DeviceStatus.valueOf((String) row[1]), new RoomID((String) row[2])));
+        }
+        return targets;
+    }
+}
@@ -0,0 +1,54 @@
+package smarthome.persistence.springdata.repositoriesspringdata;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import smarthome.persistence.jpa.datamodel.SensorDataModel;
+import smarthome.persistence.jpa.datamodel.ValueRollupDataModel;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+public interface ValueRollupRepositorySpringData extends JpaRepository<ValueRollupDataModel, String> {
+    /**
+     * Method that returns the dataModels of a sensor at a resolution whose bucket starts at or after the first bucket
+     * and before the end of a period, ordered by bucket start.
+     * @param sensorID SensorID the dataModels correspond to.
+     * @param resolution Short name of the resolution of the dataModels.
+     * @param firstBucketStart Timestamp representing the start of the bucket containing the start of the period.
+     * @param endPeriod Timestamp representing the end of the given period.
+     * @return List containing Zero or more dataModels retrieved from persistence.
+     */
+    List<ValueRollupDataModel> findBySensorIDAndResolutionAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart
+            (String sensorID, String resolution, Timestamp firstBucketStart, Timestamp endPeriod);
+
+    /**
+     * Method that locks the rows of the given sensors until the end of the current transaction, in the order of their
+     * IDs so that transactions locking several sensors cannot deadlock. Rollup merges of a sensor take this lock first,
+     * so they run one at a time across every instance of the application.
+     * @param sensorIDs IDs of the sensors to lock.
+     * @return List containing the dataModels of the locked sensors.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SensorDataModel s WHERE s.sensorID IN :sensorIDs ORDER BY s.sensorID")
+    List<SensorDataModel> lockSensors(@Param("sensorIDs") Collection<String> sensorIDs);
+
+    /**
+     * Method that returns the dataModels with the given IDs, locking them until the end of the current transaction.
+     * Being a locking read, it sees the rows committed by other transactions up to the lock.
+     * @param rollupIDs IDs of the rollups.
+     * @return List containing Zero or more dataModels retrieved from persistence.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ValueRollupDataModel> findByRollupIDIn(Collection<String> rollupIDs);
+
+    /**
+     * Method that checks whether a sensor has any stored rollup.
+     * @param sensorID SensorID the dataModels correspond to.
+     * @return true if at least one dataModel of the sensor exists, false otherwise.
+     */
+    boolean existsBySensorID(String sensorID);
+}
@@ -0,0 +1,147 @@
+package smarthome.persistence.springdata.repositoriesspringdata;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import smarthome.domain.valueobjects.RollupResolution;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueRollup;
+import smarthome.persistence.jpa.datamodel.MapperValueRollupDataModel;
+import smarthome.persistence.jpa.datamodel.ValueRollupBackfillDataModel;
+import smarthome.persistence.jpa.datamodel.ValueRollupDataModel;
+import smarthome.persistence.repositoriesmem.ValueRollupRepository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of the ValueRollupRepository interface using Spring Data JPA.
+ */
+@Repository
+@Profile("!test")
+public class ValueRollupRepositorySpringDataImp implements ValueRollupRepository {
+    /**
+     * The repository for accessing ValueRollup data managed by Spring Data.
+     */
+    ValueRollupRepositorySpringData repositorySpringData;
+
+    /**
+     * Mapper for ValueRollupDataModel.
+     */
+    MapperValueRollupDataModel mapperValueRollupDataModel;
+
+    /**
+     * The repository recording the sensors whose rollups were backfilled.
+     */
+    ValueRollupBackfillRepositorySpringData backfillRepositorySpringData;
+
+    /**
+     * Constructs a new ValueRollupRepositorySpringDataImp with the specified Spring Data repositories and mapper.
+     *
+     * @param repositorySpringData         The Spring Data repository for ValueRollup entities.
+     * @param mapperValueRollupDataModel   The mapper for ValueRollupDataModel.
+     * @param backfillRepositorySpringData The Spring Data repository for the backfilled sensors.
+     */
+    public ValueRollupRepositorySpringDataImp(
+            ValueRollupRepositorySpringData repositorySpringData,
+            MapperValueRollupDataModel mapperValueRollupDataModel,
+            ValueRollupBackfillRepositorySpringData backfillRepositorySpringData
+    ) {
+        this.repositorySpringData = repositorySpringData;
+        this.mapperValueRollupDataModel = mapperValueRollupDataModel;
+        this.backfillRepositorySpringData = backfillRepositorySpringData;
+    }
+
+    /**
+     * Merges a batch of rollups into the stored ones, joining the caller's transaction if there is one.
+     * The sensors of the batch are locked first, so merges of the same sensor run one at a time even across several
+     * instances of the application, and a bucket is never inserted twice. The stored buckets of the batch are then
+     * loaded with one locking query; missing buckets are inserted and the others updated, grouped into JDBC batches
+     * according to the configured Hibernate batch size.
+     *
+     * @param rollups List of ValueRollup objects, at most one per bucket.
+     */
+    @Override
+    @Transactional
+    public void mergeAll(List<ValueRollup> rollups) {
+        TreeSet<String> sensorIDs = new TreeSet<>();
+        List<String> rollupIDs = new ArrayList<>();
+        for (ValueRollup rollup : rollups) {
+            sensorIDs.add(rollup.getSensorID().toString());
+            rollupIDs.add(rollup.getRollupID());
+        }
+        repositorySpringData.lockSensors(sensorIDs);
+
+        Map<String, ValueRollupDataModel> storedDataModels = new HashMap<>();
+        for (ValueRollupDataModel dataModel : repositorySpringData.findByRollupIDIn(rollupIDs)) {
+            storedDataModels.put(dataModel.getRollupID(), dataModel);
+        }
+
+        List<ValueRollupDataModel> dataModels = new ArrayList<>();
+        for (ValueRollup rollup : rollups) {
+            ValueRollupDataModel dataModel = storedDataModels.get(rollup.getRollupID());
+            if (dataModel == null) {
+                dataModel = new ValueRollupDataModel(rollup);
+            } else {
+                dataModel.updateFromDomain(mapperValueRollupDataModel.toDomain(dataModel).merge(rollup));
+            }
+            dataModels.add(dataModel);
+        }
+        repositorySpringData.saveAllAndFlush(dataModels);
+    }
+
+    /**
+     * Stores the rollups of a sensor that was not backfilled yet, in a single transaction, and records that it was
+     * backfilled, so its readings are only scanned once even if they produce no rollup. The sensor is locked before the
+     * rollups are computed, so readings ingested meanwhile are either already in them or merged once this commits.
+     * A sensor that already has rollups is recorded as backfilled without computing them.
+     *
+     * @param sensorID SensorID object of the sensor.
+     * @param rollups  supplies the rollups of every stored reading of the sensor; only used if it was not backfilled
+     *                 and has no rollups, within this transaction.
+     * @return true if the rollups were computed and stored, false otherwise.
+     */
+    @Override
+    @Transactional
+    public boolean backfill(SensorID sensorID, Supplier<List<ValueRollup>> rollups) {
+        String id = sensorID.toString();
+        repositorySpringData.lockSensors(List.of(id));
+        if (backfillRepositorySpringData.existsById(id))
+            return false;
+
+        boolean computed = !repositorySpringData.existsBySensorID(id);
+        if (computed) {
+            List<ValueRollupDataModel> dataModels = new ArrayList<>();
+            for (ValueRollup rollup : rollups.get()) {
+                dataModels.add(new ValueRollupDataModel(rollup));
+            }
+            repositorySpringData.saveAll(dataModels);
+        }
+        backfillRepositorySpringData.saveAndFlush(new ValueRollupBackfillDataModel(id, new Timestamp(System.currentTimeMillis())));
+        return computed;
+    }
+
+    /**
+     * Method that finds the rollups of a sensor at a resolution whose bucket overlaps a period.
+     *
+     * @param sensorID   SensorID object that the rollups belong to.
+     * @param resolution RollupResolution of the rollups.
+     * @param start      Timestamp object that represents the start of the period.
+     * @param end        Timestamp object that represents the end of the period.
+     * @return A List containing the rollups, ordered by bucket start.
+     */
+    @Override
+    public List<ValueRollup> findBySensorIdBetweenPeriodOfTime(SensorID sensorID, RollupResolution resolution,
+                                                              Timestamp start, Timestamp end) {
+        List<ValueRollupDataModel> dataModels = repositorySpringData
+                .findBySensorIDAndResolutionAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+                        sensorID.toString(), resolution.getLabel(), resolution.bucketStartOf(start), end);
+
+        return mapperValueRollupDataModel.toDomainList(dataModels);
+    }
+}
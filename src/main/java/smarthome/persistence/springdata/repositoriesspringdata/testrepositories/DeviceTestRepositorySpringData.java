@@ -4,14 +4,20 @@ import smarthome.domain.device.Device;
 import smarthome.domain.device.FactoryDevice;
 import smarthome.domain.device.ImpFactoryDevice;
 import smarthome.domain.repository.DeviceRepository;
+import smarthome.domain.repository.RoomRepository;
+import smarthome.domain.room.Room;
 import smarthome.domain.valueobjects.DeviceID;
 import smarthome.domain.valueobjects.DeviceModel;
 import smarthome.domain.valueobjects.DeviceStatus;
+import smarthome.domain.valueobjects.HouseID;
 import smarthome.domain.valueobjects.RoomID;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 
 /**
  * A test implementation of the DeviceRepository interface for Spring Data testing purposes.
@@ -25,12 +31,17 @@ public class DeviceTestRepositorySpringData implements DeviceRepository {
      */
     private final List<Device> devices;
 
-    private Device deviceReserved;
+    /**
+     * Repository the rooms of a house are read from, to find the devices of a house.
+     */
+    private final RoomRepository roomRepository;
 
     /**
      * Constructs a new DeviceTestRepositorySpringData with the specified FactoryDevice.
+     * @param roomRepository The repository the rooms of a house are read from.
      */
-    public DeviceTestRepositorySpringData() {
+    public DeviceTestRepositorySpringData(RoomRepository roomRepository) {
+        this.roomRepository = roomRepository;
         // Initialize Device objects, simulating data for testing purposes.
         // Note: This class is designed for testing purposes and does not interact with an actual database.
         this.devices = new ArrayList<>();
@@ -66,33 +77,24 @@ public class DeviceTestRepositorySpringData implements DeviceRepository {
     }
 
     /**
-     * Updates a Device entity.
-     * @param device The updated Device entity if successful, null otherwise.
+     * Applies a change to a Device entity and replaces it with the result, holding the list while doing so.
+     * @param deviceID The identity of the Device entity to update.
+     * @param change The change to apply to the current Device entity.
+     * @return An Optional containing the updated Device entity, or empty if not found or left as is.
      */
     @Override
-    public Device update(Device device) {
-        Optional<Device> optionalDevice = findEntityByID(device.identity());
-        if (optionalDevice.isPresent()) {
+    public Optional<Device> update(DeviceID deviceID, UnaryOperator<Device> change) {
+        synchronized (devices) {
+            Optional<Device> optionalDevice = findEntityByID(deviceID);
+            if (optionalDevice.isEmpty())
+                return Optional.empty();
+            Device changedDevice = change.apply(optionalDevice.get());
+            if (changedDevice == null)
+                return Optional.empty();
             devices.remove(optionalDevice.get());
-            devices.add(device);
-            return device;
+            devices.add(changedDevice);
+            return Optional.of(changedDevice);
         }
-        return null;
-    }
-
-    /**
-     * Updates a reserved a Device entity.
-     * @param device The Device entity to be updated.
-     * @return The updated Device entity if successful, null otherwise.
-     */
-    @Override
-    public Device updateReserved(Device device) {
-        if (deviceReserved != null && deviceReserved.identity().equals(device.identity())) {
-            devices.remove(deviceReserved);
-            devices.add(device);
-            return device;
-        }
-        return null;
     }
 
     /**
@@ -119,20 +121,6 @@ public class DeviceTestRepositorySpringData implements DeviceRepository {
                 .findFirst();
     }
 
-    /**
-     * Retrieves a Device entity by its identity and reserves it for further operations.
-     * @param deviceID The Device entity identity to search for.
-     */
-    @Override
-    public Optional<Device> findEntityByIDAndReserve(DeviceID deviceID) {
-        Optional<Device> optionalDevice = findEntityByID(deviceID);
-        if (optionalDevice.isPresent()) {
-            this.deviceReserved = optionalDevice.get();
-            return Optional.of(this.deviceReserved);
-        }
-        return Optional.empty();
-    }
-
     /**
      * Retrieves all Device entities from the repository.
      * @return An Iterable containing all Device entities.
@@ -152,4 +140,21 @@ public class DeviceTestRepositorySpringData implements DeviceRepository {
         return devices.stream()
                 .anyMatch(device -> (device.identity()).equals(deviceID));
     }
+
+    /**
+     * Finds the summary of every device in the rooms of the specified house.
+     * @param houseID The ID of the house to search for.
+     * @return An Iterable collection of the summaries of the devices in the house.
+     */
+    @Override
+    public Iterable<DeviceSummary> findDeviceSummariesByHouseID(HouseID houseID) {
+        Set<RoomID> roomsOfHouse = new HashSet<>();
+        for (Room room : roomRepository.findByHouseID(houseID))
+            roomsOfHouse.add(room.identity());
+        return devices.stream()
+                .filter(device -> roomsOfHouse.contains(device.getRoomID()))
+                .map(device -> new DeviceSummary(device.identity(), device.getDeviceModel(), device.getDeviceStatus(),
+                        device.getRoomID()))
+                .toList();
+    }
 }
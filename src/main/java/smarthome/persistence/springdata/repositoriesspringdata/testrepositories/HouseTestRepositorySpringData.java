@@ -12,6 +12,7 @@ import smarthome.util.exceptions.SingleHouseViolationException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 /**
  * A test implementation of the HouseRepository interface for Spring Data testing purposes.
@@ -24,18 +25,12 @@ public class HouseTestRepositorySpringData implements HouseRepository {
      */
     private final List<House> houses;
 
-    /**
-     * The reserved house for updateReserved method.
-     */
-    private House reservedHouse;
-
     /**
      * Constructs a new HouseTestRepositorySpringData with the specified FactoryHouse.
      */
     public HouseTestRepositorySpringData()
     {
         this.houses = new ArrayList<>();
-        this.reservedHouse = null;
         ImpFactoryHouse factoryHouse = new ImpFactoryHouse();
         populateHouses(factoryHouse);
     }
@@ -69,57 +64,27 @@ public class HouseTestRepositorySpringData implements HouseRepository {
     }
 
     /**
-     * Updates the given house in the repository.
-     *
-     * @param house The house object to update.
-     * @return The updated house.
+     * Applies a change to a House entity and replaces it with the result, holding the list while doing so.
+     * @param houseID The identity of the House entity to update.
+     * @param change The change to apply to the current House entity.
+     * @return An Optional containing the updated House entity, or empty if not found or left as is.
      */
     @Override
-    public House update(House house) {
-        Optional<House> optionalHouse = findEntityByID(house.identity());
-        if (optionalHouse.isPresent()) {
+    public Optional<House> update(HouseID houseID, UnaryOperator<House> change) {
+        synchronized (houses) {
+            Optional<House> optionalHouse = findEntityByID(houseID);
+            if (optionalHouse.isEmpty())
+                return Optional.empty();
+            House changedHouse = change.apply(optionalHouse.get());
+            if (changedHouse == null)
+                return Optional.empty();
             houses.remove(optionalHouse.get());
-            houses.add(house);
-            return house;
+            houses.add(changedHouse);
+            return Optional.of(changedHouse);
         }
-        return null;
     }
 
 
-    /**
-     * Updates the last edited house object that was in cache to prevent another request to the database.
-     *
-     * @param house The house object to update.
-     * @return The updated house.
-     */
-    @Override
-    public House updateReserved(House house)
-    {
-        if (reservedHouse != null && reservedHouse
-                .identity().equals(house.identity())) {
-            houses.remove(reservedHouse);
-            houses.add(house);
-            return house;
-        }
-        return null;
-    }
-
-    /**
-     * Returns a House entity by its ID and reserves it for further operations.
-     *
-     * @param houseID The unique identifier of the house.
-     * @return An Optional containing the found house, or empty if not found.
-     */
-    @Override
-    public Optional<House> findEntityByIDAndReserve(HouseID houseID)
-    {
-        Optional <House>  houseOptional = houses.stream()
-                .filter(house -> houseID.equals(house.identity()))
-                .findFirst();
-        houseOptional.ifPresent(house -> reservedHouse = house);
-        return houseOptional;
-    }
-
     /**
      * Retrieves a House entity by its ID from the repository.
      *
@@ -179,4 +179,16 @@ public class InstantTimeLocationValueTestRepoSpringData implements InstantTimeLo
         }
         return lastValue;
     }
+
+    /**
+     * Adds a batch of values to the test repository.
+     *
+     * @param values List of Value objects to add.
+     * @return List of the added Value objects.
+     */
+    @Override
+    public List<Value> saveAll(List<Value> values) {
+        listInstantLocationValues.addAll(values);
+        return values;
+    }
 }
@@ -307,4 +307,16 @@ public class InstantTimeValueTestRepositorySpringData implements InstantTimeValu
         }
         return false;
     }
+
+    /**
+     * Adds a batch of values to the test repository.
+     *
+     * @param values List of Value objects to add.
+     * @return List of the added Value objects.
+     */
+    @Override
+    public List<Value> saveAll(List<Value> values) {
+        instantValueList.addAll(values);
+        return values;
+    }
 }
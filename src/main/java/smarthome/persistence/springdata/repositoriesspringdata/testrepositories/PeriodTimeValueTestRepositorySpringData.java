@@ -137,4 +137,16 @@ public class PeriodTimeValueTestRepositorySpringData implements PeriodTimeValueR
         }
         return false;
     }
+
+    /**
+     * Adds a batch of values to the test repository.
+     *
+     * @param values List of Value objects to add.
+     * @return List of the added Value objects.
+     */
+    @Override
+    public List<Value> saveAll(List<Value> values) {
+        listPeriodTimeValues.addAll(values);
+        return values;
+    }
 }
@@ -11,6 +11,7 @@ import smarthome.domain.valueobjects.RoomID;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 /**
  * A test implementation of the RoomRepository interface for Spring Data testing purposes.
@@ -25,8 +26,6 @@ public class RoomTestRepositorySpringData implements RoomRepository {
 
     private final List<Room> rooms;
 
-    private Room roomReserved;
-
     /**
      * Constructs a new RoomTestRepositorySpringData with the specified FactoryRoom.
      */
@@ -57,51 +56,24 @@ public class RoomTestRepositorySpringData implements RoomRepository {
     }
 
     /**
-     * Updates a Room entity.
-     * @param roomEdited The updated Room entity if successful, null otherwise.
-     */
-    @Override
-    public Room update(Room roomEdited) {
-        for (Room room : rooms) {
-            if (room.identity().equals(roomEdited.identity())) {
-                rooms.remove(room);
-                rooms.add(roomEdited);
-                return roomEdited;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Updates a reserved Room entity.
-     * @param roomEdited The Room entity to be updated.
-     * @return The updated Room entity if successful, null otherwise.
+     * Applies a change to a Room entity and replaces it with the result, holding the list while doing so.
+     * @param roomID The identity of the Room entity to update.
+     * @param change The change to apply to the current Room entity.
+     * @return An Optional containing the updated Room entity, or empty if not found or left as is.
      */
     @Override
-    public Room updateReserved(Room roomEdited) {
-        if (roomReserved != null && roomReserved.identity().equals(roomEdited.identity())) {
-            rooms.remove(roomReserved);
-            rooms.add(roomEdited);
-            return roomEdited;
+    public Optional<Room> update(RoomID roomID, UnaryOperator<Room> change) {
+        synchronized (rooms) {
+            Optional<Room> optionalRoom = findEntityByID(roomID);
+            if (optionalRoom.isEmpty())
+                return Optional.empty();
+            Room changedRoom = change.apply(optionalRoom.get());
+            if (changedRoom == null)
+                return Optional.empty();
+            rooms.remove(optionalRoom.get());
+            rooms.add(changedRoom);
+            return Optional.of(changedRoom);
         }
-        return null;
-    }
-
-    /**
-     * Finds a Room instance by ID and reserves it.
-     *
-     * @param id The ID of the room to be found and reserved.
-     * @return An Optional containing the found and reserved room, or empty if not found.
-     */
-
-    @Override
-    public Optional<Room> findEntityByIDAndReserve(RoomID id) {
-        Optional<Room> optionalRoom = findEntityByID(id);
-        if (optionalRoom.isPresent()) {
-            this.roomReserved = optionalRoom.get();
-            return Optional.of(this.roomReserved);
-        }
-        return Optional.empty();
     }
 
     /**
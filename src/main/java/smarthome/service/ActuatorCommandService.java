@@ -0,0 +1,384 @@
+package smarthome.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import smarthome.domain.actuators.Actuator;
+import smarthome.domain.actuators.ActuatorSpecificDecimal;
+import smarthome.domain.actuators.ActuatorSpecificInteger;
+import smarthome.domain.actuators.DecimalSetterActuator;
+import smarthome.domain.device.Device;
+import smarthome.domain.repository.ActuatorRepository;
+import smarthome.domain.repository.DeviceRepository;
+import smarthome.domain.valueobjects.ActuatorCommandID;
+import smarthome.domain.valueobjects.ActuatorCommandStatus;
+import smarthome.domain.valueobjects.ActuatorID;
+import smarthome.domain.valueobjects.ActuatorState;
+import smarthome.persistence.repositoriesmem.ActuatorStateRepository;
+import smarthome.service.internaldto.InternalActuatorCommandDTO;
+import smarthome.util.exceptions.ActuatorNotFoundException;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ActuatorCommandService class queues the commands sent to actuators and applies them off the request thread.
+ * <p>
+ * Each actuator holds at most one pending command: a command arriving before the previous one was taken by a worker
+ * replaces it, and the replaced command ends as SUPERSEDED. Commands of one actuator are applied one at a time, in
+ * arrival order, while different actuators are served in parallel by the command executor. The state left by each
+ * applied command is gathered per actuator and written to the ActuatorStateRepository in batches. Each command is
+ * applied to the actuator instance the repository returns for it, which is never shared with other callers.
+ */
+@Service
+public class ActuatorCommandService {
+
+    /**
+     * Number of finished commands whose status is kept for polling. Older finished commands are forgotten first.
+     */
+    static final int MAX_RETAINED_COMMANDS = 10_000;
+
+    /**
+     * Time given to the commands already queued to be applied when the service shuts down.
+     */
+    static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ActuatorCommandService.class);
+
+    /**
+     * The repository of the actuators.
+     */
+    private final ActuatorRepository actuatorRepository;
+
+    /**
+     * The repository of the devices, used to check that the device of an actuator is active.
+     */
+    private final DeviceRepository deviceRepository;
+
+    /**
+     * The repository the applied actuator states are written to.
+     */
+    private final ActuatorStateRepository actuatorStateRepository;
+
+    /**
+     * Executor the commands are applied on.
+     */
+    private final Executor actuatorCommandExecutor;
+
+    /**
+     * Scheduler of the batched writes of the applied states.
+     */
+    private final ScheduledExecutorService actuatorStateFlushScheduler;
+
+    /**
+     * Time applied states are gathered before they are written as one batch.
+     */
+    private final Duration actuatorStateFlushInterval;
+
+    /**
+     * Every command that is pending or among the most recently finished ones, by ID.
+     */
+    private final Map<ActuatorCommandID, ActuatorCommand> commands = new ConcurrentHashMap<>();
+
+    /**
+     * IDs of the finished commands still in {@link #commands}, oldest first.
+     */
+    private final Queue<ActuatorCommandID> finishedCommands = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Number of IDs in {@link #finishedCommands}.
+     */
+    private final AtomicInteger finishedCommandCount = new AtomicInteger();
+
+    /**
+     * Newest command of each actuator that no worker has taken yet.
+     */
+    private final Map<ActuatorID, ActuatorCommand> pendingCommands = new ConcurrentHashMap<>();
+
+    /**
+     * Actuators whose pending commands a worker is currently applying.
+     */
+    private final Set<ActuatorID> drainingActuators = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Newest applied state of each actuator that has not been written yet.
+     */
+    private final Map<ActuatorID, ActuatorState> unsavedStates = new ConcurrentHashMap<>();
+
+    /**
+     * Whether a write of the unsaved states is already scheduled.
+     */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * Whether the service is shutting down, after which no write is scheduled anymore.
+     */
+    private volatile boolean shuttingDown;
+
+    /**
+     * Constructor of the ActuatorCommandService class.
+     *
+     * @param actuatorRepository          the repository of the actuators.
+     * @param deviceRepository            the repository of the devices.
+     * @param actuatorStateRepository     the repository the applied actuator states are written to.
+     * @param actuatorCommandExecutor     the executor the commands are applied on.
+     * @param actuatorStateFlushScheduler the scheduler of the batched writes of the applied states.
+     * @param actuatorStateFlushInterval  the time applied states are gathered before they are written.
+     */
+    public ActuatorCommandService(
+            ActuatorRepository actuatorRepository,
+            DeviceRepository deviceRepository,
+            ActuatorStateRepository actuatorStateRepository,
+            @Qualifier("actuatorCommandExecutor") Executor actuatorCommandExecutor,
+            @Qualifier("actuatorStateFlushScheduler") ScheduledExecutorService actuatorStateFlushScheduler,
+            @Qualifier("actuatorStateFlushInterval") Duration actuatorStateFlushInterval
+    ) {
+        this.actuatorRepository = actuatorRepository;
+        this.deviceRepository = deviceRepository;
+        this.actuatorStateRepository = actuatorStateRepository;
+        this.actuatorCommandExecutor = actuatorCommandExecutor;
+        this.actuatorStateFlushScheduler = actuatorStateFlushScheduler;
+        this.actuatorStateFlushInterval = actuatorStateFlushInterval;
+    }
+
+    /**
+     * Queues a command setting an actuator to a value and returns without waiting for it to be applied.
+     * The value is checked against the actuator when the command is applied, not here.
+     *
+     * @param actuatorID The unique identifier of the actuator.
+     * @param value      The value to set the actuator to.
+     * @return The ActuatorCommandID to poll the progress of the command with.
+     * @throws ActuatorNotFoundException if the actuator does not exist.
+     * @throws IllegalArgumentException  if the value is not a number.
+     */
+    public ActuatorCommandID enqueueCommand(ActuatorID actuatorID, double value) {
+        if (Double.isNaN(value))
+            throw new IllegalArgumentException("Actuator command value must be a number");
+        if (!actuatorRepository.containsEntityByID(actuatorID))
+            throw new ActuatorNotFoundException();
+
+        ActuatorCommand command = new ActuatorCommand(new ActuatorCommandID(UUID.randomUUID().toString()), actuatorID, value);
+        commands.put(command.commandID, command);
+
+        ActuatorCommand superseded = pendingCommands.put(actuatorID, command);
+        if (superseded != null)
+            finish(superseded, ActuatorCommandStatus.SUPERSEDED);
+
+        if (drainingActuators.add(actuatorID))
+            actuatorCommandExecutor.execute(() -> drain(actuatorID));
+
+        return command.commandID;
+    }
+
+    /**
+     * Finds the progress of a queued command.
+     *
+     * @param commandID The unique identifier of the command.
+     * @return Optional with the command, empty if it is unknown or finished too long ago to be kept.
+     */
+    public Optional<InternalActuatorCommandDTO> findCommand(ActuatorCommandID commandID) {
+        ActuatorCommand command = commands.get(commandID);
+        if (command == null)
+            return Optional.empty();
+        return Optional.of(new InternalActuatorCommandDTO(command.commandID, command.actuatorID, command.value, command.status));
+    }
+
+    /**
+     * Writes the applied states gathered since the last write to the repository as one batch. If the write fails, the
+     * states are kept, unless a newer one of the same actuator arrived meanwhile, and written with the next batch.
+     */
+    public void flushAppliedStates() {
+        flushScheduled.set(false);
+        if (!writeUnsavedStates())
+            scheduleFlush();
+    }
+
+    /**
+     * Stops the service: lets the command executor apply the commands already queued, waiting for it for at most
+     * {@link #SHUTDOWN_TIMEOUT}, and then writes the states left unsaved once, without scheduling another write.
+     */
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        if (actuatorCommandExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+            try {
+                if (!executorService.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS))
+                    LOGGER.warn("Actuator commands were still being applied after {}", SHUTDOWN_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!writeUnsavedStates())
+            LOGGER.error("Could not write {} actuator states on shutdown", unsavedStates.size());
+    }
+
+    /**
+     * Writes the applied states gathered since the last write to the repository as one batch. If the write fails, the
+     * states are put back, unless a newer one of the same actuator arrived meanwhile.
+     *
+     * @return false if the write failed, true otherwise.
+     */
+    private boolean writeUnsavedStates() {
+        List<ActuatorState> states = new ArrayList<>();
+        for (ActuatorID actuatorID : unsavedStates.keySet()) {
+            ActuatorState state = unsavedStates.remove(actuatorID);
+            if (state != null)
+                states.add(state);
+        }
+        if (states.isEmpty())
+            return true;
+
+        try {
+            actuatorStateRepository.saveAll(states);
+            return true;
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not write {} actuator states", states.size(), e);
+            for (ActuatorState state : states) {
+                unsavedStates.putIfAbsent(state.getActuatorID(), state);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Applies the pending commands of an actuator until none is left. Only one worker drains an actuator at a time; a
+     * command queued while the worker is giving the actuator up is picked up again by the same worker.
+     *
+     * @param actuatorID The unique identifier of the actuator.
+     */
+    private void drain(ActuatorID actuatorID) {
+        while (true) {
+            ActuatorCommand command = pendingCommands.remove(actuatorID);
+            if (command != null) {
+                apply(command);
+                continue;
+            }
+            drainingActuators.remove(actuatorID);
+            if (!pendingCommands.containsKey(actuatorID) || !drainingActuators.add(actuatorID))
+                return;
+        }
+    }
+
+    /**
+     * Applies a command to its actuator and gathers the resulting state for the next batched write.
+     *
+     * @param command The command to apply.
+     */
+    private void apply(ActuatorCommand command) {
+        try {
+            Optional<Actuator> actuator = actuatorRepository.findEntityByID(command.actuatorID);
+            OptionalDouble appliedValue = actuator.isPresent() && isDeviceActive(actuator.get())
+                    ? appliedValue(actuator.get(), command.value)
+                    : OptionalDouble.empty();
+
+            if (appliedValue.isEmpty()) {
+                finish(command, ActuatorCommandStatus.REJECTED);
+                return;
+            }
+            unsavedStates.put(command.actuatorID, new ActuatorState(command.actuatorID, appliedValue.getAsDouble(),
+                    command.commandID, new Timestamp(System.currentTimeMillis())));
+            scheduleFlush();
+            finish(command, ActuatorCommandStatus.APPLIED);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not apply command {} to actuator {}", command.commandID, command.actuatorID, e);
+            finish(command, ActuatorCommandStatus.FAILED);
+        }
+    }
+
+    /**
+     * Checks that the device an actuator belongs to exists and is active.
+     *
+     * @param actuator The actuator.
+     * @return true if the device is active, false otherwise.
+     */
+    private boolean isDeviceActive(Actuator actuator) {
+        return deviceRepository.findEntityByID(actuator.getDeviceName()).map(Device::isActive).orElse(false);
+    }
+
+    /**
+     * Sets an actuator to a value. Integer actuators only accept whole values, and decimal setters round the value to
+     * their precision.
+     *
+     * @param actuator The actuator.
+     * @param value    The value to set the actuator to.
+     * @return The value the actuator was set to, empty if the actuator refused it.
+     */
+    private static OptionalDouble appliedValue(Actuator actuator, double value) {
+        if (actuator instanceof ActuatorSpecificDecimal decimalActuator) {
+            if (!decimalActuator.setDecimalValue(value))
+                return OptionalDouble.empty();
+            if (actuator instanceof DecimalSetterActuator decimalSetter)
+                return OptionalDouble.of(decimalSetter.getActuatorTarget().getTargetValue());
+            return OptionalDouble.of(value);
+        }
+        if (actuator instanceof ActuatorSpecificInteger integerActuator) {
+            if (value != Math.rint(value) || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+                return OptionalDouble.empty();
+            return integerActuator.setActuatorSpecificValue((int) value) ? OptionalDouble.of(value) : OptionalDouble.empty();
+        }
+        return OptionalDouble.empty();
+    }
+
+    /**
+     * Schedules a write of the unsaved states after the flush interval, unless one is already scheduled or the service
+     * is shutting down, in which case they are written by {@link #shutdown()}.
+     */
+    private void scheduleFlush() {
+        if (!shuttingDown && flushScheduled.compareAndSet(false, true))
+            actuatorStateFlushScheduler.schedule(this::flushAppliedStates, actuatorStateFlushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records the final status of a command, forgetting the oldest finished command once more than
+     * {@link #MAX_RETAINED_COMMANDS} are kept.
+     *
+     * @param command The finished command.
+     * @param status  The final status of the command.
+     */
+    private void finish(ActuatorCommand command, ActuatorCommandStatus status) {
+        command.status = status;
+        finishedCommands.add(command.commandID);
+        if (finishedCommandCount.incrementAndGet() > MAX_RETAINED_COMMANDS) {
+            ActuatorCommandID oldest = finishedCommands.poll();
+            if (oldest != null) {
+                commands.remove(oldest);
+                finishedCommandCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * A command queued for an actuator and its progress.
+     */
+    private static final class ActuatorCommand {
+        private final ActuatorCommandID commandID;
+        private final ActuatorID actuatorID;
+        private final double value;
+        private volatile ActuatorCommandStatus status = ActuatorCommandStatus.PENDING;
+
+        private ActuatorCommand(ActuatorCommandID commandID, ActuatorID actuatorID, double value) {
+            this.commandID = commandID;
+            this.actuatorID = actuatorID;
+            this.value = value;
+        }
+    }
+}
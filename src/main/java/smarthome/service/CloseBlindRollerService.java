@@ -6,12 +6,27 @@ import smarthome.domain.actuators.BlindSetterActuator;
 import smarthome.domain.device.Device;
 import smarthome.domain.repository.ActuatorRepository;
 import smarthome.domain.repository.DeviceRepository;
+import smarthome.domain.repository.HouseRepository;
+import smarthome.domain.repository.RoomRepository;
+import smarthome.domain.repository.TopologyRepository;
+import smarthome.domain.repository.TopologyRepository.ActuatorTarget;
+import smarthome.domain.room.Room;
+import smarthome.domain.valueobjects.ActuatorCommandID;
 import smarthome.domain.valueobjects.ActuatorFunctionalityID;
+import smarthome.domain.valueobjects.ActuatorID;
+import smarthome.domain.valueobjects.ActuatorState;
 import smarthome.domain.valueobjects.DeviceID;
+import smarthome.domain.valueobjects.DeviceStatus;
+import smarthome.domain.valueobjects.HouseID;
 import smarthome.domain.valueobjects.RoomID;
+import smarthome.persistence.repositoriesmem.ActuatorStateRepository;
 import smarthome.util.exceptions.DeviceNotFoundException;
+import smarthome.util.exceptions.HouseNotFoundException;
+import smarthome.util.exceptions.RoomNotFoundException;
 
+import java.sql.Timestamp;
 import java.util.*;
+import java.util.function.Predicate;
 
 @Service
 public class CloseBlindRollerService {
@@ -26,50 +41,149 @@ public class CloseBlindRollerService {
     private DeviceRepository deviceRepository;
 
     /**
-     * Constructor of DeviceService objects with the given factory, device repository and room repository.
+     * Repository used for finding the actuators of a functionality along with their devices.
+     */
+    private TopologyRepository topologyRepository;
+
+    /**
+     * Repository used for storing room objects.
+     */
+    private RoomRepository roomRepository;
+
+    /**
+     * Repository used for storing house objects.
+     */
+    private HouseRepository houseRepository;
+
+    /**
+     * Repository the close percentages set on the blind setter actuators are written to.
+     */
+    private ActuatorStateRepository actuatorStateRepository;
+
+    /**
+     * Constructor of CloseBlindRollerService objects with the given repositories.
      *
      * @param actuatorRepository valid instance of class used for persisting instances of actuator.
      * @param deviceRepository valid instance of class used for persisting instances of device.
+     * @param topologyRepository valid instance of class used for finding the actuators of a functionality.
+     * @param roomRepository valid instance of class used for persisting instances of room.
+     * @param houseRepository valid instance of class used for persisting the instance of house.
+     * @param actuatorStateRepository valid instance of class used for persisting the states of actuators.
      */
-    public CloseBlindRollerService(ActuatorRepository actuatorRepository, DeviceRepository deviceRepository) {
+    public CloseBlindRollerService(ActuatorRepository actuatorRepository, DeviceRepository deviceRepository,
+                                   TopologyRepository topologyRepository, RoomRepository roomRepository,
+                                   HouseRepository houseRepository, ActuatorStateRepository actuatorStateRepository) {
         this.actuatorRepository = actuatorRepository;
         this.deviceRepository = deviceRepository;
+        this.topologyRepository = topologyRepository;
+        this.roomRepository = roomRepository;
+        this.houseRepository = houseRepository;
+        this.actuatorStateRepository = actuatorStateRepository;
     }
 
     /**
      * Method to obtain a map of DeviceID and RoomID according to the functionality of the actuator.
+     * The actuators are found along with their devices in a single query, and only active devices are kept.
      *
      * @param actuatorFunctionalityID The functionality of the actuator.
      * @return A map of DeviceID and RoomID according to the functionality of the actuator.
      */
     public Map<DeviceID, RoomID> getMapOfDeviceIDAndRoomIDAccordingToFunctionality(ActuatorFunctionalityID actuatorFunctionalityID) {
-        Iterable<Actuator> actuatorsWithBlindSetterFunctionality = actuatorRepository.findByActuatorFunctionalityID(actuatorFunctionalityID);
+        Map<DeviceID, RoomID> deviceIDRoomIDMap = new LinkedHashMap<>();
+        for (ActuatorTarget target : topologyRepository.findActuatorTargets(actuatorFunctionalityID)) {
+            if (target.deviceStatus() == DeviceStatus.ACTIVE)
+                deviceIDRoomIDMap.put(target.actuator().getDeviceName(), target.roomID());
+        }
+        return deviceIDRoomIDMap;
+    }
 
+    /**
+     * Sets the close percentage of every blind roller in a room.
+     *
+     * @param roomID                  The unique identifier of the room.
+     * @param actuatorFunctionalityID The functionality of the blind setter actuators.
+     * @param percentage              The close percentage to set.
+     * @return A map of the DeviceID of each blind roller in the room and whether its percentage was set.
+     * @throws RoomNotFoundException if the room is not found in the repository.
+     */
+    public Map<DeviceID, Boolean> setActuatorStateOfBlindRollersInRoom(RoomID roomID,
+                                                                       ActuatorFunctionalityID actuatorFunctionalityID,
+                                                                       int percentage) {
+        if (!roomRepository.containsEntityByID(roomID))
+            throw new RoomNotFoundException();
+        return setActuatorStateOfBlindRollers(actuatorFunctionalityID, percentage, roomID::equals);
+    }
 
-        //If the iterable has no entities, return an empty map
-        if (!actuatorsWithBlindSetterFunctionality.iterator().hasNext()) {
-            return Collections.emptyMap();
-        }
+    /**
+     * Sets the close percentage of every blind roller in the rooms of the house.
+     *
+     * @param houseID                 The unique identifier of the house.
+     * @param actuatorFunctionalityID The functionality of the blind setter actuators.
+     * @param percentage              The close percentage to set.
+     * @return A map of the DeviceID of each blind roller in the house and whether its percentage was set.
+     * @throws HouseNotFoundException if the house is not found in the repository.
+     */
+    public Map<DeviceID, Boolean> setActuatorStateOfBlindRollersInHouse(HouseID houseID,
+                                                                        ActuatorFunctionalityID actuatorFunctionalityID,
+                                                                        int percentage) {
+        if (!houseRepository.containsEntityByID(houseID))
+            throw new HouseNotFoundException();
+        Set<RoomID> roomsOfHouse = new HashSet<>();
+        for (Room room : roomRepository.findByHouseID(houseID))
+            roomsOfHouse.add(room.identity());
+        return setActuatorStateOfBlindRollers(actuatorFunctionalityID, percentage, roomsOfHouse::contains);
+    }
 
-        //Create a map to store the DeviceID and RoomID
-        Map<DeviceID, RoomID> deviceIDRoomIDMap = new LinkedHashMap<>();
-        List<Device> listDevices = new ArrayList<>();
-
-        //Iterate through the list of actuators with blind setter functionality to get the correspondent deviceID
-        for (Actuator actuator : actuatorsWithBlindSetterFunctionality) {
-            DeviceID deviceID = actuator.getDeviceName();
-            Optional<Device> deviceOptional = deviceRepository.findEntityByID(deviceID);
-            //If the device is present and active, add it to the list of devices
-            if (deviceOptional.isPresent() && deviceOptional.get().isActive())
-                listDevices.add(deviceOptional.get());
-            //Iterate through the list of devices to get the correspondent RoomID
-            for (Device device : listDevices) {
-                RoomID roomID = device.getRoomID();
-                //Add the DeviceID and RoomID to the map
-                deviceIDRoomIDMap.put(deviceID, roomID);
-            }
+    /**
+     * Sets the close percentage of the blind setter actuators in the chosen rooms, found in a single query.
+     * A device is set only if it is active and all its blind setter actuators accept the percentage; the percentage
+     * of every device that was set is then written to the actuator state repository as one batch.
+     *
+     * @param actuatorFunctionalityID The functionality of the blind setter actuators.
+     * @param percentage              The close percentage to set.
+     * @param isChosenRoom            Whether the devices of a room are to be set.
+     * @return A map of the DeviceID of each blind roller in the chosen rooms and whether its percentage was set.
+     */
+    private Map<DeviceID, Boolean> setActuatorStateOfBlindRollers(ActuatorFunctionalityID actuatorFunctionalityID,
+                                                                  int percentage,
+                                                                  Predicate<RoomID> isChosenRoom) {
+        Map<DeviceID, Boolean> results = new LinkedHashMap<>();
+        Map<DeviceID, List<ActuatorID>> actuatorsOfDevices = new HashMap<>();
+        for (ActuatorTarget target : topologyRepository.findActuatorTargets(actuatorFunctionalityID)) {
+            if (!isChosenRoom.test(target.roomID()))
+                continue;
+            DeviceID deviceID = target.actuator().getDeviceName();
+            boolean isSet = target.deviceStatus() == DeviceStatus.ACTIVE
+                    && target.actuator() instanceof BlindSetterActuator blindSetterActuator
+                    && blindSetterActuator.setActuatorSpecificValue(percentage);
+            results.merge(deviceID, isSet, Boolean::logicalAnd);
+            actuatorsOfDevices.computeIfAbsent(deviceID, id -> new ArrayList<>()).add(target.actuator().identity());
         }
-        return deviceIDRoomIDMap;
+
+        List<ActuatorID> setActuators = new ArrayList<>();
+        results.forEach((deviceID, isSet) -> {
+            if (isSet)
+                setActuators.addAll(actuatorsOfDevices.get(deviceID));
+        });
+        saveStates(setActuators, percentage);
+        return results;
+    }
+
+    /**
+     * Writes the close percentage set on blind setter actuators to the actuator state repository as one batch.
+     *
+     * @param actuatorIDs The unique identifiers of the actuators the percentage was set on.
+     * @param percentage  The close percentage that was set.
+     */
+    private void saveStates(List<ActuatorID> actuatorIDs, int percentage) {
+        if (actuatorIDs.isEmpty())
+            return;
+        ActuatorCommandID commandID = new ActuatorCommandID(UUID.randomUUID().toString());
+        Timestamp appliedAt = new Timestamp(System.currentTimeMillis());
+        List<ActuatorState> states = new ArrayList<>();
+        for (ActuatorID actuatorID : actuatorIDs)
+            states.add(new ActuatorState(actuatorID, percentage, commandID, appliedAt));
+        actuatorStateRepository.saveAll(states);
     }
 
     /**
@@ -89,7 +203,8 @@ public class CloseBlindRollerService {
     }
 
     /**
-     * Method to get the BlindSetterActuator from the device and change its status.
+     * Method to get the BlindSetterActuator from the device and change its status, writing the close percentage to the
+     * actuator state repository if it was set.
      *
      * @param deviceID              The unique identifier of the device to deactivate.
      * @return {@code true} if the BlindSetterActuator was found and the status was changed,
@@ -107,6 +222,9 @@ public class CloseBlindRollerService {
             return false;
         Actuator actuator = actuatorsOfDevice.iterator().next();
         BlindSetterActuator blindSetterActuator = (BlindSetterActuator) actuator;
-        return blindSetterActuator.setActuatorSpecificValue(percentage);
+        if (!blindSetterActuator.setActuatorSpecificValue(percentage))
+            return false;
+        saveStates(List.of(actuator.identity()), percentage);
+        return true;
     }
 }
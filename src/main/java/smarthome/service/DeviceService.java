@@ -4,9 +4,9 @@ import org.springframework.stereotype.Service;
 import smarthome.domain.device.Device;
 import smarthome.domain.device.FactoryDevice;
 import smarthome.domain.repository.DeviceRepository;
+import smarthome.domain.repository.DeviceRepository.DeviceSummary;
 import smarthome.domain.repository.HouseRepository;
 import smarthome.domain.repository.RoomRepository;
-import smarthome.domain.room.Room;
 import smarthome.domain.valueobjects.DeviceID;
 import smarthome.domain.valueobjects.DeviceModel;
 import smarthome.domain.valueobjects.HouseID;
@@ -89,22 +89,19 @@ public class DeviceService {
 
     /**
      * Deactivates the device specified by the provided DeviceID.
-     * If the deviceID is found in the device repository, it is deactivated, and the repository is updated.
+     * If the deviceID is found in the device repository, it is deactivated, and the repository is updated, applying the
+     * deactivation again if the device was changed concurrently.
      *
      * @param deviceID The unique identifier of the device to deactivate.
      * @return {@code true} if the device was successfully deactivated and updated in the repository,
      * {@code false} otherwise.
      */
     public boolean deactivateDevice(DeviceID deviceID) {
-        //Find device with that ID
-        Device device = deviceRepository.findEntityByID(deviceID).orElse(null);
-        if (device == null)
-            throw new DeviceNotFoundException();
-        //Deactivate device
-        if (device.deactivate()) {
-            deviceRepository.update(device);
+        //Deactivate the stored device, leaving it as is if it was already deactivated
+        if (deviceRepository.update(deviceID, device -> device.deactivate() ? device : null).isPresent())
             return true;
-        }
+        if (!deviceRepository.containsEntityByID(deviceID))
+            throw new DeviceNotFoundException();
         return false;
     }
 
@@ -150,6 +147,7 @@ public class DeviceService {
 
     /**
      * Get the list of devices in a house.
+     * The devices are found joined to the rooms of the house in a single query, straight into their summaries.
      *
      * @param houseID the ID of the house to get the list of devices from.
      * @return a list of devices DTO in the house.
@@ -159,15 +157,10 @@ public class DeviceService {
             throw new HouseNotFoundException();
 
         List<InternalDeviceDTO> listOfDevicesInHouse = new ArrayList<>();
-        // Iterate over all rooms of a house
-        for(Room room : roomRepository.findByHouseID(houseID)) {
-            // For each room, get all devices and add them to the list
-            for(Device device : deviceRepository.findByRoomID(room.identity())) {
-                InternalDeviceDTO internalDeviceDTO = new InternalDeviceDTO(device.identity(), device.getDeviceModel(),
-                        device.getDeviceStatus(), device.getRoomID());
-                listOfDevicesInHouse.add(internalDeviceDTO);
-            }
+        for(DeviceSummary summary : deviceRepository.findDeviceSummariesByHouseID(houseID)) {
+            listOfDevicesInHouse.add(new InternalDeviceDTO(summary.deviceID(), summary.deviceModel(),
+                    summary.deviceStatus(), summary.roomID()));
         }
         return listOfDevicesInHouse;
     }
-}
\ No newline at end of file
+}
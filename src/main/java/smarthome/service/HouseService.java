@@ -76,14 +76,10 @@ public class HouseService {
      * @return the created instance of object Location.
      */
     public Location editLocation(HouseID houseID, Address address, GPSCode gpsCode) {
-        House house = houseRepository.findEntityByID(houseID).orElse(null);
-        if (house == null) {
-            return null;
-        }
-        Location location = house.editLocation(address, gpsCode);
-        //Saves the House with the new configured Location and return true after updating with success
-        houseRepository.update(house);
-        return location;
+        //Edits the Location of the stored House and saves it, editing it again if the House was changed concurrently
+        return houseRepository.update(houseID, house -> house.editLocation(address, gpsCode) != null ? house : null)
+                .map(House::getHouseLocation)
+                .orElse(null);
     }
 
     /**
@@ -5,10 +5,11 @@ import smarthome.domain.value.InstantTimeValue;
 import smarthome.domain.value.Value;
 import smarthome.domain.valueobjects.SensorID;
 import smarthome.persistence.repositoriesmem.InstantTimeValueRepository;
-import smarthome.util.ConfigScraper;
-import smarthome.util.PropertyLoader;
+import smarthome.util.GeneralPropertiesProvider;
 
 import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 @Component
@@ -19,28 +20,25 @@ public class MaxTempDifOutsideInsideService {
     private InstantTimeValueRepository valueRepository;
 
     /**
-     * ConfigScraper object to read configuration properties.
+     * Provider of the general properties of the application.
      */
-    private final ConfigScraper configScraper;
-
-    /**
-     * A constant string indicating the path to the configuration properties file
-     */
-    private static final String CONFIG_PROPERTIES = "config/general.properties";
+    private final GeneralPropertiesProvider generalPropertiesProvider;
 
     /**
      *
      * Constructor for MaxTempDifOutsideInside object.
      */
-    public MaxTempDifOutsideInsideService(InstantTimeValueRepository valueRepository)
+    public MaxTempDifOutsideInsideService(InstantTimeValueRepository valueRepository,
+                                          GeneralPropertiesProvider generalPropertiesProvider)
     {
         this.valueRepository = valueRepository;
-        PropertyLoader propertyLoader = new PropertyLoader();
-        this.configScraper = new ConfigScraper(CONFIG_PROPERTIES, propertyLoader);
+        this.generalPropertiesProvider = generalPropertiesProvider;
     }
 
     /**
      * Calculates the maximum temperature difference between an inside sensor and the closest outside sensor readings within a given time range.
+     * Only the readings of the period are requested from the repository, the outside ones padded by the tolerance so
+     * readings near the edges can still be matched.
      *
      * @param insideSensorID The ID of the inside sensor for which to calculate the temperature difference.
      * @param outsideSensorID The ID of the outside sensor for which to calculate the temperature difference.
@@ -51,54 +49,114 @@ public class MaxTempDifOutsideInsideService {
     public double getMaxTemperatureDifference(SensorID insideSensorID, SensorID outsideSensorID,
                                               Timestamp startTime, Timestamp  endTime) {
 
-        // Retrieve temperature readings for inside and outside sensors
-        List<Value> insideValues = valueRepository.findBySensorId(insideSensorID);
-        List<Value> outsideValues = valueRepository.findBySensorId(outsideSensorID);
+        // Tolerance (in milliseconds) for an outside reading to be matched with an inside reading
+        long tolerance = generalPropertiesProvider.current().getTolerance();
+        long start = startTime.getTime();
+        long end = endTime.getTime();
 
-        // Variables to store maximum temperature difference and corresponding timestamps
-        double maxDifference = -1;
+        // Retrieve temperature readings for inside and outside sensors. Repositories differ on whether the bounds are
+        // inclusive, so the window is widened by a millisecond and the exact bounds are applied when matching.
+        List<Value> insideValues = valueRepository.findBySensorIdBetweenPeriodOfTime(insideSensorID,
+                new Timestamp(start - 1), new Timestamp(end + 1));
+        List<Value> outsideValues = valueRepository.findBySensorIdBetweenPeriodOfTime(outsideSensorID,
+                new Timestamp(start - tolerance - 1), new Timestamp(end + tolerance + 1));
+
+        return maxTemperatureDifference(insideValues, outsideValues, start, end, tolerance);
+    }
+
+    /**
+     * Calculates the maximum difference between the inside readings taken in a period and the outside reading closest
+     * to each of them, within a tolerance. On a tie the later outside reading is used.
+     * <p>
+     * Both series are read into primitive arrays sorted by time and merged with two pointers: as inside readings are
+     * visited in time order the first outside reading not before them only moves forward, so the cost is linear in
+     * the number of readings.
+     *
+     * @param insideValues  InstantTimeValue objects of the inside sensor.
+     * @param outsideValues InstantTimeValue objects of the outside sensor.
+     * @param start         start of the period in milliseconds, inclusive.
+     * @param end           end of the period in milliseconds, inclusive.
+     * @param tolerance     maximum time between matched readings in milliseconds.
+     * @return the maximum temperature difference, or -1 if no inside reading of the period has an outside match.
+     */
+    static double maxTemperatureDifference(List<Value> insideValues, List<Value> outsideValues,
+                                           long start, long end, long tolerance) {
+        TimedTemperatures inside = TimedTemperatures.sorted(insideValues);
+        TimedTemperatures outside = TimedTemperatures.sorted(outsideValues);
 
-        // Iterate through the temperature readings
-        for (Value value : insideValues) {
-            // Cast it to InstantValue and retrieve the reading instant
-            long insideTimestamp = ((InstantTimeValue) value).getInstantTimeReading().getTime();
-            if (insideTimestamp < startTime.getTime() || insideTimestamp > endTime.getTime()) {
+        double maxDifference = -1;
+        int next = 0;
+        for (int i = 0; i < inside.times.length; i++) {
+            long insideTimestamp = inside.times[i];
+            if (insideTimestamp < start || insideTimestamp > end)
                 continue;
-            }
 
-            // Find the closest outside temperature reading within tolerance
-            String valueString = value.getReading().getMeasurement();
-            double insideTemperature = (Double.parseDouble(valueString));
-            double outsideTemperature = findClosestTemperature(outsideValues, insideTimestamp);
+            // First outside reading taken at or after the inside reading; the closest one is either it or the one before
+            while (next < outside.times.length && outside.times[next] < insideTimestamp)
+                next++;
 
-            // Calculate temperature difference
-            double difference = Math.abs(insideTemperature - outsideTemperature);
+            int closest = -1;
+            long closestDistance = Long.MAX_VALUE;
+            if (next > 0) {
+                closest = next - 1;
+                closestDistance = insideTimestamp - outside.times[next - 1];
+            }
+            if (next < outside.times.length && outside.times[next] - insideTimestamp <= closestDistance) {
+                closest = next;
+                closestDistance = outside.times[next] - insideTimestamp;
+            }
+            if (closest < 0 || closestDistance > tolerance)
+                continue;
 
-            // Update maximum temperature difference if necessary
+            double difference = Math.abs(inside.temperatures[i] - outside.temperatures[closest]);
             if (difference > maxDifference) {
                 maxDifference = difference;
             }
         }
-
         return maxDifference;
     }
 
     /**
-     * Finds the closest temperature reading to a given timestamp within a tolerance from a list of temperature values.
-     *
-     * @param values    The list of temperature values.
-     * @param timestamp The timestamp for which to find the closest temperature reading.
-     * @return The temperature value closest to the given timestamp within the specified tolerance.
+     * Parallel arrays of reading times in milliseconds and temperatures, sorted by time.
      */
-    private double findClosestTemperature(List<Value> values, long timestamp) {
-        double closestTemperature = Double.NaN;
+    private static final class TimedTemperatures {
+        private final long[] times;
+        private final double[] temperatures;
 
-        for (Value value : values) {
-            long currentTimestampDiff = Math.abs((((InstantTimeValue) value).getInstantTimeReading().getTime() - timestamp));
-            if (currentTimestampDiff <= Long.parseLong(configScraper.loadTolerance())) {
-                closestTemperature = Double.parseDouble((value).getReading().getMeasurement());
+        private TimedTemperatures(long[] times, double[] temperatures) {
+            this.times = times;
+            this.temperatures = temperatures;
+        }
+
+        /**
+         * Reads the times and temperatures of the readings. Repositories usually return readings in time order, so
+         * they are only sorted when found out of order.
+         */
+        private static TimedTemperatures sorted(List<Value> values) {
+            long[] times = new long[values.size()];
+            double[] temperatures = new double[values.size()];
+            boolean inOrder = true;
+            int i = 0;
+            for (Value value : values) {
+                times[i] = ((InstantTimeValue) value).getInstantTimeReading().getTime();
+                temperatures[i] = value.getReading().getNumericMeasurement();
+                inOrder &= i == 0 || times[i - 1] <= times[i];
+                i++;
+            }
+            if (inOrder)
+                return new TimedTemperatures(times, temperatures);
+
+            Integer[] order = new Integer[times.length];
+            for (int j = 0; j < order.length; j++)
+                order[j] = j;
+            Arrays.sort(order, Comparator.comparingLong(j -> times[j]));
+            long[] sortedTimes = new long[times.length];
+            double[] sortedTemperatures = new double[times.length];
+            for (int j = 0; j < order.length; j++) {
+                sortedTimes[j] = times[order[j]];
+                sortedTemperatures[j] = temperatures[order[j]];
             }
+            return new TimedTemperatures(sortedTimes, sortedTemperatures);
         }
-        return closestTemperature;
     }
 }
@@ -0,0 +1,141 @@
+package smarthome.service;
+
+import smarthome.domain.value.InstantTimeValue;
+import smarthome.domain.value.PeriodTimeValue;
+import smarthome.domain.value.Value;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calculates the peak power consumption of the house from the grid power meter readings and the power source readings.
+ * Instant power consumption is the consumption of a grid power meter reading plus the consumption of every power source
+ * reading taken in the "instant" that ends with the grid reading, i.e. between its end time minus the tolerance and its
+ * end time, both inclusive.
+ * <p>
+ * Readings are sorted once into primitive arrays and swept with two pointers: the instants all have the same length, so
+ * as grid readings are visited in end time order both edges of the instant only move forward.
+ */
+class PeakPowerCalculator {
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /**
+     * Length of an "instant" in milliseconds.
+     */
+    private final long toleranceMillis;
+
+    /**
+     * Constructor for PeakPowerCalculator.
+     *
+     * @param toleranceMillis length of an "instant" in milliseconds (the grid power meter cadence).
+     */
+    PeakPowerCalculator(long toleranceMillis) {
+        this.toleranceMillis = toleranceMillis;
+    }
+
+    /**
+     * Calculates the peak power consumption.
+     *
+     * @param gridValues        List of PeriodTimeValue objects with the consumption of the grid power meter.
+     * @param powerSourceValues For each power source device, its InstantTimeValue objects by timestamp.
+     * @return the maximum instant power consumption, or 0 if no instant consumes more than that.
+     */
+    double calculate(List<Value> gridValues, Collection<Map<Timestamp, InstantTimeValue>> powerSourceValues) {
+        TimedMeasurements grid = gridMeasurements(gridValues);
+        TimedMeasurements sources = powerSourceMeasurements(powerSourceValues);
+
+        double peakPowerConsumption = 0.0;
+        int first = 0;
+        int last = 0;
+        for (int i = 0; i < grid.size(); i++) {
+            long instantEnd = grid.times[i];
+            long instantStart = (Math.floorDiv(instantEnd, NANOS_PER_MILLI) - toleranceMillis) * NANOS_PER_MILLI;
+
+            while (last < sources.size() && sources.times[last] <= instantEnd)
+                last++;
+            while (first < last && sources.times[first] < instantStart)
+                first++;
+
+            double totalConsumption = grid.measurements[i];
+            for (int j = first; j < last; j++)
+                totalConsumption += sources.measurements[j];
+
+            peakPowerConsumption = Math.max(peakPowerConsumption, totalConsumption);
+        }
+        return peakPowerConsumption;
+    }
+
+    /**
+     * Extracts the end times and measurements of the grid readings, sorted by end time.
+     */
+    private TimedMeasurements gridMeasurements(List<Value> gridValues) {
+        List<TimedMeasurement> measurements = new ArrayList<>(gridValues.size());
+        for (Value value : gridValues) {
+            PeriodTimeValue periodTimeValue = (PeriodTimeValue) value;
+            measurements.add(new TimedMeasurement(toNanos(periodTimeValue.getEndTimeReading()),
+                    periodTimeValue.getReading().getNumericMeasurement()));
+        }
+        return TimedMeasurements.sorted(measurements);
+    }
+
+    /**
+     * Extracts the times and measurements of the readings of every power source, sorted by time.
+     */
+    private TimedMeasurements powerSourceMeasurements(Collection<Map<Timestamp, InstantTimeValue>> powerSourceValues) {
+        List<TimedMeasurement> measurements = new ArrayList<>();
+        for (Map<Timestamp, InstantTimeValue> valuesOfDevice : powerSourceValues) {
+            for (Map.Entry<Timestamp, InstantTimeValue> entry : valuesOfDevice.entrySet()) {
+                measurements.add(new TimedMeasurement(toNanos(entry.getKey()),
+                        entry.getValue().getReading().getNumericMeasurement()));
+            }
+        }
+        return TimedMeasurements.sorted(measurements);
+    }
+
+    /**
+     * Converts a Timestamp to nanoseconds since the epoch, keeping its sub-millisecond precision so instant edges are
+     * compared exactly as Timestamp.before and Timestamp.after would.
+     */
+    private static long toNanos(Timestamp timestamp) {
+        return Math.floorDiv(timestamp.getTime(), 1000L) * 1000L * NANOS_PER_MILLI + timestamp.getNanos();
+    }
+
+    /**
+     * A measurement and the time it refers to, used while sorting.
+     */
+    private record TimedMeasurement(long time, double measurement) {
+    }
+
+    /**
+     * Parallel arrays of times and measurements, sorted by time.
+     */
+    private static final class TimedMeasurements {
+        private final long[] times;
+        private final double[] measurements;
+
+        private TimedMeasurements(long[] times, double[] measurements) {
+            this.times = times;
+            this.measurements = measurements;
+        }
+
+        private static TimedMeasurements sorted(List<TimedMeasurement> timedMeasurements) {
+            timedMeasurements.sort(Comparator.comparingLong(TimedMeasurement::time));
+            long[] times = new long[timedMeasurements.size()];
+            double[] measurements = new double[timedMeasurements.size()];
+            for (int i = 0; i < times.length; i++) {
+                times[i] = timedMeasurements.get(i).time();
+                measurements[i] = timedMeasurements.get(i).measurement();
+            }
+            return new TimedMeasurements(times, measurements);
+        }
+
+        private int size() {
+            return times.length;
+        }
+    }
+}
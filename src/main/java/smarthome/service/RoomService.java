@@ -127,14 +127,13 @@ public class RoomService {
     public RoomID editRoomAndSave(RoomID roomID,
                                   RoomFloor roomFloor,
                                   RoomDimensions roomDimensions) {
-        // Get the room to edit from the roomID
-        final Room roomToEdit = roomRepository.findEntityByID(roomID).orElseThrow(RoomNotFoundException::new);
-
-        // Edit room
-        if (roomToEdit != null && roomToEdit.editRoom(roomFloor, roomDimensions) != null) {
-            roomRepository.save(roomToEdit);
-            return roomToEdit.identity();
-        }
+        // Edit the stored room, editing it again if it was changed concurrently
+        Optional<Room> editedRoom = roomRepository.update(roomID,
+                room -> room.editRoom(roomFloor, roomDimensions) != null ? room : null);
+        if (editedRoom.isPresent())
+            return editedRoom.get().identity();
+        if (!roomRepository.containsEntityByID(roomID))
+            throw new RoomNotFoundException();
         throw new RoomNotEditedException();
     }
 
@@ -0,0 +1,25 @@
+package smarthome.service;
+
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.SensorID;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Query that retrieves the values of a sensor recorded in a given period from the value repository matching the
+ * sensor's functionality.
+ */
+@FunctionalInterface
+public interface ValueQuery {
+
+    /**
+     * Retrieves the values of a sensor recorded between a start and end interval.
+     *
+     * @param sensorID      SensorID value object of the sensor
+     * @param startInterval Timestamp object that represents the start of the "given period"
+     * @param endInterval   Timestamp object that represents the end of the "given period"
+     * @return List<Value> of the values found. If no Values are found, an empty list is returned.
+     */
+    List<Value> find(SensorID sensorID, Timestamp startInterval, Timestamp endInterval);
+}
@@ -1,31 +1,56 @@
 package smarthome.service;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import smarthome.domain.repository.SensorFunctionalityRepository;
 import smarthome.domain.repository.SensorRepository;
+import smarthome.domain.repository.ValueRepository;
 import smarthome.domain.sensor.Sensor;
+import smarthome.domain.sensorfunctionality.SensorFunctionality;
+import smarthome.domain.value.ImpFactoryInstantTimeLocationValue;
+import smarthome.domain.value.ImpFactoryInstantTimeValue;
+import smarthome.domain.value.ImpFactoryPeriodTimeValue;
+import smarthome.domain.value.InstantTimeLocationValue;
 import smarthome.domain.value.InstantTimeValue;
 import smarthome.domain.value.PeriodTimeValue;
 import smarthome.domain.value.Value;
 import smarthome.domain.valueobjects.DeviceID;
 import smarthome.domain.valueobjects.Reading;
+import smarthome.domain.valueobjects.RollupResolution;
 import smarthome.domain.valueobjects.SensorFunctionalityID;
 import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueCursor;
+import smarthome.domain.valueobjects.ValueRollup;
 import smarthome.persistence.repositoriesmem.InstantTimeLocationValueRepository;
 import smarthome.persistence.repositoriesmem.InstantTimeValueRepository;
 import smarthome.persistence.repositoriesmem.PeriodTimeValueRepository;
-import smarthome.util.ConfigScraper;
-import smarthome.util.PropertyLoader;
+import smarthome.persistence.repositoriesmem.ValueRollupRepository;
+import smarthome.service.internaldto.InternalReadingDTO;
+import smarthome.service.internaldto.InternalReadingPageDTO;
+import smarthome.util.GeneralProperties;
+import smarthome.util.GeneralPropertiesProvider;
+import smarthome.util.exceptions.SensorFunctionalityNotListedException;
 import smarthome.util.exceptions.SensorNotFoundException;
 import smarthome.util.exceptions.ValueNotFoundException;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 public class ValueService {
@@ -52,38 +77,164 @@ public class ValueService {
     private InstantTimeLocationValueRepository instantTimeLocationValueRepository;
 
     /**
-     * A constant string indicating the path to the configuration general file
+     * Factory for creating InstantTimeValue objects.
      */
-    private static final String CONFIG_PROPERTIES = "config/general.properties";
+    private ImpFactoryInstantTimeValue factoryInstantTimeValue;
+    /**
+     * Factory for creating PeriodTimeValue objects.
+     */
+    private ImpFactoryPeriodTimeValue factoryPeriodTimeValue;
+    /**
+     * Factory for creating InstantTimeLocationValue objects.
+     */
+    private ImpFactoryInstantTimeLocationValue factoryInstantTimeLocationValue;
+
+    /**
+     * serviceRepoCall entries of config/config.properties, identifying the type of Value a sensor functionality produces.
+     */
+    private static final String INSTANT_VALUES = "listInstantValuesForSensorID";
+    private static final String PERIOD_VALUES = "listPeriodValuesForSensorID";
+    private static final String INSTANT_LOCATION_VALUES = "listInstantLocationValuesForSensorID";
+
+    /**
+     * Largest number of readings a page of the readings of a device may hold.
+     */
+    public static final int MAX_PAGE_LIMIT = 1000;
+
+    /**
+     * Bounds of the period the whole history of a sensor is read in when its rollups are backfilled: the range of the
+     * SQL TIMESTAMP columns the values are stored in.
+     */
+    private static final Timestamp FIRST_READING_TIME = Timestamp.from(Instant.parse("1970-01-01T00:00:01Z"));
+    private static final Timestamp LAST_READING_TIME = Timestamp.from(Instant.parse("2038-01-19T03:14:07Z"));
+
+    /**
+     * Query, repository and factory of the type of Value each sensor functionality produces.
+     * Compiled once from the serviceRepoCall entries of config/config.properties when the service is created.
+     */
+    private final Map<SensorFunctionalityID, ValueType> valueTypes;
+
+    /**
+     * Executor that runs the per-sensor range queries of a measurement listing. Its size bounds how many run at once.
+     */
+    private final Executor measurementFetchExecutor;
+
+    /**
+     * Wall-clock time of each measurement listing.
+     */
+    private final Timer listingWallTimer;
 
     /**
-     * ConfigScraper object to read configuration properties.
+     * Sum of the range query times of each measurement listing, i.e. the time the listing would take running them one
+     * after another.
      */
-    private final ConfigScraper configScraper;
+    private final Timer listingSummedQueryTimer;
+
+    /**
+     * Ratio between the summed range query time and the wall-clock time of each measurement listing.
+     */
+    private final DistributionSummary listingSpeedup;
+
+    /**
+     * Provider of the general properties of the application.
+     */
+    private final GeneralPropertiesProvider generalPropertiesProvider;
+
+    /**
+     * Repository for storing the rollups of the numeric readings of each sensor, updated as readings are ingested.
+     */
+    private final ValueRollupRepository valueRollupRepository;
 
     public ValueService(
             SensorRepository sensorRepository,
             SensorFunctionalityRepository sensorFunctionalityRepository,
             InstantTimeValueRepository instantTimeValueRepository,
             PeriodTimeValueRepository periodTimeValueRepository,
-            InstantTimeLocationValueRepository instantTimeLocationValueRepository
+            InstantTimeLocationValueRepository instantTimeLocationValueRepository,
+            ImpFactoryInstantTimeValue factoryInstantTimeValue,
+            ImpFactoryPeriodTimeValue factoryPeriodTimeValue,
+            ImpFactoryInstantTimeLocationValue factoryInstantTimeLocationValue,
+            @Qualifier("measurementFetchExecutor") Executor measurementFetchExecutor,
+            MeterRegistry meterRegistry,
+            GeneralPropertiesProvider generalPropertiesProvider,
+            ValueRollupRepository valueRollupRepository
     ) {
         this.sensorRepository = sensorRepository;
         this.sensorFunctionalityRepository = sensorFunctionalityRepository;
         this.instantTimeValueRepository = instantTimeValueRepository;
         this.periodTimeValueRepository = periodTimeValueRepository;
         this.instantTimeLocationValueRepository = instantTimeLocationValueRepository;
-        PropertyLoader propertyLoader = new PropertyLoader();
-        this.configScraper = new ConfigScraper(CONFIG_PROPERTIES, propertyLoader);
+        this.factoryInstantTimeValue = factoryInstantTimeValue;
+        this.factoryPeriodTimeValue = factoryPeriodTimeValue;
+        this.factoryInstantTimeLocationValue = factoryInstantTimeLocationValue;
+        this.generalPropertiesProvider = generalPropertiesProvider;
+        this.valueRollupRepository = valueRollupRepository;
+        this.valueTypes = compileValueTypes();
+        this.measurementFetchExecutor = measurementFetchExecutor;
+        this.listingWallTimer = Timer.builder("smarthome.device.measurements.wall")
+                .description("Wall-clock time of listing the measurements of a device in a period")
+                .register(meterRegistry);
+        this.listingSummedQueryTimer = Timer.builder("smarthome.device.measurements.queries.summed")
+                .description("Summed time of the per-sensor range queries of a device measurement listing")
+                .register(meterRegistry);
+        this.listingSpeedup = DistributionSummary.builder("smarthome.device.measurements.speedup")
+                .description("Summed range query time divided by wall-clock time of a device measurement listing")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Matches the serviceRepoCall entry of every sensor functionality in the SensorFunctionalityRepository in
+     * config/config.properties with the type of Value it produces.
+     *
+     * @return Map<SensorFunctionalityID, ValueType> with the value type of each sensor functionality.
+     * @throws SensorFunctionalityNotListedException if a sensor functionality has no known serviceRepoCall entry.
+     */
+    private Map<SensorFunctionalityID, ValueType> compileValueTypes() {
+        Map<String, ValueType> valueTypesByServiceMethod = Map.of(
+                INSTANT_VALUES, new ValueType(this::listInstantValuesForSensorID, instantTimeValueRepository,
+                        (readingDTO, reading) -> factoryInstantTimeValue.createValue(readingDTO.sensorID, reading, readingDTO.instantTime),
+                        readingDTO -> readingDTO.instantTime),
+                PERIOD_VALUES, new ValueType(this::listPeriodValuesForSensorID, periodTimeValueRepository,
+                        (readingDTO, reading) -> factoryPeriodTimeValue.createValue(readingDTO.sensorID, reading, readingDTO.startTime, readingDTO.endTime),
+                        readingDTO -> readingDTO.startTime),
+                INSTANT_LOCATION_VALUES, new ValueType(this::listInstantLocationValuesForSensorID, instantTimeLocationValueRepository,
+                        (readingDTO, reading) -> factoryInstantTimeLocationValue.createValue(readingDTO.sensorID, reading, readingDTO.instantTime, readingDTO.gpsCode),
+                        readingDTO -> readingDTO.instantTime));
+
+        Map<SensorFunctionalityID, ValueType> types = new HashMap<>();
+        for (SensorFunctionality sensorFunctionality : sensorFunctionalityRepository.findAllEntities()) {
+            SensorFunctionalityID sensorFunctionalityID = sensorFunctionality.identity();
+            String serviceMethodToCall = sensorFunctionalityRepository.getServiceMethodToCallForSensorFunctionalityID(sensorFunctionalityID);
+            ValueType valueType = serviceMethodToCall == null ? null : valueTypesByServiceMethod.get(serviceMethodToCall);
+            if (valueType == null)
+                throw new SensorFunctionalityNotListedException();
+            types.put(sensorFunctionalityID, valueType);
+        }
+        return Map.copyOf(types);
+    }
+
+    /**
+     * Retrieves the value type of a sensor functionality.
+     *
+     * @param sensorFunctionalityID SensorFunctionalityID of a sensor.
+     * @return ValueType of the values the sensor functionality produces.
+     * @throws SensorFunctionalityNotListedException if the sensor functionality is not in the SensorFunctionalityRepository.
+     */
+    private ValueType valueTypeOf(SensorFunctionalityID sensorFunctionalityID) {
+        ValueType valueType = valueTypes.get(sensorFunctionalityID);
+        if (valueType == null)
+            throw new SensorFunctionalityNotListedException();
+        return valueType;
     }
 
     /**
      * Obtains a Map<SensorFunctionalityID, List<Reading>> for a given DeviceID between a start and end period.
      * Method obtains all Sensor objects belonging to the given DeviceID object and for each:
      * - Obtains its SensorFunctionalityID;
-     * - Obtains the serviceMethodToCallForSensorFunctionalityID String from the SensorFunctionalityRepositoryMem as saves it to serviceMethodToCall String;
-     * - At run time, using reflection, dynamically calls the method that corresponds to the serviceMethodToCall String and obtains a List<Value> for that Sensor;
+     * - Obtains the ValueQuery compiled for that SensorFunctionalityID and uses it to obtain a List<Value> for that Sensor;
      * - Converts the List<Value> to a List<Reading> and saves it to a Map<SensorFunctionalityID, List<Reading>>.
+     * The per-sensor queries run concurrently on the measurement fetch executor, and their results are merged in the
+     * order the sensors were found. Wall-clock and summed query times are recorded under smarthome.device.measurements.
      *
      * @param deviceID The deviceID value object for which the measurements are to be obtained
      * @param startInterval Timestamp object that represents the start of the "given period"
@@ -91,50 +242,253 @@ public class ValueService {
      *
      * @return Map<SensorFunctionalityID, List<Reading>> Where all Reading object are grouped by the SensorFunctionalityID.
      * If a device has a Sensor with no readings in the given period, SensorFunctionalityID of Sensor will be present but the List<Reading> will be empty.
+     * @throws SensorFunctionalityNotListedException if a sensor's functionality is not in the SensorFunctionalityRepository.
      */
     public Map<SensorFunctionalityID, List<Reading>> getAllMeasurementsForDeviceBetweenPeriod(DeviceID deviceID, Timestamp startInterval, Timestamp endInterval) {
-        Iterable<Sensor> sensors = sensorRepository.findByDeviceID(deviceID);
         Map<SensorFunctionalityID, List<Reading>> returnMap = new HashMap<>();
+        for (Map.Entry<SensorFunctionalityID, List<Value>> entry : getAllValuesForDeviceBetweenPeriod(deviceID, startInterval, endInterval).entrySet()) {
+            returnMap.put(entry.getKey(), convertValueIterableToReadingIterable(entry.getValue()));
+        }
+        return returnMap;
+    }
+
+    /**
+     * Obtains the Value objects of every sensor of a given device between a start and end period, grouped by
+     * SensorFunctionalityID, keeping the time of each reading for shapes such as the columnar series.
+     * The per-sensor queries run concurrently on the measurement fetch executor, and their results are merged in the
+     * order the sensors were found. Wall-clock and summed query times are recorded under smarthome.device.measurements.
+     *
+     * @param deviceID The deviceID value object for which the values are to be obtained
+     * @param startInterval Timestamp object that represents the start of the "given period"
+     * @param endInterval Timestamp object that represents the end of the "given period"
+     *
+     * @return Map<SensorFunctionalityID, List<Value>> Where all Value objects are grouped by the SensorFunctionalityID.
+     * If a device has a Sensor with no values in the given period, SensorFunctionalityID of Sensor will be present but the List<Value> will be empty.
+     * @throws SensorFunctionalityNotListedException if a sensor's functionality is not in the SensorFunctionalityRepository.
+     */
+    public Map<SensorFunctionalityID, List<Value>> getAllValuesForDeviceBetweenPeriod(DeviceID deviceID, Timestamp startInterval, Timestamp endInterval) {
+        long listingStart = System.nanoTime();
+        Iterable<Sensor> sensors = sensorRepository.findByDeviceID(deviceID);
 
+        List<SensorFunctionalityID> sensorFunctionalityIDs = new ArrayList<>();
+        List<CompletableFuture<TimedValues>> pendingValues = new ArrayList<>();
         for (Sensor sensor : sensors) {
             SensorFunctionalityID sensorFunctionalityID = sensor.getSensorFunctionalityID();
             SensorID sensorID = sensor.identity();
 
-            String serviceMethodToCall = sensorFunctionalityRepository.getServiceMethodToCallForSensorFunctionalityID(sensorFunctionalityID);
+            ValueQuery valueQuery = valueTypeOf(sensorFunctionalityID).query();
+
+            sensorFunctionalityIDs.add(sensorFunctionalityID);
+            pendingValues.add(CompletableFuture.supplyAsync(
+                    () -> TimedValues.of(valueQuery, sensorID, startInterval, endInterval), measurementFetchExecutor));
+        }
 
-            List<Value> values = getAllValuesForSensorID(serviceMethodToCall, sensorID, startInterval, endInterval);
+        Map<SensorFunctionalityID, List<Value>> returnMap = new LinkedHashMap<>();
+        long summedQueryNanos = 0;
+        for (int i = 0; i < pendingValues.size(); i++) {
+            TimedValues timedValues = join(pendingValues.get(i));
+            summedQueryNanos += timedValues.nanos;
 
-            List<Reading> readings = convertValueIterableToReadingIterable(values);
-            returnMap.computeIfAbsent(sensorFunctionalityID, k -> new ArrayList<>()).addAll(readings);
+            returnMap.computeIfAbsent(sensorFunctionalityIDs.get(i), k -> new ArrayList<>()).addAll(timedValues.values);
         }
+
+        recordListing(System.nanoTime() - listingStart, summedQueryNanos);
         return returnMap;
     }
 
     /**
-     * Call one of the 3 Value Repository classes defined in class attribute.
-     * Method uses reflection due to Repository class to be called depending on the Sensor being processed.
-     * Extract all Values for a given SensorID between a start and end interval.
+     * Obtains the sensors of a given device whose readings can be streamed by streamMeasurementsOfSensorsBetweenPeriod.
+     * Every sensor is checked before anything is streamed, so a caller can reject the request before it starts
+     * writing the readings.
+     *
+     * @param deviceID The deviceID value object whose sensors are to be obtained
+     * @return List<Sensor> with the sensors of the device, empty if the device has none.
+     * @throws SensorFunctionalityNotListedException if a sensor's functionality is not in the SensorFunctionalityRepository.
+     */
+    public List<Sensor> findStreamableSensorsOfDevice(DeviceID deviceID) {
+        List<Sensor> sensors = new ArrayList<>();
+        for (Sensor sensor : sensorRepository.findByDeviceID(deviceID)) {
+            valueTypeOf(sensor.getSensorFunctionalityID());
+            sensors.add(sensor);
+        }
+        return sensors;
+    }
+
+    /**
+     * Hands every Reading of the given sensors in a period to a consumer, along with the SensorFunctionalityID of its
+     * sensor, one sensor after another and in time order within each sensor.
+     * Unlike getAllMeasurementsForDeviceBetweenPeriod nothing is collected: values are streamed from the repositories as
+     * they are consumed, so memory stays bounded however long the period is.
+     * Runs in a read-only transaction, which database backed repositories need to stream their rows.
      *
-     * @param sensorID SensorID value object
-     * @param serviceMethodToCall String that represents which method to call on the ValueRepo class for that given Sensor
+     * @param sensors       The sensors obtained by findStreamableSensorsOfDevice
      * @param startInterval Timestamp object that represents the start of the "given period"
-     * @param endInterval Timestamp object that represents the end of the "given period"
-     * @return List<Value> list of all Values for the given SensorID in the given period. If exception is encountered null is returned.
+     * @param endInterval   Timestamp object that represents the end of the "given period"
+     * @param consumer      BiConsumer receiving the SensorFunctionalityID and Reading of each value
+     */
+    @Transactional(readOnly = true)
+    public void streamMeasurementsOfSensorsBetweenPeriod(List<Sensor> sensors, Timestamp startInterval, Timestamp endInterval,
+                                                         BiConsumer<SensorFunctionalityID, Reading> consumer) {
+        for (Sensor sensor : sensors) {
+            SensorFunctionalityID sensorFunctionalityID = sensor.getSensorFunctionalityID();
+            ValueRepository valueRepository = valueTypeOf(sensorFunctionalityID).repository();
+            try (Stream<Value> values = valueRepository.streamBySensorIdBetweenPeriodOfTime(sensor.identity(), startInterval, endInterval)) {
+                values.forEach(value -> consumer.accept(sensorFunctionalityID, value.getReading()));
+            }
+        }
+    }
+
+    /**
+     * Obtains a page of the readings of every sensor of a given device in a period, ordered by time and ValueID and
+     * starting right after the given cursor. Each sensor is asked for one reading more than the limit after the cursor,
+     * so the next page is known to exist without counting, and the readings of all sensors are merged by cursor.
+     * Pages are sought from the cursor instead of skipping the readings of previous pages, so a deep page costs as much
+     * as the first one.
+     *
+     * @param deviceID      The deviceID value object for which the readings are to be obtained
+     * @param startInterval Timestamp object that represents the start of the "given period"
+     * @param endInterval   Timestamp object that represents the end of the "given period"
+     * @param after         ValueCursor of the last reading of the previous page, or null for the first page
+     * @param limit         maximum number of readings in the page, between 1 and MAX_PAGE_LIMIT
+     * @return InternalReadingPageDTO with the readings of the page and the cursor of the next page, null if it is the last.
+     * @throws IllegalArgumentException if the limit is out of bounds.
+     * @throws SensorFunctionalityNotListedException if a sensor's functionality is not in the SensorFunctionalityRepository.
+     */
+    public InternalReadingPageDTO getMeasurementsPageForDeviceBetweenPeriod(DeviceID deviceID, Timestamp startInterval,
+                                                                           Timestamp endInterval, ValueCursor after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT)
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_PAGE_LIMIT);
+
+        List<Map.Entry<ValueCursor, InternalReadingPageDTO.PagedReading>> candidates = new ArrayList<>();
+        for (Sensor sensor : sensorRepository.findByDeviceID(deviceID)) {
+            SensorFunctionalityID sensorFunctionalityID = sensor.getSensorFunctionalityID();
+            ValueRepository valueRepository = valueTypeOf(sensorFunctionalityID).repository();
+
+            for (Value value : valueRepository.findPageBySensorIdBetweenPeriodOfTime(
+                    sensor.identity(), startInterval, endInterval, after, limit + 1)) {
+                candidates.add(Map.entry(ValueCursor.of(value),
+                        new InternalReadingPageDTO.PagedReading(sensorFunctionalityID, value.getReading())));
+            }
+        }
+        candidates.sort(Map.Entry.comparingByKey());
+
+        int pageSize = Math.min(limit, candidates.size());
+        List<InternalReadingPageDTO.PagedReading> readings = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            readings.add(candidates.get(i).getValue());
+        }
+        ValueCursor nextCursor = candidates.size() > limit ? candidates.get(limit - 1).getKey() : null;
+        return new InternalReadingPageDTO(readings, nextCursor);
+    }
+
+    /**
+     * Obtains the rollups of the numeric readings of every sensor of a given device in a period, grouped by
+     * SensorFunctionalityID. The resolution is the finest one that keeps each sensor within the point limit, so long
+     * periods are served from coarse buckets instead of from the raw readings.
+     *
+     * @param deviceID      The deviceID value object for which the rollups are to be obtained
+     * @param startInterval Timestamp object that represents the start of the "given period"
+     * @param endInterval   Timestamp object that represents the end of the "given period"
+     * @param pointLimit    maximum number of rollups wanted per sensor
+     * @return Map<SensorFunctionalityID, List<ValueRollup>> where the rollups of each sensor are ordered by bucket start.
+     * If a device has a Sensor with no numeric readings in the given period, its SensorFunctionalityID will be present
+     * but the List<ValueRollup> will be empty.
+     * @throws IllegalArgumentException if the point limit is not positive or the period ends before it starts.
+     */
+    public Map<SensorFunctionalityID, List<ValueRollup>> getRollupsForDeviceBetweenPeriod(DeviceID deviceID, Timestamp startInterval,
+                                                                                         Timestamp endInterval, int pointLimit) {
+        RollupResolution resolution = RollupResolution.forPointLimit(startInterval, endInterval, pointLimit);
+
+        Map<SensorFunctionalityID, List<ValueRollup>> returnMap = new HashMap<>();
+        for (Sensor sensor : sensorRepository.findByDeviceID(deviceID)) {
+            List<ValueRollup> rollups = valueRollupRepository.findBySensorIdBetweenPeriodOfTime(
+                    sensor.identity(), resolution, startInterval, endInterval);
+            returnMap.computeIfAbsent(sensor.getSensorFunctionalityID(), k -> new ArrayList<>()).addAll(rollups);
+        }
+        return returnMap;
+    }
+
+    /**
+     * Waits for a per-sensor range query to finish, rethrowing whatever the query threw.
+     *
+     * @param pendingValues CompletableFuture of the range query.
+     * @return TimedValues with the values found and the time the query took.
      */
-    private List<Value> getAllValuesForSensorID (String serviceMethodToCall, SensorID sensorID, Timestamp startInterval, Timestamp endInterval) {
+    private TimedValues join(CompletableFuture<TimedValues> pendingValues) {
         try {
-            Method serviceMethod = this.getClass().getMethod(serviceMethodToCall, SensorID.class, Timestamp.class, Timestamp.class);
-            return (List<Value>) serviceMethod.invoke(this, sensorID, startInterval, endInterval);
-        } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException exception) {
-             return new ArrayList<>();
+            return pendingValues.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw exception;
+        }
+    }
+
+    /**
+     * Records the wall-clock time, the summed range query time and the resulting speedup of a measurement listing.
+     *
+     * @param wallNanos        wall-clock time of the listing, in nanoseconds.
+     * @param summedQueryNanos sum of the range query times of the listing, in nanoseconds.
+     */
+    private void recordListing(long wallNanos, long summedQueryNanos) {
+        listingWallTimer.record(wallNanos, TimeUnit.NANOSECONDS);
+        listingSummedQueryTimer.record(summedQueryNanos, TimeUnit.NANOSECONDS);
+        if (wallNanos > 0)
+            listingSpeedup.record((double) summedQueryNanos / wallNanos);
+    }
+
+    /**
+     * Values returned by a per-sensor range query, along with the time the query took.
+     */
+    private static final class TimedValues {
+        private final List<Value> values;
+        private final long nanos;
+
+        private TimedValues(List<Value> values, long nanos) {
+            this.values = values;
+            this.nanos = nanos;
         }
+
+        /**
+         * Runs a range query and measures the time it takes.
+         */
+        private static TimedValues of(ValueQuery valueQuery, SensorID sensorID, Timestamp startInterval, Timestamp endInterval) {
+            long queryStart = System.nanoTime();
+            List<Value> values = valueQuery.find(sensorID, startInterval, endInterval);
+            return new TimedValues(values, System.nanoTime() - queryStart);
+        }
+    }
+
+    /**
+     * Query, repository and factory of a type of Value, along with the time a reading of that type is rolled up at.
+     *
+     * @param query       ValueQuery that lists the values of a sensor in a period.
+     * @param repository  ValueRepository holding the values.
+     * @param factory     ValueFactory creating a value from an ingested reading.
+     * @param readingTime Function retrieving the time of an ingested reading (its start time, for period readings).
+     */
+    private record ValueType(ValueQuery query, ValueRepository repository, ValueFactory factory,
+                             Function<InternalReadingDTO, Timestamp> readingTime) {
+    }
+
+    /**
+     * Creates the Value of an ingested reading.
+     */
+    @FunctionalInterface
+    private interface ValueFactory {
+
+        /**
+         * Creates the Value of an ingested reading.
+         *
+         * @param readingDTO InternalReadingDTO with the sensor and time fields of the reading.
+         * @param reading    Reading with the measurement and unit of the reading.
+         * @return Value created by the factory of the value type.
+         */
+        Value create(InternalReadingDTO readingDTO, Reading reading);
     }
 
     /**
-     * Method that is called by getAllValuesForSensorID dynamically depending on the functionality-serviceMethodToCallForUC33 property relation
-     * established in config/config.properties.
-     * <p>
-     * Functionality is derived from the Sensor that is being processed by getAllValuesForSensorID.
+     * Value query of the sensor functionalities whose serviceRepoCall in config/config.properties is listInstantValuesForSensorID.
      * This method calls the method findBySensorIdBetweenPeriodOfTime on InstantValueRepository class attribute.
      *
      * @param sensorID SensorID value object of the current Sensor
@@ -148,8 +502,7 @@ public class ValueService {
     }
 
     /**
-     * Method that is called by getAllValuesForSensorID dynamically depending on the functionality<->serviceMethodToCallForUC33 property relation
-     * established in the config/config.properties. Functionality is derived from the Sensor that is being processed by getAllValuesForSensorID.
+     * Value query of the sensor functionalities whose serviceRepoCall in config/config.properties is listPeriodValuesForSensorID.
      * This method calls the method findBySensorIdBetweenPeriodOfTime on PeriodValueRepository class attribute.
      *
      * @param sensorID SensorID value object of the current Sensor
@@ -163,8 +516,7 @@ public class ValueService {
     }
 
     /**
-     * Method that is called by getAllValuesForSensorID dynamically depending on the functionality<->serviceMethodToCallForUC33 property relation
-     * established in config/config.properties. Functionality is derived from the Sensor that is being processed by getAllValuesForSensorID.
+     * Value query of the sensor functionalities whose serviceRepoCall in config/config.properties is listInstantLocationValuesForSensorID.
      * This method calls the method findBySensorIdBetweenPeriodOfTime on InstantTimeLocationValueRepository class attribute.
      *
      * @param sensorID SensorID value object of the current Sensor
@@ -202,8 +554,10 @@ public class ValueService {
      * @return double value representing the peak power consumption in the given period of time.
      */
     public double getPeakPowerConsumption(Timestamp startPeriod, Timestamp endPeriod) {
+        GeneralProperties generalProperties = generalPropertiesProvider.current();
+
         // Find sensor of functionality "PowerAverage" (US25) from grid power meter device -> ListOfSensorsFromGridPowerMeter
-        String devicePowerGridName = configScraper.loadGridPowerMeterID();
+        String devicePowerGridName = generalProperties.getGridPowerMeterID();
         DeviceID gridPowerMeterDeviceID = new DeviceID(devicePowerGridName);
         SensorFunctionalityID gridPowerMeterSensorFunctionality = new SensorFunctionalityID("PowerAverage");
         Sensor powerGridSensor = sensorRepository.findByDeviceIDAndSensorFunctionality(gridPowerMeterDeviceID, gridPowerMeterSensorFunctionality)
@@ -234,48 +588,9 @@ public class ValueService {
                 timestampAndValueMap.put(timestamp, instantTimeValue);
             }
         }
-        return calculatePeakPowerConsumption(listOfPowerGridValues, mapOfPowerSourcesValues);
-    }
-
-    /**
-     * Method that calculates the peak power consumption, from the list of power grid and power sources consumption values.
-     * Instant power consumption is calculated by summing the consumption values of the grid power meter and all power sources, within the configured tolerance for an "instant".
-     * The peak power consumption is the maximum calculated power consumption among all instants within the given period.
-     *
-     * @param listOfPowerGridValues List of Value objects representing the power consumption of the grid power meter
-     * @param mapOfPowerSourcesValues Map of DeviceID and Map of Timestamp and InstantTimeValue objects representing the power consumption of all power sources
-     * @return double value representing the peak power consumption in the given period of time.
-     */
-    private double calculatePeakPowerConsumption(List<Value> listOfPowerGridValues, Map<DeviceID,Map<Timestamp, InstantTimeValue>> mapOfPowerSourcesValues) {
-
-        double peakPowerConsumption = 0.0;
-        // For each Power Grid value, find all values from Power Sources that are within the same instant
-        for (Value powerGridValue : listOfPowerGridValues) {
-            PeriodTimeValue periodTimePowerGridValue = (PeriodTimeValue) powerGridValue;
-            // consider the end timestamp of Power Grid value
-            Timestamp endTime = periodTimePowerGridValue.getEndTimeReading();
-            // get grid meter cadence (in minutes) from config file, to be used as the time defined for an "instant"
-            long tolerance = Long.parseLong(configScraper.loadGridPowerMeterCadence());
-            Timestamp startTime = new Timestamp(endTime.getTime() - tolerance);
-
-            // Calculate total consumption for that instant
-            // start with the consumption of the grid power meter
-            double totalConsumption = Double.parseDouble(periodTimePowerGridValue.getReading().getMeasurement());
-            // add the consumption of all power sources within the same instant
-            for (Map<Timestamp, InstantTimeValue> mapOfValuesPerDevice : mapOfPowerSourcesValues.values()) {
-                for (Map.Entry<Timestamp, InstantTimeValue> entry : mapOfValuesPerDevice.entrySet()) {
-                    Timestamp timestamp = entry.getKey();
-                    // check if the timestamp of the power source value is within the same instant as the grid power meter
-                    if (!timestamp.before(startTime) && !timestamp.after(endTime)) {
-                        InstantTimeValue value = entry.getValue();
-                        totalConsumption += Double.parseDouble(value.getReading().getMeasurement());
-                    }
-                }
-            }
-            // Update peak power consumption if the calculated consumption for that instant is higher
-            peakPowerConsumption = Math.max(peakPowerConsumption, totalConsumption);
-        }
-        return peakPowerConsumption;
+        // get grid meter cadence (in milliseconds) from the general properties, to be used as the time defined for an "instant"
+        long tolerance = generalProperties.getGridPowerMeterCadence();
+        return new PeakPowerCalculator(tolerance).calculate(listOfPowerGridValues, mapOfPowerSourcesValues.values());
     }
 
     /**
@@ -291,16 +606,142 @@ public class ValueService {
             throw new SensorNotFoundException();
 
         SensorID sensorID = sensorList.iterator().next().identity();
-        Value lastValueRecorded;
-        if (instantTimeValueRepository.findLastValueRecorded(sensorID) != null)
-            lastValueRecorded = instantTimeValueRepository.findLastValueRecorded(sensorID);
-        else if (instantTimeLocationValueRepository.findLastValueRecorded(sensorID) != null)
+        Value lastValueRecorded = instantTimeValueRepository.findLastValueRecorded(sensorID);
+        if (lastValueRecorded == null)
             lastValueRecorded = instantTimeLocationValueRepository.findLastValueRecorded(sensorID);
-        else
+        if (lastValueRecorded == null)
             throw new ValueNotFoundException();
 
         Reading lastReading = lastValueRecorded.getReading();
         return lastReading.getMeasurement();
     }
 
-}
\ No newline at end of file
+    /**
+     * Ingests a batch of readings for the sensors of a given device.
+     * Every reading is converted into the Value type of its sensor's functionality (as configured by serviceRepoCall
+     * in config/config.properties), using the unit configured for that functionality.
+     * The whole batch is validated before anything is persisted, and each value repository then receives all its values
+     * in a single saveAll call. The numeric readings are then folded into the rollups of their sensor at every
+     * RollupResolution, with a single merge for the whole batch. The values and the rollups are written in one
+     * transaction, so a batch is either stored with its rollups or not at all; concurrent merges of the same sensors
+     * are serialized by the rollup repository.
+     *
+     * @param deviceID The deviceID value object the readings belong to.
+     * @param readings List of InternalReadingDTO objects with the readings to ingest.
+     * @return The number of readings persisted.
+     * @throws SensorNotFoundException if a reading refers to a sensor that does not belong to the device.
+     * @throws SensorFunctionalityNotListedException if a sensor's functionality has no configured value type.
+     * @throws IllegalArgumentException if a reading is missing the measurement or time fields of its value type.
+     */
+    @Transactional
+    public int addReadingsToDevice(DeviceID deviceID, List<InternalReadingDTO> readings) {
+        Map<SensorID, Sensor> sensorsOfDevice = new HashMap<>();
+        for (Sensor sensor : sensorRepository.findByDeviceID(deviceID)) {
+            sensorsOfDevice.put(sensor.identity(), sensor);
+        }
+
+        Map<ValueRepository, List<Value>> valuesByRepository = new LinkedHashMap<>();
+        Map<String, ValueRollup> rollups = new LinkedHashMap<>();
+
+        for (InternalReadingDTO readingDTO : readings) {
+            Sensor sensor = sensorsOfDevice.get(readingDTO.sensorID);
+            if (sensor == null)
+                throw new SensorNotFoundException();
+
+            SensorFunctionalityID sensorFunctionalityID = sensor.getSensorFunctionalityID();
+            ValueType valueType = valueTypeOf(sensorFunctionalityID);
+            String unit = sensorFunctionalityRepository.getUnitForSensorFunctionalityID(sensorFunctionalityID);
+            Reading reading = new Reading(readingDTO.measurement, unit);
+
+            valuesByRepository.computeIfAbsent(valueType.repository(), k -> new ArrayList<>())
+                    .add(valueType.factory().create(readingDTO, reading));
+            addToRollups(rollups, readingDTO.sensorID, valueType.readingTime().apply(readingDTO), reading);
+        }
+
+        int persisted = 0;
+        for (Map.Entry<ValueRepository, List<Value>> entry : valuesByRepository.entrySet()) {
+            entry.getKey().saveAll(entry.getValue());
+            persisted += entry.getValue().size();
+        }
+        if (!rollups.isEmpty())
+            valueRollupRepository.mergeAll(new ArrayList<>(rollups.values()));
+
+        return persisted;
+    }
+
+    /**
+     * Stores the rollups of the numeric readings of every sensor that has none yet, such as a sensor whose readings were
+     * stored before rollups were kept or inserted without going through addReadingsToDevice.
+     * Each sensor is backfilled in a transaction of its own, holding the lock its rollup merges take, so readings
+     * ingested meanwhile are counted exactly once. A backfilled sensor is recorded as such, so its readings are not
+     * scanned again on a later run even if none of them is numeric.
+     *
+     * @return The number of sensors whose rollups were backfilled.
+     */
+    public int backfillRollups() {
+        int backfilled = 0;
+        for (Sensor sensor : sensorRepository.findAllEntities()) {
+            ValueType valueType = valueTypes.get(sensor.getSensorFunctionalityID());
+            if (valueType == null)
+                continue;
+
+            ValueRepository valueRepository = valueType.repository();
+
+            SensorID sensorID = sensor.identity();
+            if (valueRollupRepository.backfill(sensorID, () -> rollupsOf(valueRepository, sensorID)))
+                backfilled++;
+        }
+        return backfilled;
+    }
+
+    /**
+     * Folds the stored values of a sensor into its rollups at every RollupResolution. The values are streamed from the
+     * repository as they are folded, so only the rollups are held in memory; it must run within a transaction for
+     * database backed repositories.
+     *
+     * @param valueRepository ValueRepository holding the values of the sensor.
+     * @param sensorID        SensorID of the sensor.
+     * @return List of ValueRollup objects, one per bucket.
+     */
+    private List<ValueRollup> rollupsOf(ValueRepository valueRepository, SensorID sensorID) {
+        Map<String, ValueRollup> rollups = new LinkedHashMap<>();
+        try (Stream<Value> values = valueRepository.streamBySensorIdBetweenPeriodOfTime(sensorID, FIRST_READING_TIME, LAST_READING_TIME)) {
+            values.forEach(value -> addToRollups(rollups, sensorID, readingTimeOf(value), value.getReading()));
+        }
+        return new ArrayList<>(rollups.values());
+    }
+
+    /**
+     * Retrieves the time a stored value is rolled up at: its start time for period values, its instant otherwise.
+     *
+     * @param value Value object.
+     * @return Timestamp of the reading.
+     */
+    private static Timestamp readingTimeOf(Value value) {
+        if (value instanceof PeriodTimeValue periodTimeValue)
+            return periodTimeValue.getStartTimeReading();
+        if (value instanceof InstantTimeLocationValue instantTimeLocationValue)
+            return instantTimeLocationValue.getInstantTime();
+        return ((InstantTimeValue) value).getInstantTimeReading();
+    }
+
+    /**
+     * Folds a reading into the rollups of its sensor at every RollupResolution.
+     * Readings that are not a single numeric value are not rolled up.
+     *
+     * @param rollups     Map of the rollups of a batch, by rollup ID.
+     * @param sensorID    SensorID of the sensor that took the reading.
+     * @param readingTime Timestamp of the reading (its start time, for period readings).
+     * @param reading     Reading to fold into the rollups.
+     */
+    private void addToRollups(Map<String, ValueRollup> rollups, SensorID sensorID, Timestamp readingTime, Reading reading) {
+        if (!reading.isNumeric() || reading.getChannelCount() != 1)
+            return;
+
+        for (RollupResolution resolution : RollupResolution.values()) {
+            ValueRollup rollup = ValueRollup.of(sensorID, resolution, readingTime, reading.getNumericMeasurement(), reading.getUnit());
+            rollups.merge(rollup.getRollupID(), rollup, ValueRollup::merge);
+        }
+    }
+
+}
@@ -1,6 +1,7 @@
 package smarthome.service;
 
 import org.springframework.stereotype.Service;
+import smarthome.domain.gateway.AsyncWeatherAPIGateway;
 import smarthome.domain.gateway.WeatherAPIGateway;
 import smarthome.domain.house.House;
 import smarthome.domain.repository.HouseRepository;
@@ -12,14 +13,18 @@ import smarthome.domain.valueobjects.SensorID;
 import smarthome.persistence.repositoriesmem.InstantTimeValueRepository;
 import smarthome.service.internaldto.InstTemperatureDTO;
 import smarthome.service.internaldto.SunriseSunsetDTO;
-import smarthome.util.ConfigScraper;
-import smarthome.util.PropertyLoader;
+import smarthome.util.GeneralPropertiesProvider;
 import smarthome.util.exceptions.NoHouseInRepositoryException;
 import smarthome.util.exceptions.NoHouseLocationDefined;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Service class to interact with the Weather API and manage weather-related data.
@@ -33,9 +38,14 @@ public class WeatherAPIService {
     private WeatherAPIGateway weatherAPIGateway;
 
     /**
-     * Utility for loading configuration settings.
+     * Non-blocking gateway for requesting several Weather API responses in parallel.
      */
-    private ConfigScraper configScraper;
+    private AsyncWeatherAPIGateway asyncWeatherAPIGateway;
+
+    /**
+     * Provider of the general properties of the application.
+     */
+    private GeneralPropertiesProvider generalPropertiesProvider;
 
     /**
      * Repository for managing house data in memory.
@@ -48,46 +58,45 @@ public class WeatherAPIService {
     private InstantTimeValueRepository valueRepository;
 
     /**
-     * The Latitude of the house.
-     */
-    private double latitude;
-
-    /**
-     * The Longitude of the house.
-     */
-    private double longitude;
-
-    /**
-     * A constant string indicating the path to the configuration properties file.
+     * Group number and GPS coordinates the Weather API is queried with.
+     *
+     * @param groupNumber the group number of the house
+     * @param latitude    the latitude of the house
+     * @param longitude   the longitude of the house
      */
-    private static final String CONFIG_PROPERTIES = "config/general.properties";
+    private record HouseLocation(int groupNumber, double latitude, double longitude) {
+    }
 
 
     /**
      * Constructs a new WeatherAPIService with the given dependencies.
      *
      * @param weatherAPIGateway the gateway to interact with the weather API
+     * @param asyncWeatherAPIGateway the non-blocking gateway to request several weather API responses in parallel
      * @param houseRepository   the repository to manage house data
      * @param valueRepository   the repository to manage value data
+     * @param generalPropertiesProvider the provider of the general properties
      */
-    public WeatherAPIService(WeatherAPIGateway weatherAPIGateway, HouseRepository houseRepository, InstantTimeValueRepository valueRepository) {
+    public WeatherAPIService(WeatherAPIGateway weatherAPIGateway, AsyncWeatherAPIGateway asyncWeatherAPIGateway,
+                             HouseRepository houseRepository, InstantTimeValueRepository valueRepository,
+                             GeneralPropertiesProvider generalPropertiesProvider) {
         this.weatherAPIGateway = weatherAPIGateway;
+        this.asyncWeatherAPIGateway = asyncWeatherAPIGateway;
         this.houseRepository = houseRepository;
         this.valueRepository = valueRepository;
-        PropertyLoader propertyLoader = new PropertyLoader();
-        this.configScraper = new ConfigScraper(CONFIG_PROPERTIES, propertyLoader);
+        this.generalPropertiesProvider = generalPropertiesProvider;
     }
 
     /**
-     * Defines the group house location by sending the house's GPS coordinates to the weather API.
+     * Defines the group house location, i.e. the group number and the house's GPS coordinates sent to the weather API.
      *
-     * @return the group number received from the weather API
+     * @return the group number and GPS coordinates of the house
      * @throws NoHouseInRepositoryException if no house is found in the repository
      * @throws NoHouseLocationDefined       if the house location is not defined
      * @throws RuntimeException             if the group number received from the weather API does not match the expected group number
      */
-    private int defineGroupHouseLocation() {
-        int groupNumber = Integer.parseInt(configScraper.loadGroupNumber());
+    private HouseLocation defineGroupHouseLocation() {
+        int groupNumber = generalPropertiesProvider.current().getGroupNumber();
         Iterable<House> housesInRepository = houseRepository.findAllEntities();
         if (!housesInRepository.iterator().hasNext()) {
             throw new NoHouseInRepositoryException();
@@ -96,12 +105,9 @@ public class WeatherAPIService {
         Location houseLocation = house.getHouseLocation();
         if (houseLocation == null) {
             throw new NoHouseLocationDefined();
-        } else {
-            GPSCode gpsCode = houseLocation.getGpsCode();
-            this.latitude = gpsCode.getLatitude();
-            this.longitude = gpsCode.getLongitude();
         }
-        return groupNumber;
+        GPSCode gpsCode = houseLocation.getGpsCode();
+        return new HouseLocation(groupNumber, gpsCode.getLatitude(), gpsCode.getLongitude());
     }
 
     /**
@@ -115,8 +121,19 @@ public class WeatherAPIService {
         if (hour < 0 || hour > 23) {
             throw new IllegalArgumentException("Invalid hour value. Hour must be between 0 and 23.");
         }
-        int groupNumber = defineGroupHouseLocation();
-        InstTemperatureDTO instTemperatureDTO = weatherAPIGateway.getInstantaneousTemperature(groupNumber, latitude, longitude, hour);
+        return getTemperatureForHour(defineGroupHouseLocation(), hour);
+    }
+
+    /**
+     * Retrieves the temperature for a given hour at an already defined house location.
+     *
+     * @param location the group number and GPS coordinates of the house
+     * @param hour     the hour of the day (0-23)
+     * @return the temperature for the specified hour
+     */
+    private double getTemperatureForHour(HouseLocation location, int hour) {
+        InstTemperatureDTO instTemperatureDTO = weatherAPIGateway.getInstantaneousTemperature(
+                location.groupNumber(), location.latitude(), location.longitude(), hour);
         return instTemperatureDTO.measurement;
     }
 
@@ -132,8 +149,8 @@ public class WeatherAPIService {
         // Retrieve temperature readings for the inside sensor
         List<Value> insideValues = valueRepository.findBySensorId(insideSensorID);
 
-        // Variables to store maximum temperature difference
-        double maxDifference = -1;
+        // Tolerance (in milliseconds) for the weather service hour to be matched with an inside reading
+        long tolerance = generalPropertiesProvider.current().getTolerance();
 
         // Filter insideValues to only include those within the specified time range
         List<Value> filteredInsideValues = insideValues.stream()
@@ -143,7 +160,9 @@ public class WeatherAPIService {
                 })
                 .toList();
 
-        // Process each inside value and fetch the corresponding outside temperature
+        // Inside values within tolerance of an outside hour, along with that hour
+        List<Value> matchedInsideValues = new ArrayList<>();
+        List<Integer> matchedHours = new ArrayList<>();
         for (Value value : filteredInsideValues) {
             Timestamp timestamp = ((InstantTimeValue) value).getInstantTimeReading();
             long insideTimestamp = timestamp.getTime();
@@ -157,22 +176,37 @@ public class WeatherAPIService {
             LocalDateTime hourTruncatedDateTime = localDateTime.truncatedTo(java.time.temporal.ChronoUnit.HOURS);
             // Convert LocalDateTime back to Timestamp if needed
             Timestamp truncatedTimestamp = Timestamp.valueOf(hourTruncatedDateTime);
-            int hour = truncatedTimestamp.toLocalDateTime().getHour();
             long outsideTimestamp = truncatedTimestamp.getTime();
 
-            double outsideTemperature = getTemperatureForHour(hour);
-            double insideTemperature = Double.parseDouble(value.getReading().getMeasurement());
+            // Compare the difference in milliseconds between the timestamps with the tolerance
+            if (Math.abs(insideTimestamp - outsideTimestamp) <= tolerance) {
+                matchedInsideValues.add(value);
+                matchedHours.add(hourTruncatedDateTime.getHour());
+            }
+        }
+
+        if (matchedInsideValues.isEmpty()) {
+            return -1;
+        }
 
-            // Calculate the difference in milliseconds between the timestamps
-            long timestampDifference = Math.abs(insideTimestamp - outsideTimestamp);
+        // Request the outside temperature of every distinct hour in parallel
+        HouseLocation location = defineGroupHouseLocation();
+        Map<Integer, CompletableFuture<InstTemperatureDTO>> outsideTemperatures = new HashMap<>();
+        for (int hour : matchedHours) {
+            outsideTemperatures.computeIfAbsent(hour, requestedHour -> asyncWeatherAPIGateway.getInstantaneousTemperatureAsync(
+                    location.groupNumber(), location.latitude(), location.longitude(), requestedHour));
+        }
 
-            // Compare with tolerance
-            if (timestampDifference <= Long.parseLong(configScraper.loadTolerance())) {
-                // Calculate temperature difference
-                double difference = Math.abs(insideTemperature - outsideTemperature);
-                if (difference > maxDifference) {
-                    maxDifference = difference;
-                }
+        // Variables to store maximum temperature difference
+        double maxDifference = -1;
+        for (int i = 0; i < matchedInsideValues.size(); i++) {
+            double outsideTemperature = join(outsideTemperatures.get(matchedHours.get(i))).measurement;
+            double insideTemperature = matchedInsideValues.get(i).getReading().getNumericMeasurement();
+
+            // Calculate temperature difference
+            double difference = Math.abs(insideTemperature - outsideTemperature);
+            if (difference > maxDifference) {
+                maxDifference = difference;
             }
         }
 
@@ -180,6 +214,23 @@ public class WeatherAPIService {
         return maxDifference;
     }
 
+    /**
+     * Waits for a response of the Weather API, rethrowing the failure of the request if it failed.
+     *
+     * @param response the pending response
+     * @param <T>      the type of the response
+     * @return the response
+     */
+    private static <T> T join(CompletableFuture<T> response) {
+        try {
+            return response.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw exception;
+        }
+    }
+
     /**
      * Retrieves the Sunrise or Sunset hour.
      *
@@ -187,11 +238,12 @@ public class WeatherAPIService {
      * @return the hour of the sunrise or sunset
      */
     public double getSunriseSunsetHour(String option) {
-        int groupNumber = defineGroupHouseLocation();
+        HouseLocation location = defineGroupHouseLocation();
         if (!option.equals("sunrise") && !option.equals("sunset")) {
             throw new IllegalArgumentException("Invalid option. Option must be either 'sunrise' or 'sunset'.");
         }
-        SunriseSunsetDTO sunriseSunsetDTO = weatherAPIGateway.getSunriseSunsetHour(groupNumber, latitude, longitude, option);
+        SunriseSunsetDTO sunriseSunsetDTO = weatherAPIGateway.getSunriseSunsetHour(
+                location.groupNumber(), location.latitude(), location.longitude(), option);
         return sunriseSunsetDTO.measurement;
     }
 }
@@ -0,0 +1,48 @@
+package smarthome.service.internaldto;
+
+import smarthome.domain.valueobjects.ActuatorCommandID;
+import smarthome.domain.valueobjects.ActuatorCommandStatus;
+import smarthome.domain.valueobjects.ActuatorID;
+
+/**
+ * InternalActuatorCommandDTO is a Data Transfer Object (DTO) used for internal communication
+ * within the application. It encapsulates a command queued for an actuator: its ID, the actuator
+ * it targets, the requested value and how far it has progressed.
+ */
+public class InternalActuatorCommandDTO {
+
+	/**
+	 * The unique identifier of the command.
+	 */
+	public ActuatorCommandID commandID;
+
+	/**
+	 * The unique identifier of the actuator the command targets.
+	 */
+	public ActuatorID actuatorID;
+
+	/**
+	 * The value requested for the actuator.
+	 */
+	public double value;
+
+	/**
+	 * The progress of the command.
+	 */
+	public ActuatorCommandStatus status;
+
+	/**
+	 * Constructs a new InternalActuatorCommandDTO with the specified command ID, actuator ID, value and status.
+	 *
+	 * @param commandID The unique identifier of the command.
+	 * @param actuatorID The unique identifier of the actuator the command targets.
+	 * @param value The value requested for the actuator.
+	 * @param status The progress of the command.
+	 */
+	public InternalActuatorCommandDTO(ActuatorCommandID commandID, ActuatorID actuatorID, double value, ActuatorCommandStatus status) {
+		this.commandID = commandID;
+		this.actuatorID = actuatorID;
+		this.value = value;
+		this.status = status;
+	}
+}
@@ -0,0 +1,60 @@
+package smarthome.service.internaldto;
+
+import smarthome.domain.valueobjects.GPSCode;
+import smarthome.domain.valueobjects.SensorID;
+
+import java.sql.Timestamp;
+
+/**
+ * InternalReadingDTO is a Data Transfer Object (DTO) used for internal communication
+ * within the application. It encapsulates a single reading to be ingested for a sensor.
+ * Only the time fields relevant to the sensor's value type need to be filled in:
+ * instantTime for instant values, startTime and endTime for period values, and instantTime and gpsCode for
+ * instant location values.
+ */
+public class InternalReadingDTO {
+    /**
+     * The unique identifier of the sensor that produced the reading.
+     */
+    public SensorID sensorID;
+    /**
+     * The measurement of the reading.
+     */
+    public String measurement;
+    /**
+     * The instant the reading was taken.
+     */
+    public Timestamp instantTime;
+    /**
+     * The start of the period the reading refers to.
+     */
+    public Timestamp startTime;
+    /**
+     * The end of the period the reading refers to.
+     */
+    public Timestamp endTime;
+    /**
+     * The location where the reading was taken.
+     */
+    public GPSCode gpsCode;
+
+    /**
+     * Constructs a new InternalReadingDTO.
+     *
+     * @param sensorID    the ID of the sensor that produced the reading
+     * @param measurement the measurement of the reading
+     * @param instantTime the instant the reading was taken
+     * @param startTime   the start of the period the reading refers to
+     * @param endTime     the end of the period the reading refers to
+     * @param gpsCode     the location where the reading was taken
+     */
+    public InternalReadingDTO(SensorID sensorID, String measurement, Timestamp instantTime,
+                              Timestamp startTime, Timestamp endTime, GPSCode gpsCode) {
+        this.sensorID = sensorID;
+        this.measurement = measurement;
+        this.instantTime = instantTime;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.gpsCode = gpsCode;
+    }
+}
@@ -0,0 +1,42 @@
+package smarthome.service.internaldto;
+
+import smarthome.domain.valueobjects.Reading;
+import smarthome.domain.valueobjects.SensorFunctionalityID;
+import smarthome.domain.valueobjects.ValueCursor;
+
+import java.util.List;
+
+/**
+ * Internal Data Transfer Object for a page of the readings of a device, ordered by time, along with the cursor the
+ * next page starts after.
+ */
+public class InternalReadingPageDTO {
+
+    /**
+     * Reading of a device, along with the functionality of the sensor that took it.
+     * @param sensorFunctionalityID SensorFunctionalityID of the sensor that took the reading.
+     * @param reading               Reading taken.
+     */
+    public record PagedReading(SensorFunctionalityID sensorFunctionalityID, Reading reading) {
+    }
+
+    /**
+     * Readings of the page, ordered by time.
+     */
+    public final List<PagedReading> readings;
+
+    /**
+     * Cursor of the last reading of the page, or null if this is the last page.
+     */
+    public final ValueCursor nextCursor;
+
+    /**
+     * Constructor for the InternalReadingPageDTO class.
+     * @param readings   Readings of the page, ordered by time.
+     * @param nextCursor Cursor of the last reading of the page, or null if this is the last page.
+     */
+    public InternalReadingPageDTO(List<PagedReading> readings, ValueCursor nextCursor) {
+        this.readings = readings;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -3,6 +3,8 @@ package smarthome.util;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 
+import java.util.List;
+
 /**
  * Utility class for persisting entities using an EntityManager.
  */
@@ -48,4 +50,49 @@ public class EntityUpdater
         // Return false if EntityManager is null
         return false;
     }
+
+    /**
+     * Persists the provided entities using the given EntityManager, all in one transaction.
+     * The persistence context is flushed and cleared every {@code flushInterval} entities, so that inserts are sent
+     * to the database in JDBC batches and the context does not grow with the size of the batch.
+     * Unlike {@link #persistEntity(Object, EntityManager)}, the EntityManager is left open so it can be reused.
+     *
+     * @param entities      The entities to persist.
+     * @param entityManager The EntityManager used for persistence.
+     * @param flushInterval The number of entities to persist between flushes.
+     * @return True if all entities are successfully persisted, otherwise false and no entity is persisted.
+     */
+    public <T> boolean persistEntities(List<T> entities, EntityManager entityManager, int flushInterval)
+    {
+        if (entityManager == null || entities == null || flushInterval <= 0)
+        {
+            return false;
+        }
+
+        EntityTransaction entityTransaction = entityManager.getTransaction();
+        try
+        {
+            entityTransaction.begin();
+            int persisted = 0;
+            for (T entity : entities)
+            {
+                entityManager.persist(entity);
+                persisted++;
+                if (persisted % flushInterval == 0)
+                {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityTransaction.commit();
+            return true;
+        } catch (Exception e)
+        {
+            if (entityTransaction.isActive())
+            {
+                entityTransaction.rollback();
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,124 @@
+package smarthome.util;
+
+import smarthome.domain.valueobjects.ActuatorFunctionalityID;
+import smarthome.domain.valueobjects.SensorFunctionalityID;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable registry of the sensor and actuator functionalities of config/config.properties: the class of the sensor
+ * or actuator each functionality is built as.
+ * The configuration file is read once, when the registry is built, so lookups cost no I/O.
+ * The value query and unit of the readings of a sensor functionality are kept by the SensorFunctionalityRepository.
+ */
+public final class FunctionalityRegistry {
+
+    /**
+     * Path to the configuration properties file, in the classpath.
+     */
+    private static final String CONFIG_PROPERTIES = "config/config.properties";
+
+    /**
+     * Fully qualified name of the Sensor class of each sensor functionality.
+     */
+    private final Map<SensorFunctionalityID, String> sensorClassNames;
+
+    /**
+     * Fully qualified name of the Actuator class of each actuator functionality.
+     */
+    private final Map<ActuatorFunctionalityID, String> actuatorClassNames;
+
+    /**
+     * Constructor for FunctionalityRegistry.
+     *
+     * @param sensorClassNames   Sensor class of each sensor functionality.
+     * @param actuatorClassNames Actuator class of each actuator functionality.
+     */
+    public FunctionalityRegistry(Map<SensorFunctionalityID, String> sensorClassNames,
+                                 Map<ActuatorFunctionalityID, String> actuatorClassNames) {
+        if (sensorClassNames == null || actuatorClassNames == null)
+            throw new IllegalArgumentException("Functionality maps cannot be null.");
+
+        this.sensorClassNames = Map.copyOf(sensorClassNames);
+        this.actuatorClassNames = Map.copyOf(actuatorClassNames);
+    }
+
+    /**
+     * Builds the registry from the sensor and actuator blocks read by a ConfigScraper.
+     * Functionalities are registered by their sensorType entry.
+     *
+     * @param configScraper ConfigScraper of the configuration file.
+     * @return FunctionalityRegistry with the functionalities of the file.
+     */
+    public static FunctionalityRegistry from(ConfigScraper configScraper) {
+        Map<SensorFunctionalityID, String> sensorClassNames = new HashMap<>();
+        for (Map.Entry<String, String> entry : configScraper.loadSensorFunctionalityStringAndSensorTypeStringMap().entrySet()) {
+            sensorClassNames.put(new SensorFunctionalityID(entry.getKey()), entry.getValue());
+        }
+
+        Map<ActuatorFunctionalityID, String> actuatorClassNames = new HashMap<>();
+        for (Map.Entry<String, String> entry : configScraper.loadActuatorFunctionalityStringAndSensorTypeStringMap().entrySet()) {
+            actuatorClassNames.put(new ActuatorFunctionalityID(entry.getKey()), entry.getValue());
+        }
+
+        return new FunctionalityRegistry(sensorClassNames, actuatorClassNames);
+    }
+
+    /**
+     * Retrieves the registry of config/config.properties, shared by the whole application.
+     * The file is read the first time the registry is retrieved.
+     *
+     * @return the shared FunctionalityRegistry.
+     */
+    public static FunctionalityRegistry getInstance() {
+        return SharedInstance.REGISTRY;
+    }
+
+    /**
+     * Holder of the shared registry, initialized on first use.
+     */
+    private static final class SharedInstance {
+        private static final FunctionalityRegistry REGISTRY =
+                from(new ConfigScraper(CONFIG_PROPERTIES, new PropertyLoader()));
+    }
+
+    /**
+     * Retrieves the Sensor class of a sensor functionality.
+     *
+     * @param sensorFunctionalityID SensorFunctionalityID of the functionality.
+     * @return fully qualified name of the Sensor class, or null if the functionality is not registered.
+     */
+    public String getClassNameForSensorFunctionalityID(SensorFunctionalityID sensorFunctionalityID) {
+        return sensorFunctionalityID == null ? null : sensorClassNames.get(sensorFunctionalityID);
+    }
+
+    /**
+     * Retrieves the Actuator class of an actuator functionality.
+     *
+     * @param actuatorFunctionalityID ActuatorFunctionalityID of the functionality.
+     * @return fully qualified name of the Actuator class, or null if the functionality is not registered.
+     */
+    public String getClassNameForActuatorFunctionalityID(ActuatorFunctionalityID actuatorFunctionalityID) {
+        return actuatorFunctionalityID == null ? null : actuatorClassNames.get(actuatorFunctionalityID);
+    }
+
+    /**
+     * Retrieves the Sensor classes of all registered sensor functionalities.
+     *
+     * @return fully qualified names of the Sensor classes.
+     */
+    public Set<String> getSensorClassNames() {
+        return Set.copyOf(sensorClassNames.values());
+    }
+
+    /**
+     * Retrieves the Actuator classes of all registered actuator functionalities.
+     *
+     * @return fully qualified names of the Actuator classes.
+     */
+    public Set<String> getActuatorClassNames() {
+        return Set.copyOf(actuatorClassNames.values());
+    }
+}
@@ -0,0 +1,136 @@
+package smarthome.util;
+
+/**
+ * Immutable, typed snapshot of the general properties of the application found in config/general.properties.
+ * The file is parsed once into a snapshot, so reading a property is a field access instead of a scan of the file.
+ */
+public final class GeneralProperties {
+
+    /**
+     * Tolerance in milliseconds used when matching readings taken at different instants.
+     */
+    private final long tolerance;
+
+    /**
+     * Name of the device acting as the Grid Power Meter of the house.
+     */
+    private final String gridPowerMeterID;
+
+    /**
+     * Interval in milliseconds between two Grid Power Meter readings.
+     */
+    private final long gridPowerMeterCadence;
+
+    /**
+     * HTTP URL of the WeatherServicesAPI.
+     */
+    private final String weatherServiceAPIHTTPURL;
+
+    /**
+     * Identification of the group responsible for the project.
+     */
+    private final int groupNumber;
+
+    /**
+     * Constructor for GeneralProperties.
+     *
+     * @param tolerance                tolerance in milliseconds.
+     * @param gridPowerMeterID         name of the Grid Power Meter device.
+     * @param gridPowerMeterCadence    interval in milliseconds between Grid Power Meter readings.
+     * @param weatherServiceAPIHTTPURL HTTP URL of the WeatherServicesAPI.
+     * @param groupNumber              identification of the group.
+     * @throws IllegalArgumentException if a String property is null or empty.
+     */
+    public GeneralProperties(long tolerance, String gridPowerMeterID, long gridPowerMeterCadence,
+                             String weatherServiceAPIHTTPURL, int groupNumber) {
+        if (gridPowerMeterID == null || gridPowerMeterID.isEmpty())
+            throw new IllegalArgumentException("Grid power meter ID cannot be null or empty.");
+        if (weatherServiceAPIHTTPURL == null || weatherServiceAPIHTTPURL.isEmpty())
+            throw new IllegalArgumentException("Weather service API HTTP URL cannot be null or empty.");
+
+        this.tolerance = tolerance;
+        this.gridPowerMeterID = gridPowerMeterID;
+        this.gridPowerMeterCadence = gridPowerMeterCadence;
+        this.weatherServiceAPIHTTPURL = weatherServiceAPIHTTPURL;
+        this.groupNumber = groupNumber;
+    }
+
+    /**
+     * Parses the general properties read by a ConfigScraper into a snapshot.
+     *
+     * @param configScraper ConfigScraper reading config/general.properties.
+     * @return GeneralProperties snapshot of the file.
+     * @throws IllegalArgumentException if a property is missing or a numeric property is not a number.
+     */
+    public static GeneralProperties from(ConfigScraper configScraper) {
+        return new GeneralProperties(
+                parseLong("tolerance", configScraper.loadTolerance()),
+                configScraper.loadGridPowerMeterID(),
+                parseLong("gridPowerMeterCadence", configScraper.loadGridPowerMeterCadence()),
+                configScraper.loadWeatherServicesAPIHTTPURL(),
+                (int) parseLong("groupNumber", configScraper.loadGroupNumber()));
+    }
+
+    /**
+     * Parses a numeric property.
+     *
+     * @param property name of the property, used in the error message.
+     * @param value    String value of the property, null if it is missing.
+     * @return the value of the property as a long.
+     * @throws IllegalArgumentException if the value is missing or not a number.
+     */
+    private static long parseLong(String property, String value) {
+        if (value == null)
+            throw new IllegalArgumentException("Property " + property + " is missing.");
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Property " + property + " is not a number: " + value);
+        }
+    }
+
+    /**
+     * Getter for the tolerance.
+     *
+     * @return tolerance in milliseconds.
+     */
+    public long getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Getter for the Grid Power Meter ID.
+     *
+     * @return name of the Grid Power Meter device.
+     */
+    public String getGridPowerMeterID() {
+        return gridPowerMeterID;
+    }
+
+    /**
+     * Getter for the Grid Power Meter cadence.
+     *
+     * @return interval in milliseconds between Grid Power Meter readings.
+     */
+    public long getGridPowerMeterCadence() {
+        return gridPowerMeterCadence;
+    }
+
+    /**
+     * Getter for the WeatherServicesAPI HTTP URL.
+     *
+     * @return HTTP URL of the WeatherServicesAPI.
+     */
+    public String getWeatherServiceAPIHTTPURL() {
+        return weatherServiceAPIHTTPURL;
+    }
+
+    /**
+     * Getter for the group number.
+     *
+     * @return identification of the group.
+     */
+    public int getGroupNumber() {
+        return groupNumber;
+    }
+}
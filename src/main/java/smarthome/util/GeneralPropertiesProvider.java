@@ -0,0 +1,139 @@
+package smarthome.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Holder of the current GeneralProperties snapshot, shared by every service that needs a general property.
+ * The snapshot is loaded once on construction and only replaced as a whole on reload, so readers always see a
+ * consistent set of properties without any locking or I/O.
+ * Optionally, the properties file can be watched so the snapshot is reloaded whenever the file changes.
+ */
+public class GeneralPropertiesProvider implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeneralPropertiesProvider.class);
+
+    /**
+     * Function that parses a new snapshot of the general properties.
+     */
+    private final Supplier<GeneralProperties> loader;
+
+    /**
+     * Current snapshot of the general properties.
+     */
+    private final AtomicReference<GeneralProperties> current;
+
+    /**
+     * WatchService of the properties file, null if the file is not being watched.
+     */
+    private WatchService watchService;
+
+    /**
+     * Constructor for GeneralPropertiesProvider. Loads the first snapshot.
+     *
+     * @param loader function that parses a snapshot of the general properties.
+     * @throws IllegalArgumentException if the first snapshot cannot be parsed.
+     */
+    public GeneralPropertiesProvider(Supplier<GeneralProperties> loader) {
+        this.loader = loader;
+        this.current = new AtomicReference<>(loader.get());
+    }
+
+    /**
+     * Retrieves the current snapshot of the general properties.
+     * Callers that read several properties in one operation should keep the returned snapshot for the whole operation.
+     *
+     * @return the current GeneralProperties snapshot.
+     */
+    public GeneralProperties current() {
+        return current.get();
+    }
+
+    /**
+     * Parses a new snapshot and swaps it in. If the new snapshot cannot be parsed the current one is kept.
+     *
+     * @return true if the snapshot was replaced, false if the current one was kept.
+     */
+    public boolean reload() {
+        try {
+            current.set(loader.get());
+            return true;
+        } catch (IllegalArgumentException exception) {
+            LOGGER.warn("General properties not reloaded, keeping the current ones: {}", exception.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Starts watching a properties file, reloading the snapshot whenever the file is created or modified.
+     * The watch runs on a daemon thread until the provider is closed.
+     *
+     * @param file path of the properties file.
+     * @throws IOException if the directory of the file cannot be watched.
+     */
+    public synchronized void watch(Path file) throws IOException {
+        if (watchService != null)
+            throw new IllegalStateException("General properties file is already being watched.");
+
+        Path directory = file.toAbsolutePath().getParent();
+        Path fileName = file.getFileName();
+        WatchService service = FileSystems.getDefault().newWatchService();
+        directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.watchService = service;
+
+        Thread watcher = new Thread(() -> watchLoop(service, fileName), "general-properties-watch");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Waits for changes in the watched directory and reloads the snapshot when the properties file changes.
+     *
+     * @param service  WatchService registered on the directory of the file.
+     * @param fileName name of the properties file.
+     */
+    private void watchLoop(WatchService service, Path fileName) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (fileName.equals(event.context()))
+                        changed = true;
+                }
+                if (changed)
+                    reload();
+                if (!key.reset())
+                    return;
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException exception) {
+            // Provider closed, stop watching.
+        }
+    }
+
+    /**
+     * Stops watching the properties file, if it is being watched.
+     *
+     * @throws IOException if the WatchService cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+    }
+}
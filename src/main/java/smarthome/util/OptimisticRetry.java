@@ -0,0 +1,77 @@
+package smarthome.util;
+
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.StaleStateException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import smarthome.util.exceptions.ConcurrentUpdateException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Utility class for running a compare-and-swap update again when it loses to a concurrent update of the same entity.
+ * <p>
+ * An attempt reads the current version of an entity, changes it and writes it back only if the version is still the
+ * one it read. When the write finds a newer version, the whole attempt runs again on fresh data, after a short random
+ * pause that keeps competing writers from colliding in lockstep.
+ */
+public final class OptimisticRetry {
+
+    /**
+     * Maximum number of attempts of an update before it gives up.
+     */
+    public static final int MAX_ATTEMPTS = 5;
+
+    private OptimisticRetry() {
+    }
+
+    /**
+     * Runs an attempt until it does not conflict with a concurrent update, at most {@link #MAX_ATTEMPTS} times.
+     *
+     * @param attempt The read, change and versioned write of the entity. It must read the entity again on each run.
+     * @return The result of the first attempt that did not conflict.
+     * @throws ConcurrentUpdateException if every attempt conflicted, or the thread was interrupted while pausing.
+     */
+    public static <T> T retryOnConflict(Supplier<T> attempt) {
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return attempt.get();
+            } catch (RuntimeException e) {
+                if (!isConflict(e))
+                    throw e;
+                if (attemptNumber == MAX_ATTEMPTS)
+                    throw new ConcurrentUpdateException();
+            }
+            pauseBeforeAttempt(attemptNumber + 1);
+        }
+    }
+
+    /**
+     * Checks whether an exception, or one of its causes, reports a write that found a newer version of the entity.
+     *
+     * @param exception The exception thrown by an attempt.
+     * @return true if the attempt lost to a concurrent update, false otherwise.
+     */
+    static boolean isConflict(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockingFailureException || cause instanceof OptimisticLockException
+                    || cause instanceof StaleStateException)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Pauses for a random time that doubles in range with every attempt (up to 2, 4, 8... milliseconds).
+     *
+     * @param attemptNumber The number of the attempt about to run.
+     */
+    private static void pauseBeforeAttempt(int attemptNumber) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1L << (attemptNumber - 1)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException();
+        }
+    }
+}
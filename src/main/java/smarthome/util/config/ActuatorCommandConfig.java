@@ -0,0 +1,73 @@
+package smarthome.util.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration class for the workers that apply the queued actuator commands and persist the applied states.
+ */
+@Configuration
+public class ActuatorCommandConfig {
+
+    /**
+     * Creates the fixed-size executor the queued actuator commands are applied on. Commands of one actuator are applied
+     * one at a time, so its size bounds how many actuators are updated at the same time.
+     *
+     * @param concurrency number of worker threads, from smarthome.actuators.command-concurrency.
+     * @return The executor for the actuator commands.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService actuatorCommandExecutor(@Value("${smarthome.actuators.command-concurrency:4}") int concurrency) {
+        if (concurrency < 1)
+            throw new IllegalArgumentException("smarthome.actuators.command-concurrency must be at least 1");
+
+        return Executors.newFixedThreadPool(concurrency, daemonThreads("actuator-command-"));
+    }
+
+    /**
+     * Creates the single-thread scheduler that writes the applied actuator states to the repository in batches.
+     *
+     * @return The scheduler for the actuator state flushes.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService actuatorStateFlushScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(daemonThreads("actuator-state-flush-"));
+    }
+
+    /**
+     * Reads how long applied actuator states are gathered before they are written as one batch.
+     *
+     * @param flushIntervalMillis interval in milliseconds, from smarthome.actuators.state-flush-interval-ms.
+     * @return The interval between the first applied state of a batch and its write.
+     */
+    @Bean
+    public Duration actuatorStateFlushInterval(@Value("${smarthome.actuators.state-flush-interval-ms:200}") long flushIntervalMillis) {
+        if (flushIntervalMillis < 0)
+            throw new IllegalArgumentException("smarthome.actuators.state-flush-interval-ms cannot be negative");
+
+        return Duration.ofMillis(flushIntervalMillis);
+    }
+
+    /**
+     * Creates a factory of daemon threads numbered after the given prefix.
+     *
+     * @param prefix prefix of the thread names.
+     * @return The thread factory.
+     */
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
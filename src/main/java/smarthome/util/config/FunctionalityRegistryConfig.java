@@ -0,0 +1,49 @@
+package smarthome.util.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import smarthome.domain.actuators.FactoryActuator;
+import smarthome.domain.sensor.FactorySensor;
+import smarthome.util.FunctionalityRegistry;
+
+/**
+ * Configuration class for the registry of the functionalities of config/config.properties and the sensor and
+ * actuator factories built from it.
+ */
+@Configuration
+public class FunctionalityRegistryConfig {
+
+    /**
+     * Exposes the shared functionality registry, so the data model mappers receive it instead of reading the file.
+     *
+     * @return The FunctionalityRegistry shared by the whole application.
+     */
+    @Bean
+    public FunctionalityRegistry functionalityRegistry() {
+        return FunctionalityRegistry.getInstance();
+    }
+
+    /**
+     * Builds the sensor factory with the Sensor classes of the registered sensor functionalities, so a misconfigured
+     * class fails the application at startup.
+     *
+     * @param functionalityRegistry The shared functionality registry.
+     * @return The FactorySensor of the application.
+     */
+    @Bean
+    public FactorySensor factorySensor(FunctionalityRegistry functionalityRegistry) {
+        return new FactorySensor(functionalityRegistry.getSensorClassNames());
+    }
+
+    /**
+     * Builds the actuator factory with the Actuator classes of the registered actuator functionalities, so a
+     * misconfigured class fails the application at startup.
+     *
+     * @param functionalityRegistry The shared functionality registry.
+     * @return The FactoryActuator of the application.
+     */
+    @Bean
+    public FactoryActuator factoryActuator(FunctionalityRegistry functionalityRegistry) {
+        return new FactoryActuator(functionalityRegistry.getActuatorClassNames());
+    }
+}
@@ -0,0 +1,65 @@
+package smarthome.util.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import smarthome.util.ConfigScraper;
+import smarthome.util.GeneralProperties;
+import smarthome.util.GeneralPropertiesProvider;
+import smarthome.util.PropertyLoader;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+
+/**
+ * Configuration class for the snapshot of config/general.properties shared by the services.
+ */
+@Configuration
+public class GeneralPropertiesConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeneralPropertiesConfig.class);
+
+    /**
+     * A constant string indicating the path to the general properties file in the classpath.
+     */
+    private static final String GENERAL_PROPERTIES = "config/general.properties";
+
+    /**
+     * Creates the provider of the general properties, parsing the file once at startup.
+     *
+     * @param watch whether the file is watched and reloaded when it changes, from smarthome.config.watch. Only files
+     *              outside a jar can be watched.
+     * @return The provider of the general properties.
+     */
+    @Bean(destroyMethod = "close")
+    public GeneralPropertiesProvider generalPropertiesProvider(@Value("${smarthome.config.watch:false}") boolean watch) {
+        ConfigScraper configScraper = new ConfigScraper(GENERAL_PROPERTIES, new PropertyLoader());
+        GeneralPropertiesProvider provider = new GeneralPropertiesProvider(() -> GeneralProperties.from(configScraper));
+
+        if (watch)
+            watchGeneralPropertiesFile(provider);
+        return provider;
+    }
+
+    /**
+     * Starts watching the general properties file if it is a file in the file system.
+     *
+     * @param provider provider to reload when the file changes.
+     */
+    private void watchGeneralPropertiesFile(GeneralPropertiesProvider provider) {
+        URL resource = getClass().getClassLoader().getResource(GENERAL_PROPERTIES);
+        if (resource == null || !"file".equals(resource.getProtocol())) {
+            LOGGER.warn("{} is not a file in the file system and will not be watched", GENERAL_PROPERTIES);
+            return;
+        }
+        try {
+            provider.watch(Path.of(resource.toURI()));
+        } catch (IOException | URISyntaxException exception) {
+            LOGGER.warn("{} will not be watched: {}", GENERAL_PROPERTIES, exception.getMessage());
+        }
+    }
+}
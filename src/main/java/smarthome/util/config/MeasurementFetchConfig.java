@@ -0,0 +1,39 @@
+package smarthome.util.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration class for the executor that runs the per-sensor range queries of a device measurement listing.
+ */
+@Configuration
+public class MeasurementFetchConfig {
+
+    /**
+     * Creates a fixed-size executor shared by all measurement listings, so the number of range queries running at the
+     * same time never exceeds the configured concurrency, whatever the number of requests or sensors.
+     *
+     * @param concurrency maximum number of range queries running at the same time, from
+     *                    smarthome.measurements.fetch-concurrency.
+     * @return The executor for the per-sensor range queries.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService measurementFetchExecutor(@Value("${smarthome.measurements.fetch-concurrency:8}") int concurrency) {
+        if (concurrency < 1)
+            throw new IllegalArgumentException("smarthome.measurements.fetch-concurrency must be at least 1");
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "measurement-fetch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(concurrency, threadFactory);
+    }
+}
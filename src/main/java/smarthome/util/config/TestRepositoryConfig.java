@@ -3,7 +3,14 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import smarthome.domain.repository.*;
+import smarthome.persistence.repositoriesmem.ActuatorStateRepository;
+import smarthome.persistence.repositoriesmem.ActuatorStateRepositoryMem;
+import smarthome.persistence.repositoriesmem.TopologyRepositoryMem;
+import smarthome.persistence.repositoriesmem.ValueRollupRepository;
+import smarthome.persistence.repositoriesmem.ValueRollupRepositoryMem;
 import smarthome.persistence.springdata.repositoriesspringdata.testrepositories.*;
+
+import java.util.concurrent.ConcurrentHashMap;
 /**
  * Configuration class for setting up test-specific repository beans.
  * This class provides bean definitions for repositories used in testing environments.
@@ -32,11 +39,12 @@ public class TestRepositoryConfig {
 
     /**
      * Bean definition for the DeviceRepository interface.
+     * @param roomRepository the repository the rooms of a house are read from.
      * @return A DeviceRepository instance for testing purposes.
      */
     @Bean
-    public DeviceRepository deviceRepository() {
-        return new DeviceTestRepositorySpringData();
+    public DeviceRepository deviceRepository(RoomRepository roomRepository) {
+        return new DeviceTestRepositorySpringData(roomRepository);
     }
 
     /**
@@ -57,6 +65,19 @@ public class TestRepositoryConfig {
         return new ActuatorTestRepositorySpringData();
     }
 
+    /**
+     * Bean definition for the TopologyRepository interface.
+     * @param deviceRepository the repository the devices are read from.
+     * @param sensorRepository the repository the sensors are read from.
+     * @param actuatorRepository the repository the actuators are read from.
+     * @return A TopologyRepository joined in memory from the test repositories.
+     */
+    @Bean
+    public TopologyRepository topologyRepository(DeviceRepository deviceRepository, SensorRepository sensorRepository,
+                                                 ActuatorRepository actuatorRepository) {
+        return new TopologyRepositoryMem(deviceRepository, sensorRepository, actuatorRepository);
+    }
+
     /**
      * Bean definition for the InstantTimeValueTestRepositorySpringData class.
      * @return An InstantTimeValueTestRepositorySpringData instance for testing purposes.
@@ -83,5 +104,22 @@ public class TestRepositoryConfig {
     public PeriodTimeValueTestRepositorySpringData periodTimeValueRepository() {
         return new PeriodTimeValueTestRepositorySpringData();
     }
-}
 
+    /**
+     * Bean definition for the ValueRollupRepository interface.
+     * @return A ValueRollupRepository kept in memory, starting empty.
+     */
+    @Bean
+    public ValueRollupRepository valueRollupRepository() {
+        return new ValueRollupRepositoryMem();
+    }
+
+    /**
+     * Bean definition for the ActuatorStateRepository interface.
+     * @return An ActuatorStateRepository kept in memory, starting empty.
+     */
+    @Bean
+    public ActuatorStateRepository actuatorStateRepository() {
+        return new ActuatorStateRepositoryMem(new ConcurrentHashMap<>());
+    }
+}
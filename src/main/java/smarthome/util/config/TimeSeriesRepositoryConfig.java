@@ -0,0 +1,43 @@
+package smarthome.util.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import smarthome.domain.value.ImpFactoryInstantTimeValue;
+import smarthome.domain.value.ImpFactoryPeriodTimeValue;
+import smarthome.persistence.repositoriesmem.InstantTimeValueRepository;
+import smarthome.persistence.repositoriesmem.InstantTimeValueRepositoryTimeSeries;
+import smarthome.persistence.repositoriesmem.PeriodTimeValueRepository;
+import smarthome.persistence.repositoriesmem.PeriodTimeValueRepositoryTimeSeries;
+
+/**
+ * Configuration class that keeps the instant and period time values in memory, in columnar time-series stores.
+ * Enabled by the "timeseries" profile; its repositories take precedence over the database backed ones.
+ */
+@Configuration
+@Profile("timeseries")
+public class TimeSeriesRepositoryConfig {
+
+    /**
+     * Bean definition for the InstantTimeValueRepository interface.
+     * @param factory the factory used to build the values retrieved from the repository.
+     * @return An InstantTimeValueRepository backed by a time-series store.
+     */
+    @Bean
+    @Primary
+    public InstantTimeValueRepository timeSeriesInstantTimeValueRepository(ImpFactoryInstantTimeValue factory) {
+        return new InstantTimeValueRepositoryTimeSeries(factory);
+    }
+
+    /**
+     * Bean definition for the PeriodTimeValueRepository interface.
+     * @param factory the factory used to build the values retrieved from the repository.
+     * @return A PeriodTimeValueRepository backed by a time-series store.
+     */
+    @Bean
+    @Primary
+    public PeriodTimeValueRepository timeSeriesPeriodTimeValueRepository(ImpFactoryPeriodTimeValue factory) {
+        return new PeriodTimeValueRepositoryTimeSeries(factory);
+    }
+}
@@ -0,0 +1,156 @@
+package smarthome.util.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import smarthome.domain.actuators.FactoryActuator;
+import smarthome.domain.device.FactoryDevice;
+import smarthome.domain.house.FactoryHouse;
+import smarthome.domain.repository.*;
+import smarthome.domain.room.FactoryRoom;
+import smarthome.persistence.cache.*;
+
+import java.time.Duration;
+
+/**
+ * Configuration class that serves the reads of the topology repositories (houses, rooms, devices, sensors and
+ * actuators) and the topology projection from bounded in-memory caches, in front of the repositories of the active
+ * profile. Writes to devices, sensors or actuators also clear the cached projection.
+ * Enabled by smarthome.topology.cache.enabled, which each profile can override; the caching repositories take
+ * precedence over the ones they wrap. Houses, rooms, devices and actuators are handed out as copies made with the
+ * domain factories. Writes only clear the caches of the instance they go through, so results also expire after
+ * smarthome.topology.cache.time-to-live-ms; that bounds how long writes of other instances go unseen.
+ */
+@Configuration
+@ConditionalOnProperty(name = "smarthome.topology.cache.enabled", havingValue = "true")
+public class TopologyCacheConfig {
+
+    /**
+     * Maximum number of query results kept for each repository, from smarthome.topology.cache.maximum-size.
+     */
+    private final int maximumSize;
+
+    /**
+     * Time each query result is served before the query is run again, from smarthome.topology.cache.time-to-live-ms.
+     */
+    private final Duration timeToLive;
+
+    /**
+     * Registry the hit and miss metrics of the caches are published to.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Cache of the topology projection, cleared along with the caches of the devices, sensors and actuators.
+     */
+    private final TopologyCache topologyCache;
+
+    /**
+     * Constructs a TopologyCacheConfig.
+     * @param maximumSize        maximum number of query results kept for each repository.
+     * @param timeToLiveMillis   milliseconds each query result is served before the query is run again.
+     * @param meterRegistry      registry the cache metrics are published to.
+     */
+    public TopologyCacheConfig(@Value("${smarthome.topology.cache.maximum-size:" + TopologyCache.DEFAULT_MAXIMUM_SIZE + "}") int maximumSize,
+                               @Value("${smarthome.topology.cache.time-to-live-ms:30000}") long timeToLiveMillis,
+                               MeterRegistry meterRegistry) {
+        this.maximumSize = maximumSize;
+        this.timeToLive = Duration.ofMillis(timeToLiveMillis);
+        this.meterRegistry = meterRegistry;
+        this.topologyCache = newCache("topology");
+    }
+
+    /**
+     * Creates the cache of a repository with the configured size and time to live.
+     * @param repository the name of the cached repository, used to tag the metrics.
+     * @return A new TopologyCache.
+     */
+    private TopologyCache newCache(String repository) {
+        return new TopologyCache(repository, meterRegistry, maximumSize, timeToLive);
+    }
+
+    /**
+     * Bean definition for the HouseRepository interface.
+     * @param houseRepository the repository the houses are read from and written to.
+     * @param factoryHouse    the factory the cached houses are copied with.
+     * @return A HouseRepository that caches the reads of the given one.
+     */
+    @Bean
+    @Primary
+    public HouseRepository cachingHouseRepository(HouseRepository houseRepository, FactoryHouse factoryHouse) {
+        return new CachingHouseRepository(houseRepository, newCache("house"),
+                house -> factoryHouse.createHouseWithOrWithoutLocation(house.identity(), house.getHouseLocation()));
+    }
+
+    /**
+     * Bean definition for the RoomRepository interface.
+     * @param roomRepository the repository the rooms are read from and written to.
+     * @param factoryRoom    the factory the cached rooms are copied with.
+     * @return A RoomRepository that caches the reads of the given one.
+     */
+    @Bean
+    @Primary
+    public RoomRepository cachingRoomRepository(RoomRepository roomRepository, FactoryRoom factoryRoom) {
+        return new CachingRoomRepository(roomRepository, newCache("room"), room -> factoryRoom.createRoom(
+                room.identity(), room.getRoomFloor(), room.getRoomDimensions(), room.getHouseID()));
+    }
+
+    /**
+     * Bean definition for the DeviceRepository interface.
+     * @param deviceRepository the repository the devices are read from and written to.
+     * @param factoryDevice    the factory the cached devices are copied with.
+     * @return A DeviceRepository that caches the reads of the given one.
+     */
+    @Bean
+    @Primary
+    public DeviceRepository cachingDeviceRepository(DeviceRepository deviceRepository, FactoryDevice factoryDevice) {
+        TopologyCache deviceCache = newCache("device");
+        deviceCache.addDependent(topologyCache);
+        return new CachingDeviceRepository(deviceRepository, deviceCache, device -> factoryDevice.createDevice(
+                device.identity(), device.getDeviceModel(), device.getRoomID(), device.getDeviceStatus()));
+    }
+
+    /**
+     * Bean definition for the SensorRepository interface.
+     * @param sensorRepository the repository the sensors are read from and written to.
+     * @return A SensorRepository that caches the reads of the given one.
+     */
+    @Bean
+    @Primary
+    public SensorRepository cachingSensorRepository(SensorRepository sensorRepository) {
+        TopologyCache sensorCache = newCache("sensor");
+        sensorCache.addDependent(topologyCache);
+        return new CachingSensorRepository(sensorRepository, sensorCache);
+    }
+
+    /**
+     * Bean definition for the ActuatorRepository interface.
+     * @param actuatorRepository the repository the actuators are read from and written to.
+     * @param factoryActuator    the factory the cached actuators are copied with.
+     * @return An ActuatorRepository that caches the reads of the given one.
+     */
+    @Bean
+    @Primary
+    public ActuatorRepository cachingActuatorRepository(ActuatorRepository actuatorRepository, FactoryActuator factoryActuator) {
+        TopologyCache actuatorCache = newCache("actuator");
+        actuatorCache.addDependent(topologyCache);
+        return new CachingActuatorRepository(actuatorRepository, actuatorCache, actuator -> factoryActuator.createActuator(
+                actuator.identity(), actuator.getActuatorFunctionalityID(), actuator.getActuatorProperties(),
+                actuator.getDeviceName(), actuator.getClass().getName()));
+    }
+
+    /**
+     * Bean definition for the TopologyRepository interface.
+     * @param topologyRepository the repository the topology projection is read from.
+     * @return A TopologyRepository that caches the projection of the given one until a device, sensor or actuator
+     * is written.
+     */
+    @Bean
+    @Primary
+    public TopologyRepository cachingTopologyRepository(TopologyRepository topologyRepository) {
+        return new CachingTopologyRepository(topologyRepository, topologyCache);
+    }
+}
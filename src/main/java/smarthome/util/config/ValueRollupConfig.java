@@ -0,0 +1,31 @@
+package smarthome.util.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import smarthome.service.ValueService;
+
+/**
+ * Configuration class for the rollups of the numeric readings of the sensors.
+ */
+@Configuration
+public class ValueRollupConfig {
+
+    /**
+     * Creates the task that, once the application has started, stores the rollups of the sensors that have readings
+     * but no rollups yet, such as the readings of the provisioning script.
+     *
+     * @param valueService service computing and storing the rollups.
+     * @param enabled      whether to backfill, from smarthome.rollups.backfill-on-startup.
+     * @return The backfill task.
+     */
+    @Bean
+    public ApplicationRunner valueRollupBackfill(ValueService valueService,
+                                                 @Value("${smarthome.rollups.backfill-on-startup:false}") boolean enabled) {
+        return arguments -> {
+            if (enabled)
+                valueService.backfillRollups();
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package smarthome.util.exceptions;
+
+/**
+ * An exception class representing the scenario where an entity kept being changed by concurrent updates, so an update
+ * could not be applied within its bounded number of attempts.
+ */
+public class ConcurrentUpdateException extends RuntimeException {
+    /**
+     * Constructs a new ConcurrentUpdateException with a default message.
+     */
+    public ConcurrentUpdateException() {
+        super("Entity was modified concurrently, update not applied");
+    }
+}
@@ -1,9 +1,13 @@
 package smarthome.util.serializers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import smarthome.mapper.ActuatorFunctionalityDTO;
 import smarthome.mapper.DeviceDTO;
@@ -20,19 +24,13 @@ public class JacksonConfiguration {
 
     /**
      * Configures and returns an ObjectMapper bean with custom serializers for DTO classes.
+     * Java time types, such as the LocalDateTime fields of the readings sent for ingestion, are read and written as ISO-8601 strings.
      *
      * @return The configured ObjectMapper instance.
      */
     @Bean
     public ObjectMapper objectMapper() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        SimpleModule module = new SimpleModule();
-        module.addKeySerializer(DeviceDTO.class, new DeviceDTOKeySerializer());
-        module.addKeySerializer(RoomDTO.class, new RoomDTOKeySerializer());
-        module.addKeySerializer(SensorFunctionalityDTO.class, new SensorFunctionalityDTOKeySerializer());
-        module.addKeySerializer(ActuatorFunctionalityDTO.class, new ActuatorFunctionalityDTOKeySerializer());
-        objectMapper.registerModule(module);
-        return objectMapper;
+        return configure(new ObjectMapper());
     }
 
     @Bean
@@ -43,4 +41,36 @@ public class JacksonConfiguration {
         converter.setDefaultCharset(StandardCharsets.UTF_8);
         return converter;
     }
+
+    /**
+     * Configures and returns the converter of the CBOR wire format, chosen over JSON when a client accepts
+     * application/cbor. Its CBORMapper is configured like the JSON ObjectMapper, so the same DTO map keys and Java time
+     * types are written in both formats, while field names and numbers are binary encoded.
+     *
+     * @return The configured MappingJackson2CborHttpMessageConverter instance.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter mappingJackson2CborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(configure(new CBORMapper()));
+    }
+
+    /**
+     * Registers the DTO key serializers and Java time types on an ObjectMapper of any data format.
+     * The key serializers only write field names through the generator, so they serve JSON and CBOR alike.
+     *
+     * @param objectMapper The ObjectMapper, or subclass for a binary data format, to configure.
+     * @param <T>          The type of the ObjectMapper.
+     * @return The configured ObjectMapper instance.
+     */
+    private static <T extends ObjectMapper> T configure(T objectMapper) {
+        SimpleModule module = new SimpleModule();
+        module.addKeySerializer(DeviceDTO.class, new DeviceDTOKeySerializer());
+        module.addKeySerializer(RoomDTO.class, new RoomDTOKeySerializer());
+        module.addKeySerializer(SensorFunctionalityDTO.class, new SensorFunctionalityDTOKeySerializer());
+        module.addKeySerializer(ActuatorFunctionalityDTO.class, new ActuatorFunctionalityDTOKeySerializer());
+        objectMapper.registerModule(module);
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return objectMapper;
+    }
 }
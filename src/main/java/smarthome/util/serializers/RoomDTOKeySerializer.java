@@ -14,12 +14,12 @@ import java.io.IOException;
 public class RoomDTOKeySerializer extends JsonSerializer<RoomDTO> {
 
     /**
-     * Serializes an RoomDTO object by writing its room name as a JSON field name.
+     * Serializes an RoomDTO object by writing its room name as a field name, in JSON or CBOR alike.
      *
      * @param value       The RoomDTO object to be serialized.
-     * @param gen         The JSON generator used for writing JSON content.
+     * @param gen         The generator used for writing JSON or CBOR content.
      * @param serializers The serializer provider.
-     * @throws IOException If an I/O error occurs while writing JSON content.
+     * @throws IOException If an I/O error occurs while writing the content.
      */
     @Override
     public void serialize(RoomDTO value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
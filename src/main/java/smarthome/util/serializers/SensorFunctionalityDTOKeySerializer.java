@@ -15,12 +15,12 @@ import java.io.IOException;
 public class SensorFunctionalityDTOKeySerializer extends JsonSerializer<SensorFunctionalityDTO> {
 
     /**
-     * Serializes an SensorFunctionalityDTO object by writing its sensor functionality name as a JSON field name.
+     * Serializes an SensorFunctionalityDTO object by writing its sensor functionality name as a field name, in JSON or CBOR alike.
      *
      * @param value       The ActuatorFunctionalityDTO object to be serialized.
-     * @param gen         The JSON generator used for writing JSON content.
+     * @param gen         The generator used for writing JSON or CBOR content.
      * @param serializers The serializer provider.
-     * @throws IOException If an I/O error occurs while writing JSON content.
+     * @throws IOException If an I/O error occurs while writing the content.
      */
     @Override
     public void serialize(SensorFunctionalityDTO value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
@@ -66,7 +66,7 @@ class AddNewActuatorToDeviceControllerTest {
         RoomRepository roomRepository = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData, roomRepository);
 
         Map<ActuatorID, Actuator> actuatorData = new HashMap<>();
         ActuatorRepository actuatorRepository = new ActuatorRepositoryMem(actuatorData);
@@ -150,7 +150,7 @@ class AddNewActuatorToDeviceControllerTest {
         RoomRepository roomRepository = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData, roomRepository);
 
         Map<ActuatorID, Actuator> actuatorData = new HashMap<>();
         ActuatorRepository actuatorRepository = new ActuatorRepositoryMem(actuatorData);
@@ -226,7 +226,7 @@ class AddNewActuatorToDeviceControllerTest {
         RoomRepository roomRepository = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData, roomRepository);
 
         Map<ActuatorID, Actuator> actuatorData = new HashMap<>();
         ActuatorRepository actuatorRepository = new ActuatorRepositoryMem(actuatorData);
@@ -303,7 +303,7 @@ class AddNewActuatorToDeviceControllerTest {
         RoomRepository roomRepository = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData, roomRepository);
 
         Map<ActuatorID, Actuator> actuatorData = new HashMap<>();
         ActuatorRepository actuatorRepository = new ActuatorRepositoryMem(actuatorData);
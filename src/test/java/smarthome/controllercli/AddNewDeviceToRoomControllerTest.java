@@ -55,12 +55,12 @@ class AddNewDeviceToRoomControllerTest {
         FactoryHouse factoryHouse = new ImpFactoryHouse();
 
         //Instantiate needed repositories with a blank data map
-        Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(deviceData);
-
         Map<RoomID, Room> roomData = new HashMap<>();
         RoomRepositoryMem roomRepositoryMem = new RoomRepositoryMem(roomData);
 
+        Map<DeviceID, Device> deviceData = new HashMap<>();
+        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(deviceData, roomRepositoryMem);
+
         Map<HouseID, House> houseData = new HashMap<>();
         HouseRepositoryMem houseRepositoryMem = new HouseRepositoryMem(houseData);
 
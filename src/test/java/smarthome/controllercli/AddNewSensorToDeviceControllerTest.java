@@ -64,7 +64,7 @@ class AddNewSensorToDeviceControllerTest {
         RoomRepository roomRepository = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData, roomRepository);
 
         Map<SensorID, Sensor> sensorData = new HashMap<>();
         SensorRepository sensorRepository = new SensorRepositoryMem(sensorData);
@@ -141,7 +141,7 @@ class AddNewSensorToDeviceControllerTest {
         RoomRepository roomRepository = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData, roomRepository);
 
         Map<SensorID, Sensor> sensorData = new HashMap<>();
         SensorRepository sensorRepository = new SensorRepositoryMem(sensorData);
@@ -212,7 +212,7 @@ class AddNewSensorToDeviceControllerTest {
         RoomRepository roomRepository = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData, roomRepository);
 
         Map<SensorID, Sensor> sensorData = new HashMap<>();
         SensorRepository sensorRepository = new SensorRepositoryMem(sensorData);
@@ -274,7 +274,7 @@ class AddNewSensorToDeviceControllerTest {
         RoomRepository roomRepository = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData, roomRepository);
 
         Map<SensorID, Sensor> sensorData = new HashMap<>();
         SensorRepository sensorRepository = new SensorRepositoryMem(sensorData);
@@ -59,9 +59,6 @@ class DeactivateDeviceControllerTest {
          House house = factoryHouse.createHouseWithOutLocation();
 
          // Instantiate needed repositories with a blank data map
-         Map<DeviceID, Device> deviceData = new HashMap<>();
-         DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(deviceData);
-
          Map<HouseID, House> houseData = new HashMap<>();
          HouseRepositoryMem houseRepositoryMem = new HouseRepositoryMem(houseData);
          HouseID houseID = house.identity();
@@ -70,6 +67,9 @@ class DeactivateDeviceControllerTest {
          Map<RoomID, Room> roomData = new HashMap<>();
          RoomRepositoryMem roomRepositoryMem = new RoomRepositoryMem(roomData);
 
+         Map<DeviceID, Device> deviceData = new HashMap<>();
+         DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(deviceData, roomRepositoryMem);
+
          // Instantiate needed services
          RoomService roomService = new RoomService(roomRepositoryMem, factoryRoom, houseRepositoryMem);
          DeviceService deviceService = new DeviceService(factoryDevice, deviceRepositoryMem, roomRepositoryMem, houseRepositoryMem);
@@ -119,9 +119,6 @@ class DeactivateDeviceControllerTest {
          House house = factoryHouse.createHouseWithOutLocation();
 
          // Instantiate needed repositories with a blank data map
-         Map<DeviceID, Device> deviceData = new HashMap<>();
-         DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(deviceData);
-
          Map<HouseID, House> houseData = new HashMap<>();
          HouseRepositoryMem houseRepositoryMem = new HouseRepositoryMem(houseData);
          HouseID houseID = house.identity();
@@ -130,6 +127,9 @@ class DeactivateDeviceControllerTest {
          Map<RoomID, Room> roomData = new HashMap<>();
          RoomRepositoryMem roomRepositoryMem = new RoomRepositoryMem(roomData);
 
+         Map<DeviceID, Device> deviceData = new HashMap<>();
+         DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(deviceData, roomRepositoryMem);
+
          // Instantiate needed services
          RoomService roomService = new RoomService(roomRepositoryMem, factoryRoom, houseRepositoryMem);
          DeviceService deviceService = new DeviceService(factoryDevice, deviceRepositoryMem, roomRepositoryMem, houseRepositoryMem);
@@ -182,9 +182,6 @@ class DeactivateDeviceControllerTest {
          House house = factoryHouse.createHouseWithOutLocation();
 
          // Instantiate needed repositories with a blank data map
-         Map<DeviceID, Device> deviceData = new HashMap<>();
-         DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(deviceData);
-
          Map<HouseID, House> houseData = new HashMap<>();
          HouseRepositoryMem houseRepositoryMem = new HouseRepositoryMem(houseData);
          HouseID houseID = house.identity();
@@ -193,6 +190,9 @@ class DeactivateDeviceControllerTest {
          Map<RoomID, Room> roomData = new HashMap<>();
          RoomRepositoryMem roomRepositoryMem = new RoomRepositoryMem(roomData);
 
+         Map<DeviceID, Device> deviceData = new HashMap<>();
+         DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(deviceData, roomRepositoryMem);
+
          // Instantiate needed services
          RoomService roomService = new RoomService(roomRepositoryMem, factoryRoom, houseRepositoryMem);
          DeviceService deviceService = new DeviceService(factoryDevice, deviceRepositoryMem, roomRepositoryMem, houseRepositoryMem);
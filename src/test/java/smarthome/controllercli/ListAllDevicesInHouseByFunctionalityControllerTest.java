@@ -78,7 +78,7 @@ class ListAllDevicesInHouseByFunctionalityControllerTest {
         RoomRepository roomRepository = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData, roomRepository);
 
         Map<SensorID, Sensor> sensorData = new HashMap<>();
         SensorRepository sensorRepository = new SensorRepositoryMem(sensorData);
@@ -97,7 +97,7 @@ class ListAllDevicesInHouseByFunctionalityControllerTest {
         SensorService sensorService = new SensorService(factorySensor, sensorRepository, deviceRepository, sensorFunctionalityRepository);
         ActuatorService actuatorService = new ActuatorService(factoryActuator, actuatorRepository, deviceRepository, actuatorFunctionalityRepository);
 
-        ListAllDevicesInHouseByFunctionalityService listDevicesByFunctionalityService = new ListAllDevicesInHouseByFunctionalityService(deviceRepository, sensorRepository, actuatorRepository);
+        ListAllDevicesInHouseByFunctionalityService listDevicesByFunctionalityService = new ListAllDevicesInHouseByFunctionalityService(new TopologyRepositoryMem(deviceRepository, sensorRepository, actuatorRepository));
 
         // Create house
         HouseID houseID = houseService.createAndSaveHouseWithoutLocation();
@@ -163,7 +163,7 @@ class ListAllDevicesInHouseByFunctionalityControllerTest {
         RoomRepository roomRepository = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData, roomRepository);
 
         Map<SensorID, Sensor> sensorData = new HashMap<>();
         SensorRepository sensorRepository = new SensorRepositoryMem(sensorData);
@@ -175,7 +175,7 @@ class ListAllDevicesInHouseByFunctionalityControllerTest {
         HouseService houseService = new HouseService(houseRepository, factoryHouse);
         RoomService roomService = new RoomService(roomRepository, factoryRoom, houseRepository);
 
-        ListAllDevicesInHouseByFunctionalityService listDevicesByFunctionalityService = new ListAllDevicesInHouseByFunctionalityService(deviceRepository, sensorRepository, actuatorRepository);
+        ListAllDevicesInHouseByFunctionalityService listDevicesByFunctionalityService = new ListAllDevicesInHouseByFunctionalityService(new TopologyRepositoryMem(deviceRepository, sensorRepository, actuatorRepository));
 
         // Create house
         HouseID houseID = houseService.createAndSaveHouseWithoutLocation();
@@ -421,7 +421,7 @@ class ListAllDevicesInHouseByFunctionalityControllerTest {
         // -------------------------------------------------------------------------------------------------------------
 
         //Create Service for Controller --------------------------------------------------------------------------------
-        ListAllDevicesInHouseByFunctionalityService service = new ListAllDevicesInHouseByFunctionalityService(deviceRepository, sensorRepository, actuatorRepository);
+        ListAllDevicesInHouseByFunctionalityService service = new ListAllDevicesInHouseByFunctionalityService(new TopologyRepositoryMem(deviceRepository, sensorRepository, actuatorRepository));
 
         //Create Controller --------------------------------------------------------------------------------------------
         ListAllDevicesInHouseByFunctionalityController controller = new ListAllDevicesInHouseByFunctionalityController(service);
@@ -697,7 +697,7 @@ class ListAllDevicesInHouseByFunctionalityControllerTest {
         // -------------------------------------------------------------------------------------------------------------
 
         //Create Service for Controller --------------------------------------------------------------------------------
-        ListAllDevicesInHouseByFunctionalityService service = new ListAllDevicesInHouseByFunctionalityService(deviceRepository, sensorRepository, actuatorRepository);
+        ListAllDevicesInHouseByFunctionalityService service = new ListAllDevicesInHouseByFunctionalityService(new TopologyRepositoryMem(deviceRepository, sensorRepository, actuatorRepository));
 
         //Create Controller --------------------------------------------------------------------------------------------
         ListAllDevicesInHouseByFunctionalityController controller = new ListAllDevicesInHouseByFunctionalityController(service);
@@ -91,7 +91,7 @@ class ListAllDevicesInRoomControllerTest {
         RoomRepository roomRepository = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData, roomRepository);
 
         // Instantiate all needed services
         HouseService houseService = new HouseService(houseRepository, factoryHouse);
@@ -148,7 +148,7 @@ class ListAllDevicesInRoomControllerTest {
         RoomRepository roomRepository = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData, roomRepository);
 
         // Instantiate all needed services
         HouseService houseService = new HouseService(houseRepository, factoryHouse);
@@ -200,7 +200,7 @@ class ListAllDevicesInRoomControllerTest {
         RoomRepository roomRepository = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData, roomRepository);
 
         // Instantiate all needed services
         DeviceService deviceService = new DeviceService(factoryDevice, deviceRepository, roomRepository, houseRepository);
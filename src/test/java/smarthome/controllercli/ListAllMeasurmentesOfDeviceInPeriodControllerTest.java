@@ -4,6 +4,7 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import smarthome.domain.device.Device;
 import smarthome.domain.device.FactoryDevice;
@@ -34,6 +35,10 @@ import smarthome.persistence.jpa.repositoriesjpa.*;
 import smarthome.persistence.repositoriesmem.*;
 import smarthome.persistence.springdata.repositoriesspringdata.*;
 import smarthome.service.*;
+import smarthome.util.ConfigScraper;
+import smarthome.util.GeneralProperties;
+import smarthome.util.GeneralPropertiesProvider;
+import smarthome.util.PropertyLoader;
 
 import java.sql.Timestamp;
 import java.util.*;
@@ -44,6 +49,12 @@ import static org.mockito.Mockito.when;
 
 class ListAllMeasurmentesOfDeviceInPeriodControllerTest {
 
+    /**
+     * Provider of the general properties found in config/general.properties.
+     */
+    private final GeneralPropertiesProvider generalPropertiesProvider = new GeneralPropertiesProvider(
+            () -> GeneralProperties.from(new ConfigScraper("config/general.properties", new PropertyLoader())));
+
     /**
      * Test validates the successful retrieval of all values associated with the sensors present
      * in a given Device within a given period. Test is done using a Memory Repositories.
@@ -77,7 +88,8 @@ class ListAllMeasurmentesOfDeviceInPeriodControllerTest {
         Device device = factoryDevice.createDevice(deviceID, deviceModel, roomID);
         Map<DeviceID, Device> deviceData = new HashMap<>();
         deviceData.put(deviceID, device);
-        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(deviceData);
+        RoomRepositoryMem roomRepositoryMem = new RoomRepositoryMem(new HashMap<>());
+        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(deviceData, roomRepositoryMem);
 
         //Sensor ------------------------------------------------------------------------------------------------
         //Sensor Functionality
@@ -169,7 +181,9 @@ class ListAllMeasurmentesOfDeviceInPeriodControllerTest {
         InstantTimeLocationValueRepository instantTimeLocationValueRepository = new InstantTimeLocationValueRepositoryMem(instantTimeLocationValueMap);
 
         //Create Service
-        ValueService service = new ValueService(sensorRepo, sensorFunctionalityRepositoryMem, instantTimeValueRepository, periodTimeValueRepository, instantTimeLocationValueRepository);
+        ValueService service = new ValueService(sensorRepo, sensorFunctionalityRepositoryMem, instantTimeValueRepository, periodTimeValueRepository, instantTimeLocationValueRepository,
+                new ImpFactoryInstantTimeValue(), new ImpFactoryPeriodTimeValue(), new ImpFactoryInstantTimeLocationValue(),
+                Runnable::run, new SimpleMeterRegistry(), generalPropertiesProvider, new ValueRollupRepositoryMem());
 
 
         //Create controller ------------------------------------------------------------------------------------------
@@ -232,7 +246,9 @@ class ListAllMeasurmentesOfDeviceInPeriodControllerTest {
         Map<SensorID, Sensor> sensorData = new HashMap<>();
         SensorRepositoryMem sensorRepo = new SensorRepositoryMem(sensorData);
 
-        ValueService service = new ValueService(sensorRepo, sensorFunctionalityRepositoryMem, instantTimeValueRepository, periodTimeValueRepository, instantTimeLocationValueRepository);
+        ValueService service = new ValueService(sensorRepo, sensorFunctionalityRepositoryMem, instantTimeValueRepository, periodTimeValueRepository, instantTimeLocationValueRepository,
+                new ImpFactoryInstantTimeValue(), new ImpFactoryPeriodTimeValue(), new ImpFactoryInstantTimeLocationValue(),
+                Runnable::run, new SimpleMeterRegistry(), generalPropertiesProvider, new ValueRollupRepositoryMem());
         ListAllMeasurmentesOfDeviceInPeriodController controller = new ListAllMeasurmentesOfDeviceInPeriodController(service);
 
         DeviceDTO deviceDTO = null;
@@ -442,8 +458,15 @@ class ListAllMeasurmentesOfDeviceInPeriodControllerTest {
         ImpFactoryInstantTimeLocationValue factoryInstantTimeLocationValue = new ImpFactoryInstantTimeLocationValue();
         InstantTimeLocationValueRepository instantTimeLocationValueRepository = new InstantTimeLocationValueJPAImp(factoryInstantTimeLocationValue, manager);
 
+        //Behaviour for instantTimeLocationValueRepositoryJPA, no values for Sensor4
+        Query queryLocationValueDouble = mock(Query.class);
+        when(manager.createQuery("SELECT e FROM InstantTimeLocationValueDataModel e WHERE e.sensorID = :sensorID AND e.instantTime BETWEEN :start AND :end")).thenReturn(queryLocationValueDouble);
+        when(queryLocationValueDouble.getResultList()).thenReturn(List.of());
+
         //Create Service
-        ValueService service = new ValueService(sensorRepositoryJPA, sensorFunctionalityRepoMem, instantTimeValueRepository, periodTimeValueRepository, instantTimeLocationValueRepository);
+        ValueService service = new ValueService(sensorRepositoryJPA, sensorFunctionalityRepoMem, instantTimeValueRepository, periodTimeValueRepository, instantTimeLocationValueRepository,
+                new ImpFactoryInstantTimeValue(), new ImpFactoryPeriodTimeValue(), new ImpFactoryInstantTimeLocationValue(),
+                Runnable::run, new SimpleMeterRegistry(), generalPropertiesProvider, new ValueRollupRepositoryMem());
 
         //Create controller ------------------------------------------------------------------------------------------
         ListAllMeasurmentesOfDeviceInPeriodController controller = new ListAllMeasurmentesOfDeviceInPeriodController(service);
@@ -627,7 +650,7 @@ class ListAllMeasurmentesOfDeviceInPeriodControllerTest {
         //Repository
         InstantTimeValueRepositorySpringData instantTimeValueRepositorySpringDataDouble = mock(InstantTimeValueRepositorySpringData.class);
         MapperInstantTimeValueDataModel mapperInstantTimeValueDataModelDouble = new MapperInstantTimeValueDataModel();
-        InstantTimeValueRepository instantTimeValueRepository = new InstantTimeValueRepositorySpringDataImp(instantTimeValueRepositorySpringDataDouble, factoryInstantTimeValue, mapperInstantTimeValueDataModelDouble);
+        InstantTimeValueRepository instantTimeValueRepository = new InstantTimeValueRepositorySpringDataImp(instantTimeValueRepositorySpringDataDouble, factoryInstantTimeValue, mapperInstantTimeValueDataModelDouble, mock(EntityManager.class));
 
         //Create DataModels for Values
         InstantTimeValueDataModel valueDM1 = new InstantTimeValueDataModel(value1ForSensor1);
@@ -657,16 +680,18 @@ class ListAllMeasurmentesOfDeviceInPeriodControllerTest {
         ImpFactoryPeriodTimeValue factoryPeriodTimeValue = new ImpFactoryPeriodTimeValue();
         PeriodTimeValueRepositorySpringData periodTimeValueRepositorySpringDataDouble = mock(PeriodTimeValueRepositorySpringData.class);
         MapperPeriodTimeValueDataModel mapperPeriodTimeValueDataModelDouble = new MapperPeriodTimeValueDataModel();
-        PeriodTimeValueRepository periodTimeValueRepository = new PeriodTimeValueRepositorySpringDataImp(periodTimeValueRepositorySpringDataDouble, factoryPeriodTimeValue, mapperPeriodTimeValueDataModelDouble);
+        PeriodTimeValueRepository periodTimeValueRepository = new PeriodTimeValueRepositorySpringDataImp(periodTimeValueRepositorySpringDataDouble, factoryPeriodTimeValue, mapperPeriodTimeValueDataModelDouble, mock(EntityManager.class));
 
         //InstantTimeLocationRepo
         ImpFactoryInstantTimeLocationValue factoryInstantTimeLocationValue = new ImpFactoryInstantTimeLocationValue();
         InstantTimeLocationValueRepositorySpringData instantTimeLocationValueRepositorySpringDataDouble = mock(InstantTimeLocationValueRepositorySpringData.class);
         MapperInstantTimeLocationValueDataModel mapperInstantTimeLocationValueDataModelDouble = new MapperInstantTimeLocationValueDataModel();
-        InstantTimeLocationValueRepository instantTimeLocationValueRepository = new InstantTimeLocationValueRepositorySpringDataImp(instantTimeLocationValueRepositorySpringDataDouble, factoryInstantTimeLocationValue, mapperInstantTimeLocationValueDataModelDouble);
+        InstantTimeLocationValueRepository instantTimeLocationValueRepository = new InstantTimeLocationValueRepositorySpringDataImp(instantTimeLocationValueRepositorySpringDataDouble, factoryInstantTimeLocationValue, mapperInstantTimeLocationValueDataModelDouble, mock(EntityManager.class));
 
         //Create Service
-        ValueService service = new ValueService(sensorRepo, sensorFunctionalityRepositoryMem, instantTimeValueRepository, periodTimeValueRepository, instantTimeLocationValueRepository);
+        ValueService service = new ValueService(sensorRepo, sensorFunctionalityRepositoryMem, instantTimeValueRepository, periodTimeValueRepository, instantTimeLocationValueRepository,
+                new ImpFactoryInstantTimeValue(), new ImpFactoryPeriodTimeValue(), new ImpFactoryInstantTimeLocationValue(),
+                Runnable::run, new SimpleMeterRegistry(), generalPropertiesProvider, new ValueRollupRepositoryMem());
 
         //Create controller ------------------------------------------------------------------------------------------
         ListAllMeasurmentesOfDeviceInPeriodController controller = new ListAllMeasurmentesOfDeviceInPeriodController(service);
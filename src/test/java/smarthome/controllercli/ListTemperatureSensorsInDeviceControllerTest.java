@@ -98,7 +98,7 @@ class ListTemperatureSensorsInDeviceControllerTest {
         RoomRepository roomRepository = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData, roomRepository);
 
         Map<SensorID, Sensor> sensorData = new HashMap<>();
         SensorRepository sensorRepository = new SensorRepositoryMem(sensorData);
@@ -159,8 +159,11 @@ class ListTemperatureSensorsInDeviceControllerTest {
         /////////////// TEST SETUP ///////////////
 
         // Create blank data maps as data source for repositories
+        Map<RoomID, Room> roomData = new HashMap<>();
+        RoomRepository roomRepository = new RoomRepositoryMem(roomData);
+
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepository = new DeviceRepositoryMem(deviceData, roomRepository);
 
         Map<SensorID, Sensor> sensorData = new HashMap<>();
         SensorRepository sensorRepository = new SensorRepositoryMem(sensorData);
@@ -28,12 +28,18 @@ import smarthome.persistence.jpa.repositoriesjpa.*;
 import smarthome.persistence.repositoriesmem.*;
 import smarthome.persistence.springdata.repositoriesspringdata.*;
 import smarthome.service.*;
+import smarthome.util.ConfigScraper;
+import smarthome.util.GeneralProperties;
+import smarthome.util.GeneralPropertiesProvider;
+import smarthome.util.PropertyLoader;
 
 import java.sql.Timestamp;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 /**
@@ -41,6 +47,12 @@ import static org.mockito.Mockito.when;
  */
 class MaxTempDifOutsideInsideControllerTest {
 
+    /**
+     * Provider of the general properties found in config/general.properties.
+     */
+    private final GeneralPropertiesProvider generalPropertiesProvider = new GeneralPropertiesProvider(
+            () -> GeneralProperties.from(new ConfigScraper("config/general.properties", new PropertyLoader())));
+
     /**
      * Test to check if the controller returns successfully the maximum difference temperature when given a RoomDTO.
      */
@@ -60,7 +72,7 @@ class MaxTempDifOutsideInsideControllerTest {
         RoomRepository roomRepositoryMem = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepositoryMem = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepositoryMem = new DeviceRepositoryMem(deviceData, roomRepositoryMem);
 
         Map<SensorID, Sensor> sensorData = new HashMap<>();
         SensorRepository sensorRepo = new SensorRepositoryMem(sensorData);
@@ -71,7 +83,7 @@ class MaxTempDifOutsideInsideControllerTest {
         SensorFunctionalityRepository sensorFunctionalityRepositoryMem = new SensorFunctionalityRepositoryMem(factorySensorFunctionality);
 
         //Instantiation of needed services
-        MaxTempDifOutsideInsideService maxTempDifOutsideInsideService = new MaxTempDifOutsideInsideService(valueRepositoryMem);
+        MaxTempDifOutsideInsideService maxTempDifOutsideInsideService = new MaxTempDifOutsideInsideService(valueRepositoryMem, generalPropertiesProvider);
 
         HouseService houseService = new HouseService(houseRepositoryMem, factoryHouse);
         DeviceService deviceService = new DeviceService(factoryDevice, deviceRepositoryMem, roomRepositoryMem, houseRepositoryMem);
@@ -134,11 +146,11 @@ class MaxTempDifOutsideInsideControllerTest {
         Value insideValue4 = factoryValueImp.createValue(insideSensorID, insideReading4, insideTimestamp4);
         Value insideValue5 = factoryValueImp.createValue(insideSensorID, insideReading5, insideTimestamp5);
 
-        valueData.put(insideValue1.identity(), insideValue1);
-        valueData.put(insideValue2.identity(), insideValue2);
-        valueData.put(insideValue3.identity(), insideValue3);
-        valueData.put(insideValue4.identity(), insideValue4);
-        valueData.put(insideValue5.identity(), insideValue5);
+        valueRepositoryMem.saveAll(List.of(insideValue1));
+        valueRepositoryMem.saveAll(List.of(insideValue2));
+        valueRepositoryMem.saveAll(List.of(insideValue3));
+        valueRepositoryMem.saveAll(List.of(insideValue4));
+        valueRepositoryMem.saveAll(List.of(insideValue5));
 
         //Create Inside SensorDTO
         SensorDTO outsideSensorDTO = new SensorDTO("OutsideTemperature");
@@ -181,15 +193,15 @@ class MaxTempDifOutsideInsideControllerTest {
         Value valEht = factoryValueImp.createValue(outsideSensorID, readingEth, timestampEth);
         Value valNth = factoryValueImp.createValue(outsideSensorID, readingNth, timestampNth);
 
-        valueData.put(valFirst.identity(), valFirst);
-        valueData.put(valScn.identity(), valScn);
-        valueData.put(valTrd.identity(), valTrd);
-        valueData.put(valFor.identity(), valFor);
-        valueData.put(valFth.identity(), valFth);
-        valueData.put(valSth.identity(), valSth);
-        valueData.put(valSeth.identity(), valSeth);
-        valueData.put(valEht.identity(), valEht);
-        valueData.put(valNth.identity(), valNth);
+        valueRepositoryMem.saveAll(List.of(valFirst));
+        valueRepositoryMem.saveAll(List.of(valScn));
+        valueRepositoryMem.saveAll(List.of(valTrd));
+        valueRepositoryMem.saveAll(List.of(valFor));
+        valueRepositoryMem.saveAll(List.of(valFth));
+        valueRepositoryMem.saveAll(List.of(valSth));
+        valueRepositoryMem.saveAll(List.of(valSeth));
+        valueRepositoryMem.saveAll(List.of(valEht));
+        valueRepositoryMem.saveAll(List.of(valNth));
 
         // Define the start and end time for the test
         Timestamp startTime = Timestamp.valueOf("2024-04-15 07:00:00.0");
@@ -219,7 +231,7 @@ class MaxTempDifOutsideInsideControllerTest {
         RoomRepository roomRepositoryMem = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepositoryMem = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepositoryMem = new DeviceRepositoryMem(deviceData, roomRepositoryMem);
 
         Map<SensorID, Sensor> sensorData = new HashMap<>();
         SensorRepository sensorRepo = new SensorRepositoryMem(sensorData);
@@ -230,7 +242,7 @@ class MaxTempDifOutsideInsideControllerTest {
         SensorFunctionalityRepository sensorFunctionalityRepositoryMem = new SensorFunctionalityRepositoryMem(factorySensorFunctionality);
 
         //Instantiation of needed services
-        MaxTempDifOutsideInsideService maxTempDifOutsideInsideService = new MaxTempDifOutsideInsideService(valueRepositoryMem);
+        MaxTempDifOutsideInsideService maxTempDifOutsideInsideService = new MaxTempDifOutsideInsideService(valueRepositoryMem, generalPropertiesProvider);
 
         HouseService houseService = new HouseService(houseRepositoryMem, factoryHouse);
         DeviceService deviceService = new DeviceService(factoryDevice, deviceRepositoryMem, roomRepositoryMem, houseRepositoryMem);
@@ -293,11 +305,11 @@ class MaxTempDifOutsideInsideControllerTest {
         Value insideValue4 = factoryValueImp.createValue(insideSensorID, insideReading4, insideTimestamp4);
         Value insideValue5 = factoryValueImp.createValue(insideSensorID, insideReading5, insideTimestamp5);
 
-        valueData.put(insideValue1.identity(), insideValue1);
-        valueData.put(insideValue2.identity(), insideValue2);
-        valueData.put(insideValue3.identity(), insideValue3);
-        valueData.put(insideValue4.identity(), insideValue4);
-        valueData.put(insideValue5.identity(), insideValue5);
+        valueRepositoryMem.saveAll(List.of(insideValue1));
+        valueRepositoryMem.saveAll(List.of(insideValue2));
+        valueRepositoryMem.saveAll(List.of(insideValue3));
+        valueRepositoryMem.saveAll(List.of(insideValue4));
+        valueRepositoryMem.saveAll(List.of(insideValue5));
 
         //Create Inside SensorDTO
         SensorDTO outsideSensorDTO = new SensorDTO("OutsideTemperature");
@@ -340,15 +352,15 @@ class MaxTempDifOutsideInsideControllerTest {
         Value valEht = factoryValueImp.createValue(outsideSensorID, readingEth, timestampEth);
         Value valNth = factoryValueImp.createValue(outsideSensorID, readingNth, timestampNth);
 
-        valueData.put(valFirst.identity(), valFirst);
-        valueData.put(valScn.identity(), valScn);
-        valueData.put(valTrd.identity(), valTrd);
-        valueData.put(valFor.identity(), valFor);
-        valueData.put(valFth.identity(), valFth);
-        valueData.put(valSth.identity(), valSth);
-        valueData.put(valSeth.identity(), valSeth);
-        valueData.put(valEht.identity(), valEht);
-        valueData.put(valNth.identity(), valNth);
+        valueRepositoryMem.saveAll(List.of(valFirst));
+        valueRepositoryMem.saveAll(List.of(valScn));
+        valueRepositoryMem.saveAll(List.of(valTrd));
+        valueRepositoryMem.saveAll(List.of(valFor));
+        valueRepositoryMem.saveAll(List.of(valFth));
+        valueRepositoryMem.saveAll(List.of(valSth));
+        valueRepositoryMem.saveAll(List.of(valSeth));
+        valueRepositoryMem.saveAll(List.of(valEht));
+        valueRepositoryMem.saveAll(List.of(valNth));
 
         // Define the start and end time for the test
         Timestamp startTime = Timestamp.valueOf("2024-04-15 07:00:00.0");
@@ -378,7 +390,7 @@ class MaxTempDifOutsideInsideControllerTest {
         RoomRepository roomRepositoryMem = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepositoryMem = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepositoryMem = new DeviceRepositoryMem(deviceData, roomRepositoryMem);
 
         Map<SensorID, Sensor> sensorData = new HashMap<>();
         SensorRepository sensorRepo = new SensorRepositoryMem(sensorData);
@@ -389,7 +401,7 @@ class MaxTempDifOutsideInsideControllerTest {
         SensorFunctionalityRepository sensorFunctionalityRepositoryMem = new SensorFunctionalityRepositoryMem(factorySensorFunctionality);
 
         //Instantiation of needed services
-        MaxTempDifOutsideInsideService maxTempDifOutsideInsideService = new MaxTempDifOutsideInsideService(valueRepositoryMem);
+        MaxTempDifOutsideInsideService maxTempDifOutsideInsideService = new MaxTempDifOutsideInsideService(valueRepositoryMem, generalPropertiesProvider);
 
         HouseService houseService = new HouseService(houseRepositoryMem, factoryHouse);
         DeviceService deviceService = new DeviceService(factoryDevice, deviceRepositoryMem, roomRepositoryMem, houseRepositoryMem);
@@ -436,7 +448,7 @@ class MaxTempDifOutsideInsideControllerTest {
         ImpFactoryInstantTimeValue factoryValueImp = new ImpFactoryInstantTimeValue();
         Value insideValue1 = factoryValueImp.createValue(insideSensorID, insideReading1, insideTimestamp1);
 
-        valueData.put(insideValue1.identity(), insideValue1);
+        valueRepositoryMem.saveAll(List.of(insideValue1));
 
         //Create Inside SensorDTO
         SensorDTO outsideSensorDTO = new SensorDTO("OutsideTemperature");
@@ -447,7 +459,7 @@ class MaxTempDifOutsideInsideControllerTest {
 
         Value valFirst = factoryValueImp.createValue(outsideSensorID, readingFirst, timestampFirst);
 
-        valueData.put(valFirst.identity(), valFirst);
+        valueRepositoryMem.saveAll(List.of(valFirst));
 
         // Define the start and end time for the test
         Timestamp startTime = Timestamp.valueOf("2024-04-15 07:00:00.0");
@@ -477,7 +489,7 @@ class MaxTempDifOutsideInsideControllerTest {
         RoomRepository roomRepositoryMem = new RoomRepositoryMem(roomData);
 
         Map<DeviceID, Device> deviceData = new HashMap<>();
-        DeviceRepository deviceRepositoryMem = new DeviceRepositoryMem(deviceData);
+        DeviceRepository deviceRepositoryMem = new DeviceRepositoryMem(deviceData, roomRepositoryMem);
 
         Map<SensorID, Sensor> sensorData = new HashMap<>();
         SensorRepository sensorRepo = new SensorRepositoryMem(sensorData);
@@ -488,7 +500,7 @@ class MaxTempDifOutsideInsideControllerTest {
         SensorFunctionalityRepository sensorFunctionalityRepositoryMem = new SensorFunctionalityRepositoryMem(factorySensorFunctionality);
 
         //Instantiation of needed services
-        MaxTempDifOutsideInsideService maxTempDifOutsideInsideService = new MaxTempDifOutsideInsideService(valueRepositoryMem);
+        MaxTempDifOutsideInsideService maxTempDifOutsideInsideService = new MaxTempDifOutsideInsideService(valueRepositoryMem, generalPropertiesProvider);
 
         HouseService houseService = new HouseService(houseRepositoryMem, factoryHouse);
         DeviceService deviceService = new DeviceService(factoryDevice, deviceRepositoryMem, roomRepositoryMem, houseRepositoryMem);
@@ -564,7 +576,7 @@ class MaxTempDifOutsideInsideControllerTest {
         SensorFunctionalityRepository sensorFunctionalityRepositoryMem = new SensorFunctionalityRepositoryMem(factorySensorFunctionality);
 
         //Instantiation of needed services
-        MaxTempDifOutsideInsideService maxTempDifOutsideInsideService = new MaxTempDifOutsideInsideService(instantTimeValueRepositoryJPAImp);
+        MaxTempDifOutsideInsideService maxTempDifOutsideInsideService = new MaxTempDifOutsideInsideService(instantTimeValueRepositoryJPAImp, generalPropertiesProvider);
 
         DeviceService deviceService = new DeviceService(factoryDevice, deviceRepositoryJPAImp, roomRepositoryJPAImp, houseRepositoryJPAImp);
         RoomService roomService = new RoomService(roomRepositoryJPAImp, factoryRoom, houseRepositoryJPAImp);
@@ -667,7 +679,7 @@ class MaxTempDifOutsideInsideControllerTest {
         insideValues.add(insideValue3);
         insideValues.add(insideValue4);
         insideValues.add(insideValue5);
-        when(instantTimeValueRepositoryJPAImp.findBySensorId(insideSensorID)).thenReturn(insideValues);
+        when(instantTimeValueRepositoryJPAImp.findBySensorIdBetweenPeriodOfTime(eq(insideSensorID), any(), any())).thenReturn(insideValues);
 
         //Create Inside SensorDTO
         SensorDTO outsideSensorDTO = new SensorDTO("OutsideTemperature");
@@ -720,7 +732,7 @@ class MaxTempDifOutsideInsideControllerTest {
         outsideValue.add(valSeth);
         outsideValue.add(valEht);
         outsideValue.add(valNth);
-        when(instantTimeValueRepositoryJPAImp.findBySensorId(outsideSensorID)).thenReturn(outsideValue);
+        when(instantTimeValueRepositoryJPAImp.findBySensorIdBetweenPeriodOfTime(eq(outsideSensorID), any(), any())).thenReturn(outsideValue);
 
         // Define the start and end time for the test
         Timestamp startTime = Timestamp.valueOf("2024-04-15 07:00:00.0");
@@ -767,7 +779,7 @@ class MaxTempDifOutsideInsideControllerTest {
         SensorFunctionalityRepository sensorFunctionalityRepositoryMem = new SensorFunctionalityRepositoryMem(factorySensorFunctionality);
 
         //Instantiation of needed services
-        MaxTempDifOutsideInsideService maxTempDifOutsideInsideService = new MaxTempDifOutsideInsideService(instantTimeLocationValueRepositorySpringDataImp);
+        MaxTempDifOutsideInsideService maxTempDifOutsideInsideService = new MaxTempDifOutsideInsideService(instantTimeLocationValueRepositorySpringDataImp, generalPropertiesProvider);
 
         DeviceService deviceService = new DeviceService(factoryDevice, deviceRepositorySpringDataImp, roomRepositorySpringDataImp, houseRepositorySpringDataImp);
         RoomService roomService = new RoomService(roomRepositorySpringDataImp, factoryRoom, houseRepositorySpringDataImp);
@@ -883,7 +895,7 @@ class MaxTempDifOutsideInsideControllerTest {
         insideValues.add(insideValue3);
         insideValues.add(insideValue4);
         insideValues.add(insideValue5);
-        when(instantTimeLocationValueRepositorySpringDataImp.findBySensorId(insideSensorID)).thenReturn(insideValues);
+        when(instantTimeLocationValueRepositorySpringDataImp.findBySensorIdBetweenPeriodOfTime(eq(insideSensorID), any(), any())).thenReturn(insideValues);
 
         //Create Outside Readings and Values
         Reading readingFirst = new Reading("14", "Cº");
@@ -933,7 +945,7 @@ class MaxTempDifOutsideInsideControllerTest {
         outsideValue.add(valSeth);
         outsideValue.add(valEht);
         outsideValue.add(valNth);
-        when(instantTimeLocationValueRepositorySpringDataImp.findBySensorId(outsideSensorID)).thenReturn(outsideValue);
+        when(instantTimeLocationValueRepositorySpringDataImp.findBySensorIdBetweenPeriodOfTime(eq(outsideSensorID), any(), any())).thenReturn(outsideValue);
 
         //////////////////// TEST CASE ////////////////////
 
@@ -13,10 +13,18 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import smarthome.domain.valueobjects.*;
+import smarthome.mapper.ActuatorCommandDTO;
 import smarthome.mapper.ActuatorDTO;
 import smarthome.mapper.AssemblerActuatorProperties;
+import smarthome.service.ActuatorCommandService;
 import smarthome.service.ActuatorService;
+import smarthome.service.internaldto.InternalActuatorCommandDTO;
+import smarthome.util.exceptions.ActuatorNotFoundException;
+
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
 @AutoConfigureMockMvc
@@ -34,6 +42,12 @@ class ActuatorControllerWebTest {
 	@MockBean
 	private AssemblerActuatorProperties propertiesMapperDTO;
 
+	/**
+	 * The ActuatorCommandService mock that queues the commands sent to actuators.
+	 */
+	@MockBean
+	private ActuatorCommandService actuatorCommandService;
+
 	/**
 	 * The ActuatorControllerWeb instance to be tested.
 	 */
@@ -163,4 +177,65 @@ class ActuatorControllerWebTest {
 		assertEquals(errorMessage, response.getBody());
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Test to verify that a command sent to an actuator is accepted and linked to its status.
+	 */
+	@Test
+	void testSuccessfullySendCommandToActuator() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+		when(actuatorCommandService.enqueueCommand(new ActuatorID("Blind1"), 40)).thenReturn(new ActuatorCommandID("Command1"));
+
+		ResponseEntity<Object> response = actuatorControllerWeb.sendCommandToActuator("Blind1", new ActuatorCommandDTO(40));
+		ActuatorCommandDTO result = (ActuatorCommandDTO) response.getBody();
+
+		assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+		assertEquals("Command1", result.commandID);
+		assertEquals("Blind1", result.actuatorName);
+		assertEquals("PENDING", result.status);
+		assertTrue(result.getRequiredLink("self").getHref().endsWith("/actuators/commands/Command1"));
+	}
+
+	/**
+	 * Test to verify that a command sent to an unknown actuator is answered with NOT_FOUND.
+	 */
+	@Test
+	void testFailSendCommandToActuatorWhenActuatorNotFound() {
+		when(actuatorCommandService.enqueueCommand(new ActuatorID("Unknown"), 40)).thenThrow(new ActuatorNotFoundException());
+
+		ResponseEntity<Object> response = actuatorControllerWeb.sendCommandToActuator("Unknown", new ActuatorCommandDTO(40));
+
+		assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+	}
+
+	/**
+	 * Test to verify that the progress of a known command is returned.
+	 */
+	@Test
+	void testSuccessfullyGetActuatorCommand() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+		ActuatorCommandID commandID = new ActuatorCommandID("Command1");
+		when(actuatorCommandService.findCommand(commandID)).thenReturn(Optional.of(
+				new InternalActuatorCommandDTO(commandID, new ActuatorID("Blind1"), 40, ActuatorCommandStatus.APPLIED)));
+
+		ResponseEntity<Object> response = actuatorControllerWeb.getActuatorCommand("Command1");
+		ActuatorCommandDTO result = (ActuatorCommandDTO) response.getBody();
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("APPLIED", result.status);
+		assertEquals(40, result.value);
+	}
+
+	/**
+	 * Test to verify that an unknown command is answered with NOT_FOUND.
+	 */
+	@Test
+	void testFailGetActuatorCommandWhenCommandNotFound() {
+		when(actuatorCommandService.findCommand(new ActuatorCommandID("Unknown"))).thenReturn(Optional.empty());
+
+		ResponseEntity<Object> response = actuatorControllerWeb.getActuatorCommand("Unknown");
+
+		assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+	}
+}
@@ -225,13 +225,13 @@ class ActuatorFunctionalityControllerWebTest {
             BlindRollerDTO blindRollerDTO1 = new BlindRollerDTO(deviceID1.toString(), roomID1.toString());
             EntityModel<BlindRollerDTO> entityModel1 = EntityModel.of(blindRollerDTO1);
             Link deviceLink1 = linkTo(methodOn(DeviceControllerWeb.class)
-                    .getObjectByDeviceID(deviceID1.toString(),null,null, null)).withSelfRel();
+                    .getObjectByDeviceID(deviceID1.toString(),null,null, null, null)).withSelfRel();
             entityModel1.add(deviceLink1);
 
             BlindRollerDTO blindRollerDTO2 = new BlindRollerDTO(deviceID2.toString(), roomID2.toString());
             EntityModel<BlindRollerDTO> entityModel2 = EntityModel.of(blindRollerDTO2);
             Link deviceLink2 = linkTo(methodOn(DeviceControllerWeb.class)
-                    .getObjectByDeviceID(deviceID2.toString(),null,null, null)).withSelfRel();
+                    .getObjectByDeviceID(deviceID2.toString(),null,null, null, null)).withSelfRel();
             entityModel2.add(deviceLink2);
 
             // Create expected CollectionModel
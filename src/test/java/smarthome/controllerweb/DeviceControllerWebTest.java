@@ -9,23 +9,36 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import smarthome.domain.sensor.Sensor;
+import smarthome.domain.value.Value;
 import smarthome.domain.valueobjects.*;
 import smarthome.mapper.*;
 import smarthome.service.*;
+import smarthome.service.internaldto.InternalReadingDTO;
+import smarthome.service.internaldto.InternalReadingPageDTO;
+import smarthome.util.exceptions.SensorFunctionalityNotListedException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @SpringBootTest(classes = {DeviceControllerWeb.class})
 class DeviceControllerWebTest {
@@ -417,7 +430,7 @@ class DeviceControllerWebTest {
          when(mapperReading.readingsToDTOList(readingsFunc1)).thenReturn(List.of(readingDTO1, readingDTO2));
          when(mapperReading.readingsToDTOList(readingsFunc2)).thenReturn(List.of(readingDTO3));
 
-         ResponseEntity<Object> response = deviceControllerWeb.getObjectByDeviceID(deviceIDAsString, givenStart, givenEnd, null);
+         ResponseEntity<Object> response = deviceControllerWeb.getObjectByDeviceID(deviceIDAsString, givenStart, givenEnd, null, null);
 
          //Assert HTTP code response (OK => 200)
          assertEquals(HttpStatusCode.valueOf(200), response.getStatusCode());
@@ -436,4 +449,302 @@ class DeviceControllerWebTest {
          List<ReadingDTO> listReadingDTO2FromResponse = responseContent.get(sensorFunctionalityDTO2);
          assertTrue(listReadingDTO2FromResponse.contains(readingDTO3));
      }
-}
\ No newline at end of file
+
+    /**
+     * Test that the readings of a device in a period are returned as rollups when a resolution is given.
+     * Expected response must contain HTTP code 200 (OK) and the rollup DTOs of each sensor functionality.
+     */
+    @Test
+    void successfullyListRollupsOfDeviceInPeriod() {
+        //Arrange
+        String deviceName = "Device1";
+        LocalDateTime givenStart = LocalDateTime.of(2024, 4, 1, 0, 0);
+        LocalDateTime givenEnd = LocalDateTime.of(2024, 4, 3, 0, 0);
+        Timestamp start = Timestamp.valueOf(givenStart);
+        Timestamp end = Timestamp.valueOf(givenEnd);
+
+        SensorFunctionalityID sensorFunctionalityID = new SensorFunctionalityID("Func1");
+        ValueRollup rollup = ValueRollup.of(new SensorID("Sensor1"), RollupResolution.ONE_HOUR, start, 10, "W");
+        when(valueService.getRollupsForDeviceBetweenPeriod(new DeviceID(deviceName), start, end, 100))
+                .thenReturn(Map.of(sensorFunctionalityID, List.of(rollup)));
+
+        SensorFunctionalityDTO sensorFunctionalityDTO = new SensorFunctionalityDTO("Func1");
+        ValueRollupDTO rollupDTO = new ValueRollupDTO("2024-04-01T00:00", "1h", "W", 10, 10, 10, 10, 1);
+        when(mapperSensorFunc.sensorFunctionalityToDTO(sensorFunctionalityID)).thenReturn(sensorFunctionalityDTO);
+        when(mapperReading.rollupsToDTOList(List.of(rollup))).thenReturn(List.of(rollupDTO));
+
+        //Act
+        ResponseEntity<Object> response = deviceControllerWeb.getObjectByDeviceID(deviceName, givenStart, givenEnd, null, 100);
+
+        //Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Map.of(sensorFunctionalityDTO, List.of(rollupDTO)), response.getBody());
+    }
+
+    /**
+     * Test that the readings of a device in a period are streamed as NDJSON, one DeviceReadingDTO per line.
+     * Expected response must contain HTTP code 200 (OK), the NDJSON content type and a body writing every reading
+     * handed over by the service.
+     */
+    @Test
+    void successfullyStreamAllMeasurementsOfDeviceInPeriod() throws IOException {
+        //Arrange
+        String deviceName = "Device1";
+        LocalDateTime givenStart = LocalDateTime.of(2024, 4, 1, 0, 0);
+        LocalDateTime givenEnd = LocalDateTime.of(2024, 4, 3, 0, 0);
+        Timestamp start = Timestamp.valueOf(givenStart);
+        Timestamp end = Timestamp.valueOf(givenEnd);
+
+        SensorFunctionalityID sensorFunctionalityID = new SensorFunctionalityID("Func1");
+        Reading reading1 = new Reading("10", "W");
+        Reading reading2 = new Reading("20", "W");
+        List<Sensor> sensors = List.of(mock(Sensor.class));
+        when(valueService.findStreamableSensorsOfDevice(new DeviceID(deviceName))).thenReturn(sensors);
+        doAnswer(invocation -> {
+            BiConsumer<SensorFunctionalityID, Reading> consumer = invocation.getArgument(3);
+            consumer.accept(sensorFunctionalityID, reading1);
+            consumer.accept(sensorFunctionalityID, reading2);
+            return null;
+        }).when(valueService).streamMeasurementsOfSensorsBetweenPeriod(eq(sensors), eq(start), eq(end), any());
+        when(mapperReading.readingToDeviceReadingDTO(sensorFunctionalityID, reading1)).thenReturn(new DeviceReadingDTO("Func1", "10 W"));
+        when(mapperReading.readingToDeviceReadingDTO(sensorFunctionalityID, reading2)).thenReturn(new DeviceReadingDTO("Func1", "20 W"));
+
+        //Act
+        ResponseEntity<StreamingResponseBody> response = deviceControllerWeb.streamAllMeasurementsOfDeviceInPeriod(deviceName, givenStart, givenEnd);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        //Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals("{\"sensorFunctionality\":\"Func1\",\"valueWithUnit\":\"10 W\"}\n"
+                        + "{\"sensorFunctionality\":\"Func1\",\"valueWithUnit\":\"20 W\"}\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test that streaming the readings of a device with a sensor whose functionality is not listed is rejected before
+     * the response is returned.
+     * Expected response must contain HTTP code 422 (UNPROCESSABLE_ENTITY) and no reading must be streamed.
+     */
+    @Test
+    void failToStreamMeasurementsOfDeviceWithUnlistedSensorFunctionality() {
+        //Arrange
+        String deviceName = "Device1";
+        LocalDateTime givenStart = LocalDateTime.of(2024, 4, 1, 0, 0);
+        LocalDateTime givenEnd = LocalDateTime.of(2024, 4, 3, 0, 0);
+        when(valueService.findStreamableSensorsOfDevice(new DeviceID(deviceName)))
+                .thenThrow(new SensorFunctionalityNotListedException());
+
+        //Act
+        ResponseEntity<StreamingResponseBody> response = deviceControllerWeb.streamAllMeasurementsOfDeviceInPeriod(deviceName, givenStart, givenEnd);
+
+        //Assert
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        verify(valueService, never()).streamMeasurementsOfSensorsBetweenPeriod(any(), any(), any(), any());
+    }
+
+    /**
+     * Test that streaming the readings of a device with an invalid ID is rejected before the response is returned.
+     * Expected response must contain HTTP code 422 (UNPROCESSABLE_ENTITY).
+     */
+    @Test
+    void failToStreamMeasurementsOfDeviceWithInvalidID() {
+        //Arrange
+        LocalDateTime givenStart = LocalDateTime.of(2024, 4, 1, 0, 0);
+        LocalDateTime givenEnd = LocalDateTime.of(2024, 4, 3, 0, 0);
+
+        //Act
+        ResponseEntity<StreamingResponseBody> response = deviceControllerWeb.streamAllMeasurementsOfDeviceInPeriod(" ", givenStart, givenEnd);
+
+        //Assert
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        verify(valueService, never()).findStreamableSensorsOfDevice(any());
+    }
+
+    /**
+     * Test that the readings of a device in a period are returned as columnar series.
+     * Expected response must contain HTTP code 200 (OK) and a series for each sensor functionality of the device.
+     */
+    @Test
+    void successfullyListColumnarMeasurementsOfDeviceInPeriod() {
+        //Arrange
+        String deviceName = "Device1";
+        LocalDateTime givenStart = LocalDateTime.of(2024, 4, 1, 0, 0);
+        LocalDateTime givenEnd = LocalDateTime.of(2024, 4, 3, 0, 0);
+        Map<SensorFunctionalityID, List<Value>> values = Map.of(new SensorFunctionalityID("Func1"), List.of());
+        List<ColumnarSeriesDTO> series = List.of(new ColumnarSeriesDTO("Func1", null, new long[0], null, new double[0], null));
+        when(valueService.getAllValuesForDeviceBetweenPeriod(new DeviceID(deviceName),
+                Timestamp.valueOf(givenStart), Timestamp.valueOf(givenEnd))).thenReturn(values);
+        when(mapperReading.valuesToColumnarSeriesDTOList(values)).thenReturn(series);
+
+        //Act
+        ResponseEntity<Object> response = deviceControllerWeb.listColumnarMeasurementsOfDeviceInPeriod(deviceName, givenStart, givenEnd);
+
+        //Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(series, response.getBody());
+    }
+
+    /**
+     * Test that the columnar readings of a device are refused when the service fails to list them.
+     * Expected response must contain HTTP code 422 (UNPROCESSABLE_ENTITY).
+     */
+    @Test
+    void failListColumnarMeasurementsOfDeviceInPeriod() {
+        //Arrange
+        when(valueService.getAllValuesForDeviceBetweenPeriod(any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Device not found"));
+
+        //Act
+        ResponseEntity<Object> response = deviceControllerWeb.listColumnarMeasurementsOfDeviceInPeriod("Device1",
+                LocalDateTime.of(2024, 4, 1, 0, 0), LocalDateTime.of(2024, 4, 3, 0, 0));
+
+        //Assert
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertEquals("Device not found", response.getBody());
+    }
+
+    /**
+     * Test that a page of the readings of a device in a period is returned with a link to the next page.
+     * Expected response must contain HTTP code 200 (OK), the readings of the page and a "next" link carrying the cursor
+     * of the last reading.
+     */
+    @Test
+    void successfullyListMeasurementsPageOfDeviceInPeriod() {
+        //Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        String deviceName = "Device1";
+        LocalDateTime givenStart = LocalDateTime.of(2024, 4, 1, 0, 0);
+        LocalDateTime givenEnd = LocalDateTime.of(2024, 4, 3, 0, 0);
+        Timestamp start = Timestamp.valueOf(givenStart);
+        Timestamp end = Timestamp.valueOf(givenEnd);
+
+        ValueCursor after = new ValueCursor(Timestamp.valueOf("2024-04-01 10:00:00"), new ValueID("Value1"));
+        ValueCursor next = new ValueCursor(Timestamp.valueOf("2024-04-01 11:00:00"), new ValueID("Value2"));
+        InternalReadingPageDTO page = new InternalReadingPageDTO(List.of(
+                new InternalReadingPageDTO.PagedReading(new SensorFunctionalityID("Func1"), new Reading("10", "W"))), next);
+        when(mapperReading.tokenToCursor("afterToken")).thenReturn(after);
+        when(mapperReading.cursorToToken(next)).thenReturn("nextToken");
+        when(valueService.getMeasurementsPageForDeviceBetweenPeriod(new DeviceID(deviceName), start, end, after, 1)).thenReturn(page);
+        when(mapperReading.readingPageToDTO(page)).thenReturn(new ReadingPageDTO(List.of(new DeviceReadingDTO("Func1", "10 W"))));
+
+        //Act
+        ResponseEntity<Object> response = deviceControllerWeb.listMeasurementsPageOfDeviceInPeriod(deviceName, givenStart, givenEnd, 1, "afterToken");
+
+        //Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ReadingPageDTO pageDTO = (ReadingPageDTO) response.getBody();
+        assertEquals(List.of(new DeviceReadingDTO("Func1", "10 W")), pageDTO.readings);
+        assertTrue(pageDTO.getRequiredLink("self").getHref().contains("cursor=afterToken"));
+        assertTrue(pageDTO.getRequiredLink("next").getHref().contains("cursor=nextToken"));
+        assertTrue(pageDTO.getRequiredLink("next").getHref().contains("limit=1"));
+    }
+
+    /**
+     * Test that the last page of the readings of a device has no link to a next page.
+     */
+    @Test
+    void lastMeasurementsPageOfDeviceHasNoNextLink() {
+        //Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        String deviceName = "Device1";
+        LocalDateTime givenStart = LocalDateTime.of(2024, 4, 1, 0, 0);
+        LocalDateTime givenEnd = LocalDateTime.of(2024, 4, 3, 0, 0);
+        InternalReadingPageDTO page = new InternalReadingPageDTO(List.of(), null);
+        when(valueService.getMeasurementsPageForDeviceBetweenPeriod(new DeviceID(deviceName),
+                Timestamp.valueOf(givenStart), Timestamp.valueOf(givenEnd), null, 5)).thenReturn(page);
+        when(mapperReading.readingPageToDTO(page)).thenReturn(new ReadingPageDTO(List.of()));
+
+        //Act
+        ResponseEntity<Object> response = deviceControllerWeb.listMeasurementsPageOfDeviceInPeriod(deviceName, givenStart, givenEnd, 5, null);
+
+        //Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ReadingPageDTO pageDTO = (ReadingPageDTO) response.getBody();
+        assertTrue(pageDTO.getLink("self").isPresent());
+        assertTrue(pageDTO.getLink("next").isEmpty());
+    }
+
+    /**
+     * Test that a page of the readings of a device is refused when the cursor cannot be decoded.
+     * Expected response must contain HTTP code 422 (UNPROCESSABLE_ENTITY).
+     */
+    @Test
+    void failListMeasurementsPageOfDeviceWithInvalidCursor() {
+        //Arrange
+        when(mapperReading.tokenToCursor("badToken")).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        //Act
+        ResponseEntity<Object> response = deviceControllerWeb.listMeasurementsPageOfDeviceInPeriod("Device1",
+                LocalDateTime.of(2024, 4, 1, 0, 0), LocalDateTime.of(2024, 4, 3, 0, 0), 5, "badToken");
+
+        //Assert
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertEquals("Invalid cursor", response.getBody());
+    }
+
+    /**
+     * Test that a batch of readings is ingested for a device.
+     * Expected response must contain HTTP code 201 (CREATED) and the number of persisted readings.
+     */
+    @Test
+    void successfullyAddReadingsToDevice() {
+        //Arrange
+        String deviceName = "Device1";
+        List<NewReadingDTO> newReadings = List.of(
+                new NewReadingDTO("Sensor1", "10", LocalDateTime.of(2024, 4, 1, 12, 0), null, null, null, null),
+                new NewReadingDTO("Sensor1", "20", LocalDateTime.of(2024, 4, 1, 12, 5), null, null, null, null));
+        List<InternalReadingDTO> internalReadings = new ArrayList<>();
+
+        when(mapperReading.newReadingsToInternalDTOList(newReadings)).thenReturn(internalReadings);
+        when(valueService.addReadingsToDevice(new DeviceID(deviceName), internalReadings)).thenReturn(2);
+
+        //Act
+        ResponseEntity<Object> response = deviceControllerWeb.addReadingsToDevice(deviceName, newReadings);
+
+        //Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(2, response.getBody());
+    }
+
+    /**
+     * Test that the ingestion of a batch of readings fails when the service rejects the batch.
+     * Expected response must contain HTTP code 422 (UNPROCESSABLE_ENTITY) and the error message.
+     */
+    @Test
+    void failAddReadingsToDeviceWhenServiceRejectsBatch() {
+        //Arrange
+        String deviceName = "Device1";
+        List<NewReadingDTO> newReadings = List.of(
+                new NewReadingDTO("Sensor1", "10", null, null, null, null, null));
+        List<InternalReadingDTO> internalReadings = new ArrayList<>();
+
+        when(mapperReading.newReadingsToInternalDTOList(newReadings)).thenReturn(internalReadings);
+        when(valueService.addReadingsToDevice(new DeviceID(deviceName), internalReadings))
+                .thenThrow(new IllegalArgumentException("Please provide valid parameters!"));
+
+        //Act
+        ResponseEntity<Object> response = deviceControllerWeb.addReadingsToDevice(deviceName, newReadings);
+
+        //Assert
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertEquals("Please provide valid parameters!", response.getBody());
+    }
+
+    /**
+     * Test that the ingestion of a batch of readings fails when the device name is invalid.
+     */
+    @Test
+    void failAddReadingsToDeviceWhenDeviceNameIsBlank() {
+        //Act
+        ResponseEntity<Object> response = deviceControllerWeb.addReadingsToDevice(" ", new ArrayList<>());
+
+        //Assert
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+    }
+}
@@ -19,6 +19,7 @@ import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -63,6 +64,9 @@ class HouseControllerWebTest {
     @MockBean
     private SensorFunctionalityMapperDTO sensorFunctionalityMapperDTO;
 
+    @MockBean
+    private CloseBlindRollerService closeBlindRollerService;
+
     @Autowired
     private HouseControllerWeb houseControllerWeb;
 
@@ -346,6 +350,42 @@ class HouseControllerWebTest {
         assertEquals("House not found in Repository", response.getBody());
     }
 
+    /**
+     * Test to set every blind roller in the house.
+     * It verifies that the controller returns, for each blind roller, whether it was set.
+     */
+    @Test
+    void successCloseBlindRollersInHouse() {
+        Map<DeviceID, Boolean> results = new LinkedHashMap<>();
+        results.put(new DeviceID("BlindRoller1"), true);
+        results.put(new DeviceID("BlindRoller2"), false);
+        when(closeBlindRollerService.setActuatorStateOfBlindRollersInHouse(new HouseID("House001"),
+                new ActuatorFunctionalityID("BlindSetter"), 100)).thenReturn(results);
+
+        // Act
+        ResponseEntity<Object> response = houseControllerWeb.closeBlindRollersInHouse("House001", 100);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Map.of("BlindRoller1", true, "BlindRoller2", false), response.getBody());
+    }
+
+    /**
+     * Test to fail setting the blind rollers of a house that does not exist.
+     * It verifies that the controller returns the appropriate HTTP response.
+     */
+    @Test
+    void failCloseBlindRollersInNonExistentHouse() {
+        when(closeBlindRollerService.setActuatorStateOfBlindRollersInHouse(new HouseID("House001"),
+                new ActuatorFunctionalityID("BlindSetter"), 100)).thenThrow(new HouseNotFoundException());
+
+        // Act
+        ResponseEntity<Object> response = houseControllerWeb.closeBlindRollersInHouse("House001", 100);
+
+        // Assert
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+    }
+
     /**
      * Test to get a list of all devices in a house.
      * It verifies that the controller returns the appropriate HTTP response.
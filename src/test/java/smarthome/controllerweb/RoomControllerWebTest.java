@@ -17,14 +17,18 @@ import smarthome.domain.valueobjects.*;
 import smarthome.mapper.DeviceDTO;
 import smarthome.mapper.DeviceMapperDTO;
 import smarthome.mapper.RoomDTO;
+import smarthome.service.CloseBlindRollerService;
 import smarthome.service.DeviceService;
 import smarthome.service.HouseService;
 import smarthome.service.RoomService;
 import smarthome.util.exceptions.HouseNotFoundException;
 import smarthome.util.exceptions.RoomNotEditedException;
+import smarthome.util.exceptions.RoomNotFoundException;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -57,6 +61,12 @@ class RoomControllerWebTest {
     @MockBean
     private DeviceMapperDTO deviceMapperDTO;
 
+    /**
+     * CloseBlindRollerService to be used in tests
+     */
+    @MockBean
+    private CloseBlindRollerService closeBlindRollerService;
+
     /**
      * {@link RoomControllerWeb} class under test.
      */
@@ -347,4 +357,34 @@ class RoomControllerWebTest {
 
         assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that verifies if the controller returns, for each blind roller in the room, whether it was set.
+     */
+    @Test
+    void closeBlindRollersInRoom() {
+        Map<DeviceID, Boolean> results = new LinkedHashMap<>();
+        results.put(new DeviceID("BlindRoller1"), true);
+        results.put(new DeviceID("BlindRoller2"), false);
+        when(closeBlindRollerService.setActuatorStateOfBlindRollersInRoom(new RoomID("Room 1"),
+                new ActuatorFunctionalityID("BlindSetter"), 40)).thenReturn(results);
+
+        ResponseEntity<Object> responseEntity = roomControllerWeb.closeBlindRollersInRoom("Room 1", 40);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(Map.of("BlindRoller1", true, "BlindRoller2", false), responseEntity.getBody());
+    }
+
+    /**
+     * Test that verifies if the controller fails to set the blind rollers of a room that does not exist.
+     */
+    @Test
+    void failToCloseBlindRollersInNonExistentRoom() {
+        when(closeBlindRollerService.setActuatorStateOfBlindRollersInRoom(new RoomID("Room 1"),
+                new ActuatorFunctionalityID("BlindSetter"), 40)).thenThrow(new RoomNotFoundException());
+
+        ResponseEntity<Object> responseEntity = roomControllerWeb.closeBlindRollersInRoom("Room 1", 40);
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, responseEntity.getStatusCode());
+    }
+}
@@ -1,6 +1,5 @@
 package smarthome.domain.actuators;
 
-import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -11,6 +10,8 @@ import smarthome.domain.valueobjects.DeviceID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -24,7 +25,6 @@ class FactoryActuatorTest {
     private DeviceID deviceIDDouble;
     @MockBean
     private ActuatorFunctionalityID functionalityIDDouble;
-    @InjectMocks
     private FactoryActuator factoryActuator;
 
     /**
@@ -33,6 +33,7 @@ class FactoryActuatorTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        factoryActuator = new FactoryActuator();
     }
 
     /**
@@ -73,4 +74,42 @@ class FactoryActuatorTest {
         assertNotNull(factoryActuator.createActuator(actuatorIDDouble, functionalityIDDouble, actuatorPropertiesDouble, deviceIDDouble, "smarthome.domain.actuators.SwitchActuator"));
     }
 
-}
\ No newline at end of file
+    /**
+     * Test creation of an actuator of a class that is not known to the factory
+     */
+    @Test
+    void failCreateActuatorUnregisteredClass() {
+        FactoryActuator switchFactory = new FactoryActuator(List.of("smarthome.domain.actuators.SwitchActuator"));
+
+        assertNull(switchFactory.createActuator(actuatorIDDouble, functionalityIDDouble, actuatorPropertiesDouble, deviceIDDouble, "smarthome.domain.actuators.BlindSetterActuator"));
+        assertNotNull(switchFactory.createActuator(actuatorIDDouble, functionalityIDDouble, actuatorPropertiesDouble, deviceIDDouble, "smarthome.domain.actuators.SwitchActuator"));
+    }
+
+    /**
+     * Test that a factory resolving classes on first use returns null for classes that are not actuators
+     */
+    @Test
+    void failCreateActuatorOfClassThatIsNotAnActuator() {
+        assertNull(factoryActuator.createActuator(actuatorIDDouble, functionalityIDDouble, actuatorPropertiesDouble, deviceIDDouble, "smarthome.domain.actuators.UnknownActuator"));
+        assertNull(factoryActuator.createActuator(actuatorIDDouble, functionalityIDDouble, actuatorPropertiesDouble, deviceIDDouble, "smarthome.domain.sensor.TemperatureCelsiusSensor"));
+    }
+
+    /**
+     * Test that the factory rejects actuator classes that do not exist when it is built
+     */
+    @Test
+    void failBuildFactoryWithUnknownClass() {
+        List<String> actuatorClasses = List.of("smarthome.domain.actuators.UnknownActuator");
+        assertThrows(IllegalArgumentException.class, () -> new FactoryActuator(actuatorClasses));
+    }
+
+    /**
+     * Test that the factory rejects classes that are not actuators when it is built
+     */
+    @Test
+    void failBuildFactoryWithClassThatIsNotAnActuator() {
+        List<String> actuatorClasses = List.of("smarthome.domain.sensor.TemperatureCelsiusSensor");
+        assertThrows(IllegalArgumentException.class, () -> new FactoryActuator(actuatorClasses));
+    }
+
+}
@@ -8,6 +8,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -134,4 +136,59 @@ class FactorySensorTest {
                 , "Creation of sensor with valid parameters should return a non-null sensor instance");
     }
 
-}
\ No newline at end of file
+    /**
+     * Test creation of a sensor of a class that is not known to the factory.
+     */
+    @Test
+    void failCreateSensorUnregisteredClass() {
+        // Build a factory that only knows the temperature sensor
+        FactorySensor temperatureFactory = new FactorySensor(List.of("smarthome.domain.sensor.TemperatureCelsiusSensor"));
+
+        // Create mocks for necessary entities
+        SensorID sensorIDDouble = mock(SensorID.class);
+        SensorFunctionalityID validSensorFuncIDDouble = mock(SensorFunctionalityID.class);
+        DeviceID validDeviceIDDouble = mock(DeviceID.class);
+
+        // Call the method under test
+        assertNull(temperatureFactory.createSensor(sensorIDDouble, validDeviceIDDouble, validSensorFuncIDDouble,
+                "smarthome.domain.sensor.HumidityPercentageSensor"));
+        assertNotNull(temperatureFactory.createSensor(sensorIDDouble, validDeviceIDDouble, validSensorFuncIDDouble,
+                "smarthome.domain.sensor.TemperatureCelsiusSensor"));
+    }
+
+    /**
+     * Test that a factory resolving classes on first use returns null for classes that are not sensors.
+     */
+    @Test
+    void failCreateSensorOfClassThatIsNotASensor() {
+        // Create mocks for necessary entities
+        SensorID sensorIDDouble = mock(SensorID.class);
+        SensorFunctionalityID validSensorFuncIDDouble = mock(SensorFunctionalityID.class);
+        DeviceID validDeviceIDDouble = mock(DeviceID.class);
+
+        // Call the method under test
+        assertNull(factorySensor.createSensor(sensorIDDouble, validDeviceIDDouble, validSensorFuncIDDouble,
+                "smarthome.domain.sensor.UnknownSensor"));
+        assertNull(factorySensor.createSensor(sensorIDDouble, validDeviceIDDouble, validSensorFuncIDDouble,
+                "smarthome.domain.actuators.SwitchActuator"));
+    }
+
+    /**
+     * Test that the factory rejects sensor classes that do not exist when it is built.
+     */
+    @Test
+    void failBuildFactoryWithUnknownClass() {
+        List<String> sensorClasses = List.of("smarthome.domain.sensor.UnknownSensor");
+        assertThrows(IllegalArgumentException.class, () -> new FactorySensor(sensorClasses));
+    }
+
+    /**
+     * Test that the factory rejects classes that are not sensors when it is built.
+     */
+    @Test
+    void failBuildFactoryWithClassThatIsNotASensor() {
+        List<String> sensorClasses = List.of("smarthome.domain.actuators.SwitchActuator");
+        assertThrows(IllegalArgumentException.class, () -> new FactorySensor(sensorClasses));
+    }
+
+}
@@ -0,0 +1,30 @@
+package smarthome.domain.valueobjects;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActuatorCommandIDTest {
+
+    /**
+     * Two command IDs with the same identifier are equal.
+     */
+    @Test
+    void commandIDsWithSameIdentifierAreEqual() {
+        ActuatorCommandID commandID = new ActuatorCommandID("Command1");
+
+        assertEquals(new ActuatorCommandID("Command1"), commandID);
+        assertEquals(new ActuatorCommandID("Command1").hashCode(), commandID.hashCode());
+        assertNotEquals(new ActuatorCommandID("Command2"), commandID);
+        assertEquals("Command1", commandID.toString());
+    }
+
+    /**
+     * A command ID cannot be null or blank.
+     */
+    @Test
+    void invalidIdentifierThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ActuatorCommandID(null));
+        assertThrows(IllegalArgumentException.class, () -> new ActuatorCommandID(" "));
+    }
+}
@@ -0,0 +1,41 @@
+package smarthome.domain.valueobjects;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActuatorStateTest {
+
+    private final ActuatorID actuatorID = new ActuatorID("Actuator1");
+    private final ActuatorCommandID commandID = new ActuatorCommandID("Command1");
+    private final Timestamp appliedAt = Timestamp.valueOf("2024-04-01 12:00:00");
+
+    /**
+     * An actuator state keeps the actuator, value, command and time it was created with.
+     */
+    @Test
+    void successfullyCreateActuatorState() {
+        ActuatorState state = new ActuatorState(actuatorID, 42.5, commandID, appliedAt);
+
+        assertEquals(actuatorID, state.getActuatorID());
+        assertEquals(42.5, state.getValue());
+        assertEquals(commandID, state.getCommandID());
+        assertEquals(appliedAt, state.getAppliedAt());
+        assertEquals(new ActuatorState(actuatorID, 42.5, commandID, appliedAt), state);
+        assertEquals(new ActuatorState(actuatorID, 42.5, commandID, appliedAt).hashCode(), state.hashCode());
+        assertNotEquals(new ActuatorState(actuatorID, 40, commandID, appliedAt), state);
+    }
+
+    /**
+     * An actuator state needs every argument and a numeric value.
+     */
+    @Test
+    void invalidArgumentsThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new ActuatorState(null, 1, commandID, appliedAt));
+        assertThrows(IllegalArgumentException.class, () -> new ActuatorState(actuatorID, 1, null, appliedAt));
+        assertThrows(IllegalArgumentException.class, () -> new ActuatorState(actuatorID, 1, commandID, null));
+        assertThrows(IllegalArgumentException.class, () -> new ActuatorState(actuatorID, Double.NaN, commandID, appliedAt));
+    }
+}
@@ -98,5 +98,59 @@ class ReadingTest {
         assertEquals(expected, reading.getAllValuesWithUnits());
     }
 
+    /**
+     * Successfully retrieve the numeric value of a single channel measurement
+     */
+    @Test
+    void successfullyRetrieveNumericMeasurement() {
+        Reading reading = new Reading("21.5", "C");
+        assertTrue(reading.isNumeric());
+        assertEquals(1, reading.getChannelCount());
+        assertEquals(21.5, reading.getNumericMeasurement());
+    }
+
+    /**
+     * Successfully retrieve the numeric value of each channel of a multi-channel measurement
+     */
+    @Test
+    void successfullyRetrieveNumericMeasurementOfEachChannel() {
+        Reading reading = new Reading("12.5;270", "km/h;°");
+        assertTrue(reading.isNumeric());
+        assertEquals(2, reading.getChannelCount());
+        assertEquals(12.5, reading.getNumericMeasurement(0));
+        assertEquals(270, reading.getNumericMeasurement(1));
+    }
 
-}
\ No newline at end of file
+    /**
+     * Fail to retrieve the numeric value of a measurement that is not numeric
+     */
+    @Test
+    void failRetrieveNumericMeasurementWhenNotNumeric() {
+        Reading reading = new Reading("100;ON", "%;*");
+        assertFalse(reading.isNumeric());
+        assertEquals(0, reading.getChannelCount());
+        assertThrows(NumberFormatException.class, reading::getNumericMeasurement);
+    }
+
+    /**
+     * Successfully retrieve the stored numeric value of a measurement given on creation
+     */
+    @Test
+    void successfullyRetrieveNumericMeasurementGivenOnCreation() {
+        Reading reading = new Reading("21.5", "C", 21.5);
+        assertTrue(reading.isNumeric());
+        assertEquals(1, reading.getChannelCount());
+        assertEquals(21.5, reading.getNumericMeasurement());
+    }
+
+    /**
+     * Successfully parse a measurement created without a stored numeric value
+     */
+    @Test
+    void successfullyParseMeasurementWithoutNumericValueGivenOnCreation() {
+        Reading numeric = new Reading("12.5;270", "km/h;°", null);
+        Reading notNumeric = new Reading("07:08", "h", null);
+        assertEquals(270, numeric.getNumericMeasurement(1));
+        assertFalse(notNumeric.isNumeric());
+    }
+}
@@ -0,0 +1,63 @@
+package smarthome.domain.valueobjects;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollupResolutionTest {
+
+    /**
+     * A time is placed at the start of the bucket of each resolution it falls in.
+     */
+    @Test
+    void successfullyFindBucketStart() {
+        Timestamp time = new Timestamp(86_400_000L * 10 + 3_600_000L * 5 + 60_000L * 20 + 30_500L);
+
+        assertEquals(new Timestamp(86_400_000L * 10 + 3_600_000L * 5 + 60_000L * 20), RollupResolution.ONE_MINUTE.bucketStartOf(time));
+        assertEquals(new Timestamp(86_400_000L * 10 + 3_600_000L * 5 + 60_000L * 15), RollupResolution.FIFTEEN_MINUTES.bucketStartOf(time));
+        assertEquals(new Timestamp(86_400_000L * 10 + 3_600_000L * 5), RollupResolution.ONE_HOUR.bucketStartOf(time));
+        assertEquals(new Timestamp(86_400_000L * 10), RollupResolution.ONE_DAY.bucketStartOf(time));
+    }
+
+    /**
+     * The finest resolution that fits the period in the point limit is picked, and the coarsest when none does.
+     */
+    @Test
+    void successfullyPickResolutionForPointLimit() {
+        Timestamp start = Timestamp.valueOf("2024-04-01 00:00:00");
+
+        assertEquals(RollupResolution.ONE_MINUTE,
+                RollupResolution.forPointLimit(start, Timestamp.valueOf("2024-04-01 01:00:00"), 100));
+        assertEquals(RollupResolution.FIFTEEN_MINUTES,
+                RollupResolution.forPointLimit(start, Timestamp.valueOf("2024-04-02 00:00:00"), 100));
+        assertEquals(RollupResolution.ONE_HOUR,
+                RollupResolution.forPointLimit(start, Timestamp.valueOf("2024-04-03 00:00:00"), 100));
+        assertEquals(RollupResolution.ONE_DAY,
+                RollupResolution.forPointLimit(start, Timestamp.valueOf("2024-06-01 00:00:00"), 100));
+        assertEquals(RollupResolution.ONE_DAY,
+                RollupResolution.forPointLimit(start, Timestamp.valueOf("2025-04-01 00:00:00"), 100));
+    }
+
+    /**
+     * Fail to pick a resolution for a point limit that is not positive or a period that ends before it starts.
+     */
+    @Test
+    void failToPickResolutionForInvalidArguments() {
+        Timestamp start = Timestamp.valueOf("2024-04-01 00:00:00");
+        Timestamp end = Timestamp.valueOf("2024-04-02 00:00:00");
+
+        assertThrows(IllegalArgumentException.class, () -> RollupResolution.forPointLimit(start, end, 0));
+        assertThrows(IllegalArgumentException.class, () -> RollupResolution.forPointLimit(end, start, 100));
+    }
+
+    /**
+     * A resolution is found by its short name, and unknown short names are rejected.
+     */
+    @Test
+    void successfullyFindResolutionByLabel() {
+        assertEquals(RollupResolution.FIFTEEN_MINUTES, RollupResolution.fromLabel("15m"));
+        assertThrows(IllegalArgumentException.class, () -> RollupResolution.fromLabel("5m"));
+    }
+}
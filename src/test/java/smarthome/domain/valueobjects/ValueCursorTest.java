@@ -0,0 +1,70 @@
+package smarthome.domain.valueobjects;
+
+import org.junit.jupiter.api.Test;
+import smarthome.domain.value.ImpFactoryInstantTimeLocationValue;
+import smarthome.domain.value.ImpFactoryInstantTimeValue;
+import smarthome.domain.value.ImpFactoryPeriodTimeValue;
+import smarthome.domain.value.Value;
+
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ValueCursorTest {
+
+    /**
+     * Successfully create the cursor of each type of value, positioned at its time and ValueID.
+     */
+    @Test
+    void successfullyCreateCursorOfValues() {
+        SensorID sensorID = new SensorID("Sensor1");
+        Reading reading = new Reading("10", "W");
+        Timestamp time = Timestamp.valueOf("2024-04-01 12:00:00");
+        Value instantValue = new ImpFactoryInstantTimeValue().createValue(sensorID, reading, time);
+        Value periodValue = new ImpFactoryPeriodTimeValue().createValue(sensorID, reading, time, Timestamp.valueOf("2024-04-01 12:15:00"));
+        Value locationValue = new ImpFactoryInstantTimeLocationValue().createValue(sensorID, reading, time, new GPSCode(41.1, -8.6));
+
+        assertEquals(new ValueCursor(time, instantValue.identity()), ValueCursor.of(instantValue));
+        assertEquals(new ValueCursor(time, periodValue.identity()), ValueCursor.of(periodValue));
+        assertEquals(new ValueCursor(time, locationValue.identity()), ValueCursor.of(locationValue));
+    }
+
+    /**
+     * Cursors are ordered by time, and by ValueID at the same time.
+     */
+    @Test
+    void cursorsAreOrderedByTimeThenValueID() {
+        Timestamp earlier = Timestamp.valueOf("2024-04-01 12:00:00");
+        Timestamp later = Timestamp.valueOf("2024-04-01 12:00:01");
+
+        assertTrue(new ValueCursor(earlier, new ValueID("B")).compareTo(new ValueCursor(later, new ValueID("A"))) < 0);
+        assertTrue(new ValueCursor(later, new ValueID("A")).compareTo(new ValueCursor(later, new ValueID("B"))) < 0);
+        assertEquals(0, new ValueCursor(later, new ValueID("A")).compareTo(new ValueCursor(later, new ValueID("A"))));
+    }
+
+    /**
+     * Cursors positioned at the same value are equal and share their hash code.
+     */
+    @Test
+    void cursorsAtSameValueAreEqual() {
+        ValueCursor cursor = new ValueCursor(new Timestamp(1000), new ValueID("A"));
+        ValueCursor sameCursor = new ValueCursor(new Timestamp(1000), new ValueID("A"));
+
+        assertEquals(cursor, sameCursor);
+        assertEquals(cursor.hashCode(), sameCursor.hashCode());
+        assertNotEquals(cursor, new ValueCursor(new Timestamp(1000), new ValueID("B")));
+        assertNotEquals(cursor, new ValueCursor(new Timestamp(2000), new ValueID("A")));
+    }
+
+    /**
+     * Fail to create a cursor with missing arguments, or of a value of an unknown type.
+     */
+    @Test
+    void failToCreateInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> new ValueCursor(null, new ValueID("A")));
+        assertThrows(IllegalArgumentException.class, () -> new ValueCursor(new Timestamp(0), null));
+        assertThrows(IllegalArgumentException.class, () -> ValueCursor.of(mock(Value.class)));
+        assertThrows(IllegalArgumentException.class, () -> ValueCursor.of(null));
+    }
+}
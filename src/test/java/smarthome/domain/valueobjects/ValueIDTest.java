@@ -2,6 +2,9 @@ package smarthome.domain.valueobjects;
 
 import org.junit.jupiter.api.Test;
 
+import java.sql.Timestamp;
+import java.util.UUID;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -132,4 +135,37 @@ class ValueIDTest
         ValueID valueID1 = new ValueID(validValueID1);
         assertEquals(valueID1.toString(), validValueID1);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that the IDs created for readings hold their time and the hash of their sensor, and are unique even for
+     * readings of a sensor taken at the same time.
+     */
+    @Test
+    void ofReadingHoldsTimeAndSensorHash()
+    {
+        SensorID sensorID = new SensorID("Sensor1");
+        Timestamp time = Timestamp.valueOf("2024-04-15 10:00:00.123456789");
+
+        ValueID valueID1 = ValueID.ofReading(sensorID, time);
+        ValueID valueID2 = ValueID.ofReading(sensorID, time);
+
+        UUID uuid = UUID.fromString(valueID1.toString());
+        assertEquals(time.getTime() / 1000 * 1_000_000_000L + time.getNanos(), uuid.getMostSignificantBits());
+        assertEquals(ValueID.sensorHashOf(sensorID), uuid.getLeastSignificantBits() >>> ValueID.SEQUENCE_BITS);
+        assertNotEquals(valueID1, valueID2);
+    }
+
+    /**
+     * Test that readings taken outside the years 1677 to 2262 get a random UUID, and that a sensor and time are required.
+     */
+    @Test
+    void ofReadingOutsideNanosecondRangeOrWithoutArguments()
+    {
+        SensorID sensorID = new SensorID("Sensor1");
+        Timestamp time = Timestamp.valueOf("1500-01-01 00:00:00");
+
+        assertEquals(4, UUID.fromString(ValueID.ofReading(sensorID, time).toString()).version());
+        assertThrows(IllegalArgumentException.class, () -> ValueID.ofReading(null, time));
+        assertThrows(IllegalArgumentException.class, () -> ValueID.ofReading(sensorID, null));
+    }
+}
@@ -0,0 +1,77 @@
+package smarthome.domain.valueobjects;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueRollupTest {
+
+    /**
+     * Successfully create the rollup of a single reading, in the bucket it falls in.
+     */
+    @Test
+    void successfullyCreateRollupOfReading() {
+        SensorID sensorID = new SensorID("Sensor1");
+        ValueRollup rollup = ValueRollup.of(sensorID, RollupResolution.ONE_HOUR, Timestamp.valueOf("2024-04-01 12:34:56"), 21.5, "C");
+
+        assertEquals(sensorID, rollup.getSensorID());
+        assertEquals(RollupResolution.ONE_HOUR, rollup.getResolution());
+        assertEquals(RollupResolution.ONE_HOUR.bucketStartOf(Timestamp.valueOf("2024-04-01 12:00:00")), rollup.getBucketStart());
+        assertEquals("C", rollup.getUnit());
+        assertEquals(21.5, rollup.getMinimum());
+        assertEquals(21.5, rollup.getMaximum());
+        assertEquals(21.5, rollup.getSum());
+        assertEquals(1, rollup.getCount());
+        assertEquals(21.5, rollup.getAverage());
+    }
+
+    /**
+     * Merging two rollups of the same bucket combines their aggregates.
+     */
+    @Test
+    void successfullyMergeRollupsOfSameBucket() {
+        SensorID sensorID = new SensorID("Sensor1");
+        ValueRollup first = ValueRollup.of(sensorID, RollupResolution.FIFTEEN_MINUTES, Timestamp.valueOf("2024-04-01 12:01:00"), 10, "W");
+        ValueRollup second = ValueRollup.of(sensorID, RollupResolution.FIFTEEN_MINUTES, Timestamp.valueOf("2024-04-01 12:14:00"), 30, "W");
+
+        ValueRollup merged = first.merge(second);
+
+        assertEquals(10, merged.getMinimum());
+        assertEquals(30, merged.getMaximum());
+        assertEquals(40, merged.getSum());
+        assertEquals(2, merged.getCount());
+        assertEquals(20, merged.getAverage());
+        assertEquals(first.getRollupID(), merged.getRollupID());
+    }
+
+    /**
+     * Fail to merge rollups of different buckets.
+     */
+    @Test
+    void failToMergeRollupsOfDifferentBuckets() {
+        SensorID sensorID = new SensorID("Sensor1");
+        ValueRollup first = ValueRollup.of(sensorID, RollupResolution.FIFTEEN_MINUTES, Timestamp.valueOf("2024-04-01 12:01:00"), 10, "W");
+        ValueRollup second = ValueRollup.of(sensorID, RollupResolution.FIFTEEN_MINUTES, Timestamp.valueOf("2024-04-01 12:16:00"), 30, "W");
+        ValueRollup otherSensor = ValueRollup.of(new SensorID("Sensor2"), RollupResolution.FIFTEEN_MINUTES, Timestamp.valueOf("2024-04-01 12:01:00"), 30, "W");
+
+        assertThrows(IllegalArgumentException.class, () -> first.merge(second));
+        assertThrows(IllegalArgumentException.class, () -> first.merge(otherSensor));
+    }
+
+    /**
+     * Fail to create a rollup with a bucket start that is not aligned to its resolution, or with invalid aggregates.
+     */
+    @Test
+    void failToCreateInvalidRollup() {
+        SensorID sensorID = new SensorID("Sensor1");
+        Timestamp aligned = RollupResolution.ONE_HOUR.bucketStartOf(Timestamp.valueOf("2024-04-01 12:00:00"));
+        Timestamp notAligned = new Timestamp(aligned.getTime() + 60_000L);
+
+        assertThrows(IllegalArgumentException.class, () -> new ValueRollup(sensorID, RollupResolution.ONE_HOUR, notAligned, "W", 1, 1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ValueRollup(sensorID, RollupResolution.ONE_HOUR, aligned, "W", 1, 1, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ValueRollup(sensorID, RollupResolution.ONE_HOUR, aligned, "W", 2, 1, 3, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ValueRollup(null, RollupResolution.ONE_HOUR, aligned, "W", 1, 1, 1, 1));
+    }
+}
@@ -0,0 +1,284 @@
+package smarthome.gateway;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpServerErrorException;
+import smarthome.service.internaldto.InstTemperatureDTO;
+import smarthome.service.internaldto.SunriseSunsetDTO;
+import smarthome.util.GeneralProperties;
+import smarthome.util.GeneralPropertiesProvider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link CachingWeatherAPIGateway} class, against a local stub of the Weather API.
+ */
+class CachingWeatherAPIGatewayTest {
+
+    private static final double LATITUDE = 50.7958;
+    private static final double LONGITUDE = -4.2596;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private AtomicInteger serverRequests;
+    private AtomicInteger failuresToSend;
+    private CountDownLatch releaseResponses;
+    private AtomicLong clock;
+    private SimpleMeterRegistry meterRegistry;
+    private WeatherAPIGatewayHttpImpl httpGateway;
+    private WeatherAPIGatewayAsyncHttpImpl asyncHttpGateway;
+
+    /**
+     * Starts a stub Weather API answering every request with the requested hour as temperature, or the option as info.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        serverRequests = new AtomicInteger();
+        failuresToSend = new AtomicInteger();
+        releaseResponses = new CountDownLatch(0);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/InstantaneousTemperature", exchange -> {
+            String hour = queryParameter(exchange, "hour");
+            respond(exchange, "{\"measurement\":" + hour + ",\"unit\":\"C\",\"info\":\"hour " + hour + "\"}");
+        });
+        server.createContext("/SunriseOrSunsetTime", exchange -> {
+            String option = queryParameter(exchange, "option");
+            respond(exchange, "{\"measurement\":" + (option.equals("sunrise") ? 6 : 20) + ",\"unit\":\"h\",\"info\":\"" + option + "\"}");
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        String baseUrl = "http://localhost:" + server.getAddress().getPort();
+        GeneralPropertiesProvider provider = new GeneralPropertiesProvider(
+                () -> new GeneralProperties(300000, "Grid Power Meter", 900000, baseUrl, 5));
+        httpGateway = new WeatherAPIGatewayHttpImpl(provider);
+        asyncHttpGateway = new WeatherAPIGatewayAsyncHttpImpl(provider,
+                HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(),
+                Duration.ofSeconds(10), 0, Duration.ZERO, new CircuitBreaker(5, Duration.ofSeconds(30), System::nanoTime));
+        clock = new AtomicLong();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private CachingWeatherAPIGateway cachingGateway(Duration timeToLive, int maximumSize) {
+        return new CachingWeatherAPIGateway(httpGateway, asyncHttpGateway, meterRegistry, timeToLive, maximumSize, clock::get);
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        for (String parameter : exchange.getRequestURI().getQuery().split("&")) {
+            String[] parts = parameter.split("=");
+            if (parts[0].equals(name))
+                return parts[1];
+        }
+        return "";
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        serverRequests.incrementAndGet();
+        try {
+            releaseResponses.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        if (failuresToSend.getAndUpdate(failures -> Math.max(0, failures - 1)) > 0) {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * A day of minute-level readings only reaches the Weather API once per distinct hour.
+     */
+    @Test
+    void dayOfMinuteReadingsRequestsEachHourOnce() {
+        CachingWeatherAPIGateway gateway = cachingGateway(Duration.ofMinutes(10), 1024);
+
+        for (int minute = 0; minute < 1440; minute++) {
+            int hour = minute / 60;
+            InstTemperatureDTO temperature = gateway.getInstantaneousTemperature(5, LATITUDE, LONGITUDE, hour);
+            assertEquals(hour, temperature.measurement);
+        }
+
+        assertEquals(24, serverRequests.get());
+        assertEquals(1416, meterRegistry.get("smarthome.weather.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(24, meterRegistry.get("smarthome.weather.cache.requests").tag("result", "miss").counter().count());
+        assertEquals(1416.0 / 1440, meterRegistry.get("smarthome.weather.cache.hit.ratio").gauge().value(), 1e-9);
+        assertEquals(24, meterRegistry.get("smarthome.weather.cache.size").gauge().value());
+    }
+
+    /**
+     * Requests differing in endpoint, group number, location or option are cached separately.
+     */
+    @Test
+    void distinctRequestsAreCachedSeparately() {
+        CachingWeatherAPIGateway gateway = cachingGateway(Duration.ofMinutes(10), 1024);
+
+        SunriseSunsetDTO sunrise = gateway.getSunriseSunsetHour(5, LATITUDE, LONGITUDE, "sunrise");
+        SunriseSunsetDTO sunset = gateway.getSunriseSunsetHour(5, LATITUDE, LONGITUDE, "sunset");
+        gateway.getInstantaneousTemperature(5, LATITUDE, LONGITUDE, 6);
+        gateway.getInstantaneousTemperature(6, LATITUDE, LONGITUDE, 6);
+        gateway.getInstantaneousTemperature(5, 41.1579, LONGITUDE, 6);
+
+        assertEquals(6, sunrise.measurement);
+        assertEquals(20, sunset.measurement);
+        assertEquals(5, serverRequests.get());
+    }
+
+    /**
+     * A response is requested again once its time to live has passed.
+     */
+    @Test
+    void expiredResponseIsRequestedAgain() {
+        CachingWeatherAPIGateway gateway = cachingGateway(Duration.ofMinutes(10), 1024);
+
+        gateway.getInstantaneousTemperature(5, LATITUDE, LONGITUDE, 12);
+        clock.addAndGet(Duration.ofMinutes(9).toNanos());
+        gateway.getInstantaneousTemperature(5, LATITUDE, LONGITUDE, 12);
+        assertEquals(1, serverRequests.get());
+
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        gateway.getInstantaneousTemperature(5, LATITUDE, LONGITUDE, 12);
+        assertEquals(2, serverRequests.get());
+    }
+
+    /**
+     * The least recently used response is evicted once the cache is full.
+     */
+    @Test
+    void leastRecentlyUsedResponseIsEvictedWhenFull() {
+        CachingWeatherAPIGateway gateway = cachingGateway(Duration.ofMinutes(10), 2);
+
+        gateway.getInstantaneousTemperature(5, LATITUDE, LONGITUDE, 1);
+        gateway.getInstantaneousTemperature(5, LATITUDE, LONGITUDE, 2);
+        gateway.getInstantaneousTemperature(5, LATITUDE, LONGITUDE, 1);
+        gateway.getInstantaneousTemperature(5, LATITUDE, LONGITUDE, 3);
+        assertEquals(3, serverRequests.get());
+        assertEquals(2, gateway.size());
+
+        gateway.getInstantaneousTemperature(5, LATITUDE, LONGITUDE, 1);
+        assertEquals(3, serverRequests.get());
+        gateway.getInstantaneousTemperature(5, LATITUDE, LONGITUDE, 2);
+        assertEquals(4, serverRequests.get());
+    }
+
+    /**
+     * Concurrent identical requests share a single call to the Weather API.
+     */
+    @Test
+    void concurrentIdenticalRequestsCollapseIntoOneCall() throws Exception {
+        CachingWeatherAPIGateway gateway = cachingGateway(Duration.ofMinutes(10), 1024);
+        releaseResponses = new CountDownLatch(1);
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch started = new CountDownLatch(callers);
+        List<Future<InstTemperatureDTO>> responses = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < callers; i++) {
+                responses.add(executor.submit(() -> {
+                    started.countDown();
+                    return gateway.getInstantaneousTemperature(5, LATITUDE, LONGITUDE, 15);
+                }));
+            }
+            started.await(5, TimeUnit.SECONDS);
+            Thread.sleep(200);
+            releaseResponses.countDown();
+
+            for (Future<InstTemperatureDTO> response : responses) {
+                assertEquals(15, response.get(5, TimeUnit.SECONDS).measurement);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, serverRequests.get());
+        assertEquals(callers - 1, meterRegistry.get("smarthome.weather.cache.requests").tag("result", "hit").counter().count());
+    }
+
+    /**
+     * Parallel asynchronous requests for the same hour share one call, and later synchronous requests reuse its response.
+     */
+    @Test
+    void asyncRequestsShareCallsWithSyncRequests() {
+        CachingWeatherAPIGateway gateway = cachingGateway(Duration.ofMinutes(10), 1024);
+        releaseResponses = new CountDownLatch(1);
+
+        List<CompletableFuture<InstTemperatureDTO>> responses = new ArrayList<>();
+        for (int hour = 0; hour < 4; hour++) {
+            responses.add(gateway.getInstantaneousTemperatureAsync(5, LATITUDE, LONGITUDE, hour));
+            responses.add(gateway.getInstantaneousTemperatureAsync(5, LATITUDE, LONGITUDE, hour));
+        }
+        releaseResponses.countDown();
+
+        for (int i = 0; i < responses.size(); i++) {
+            assertEquals(i / 2, responses.get(i).join().measurement);
+        }
+        assertEquals(3, gateway.getInstantaneousTemperature(5, LATITUDE, LONGITUDE, 3).measurement);
+        assertEquals(4, serverRequests.get());
+    }
+
+    /**
+     * A failed call is not cached, so the next request reaches the Weather API again.
+     */
+    @Test
+    void failedCallIsNotCached() {
+        CachingWeatherAPIGateway gateway = cachingGateway(Duration.ofMinutes(10), 1024);
+        failuresToSend.set(1);
+
+        assertThrows(HttpServerErrorException.class,
+                () -> gateway.getInstantaneousTemperature(5, LATITUDE, LONGITUDE, 8));
+        InstTemperatureDTO temperature = gateway.getInstantaneousTemperature(5, LATITUDE, LONGITUDE, 8);
+
+        assertEquals(8, temperature.measurement);
+        assertEquals(2, serverRequests.get());
+    }
+
+    /**
+     * The cache rejects missing collaborators and non-positive bounds.
+     */
+    @Test
+    void invalidArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CachingWeatherAPIGateway(null, asyncHttpGateway, meterRegistry, Duration.ofMinutes(1), 1, clock::get));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CachingWeatherAPIGateway(httpGateway, null, meterRegistry, Duration.ofMinutes(1), 1, clock::get));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CachingWeatherAPIGateway(httpGateway, asyncHttpGateway, meterRegistry, Duration.ZERO, 1, clock::get));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CachingWeatherAPIGateway(httpGateway, asyncHttpGateway, meterRegistry, Duration.ofMinutes(1), 0, clock::get));
+    }
+}
@@ -0,0 +1,111 @@
+package smarthome.gateway;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link CircuitBreaker} class.
+ */
+class CircuitBreakerTest {
+
+    private AtomicLong clock;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        circuitBreaker = new CircuitBreaker(3, Duration.ofSeconds(30), clock::get);
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(circuitBreaker.tryAcquire());
+            circuitBreaker.recordFailure();
+        }
+    }
+
+    /**
+     * A closed circuit lets every call through.
+     */
+    @Test
+    void closedCircuitAllowsCalls() {
+        fail(2);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    /**
+     * The circuit opens once the threshold of consecutive failures is reached, and then rejects calls.
+     */
+    @Test
+    void consecutiveFailuresOpenTheCircuit() {
+        fail(3);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    /**
+     * A success resets the count of consecutive failures.
+     */
+    @Test
+    void successResetsFailures() {
+        fail(2);
+        circuitBreaker.recordSuccess();
+        fail(2);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    /**
+     * Once the open period has passed a single trial call is let through, and its success closes the circuit.
+     */
+    @Test
+    void successfulTrialCallClosesTheCircuit() {
+        fail(3);
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+
+        circuitBreaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    /**
+     * A failed trial call opens the circuit again for a whole open period.
+     */
+    @Test
+    void failedTrialCallOpensTheCircuitAgain() {
+        fail(3);
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertTrue(circuitBreaker.tryAcquire());
+
+        circuitBreaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        clock.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertFalse(circuitBreaker.tryAcquire());
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    /**
+     * The circuit breaker rejects missing arguments and non-positive bounds.
+     */
+    @Test
+    void invalidArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(0, Duration.ofSeconds(1), clock::get));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(1, Duration.ZERO, clock::get));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(1, null, clock::get));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(1, Duration.ofSeconds(1), null));
+    }
+}
@@ -0,0 +1,262 @@
+package smarthome.gateway;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smarthome.service.internaldto.InstTemperatureDTO;
+import smarthome.service.internaldto.SunriseSunsetDTO;
+import smarthome.util.GeneralProperties;
+import smarthome.util.GeneralPropertiesProvider;
+import smarthome.util.exceptions.WeatherAPIException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link WeatherAPIGatewayAsyncHttpImpl} class, against a local stub of the Weather API that can
+ * delay its responses or fail them.
+ */
+class WeatherAPIGatewayAsyncHttpImplTest {
+
+    private static final double LATITUDE = 50.7958;
+    private static final double LONGITUDE = -4.2596;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private AtomicInteger serverRequests;
+    private AtomicInteger failuresToSend;
+    private AtomicInteger failureStatus;
+    private AtomicInteger slowResponsesToSend;
+    private AtomicLong responseDelayMillis;
+    private AtomicLong clock;
+    private GeneralPropertiesProvider provider;
+    private HttpClient httpClient;
+
+    /**
+     * Starts a stub Weather API answering every request with the requested hour as temperature, or the option as info.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        serverRequests = new AtomicInteger();
+        failuresToSend = new AtomicInteger();
+        failureStatus = new AtomicInteger(503);
+        slowResponsesToSend = new AtomicInteger();
+        responseDelayMillis = new AtomicLong();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/InstantaneousTemperature", exchange -> {
+            String hour = queryParameter(exchange, "hour");
+            respond(exchange, "{\"measurement\":" + hour + ",\"unit\":\"C\",\"info\":\"hour " + hour + "\"}");
+        });
+        server.createContext("/SunriseOrSunsetTime", exchange -> {
+            String option = queryParameter(exchange, "option");
+            respond(exchange, "{\"measurement\":" + (option.equals("sunrise") ? 6 : 20) + ",\"unit\":\"h\",\"info\":\"" + option + "\"}");
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        String baseUrl = "http://localhost:" + server.getAddress().getPort();
+        provider = new GeneralPropertiesProvider(
+                () -> new GeneralProperties(300000, "Grid Power Meter", 900000, baseUrl, 5));
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        clock = new AtomicLong();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private WeatherAPIGatewayAsyncHttpImpl gateway(Duration callDeadline, int maxRetries, int failureThreshold) {
+        return new WeatherAPIGatewayAsyncHttpImpl(provider, httpClient, callDeadline, maxRetries, Duration.ofMillis(10),
+                new CircuitBreaker(failureThreshold, Duration.ofSeconds(30), clock::get));
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        for (String parameter : exchange.getRequestURI().getQuery().split("&")) {
+            String[] parts = parameter.split("=");
+            if (parts[0].equals(name))
+                return parts[1];
+        }
+        return "";
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        serverRequests.incrementAndGet();
+        try {
+            if (slowResponsesToSend.getAndUpdate(slow -> Math.max(0, slow - 1)) > 0)
+                Thread.sleep(1000);
+            Thread.sleep(responseDelayMillis.get());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        if (failuresToSend.getAndUpdate(failures -> Math.max(0, failures - 1)) > 0) {
+            exchange.sendResponseHeaders(failureStatus.get(), -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static Throwable failureOf(CompletableFuture<?> response) {
+        CompletionException exception = assertThrows(CompletionException.class, response::join);
+        return exception.getCause();
+    }
+
+    /**
+     * A successful response is read into its DTO.
+     */
+    @Test
+    void responseIsReadIntoDTO() {
+        WeatherAPIGatewayAsyncHttpImpl gateway = gateway(Duration.ofSeconds(2), 0, 5);
+
+        InstTemperatureDTO temperature = gateway.getInstantaneousTemperatureAsync(5, LATITUDE, LONGITUDE, 9).join();
+        SunriseSunsetDTO sunset = gateway.getSunriseSunsetHourAsync(5, LATITUDE, LONGITUDE, "sunset").join();
+
+        assertEquals(9, temperature.measurement);
+        assertEquals("hour 9", temperature.info);
+        assertEquals(20, sunset.measurement);
+    }
+
+    /**
+     * Requests in flight at the same time are served in parallel, so their latencies overlap instead of adding up.
+     */
+    @Test
+    void parallelRequestsOverlap() {
+        WeatherAPIGatewayAsyncHttpImpl gateway = gateway(Duration.ofSeconds(5), 0, 5);
+        responseDelayMillis.set(300);
+
+        long start = System.nanoTime();
+        List<CompletableFuture<InstTemperatureDTO>> responses = new ArrayList<>();
+        for (int hour = 0; hour < 8; hour++) {
+            responses.add(gateway.getInstantaneousTemperatureAsync(5, LATITUDE, LONGITUDE, hour));
+        }
+        for (int hour = 0; hour < 8; hour++) {
+            assertEquals(hour, responses.get(hour).join().measurement);
+        }
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(elapsedMillis < 8 * 300, "Requests were served one after the other: " + elapsedMillis + " ms");
+    }
+
+    /**
+     * An attempt exceeding its deadline is abandoned and retried.
+     */
+    @Test
+    void slowAttemptIsRetriedAfterItsDeadline() {
+        WeatherAPIGatewayAsyncHttpImpl gateway = gateway(Duration.ofMillis(300), 1, 5);
+        slowResponsesToSend.set(1);
+
+        InstTemperatureDTO temperature = gateway.getInstantaneousTemperatureAsync(5, LATITUDE, LONGITUDE, 4).join();
+
+        assertEquals(4, temperature.measurement);
+        assertEquals(2, serverRequests.get());
+    }
+
+    /**
+     * A request whose every attempt exceeds its deadline fails with a WeatherAPIException.
+     */
+    @Test
+    void requestFailsOnceEveryAttemptTimesOut() {
+        WeatherAPIGatewayAsyncHttpImpl gateway = gateway(Duration.ofMillis(200), 1, 5);
+        responseDelayMillis.set(1000);
+
+        Throwable failure = failureOf(gateway.getInstantaneousTemperatureAsync(5, LATITUDE, LONGITUDE, 4));
+
+        assertInstanceOf(WeatherAPIException.class, failure);
+        assertTrue(failure.getMessage().contains("HttpTimeoutException"));
+    }
+
+    /**
+     * Server errors are retried until the Weather API answers.
+     */
+    @Test
+    void serverErrorIsRetried() {
+        WeatherAPIGatewayAsyncHttpImpl gateway = gateway(Duration.ofSeconds(2), 2, 5);
+        failuresToSend.set(2);
+
+        InstTemperatureDTO temperature = gateway.getInstantaneousTemperatureAsync(5, LATITUDE, LONGITUDE, 7).join();
+
+        assertEquals(7, temperature.measurement);
+        assertEquals(3, serverRequests.get());
+        assertEquals(CircuitBreaker.State.CLOSED, gateway.getCircuitState());
+    }
+
+    /**
+     * A rejected request is not retried.
+     */
+    @Test
+    void clientErrorIsNotRetried() {
+        WeatherAPIGatewayAsyncHttpImpl gateway = gateway(Duration.ofSeconds(2), 2, 5);
+        failureStatus.set(400);
+        failuresToSend.set(1);
+
+        Throwable failure = failureOf(gateway.getInstantaneousTemperatureAsync(5, LATITUDE, LONGITUDE, 7));
+
+        assertInstanceOf(WeatherAPIException.class, failure);
+        assertEquals(1, serverRequests.get());
+    }
+
+    /**
+     * Once requests keep failing the circuit opens, and the next request fails at once without reaching the Weather API.
+     */
+    @Test
+    void persistentFailuresOpenTheCircuit() {
+        WeatherAPIGatewayAsyncHttpImpl gateway = gateway(Duration.ofSeconds(2), 0, 2);
+        failuresToSend.set(Integer.MAX_VALUE);
+
+        failureOf(gateway.getInstantaneousTemperatureAsync(5, LATITUDE, LONGITUDE, 1));
+        failureOf(gateway.getInstantaneousTemperatureAsync(5, LATITUDE, LONGITUDE, 2));
+        assertEquals(CircuitBreaker.State.OPEN, gateway.getCircuitState());
+
+        CompletableFuture<InstTemperatureDTO> rejected = gateway.getInstantaneousTemperatureAsync(5, LATITUDE, LONGITUDE, 3);
+
+        assertTrue(rejected.isCompletedExceptionally());
+        assertInstanceOf(WeatherAPIException.class, failureOf(rejected));
+        assertEquals(2, serverRequests.get());
+
+        failuresToSend.set(0);
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertEquals(3, gateway.getInstantaneousTemperatureAsync(5, LATITUDE, LONGITUDE, 3).join().measurement);
+        assertEquals(CircuitBreaker.State.CLOSED, gateway.getCircuitState());
+    }
+
+    /**
+     * The gateway rejects missing collaborators, a non-positive deadline and negative retries.
+     */
+    @Test
+    void invalidArgumentsAreRejected() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ofSeconds(1), clock::get);
+
+        assertThrows(IllegalArgumentException.class, () -> new WeatherAPIGatewayAsyncHttpImpl(
+                null, httpClient, Duration.ofSeconds(1), 0, Duration.ZERO, circuitBreaker));
+        assertThrows(IllegalArgumentException.class, () -> new WeatherAPIGatewayAsyncHttpImpl(
+                provider, httpClient, Duration.ZERO, 0, Duration.ZERO, circuitBreaker));
+        assertThrows(IllegalArgumentException.class, () -> new WeatherAPIGatewayAsyncHttpImpl(
+                provider, httpClient, Duration.ofSeconds(1), -1, Duration.ZERO, circuitBreaker));
+        assertThrows(IllegalArgumentException.class, () -> new WeatherAPIGatewayAsyncHttpImpl(
+                provider, httpClient, Duration.ofSeconds(1), 0, Duration.ZERO, null));
+    }
+}
@@ -9,6 +9,8 @@ import smarthome.service.internaldto.InstTemperatureDTO;
 import smarthome.service.internaldto.InstWindSpeedAndDirectionDTO;
 import smarthome.service.internaldto.MaxWindSpeedAndDirectionOverAPeriodDTO;
 import smarthome.service.internaldto.SunriseSunsetDTO;
+import smarthome.util.GeneralProperties;
+import smarthome.util.GeneralPropertiesProvider;
 import smarthome.util.exceptions.WeatherAPIException;
 
 import static java.lang.Double.NaN;
@@ -34,7 +36,9 @@ public class WeatherAPIGatewayHttpImplTest {
     @BeforeEach
     public void setUp() {
         restTemplate = mock(RestTemplate.class);
-        weatherAPIGateway = new WeatherAPIGatewayHttpImpl();
+        GeneralPropertiesProvider generalPropertiesProvider = new GeneralPropertiesProvider(
+                () -> new GeneralProperties(300000, "Grid Power Meter", 900000, BASE_URL, 5));
+        weatherAPIGateway = new WeatherAPIGatewayHttpImpl(generalPropertiesProvider);
         weatherAPIGateway.setRestTemplate(restTemplate);
     }
 
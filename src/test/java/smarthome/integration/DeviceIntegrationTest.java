@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.jupiter.api.AfterAll;
@@ -23,10 +24,15 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import smarthome.mapper.*;
 import smarthome.util.config.TestRepositoryConfig;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -637,6 +643,156 @@ class DeviceIntegrationTest {
         assertEquals(expectedResponseNode, actualResponseNode);
     }
 
+    /**
+     * Tests the endpoint to get an object by its ID, accepting NDJSON.
+     * When indicating givenStart and givenEnd, verifies that the measurements of the device in the period are streamed
+     * one JSON object per line.
+     */
+    @Test
+    void successfullyStreamAllMeasurementsOfDeviceInPeriod() throws Exception {
+        String deviceID = "Device001";
+
+        LocalDateTime givenStart = LocalDateTime.of(2024, 4, 1, 0, 0);
+        LocalDateTime givenEnd = LocalDateTime.of(2024, 7, 1, 0, 0);
+
+        MvcResult asyncResult = mockMvc
+                .perform(MockMvcRequestBuilders.get("/devices/" + deviceID)
+                        .param("givenStart", givenStart.toString())
+                        .param("givenEnd", givenEnd.toString())
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(5, lines.length);
+        for (String line : lines) {
+            JsonNode lineNode = objectMapper.readTree(line);
+            assertEquals("TemperatureCelsius", lineNode.get("sensorFunctionality").asText());
+            assertEquals("20 Cº", lineNode.get("valueWithUnit").asText());
+        }
+    }
+
+    /**
+     * Tests the endpoint to get an object by its ID, with a page limit.
+     * When indicating givenStart, givenEnd and limit, verifies that following the "next" links pages through every
+     * measurement of the device in the period, and that the last page has no "next" link.
+     */
+    @Test
+    void successfullyPageThroughMeasurementsOfDeviceInPeriod() throws Exception {
+        String firstPageUri = "/devices/Device001?givenStart=" + LocalDateTime.of(2024, 4, 1, 0, 0)
+                + "&givenEnd=" + LocalDateTime.of(2024, 7, 1, 0, 0) + "&limit=2";
+
+        List<Integer> pageSizes = new ArrayList<>();
+        String pageUri = firstPageUri;
+        while (pageUri != null) {
+            MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(URI.create(pageUri))
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+
+            for (JsonNode reading : page.get("readings")) {
+                assertEquals("TemperatureCelsius", reading.get("sensorFunctionality").asText());
+                assertEquals("20 Cº", reading.get("valueWithUnit").asText());
+            }
+            pageSizes.add(page.get("readings").size());
+            assertTrue(page.at("/_links/self/href").asText().contains("limit=2"));
+            JsonNode next = page.at("/_links/next/href");
+            pageUri = next.isMissingNode() ? null : next.asText();
+        }
+
+        assertEquals(List.of(2, 2, 1), pageSizes);
+    }
+
+    /**
+     * Tests the endpoint to get an object by its ID, with a page limit and a cursor that was not issued by the server.
+     * Verifies that the request is rejected with HTTP status UNPROCESSABLE_ENTITY.
+     */
+    @Test
+    void failToPageThroughMeasurementsOfDeviceWithInvalidCursor() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/devices/Device001")
+                        .param("givenStart", LocalDateTime.of(2024, 4, 1, 0, 0).toString())
+                        .param("givenEnd", LocalDateTime.of(2024, 7, 1, 0, 0).toString())
+                        .param("limit", "2")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    /**
+     * Tests the endpoint to get an object by its ID, negotiating CBOR.
+     * When indicating givenStart and givenEnd with "Accept: application/cbor", verifies that the measurements are
+     * written in CBOR, keyed by sensor functionality as in JSON.
+     */
+    @Test
+    void successfullyGetAllMeasurementsOfDeviceInPeriodAsCbor() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/devices/Device001")
+                        .param("givenStart", LocalDateTime.of(2024, 4, 1, 0, 0).toString())
+                        .param("givenEnd", LocalDateTime.of(2024, 7, 1, 0, 0).toString())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        JsonNode measurements = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(5, measurements.get("TemperatureCelsius").size());
+        assertEquals("20 Cº", measurements.get("TemperatureCelsius").get(0).get("valueWithUnit").asText());
+    }
+
+    /**
+     * Tests the endpoint to get an object by its ID, in the columnar shape.
+     * When indicating givenStart, givenEnd and shape=columnar, verifies that the measurements of each sensor
+     * functionality are listed once as parallel arrays of timestamps and numeric values, with their unit stated once,
+     * and that the same series is written in CBOR when negotiated.
+     */
+    @Test
+    void successfullyGetColumnarMeasurementsOfDeviceInPeriod() throws Exception {
+        String start = LocalDateTime.of(2024, 4, 1, 0, 0).toString();
+        String end = LocalDateTime.of(2024, 7, 1, 0, 0).toString();
+
+        MvcResult columnarJson = mockMvc.perform(MockMvcRequestBuilders.get("/devices/Device001")
+                        .param("givenStart", start).param("givenEnd", end).param("shape", "columnar")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode series = objectMapper.readTree(columnarJson.getResponse().getContentAsString(StandardCharsets.UTF_8));
+
+        assertEquals(1, series.size());
+        assertEquals("TemperatureCelsius", series.get(0).get("sensorFunctionality").asText());
+        assertEquals("Cº", series.get(0).get("unit").asText());
+        assertEquals(5, series.get(0).get("timestamps").size());
+        for (JsonNode value : series.get(0).get("values"))
+            assertEquals(20, value.asDouble());
+        assertFalse(series.get(0).has("measurements"));
+
+        MvcResult columnarCbor = mockMvc.perform(MockMvcRequestBuilders.get("/devices/Device001")
+                        .param("givenStart", start).param("givenEnd", end).param("shape", "columnar")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        assertEquals(series, new CBORMapper().readTree(columnarCbor.getResponse().getContentAsByteArray()));
+    }
+
+    /**
+     * Tests the endpoint to get an object by its ID without an Accept header.
+     * When indicating givenStart and givenEnd, verifies that the measurements are still listed as a single JSON document.
+     */
+    @Test
+    void getAllMeasurementsOfDeviceInPeriodDefaultsToJson() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/devices/Device001")
+                        .param("givenStart", LocalDateTime.of(2024, 4, 1, 0, 0).toString())
+                        .param("givenEnd", LocalDateTime.of(2024, 7, 1, 0, 0).toString()))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncNotStarted())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
     /**
      * Tests the endpoint to get an object by device id and String state.
      * When indicating a valid sensor functionalityID, verifies that the response is equal to the last reading of the ´
@@ -753,4 +909,61 @@ class DeviceIntegrationTest {
 
         assertEquals(expectedResponse, resultContent);
     }
+
+    /**
+     * Tests the endpoint to ingest a batch of readings for a device.
+     * Verifies that the readings are persisted and returned when listing the measurements of the device in the period.
+     */
+    @Test
+    void successfullyAddReadingsToDeviceAndListThem() throws Exception {
+        String deviceID = "Device005";
+        List<NewReadingDTO> newReadings = List.of(
+                new NewReadingDTO("Sensor005", "12", null,
+                        LocalDateTime.of(2030, 1, 1, 10, 0), LocalDateTime.of(2030, 1, 1, 10, 15), null, null),
+                new NewReadingDTO("Sensor005", "15", null,
+                        LocalDateTime.of(2030, 1, 1, 10, 15), LocalDateTime.of(2030, 1, 1, 10, 30), null, null));
+
+        MvcResult result = mockMvc
+                .perform(MockMvcRequestBuilders.post("/devices/" + deviceID + "/readings:batch")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(newReadings))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        assertEquals("2", result.getResponse().getContentAsString());
+
+        MvcResult listResult = mockMvc
+                .perform(MockMvcRequestBuilders.get("/devices/" + deviceID)
+                        .param("givenStart", LocalDateTime.of(2030, 1, 1, 0, 0).toString())
+                        .param("givenEnd", LocalDateTime.of(2030, 1, 2, 0, 0).toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode readings = objectMapper.readTree(listResult.getResponse().getContentAsString()).get("ElectricEnergyConsumption");
+        assertEquals(2, readings.size());
+        assertEquals("12 kWh", readings.get(0).get("valueWithUnit").asText());
+        assertEquals("15 kWh", readings.get(1).get("valueWithUnit").asText());
+    }
+
+    /**
+     * Tests the endpoint to ingest a batch of readings for a device.
+     * Verifies that a batch with a reading of a sensor not belonging to the device is rejected.
+     */
+    @Test
+    void failAddReadingsOfSensorNotInDevice() throws Exception {
+        List<NewReadingDTO> newReadings = List.of(
+                new NewReadingDTO("Sensor001", "21", LocalDateTime.of(2030, 1, 1, 10, 0), null, null, null, null));
+
+        MvcResult result = mockMvc
+                .perform(MockMvcRequestBuilders.post("/devices/Device005/readings:batch")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(newReadings))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnprocessableEntity())
+                .andReturn();
+
+        assertEquals("Sensor not found in Repository", result.getResponse().getContentAsString());
+    }
 }
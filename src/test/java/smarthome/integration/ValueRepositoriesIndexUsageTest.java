@@ -0,0 +1,138 @@
+package smarthome.integration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import smarthome.persistence.springdata.repositoriesspringdata.InstantTimeLocationValueRepositorySpringData;
+import smarthome.persistence.springdata.repositoriesspringdata.InstantTimeValueRepositorySpringData;
+import smarthome.persistence.springdata.repositoriesspringdata.PeriodTimeValueRepositorySpringData;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks, through H2's EXPLAIN, that the queries of the value repositories are served by the indexes of the value
+ * tables instead of a full table scan.
+ * It lives outside the persistence package so the default test run, which skips that package, still guards the indexes.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "smarthome.integration.ValueRepositoriesIndexUsageTest$RecordingStatementInspector")
+class ValueRepositoriesIndexUsageTest {
+
+    private static final Timestamp START = Timestamp.valueOf("2024-04-15 00:00:00");
+    private static final Timestamp END = Timestamp.valueOf("2024-04-16 00:00:00");
+
+    /**
+     * Records the SQL of every statement Hibernate prepares, so the generated queries can be explained.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private InstantTimeValueRepositorySpringData instantTimeValueRepository;
+
+    @Autowired
+    private InstantTimeLocationValueRepositorySpringData instantTimeLocationValueRepository;
+
+    @Autowired
+    private PeriodTimeValueRepositorySpringData periodTimeValueRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    /**
+     * Retrieves the last select statement Hibernate prepared.
+     */
+    private String lastSelect() {
+        List<String> statements = RecordingStatementInspector.STATEMENTS;
+        for (int i = statements.size() - 1; i >= 0; i--) {
+            if (statements.get(i).trim().toLowerCase().startsWith("select"))
+                return statements.get(i);
+        }
+        fail("No select statement was prepared");
+        return null;
+    }
+
+    /**
+     * Asserts that H2 plans the last select statement through the given index.
+     */
+    private void assertLastSelectUsesIndex(String indexName, Object... parameters) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + lastSelect(), String.class, parameters);
+        assertNotNull(plan);
+        assertTrue(plan.toLowerCase().contains(indexName), "Query is not served by " + indexName + ":\n" + plan);
+    }
+
+    @Test
+    void instantValuesBetweenPeriodUseSensorTimeIndex() {
+        instantTimeValueRepository.findBySensorIDAndAndInstantTimeBetween("Sensor001", START, END);
+
+        assertLastSelectUsesIndex("idx_instant_time_value_sensor_time", "Sensor001", START, END);
+    }
+
+    @Test
+    void instantValuesOfSensorUseSensorTimeIndex() {
+        instantTimeValueRepository.findBySensorID("Sensor001");
+
+        assertLastSelectUsesIndex("idx_instant_time_value_sensor_time", "Sensor001");
+    }
+
+    @Test
+    void latestInstantValueUsesSensorTimeIndex() {
+        instantTimeValueRepository.findFirstBySensorIDOrderByInstantTimeDesc("Sensor001");
+
+        assertLastSelectUsesIndex("idx_instant_time_value_sensor_time", "Sensor001", 1);
+    }
+
+    @Test
+    void instantLocationValuesBetweenPeriodUseSensorTimeIndex() {
+        instantTimeLocationValueRepository.findBySensorIDAndInstantTimeBetween("Sensor001", START, END);
+
+        assertLastSelectUsesIndex("idx_instant_time_location_value_sensor_time", "Sensor001", START, END);
+    }
+
+    @Test
+    void instantLocationValuesOfSensorUseSensorTimeIndex() {
+        instantTimeLocationValueRepository.findBySensorID("Sensor001");
+
+        assertLastSelectUsesIndex("idx_instant_time_location_value_sensor_time", "Sensor001");
+    }
+
+    @Test
+    void latestInstantLocationValueUsesSensorTimeIndex() {
+        instantTimeLocationValueRepository.findFirstBySensorIDOrderByInstantTimeDesc("Sensor001");
+
+        assertLastSelectUsesIndex("idx_instant_time_location_value_sensor_time", "Sensor001", 1);
+    }
+
+    @Test
+    void periodValuesBetweenPeriodUseSensorPeriodIndex() {
+        periodTimeValueRepository.findBySensorIDAndStartTimeGreaterThanEqualAndEndTimeLessThanEqual("Sensor001", START, END);
+
+        assertLastSelectUsesIndex("idx_period_time_value_sensor_period", "Sensor001", START, END);
+    }
+
+    @Test
+    void periodValuesOfSensorUseSensorPeriodIndex() {
+        periodTimeValueRepository.findBySensorID("Sensor001");
+
+        assertLastSelectUsesIndex("idx_period_time_value_sensor_period", "Sensor001");
+    }
+}
@@ -0,0 +1,54 @@
+package smarthome.mapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NewReadingDTOTest {
+
+    /**
+     * Validate the construction of a NewReadingDTO object.
+     */
+    @Test
+    void successfulConstructionOfNewReadingDTO() {
+        LocalDateTime instant = LocalDateTime.of(2024, 4, 1, 12, 0);
+        NewReadingDTO newReadingDTO = new NewReadingDTO("Sensor1", "10", instant, null, null, 41.1, -8.6);
+
+        assertEquals("Sensor1", newReadingDTO.sensorName);
+        assertEquals("10", newReadingDTO.measurement);
+        assertEquals(instant, newReadingDTO.instantTime);
+        assertNull(newReadingDTO.startTime);
+        assertNull(newReadingDTO.endTime);
+        assertEquals(41.1, newReadingDTO.latitude);
+        assertEquals(-8.6, newReadingDTO.longitude);
+    }
+
+    /**
+     * Validate the equals method of a NewReadingDTO object.
+     */
+    @Test
+    void successfulEqualsOfNewReadingDTO() {
+        LocalDateTime instant = LocalDateTime.of(2024, 4, 1, 12, 0);
+        NewReadingDTO newReadingDTO1 = new NewReadingDTO("Sensor1", "10", instant, null, null, null, null);
+        NewReadingDTO newReadingDTO2 = new NewReadingDTO("Sensor1", "10", instant, null, null, null, null);
+        NewReadingDTO newReadingDTO3 = new NewReadingDTO("Sensor1", "20", instant, null, null, null, null);
+
+        assertEquals(newReadingDTO1, newReadingDTO2);
+        assertNotEquals(newReadingDTO1, newReadingDTO3);
+        assertNotEquals(null, newReadingDTO1);
+    }
+
+    /**
+     * Validate the hashCode method of a NewReadingDTO object.
+     */
+    @Test
+    void successfulHashCodeOfNewReadingDTO() {
+        LocalDateTime instant = LocalDateTime.of(2024, 4, 1, 12, 0);
+        NewReadingDTO newReadingDTO1 = new NewReadingDTO("Sensor1", "10", instant, null, null, null, null);
+        NewReadingDTO newReadingDTO2 = new NewReadingDTO("Sensor1", "10", instant, null, null, null, null);
+
+        assertEquals(newReadingDTO1.hashCode(), newReadingDTO2.hashCode());
+    }
+}
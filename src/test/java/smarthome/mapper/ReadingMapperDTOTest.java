@@ -1,9 +1,26 @@
 package smarthome.mapper;
 
 import org.junit.jupiter.api.Test;
+import smarthome.domain.value.ImpFactoryInstantTimeValue;
+import smarthome.domain.value.ImpFactoryPeriodTimeValue;
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.GPSCode;
 import smarthome.domain.valueobjects.Reading;
+import smarthome.domain.valueobjects.SensorFunctionalityID;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueCursor;
+import smarthome.domain.valueobjects.ValueID;
+import smarthome.service.internaldto.InternalReadingDTO;
+import smarthome.service.internaldto.InternalReadingPageDTO;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -27,4 +44,177 @@ class ReadingMapperDTOTest {
         assertTrue(listOfReadings.size() == listOfReadingsDTO.size());
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Validate that NewReadingDTO objects are converted to InternalReadingDTO objects, keeping absent time fields null
+     * and building a GPSCode only when both coordinates are present.
+     */
+    @Test
+    void newReadingsToInternalDTOList() {
+        LocalDateTime instant = LocalDateTime.of(2024, 4, 1, 12, 0);
+        LocalDateTime start = LocalDateTime.of(2024, 4, 1, 11, 45);
+        NewReadingDTO instantReading = new NewReadingDTO("Sensor1", "10", instant, null, null, null, null);
+        NewReadingDTO periodReading = new NewReadingDTO("Sensor2", "20", null, start, instant, null, null);
+        NewReadingDTO locationReading = new NewReadingDTO("Sensor3", "30", instant, null, null, 41.1, -8.6);
+
+        ReadingMapperDTO readingMapperDTO = new ReadingMapperDTO();
+
+        List<InternalReadingDTO> result = readingMapperDTO.newReadingsToInternalDTOList(List.of(instantReading, periodReading, locationReading));
+
+        assertEquals(3, result.size());
+        assertEquals(new SensorID("Sensor1"), result.get(0).sensorID);
+        assertEquals("10", result.get(0).measurement);
+        assertEquals(Timestamp.valueOf(instant), result.get(0).instantTime);
+        assertNull(result.get(0).startTime);
+        assertNull(result.get(0).gpsCode);
+        assertEquals(Timestamp.valueOf(start), result.get(1).startTime);
+        assertEquals(Timestamp.valueOf(instant), result.get(1).endTime);
+        assertEquals(new GPSCode(41.1, -8.6), result.get(2).gpsCode);
+    }
+
+    /**
+     * Validate that converting a null list of NewReadingDTO objects throws an IllegalArgumentException.
+     */
+    @Test
+    void failNewReadingsToInternalDTOListWithNullList() {
+        ReadingMapperDTO readingMapperDTO = new ReadingMapperDTO();
+
+        assertThrows(IllegalArgumentException.class, () -> readingMapperDTO.newReadingsToInternalDTOList(null));
+    }
+
+    /**
+     * Validate that converting a list containing a null NewReadingDTO throws an IllegalArgumentException.
+     */
+    @Test
+    void failNewReadingsToInternalDTOListWithNullEntry() {
+        ReadingMapperDTO readingMapperDTO = new ReadingMapperDTO();
+        List<NewReadingDTO> newReadings = new ArrayList<>();
+        newReadings.add(null);
+
+        assertThrows(IllegalArgumentException.class, () -> readingMapperDTO.newReadingsToInternalDTOList(newReadings));
+    }
+
+    /**
+     * Validate that a page of readings is converted to a ReadingPageDTO holding a DeviceReadingDTO per reading, in order.
+     */
+    @Test
+    void readingPageToDTO() {
+        ReadingMapperDTO readingMapperDTO = new ReadingMapperDTO();
+        SensorFunctionalityID temperature = new SensorFunctionalityID("TemperatureCelsius");
+        SensorFunctionalityID power = new SensorFunctionalityID("PowerConsumption");
+        InternalReadingPageDTO page = new InternalReadingPageDTO(List.of(
+                new InternalReadingPageDTO.PagedReading(temperature, new Reading("20", "C")),
+                new InternalReadingPageDTO.PagedReading(power, new Reading("10", "W"))), null);
+
+        ReadingPageDTO result = readingMapperDTO.readingPageToDTO(page);
+
+        assertEquals(List.of(new DeviceReadingDTO("TemperatureCelsius", "20 C"), new DeviceReadingDTO("PowerConsumption", "10 W")),
+                result.readings);
+        assertTrue(result.getLinks().isEmpty());
+    }
+
+    /**
+     * Validate that an encoded cursor is opaque and decodes back to the same ValueCursor, down to the nanosecond.
+     */
+    @Test
+    void cursorTokenRoundTrip() {
+        ReadingMapperDTO readingMapperDTO = new ReadingMapperDTO();
+        Timestamp time = Timestamp.valueOf("2024-04-15 08:00:00.123456789");
+        ValueCursor cursor = new ValueCursor(time, new ValueID("InsideTemperatureValue1"));
+
+        String token = readingMapperDTO.cursorToToken(cursor);
+
+        assertFalse(token.contains("InsideTemperatureValue1"));
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+        assertEquals(cursor, readingMapperDTO.tokenToCursor(token));
+        assertEquals(time.getNanos(), readingMapperDTO.tokenToCursor(token).getTime().getNanos());
+    }
+
+    /**
+     * Validate that decoding a cursor that was not produced by cursorToToken throws an IllegalArgumentException.
+     */
+    @Test
+    void failTokenToCursorWithInvalidToken() {
+        ReadingMapperDTO readingMapperDTO = new ReadingMapperDTO();
+        String notACursor = Base64.getUrlEncoder().encodeToString("not a cursor".getBytes(StandardCharsets.UTF_8));
+        String missingValueID = Base64.getUrlEncoder().encodeToString("2024-04-15T08:00:00Z|".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> readingMapperDTO.tokenToCursor("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> readingMapperDTO.tokenToCursor(notACursor));
+        assertThrows(IllegalArgumentException.class, () -> readingMapperDTO.tokenToCursor(missingValueID));
+    }
+
+    /**
+     * Validate that numeric instant readings of one unit become a columnar series in time order, with the unit stated
+     * once and the values as numbers.
+     */
+    @Test
+    void valuesToColumnarSeriesDTOWithNumericInstantValues() {
+        ReadingMapperDTO readingMapperDTO = new ReadingMapperDTO();
+        SensorID sensorID = new SensorID("Sensor1");
+        Value later = new ImpFactoryInstantTimeValue().createValue(sensorID, new Reading("21.5", "C"), new Timestamp(2000));
+        Value earlier = new ImpFactoryInstantTimeValue().createValue(sensorID, new Reading("20", "C"), new Timestamp(1000));
+
+        ColumnarSeriesDTO result = readingMapperDTO.valuesToColumnarSeriesDTO(new SensorFunctionalityID("TemperatureCelsius"), List.of(later, earlier));
+
+        assertEquals(new ColumnarSeriesDTO("TemperatureCelsius", "C", new long[]{1000, 2000}, null,
+                new double[]{20, 21.5}, null), result);
+    }
+
+    /**
+     * Validate that period readings carry the ends of their periods alongside their start times.
+     */
+    @Test
+    void valuesToColumnarSeriesDTOWithPeriodValues() {
+        ReadingMapperDTO readingMapperDTO = new ReadingMapperDTO();
+        Value value = new ImpFactoryPeriodTimeValue().createValue(new SensorID("Sensor1"), new Reading("10", "W"),
+                new Timestamp(1000), new Timestamp(5000));
+
+        ColumnarSeriesDTO result = readingMapperDTO.valuesToColumnarSeriesDTO(new SensorFunctionalityID("PowerConsumption"), List.of(value));
+
+        assertArrayEquals(new long[]{1000}, result.timestamps);
+        assertArrayEquals(new long[]{5000}, result.endTimestamps);
+        assertArrayEquals(new double[]{10}, result.values);
+    }
+
+    /**
+     * Validate that readings that are not all numeric, or that do not share a unit, are carried as measurements,
+     * along with their units when they do not share one.
+     */
+    @Test
+    void valuesToColumnarSeriesDTOWithNonNumericOrMixedUnitValues() {
+        ReadingMapperDTO readingMapperDTO = new ReadingMapperDTO();
+        SensorID sensorID = new SensorID("Sensor1");
+        SensorFunctionalityID functionality = new SensorFunctionalityID("Switch");
+        Value on = new ImpFactoryInstantTimeValue().createValue(sensorID, new Reading("ON", "State"), new Timestamp(1000));
+        Value off = new ImpFactoryInstantTimeValue().createValue(sensorID, new Reading("OFF", "State"), new Timestamp(2000));
+        Value watts = new ImpFactoryInstantTimeValue().createValue(sensorID, new Reading("10", "W"), new Timestamp(3000));
+
+        ColumnarSeriesDTO sameUnit = readingMapperDTO.valuesToColumnarSeriesDTO(functionality, List.of(on, off));
+        ColumnarSeriesDTO mixedUnits = readingMapperDTO.valuesToColumnarSeriesDTO(functionality, List.of(on, watts));
+
+        assertEquals("State", sameUnit.unit);
+        assertNull(sameUnit.values);
+        assertArrayEquals(new String[]{"ON", "OFF"}, sameUnit.measurements);
+        assertNull(mixedUnits.unit);
+        assertNull(mixedUnits.values);
+        assertArrayEquals(new String[]{on.getReading().getAllValuesWithUnits(), watts.getReading().getAllValuesWithUnits()},
+                mixedUnits.measurements);
+    }
+
+    /**
+     * Validate that the values of each sensor functionality become one columnar series, in the order of the map.
+     */
+    @Test
+    void valuesToColumnarSeriesDTOList() {
+        ReadingMapperDTO readingMapperDTO = new ReadingMapperDTO();
+        Map<SensorFunctionalityID, List<Value>> values = new LinkedHashMap<>();
+        values.put(new SensorFunctionalityID("TemperatureCelsius"), List.of());
+        values.put(new SensorFunctionalityID("PowerConsumption"), List.of());
+
+        List<ColumnarSeriesDTO> result = readingMapperDTO.valuesToColumnarSeriesDTOList(values);
+
+        assertEquals(List.of(new ColumnarSeriesDTO("TemperatureCelsius", null, new long[0], null, new double[0], null),
+                new ColumnarSeriesDTO("PowerConsumption", null, new long[0], null, new double[0], null)), result);
+    }
+}
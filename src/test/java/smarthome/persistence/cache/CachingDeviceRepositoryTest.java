@@ -0,0 +1,131 @@
+package smarthome.persistence.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.device.Device;
+import smarthome.domain.repository.DeviceRepository;
+import smarthome.domain.valueobjects.DeviceID;
+import smarthome.domain.valueobjects.RoomID;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingDeviceRepositoryTest {
+
+    private DeviceRepository delegate;
+    private CachingDeviceRepository repository;
+    private Device device;
+    private DeviceID deviceID;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(DeviceRepository.class);
+        repository = new CachingDeviceRepository(delegate, new TopologyCache("device", new SimpleMeterRegistry(), 10),
+                UnaryOperator.identity());
+        deviceID = new DeviceID("Device1");
+        device = mock(Device.class);
+        when(device.identity()).thenReturn(deviceID);
+        when(delegate.findEntityByID(deviceID)).thenReturn(Optional.of(device));
+    }
+
+    /**
+     * Repeated reads of a device, of the devices of a room and of the existence of a device reach the underlying
+     * repository once each.
+     */
+    @Test
+    void repeatedReadsAreServedFromCache() {
+        RoomID roomID = new RoomID("Room1");
+        when(delegate.findByRoomID(roomID)).thenReturn(List.of(device));
+        when(delegate.containsEntityByID(deviceID)).thenReturn(true);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Optional.of(device), repository.findEntityByID(deviceID));
+            assertEquals(List.of(device), repository.findByRoomID(roomID));
+            assertTrue(repository.containsEntityByID(deviceID));
+        }
+
+        verify(delegate, times(1)).findEntityByID(deviceID);
+        verify(delegate, times(1)).findByRoomID(roomID);
+        verify(delegate, times(1)).containsEntityByID(deviceID);
+    }
+
+    /**
+     * Saving or updating a device makes the next read reach the underlying repository again.
+     */
+    @Test
+    void writesInvalidateCachedReads() {
+        repository.findEntityByID(deviceID);
+        repository.save(device);
+        repository.findEntityByID(deviceID);
+        repository.update(deviceID, UnaryOperator.identity());
+        repository.findEntityByID(deviceID);
+
+        verify(delegate, times(3)).findEntityByID(deviceID);
+        verify(delegate).save(device);
+        verify(delegate).update(eq(deviceID), any());
+    }
+
+    /**
+     * A failed write still invalidates the cached device, which may have been changed before the write.
+     */
+    @Test
+    void failedWriteInvalidatesCachedRead() {
+        when(delegate.update(eq(deviceID), any())).thenThrow(new IllegalStateException("Write failed"));
+        repository.findEntityByID(deviceID);
+
+        assertThrows(IllegalStateException.class, () -> repository.update(deviceID, UnaryOperator.identity()));
+        repository.findEntityByID(deviceID);
+
+        verify(delegate, times(2)).findEntityByID(deviceID);
+    }
+
+    /**
+     * Versioned updates always read the underlying repository, even when the device is cached.
+     */
+    @Test
+    void versionedUpdatesBypassCache() {
+        when(delegate.update(eq(deviceID), any())).thenReturn(Optional.of(device));
+        repository.findEntityByID(deviceID);
+
+        assertEquals(Optional.of(device), repository.update(deviceID, UnaryOperator.identity()));
+        assertEquals(Optional.of(device), repository.update(deviceID, UnaryOperator.identity()));
+
+        verify(delegate, times(2)).update(eq(deviceID), any());
+    }
+
+    /**
+     * Every read hands out a copy of the cached device, so changing it does not change what the cache serves.
+     */
+    @Test
+    void cachedDevicesAreHandedOutAsCopies() {
+        RoomID roomID = new RoomID("Room1");
+        when(delegate.findByRoomID(roomID)).thenReturn(List.of(device));
+        Device copyOfDevice = mock(Device.class);
+        repository = new CachingDeviceRepository(delegate, new TopologyCache("device", new SimpleMeterRegistry(), 10),
+                cached -> copyOfDevice);
+
+        assertSame(copyOfDevice, repository.findEntityByID(deviceID).orElseThrow());
+        assertSame(copyOfDevice, repository.findEntityByID(deviceID).orElseThrow());
+        assertEquals(List.of(copyOfDevice), repository.findByRoomID(roomID));
+
+        verify(delegate, times(1)).findEntityByID(deviceID);
+    }
+
+    /**
+     * A caching repository cannot be created without a repository, cache or copy.
+     */
+    @Test
+    void invalidArgumentsAreRejected() {
+        TopologyCache cache = new TopologyCache("device", new SimpleMeterRegistry(), 10);
+        UnaryOperator<Device> copy = UnaryOperator.identity();
+
+        assertThrows(IllegalArgumentException.class, () -> new CachingDeviceRepository(null, cache, copy));
+        assertThrows(IllegalArgumentException.class, () -> new CachingDeviceRepository(delegate, null, copy));
+        assertThrows(IllegalArgumentException.class, () -> new CachingDeviceRepository(delegate, cache, null));
+    }
+}
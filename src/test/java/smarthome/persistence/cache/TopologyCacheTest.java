@@ -0,0 +1,171 @@
+package smarthome.persistence.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TopologyCacheTest {
+
+    /**
+     * A query is run once and then answered from the cache, counting a miss and then a hit.
+     */
+    @Test
+    void repeatedQueryIsLoadedOnce() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TopologyCache cache = new TopologyCache("device", meterRegistry, 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("Device1", cache.getOrLoad(TopologyCache.FIND_BY_ID, "ID1", () -> "Device" + loads.incrementAndGet()));
+        assertEquals("Device1", cache.getOrLoad(TopologyCache.FIND_BY_ID, "ID1", () -> "Device" + loads.incrementAndGet()));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, meterRegistry.get("smarthome.topology.cache.requests").tag("repository", "device").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("smarthome.topology.cache.requests").tag("repository", "device").tag("result", "miss").counter().count());
+        assertEquals(0.5, cache.hitRatio());
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * The aggregates found by a query are cached as a list that can be iterated again but not modified.
+     */
+    @Test
+    void queryResultsAreCachedAsUnmodifiableList() {
+        TopologyCache cache = new TopologyCache("device", new SimpleMeterRegistry(), 10);
+
+        Iterable<String> devices = cache.getOrLoadAll("findByRoomID", "Room1", () -> List.of("Device1", "Device2")::iterator);
+
+        assertEquals(List.of("Device1", "Device2"), devices);
+        assertSame(devices, cache.getOrLoadAll("findByRoomID", "Room1", List::of));
+        assertThrows(UnsupportedOperationException.class, () -> ((List<String>) devices).add("Device3"));
+    }
+
+    /**
+     * A write invalidates the written aggregate and the results of other queries, but not other aggregates.
+     */
+    @Test
+    void invalidateRemovesWrittenAggregateAndQueryResults() {
+        TopologyCache cache = new TopologyCache("device", new SimpleMeterRegistry(), 10);
+        cache.getOrLoad(TopologyCache.FIND_BY_ID, "ID1", () -> "Device1");
+        cache.getOrLoad(TopologyCache.FIND_BY_ID, "ID2", () -> "Device2");
+        cache.getOrLoad("containsEntityByID", "ID3", () -> false);
+        cache.getOrLoadAll("findAllEntities", null, () -> List.of("Device1", "Device2"));
+
+        cache.invalidate("ID1");
+
+        assertEquals(1, cache.size());
+        assertEquals("Device2", cache.getOrLoad(TopologyCache.FIND_BY_ID, "ID2", () -> "Reloaded"));
+        assertEquals("Reloaded", cache.getOrLoad(TopologyCache.FIND_BY_ID, "ID1", () -> "Reloaded"));
+        assertTrue(cache.getOrLoad("containsEntityByID", "ID3", () -> true));
+    }
+
+    /**
+     * Invalidating a cache also clears the caches that depend on it, but not the other way round.
+     */
+    @Test
+    void invalidateClearsDependentCaches() {
+        TopologyCache deviceCache = new TopologyCache("device", new SimpleMeterRegistry(), 10);
+        TopologyCache topologyCache = new TopologyCache("topology", new SimpleMeterRegistry(), 10);
+        deviceCache.addDependent(topologyCache);
+        deviceCache.getOrLoad(TopologyCache.FIND_BY_ID, "ID1", () -> "Device1");
+        topologyCache.getOrLoadAll("findFunctionalityLocations", null, () -> List.of("Location1"));
+
+        topologyCache.invalidateAll();
+        assertEquals(1, deviceCache.size());
+
+        topologyCache.getOrLoadAll("findFunctionalityLocations", null, () -> List.of("Location1"));
+        deviceCache.invalidate("ID2");
+        assertEquals(0, topologyCache.size());
+        assertEquals(1, deviceCache.size());
+        assertThrows(IllegalArgumentException.class, () -> deviceCache.addDependent(null));
+    }
+
+    /**
+     * The result of a query that was running while a write happened is returned but not cached, so it cannot hide
+     * the write.
+     */
+    @Test
+    void resultLoadedDuringInvalidationIsNotCached() {
+        TopologyCache cache = new TopologyCache("device", new SimpleMeterRegistry(), 10);
+
+        String stale = cache.getOrLoad(TopologyCache.FIND_BY_ID, "ID1", () -> {
+            cache.invalidate("ID1");
+            return "Stale";
+        });
+
+        assertEquals("Stale", stale);
+        assertEquals(0, cache.size());
+        assertEquals("Fresh", cache.getOrLoad(TopologyCache.FIND_BY_ID, "ID1", () -> "Fresh"));
+    }
+
+    /**
+     * The least recently used result is evicted once the cache is full.
+     */
+    @Test
+    void leastRecentlyUsedResultIsEvictedWhenFull() {
+        TopologyCache cache = new TopologyCache("device", new SimpleMeterRegistry(), 2);
+        cache.getOrLoad(TopologyCache.FIND_BY_ID, "ID1", () -> "Device1");
+        cache.getOrLoad(TopologyCache.FIND_BY_ID, "ID2", () -> "Device2");
+        cache.getOrLoad(TopologyCache.FIND_BY_ID, "ID1", () -> "Reloaded");
+
+        cache.getOrLoad(TopologyCache.FIND_BY_ID, "ID3", () -> "Device3");
+
+        assertEquals(2, cache.size());
+        assertEquals("Device1", cache.getOrLoad(TopologyCache.FIND_BY_ID, "ID1", () -> "Reloaded"));
+        assertEquals("Reloaded", cache.getOrLoad(TopologyCache.FIND_BY_ID, "ID2", () -> "Reloaded"));
+    }
+
+    /**
+     * A result older than the time to live is loaded again, so writes made through other instances are picked up.
+     */
+    @Test
+    void expiredResultIsLoadedAgain() {
+        AtomicLong now = new AtomicLong(1_000);
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenAnswer(invocation -> now.get());
+        TopologyCache cache = new TopologyCache("device", new SimpleMeterRegistry(), 10, Duration.ofSeconds(30), clock);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad(TopologyCache.FIND_BY_ID, "ID1", () -> "Device" + loads.incrementAndGet());
+        now.addAndGet(29_999);
+        assertEquals("Device1", cache.getOrLoad(TopologyCache.FIND_BY_ID, "ID1", () -> "Device" + loads.incrementAndGet()));
+        now.addAndGet(1);
+        assertEquals("Device2", cache.getOrLoad(TopologyCache.FIND_BY_ID, "ID1", () -> "Device" + loads.incrementAndGet()));
+
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Copying the aggregates of a result gives an unmodifiable list of the copies, in the same order.
+     */
+    @Test
+    void copyAllCopiesEveryAggregate() {
+        List<String> copies = TopologyCache.copyAll(List.of("Device1", "Device2"), device -> device + "Copy");
+
+        assertEquals(List.of("Device1Copy", "Device2Copy"), copies);
+        assertThrows(UnsupportedOperationException.class, () -> copies.add("Device3"));
+    }
+
+    /**
+     * A cache cannot be created without a name, registry or time to live, or with a size or time to live that is not
+     * positive.
+     */
+    @Test
+    void invalidArgumentsAreRejected() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        assertThrows(IllegalArgumentException.class, () -> new TopologyCache(null, meterRegistry, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TopologyCache("device", null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TopologyCache("device", meterRegistry, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TopologyCache("device", meterRegistry, 10, null));
+        assertThrows(IllegalArgumentException.class, () -> new TopologyCache("device", meterRegistry, 10, Duration.ZERO));
+    }
+}
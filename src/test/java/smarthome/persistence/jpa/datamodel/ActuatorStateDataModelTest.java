@@ -0,0 +1,46 @@
+package smarthome.persistence.jpa.datamodel;
+
+import org.junit.jupiter.api.Test;
+import smarthome.domain.valueobjects.ActuatorCommandID;
+import smarthome.domain.valueobjects.ActuatorID;
+import smarthome.domain.valueobjects.ActuatorState;
+
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActuatorStateDataModelTest {
+
+    /**
+     * A data model created from a state holds its actuator, value, command and time.
+     */
+    @Test
+    void successfullyCreateDataModelFromState() {
+        ActuatorState state = new ActuatorState(new ActuatorID("Actuator1"), 42.5, new ActuatorCommandID("Command1"),
+                Timestamp.valueOf("2024-04-01 12:00:00"));
+
+        ActuatorStateDataModel dataModel = new ActuatorStateDataModel(state);
+
+        assertEquals("Actuator1", dataModel.getId());
+        assertEquals(42.5, dataModel.getTargetValue());
+        assertEquals("Command1", dataModel.getCommandID());
+        assertEquals(state.getAppliedAt(), dataModel.getAppliedAt());
+        assertTrue(dataModel.isNew());
+    }
+
+    /**
+     * A data model is only updated from a state of the same actuator.
+     */
+    @Test
+    void updateFromDomainOnlyAcceptsSameActuator() {
+        Timestamp time = Timestamp.valueOf("2024-04-01 12:00:00");
+        ActuatorStateDataModel dataModel = new ActuatorStateDataModel(
+                new ActuatorState(new ActuatorID("Actuator1"), 10, new ActuatorCommandID("Command1"), time));
+
+        assertTrue(dataModel.updateFromDomain(new ActuatorState(new ActuatorID("Actuator1"), 20, new ActuatorCommandID("Command2"), time)));
+        assertFalse(dataModel.updateFromDomain(new ActuatorState(new ActuatorID("Actuator2"), 30, new ActuatorCommandID("Command3"), time)));
+        assertFalse(dataModel.updateFromDomain(null));
+        assertEquals(20, dataModel.getTargetValue());
+        assertEquals("Command2", dataModel.getCommandID());
+    }
+}
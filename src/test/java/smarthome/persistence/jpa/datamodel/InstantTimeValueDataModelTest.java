@@ -89,6 +89,28 @@ class InstantTimeValueDataModelTest {
 		assertEquals(value.getReading().getMeasurement(), instantTimeValueDataModel.getMeasurement());
 	}
 
+	/**
+	 * Test to verify that the numeric measurement is null when the reading is not numeric.
+	 */
+	@Test
+	void testNumericMeasurementNullWhenReadingNotNumeric() {
+		instantTimeValueDataModel = new InstantTimeValueDataModel(value);
+		assertNull(instantTimeValueDataModel.getNumericMeasurement());
+	}
+
+	/**
+	 * Test to verify the successful retrieving of the numeric measurement of a numeric reading.
+	 */
+	@Test
+	void testSuccessToGetNumericMeasurement() {
+		InstantTimeValue numericValue = (InstantTimeValue) factory.createValue(new ValueID("numericValueID"),
+				new SensorID("sensorID"), new Reading("21.5", "C"), value.getInstantTimeReading());
+
+		instantTimeValueDataModel = new InstantTimeValueDataModel(numericValue);
+
+		assertEquals(21.5, instantTimeValueDataModel.getNumericMeasurement());
+	}
+
 	/**
 	 * Test to verify the successful retrieving of the Unit of the reading from the InstantTimeValueDataModel class.
 	 */
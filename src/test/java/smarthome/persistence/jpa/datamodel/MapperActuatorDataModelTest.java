@@ -7,10 +7,18 @@ import smarthome.domain.valueobjects.ActuatorFunctionalityID;
 import smarthome.domain.valueobjects.ActuatorID;
 import smarthome.domain.valueobjects.ActuatorProperties;
 import smarthome.domain.valueobjects.DeviceID;
+import smarthome.util.ConfigScraper;
+import smarthome.util.FunctionalityRegistry;
+import smarthome.util.PropertyLoader;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedConstruction;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -378,4 +386,43 @@ class MapperActuatorDataModelTest {
         Iterable<Actuator> actuators = mapperActuatorDataModel.toDomainList(factoryActuator, null);
         assertNull(actuators);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that converting a list of ActuatorDataModel resolves the Actuator classes without reading the configuration
+     * file again
+     */
+    @Test
+    void conversionListToDomainDoesNotReadConfigPerRow() {
+        // Set up a registry that counts the reads of the configuration file
+        AtomicInteger configReads = new AtomicInteger();
+        PropertyLoader countingPropertyLoader = new PropertyLoader() {
+            @Override
+            public BufferedReader getBufferedReader(String filePath) throws IOException {
+                configReads.incrementAndGet();
+                return super.getBufferedReader(filePath);
+            }
+        };
+        FunctionalityRegistry registry =
+                FunctionalityRegistry.from(new ConfigScraper("config/config.properties", countingPropertyLoader));
+        MapperActuatorDataModel mapper = new MapperActuatorDataModel(registry);
+
+        // Set up needed objects for mock
+        FactoryActuator factoryActuator = mock(FactoryActuator.class);
+        ActuatorDataModel actuatorDataModel = mock(ActuatorDataModel.class);
+        Actuator actuatorDouble = mock(Actuator.class);
+        when(actuatorDataModel.getActuatorID()).thenReturn("actuatorID");
+        when(actuatorDataModel.getActuatorFunctionalityID()).thenReturn("Switch");
+        when(actuatorDataModel.getDeviceID()).thenReturn("deviceID");
+        when(factoryActuator.createActuator(any(), any(), any(), any(), any())).thenReturn(actuatorDouble);
+        List<ActuatorDataModel> actuatorDataModels = Collections.nCopies(500, actuatorDataModel);
+        int readsBeforeQuery = configReads.get();
+
+        //Call the method to test
+        Iterable<Actuator> actuators = mapper.toDomainList(factoryActuator, actuatorDataModels);
+
+        assertEquals(500, ((ArrayList<Actuator>) actuators).size());
+        assertEquals(readsBeforeQuery, configReads.get());
+        verify(factoryActuator, times(500)).createActuator(any(), any(), any(), any(),
+                eq("smarthome.domain.actuators.SwitchActuator"));
+    }
+}
@@ -3,12 +3,19 @@ package smarthome.persistence.jpa.datamodel;
 import smarthome.domain.sensor.FactorySensor;
 import smarthome.domain.sensor.Sensor;
 import smarthome.domain.valueobjects.DeviceID;
+import smarthome.util.ConfigScraper;
+import smarthome.util.FunctionalityRegistry;
+import smarthome.util.PropertyLoader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedConstruction;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -132,4 +139,32 @@ class MapperSensorDataModelTest {
             assertNull(result);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void conversionToDomainListDoesNotReadConfigPerRow() {
+        // Arrange
+        AtomicInteger configReads = new AtomicInteger();
+        PropertyLoader countingPropertyLoader = new PropertyLoader() {
+            @Override
+            public BufferedReader getBufferedReader(String filePath) throws IOException {
+                configReads.incrementAndGet();
+                return super.getBufferedReader(filePath);
+            }
+        };
+        FunctionalityRegistry registry =
+                FunctionalityRegistry.from(new ConfigScraper("config/config.properties", countingPropertyLoader));
+        MapperSensorDataModel mapper = new MapperSensorDataModel(registry);
+        List<SensorDataModel> sensorDataModels = Collections.nCopies(500, sensorDataModelDouble);
+        when(factorySensorDouble.createSensor(any(), any(), any(), any())).thenReturn(sensorDouble);
+        int readsBeforeQuery = configReads.get();
+
+        // Act
+        Iterable<Sensor> result = mapper.toDomainList(factorySensorDouble, sensorDataModels);
+
+        // Assert
+        assertEquals(500, ((List<Sensor>) result).size());
+        assertEquals(readsBeforeQuery, configReads.get());
+        verify(factorySensorDouble, times(500)).createSensor(any(), any(), any(),
+                eq("smarthome.domain.sensor.TemperatureCelsiusSensor"));
+    }
+}
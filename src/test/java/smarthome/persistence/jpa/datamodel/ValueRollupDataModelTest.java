@@ -0,0 +1,51 @@
+package smarthome.persistence.jpa.datamodel;
+
+import org.junit.jupiter.api.Test;
+import smarthome.domain.valueobjects.RollupResolution;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueRollup;
+
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueRollupDataModelTest {
+
+    /**
+     * A data model created from a rollup holds its bucket and aggregates, and maps back to an equal rollup.
+     */
+    @Test
+    void successfullyCreateDataModelFromRollup() {
+        ValueRollup rollup = ValueRollup.of(new SensorID("Sensor1"), RollupResolution.FIFTEEN_MINUTES,
+                Timestamp.valueOf("2024-04-01 12:05:00"), 21.5, "C");
+
+        ValueRollupDataModel dataModel = new ValueRollupDataModel(rollup);
+
+        assertEquals(rollup.getRollupID(), dataModel.getId());
+        assertEquals("Sensor1", dataModel.getSensorID());
+        assertEquals("15m", dataModel.getResolution());
+        assertEquals(rollup.getBucketStart(), dataModel.getBucketStart());
+        assertEquals(1, dataModel.getReadingCount());
+        assertTrue(dataModel.isNew());
+        assertEquals(rollup, new MapperValueRollupDataModel().toDomain(dataModel));
+    }
+
+    /**
+     * A data model is only updated from a rollup of the same bucket.
+     */
+    @Test
+    void updateFromDomainOnlyAcceptsSameBucket() {
+        SensorID sensorID = new SensorID("Sensor1");
+        ValueRollup rollup = ValueRollup.of(sensorID, RollupResolution.ONE_HOUR, Timestamp.valueOf("2024-04-01 12:05:00"), 10, "W");
+        ValueRollupDataModel dataModel = new ValueRollupDataModel(rollup);
+
+        ValueRollup merged = rollup.merge(ValueRollup.of(sensorID, RollupResolution.ONE_HOUR, Timestamp.valueOf("2024-04-01 12:55:00"), 30, "W"));
+        ValueRollup otherBucket = ValueRollup.of(sensorID, RollupResolution.ONE_HOUR, Timestamp.valueOf("2024-04-01 13:05:00"), 30, "W");
+
+        assertTrue(dataModel.updateFromDomain(merged));
+        assertFalse(dataModel.updateFromDomain(otherBucket));
+        assertEquals(40, dataModel.getTotal());
+        assertEquals(30, dataModel.getMaximum());
+        assertEquals(2, dataModel.getReadingCount());
+    }
+}
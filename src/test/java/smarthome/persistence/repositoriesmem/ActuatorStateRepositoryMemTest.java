@@ -0,0 +1,38 @@
+package smarthome.persistence.repositoriesmem;
+
+import org.junit.jupiter.api.Test;
+import smarthome.domain.valueobjects.ActuatorCommandID;
+import smarthome.domain.valueobjects.ActuatorID;
+import smarthome.domain.valueobjects.ActuatorState;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActuatorStateRepositoryMemTest {
+
+    /**
+     * A stored state is replaced by a newer state of the same actuator, and other actuators are left untouched.
+     */
+    @Test
+    void savedStatesReplaceStoredStateOfSameActuator() {
+        Map<ActuatorID, ActuatorState> stateData = new HashMap<>();
+        ActuatorStateRepositoryMem repository = new ActuatorStateRepositoryMem(stateData);
+        ActuatorID actuator1 = new ActuatorID("Actuator1");
+        ActuatorID actuator2 = new ActuatorID("Actuator2");
+        Timestamp time = Timestamp.valueOf("2024-04-01 12:00:00");
+        ActuatorState newerState = new ActuatorState(actuator1, 80, new ActuatorCommandID("Command3"), time);
+
+        repository.saveAll(List.of(
+                new ActuatorState(actuator1, 20, new ActuatorCommandID("Command1"), time),
+                new ActuatorState(actuator2, 1, new ActuatorCommandID("Command2"), time)));
+        repository.saveAll(List.of(newerState));
+
+        assertEquals(2, stateData.size());
+        assertEquals(newerState, stateData.get(actuator1));
+        assertEquals(1, stateData.get(actuator2).getValue());
+    }
+}
@@ -1,9 +1,15 @@
 package smarthome.persistence.repositoriesmem;
 
 import smarthome.domain.device.Device;
+import smarthome.domain.repository.DeviceRepository.DeviceSummary;
+import smarthome.domain.repository.RoomRepository;
+import smarthome.domain.room.Room;
 import smarthome.domain.valueobjects.DeviceID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import smarthome.domain.valueobjects.DeviceModel;
+import smarthome.domain.valueobjects.DeviceStatus;
+import smarthome.domain.valueobjects.HouseID;
 import smarthome.domain.valueobjects.RoomID;
 
 import java.util.*;
@@ -23,6 +29,7 @@ class DeviceRepositoryMemTest {
     private Device deviceEnt2 = mock(Device.class);
     private Device deviceEnt3 = mock(Device.class);
     private Map<DeviceID, Device> map = new HashMap<>();
+    private RoomRepository roomRepository = mock(RoomRepository.class);
 
     /**
      * Fill up the map to be used as double of data loaded into repository before each test
@@ -39,7 +46,7 @@ class DeviceRepositoryMemTest {
     @Test
     void successAddEntityToMap() {
         when(deviceEnt3.identity()).thenReturn(deviceId3);
-        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map);
+        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map, roomRepository);
         deviceRepositoryMem.save(deviceEnt3);
 
         assertTrue(deviceRepositoryMem.containsEntityByID(deviceId3));
@@ -50,7 +57,7 @@ class DeviceRepositoryMemTest {
      */
     @Test
     void successRetrieveAllEntitiesInData() {
-        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map);
+        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map, roomRepository);
 
         assertEquals(deviceRepositoryMem.findAllEntities(), map.values());
     }
@@ -60,7 +67,7 @@ class DeviceRepositoryMemTest {
      */
     @Test
     void successFindDeviceWithSpecificId() {
-        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map);
+        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map, roomRepository);
 
         when(deviceEnt1.identity()).thenReturn(deviceId1);
         Optional<Device> retrievedSensor = deviceRepositoryMem.findEntityByID(deviceId1);
@@ -74,7 +81,7 @@ class DeviceRepositoryMemTest {
      */
     @Test
     void failFindDeviceWithSpecificId() {
-        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map);
+        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map, roomRepository);
         DeviceID nonExistentID = mock(DeviceID.class);
 
         when(nonExistentID.toString()).thenReturn("nonExistentID");
@@ -88,7 +95,7 @@ class DeviceRepositoryMemTest {
      */
     @Test
     void successContainsEntity() {
-        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map);
+        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map, roomRepository);
 
         when(deviceEnt1.identity()).thenReturn(deviceId1);
 
@@ -100,7 +107,7 @@ class DeviceRepositoryMemTest {
      */
     @Test
     void failContainsEntity() {
-        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map);
+        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map, roomRepository);
         DeviceID nonExistentID = mock(DeviceID.class);
 
         when(nonExistentID.toString()).thenReturn("nonExistentID");
@@ -109,97 +116,44 @@ class DeviceRepositoryMemTest {
     }
 
     /**
-     * Tests the successful update of a Device entity in the repository.
-     * Returns the updated Device entity if successful.
+     * Tests the successful update of a device entity through a change applied to the stored device entity.
+     * Returns the changed device entity, which replaces the stored one.
      */
     @Test
-    void successfullyUpdateDevice() {
-        when(deviceEnt1.identity()).thenReturn(deviceId1);
-
-        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map);
-        assertEquals(deviceEnt1, deviceRepositoryMem.update(deviceEnt1));
-    }
-
-    /**
-     * Tests the failure to update a Device entity not present in the repository.
-     * Returns null since the Device entity is not present in the repository.
-     */
-    @Test
-    void failUpdateDeviceNotInRepository() {
-        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map);
-        DeviceID notPresentID = mock(DeviceID.class);
-        when(deviceEnt1.identity()).thenReturn(notPresentID);
-
-        assertNull(deviceRepositoryMem.update(deviceEnt1));
-    }
-
-    /**
-     * Tests the successful update of a reserved Device entity in the repository.
-     * Returns the updated Device entity if successful.
-     */
-    @Test
-    void successfullyUpdateReservedDevice() {
-        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map);
-        when(deviceEnt1.identity()).thenReturn(deviceId1);
-        Optional<Device> foundEntity = deviceRepositoryMem.findEntityByIDAndReserve(deviceId1);
-        Device device = foundEntity.get();
-
-        assertEquals(device, deviceRepositoryMem.updateReserved(device));
-    }
-
-    /**
-     * Tests the failure scenario when attempting to update a Device entity that is not reserved.
-     * Return null if the Device entity is not reserved and therefore cannot be updated.
-     */
-    @Test
-    void failUpdateReservedDeviceNotReserved() {
-        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map);
+    void successfullyUpdateDeviceWithChange() {
+        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map, roomRepository);
+        Device changedDevice = mock(Device.class);
 
-        assertNull(deviceRepositoryMem.updateReserved(deviceEnt3));
-    }
-
-    /**
-     * Tests the failure scenario when attempting to update a Device entity with a different ID from the reserved one.
-     * Returns null if the Device entity ID does not match the reserved ID and therefore cannot be updated.
-     */
-    @Test
-    void failUpdateReservedDeviceNotSameID() {
-        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map);
-        when(deviceEnt1.identity()).thenReturn(deviceId1);
-        deviceRepositoryMem.findEntityByIDAndReserve(deviceId1);
-        Device deviceDouble = mock(Device.class);
-        DeviceID notPresentID = mock(DeviceID.class);
-        when(deviceDouble.identity()).thenReturn(notPresentID);
+        Optional<Device> updated = deviceRepositoryMem.update(deviceId1, device -> device == deviceEnt1 ? changedDevice : null);
 
-        assertNull(deviceRepositoryMem.updateReserved(deviceDouble));
+        assertEquals(Optional.of(changedDevice), updated);
+        assertEquals(Optional.of(changedDevice), deviceRepositoryMem.findEntityByID(deviceId1));
     }
 
     /**
-     * Tests the successful retrieval and reservation of a Device entity by ID.
-     * Returns the reserved Device entity if found and reserved successfully.
+     * Tests that a change returning null leaves the stored device entity as is.
+     * Returns an empty optional since nothing was updated.
      */
     @Test
-    void successfullyFindDeviceByIDAndReserve() {
-        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map);
-
-        Optional<Device> foundEntity = deviceRepositoryMem.findEntityByIDAndReserve(deviceId1);
-        Device device = foundEntity.get();
+    void updateDeviceWithChangeLeftAsIs() {
+        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map, roomRepository);
 
-        assertEquals(device, deviceEnt1);
+        assertTrue(deviceRepositoryMem.update(deviceId1, device -> null).isEmpty());
+        assertEquals(Optional.of(deviceEnt1), deviceRepositoryMem.findEntityByID(deviceId1));
     }
 
     /**
-     * Tests the failure to find and reserve a Device entity when the ID is not present in the repository.
-     * Returns an empty optional since the entity is not present in the repository.
+     * Tests the failure to update a device entity through a change when the ID is not present in the repository.
+     * Returns an empty optional without applying the change.
      */
     @Test
-    void failFindDeviceByIDAndReserveNotPresent() {
-        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map);
+    void failUpdateDeviceWithChangeNotPresent() {
+        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map, roomRepository);
         DeviceID notPresentID = mock(DeviceID.class);
 
-        Optional<Device> foundEntity = deviceRepositoryMem.findEntityByIDAndReserve(notPresentID);
-
-        assertThrows(NoSuchElementException.class, foundEntity::get);
+        assertTrue(deviceRepositoryMem.update(notPresentID, device -> {
+            throw new AssertionError("Change applied to a missing device");
+        }).isEmpty());
     }
 
     /**
@@ -217,7 +171,7 @@ class DeviceRepositoryMemTest {
         when(deviceEnt2.getRoomID()).thenReturn(roomID);
 
         //Repository instantiation and expected devices
-        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map);
+        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map, roomRepository);
         Iterable<Device> expectedDeviceList = new ArrayList<>(map.values());
 
         Iterable<Device> actualDeviceList = deviceRepositoryMem.findByRoomID(roomID);
@@ -225,4 +179,38 @@ class DeviceRepositoryMemTest {
         assertEquals(expectedDeviceList, actualDeviceList);
 
     }
+
+    /**
+     * Successfully retrieves the summaries of the devices in the rooms of a house, leaving out devices of other rooms.
+     */
+    @Test
+    void successfullyRetrievesDeviceSummariesByHouseID() {
+        HouseID houseID = mock(HouseID.class);
+        RoomID roomID = mock(RoomID.class);
+        RoomID otherRoomID = mock(RoomID.class);
+        Room room = mock(Room.class);
+        when(room.identity()).thenReturn(roomID);
+        when(roomRepository.findByHouseID(houseID)).thenReturn(List.of(room));
+
+        DeviceModel deviceModel = mock(DeviceModel.class);
+        when(deviceEnt1.identity()).thenReturn(deviceId1);
+        when(deviceEnt1.getDeviceModel()).thenReturn(deviceModel);
+        when(deviceEnt1.getDeviceStatus()).thenReturn(DeviceStatus.ACTIVE);
+        when(deviceEnt1.getRoomID()).thenReturn(roomID);
+        when(deviceEnt2.getRoomID()).thenReturn(otherRoomID);
+
+        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem(map, roomRepository);
+
+        Iterable<DeviceSummary> summaries = deviceRepositoryMem.findDeviceSummariesByHouseID(houseID);
+
+        assertEquals(List.of(new DeviceSummary(deviceId1, deviceModel, DeviceStatus.ACTIVE, roomID)), summaries);
+    }
+
+    /**
+     * Fails to create the repository without a room repository to find the rooms of a house.
+     */
+    @Test
+    void failCreateRepositoryWithoutRoomRepository() {
+        assertThrows(IllegalArgumentException.class, () -> new DeviceRepositoryMem(map, null));
+    }
 }
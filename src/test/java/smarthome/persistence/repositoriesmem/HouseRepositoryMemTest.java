@@ -141,93 +141,43 @@ class HouseRepositoryMemTest {
     }
 
     /**
-     * Tests the successful update of a house entity in the repository.
-     * Returns the updated house entity if successful.
+     * Tests the successful update of a house entity through a change applied to the stored house entity.
+     * Returns the changed house entity, which replaces the stored one.
      */
     @Test
-    void successfullyUpdateHouse() {
+    void successfullyUpdateHouseWithChange() {
         HouseRepositoryMem repositoryHouse = new HouseRepositoryMem(map);
-        when(houseEntity.identity()).thenReturn(houseId);
-        assertEquals(houseEntity, repositoryHouse.update(houseEntity));
-    }
+        House changedHouse = mock(House.class);
 
-    /**
-     * Tests the failure to update a house entity not present in the repository.
-     * Returns null since the house entity is not present in the repository.
-     */
-    @Test
-    void failUpdateHouseNotInRepository() {
-        HouseRepositoryMem repositoryHouse = new HouseRepositoryMem(map);
-        when(houseEntity.identity()).thenReturn(houseId);
+        Optional<House> updated = repositoryHouse.update(houseId, house -> house == houseEntity ? changedHouse : null);
 
-        assertNull(repositoryHouse.update(houseEntity1));
+        assertEquals(Optional.of(changedHouse), updated);
+        assertEquals(Optional.of(changedHouse), repositoryHouse.findEntityByID(houseId));
     }
 
     /**
-     * Tests the successful update of a reserved house entity in the repository.
-     * Returns the updated house entity if successful.
+     * Tests that a change returning null leaves the stored house entity as is.
+     * Returns an empty optional since nothing was updated.
      */
     @Test
-    void successfullyUpdateReservedHouse() {
+    void updateHouseWithChangeLeftAsIs() {
         HouseRepositoryMem repositoryHouse = new HouseRepositoryMem(map);
-        when(houseEntity.identity()).thenReturn(houseId);
-        Optional<House> foundEntity = repositoryHouse.findEntityByIDAndReserve(houseId);
-        House house = foundEntity.get();
 
-        assertEquals(house, repositoryHouse.updateReserved(house));
+        assertTrue(repositoryHouse.update(houseId, house -> null).isEmpty());
+        assertEquals(Optional.of(houseEntity), repositoryHouse.findEntityByID(houseId));
     }
 
     /**
-     * Tests the failure scenario when attempting to update a house entity that is not reserved.
-     * Return null if the house entity is not reserved and therefore cannot be updated.
+     * Tests the failure to update a house entity through a change when the ID is not present in the repository.
+     * Returns an empty optional without applying the change.
      */
     @Test
-    void failUpdateReservedHouseNotReserved() {
+    void failUpdateHouseWithChangeNotPresent() {
         HouseRepositoryMem repositoryHouse = new HouseRepositoryMem(map);
-        when(houseEntity.identity()).thenReturn(houseId);
-        assertNull(repositoryHouse.updateReserved(houseEntity));
-    }
-
-    /**
-     * Tests the failure scenario when attempting to update a house entity with a different ID from the reserved one.
-     * Returns null if the house entity ID does not match the reserved ID and therefore cannot be updated.
-     */
-    @Test
-    void failUpdateReservedHouseNotSameID() {
-        HouseRepositoryMem repositoryHouse = new HouseRepositoryMem(map);
-        when(houseEntity.identity()).thenReturn(houseId);
-        repositoryHouse.findEntityByIDAndReserve(houseId);
-        House houseDouble = mock(House.class);
         HouseID notPresentID = mock(HouseID.class);
-        when(houseDouble.identity()).thenReturn(notPresentID);
-
-        assertNull(repositoryHouse.updateReserved(houseDouble));
-    }
-
-    /**
-     * Tests the successful retrieval and reservation of a house entity by ID.
-     * Returns the reserved house entity if found and reserved successfully.
-     */
-    @Test
-    void successfullyFindEntityByIDAndReserve() {
-        HouseRepositoryMem repositoryHouse = new HouseRepositoryMem(map);
-        Optional<House> foundEntity = repositoryHouse.findEntityByIDAndReserve(houseId);
-        House house = foundEntity.get();
-
-        assertEquals(house, houseEntity);
-    }
-
-    /**
-     * Tests the failure to find and reserve a house entity when the ID is not present in the repository.
-     * Returns an empty optional since the entity is not present in the repository.
-     */
-    @Test
-    void failFindEntityByIDAndReserveNotPresent() {
-        HouseRepositoryMem repositoryHouse = new HouseRepositoryMem(map);
-        HouseID notPresentID = mock(HouseID.class);
-
-        Optional<House> foundEntity = repositoryHouse.findEntityByIDAndReserve(notPresentID);
 
-        assertThrows(NoSuchElementException.class, foundEntity::get);
+        assertTrue(repositoryHouse.update(notPresentID, house -> {
+            throw new AssertionError("Change applied to a missing house");
+        }).isEmpty());
     }
 }
\ No newline at end of file
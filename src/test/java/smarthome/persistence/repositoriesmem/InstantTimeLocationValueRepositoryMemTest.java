@@ -72,7 +72,7 @@ class InstantTimeLocationValueRepositoryMemTest {
         valueMap = new HashMap<>();
 
         sensorID1 = mock(SensorID.class);
-        timestamp1 = mock(Timestamp.class);
+        timestamp1 = valueOf("2024-04-15 10:00:00.0");
         ValueID valueID1 = mock(ValueID.class);
         value1 = mock(Value.class);
         instantTimeLocationValue = mock(InstantTimeLocationValue.class);
@@ -80,6 +80,7 @@ class InstantTimeLocationValueRepositoryMemTest {
         when(value1.identity()).thenReturn(valueID1);
 
         when(instantTimeLocationValue.getSensorID()).thenReturn(sensorID1);
+        when(instantTimeLocationValue.getInstantTime()).thenReturn(timestamp1);
         valueMap.put(value1.identity(), instantTimeLocationValue);
 
         instantTimeLocationValueRepositoryMem = new InstantTimeLocationValueRepositoryMem(valueMap);
@@ -99,12 +100,8 @@ class InstantTimeLocationValueRepositoryMemTest {
      */
     @Test
     void successfullyRetrieveInstantValues() {
-        Timestamp start = mock(Timestamp.class);
-        Timestamp end = mock(Timestamp.class);
-
-        when(instantTimeLocationValue.getInstantTime()).thenReturn(timestamp1);
-        when(instantTimeLocationValue.getInstantTime().after(start)).thenReturn(true);
-        when(instantTimeLocationValue.getInstantTime().before(end)).thenReturn(true);
+        Timestamp start = valueOf("2024-04-15 09:00:00.0");
+        Timestamp end = valueOf("2024-04-15 11:00:00.0");
 
         List<Value> values = instantTimeLocationValueRepositoryMem.findBySensorIdBetweenPeriodOfTime(sensorID1, start, end);
         assertTrue(values.contains(instantTimeLocationValue));
@@ -119,6 +116,18 @@ class InstantTimeLocationValueRepositoryMemTest {
         assertTrue(values.isPresent());
     }
 
+    /**
+     * Validate that a value recorded outside the requested period is not retrieved.
+     */
+    @Test
+    void valueOutsidePeriodIsNotRetrieved() {
+        Timestamp start = valueOf("2024-04-15 10:00:00.0");
+        Timestamp end = valueOf("2024-04-15 11:00:00.0");
+
+        List<Value> values = instantTimeLocationValueRepositoryMem.findBySensorIdBetweenPeriodOfTime(sensorID1, start, end);
+        assertTrue(values.isEmpty());
+    }
+
     /**
      * Tests the failure scenario of retrieving a value by an invalid ID.
      */
@@ -139,7 +148,7 @@ class InstantTimeLocationValueRepositoryMemTest {
     @Test
     void successfullyFindAllEntities(){
         Iterable<Value> values = instantTimeLocationValueRepositoryMem.findAllEntities();
-        assertEquals(values, valueMap.values());
+        assertIterableEquals(valueMap.values(), values);
     }
 
     /**
@@ -197,9 +206,7 @@ class InstantTimeLocationValueRepositoryMemTest {
         Timestamp timestamp5 = valueOf("2024-04-25 13:00:00.0");
         when(value5.getInstantTime()).thenReturn(timestamp5);
 
-        valueMap.put(valueID3, value3);
-        valueMap.put(valueID4, value4);
-        valueMap.put(valueID5, value5);
+        instantTimeLocationValueRepositoryMem.saveAll(List.of(value3, value4, value5));
 
         Value resultValue = instantTimeLocationValueRepositoryMem.findLastValueRecorded(sensorID1);
         assertEquals(value5, resultValue);
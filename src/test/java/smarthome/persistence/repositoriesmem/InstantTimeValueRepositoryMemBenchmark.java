@@ -0,0 +1,102 @@
+package smarthome.persistence.repositoriesmem;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import smarthome.domain.value.ImpFactoryInstantTimeValue;
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.Reading;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueID;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the period query of InstantTimeValueRepositoryMem.
+ * The queried window always holds the same number of readings, so the latency should stay flat while the total number
+ * of readings in the repository grows.
+ * Run with: mvn test-compile exec:exec -Pbenchmark -Dbenchmark=InstantTimeValueRepositoryMemBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms8g", "-Xmx8g"})
+public class InstantTimeValueRepositoryMemBenchmark {
+
+    /**
+     * Number of sensors the readings are spread across.
+     */
+    private static final int SENSORS = 100;
+
+    /**
+     * Number of readings of the queried sensor inside the queried window.
+     */
+    private static final int READINGS_IN_WINDOW = 60;
+
+    /**
+     * Interval between two consecutive readings of the same sensor.
+     */
+    private static final long READING_INTERVAL_MILLIS = 60_000L;
+
+    /**
+     * Total number of readings stored in the repository.
+     */
+    @Param({"10000", "100000", "1000000", "10000000"})
+    private int totalReadings;
+
+    private InstantTimeValueRepositoryMem repository;
+    private SensorID queriedSensor;
+    private Timestamp start;
+    private Timestamp end;
+
+    /**
+     * Fills the repository with readings taken once a minute by each sensor, and chooses a window in the middle of the
+     * queried sensor's readings.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        ImpFactoryInstantTimeValue factory = new ImpFactoryInstantTimeValue();
+        Reading reading = new Reading("20", "C");
+        long firstReading = Timestamp.valueOf("2024-01-01 00:00:00.0").getTime();
+        int readingsPerSensor = totalReadings / SENSORS;
+
+        SensorID[] sensors = new SensorID[SENSORS];
+        for (int i = 0; i < SENSORS; i++) {
+            sensors[i] = new SensorID("Sensor" + i);
+        }
+
+        Map<ValueID, Value> valueMap = new HashMap<>(totalReadings * 2);
+        for (int i = 0; i < totalReadings; i++) {
+            long time = firstReading + (i / SENSORS) * READING_INTERVAL_MILLIS;
+            ValueID valueID = new ValueID("Value" + i);
+            valueMap.put(valueID, factory.createValue(valueID, sensors[i % SENSORS], reading, new Timestamp(time)));
+        }
+        repository = new InstantTimeValueRepositoryMem(valueMap);
+
+        queriedSensor = sensors[0];
+        long windowStart = firstReading + (readingsPerSensor / 2 - READINGS_IN_WINDOW / 2) * READING_INTERVAL_MILLIS;
+        start = new Timestamp(windowStart - 1);
+        end = new Timestamp(windowStart + READINGS_IN_WINDOW * READING_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Measures a range query over the queried sensor's window.
+     */
+    @Benchmark
+    public void findBySensorIdBetweenPeriodOfTime(Blackhole blackhole) {
+        blackhole.consume(repository.findBySensorIdBetweenPeriodOfTime(queriedSensor, start, end));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InstantTimeValueRepositoryMemBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -70,7 +70,7 @@ class InstantTimeValueRepositoryMemTest {
         valueMap = new HashMap<>();
 
         sensorID1 = mock(SensorID.class);
-        timestamp1 = mock(Timestamp.class);
+        timestamp1 = valueOf("2024-04-15 10:00:00.0");
         ValueID valueID1 = mock(ValueID.class);
         value1 = mock(Value.class);
         instantTimeValue = mock(InstantTimeValue.class);
@@ -78,6 +78,7 @@ class InstantTimeValueRepositoryMemTest {
         when(value1.identity()).thenReturn(valueID1);
 
         when(instantTimeValue.getSensorID()).thenReturn(sensorID1);
+        when(instantTimeValue.getInstantTimeReading()).thenReturn(timestamp1);
         valueMap.put(value1.identity(), instantTimeValue);
 
         instantTimeValueRepositoryMem = new InstantTimeValueRepositoryMem(valueMap);
@@ -98,13 +99,8 @@ class InstantTimeValueRepositoryMemTest {
      */
     @Test
     void successfullyRetrieveInstantValues() {
-        ;
-        Timestamp start = mock(Timestamp.class);
-        Timestamp end = mock(Timestamp.class);
-
-        when(instantTimeValue.getInstantTimeReading()).thenReturn(timestamp1);
-        when(instantTimeValue.getInstantTimeReading().after(start)).thenReturn(true);
-        when(instantTimeValue.getInstantTimeReading().before(end)).thenReturn(true);
+        Timestamp start = valueOf("2024-04-15 09:00:00.0");
+        Timestamp end = valueOf("2024-04-15 11:00:00.0");
 
         List<Value> values = instantTimeValueRepositoryMem.findBySensorIdBetweenPeriodOfTime(sensorID1, start, end);
         assertTrue(values.contains(instantTimeValue));
@@ -124,13 +120,25 @@ class InstantTimeValueRepositoryMemTest {
         assertFalse(instantTimeValueRepositoryMem.findEntityByID(value2.identity()).isPresent());
     }
 
+    /**
+     * Validate that a value recorded outside the requested period is not retrieved.
+     */
+    @Test
+    void valueOutsidePeriodIsNotRetrieved() {
+        Timestamp start = valueOf("2024-04-15 10:00:00.0");
+        Timestamp end = valueOf("2024-04-15 11:00:00.0");
+
+        List<Value> values = instantTimeValueRepositoryMem.findBySensorIdBetweenPeriodOfTime(sensorID1, start, end);
+        assertTrue(values.isEmpty());
+    }
+
     /**
      * Check if method returns all entities in repo
      */
     @Test
     void findAllEntities() {
         Iterable<Value> values = instantTimeValueRepositoryMem.findAllEntities();
-        assertEquals(values, valueMap.values());
+        assertIterableEquals(valueMap.values(), values);
     }
 
     /**
@@ -179,9 +187,7 @@ class InstantTimeValueRepositoryMemTest {
         Timestamp timestamp5 = valueOf("2024-04-25 13:00:00.0");
         when(value5.getInstantTimeReading()).thenReturn(timestamp5);
 
-        valueMap.put(valueID3, value3);
-        valueMap.put(valueID4, value4);
-        valueMap.put(valueID5, value5);
+        instantTimeValueRepositoryMem.saveAll(List.of(value3, value4, value5));
 
         Value resultValue = instantTimeValueRepositoryMem.findLastValueRecorded(sensorID1);
         assertEquals(value5, resultValue);
@@ -197,4 +203,60 @@ class InstantTimeValueRepositoryMemTest {
         Value resultValue = instantTimeValueRepositoryMem.findLastValueRecorded(sensorID2);
         assertNull(resultValue);
     }
-}
\ No newline at end of file
+
+    /**
+     * Validate that a batch of values is persisted and can be retrieved by its IDs.
+     */
+    @Test
+    void successfullySaveAllValues() {
+        InstantTimeValue value2 = mock(InstantTimeValue.class);
+        valueID2 = mock(ValueID.class);
+        when(value2.identity()).thenReturn(valueID2);
+        when(value2.getSensorID()).thenReturn(sensorID1);
+        when(value2.getInstantTimeReading()).thenReturn(valueOf("2024-04-15 10:30:00.0"));
+
+        List<Value> saved = instantTimeValueRepositoryMem.saveAll(List.of(value2));
+
+        assertEquals(List.of(value2), saved);
+        assertTrue(instantTimeValueRepositoryMem.containsEntityByID(valueID2));
+        assertEquals(List.of(instantTimeValue, value2), instantTimeValueRepositoryMem.findBySensorId(sensorID1));
+    }
+
+    /**
+     * Validate that the last value recorded follows the values saved after it was first looked up.
+     */
+    @Test
+    void lastValueRecordedFollowsSavedValues() {
+        assertEquals(instantTimeValue, instantTimeValueRepositoryMem.findLastValueRecorded(sensorID1));
+
+        InstantTimeValue newer = mock(InstantTimeValue.class);
+        ValueID newerID = mock(ValueID.class);
+        when(newer.identity()).thenReturn(newerID);
+        when(newer.getSensorID()).thenReturn(sensorID1);
+        when(newer.getInstantTimeReading()).thenReturn(valueOf("2024-04-16 10:00:00.0"));
+        instantTimeValueRepositoryMem.saveAll(List.of(newer));
+
+        assertEquals(newer, instantTimeValueRepositoryMem.findLastValueRecorded(sensorID1));
+    }
+
+    /**
+     * Validate that a value saved again under the same ID is found at its new instant time only, even though the
+     * number of values in the repository does not change.
+     */
+    @Test
+    void replacedValueIsFoundAtItsNewTimeOnly() {
+        ValueID valueID1 = value1.identity();
+        InstantTimeValue replacement = mock(InstantTimeValue.class);
+        when(replacement.identity()).thenReturn(valueID1);
+        when(replacement.getSensorID()).thenReturn(sensorID1);
+        when(replacement.getInstantTimeReading()).thenReturn(valueOf("2024-04-20 10:00:00.0"));
+
+        instantTimeValueRepositoryMem.saveAll(List.of(replacement));
+
+        assertEquals(List.of(replacement), instantTimeValueRepositoryMem.findBySensorId(sensorID1));
+        assertTrue(instantTimeValueRepositoryMem.findBySensorIdBetweenPeriodOfTime(sensorID1,
+                valueOf("2024-04-15 09:00:00.0"), valueOf("2024-04-15 11:00:00.0")).isEmpty());
+        assertEquals(List.of(replacement), instantTimeValueRepositoryMem.findBySensorIdBetweenPeriodOfTime(sensorID1,
+                valueOf("2024-04-20 09:00:00.0"), valueOf("2024-04-20 11:00:00.0")));
+    }
+}
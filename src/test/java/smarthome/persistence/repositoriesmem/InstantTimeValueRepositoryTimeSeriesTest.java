@@ -0,0 +1,115 @@
+package smarthome.persistence.repositoriesmem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.value.ImpFactoryInstantTimeValue;
+import smarthome.domain.value.InstantTimeValue;
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.Reading;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueID;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+import static java.sql.Timestamp.valueOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for InstantTimeValueRepositoryTimeSeries
+ */
+class InstantTimeValueRepositoryTimeSeriesTest {
+
+    private ImpFactoryInstantTimeValue factory;
+    private SensorID sensorID1;
+    private Value value1;
+    private Value value2;
+    private InstantTimeValueRepositoryTimeSeries repository;
+
+    /**
+     * Set up method to create a repository with two values of the same sensor.
+     */
+    @BeforeEach
+    void setUp() {
+        factory = new ImpFactoryInstantTimeValue();
+        sensorID1 = new SensorID("Sensor1");
+        value1 = factory.createValue(new ValueID(UUID.randomUUID().toString()), sensorID1, new Reading("20", "C"),
+                valueOf("2024-04-15 10:00:00.0"));
+        value2 = factory.createValue(new ValueID("Value2"), sensorID1, new Reading("21.5", "C"),
+                valueOf("2024-04-15 11:00:00.0"));
+
+        repository = new InstantTimeValueRepositoryTimeSeries(factory);
+        repository.saveAll(List.of(value2, value1));
+    }
+
+    /**
+     * Test that the repository cannot be created without a factory.
+     */
+    @Test
+    void failToCreateRepositoryWithoutFactory() {
+        assertThrows(IllegalArgumentException.class, () -> new InstantTimeValueRepositoryTimeSeries(null));
+    }
+
+    /**
+     * Test that the values of a sensor are retrieved in instant time order, equal in content to the saved ones.
+     */
+    @Test
+    void successfullyRetrieveSensorIDValues() {
+        List<Value> values = repository.findBySensorId(sensorID1);
+
+        assertEquals(2, values.size());
+        assertEquals(value1.identity(), values.get(0).identity());
+        assertEquals(value2.identity(), values.get(1).identity());
+        assertEquals("21.5", values.get(1).getReading().getMeasurement());
+        assertEquals(((InstantTimeValue) value2).getInstantTimeReading(),
+                ((InstantTimeValue) values.get(1)).getInstantTimeReading());
+    }
+
+    /**
+     * Test that only the values strictly inside the period are retrieved.
+     */
+    @Test
+    void successfullyRetrieveInstantValuesBetweenPeriod() {
+        List<Value> values = repository.findBySensorIdBetweenPeriodOfTime(sensorID1,
+                valueOf("2024-04-15 10:00:00.0"), valueOf("2024-04-15 12:00:00.0"));
+
+        assertEquals(1, values.size());
+        assertEquals(value2.identity(), values.get(0).identity());
+    }
+
+    /**
+     * Test finding and checking values by a valid and an invalid ID.
+     */
+    @Test
+    void findAndContainsValidIDAndInvalidID() {
+        assertEquals(value1.identity(), repository.findEntityByID(value1.identity()).orElseThrow().identity());
+        assertTrue(repository.containsEntityByID(value2.identity()));
+        assertTrue(repository.findEntityByID(new ValueID("Value3")).isEmpty());
+        assertFalse(repository.containsEntityByID(new ValueID("Value3")));
+    }
+
+    /**
+     * Test that all values are retrieved.
+     */
+    @Test
+    void findAllEntities() {
+        Iterable<Value> values = repository.findAllEntities();
+
+        assertEquals(2, ((List<Value>) values).size());
+    }
+
+    /**
+     * Test that the last value recorded follows the saved values, and is null for a sensor with no values.
+     */
+    @Test
+    void lastValueRecordedFollowsSavedValues() {
+        Value value3 = factory.createValue(new ValueID("Value3"), sensorID1, new Reading("22", "C"),
+                valueOf("2024-04-15 12:00:00.0"));
+
+        repository.saveAll(List.of(value3));
+
+        assertEquals(value3.identity(), repository.findLastValueRecorded(sensorID1).identity());
+        assertNull(repository.findLastValueRecorded(new SensorID("Sensor2")));
+    }
+}
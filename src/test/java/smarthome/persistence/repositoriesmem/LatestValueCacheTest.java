@@ -0,0 +1,148 @@
+package smarthome.persistence.repositoriesmem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.value.InstantTimeValue;
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.SensorID;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static java.sql.Timestamp.valueOf;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LatestValueCacheTest {
+
+    private SensorID sensorID;
+    private LatestValueCache latestValueCache;
+
+    /**
+     * Set up a cache keyed by the instant time of InstantTimeValue objects.
+     */
+    @BeforeEach
+    void setUp() {
+        sensorID = mock(SensorID.class);
+        latestValueCache = new LatestValueCache(value -> ((InstantTimeValue) value).getInstantTimeReading());
+    }
+
+    /**
+     * Creates a mocked InstantTimeValue of the test sensor recorded at the given instant.
+     */
+    private InstantTimeValue valueAt(Timestamp instant) {
+        InstantTimeValue value = mock(InstantTimeValue.class);
+        when(value.getSensorID()).thenReturn(sensorID);
+        when(value.getInstantTimeReading()).thenReturn(instant);
+        return value;
+    }
+
+    /**
+     * Test that a newer value replaces the cached one and an older value does not, whatever the order they are offered in.
+     */
+    @Test
+    void onlyNewerValuesReplaceTheCachedValue() {
+        InstantTimeValue older = valueAt(valueOf("2024-04-15 10:00:00.0"));
+        InstantTimeValue newer = valueAt(valueOf("2024-04-15 11:00:00.0"));
+
+        latestValueCache.offerAll(List.of(newer, older));
+
+        assertEquals(newer, latestValueCache.getOrLoad(sensorID, id -> null));
+    }
+
+    /**
+     * Test that the loader is only used on a miss, and its result is kept.
+     */
+    @Test
+    void loaderIsOnlyUsedOnMiss() {
+        InstantTimeValue value = valueAt(valueOf("2024-04-15 10:00:00.0"));
+        Function<SensorID, Value> loader = mock(Function.class);
+        when(loader.apply(sensorID)).thenReturn(value);
+
+        assertEquals(value, latestValueCache.getOrLoad(sensorID, loader));
+        assertEquals(value, latestValueCache.getOrLoad(sensorID, loader));
+        verify(loader, times(1)).apply(sensorID);
+    }
+
+    /**
+     * Test that a sensor without values is not cached, so a value loaded later is found.
+     */
+    @Test
+    void missingValueIsNotCached() {
+        InstantTimeValue value = valueAt(valueOf("2024-04-15 10:00:00.0"));
+
+        assertNull(latestValueCache.getOrLoad(sensorID, id -> null));
+        assertEquals(value, latestValueCache.getOrLoad(sensorID, id -> value));
+    }
+
+    /**
+     * Test that a value offered while loading is not overwritten by an older loaded value.
+     */
+    @Test
+    void olderLoadedValueDoesNotReplaceOfferedValue() {
+        InstantTimeValue loaded = valueAt(valueOf("2024-04-15 10:00:00.0"));
+        InstantTimeValue offered = valueAt(valueOf("2024-04-15 11:00:00.0"));
+
+        Value result = latestValueCache.getOrLoad(sensorID, id -> {
+            latestValueCache.offer(offered);
+            return loaded;
+        });
+
+        assertEquals(offered, result);
+    }
+
+    /**
+     * Test that clearing the cache makes the next lookup use the loader again.
+     */
+    @Test
+    void clearDropsCachedValues() {
+        InstantTimeValue value = valueAt(valueOf("2024-04-15 10:00:00.0"));
+        latestValueCache.offer(value);
+
+        latestValueCache.clear();
+
+        assertNull(latestValueCache.getOrLoad(sensorID, id -> null));
+    }
+
+    /**
+     * Test that an entry older than the time to live is loaded again, so a value written by another writer is found.
+     */
+    @Test
+    void expiredEntryIsLoadedAgain() {
+        AtomicLong now = new AtomicLong();
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenAnswer(invocation -> now.get());
+        LatestValueCache expiringCache = new LatestValueCache(value -> ((InstantTimeValue) value).getInstantTimeReading(),
+                Duration.ofSeconds(30), clock);
+        InstantTimeValue cached = valueAt(valueOf("2024-04-15 10:00:00.0"));
+        InstantTimeValue insertedElsewhere = valueAt(valueOf("2024-04-15 11:00:00.0"));
+        expiringCache.offer(cached);
+
+        now.set(29_999);
+        assertEquals(cached, expiringCache.getOrLoad(sensorID, id -> insertedElsewhere));
+
+        now.set(30_000);
+        assertEquals(insertedElsewhere, expiringCache.getOrLoad(sensorID, id -> insertedElsewhere));
+    }
+
+    /**
+     * Test that an expired entry of a sensor whose values were all removed from storage is dropped.
+     */
+    @Test
+    void expiredEntryWithoutStoredValuesIsDropped() {
+        AtomicLong now = new AtomicLong();
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenAnswer(invocation -> now.get());
+        LatestValueCache expiringCache = new LatestValueCache(value -> ((InstantTimeValue) value).getInstantTimeReading(),
+                Duration.ofSeconds(30), clock);
+        expiringCache.offer(valueAt(valueOf("2024-04-15 10:00:00.0")));
+
+        now.set(30_000);
+
+        assertNull(expiringCache.getOrLoad(sensorID, id -> null));
+    }
+}
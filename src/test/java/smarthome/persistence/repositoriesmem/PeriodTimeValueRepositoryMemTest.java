@@ -57,6 +57,8 @@ class PeriodTimeValueRepositoryMemTest {
 
         when(periodTimeValue1.getSensorID()).thenReturn(sensorID1);
         when(periodTimeValue2.getSensorID()).thenReturn(sensorID2);
+        when(periodTimeValue1.getStartTimeReading()).thenReturn(Timestamp.valueOf("2024-04-15 10:00:00.0"));
+        when(periodTimeValue1.getEndTimeReading()).thenReturn(Timestamp.valueOf("2024-04-15 11:00:00.0"));
 
         valueMap.put(value1.identity(), periodTimeValue1);
         periodTimeValueRepositoryMem = new PeriodTimeValueRepositoryMem(valueMap);
@@ -76,19 +78,25 @@ class PeriodTimeValueRepositoryMemTest {
      */
     @Test
     void successfullyRetrievePeriodTimeValues() {
-        Timestamp timestamp1 = mock(Timestamp.class);
-        when(periodTimeValue1.getStartTimeReading()).thenReturn(timestamp1);
-        Timestamp timestamp2 = mock(Timestamp.class);
-        when(periodTimeValue1.getEndTimeReading()).thenReturn(timestamp2);
-        Timestamp start = mock(Timestamp.class);
-        when(periodTimeValue1.getStartTimeReading().after(start)).thenReturn(true);
-        Timestamp end = mock(Timestamp.class);
-        when(periodTimeValue1.getEndTimeReading().before(end)).thenReturn(true);
+        Timestamp start = Timestamp.valueOf("2024-04-15 09:00:00.0");
+        Timestamp end = Timestamp.valueOf("2024-04-15 12:00:00.0");
         List<Value> values = periodTimeValueRepositoryMem.findBySensorIdBetweenPeriodOfTime(sensorID1, start, end);
 
         assertTrue(values.contains(periodTimeValue1));
     }
 
+    /**
+     * Test that a value whose period is not inside the requested period is not retrieved.
+     */
+    @Test
+    void valueOutsidePeriodIsNotRetrieved() {
+        Timestamp start = Timestamp.valueOf("2024-04-15 10:30:00.0");
+        Timestamp end = Timestamp.valueOf("2024-04-15 12:00:00.0");
+        List<Value> values = periodTimeValueRepositoryMem.findBySensorIdBetweenPeriodOfTime(sensorID1, start, end);
+
+        assertTrue(values.isEmpty());
+    }
+
     /**
      * Test if an entity is retrieved or not when given a valid and an invalid ID, respectivelly.
      */
@@ -104,7 +112,7 @@ class PeriodTimeValueRepositoryMemTest {
     @Test
     void successfullyFindAllEntities() {
         Iterable<Value> values = periodTimeValueRepositoryMem.findAllEntities();
-        assertEquals(values, valueMap.values());
+        assertIterableEquals(valueMap.values(), values);
     }
 
     /**
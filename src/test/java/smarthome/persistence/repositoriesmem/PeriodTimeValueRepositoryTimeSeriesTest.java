@@ -0,0 +1,77 @@
+package smarthome.persistence.repositoriesmem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.value.ImpFactoryPeriodTimeValue;
+import smarthome.domain.value.PeriodTimeValue;
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.Reading;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueID;
+
+import java.util.List;
+
+import static java.sql.Timestamp.valueOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PeriodTimeValueRepositoryTimeSeries
+ */
+class PeriodTimeValueRepositoryTimeSeriesTest {
+
+    private SensorID sensorID1;
+    private Value value1;
+    private PeriodTimeValueRepositoryTimeSeries repository;
+
+    /**
+     * Set up method to create a repository with one period value.
+     */
+    @BeforeEach
+    void setUp() {
+        ImpFactoryPeriodTimeValue factory = new ImpFactoryPeriodTimeValue();
+        sensorID1 = new SensorID("Sensor1");
+        value1 = factory.createValue(new ValueID("Value1"), sensorID1, new Reading("150", "W"),
+                valueOf("2024-04-15 10:00:00.0"), valueOf("2024-04-15 11:00:00.0"));
+
+        repository = new PeriodTimeValueRepositoryTimeSeries(factory);
+        repository.saveAll(List.of(value1));
+    }
+
+    /**
+     * Test if a value is successfully retrieved by SensorID, with its start and end times.
+     */
+    @Test
+    void successfullyRetrieveSensorIDValues() {
+        List<Value> values = repository.findBySensorId(sensorID1);
+
+        assertEquals(1, values.size());
+        PeriodTimeValue periodTimeValue = (PeriodTimeValue) values.get(0);
+        assertEquals(value1.identity(), periodTimeValue.identity());
+        assertEquals(valueOf("2024-04-15 10:00:00.0"), periodTimeValue.getStartTimeReading());
+        assertEquals(valueOf("2024-04-15 11:00:00.0"), periodTimeValue.getEndTimeReading());
+    }
+
+    /**
+     * Test that a value is only retrieved if it starts and ends inside the period.
+     */
+    @Test
+    void valueOutsidePeriodIsNotRetrieved() {
+        List<Value> inside = repository.findBySensorIdBetweenPeriodOfTime(sensorID1,
+                valueOf("2024-04-15 09:00:00.0"), valueOf("2024-04-15 12:00:00.0"));
+        List<Value> endsAfter = repository.findBySensorIdBetweenPeriodOfTime(sensorID1,
+                valueOf("2024-04-15 09:00:00.0"), valueOf("2024-04-15 10:30:00.0"));
+
+        assertEquals(1, inside.size());
+        assertTrue(endsAfter.isEmpty());
+    }
+
+    /**
+     * Test finding and checking values by a valid and an invalid ID.
+     */
+    @Test
+    void findEntityByIDValidAndInvalidID() {
+        assertTrue(repository.findEntityByID(value1.identity()).isPresent());
+        assertTrue(repository.containsEntityByID(value1.identity()));
+        assertFalse(repository.containsEntityByID(new ValueID("Value2")));
+    }
+}
@@ -108,97 +108,44 @@ class RoomRepositoryMemTest {
     }
 
     /**
-     * Tests the successful update of a Room entity in the repository.
-     * Returns the updated Room entity if successful.
+     * Tests the successful update of a room entity through a change applied to the stored room entity.
+     * Returns the changed room entity, which replaces the stored one.
      */
     @Test
-    void successfullyUpdateDevice() {
-        when(roomEntity.identity()).thenReturn(roomID);
-
-        RoomRepositoryMem repository = new RoomRepositoryMem(mapData);
-        assertEquals(roomEntity, repository.update(roomEntity));
-    }
-
-    /**
-     * Tests the failure to update a Room entity not present in the repository.
-     * Returns null since the Room entity is not present in the repository.
-     */
-    @Test
-    void failUpdateRoomNotInRepository() {
+    void successfullyUpdateRoomWithChange() {
         RoomRepositoryMem repository = new RoomRepositoryMem(mapData);
-        RoomID notPresentID = mock(RoomID.class);
-        when(roomEntity.identity()).thenReturn(notPresentID);
+        Room changedRoom = mock(Room.class);
 
-        assertNull(repository.update(roomEntity));
-    }
-
-    /**
-     * Tests the successful update of a reserved Room entity in the repository.
-     * Returns the updated Room entity if successful.
-     */
-    @Test
-    void successfullyUpdateReservedRoom() {
-        RoomRepositoryMem repository = new RoomRepositoryMem(mapData);
-        when(roomEntity.identity()).thenReturn(roomID);
-        Optional<Room> foundEntity = repository.findEntityByIDAndReserve(roomID);
-        Room room = foundEntity.get();
+        Optional<Room> updated = repository.update(roomID, room -> room == roomEntity ? changedRoom : null);
 
-        assertEquals(room, repository.updateReserved(room));
+        assertEquals(Optional.of(changedRoom), updated);
+        assertEquals(Optional.of(changedRoom), repository.findEntityByID(roomID));
     }
 
     /**
-     * Tests the failure scenario when attempting to update a Room entity that is not reserved.
-     * Return null if the Room entity is not reserved and therefore cannot be updated.
+     * Tests that a change returning null leaves the stored room entity as is.
+     * Returns an empty optional since nothing was updated.
      */
     @Test
-    void failUpdateReservedRoomNotReserved() {
+    void updateRoomWithChangeLeftAsIs() {
         RoomRepositoryMem repository = new RoomRepositoryMem(mapData);
 
-        assertNull(repository.updateReserved(roomEntity2));
+        assertTrue(repository.update(roomID, room -> null).isEmpty());
+        assertEquals(Optional.of(roomEntity), repository.findEntityByID(roomID));
     }
 
     /**
-     * Tests the failure scenario when attempting to update a Room entity with a different ID from the reserved one.
-     * Returns null if the Room entity ID does not match the reserved ID and therefore cannot be updated.
+     * Tests the failure to update a room entity through a change when the ID is not present in the repository.
+     * Returns an empty optional without applying the change.
      */
     @Test
-    void failUpdateReservedRoomNotSameID() {
+    void failUpdateRoomWithChangeNotPresent() {
         RoomRepositoryMem repository = new RoomRepositoryMem(mapData);
-        when(roomEntity.identity()).thenReturn(roomID);
-        repository.findEntityByIDAndReserve(roomID);
-        Room roomDouble = mock(Room.class);
         RoomID notPresentID = mock(RoomID.class);
-        when(roomDouble.identity()).thenReturn(notPresentID);
-
-        assertNull(repository.updateReserved(roomDouble));
-    }
-
-    /**
-     * Tests the successful retrieval and reservation of a Room entity by ID.
-     * Returns the reserved Room entity if found and reserved successfully.
-     */
-    @Test
-    void successfullyFindRoomByIDAndReserve() {
-        RoomRepositoryMem repository = new RoomRepositoryMem(mapData);
-
-        Optional<Room> foundEntity = repository.findEntityByIDAndReserve(roomID);
-        Room room = foundEntity.get();
-
-        assertEquals(room, roomEntity);
-    }
-
-    /**
-     * Tests the failure to find and reserve a Room entity when the ID is not present in the repository.
-     * Returns an empty optional since the Room is not present in the repository.
-     */
-    @Test
-    void failFindRoomByIDAndReserveNotPresent() {
-        RoomRepositoryMem repository = new RoomRepositoryMem(mapData);
-        RoomID notPresentID = mock(RoomID.class);
-
-        Optional<Room> foundEntity = repository.findEntityByIDAndReserve(notPresentID);
 
-        assertThrows(NoSuchElementException.class, foundEntity::get);
+        assertTrue(repository.update(notPresentID, room -> {
+            throw new AssertionError("Change applied to a missing room");
+        }).isEmpty());
     }
 
 
@@ -0,0 +1,139 @@
+package smarthome.persistence.repositoriesmem;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import smarthome.domain.repository.ValueRepository;
+import smarthome.domain.value.ImpFactoryInstantTimeValue;
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.Reading;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueID;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the heap footprint and period query of InstantTimeValueRepositoryTimeSeries against
+ * InstantTimeValueRepositoryMem, holding per-minute readings of several sensors with the value IDs created for them.
+ * The retained heap per reading is printed once the repository is filled.
+ * Run with: mvn test-compile exec:exec -Pbenchmark -Dbenchmark=TimeSeriesStoreBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class TimeSeriesStoreBenchmark {
+
+    /**
+     * Number of sensors the readings are spread across.
+     */
+    private static final int SENSORS = 100;
+
+    /**
+     * Number of readings of the queried sensor inside the queried window (one day).
+     */
+    private static final int READINGS_IN_WINDOW = 1440;
+
+    /**
+     * Interval between two consecutive readings of the same sensor.
+     */
+    private static final long READING_INTERVAL_MILLIS = 60_000L;
+
+    /**
+     * Repository implementation under test.
+     */
+    @Param({"mem", "timeseries"})
+    private String repositoryType;
+
+    /**
+     * Total number of readings stored in the repository.
+     */
+    @Param({"1000000", "5000000"})
+    private int totalReadings;
+
+    private ValueRepository repository;
+    private SensorID queriedSensor;
+    private Timestamp start;
+    private Timestamp end;
+
+    /**
+     * Fills the repository with readings taken once a minute by each sensor, prints the heap retained per reading and
+     * chooses a one day window in the middle of the queried sensor's readings.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        ImpFactoryInstantTimeValue factory = new ImpFactoryInstantTimeValue();
+        long firstReading = Timestamp.valueOf("2024-01-01 00:00:00.0").getTime();
+        int readingsPerSensor = totalReadings / SENSORS;
+
+        SensorID[] sensors = new SensorID[SENSORS];
+        for (int i = 0; i < SENSORS; i++) {
+            sensors[i] = new SensorID("Sensor" + i);
+        }
+
+        long heapBefore = usedHeap();
+        Map<ValueID, Value> valueMap = new HashMap<>();
+        InstantTimeValueRepositoryTimeSeries timeSeriesRepository = new InstantTimeValueRepositoryTimeSeries(factory);
+        List<Value> batch = new ArrayList<>();
+        for (int i = 0; i < totalReadings; i++) {
+            long time = firstReading + (i / SENSORS) * READING_INTERVAL_MILLIS;
+            Reading reading = new Reading(String.valueOf(15 + (i % 200) / 10.0), "C");
+            Value value = factory.createValue(sensors[i % SENSORS], reading, new Timestamp(time));
+            if (repositoryType.equals("mem")) {
+                valueMap.put(value.identity(), value);
+            } else {
+                batch.add(value);
+                if (batch.size() == 10_000) {
+                    timeSeriesRepository.saveAll(batch);
+                    batch.clear();
+                }
+            }
+        }
+        timeSeriesRepository.saveAll(batch);
+        batch.clear();
+
+        repository = repositoryType.equals("mem") ? new InstantTimeValueRepositoryMem(valueMap) : timeSeriesRepository;
+        long heapAfter = usedHeap();
+        System.out.printf("%n%s: %d readings retain %.1f bytes each%n", repositoryType, totalReadings,
+                (heapAfter - heapBefore) / (double) totalReadings);
+
+        queriedSensor = sensors[0];
+        long windowStart = firstReading + (readingsPerSensor / 2 - READINGS_IN_WINDOW / 2) * READING_INTERVAL_MILLIS;
+        start = new Timestamp(windowStart - 1);
+        end = new Timestamp(windowStart + READINGS_IN_WINDOW * READING_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Measures a range query over one day of the queried sensor, including building the returned values.
+     */
+    @Benchmark
+    public void findBySensorIdBetweenPeriodOfTime(Blackhole blackhole) {
+        blackhole.consume(repository.findBySensorIdBetweenPeriodOfTime(queriedSensor, start, end));
+    }
+
+    /**
+     * Retrieves the heap in use after a few garbage collections.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TimeSeriesStoreBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
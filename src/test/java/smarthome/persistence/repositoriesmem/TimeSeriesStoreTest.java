@@ -0,0 +1,330 @@
+package smarthome.persistence.repositoriesmem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.valueobjects.Reading;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueID;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TimeSeriesStore
+ */
+class TimeSeriesStoreTest {
+
+    /**
+     * Row mapper returning the stored rows as they are rebuilt.
+     */
+    private static final TimeSeriesStore.RowMapper<StoredRow> ROW_MAPPER = StoredRow::new;
+
+    /**
+     * Row as rebuilt by the store.
+     */
+    private record StoredRow(ValueID valueID, SensorID sensorID, Reading reading, Timestamp time, Timestamp endTime) {
+    }
+
+    private SensorID sensorID;
+    private TimeSeriesStore store;
+
+    @BeforeEach
+    void setUp() {
+        sensorID = new SensorID("Sensor1");
+        store = new TimeSeriesStore(false);
+    }
+
+    /**
+     * A reading with a UUID value ID and a measurement in its shortest form is rebuilt exactly from the columns.
+     */
+    @Test
+    void readingIsRebuiltFromColumns() {
+        ValueID valueID = new ValueID(UUID.randomUUID().toString());
+        Timestamp time = Timestamp.valueOf("2024-04-15 10:00:00.123456789");
+
+        store.add(valueID, sensorID, new Reading("21.5", "C"), time, null);
+        StoredRow row = store.find(valueID, ROW_MAPPER);
+
+        assertEquals(valueID, row.valueID());
+        assertEquals(sensorID, row.sensorID());
+        assertEquals("21.5", row.reading().getMeasurement());
+        assertEquals("C", row.reading().getUnit());
+        assertEquals(time, row.time());
+        assertNull(row.endTime());
+    }
+
+    /**
+     * Value IDs, measurements and units the columns cannot reproduce are kept as they were saved.
+     */
+    @Test
+    void readingOutsideColumnsIsKeptAsSaved() {
+        store.add(new ValueID("Value1"), sensorID, new Reading("20", "C"), Timestamp.valueOf("2024-04-15 10:00:00"), null);
+        store.add(new ValueID("Value2"), sensorID, new Reading("20.0", "F"), Timestamp.valueOf("2024-04-15 10:01:00"), null);
+        store.add(new ValueID("Value3"), sensorID, new Reading("12;270", "km/h;°"), Timestamp.valueOf("2024-04-15 10:02:00"), null);
+        store.add(new ValueID("Value4"), sensorID, new Reading("ON", "*"), Timestamp.valueOf("2024-04-15 10:03:00"), null);
+        store.add(new ValueID("Value5"), sensorID, new Reading("15.0", "C"), Timestamp.valueOf("2024-04-15 10:04:00"), null);
+        store.add(new ValueID("Value6"), sensorID, new Reading("15.00", "C"), Timestamp.valueOf("2024-04-15 10:05:00"), null);
+
+        List<StoredRow> rows = store.findBySensorId(sensorID, ROW_MAPPER);
+
+        assertEquals(List.of("Value1", "Value2", "Value3", "Value4", "Value5", "Value6"),
+                rows.stream().map(row -> row.valueID().toString()).toList());
+        assertEquals(List.of("20", "20.0", "12;270", "ON", "15.0", "15.00"),
+                rows.stream().map(row -> row.reading().getMeasurement()).toList());
+        assertEquals(List.of("C", "F", "km/h;°", "*", "C", "C"),
+                rows.stream().map(row -> row.reading().getUnit()).toList());
+    }
+
+    /**
+     * Readings saved out of order across several chunks are returned in time order, readings taken at the same time
+     * in the order they were saved.
+     */
+    @Test
+    void readingsAreReturnedInTimeOrderAcrossChunks() {
+        int readings = TimeSeriesStore.CHUNK_CAPACITY * 5;
+        List<Integer> minutes = new ArrayList<>();
+        for (int i = 0; i < readings; i++) {
+            minutes.add(i / 2);
+        }
+        Collections.shuffle(minutes, new Random(42));
+        long firstMinute = Timestamp.valueOf("2024-04-15 00:00:00").getTime();
+        for (int i = 0; i < readings; i++) {
+            store.add(new ValueID("Value" + i), sensorID, new Reading(String.valueOf(i), "W"),
+                    new Timestamp(firstMinute + minutes.get(i) * 60_000L), null);
+        }
+
+        List<StoredRow> rows = store.findBySensorId(sensorID, ROW_MAPPER);
+
+        assertEquals(readings, rows.size());
+        for (int i = 1; i < rows.size(); i++) {
+            StoredRow previous = rows.get(i - 1);
+            StoredRow current = rows.get(i);
+            assertFalse(current.time().before(previous.time()));
+            if (current.time().equals(previous.time()))
+                assertTrue(current.reading().getNumericMeasurement() > previous.reading().getNumericMeasurement());
+        }
+    }
+
+    /**
+     * Only the readings strictly inside the period are returned.
+     */
+    @Test
+    void findBySensorIdBetweenExcludesBounds() {
+        long firstMinute = Timestamp.valueOf("2024-04-15 00:00:00").getTime();
+        for (int i = 0; i < 3000; i++) {
+            store.add(new ValueID("Value" + i), sensorID, new Reading(String.valueOf(i), "W"),
+                    new Timestamp(firstMinute + i * 60_000L), null);
+        }
+        store.add(new ValueID("OtherSensorValue"), new SensorID("Sensor2"), new Reading("1", "W"),
+                new Timestamp(firstMinute + 1500 * 60_000L), null);
+
+        List<StoredRow> rows = store.findBySensorIdBetween(sensorID,
+                new Timestamp(firstMinute + 1000 * 60_000L), new Timestamp(firstMinute + 2500 * 60_000L), ROW_MAPPER);
+
+        assertEquals(1499, rows.size());
+        assertEquals("1001", rows.get(0).reading().getMeasurement());
+        assertEquals("2499", rows.get(rows.size() - 1).reading().getMeasurement());
+    }
+
+    /**
+     * Period readings are only returned if they also end before the end of the period.
+     */
+    @Test
+    void findBySensorIdBetweenChecksEndTime() {
+        TimeSeriesStore periodStore = new TimeSeriesStore(true);
+        periodStore.add(new ValueID("Inside"), sensorID, new Reading("10", "W"),
+                Timestamp.valueOf("2024-04-15 10:00:00"), Timestamp.valueOf("2024-04-15 10:15:00"));
+        periodStore.add(new ValueID("EndsAfter"), sensorID, new Reading("20", "W"),
+                Timestamp.valueOf("2024-04-15 10:50:00"), Timestamp.valueOf("2024-04-15 11:05:00"));
+
+        List<StoredRow> rows = periodStore.findBySensorIdBetween(sensorID,
+                Timestamp.valueOf("2024-04-15 09:00:00"), Timestamp.valueOf("2024-04-15 11:00:00"), ROW_MAPPER);
+
+        assertEquals(1, rows.size());
+        assertEquals(new ValueID("Inside"), rows.get(0).valueID());
+        assertEquals(Timestamp.valueOf("2024-04-15 10:15:00"), rows.get(0).endTime());
+    }
+
+    /**
+     * Adding a reading with the value ID of a stored reading replaces it.
+     */
+    @Test
+    void addingExistingValueIDReplacesReading() {
+        ValueID valueID = new ValueID(UUID.randomUUID().toString());
+        store.add(valueID, sensorID, new Reading("10", "W"), Timestamp.valueOf("2024-04-15 10:00:00"), null);
+        store.add(valueID, sensorID, new Reading("20", "W"), Timestamp.valueOf("2024-04-15 11:00:00"), null);
+
+        assertEquals(1, store.size());
+        assertEquals("20", store.find(valueID, ROW_MAPPER).reading().getMeasurement());
+    }
+
+    /**
+     * Removing a reading makes it unavailable, and removing the last reading of a sensor leaves it with none.
+     */
+    @Test
+    void removeReading() {
+        ValueID valueID = new ValueID("Value1");
+        store.add(valueID, sensorID, new Reading("10", "W"), Timestamp.valueOf("2024-04-15 10:00:00"), null);
+
+        assertTrue(store.remove(valueID));
+        assertFalse(store.remove(valueID));
+        assertFalse(store.contains(valueID));
+        assertNull(store.findLast(sensorID, ROW_MAPPER));
+        assertEquals(0, store.size());
+    }
+
+    /**
+     * Every value ID stays findable after the value ID index grows.
+     */
+    @Test
+    void valueIDsAreFoundAfterIndexGrows() {
+        List<ValueID> valueIDs = new ArrayList<>();
+        long firstMinute = Timestamp.valueOf("2024-04-15 00:00:00").getTime();
+        for (int i = 0; i < TimeSeriesStore.CHUNK_CAPACITY * 4; i++) {
+            ValueID valueID = new ValueID(UUID.randomUUID().toString());
+            valueIDs.add(valueID);
+            store.add(valueID, new SensorID("Sensor" + i % 3), new Reading(String.valueOf(i), "W"),
+                    new Timestamp(firstMinute + i * 60_000L), null);
+        }
+
+        for (ValueID valueID : valueIDs) {
+            assertTrue(store.contains(valueID));
+        }
+        assertFalse(store.contains(new ValueID(UUID.randomUUID().toString())));
+        assertEquals(valueIDs.size(), store.findAll(ROW_MAPPER).size());
+    }
+
+    /**
+     * Readings taken at the same time across several chunks are each found by value ID, also after half of them,
+     * chosen at random, are removed.
+     */
+    @Test
+    void readingsTakenAtSameTimeAreFoundAndRemovedByValueID() {
+        Timestamp time = Timestamp.valueOf("2024-04-15 10:00:00");
+        List<ValueID> valueIDs = new ArrayList<>();
+        for (int i = 0; i < TimeSeriesStore.CHUNK_CAPACITY * 3; i++) {
+            ValueID valueID = new ValueID("Value" + i);
+            valueIDs.add(valueID);
+            store.add(valueID, sensorID, new Reading(String.valueOf(i), "W"), time, null);
+        }
+        Collections.shuffle(valueIDs, new Random(7));
+        List<ValueID> removed = valueIDs.subList(0, valueIDs.size() / 2);
+        List<ValueID> kept = valueIDs.subList(valueIDs.size() / 2, valueIDs.size());
+
+        for (ValueID valueID : removed) {
+            assertTrue(store.remove(valueID));
+        }
+
+        for (ValueID valueID : removed) {
+            assertFalse(store.contains(valueID));
+        }
+        for (ValueID valueID : kept) {
+            assertEquals(valueID, store.find(valueID, ROW_MAPPER).valueID());
+        }
+        assertEquals(kept.size(), store.size());
+    }
+
+    /**
+     * Readings with the value IDs created for them, saved out of order and partly removed across chunks that are
+     * compressed, are each found by value ID and rebuilt exactly.
+     */
+    @Test
+    void readingsWithCreatedValueIDsAreFoundAcrossCompressedChunks() {
+        long firstMinute = Timestamp.valueOf("2024-04-15 00:00:00").getTime();
+        List<Integer> minutes = new ArrayList<>();
+        for (int i = 0; i < TimeSeriesStore.CHUNK_CAPACITY * 4; i++) {
+            minutes.add(i);
+        }
+        Collections.shuffle(minutes, new Random(3));
+        Map<ValueID, Timestamp> times = new HashMap<>();
+        for (int minute : minutes) {
+            Timestamp time = new Timestamp(firstMinute + minute * 60_000L);
+            ValueID valueID = ValueID.ofReading(sensorID, time);
+            times.put(valueID, time);
+            store.add(valueID, sensorID, new Reading(String.valueOf(minute / 10.0), "C"), time, null);
+        }
+        List<ValueID> valueIDs = new ArrayList<>(times.keySet());
+        List<ValueID> removed = valueIDs.subList(0, valueIDs.size() / 4);
+        for (ValueID valueID : removed) {
+            assertTrue(store.remove(valueID));
+        }
+
+        for (ValueID valueID : removed) {
+            assertFalse(store.contains(valueID));
+        }
+        for (ValueID valueID : valueIDs.subList(valueIDs.size() / 4, valueIDs.size())) {
+            StoredRow row = store.find(valueID, ROW_MAPPER);
+            assertEquals(valueID, row.valueID());
+            assertEquals(times.get(valueID), row.time());
+            long minute = (row.time().getTime() - firstMinute) / 60_000L;
+            assertEquals(String.valueOf(minute / 10.0), row.reading().getMeasurement());
+        }
+        assertEquals(valueIDs.size() - removed.size(), store.findAll(ROW_MAPPER).size());
+    }
+
+    /**
+     * Measurements, times and end times that compress differently are rebuilt exactly once their chunk is compressed.
+     */
+    @Test
+    void compressedReadingsAreRebuiltExactly() {
+        store = new TimeSeriesStore(true);
+        String[] measurements = {"21.5", "-0.0", "0", "1.0E-7", "123456789012", "NaN", "ON", "3.14159265358979", "-40"};
+        Timestamp start = Timestamp.valueOf("2024-04-15 10:00:00.000000001");
+        List<StoredRow> saved = new ArrayList<>();
+        for (int i = 0; i < TimeSeriesStore.CHUNK_CAPACITY * 2; i++) {
+            Timestamp time = new Timestamp(start.getTime() + i * 1_000L + i % 7);
+            time.setNanos(time.getNanos() + i % 3);
+            Timestamp endTime = new Timestamp(time.getTime() + 60_000L * (i % 5));
+            ValueID valueID = i % 2 == 0 ? ValueID.ofReading(sensorID, time) : new ValueID("Value" + i);
+            Reading reading = new Reading(measurements[i % measurements.length], i % 11 == 0 ? "F" : "C");
+            store.add(valueID, sensorID, reading, time, endTime);
+            saved.add(new StoredRow(valueID, sensorID, reading, time, endTime));
+        }
+
+        List<StoredRow> rows = store.findBySensorId(sensorID, ROW_MAPPER);
+
+        assertEquals(saved.size(), rows.size());
+        for (int i = 0; i < saved.size(); i++) {
+            assertEquals(saved.get(i).valueID(), rows.get(i).valueID());
+            assertEquals(saved.get(i).reading().getMeasurement(), rows.get(i).reading().getMeasurement());
+            assertEquals(saved.get(i).reading().getUnit(), rows.get(i).reading().getUnit());
+            assertEquals(saved.get(i).time(), rows.get(i).time());
+            assertEquals(saved.get(i).endTime(), rows.get(i).endTime());
+        }
+    }
+
+    /**
+     * Readings of sensors whose value IDs hold the same hash are each found by value ID.
+     */
+    @Test
+    void readingsOfSensorsSharingHashAreFoundByValueID() {
+        Map<Integer, SensorID> sensorsByHash = new HashMap<>();
+        SensorID first = null;
+        SensorID second = null;
+        for (int i = 0; second == null; i++) {
+            SensorID candidate = new SensorID("Sensor" + i);
+            first = sensorsByHash.putIfAbsent(ValueID.sensorHashOf(candidate), candidate);
+            if (first != null)
+                second = candidate;
+        }
+        Timestamp time = Timestamp.valueOf("2024-04-15 10:00:00");
+        ValueID firstValueID = ValueID.ofReading(first, time);
+        ValueID secondValueID = ValueID.ofReading(second, time);
+        store.add(firstValueID, first, new Reading("1", "W"), time, null);
+        store.add(secondValueID, second, new Reading("2", "W"), time, null);
+
+        assertEquals(first, store.find(firstValueID, ROW_MAPPER).sensorID());
+        assertEquals(second, store.find(secondValueID, ROW_MAPPER).sensorID());
+        assertTrue(store.remove(firstValueID));
+        assertFalse(store.contains(firstValueID));
+        assertEquals("2", store.find(secondValueID, ROW_MAPPER).reading().getMeasurement());
+    }
+}
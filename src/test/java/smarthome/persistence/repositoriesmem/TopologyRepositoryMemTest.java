@@ -0,0 +1,95 @@
+package smarthome.persistence.repositoriesmem;
+
+import org.junit.jupiter.api.Test;
+import smarthome.domain.actuators.Actuator;
+import smarthome.domain.device.Device;
+import smarthome.domain.repository.ActuatorRepository;
+import smarthome.domain.repository.DeviceRepository;
+import smarthome.domain.repository.SensorRepository;
+import smarthome.domain.repository.TopologyRepository.ActuatorTarget;
+import smarthome.domain.repository.TopologyRepository.FunctionalityLocation;
+import smarthome.domain.sensor.Sensor;
+import smarthome.domain.valueobjects.ActuatorFunctionalityID;
+import smarthome.domain.valueobjects.DeviceID;
+import smarthome.domain.valueobjects.DeviceStatus;
+import smarthome.domain.valueobjects.RoomID;
+import smarthome.domain.valueobjects.SensorFunctionalityID;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TopologyRepositoryMemTest {
+
+    /**
+     * The location of every sensor and actuator of an existing device is found reading each repository once,
+     * leaving out the ones of devices that do not exist.
+     */
+    @Test
+    void findFunctionalityLocationsReadsEachRepositoryOnce() {
+        DeviceRepository deviceRepository = mock(DeviceRepository.class);
+        SensorRepository sensorRepository = mock(SensorRepository.class);
+        ActuatorRepository actuatorRepository = mock(ActuatorRepository.class);
+        DeviceID deviceID = new DeviceID("Device1");
+        RoomID roomID = new RoomID("Room1");
+        SensorFunctionalityID sensorFunctionalityID = new SensorFunctionalityID("TemperatureCelsius");
+        ActuatorFunctionalityID actuatorFunctionalityID = new ActuatorFunctionalityID("BlindSetter");
+
+        Device device = mock(Device.class);
+        when(device.identity()).thenReturn(deviceID);
+        when(device.getRoomID()).thenReturn(roomID);
+        Sensor sensor = mock(Sensor.class);
+        when(sensor.getDeviceID()).thenReturn(deviceID);
+        when(sensor.getSensorFunctionalityID()).thenReturn(sensorFunctionalityID);
+        Sensor orphanSensor = mock(Sensor.class);
+        when(orphanSensor.getDeviceID()).thenReturn(new DeviceID("DeviceWithoutRoom"));
+        Actuator actuator = mock(Actuator.class);
+        when(actuator.getDeviceName()).thenReturn(deviceID);
+        when(actuator.getActuatorFunctionalityID()).thenReturn(actuatorFunctionalityID);
+        when(deviceRepository.findAllEntities()).thenReturn(List.of(device));
+        when(sensorRepository.findAllEntities()).thenReturn(List.of(sensor, orphanSensor));
+        when(actuatorRepository.findAllEntities()).thenReturn(List.of(actuator));
+
+        TopologyRepositoryMem topologyRepository = new TopologyRepositoryMem(deviceRepository, sensorRepository, actuatorRepository);
+
+        assertEquals(List.of(new FunctionalityLocation(sensorFunctionalityID, roomID, deviceID),
+                        new FunctionalityLocation(actuatorFunctionalityID, roomID, deviceID)),
+                topologyRepository.findFunctionalityLocations());
+        verify(deviceRepository, times(1)).findAllEntities();
+        verify(deviceRepository, never()).findEntityByID(any());
+    }
+
+    /**
+     * The actuators of a functionality are found with the status and room of their devices reading each repository
+     * once, leaving out the ones of devices that do not exist.
+     */
+    @Test
+    void findActuatorTargetsReadsEachRepositoryOnce() {
+        DeviceRepository deviceRepository = mock(DeviceRepository.class);
+        ActuatorRepository actuatorRepository = mock(ActuatorRepository.class);
+        DeviceID deviceID = new DeviceID("Device1");
+        RoomID roomID = new RoomID("Room1");
+        ActuatorFunctionalityID actuatorFunctionalityID = new ActuatorFunctionalityID("BlindSetter");
+
+        Device device = mock(Device.class);
+        when(device.identity()).thenReturn(deviceID);
+        when(device.getRoomID()).thenReturn(roomID);
+        when(device.getDeviceStatus()).thenReturn(DeviceStatus.ACTIVE);
+        Actuator actuator = mock(Actuator.class);
+        when(actuator.getDeviceName()).thenReturn(deviceID);
+        Actuator orphanActuator = mock(Actuator.class);
+        when(orphanActuator.getDeviceName()).thenReturn(new DeviceID("DeviceWithoutRoom"));
+        when(deviceRepository.findAllEntities()).thenReturn(List.of(device));
+        when(actuatorRepository.findByActuatorFunctionalityID(actuatorFunctionalityID))
+                .thenReturn(List.of(actuator, orphanActuator));
+
+        TopologyRepositoryMem topologyRepository = new TopologyRepositoryMem(deviceRepository,
+                mock(SensorRepository.class), actuatorRepository);
+
+        assertEquals(List.of(new ActuatorTarget(actuator, DeviceStatus.ACTIVE, roomID)),
+                topologyRepository.findActuatorTargets(actuatorFunctionalityID));
+        verify(deviceRepository, times(1)).findAllEntities();
+        verify(deviceRepository, never()).findEntityByID(any());
+    }
+}
@@ -0,0 +1,74 @@
+package smarthome.persistence.repositoriesmem;
+
+import org.junit.jupiter.api.Test;
+import smarthome.domain.valueobjects.RollupResolution;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueRollup;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueRollupRepositoryMemTest {
+
+    /**
+     * Rollups of a stored bucket are merged with it, and rollups of new buckets are added.
+     */
+    @Test
+    void successfullyMergeRollups() {
+        ValueRollupRepositoryMem repository = new ValueRollupRepositoryMem();
+        SensorID sensorID = new SensorID("Sensor1");
+        Timestamp time = Timestamp.valueOf("2024-04-01 12:05:00");
+
+        repository.mergeAll(List.of(ValueRollup.of(sensorID, RollupResolution.ONE_HOUR, time, 10, "W")));
+        repository.mergeAll(List.of(
+                ValueRollup.of(sensorID, RollupResolution.ONE_HOUR, time, 30, "W"),
+                ValueRollup.of(sensorID, RollupResolution.ONE_HOUR, Timestamp.valueOf("2024-04-01 13:05:00"), 5, "W")));
+
+        List<ValueRollup> rollups = repository.findBySensorIdBetweenPeriodOfTime(sensorID, RollupResolution.ONE_HOUR,
+                Timestamp.valueOf("2024-04-01 00:00:00"), Timestamp.valueOf("2024-04-02 00:00:00"));
+
+        assertEquals(2, rollups.size());
+        assertEquals(2, rollups.get(0).getCount());
+        assertEquals(40, rollups.get(0).getSum());
+        assertEquals(5, rollups.get(1).getSum());
+    }
+
+    /**
+     * Only the rollups of the sensor and resolution whose bucket overlaps the period are returned.
+     */
+    @Test
+    void findRollupsOverlappingPeriod() {
+        ValueRollupRepositoryMem repository = new ValueRollupRepositoryMem();
+        SensorID sensorID = new SensorID("Sensor1");
+        for (int hour = 10; hour < 15; hour++) {
+            Timestamp time = Timestamp.valueOf("2024-04-01 " + hour + ":30:00");
+            repository.mergeAll(List.of(
+                    ValueRollup.of(sensorID, RollupResolution.ONE_HOUR, time, hour, "W"),
+                    ValueRollup.of(sensorID, RollupResolution.ONE_MINUTE, time, hour, "W"),
+                    ValueRollup.of(new SensorID("Sensor2"), RollupResolution.ONE_HOUR, time, hour, "W")));
+        }
+
+        List<ValueRollup> rollups = repository.findBySensorIdBetweenPeriodOfTime(sensorID, RollupResolution.ONE_HOUR,
+                Timestamp.valueOf("2024-04-01 11:15:00"), Timestamp.valueOf("2024-04-01 13:00:00"));
+
+        assertEquals(List.of(11.0, 12.0), rollups.stream().map(ValueRollup::getSum).toList());
+        assertTrue(repository.findBySensorIdBetweenPeriodOfTime(new SensorID("Sensor3"), RollupResolution.ONE_HOUR,
+                Timestamp.valueOf("2024-04-01 00:00:00"), Timestamp.valueOf("2024-04-02 00:00:00")).isEmpty());
+    }
+
+    /**
+     * A sensor is backfilled once, even if its readings produce no rollup.
+     */
+    @Test
+    void sensorIsOnlyBackfilledOnce() {
+        ValueRollupRepositoryMem repository = new ValueRollupRepositoryMem();
+        SensorID sensorID = new SensorID("Sensor1");
+
+        assertTrue(repository.backfill(sensorID, List::of));
+        assertFalse(repository.backfill(sensorID, () -> {
+            throw new AssertionError("Readings of a backfilled sensor must not be read again");
+        }));
+    }
+}
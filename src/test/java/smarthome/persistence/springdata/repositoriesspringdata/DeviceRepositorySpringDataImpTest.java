@@ -6,20 +6,25 @@ import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import smarthome.domain.device.Device;
 import smarthome.domain.device.FactoryDevice;
+import smarthome.domain.repository.DeviceRepository.DeviceSummary;
 import smarthome.domain.valueobjects.DeviceID;
 import smarthome.domain.valueobjects.DeviceModel;
+import smarthome.domain.valueobjects.HouseID;
 import smarthome.domain.valueobjects.RoomID;
 import smarthome.persistence.jpa.datamodel.DeviceDataModel;
 import smarthome.persistence.jpa.datamodel.MapperDeviceDataModel;
+import smarthome.util.OptimisticRetry;
+import smarthome.util.exceptions.ConcurrentUpdateException;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 import static smarthome.domain.valueobjects.DeviceStatus.ACTIVE;
 
 @SpringBootTest(classes = {DeviceRepositorySpringDataImp.class})
@@ -71,85 +76,100 @@ class DeviceRepositorySpringDataImpTest {
     }
 
     /**
-     * Successfully updates a device.
+     * Successfully updates a device through a change applied to the stored device.
      */
     @Test
-    void successUpdateDevice() {
+    void successUpdateDeviceWithChange() {
         //Create doubles to be used by method under test
         DeviceID deviceID = mock(DeviceID.class);
         Device device = mock(Device.class);
-        when(device.identity()).thenReturn(deviceID);
+        when(deviceID.toString()).thenReturn("B8115");
 
         //Set behaviour of mocked beans
-        when(deviceRepositorySpringData.findById(device.identity().toString())).thenReturn(Optional.of(deviceDataModel));
+        when(deviceRepositorySpringData.findById("B8115")).thenReturn(Optional.of(deviceDataModel));
+        when(mapperDeviceDataModel.toDomain(factoryDevice, deviceDataModel)).thenReturn(device);
         when(deviceDataModel.updatedFromDomain(device)).thenReturn(true);
 
-        assertNotNull(deviceRepositorySpringDataImp.update(device));
+        assertEquals(Optional.of(device), deviceRepositorySpringDataImp.update(deviceID, storedDevice -> storedDevice));
+        verify(deviceRepositorySpringData).saveAndFlush(deviceDataModel);
     }
 
     /**
-     * Fail to update a device that does not exist within the repository.
+     * Fail to update a device through a change when the device does not exist within the repository.
      */
     @Test
-    void failUpdateDeviceDoesNotExistInRepo() {
+    void failUpdateDeviceWithChangeDoesNotExistInRepo() {
         //Create doubles to be used by method under test
         DeviceID deviceID = mock(DeviceID.class);
-        Device device = mock(Device.class);
-        when(device.identity()).thenReturn(deviceID);
+        when(deviceID.toString()).thenReturn("B8115");
 
         //Set behaviour of mocked beans
-        when(deviceRepositorySpringData.findById(device.identity().toString())).thenReturn(Optional.empty());
+        when(deviceRepositorySpringData.findById("B8115")).thenReturn(Optional.empty());
 
-        assertNull(deviceRepositorySpringDataImp.update(device));
+        assertTrue(deviceRepositorySpringDataImp.update(deviceID, storedDevice -> storedDevice).isEmpty());
+        verify(deviceRepositorySpringData, never()).saveAndFlush(any());
     }
 
     /**
-     * Fail to update a device. Device Data Model is not updated.
+     * A change that leaves the device as is is not saved.
      */
     @Test
-    void failUpdateDeviceDeviceDataModelNotUpdated() {
+    void updateDeviceWithChangeLeftAsIsIsNotSaved() {
         //Create doubles to be used by method under test
         DeviceID deviceID = mock(DeviceID.class);
         Device device = mock(Device.class);
-        when(device.identity()).thenReturn(deviceID);
+        when(deviceID.toString()).thenReturn("B8115");
 
         //Set behaviour of mocked beans
-        when(deviceRepositorySpringData.findById(device.identity().toString())).thenReturn(Optional.of(deviceDataModel));
-        when(deviceDataModel.updatedFromDomain(device)).thenReturn(false);
+        when(deviceRepositorySpringData.findById("B8115")).thenReturn(Optional.of(deviceDataModel));
+        when(mapperDeviceDataModel.toDomain(factoryDevice, deviceDataModel)).thenReturn(device);
 
-        assertNull(deviceRepositorySpringDataImp.update(device));
+        assertTrue(deviceRepositorySpringDataImp.update(deviceID, storedDevice -> null).isEmpty());
+        verify(deviceRepositorySpringData, never()).saveAndFlush(any());
     }
 
     /**
-     * Successfully updates a reserved device.
+     * A save that finds a newer version of the device reads the device again and applies the change again.
      */
     @Test
-    void successUpdateReservedDevice() {
+    void updateDeviceWithChangeIsRetriedOnConflict() {
         //Create doubles to be used by method under test
         DeviceID deviceID = mock(DeviceID.class);
         Device device = mock(Device.class);
-        when(device.identity()).thenReturn(deviceID);
+        when(deviceID.toString()).thenReturn("B8115");
 
         //Set behaviour of mocked beans
+        when(deviceRepositorySpringData.findById("B8115")).thenReturn(Optional.of(deviceDataModel));
+        when(mapperDeviceDataModel.toDomain(factoryDevice, deviceDataModel)).thenReturn(device);
         when(deviceDataModel.updatedFromDomain(device)).thenReturn(true);
+        when(deviceRepositorySpringData.saveAndFlush(deviceDataModel))
+                .thenThrow(new ObjectOptimisticLockingFailureException(DeviceDataModel.class, "B8115"))
+                .thenReturn(deviceDataModel);
 
-        assertNotNull(deviceRepositorySpringDataImp.updateReserved(device));
+        assertEquals(Optional.of(device), deviceRepositorySpringDataImp.update(deviceID, storedDevice -> storedDevice));
+        verify(deviceRepositorySpringData, times(2)).findById("B8115");
     }
 
     /**
-     * Fail to update a reserved device. Device Data Model is not updated.
+     * An update that keeps finding a newer version of the device gives up after a bounded number of attempts.
      */
     @Test
-    void failUpdateReservedDeviceDataModelNotUpdated() {
+    void updateDeviceWithChangeGivesUpAfterRepeatedConflicts() {
         //Create doubles to be used by method under test
         DeviceID deviceID = mock(DeviceID.class);
         Device device = mock(Device.class);
-        when(device.identity()).thenReturn(deviceID);
+        when(deviceID.toString()).thenReturn("B8115");
 
         //Set behaviour of mocked beans
-        when(deviceDataModel.updatedFromDomain(device)).thenReturn(false);
+        when(deviceRepositorySpringData.findById("B8115")).thenReturn(Optional.of(deviceDataModel));
+        when(mapperDeviceDataModel.toDomain(factoryDevice, deviceDataModel)).thenReturn(device);
+        when(deviceDataModel.updatedFromDomain(device)).thenReturn(true);
+        when(deviceRepositorySpringData.saveAndFlush(deviceDataModel))
+                .thenThrow(new ObjectOptimisticLockingFailureException(DeviceDataModel.class, "B8115"));
 
-        assertNull(deviceRepositorySpringDataImp.updateReserved(device));
+        assertThrows(ConcurrentUpdateException.class,
+                () -> deviceRepositorySpringDataImp.update(deviceID, storedDevice -> storedDevice));
+        verify(deviceRepositorySpringData, times(OptimisticRetry.MAX_ATTEMPTS)).saveAndFlush(deviceDataModel);
     }
 
     /**
@@ -205,43 +225,6 @@ class DeviceRepositorySpringDataImpTest {
         assertFalse(optDevice.isPresent());
     }
 
-    /**
-     * Successfully finds a device by its DeviceID and reserves.
-     */
-    @Test
-    void successFindEntityByIDAndReserve() {
-        //Create doubles to be used by method under test
-        DeviceID deviceID = mock(DeviceID.class);
-        Device device = mock(Device.class);
-        when(deviceID.toString()).thenReturn("B8115");
-
-        Optional<DeviceDataModel> optDeviceDataModel = Optional.of(deviceDataModel);
-
-        //Set behaviour of mocked beans
-        when(deviceRepositorySpringData.findById(deviceID.toString())).thenReturn(optDeviceDataModel);
-        when(mapperDeviceDataModel.toDomain(factoryDevice, optDeviceDataModel.get())).thenReturn(device);
-
-        Optional<Device> optDevice = deviceRepositorySpringDataImp.findEntityByIDAndReserve(deviceID);
-        assertTrue(optDevice.isPresent());
-    }
-
-    /**
-     * Fail to find a device by its DeviceID and reserves.
-     */
-    @Test
-    void failFindEntityByIDAndReserve() {
-        //Create doubles to be used by method under test
-        DeviceID deviceID = mock(DeviceID.class);
-        Device device = mock(Device.class);
-        when(deviceID.toString()).thenReturn("B8115");
-
-        //Set behaviour of mocked beans
-        when(deviceRepositorySpringData.findById(deviceID.toString())).thenReturn(Optional.empty());
-
-        Optional<Device> optDevice = deviceRepositorySpringDataImp.findEntityByIDAndReserve(deviceID);
-        assertFalse(optDevice.isPresent());
-    }
-
     /**
      * Test if a device exists within the database.If device exists, the method should return true.
      */
@@ -273,4 +256,21 @@ class DeviceRepositorySpringDataImpTest {
         assertNotNull(deviceList);
     }
 
-}
\ No newline at end of file
+    /**
+     * Successfully maps the rows of the device summaries of a house, without building any device.
+     */
+    @Test
+    void successFindDeviceSummariesByHouseID() {
+        //Create doubles to be used by method under test
+        HouseID houseID = new HouseID("House1");
+        Object[] row = {"Device1", "Model1", "ACTIVE", "Room1"};
+
+        //Set behaviour of mocked beans
+        when(deviceRepositorySpringData.findDeviceSummariesByHouseID("House1")).thenReturn(List.<Object[]>of(row));
+
+        Iterable<DeviceSummary> summaries = deviceRepositorySpringDataImp.findDeviceSummariesByHouseID(houseID);
+
+        assertEquals(List.of(new DeviceSummary(new DeviceID("Device1"), new DeviceModel("Model1"), ACTIVE,
+                new RoomID("Room1"))), summaries);
+    }
+}
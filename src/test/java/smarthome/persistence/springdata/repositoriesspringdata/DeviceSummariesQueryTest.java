@@ -0,0 +1,86 @@
+package smarthome.persistence.springdata.repositoriesspringdata;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import smarthome.domain.device.FactoryDevice;
+import smarthome.domain.repository.DeviceRepository.DeviceSummary;
+import smarthome.domain.valueobjects.*;
+import smarthome.persistence.jpa.datamodel.MapperDeviceDataModel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the devices of a house are joined to its rooms and read into summaries in a single statement.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "smarthome.persistence.springdata.repositoriesspringdata.DeviceSummariesQueryTest$RecordingStatementInspector")
+@Import({DeviceRepositorySpringDataImp.class, MapperDeviceDataModel.class})
+class DeviceSummariesQueryTest {
+
+    /**
+     * Records the SQL of every statement Hibernate prepares, so the round trips of the query can be counted.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @MockBean
+    private FactoryDevice factoryDevice;
+
+    @Autowired
+    private DeviceRepositorySpringDataImp deviceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO room (roomid, houseid, room_floor, height, width, length, version) VALUES "
+                + "('Room1', 'House1', 0, 2.5, 3.0, 4.0, 0), ('Room2', 'House1', 1, 2.5, 3.0, 4.0, 0), "
+                + "('Room3', 'House2', 0, 2.5, 3.0, 4.0, 0)");
+        jdbcTemplate.update("INSERT INTO device (deviceid, device_model, device_status, roomid, version) VALUES "
+                + "('Device1', 'Model1', 'ACTIVE', 'Room1', 0), ('Device2', 'Model2', 'DEACTIVATED', 'Room2', 0), "
+                + "('Device3', 'Model1', 'ACTIVE', 'Room3', 0)");
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    /**
+     * The devices in every room of the house are found in one statement, leaving out the devices of other houses.
+     */
+    @Test
+    void deviceSummariesOfHouseAreFoundInOneStatement() {
+        List<DeviceSummary> summaries = new ArrayList<>();
+        deviceRepository.findDeviceSummariesByHouseID(new HouseID("House1")).forEach(summaries::add);
+
+        assertEquals(2, summaries.size());
+        assertTrue(summaries.contains(new DeviceSummary(new DeviceID("Device1"), new DeviceModel("Model1"),
+                DeviceStatus.ACTIVE, new RoomID("Room1"))));
+        assertTrue(summaries.contains(new DeviceSummary(new DeviceID("Device2"), new DeviceModel("Model2"),
+                DeviceStatus.DEACTIVATED, new RoomID("Room2"))));
+        assertEquals(1, RecordingStatementInspector.STATEMENTS.size());
+    }
+
+    /**
+     * A house without rooms has no devices.
+     */
+    @Test
+    void houseWithoutRoomsHasNoDeviceSummaries() {
+        assertFalse(deviceRepository.findDeviceSummariesByHouseID(new HouseID("House3")).iterator().hasNext());
+    }
+}
@@ -122,86 +122,41 @@ class HouseRepositorySpringDataImpTest {
     }
 
     /**
-     * Test the {@code update} method when provided with a valid house entity.
+     * Test the {@code update} method with a change applied to a house entity stored in the repository.
      */
     @Test
-    void successUpdateHouse() {
-        //Create doubles
-        House houseDouble = mock(House.class);
-        HouseID houseIDDouble = mock(HouseID.class);
-
-        //Set behaviour
-        when(houseDouble.identity()).thenReturn(houseIDDouble);
-        when(houseRepositorySpringData.findById(houseDouble.identity().toString())).thenReturn(Optional.of(houseDataModelForUpdate));
-        when(houseDataModelForUpdate.updateFromDomain(houseDouble)).thenReturn(true);
-
-        // Act + Assert
-        assertNotNull(houseRepositorySpringDataImp.update(houseDouble));
-    }
-
-    /**
-     * Test the {@code update} method when the update from domain fails.
-     */
-    @Test
-    void failUpdateHouseWhenUpdateFromDomainFails() {
+    void successUpdateHouseWithChange() {
         // Create doubles
         House houseDouble = mock(House.class);
         HouseID houseIDDouble = mock(HouseID.class);
+        HouseDataModel houseDataModelDouble = mock(HouseDataModel.class);
 
         // Set behaviour
-        when(houseDouble.identity()).thenReturn(houseIDDouble);
-        when(houseRepositorySpringData.findById(houseDouble.identity().toString())).thenReturn(Optional.of(houseDataModelForUpdate));
-        when(houseDataModelForUpdate.updateFromDomain(houseDouble)).thenReturn(false);
-
-        // Act + Assert
-        assertNull(houseRepositorySpringDataImp.update(houseDouble));
-    }
-
-    /**
-     * Test the {@code update} method when the house does not exist in the repository.
-     */
-    @Test
-    void failUpdateHouseWhenHouseDoesNotExistInRepo() {
-        //Create doubles
-        House houseDouble = mock(House.class);
-        HouseID houseIDDouble = mock(HouseID.class);
-
-        //Set behaviour
-        when(houseDouble.identity()).thenReturn(houseIDDouble);
-        when(houseRepositorySpringData.findById(houseDouble.identity().toString())).thenReturn(Optional.empty());
-
-        // Act + Assert
-        assertNull(houseRepositorySpringDataImp.update(houseDouble));
-    }
-
-    /**
-     * Test the {@code updateReserved} method when provided with a valid house entity.
-     */
-    @Test
-    void successUpdateReservedHouse() {
-        // Create doubles
-        House houseDouble = mock(House.class);
-
-        // Set behaviour
-        when(houseDataModelForUpdate.updateFromDomain(houseDouble)).thenReturn(true);
+        when(houseRepositorySpringData.findById(houseIDDouble.toString())).thenReturn(Optional.of(houseDataModelDouble));
+        when(mapperHouseDataModel.toDomain(factoryHouse, houseDataModelDouble)).thenReturn(houseDouble);
+        when(houseDataModelDouble.updateFromDomain(houseDouble)).thenReturn(true);
 
         // Act + Assert
-        assertNotNull(houseRepositorySpringDataImp.updateReserved(houseDouble));
+        assertEquals(Optional.of(houseDouble), houseRepositorySpringDataImp.update(houseIDDouble, house -> house));
     }
 
     /**
-     * Test the {@code updateReserved} method when the update from domain fails.
+     * Test the {@code update} method with a change when the update from domain fails.
      */
     @Test
-    void failUpdateReservedHouseWhenUpdateFromDomainFails() {
+    void failUpdateHouseWithChangeWhenUpdateFromDomainFails() {
         // Create doubles
         House houseDouble = mock(House.class);
+        HouseID houseIDDouble = mock(HouseID.class);
+        HouseDataModel houseDataModelDouble = mock(HouseDataModel.class);
 
         // Set behaviour
-        when(houseDataModelForUpdate.updateFromDomain(houseDouble)).thenReturn(false);
+        when(houseRepositorySpringData.findById(houseIDDouble.toString())).thenReturn(Optional.of(houseDataModelDouble));
+        when(mapperHouseDataModel.toDomain(factoryHouse, houseDataModelDouble)).thenReturn(houseDouble);
+        when(houseDataModelDouble.updateFromDomain(houseDouble)).thenReturn(false);
 
         // Act + Assert
-        assertNull(houseRepositorySpringDataImp.updateReserved(houseDouble));
+        assertTrue(houseRepositorySpringDataImp.update(houseIDDouble, house -> house).isEmpty());
     }
 
     /**
@@ -261,43 +216,6 @@ class HouseRepositorySpringDataImpTest {
         assertFalse(result.isPresent());
     }
 
-    /**
-     * Test the {@code findEntityByIDAndReserve} method to retrieve a house entity by its ID and reserve it.
-     */
-    @Test
-    void successFindEntityByIDAndReserve() {
-        House houseDouble = mock(House.class);
-        HouseID houseIDDouble = mock(HouseID.class);
-        HouseDataModel houseDataModelDouble = mock(HouseDataModel.class);
-
-        // Set behaviour
-        when(houseRepositorySpringData.findById(houseIDDouble.toString())).thenReturn(Optional.of(houseDataModelDouble));
-        when(mapperHouseDataModel.toDomain(factoryHouse, houseDataModelDouble)).thenReturn(houseDouble);
-
-        // Act
-        Optional<House> result = houseRepositorySpringDataImp.findEntityByIDAndReserve(houseIDDouble);
-
-        //Assert
-        assertTrue(result.isPresent());
-    }
-
-    /**
-     * Test the {@code findEntityByIDAndReserve} method when failing to find a house entity that does not exist in the repository.
-     */
-    @Test
-    void failFindEntityByIDAndReserveWhenHouseDoesNotExistInRepo() {
-        HouseID houseIDDouble = mock(HouseID.class);
-
-        // Set behaviour
-        when(houseRepositorySpringData.findById(houseIDDouble.toString())).thenReturn(Optional.empty());
-
-        // Act
-        Optional<House> result = houseRepositorySpringDataImp.findEntityByIDAndReserve(houseIDDouble);
-
-        //Assert
-        assertFalse(result.isPresent());
-    }
-
     /**
      * Test the {@code containsEntityByID} method to ensure it correctly identifies if a house entity exists by its ID.
      */
@@ -1,5 +1,6 @@
 package smarthome.persistence.springdata.repositoriesspringdata;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -45,6 +46,13 @@ class InstantTimeValueTestRepositorySpringDataImpTest {
     @MockBean
     MapperInstantTimeValueDataModel mapperInstantTimeValueDataModel;
 
+    /**
+     * Mocked bean of EntityManager
+     * to be injected into the class under test (class with @InjectMocks annotation).
+     */
+    @MockBean
+    EntityManager entityManager;
+
     /**
      * Class under test where mocked beans (attributes of the class) should be injected by Spring into.
      */
@@ -206,244 +206,34 @@ class RoomRepositorySpringDataImpTest {
     }
 
     /**
-     * Test for successfully updating a room in the repository.
+     * Test for successfully updating a room in the repository through a change applied to the stored room.
      */
     @Test
-    void successUpdateRoom() {
+    void successfullyUpdateRoomWithChange() {
         RoomID roomIDDouble = mock(RoomID.class);
-        RoomFloor roomFloorDouble = mock(RoomFloor.class);
-        RoomDimensions roomDimensionsDouble = mock(RoomDimensions.class);
-        HouseID houseIDDouble = mock(HouseID.class);
         Room roomDouble = mock(Room.class);
-
         when(roomIDDouble.toString()).thenReturn("roomID");
-        when(roomFloorDouble.toString()).thenReturn("2");
-        when(roomDimensionsDouble.getHeight()).thenReturn(3.0);
-        when(roomDimensionsDouble.getWidth()).thenReturn(3.0);
-        when(roomDimensionsDouble.getLength()).thenReturn(3.0);
-        when(houseIDDouble.toString()).thenReturn("houseID");
-        when(roomDouble.identity()).thenReturn(roomIDDouble);
-        when(roomDouble.getRoomFloor()).thenReturn(roomFloorDouble);
-        when(roomDouble.getRoomDimensions()).thenReturn(roomDimensionsDouble);
-        when(roomDouble.getHouseID()).thenReturn(houseIDDouble);
-        when(roomDataModel.getRoomID()).thenReturn("roomID");
-        when(roomDataModel.getFloor()).thenReturn(2);
-        when(roomDataModel.getHeight()).thenReturn(3.0);
-        when(roomDataModel.getWidth()).thenReturn(3.0);
-        when(roomDataModel.getLength()).thenReturn(3.0);
-        when(roomDataModel.getHouseID()).thenReturn("houseID");
 
-        Optional<RoomDataModel> roomDataModelOptional = Optional.of(roomDataModel);
-        when(roomRepositorySpringData.findById("roomID")).thenReturn(roomDataModelOptional);
+        when(roomRepositorySpringData.findById("roomID")).thenReturn(Optional.of(roomDataModel));
+        when(mapperRoomDataModel.toDomain(factoryRoom, roomDataModel)).thenReturn(roomDouble);
         when(roomDataModel.updateFromDomain(roomDouble)).thenReturn(true);
-        when(roomRepositorySpringData.save(roomDataModel)).thenReturn(roomDataModel);
-
-        Room updatedRoom = roomRepositorySpringDataImp.update(roomDouble);
-        assertNotNull(updatedRoom);
-    }
-
-    /**
-     * Test for unsuccessfully updating a room in the repository (update failed).
-     */
-    @Test
-    void failUpdateRoom() {
-        RoomID roomIDDouble = mock(RoomID.class);
-        RoomFloor roomFloorDouble = mock(RoomFloor.class);
-        RoomDimensions roomDimensionsDouble = mock(RoomDimensions.class);
-        HouseID houseIDDouble = mock(HouseID.class);
-        Room roomDouble = mock(Room.class);
-
-        when(roomIDDouble.toString()).thenReturn("roomID");
-        when(roomFloorDouble.toString()).thenReturn("2");
-        when(roomDimensionsDouble.getHeight()).thenReturn(3.0);
-        when(roomDimensionsDouble.getWidth()).thenReturn(3.0);
-        when(roomDimensionsDouble.getLength()).thenReturn(3.0);
-        when(houseIDDouble.toString()).thenReturn("houseID");
-        when(roomDouble.identity()).thenReturn(roomIDDouble);
-        when(roomDouble.getRoomFloor()).thenReturn(roomFloorDouble);
-        when(roomDouble.getRoomDimensions()).thenReturn(roomDimensionsDouble);
-        when(roomDouble.getHouseID()).thenReturn(houseIDDouble);
-        when(roomDataModel.getRoomID()).thenReturn("roomID");
-        when(roomDataModel.getFloor()).thenReturn(2);
-        when(roomDataModel.getHeight()).thenReturn(3.0);
-        when(roomDataModel.getWidth()).thenReturn(3.0);
-        when(roomDataModel.getLength()).thenReturn(3.0);
-        when(roomDataModel.getHouseID()).thenReturn("houseID");
-
-        Optional<RoomDataModel> roomDataModelOptional = Optional.of(roomDataModel);
-        when(roomRepositorySpringData.findById("roomID")).thenReturn(roomDataModelOptional);
-        when(roomDataModel.updateFromDomain(roomDouble)).thenReturn(false);
-        when(roomRepositorySpringData.save(roomDataModel)).thenReturn(roomDataModel);
 
-        Room updatedRoom = roomRepositorySpringDataImp.update(roomDouble);
-        assertNull(updatedRoom);
+        Optional<Room> updatedRoom = roomRepositorySpringDataImp.update(roomIDDouble, room -> room);
+        assertEquals(Optional.of(roomDouble), updatedRoom);
     }
 
     /**
-     * Test for unsuccessfully updating a room in the repository (room not found).
+     * Test for unsuccessfully updating a room in the repository through a change (room not found).
      */
     @Test
-    void failUpdateRoomNotFoundInRepo() {
+    void failUpdateRoomWithChangeNotFound() {
         RoomID roomIDDouble = mock(RoomID.class);
-        RoomFloor roomFloorDouble = mock(RoomFloor.class);
-        RoomDimensions roomDimensionsDouble = mock(RoomDimensions.class);
-        HouseID houseIDDouble = mock(HouseID.class);
-        Room roomDouble = mock(Room.class);
-
         when(roomIDDouble.toString()).thenReturn("roomID");
-        when(roomFloorDouble.toString()).thenReturn("2");
-        when(roomDimensionsDouble.getHeight()).thenReturn(3.0);
-        when(roomDimensionsDouble.getWidth()).thenReturn(3.0);
-        when(roomDimensionsDouble.getLength()).thenReturn(3.0);
-        when(houseIDDouble.toString()).thenReturn("houseID");
-        when(roomDouble.identity()).thenReturn(roomIDDouble);
-        when(roomDouble.getRoomFloor()).thenReturn(roomFloorDouble);
-        when(roomDouble.getRoomDimensions()).thenReturn(roomDimensionsDouble);
-        when(roomDouble.getHouseID()).thenReturn(houseIDDouble);
-
-        Optional<RoomDataModel> roomDataModelOptional = Optional.empty();
-        when(roomRepositorySpringData.findById("roomID")).thenReturn(roomDataModelOptional);
 
-        Room updatedRoom = roomRepositorySpringDataImp.update(roomDouble);
-        assertNull(updatedRoom);
-    }
+        when(roomRepositorySpringData.findById("roomID")).thenReturn(Optional.empty());
 
-    /**
-     * Test for successfully updating a reserved room in the repository.
-     */
-    @Test
-    void sucessfullyUpdateReservedRoom() {
-        RoomID roomIDDouble = mock(RoomID.class);
-        RoomFloor roomFloorDouble = mock(RoomFloor.class);
-        RoomDimensions roomDimensionsDouble = mock(RoomDimensions.class);
-        HouseID houseIDDouble = mock(HouseID.class);
-        Room roomDouble = mock(Room.class);
-
-        when(roomIDDouble.toString()).thenReturn("roomID");
-        when(roomFloorDouble.toString()).thenReturn("2");
-        when(roomDimensionsDouble.getHeight()).thenReturn(3.0);
-        when(roomDimensionsDouble.getWidth()).thenReturn(3.0);
-        when(roomDimensionsDouble.getLength()).thenReturn(3.0);
-        when(houseIDDouble.toString()).thenReturn("houseID");
-        when(roomDouble.identity()).thenReturn(roomIDDouble);
-        when(roomDouble.getRoomFloor()).thenReturn(roomFloorDouble);
-        when(roomDouble.getRoomDimensions()).thenReturn(roomDimensionsDouble);
-        when(roomDouble.getHouseID()).thenReturn(houseIDDouble);
-
-        when(roomDataModel.updateFromDomain(roomDouble)).thenReturn(true);
-        when(roomDataModel.getRoomID()).thenReturn("roomID2");
-        when(roomDataModel.getFloor()).thenReturn(2);
-        when(roomDataModel.getHeight()).thenReturn(3.0);
-        when(roomDataModel.getWidth()).thenReturn(3.0);
-        when(roomDataModel.getLength()).thenReturn(3.0);
-        when(roomDataModel.getHouseID()).thenReturn("houseID");
-        when(roomRepositorySpringData.save(roomDataModel)).thenReturn(roomDataModel);
-
-        Room updatedRoom = roomRepositorySpringDataImp.updateReserved(roomDouble);
-        assertNotNull(updatedRoom);
-    }
-
-    /**
-     * Test for unsuccessfully updating a reserved room in the repository (update failed).
-     */
-    @Test
-    void failUpdateRoomReserved() {
-        RoomID roomIDDouble = mock(RoomID.class);
-        RoomFloor roomFloorDouble = mock(RoomFloor.class);
-        RoomDimensions roomDimensionsDouble = mock(RoomDimensions.class);
-        HouseID houseIDDouble = mock(HouseID.class);
-        Room roomDouble = mock(Room.class);
-
-        when(roomIDDouble.toString()).thenReturn("roomID");
-        when(roomFloorDouble.toString()).thenReturn("2");
-        when(roomDimensionsDouble.getHeight()).thenReturn(3.0);
-        when(roomDimensionsDouble.getWidth()).thenReturn(3.0);
-        when(roomDimensionsDouble.getLength()).thenReturn(3.0);
-        when(houseIDDouble.toString()).thenReturn("houseID");
-        when(roomDouble.identity()).thenReturn(roomIDDouble);
-        when(roomDouble.getRoomFloor()).thenReturn(roomFloorDouble);
-        when(roomDouble.getRoomDimensions()).thenReturn(roomDimensionsDouble);
-        when(roomDouble.getHouseID()).thenReturn(houseIDDouble);
-
-        when(roomDataModel.updateFromDomain(roomDouble)).thenReturn(false);
-        when(roomDataModel.getRoomID()).thenReturn("roomID2");
-        when(roomDataModel.getFloor()).thenReturn(2);
-        when(roomDataModel.getHeight()).thenReturn(3.0);
-        when(roomDataModel.getWidth()).thenReturn(3.0);
-        when(roomDataModel.getLength()).thenReturn(3.0);
-        when(roomDataModel.getHouseID()).thenReturn("houseID");
-        when(roomRepositorySpringData.save(roomDataModel)).thenReturn(roomDataModel);
-
-        Room updatedRoom = roomRepositorySpringDataImp.updateReserved(roomDouble);
-        assertNull(updatedRoom);
-    }
-
-    /**
-     * Test for successfully finding and reserving a room by ID in the repository.
-     */
-    @Test
-    void successfullyFindEntityByIDAndReserve() {
-        RoomID roomIDDouble = mock(RoomID.class);
-        RoomFloor roomFloorDouble = mock(RoomFloor.class);
-        RoomDimensions roomDimensionsDouble = mock(RoomDimensions.class);
-        HouseID houseIDDouble = mock(HouseID.class);
-        Room roomDouble = mock(Room.class);
-
-        when(roomIDDouble.toString()).thenReturn("roomID");
-        when(roomFloorDouble.toString()).thenReturn("2");
-        when(roomDimensionsDouble.getHeight()).thenReturn(3.0);
-        when(roomDimensionsDouble.getWidth()).thenReturn(3.0);
-        when(roomDimensionsDouble.getLength()).thenReturn(3.0);
-        when(houseIDDouble.toString()).thenReturn("houseID");
-        when(roomDouble.identity()).thenReturn(roomIDDouble);
-        when(roomDouble.getRoomFloor()).thenReturn(roomFloorDouble);
-        when(roomDouble.getRoomDimensions()).thenReturn(roomDimensionsDouble);
-        when(roomDouble.getHouseID()).thenReturn(houseIDDouble);
-
-        when(roomDataModel.updateFromDomain(roomDouble)).thenReturn(true);
-        when(roomDataModel.getRoomID()).thenReturn("roomID2");
-        when(roomDataModel.getFloor()).thenReturn(2);
-        when(roomDataModel.getHeight()).thenReturn(3.0);
-        when(roomDataModel.getWidth()).thenReturn(3.0);
-        when(roomDataModel.getLength()).thenReturn(3.0);
-        when(roomDataModel.getHouseID()).thenReturn("houseID");
-        when(roomRepositorySpringData.save(roomDataModel)).thenReturn(roomDataModel);
-
-        Optional<RoomDataModel> optionalRoomDataModel = Optional.of(roomDataModel);
-        when(roomRepositorySpringData.findById("roomID")).thenReturn(optionalRoomDataModel);
-        when(mapperRoomDataModel.toDomain(factoryRoom, optionalRoomDataModel.get())).thenReturn(roomDouble);
-
-        Optional<Room> roomOptional = roomRepositorySpringDataImp.findEntityByIDAndReserve(roomIDDouble);
-        assertNotNull(roomOptional);
-    }
-
-    /**
-     * Test for unsuccessfully finding and reserving a room by ID in the repository (room not found).
-     */
-    @Test
-    void failFindEntityByIDAndReserve() {
-        RoomID roomIDDouble = mock(RoomID.class);
-        RoomFloor roomFloorDouble = mock(RoomFloor.class);
-        RoomDimensions roomDimensionsDouble = mock(RoomDimensions.class);
-        HouseID houseIDDouble = mock(HouseID.class);
-        Room roomDouble = mock(Room.class);
-
-        when(roomIDDouble.toString()).thenReturn("roomID");
-        when(roomFloorDouble.toString()).thenReturn("2");
-        when(roomDimensionsDouble.getHeight()).thenReturn(3.0);
-        when(roomDimensionsDouble.getWidth()).thenReturn(3.0);
-        when(roomDimensionsDouble.getLength()).thenReturn(3.0);
-        when(houseIDDouble.toString()).thenReturn("houseID");
-        when(roomDouble.identity()).thenReturn(roomIDDouble);
-        when(roomDouble.getRoomFloor()).thenReturn(roomFloorDouble);
-        when(roomDouble.getRoomDimensions()).thenReturn(roomDimensionsDouble);
-        when(roomDouble.getHouseID()).thenReturn(houseIDDouble);
-
-        Optional<RoomDataModel> optionalRoomDataModel = Optional.empty();
-        when(roomRepositorySpringData.findById("roomID")).thenReturn(optionalRoomDataModel);
-
-        Optional<Room> roomOptional = roomRepositorySpringDataImp.findEntityByIDAndReserve(roomIDDouble);
-        assertNotNull(roomOptional);
+        Optional<Room> updatedRoom = roomRepositorySpringDataImp.update(roomIDDouble, room -> room);
+        assertTrue(updatedRoom.isEmpty());
     }
 
     /**
@@ -0,0 +1,99 @@
+package smarthome.persistence.springdata.repositoriesspringdata;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import smarthome.domain.actuators.BlindSetterActuator;
+import smarthome.domain.repository.TopologyRepository.ActuatorTarget;
+import smarthome.domain.repository.TopologyRepository.FunctionalityLocation;
+import smarthome.domain.valueobjects.ActuatorFunctionalityID;
+import smarthome.domain.valueobjects.DeviceID;
+import smarthome.domain.valueobjects.DeviceStatus;
+import smarthome.domain.valueobjects.RoomID;
+import smarthome.domain.valueobjects.SensorFunctionalityID;
+import smarthome.persistence.jpa.datamodel.MapperActuatorDataModel;
+import smarthome.util.config.FunctionalityRegistryConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the topology projection joins sensors and actuators to their devices in a single statement.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "smarthome.persistence.springdata.repositoriesspringdata.TopologyRepositorySpringDataImpTest$RecordingStatementInspector")
+@Import({TopologyRepositorySpringDataImp.class, MapperActuatorDataModel.class,
+        FunctionalityRegistryConfig.class})
+class TopologyRepositorySpringDataImpTest {
+
+    /**
+     * Records the SQL of every statement Hibernate prepares, so the round trips of the projection can be counted.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private TopologyRepositorySpringDataImp topologyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO device (deviceid, device_model, device_status, roomid, version) VALUES "
+                + "('Device1', 'Model', 'ACTIVE', 'Room1', 0), ('Device2', 'Model', 'ACTIVE', 'Room2', 0)");
+        jdbcTemplate.update("INSERT INTO sensor (sensorid, deviceid, sensor_functionalityid) VALUES "
+                + "('Sensor1', 'Device1', 'TemperatureCelsius'), ('Sensor2', 'DeviceWithoutRow', 'TemperatureCelsius')");
+        jdbcTemplate.update("INSERT INTO actuator (actuatorid, actuator_functionalityid, deviceid) VALUES "
+                + "('Actuator1', 'BlindSetter', 'Device2'), ('Actuator2', 'BlindSetter', 'DeviceWithoutRow')");
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    /**
+     * The location of every sensor and actuator of an existing device is found in one statement, with the sensor and
+     * actuator functionalities told apart.
+     */
+    @Test
+    void functionalityLocationsAreFoundInOneStatement() {
+        List<FunctionalityLocation> locations = new ArrayList<>();
+        topologyRepository.findFunctionalityLocations().forEach(locations::add);
+
+        assertEquals(2, locations.size());
+        assertTrue(locations.contains(new FunctionalityLocation(new SensorFunctionalityID("TemperatureCelsius"),
+                new RoomID("Room1"), new DeviceID("Device1"))));
+        assertTrue(locations.contains(new FunctionalityLocation(new ActuatorFunctionalityID("BlindSetter"),
+                new RoomID("Room2"), new DeviceID("Device2"))));
+        assertEquals(1, RecordingStatementInspector.STATEMENTS.size());
+    }
+
+    /**
+     * The actuators of a functionality are found with the status and room of their devices in one statement,
+     * leaving out the ones of devices that do not exist.
+     */
+    @Test
+    void actuatorTargetsAreFoundInOneStatement() {
+        List<ActuatorTarget> targets = new ArrayList<>();
+        topologyRepository.findActuatorTargets(new ActuatorFunctionalityID("BlindSetter")).forEach(targets::add);
+
+        assertEquals(1, targets.size());
+        assertInstanceOf(BlindSetterActuator.class, targets.get(0).actuator());
+        assertEquals(new DeviceID("Device2"), targets.get(0).actuator().getDeviceName());
+        assertEquals(DeviceStatus.ACTIVE, targets.get(0).deviceStatus());
+        assertEquals(new RoomID("Room2"), targets.get(0).roomID());
+        assertEquals(1, RecordingStatementInspector.STATEMENTS.size());
+    }
+}
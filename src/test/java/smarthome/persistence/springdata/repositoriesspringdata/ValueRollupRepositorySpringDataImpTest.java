@@ -0,0 +1,133 @@
+package smarthome.persistence.springdata.repositoriesspringdata;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import smarthome.domain.valueobjects.RollupResolution;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.domain.valueobjects.ValueRollup;
+import smarthome.persistence.jpa.datamodel.MapperValueRollupDataModel;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the rollups merged and backfilled through the Spring Data repository are never counted twice or lost.
+ * The tests run outside a test transaction, so every merge commits on its own, as it does when the application ingests
+ * concurrent batches.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ValueRollupRepositorySpringDataImp.class, MapperValueRollupDataModel.class})
+class ValueRollupRepositorySpringDataImpTest {
+
+    private static final int THREADS = 8;
+    private static final int MERGES_PER_THREAD = 10;
+    private static final SensorID SENSOR = new SensorID("Sensor1");
+    private static final Timestamp START = Timestamp.valueOf("2024-04-01 00:00:00");
+    private static final Timestamp END = Timestamp.valueOf("2024-04-02 00:00:00");
+
+    @Autowired
+    private ValueRollupRepositorySpringDataImp valueRollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO sensor (sensorid, deviceid, sensor_functionalityid) VALUES "
+                + "('Sensor1', 'Device1', 'PowerAverage')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM value_rollup");
+        jdbcTemplate.update("DELETE FROM value_rollup_backfill");
+        jdbcTemplate.update("DELETE FROM sensor");
+    }
+
+    private List<ValueRollup> rollupsOfDay() {
+        return valueRollupRepository.findBySensorIdBetweenPeriodOfTime(SENSOR, RollupResolution.ONE_DAY, START, END);
+    }
+
+    /**
+     * Concurrent merges into the same new bucket each insert or update it exactly once, so its count is the number of
+     * merges.
+     */
+    @Test
+    void concurrentMergesIntoSameBucketAreAllCounted() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int merge = 0; merge < MERGES_PER_THREAD; merge++)
+                        valueRollupRepository.mergeAll(List.of(ValueRollup.of(SENSOR, RollupResolution.ONE_DAY, START, 10, "W")));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures)
+                future.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<ValueRollup> rollups = rollupsOfDay();
+        assertEquals(1, rollups.size());
+        assertEquals(THREADS * MERGES_PER_THREAD, rollups.get(0).getCount());
+        assertEquals(THREADS * MERGES_PER_THREAD * 10.0, rollups.get(0).getSum());
+    }
+
+    /**
+     * A sensor without rollups is backfilled once; a later backfill leaves its rollups alone and does not compute them.
+     */
+    @Test
+    void sensorIsOnlyBackfilledWhileItHasNoRollups() {
+        assertTrue(valueRollupRepository.backfill(SENSOR,
+                () -> List.of(ValueRollup.of(SENSOR, RollupResolution.ONE_DAY, START, 10, "W"))));
+
+        assertFalse(valueRollupRepository.backfill(SENSOR, () -> {
+            throw new AssertionError("Rollups of a backfilled sensor must not be computed again");
+        }));
+        assertEquals(1, rollupsOfDay().get(0).getCount());
+    }
+
+    /**
+     * A sensor whose readings produce no rollup is still recorded as backfilled, so its readings are not read again.
+     */
+    @Test
+    void sensorWithoutRollupsIsOnlyBackfilledOnce() {
+        assertTrue(valueRollupRepository.backfill(SENSOR, List::of));
+
+        assertFalse(valueRollupRepository.backfill(SENSOR, () -> {
+            throw new AssertionError("Readings of a backfilled sensor must not be read again");
+        }));
+        assertTrue(rollupsOfDay().isEmpty());
+    }
+
+    /**
+     * A sensor that already has rollups, merged on ingestion, is recorded as backfilled without computing them.
+     */
+    @Test
+    void sensorWithRollupsIsNotBackfilled() {
+        valueRollupRepository.mergeAll(List.of(ValueRollup.of(SENSOR, RollupResolution.ONE_DAY, START, 10, "W")));
+
+        assertFalse(valueRollupRepository.backfill(SENSOR, () -> {
+            throw new AssertionError("Rollups of a sensor that has them must not be computed");
+        }));
+        assertEquals(1, rollupsOfDay().get(0).getCount());
+    }
+}
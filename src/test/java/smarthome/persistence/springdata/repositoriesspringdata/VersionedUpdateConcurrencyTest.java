@@ -0,0 +1,207 @@
+package smarthome.persistence.springdata.repositoriesspringdata;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import smarthome.domain.device.Device;
+import smarthome.domain.device.ImpFactoryDevice;
+import smarthome.domain.house.House;
+import smarthome.domain.house.ImpFactoryHouse;
+import smarthome.domain.room.ImpFactoryRoom;
+import smarthome.domain.room.Room;
+import smarthome.domain.valueobjects.*;
+import smarthome.persistence.jpa.datamodel.MapperDeviceDataModel;
+import smarthome.persistence.jpa.datamodel.MapperHouseDataModel;
+import smarthome.persistence.jpa.datamodel.MapperRoomDataModel;
+import smarthome.util.exceptions.ConcurrentUpdateException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that versioned updates of devices, rooms and houses never lose a write when they run concurrently.
+ * Each test runs outside a test transaction, so every read and write of the repositories commits on its own, as it
+ * does when the application serves concurrent requests.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DeviceRepositorySpringDataImp.class, ImpFactoryDevice.class, MapperDeviceDataModel.class,
+        RoomRepositorySpringDataImp.class, ImpFactoryRoom.class, MapperRoomDataModel.class,
+        HouseRepositorySpringDataImp.class, ImpFactoryHouse.class, MapperHouseDataModel.class})
+class VersionedUpdateConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 25;
+    private static final RoomID ROOM = new RoomID("Room1");
+
+    @Autowired
+    private DeviceRepositorySpringDataImp deviceRepository;
+
+    @Autowired
+    private RoomRepositorySpringDataImp roomRepository;
+
+    @Autowired
+    private HouseRepositorySpringDataImp houseRepository;
+
+    @Autowired
+    private ImpFactoryDevice factoryDevice;
+
+    @Autowired
+    private ImpFactoryRoom factoryRoom;
+
+    @Autowired
+    private ImpFactoryHouse factoryHouse;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM device");
+        jdbcTemplate.update("DELETE FROM room");
+        jdbcTemplate.update("DELETE FROM house");
+    }
+
+    /**
+     * Replaces a device with one whose model, read as a counter, is one higher.
+     */
+    private Device incrementModel(Device device) {
+        int counter = Integer.parseInt(device.getDeviceModel().toString());
+        return factoryDevice.createDevice(device.identity(), new DeviceModel(String.valueOf(counter + 1)),
+                device.getRoomID(), device.getDeviceStatus());
+    }
+
+    private int modelOf(DeviceID deviceID) {
+        return Integer.parseInt(deviceRepository.findEntityByID(deviceID).orElseThrow().getDeviceModel().toString());
+    }
+
+    /**
+     * Runs a task on every thread at once and waits for all of them to finish.
+     */
+    private void runConcurrently(IntConsumer task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int threadNumber = thread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.accept(threadNumber);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures)
+                future.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Concurrent updates of different devices never conflict, so every one of them is applied.
+     */
+    @Test
+    void concurrentUpdatesOfDifferentDevicesAreAllApplied() throws Exception {
+        for (int thread = 0; thread < THREADS; thread++)
+            deviceRepository.save(factoryDevice.createDevice(new DeviceID("Device" + thread), new DeviceModel("0"),
+                    ROOM, DeviceStatus.ACTIVE));
+
+        runConcurrently(thread -> {
+            for (int update = 0; update < UPDATES_PER_THREAD; update++)
+                assertTrue(deviceRepository.update(new DeviceID("Device" + thread), this::incrementModel).isPresent());
+        });
+
+        for (int thread = 0; thread < THREADS; thread++)
+            assertEquals(UPDATES_PER_THREAD, modelOf(new DeviceID("Device" + thread)));
+    }
+
+    /**
+     * Concurrent updates of the same device are each either applied exactly once or rejected, never lost: the
+     * counter in the stored device equals the number of updates that reported success.
+     */
+    @Test
+    void concurrentUpdatesOfSameDeviceAreNeverLost() throws Exception {
+        DeviceID deviceID = new DeviceID("Device1");
+        deviceRepository.save(factoryDevice.createDevice(deviceID, new DeviceModel("0"), ROOM, DeviceStatus.ACTIVE));
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            for (int update = 0; update < UPDATES_PER_THREAD; update++) {
+                try {
+                    if (deviceRepository.update(deviceID, this::incrementModel).isPresent())
+                        applied.incrementAndGet();
+                } catch (ConcurrentUpdateException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(THREADS * UPDATES_PER_THREAD, applied.get() + rejected.get());
+        assertTrue(applied.get() > 0);
+        assertEquals(applied.get(), modelOf(deviceID));
+    }
+
+    /**
+     * A room updated by another writer between the read and the write of an update is read again, and the update is
+     * applied on top of the other writer's change.
+     */
+    @Test
+    void updateOfRoomChangedInBetweenIsAppliedOnTopOfTheChange() {
+        RoomID roomID = new RoomID("Room2");
+        roomRepository.save(factoryRoom.createRoom(roomID, new RoomFloor(0), new RoomDimensions(2.5, 3.0, 4.0),
+                new HouseID("House1")));
+        AtomicInteger attempts = new AtomicInteger();
+
+        roomRepository.update(roomID, room -> {
+            if (attempts.incrementAndGet() == 1)
+                roomRepository.update(roomID, otherRoom -> otherRoom.editRoom(
+                        new RoomFloor(otherRoom.getRoomFloor().getRoomFloor() + 10), otherRoom.getRoomDimensions()));
+            return room.editRoom(new RoomFloor(room.getRoomFloor().getRoomFloor() + 1), room.getRoomDimensions());
+        });
+
+        assertEquals(2, attempts.get());
+        assertEquals(11, roomRepository.findEntityByID(roomID).orElseThrow().getRoomFloor().getRoomFloor());
+    }
+
+    /**
+     * A house whose location is edited by another writer between the read and the write of an update is read again,
+     * so the address of the update and the GPS code of the other writer are both kept.
+     */
+    @Test
+    void updateOfHouseChangedInBetweenKeepsBothChanges() {
+        HouseID houseID = new HouseID("House1");
+        Address address = new Address("Rua Dr. António Bernardino de Almeida", "24B", "4200-072", "Porto",
+                "Portugal");
+        Address newAddress = new Address("Rua do Almada", "10", "4050-032", "Porto", "Portugal");
+        GPSCode newGpsCode = new GPSCode(41.149, -8.611);
+        houseRepository.save(factoryHouse.createHouseWithOrWithoutLocation(houseID,
+                new Location(address, new GPSCode(41.178, -8.608))));
+        AtomicInteger attempts = new AtomicInteger();
+
+        houseRepository.update(houseID, house -> {
+            if (attempts.incrementAndGet() == 1)
+                houseRepository.update(houseID, otherHouse -> otherHouse.editLocation(
+                        otherHouse.getHouseLocation().getAddress(), newGpsCode) != null ? otherHouse : null);
+            house.editLocation(newAddress, house.getHouseLocation().getGpsCode());
+            return house;
+        });
+
+        Location location = houseRepository.findEntityByID(houseID).orElseThrow().getHouseLocation();
+        assertEquals(2, attempts.get());
+        assertEquals(newAddress, location.getAddress());
+        assertEquals(newGpsCode, location.getGpsCode());
+    }
+}
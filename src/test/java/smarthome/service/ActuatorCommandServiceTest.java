@@ -0,0 +1,411 @@
+package smarthome.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.actuators.BlindSetterActuator;
+import smarthome.domain.actuators.DecimalSetterActuator;
+import smarthome.domain.actuators.SwitchActuator;
+import smarthome.domain.device.Device;
+import smarthome.domain.repository.ActuatorRepository;
+import smarthome.domain.repository.DeviceRepository;
+import smarthome.domain.valueobjects.*;
+import smarthome.persistence.cache.CachingActuatorRepository;
+import smarthome.persistence.cache.TopologyCache;
+import smarthome.persistence.repositoriesmem.ActuatorStateRepository;
+import smarthome.persistence.repositoriesmem.ActuatorStateRepositoryMem;
+import smarthome.service.internaldto.InternalActuatorCommandDTO;
+import smarthome.util.exceptions.ActuatorNotFoundException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for the {@code ActuatorCommandService} class. Unless stated otherwise, the worker tasks are queued and run
+ * by hand, so the interleaving of requests and workers is deterministic.
+ */
+class ActuatorCommandServiceTest {
+
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(50);
+
+    private final ActuatorID blindID = new ActuatorID("Blind1");
+    private final DeviceID deviceID = new DeviceID("Device1");
+
+    private ActuatorRepository actuatorRepositoryDouble;
+    private DeviceRepository deviceRepositoryDouble;
+    private ScheduledExecutorService schedulerDouble;
+    private Map<ActuatorID, ActuatorState> stateData;
+    private ActuatorStateRepositoryMem actuatorStateRepository;
+    private Queue<Runnable> workerTasks;
+    private ActuatorCommandService service;
+
+    @BeforeEach
+    void setUp() {
+        actuatorRepositoryDouble = mock(ActuatorRepository.class);
+        deviceRepositoryDouble = mock(DeviceRepository.class);
+        schedulerDouble = mock(ScheduledExecutorService.class);
+        stateData = new ConcurrentHashMap<>();
+        actuatorStateRepository = new ActuatorStateRepositoryMem(stateData);
+        workerTasks = new ArrayDeque<>();
+        service = new ActuatorCommandService(actuatorRepositoryDouble, deviceRepositoryDouble, actuatorStateRepository,
+                workerTasks::add, schedulerDouble, FLUSH_INTERVAL);
+
+        addBlind(blindID, deviceID);
+        Device device = mock(Device.class);
+        when(device.isActive()).thenReturn(true);
+        when(deviceRepositoryDouble.findEntityByID(deviceID)).thenReturn(Optional.of(device));
+    }
+
+    private void addBlind(ActuatorID actuatorID, DeviceID deviceID) {
+        when(actuatorRepositoryDouble.containsEntityByID(actuatorID)).thenReturn(true);
+        when(actuatorRepositoryDouble.findEntityByID(actuatorID)).thenReturn(Optional.of(
+                new BlindSetterActuator(actuatorID, new ActuatorFunctionalityID("BlindSetter"), null, deviceID)));
+    }
+
+    private void runWorkerTasks() {
+        while (!workerTasks.isEmpty())
+            workerTasks.poll().run();
+    }
+
+    private ActuatorCommandStatus statusOf(ActuatorCommandID commandID) {
+        return service.findCommand(commandID).orElseThrow().status;
+    }
+
+    /**
+     * A queued command stays pending until a worker applies it, and its state is written with the next batch.
+     */
+    @Test
+    void queuedCommandIsAppliedByWorkerAndWrittenWithNextBatch() {
+        ActuatorCommandID commandID = service.enqueueCommand(blindID, 40);
+
+        InternalActuatorCommandDTO command = service.findCommand(commandID).orElseThrow();
+        assertEquals(ActuatorCommandStatus.PENDING, command.status);
+        assertEquals(blindID, command.actuatorID);
+        assertEquals(40, command.value);
+
+        runWorkerTasks();
+        assertEquals(ActuatorCommandStatus.APPLIED, statusOf(commandID));
+        verify(schedulerDouble).schedule(any(Runnable.class), eq(FLUSH_INTERVAL.toMillis()), eq(TimeUnit.MILLISECONDS));
+        assertTrue(!stateData.containsKey(blindID));
+
+        service.flushAppliedStates();
+        ActuatorState state = stateData.get(blindID);
+        assertEquals(40, state.getValue());
+        assertEquals(commandID, state.getCommandID());
+    }
+
+    /**
+     * Commands arriving before a worker takes the previous one replace it, so only the newest is applied.
+     */
+    @Test
+    void newerCommandSupersedesPendingCommandOfSameActuator() {
+        ActuatorCommandID first = service.enqueueCommand(blindID, 10);
+        ActuatorCommandID second = service.enqueueCommand(blindID, 20);
+        ActuatorCommandID third = service.enqueueCommand(blindID, 30);
+
+        assertEquals(1, workerTasks.size());
+        assertEquals(ActuatorCommandStatus.SUPERSEDED, statusOf(first));
+        assertEquals(ActuatorCommandStatus.SUPERSEDED, statusOf(second));
+
+        runWorkerTasks();
+        service.flushAppliedStates();
+
+        assertEquals(ActuatorCommandStatus.APPLIED, statusOf(third));
+        assertEquals(30, stateData.get(blindID).getValue());
+        verify(actuatorRepositoryDouble, times(1)).findEntityByID(blindID);
+    }
+
+    /**
+     * Commands of different actuators are handed to separate worker tasks, and their states are written in one batch.
+     */
+    @Test
+    void commandsOfDifferentActuatorsAreAppliedSeparatelyAndWrittenTogether() {
+        ActuatorStateRepository stateRepositoryDouble = mock(ActuatorStateRepository.class);
+        service = new ActuatorCommandService(actuatorRepositoryDouble, deviceRepositoryDouble, stateRepositoryDouble,
+                workerTasks::add, schedulerDouble, FLUSH_INTERVAL);
+        ActuatorID secondBlindID = new ActuatorID("Blind2");
+        addBlind(secondBlindID, deviceID);
+
+        service.enqueueCommand(blindID, 10);
+        service.enqueueCommand(secondBlindID, 90);
+        assertEquals(2, workerTasks.size());
+
+        runWorkerTasks();
+        service.flushAppliedStates();
+
+        verify(schedulerDouble, times(1)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        verify(stateRepositoryDouble, times(1)).saveAll(argThat(states -> states.size() == 2));
+    }
+
+    /**
+     * A value the actuator refuses is rejected and leaves no state.
+     */
+    @Test
+    void valueOutOfRangeIsRejected() {
+        ActuatorCommandID commandID = service.enqueueCommand(blindID, 150);
+
+        runWorkerTasks();
+        service.flushAppliedStates();
+
+        assertEquals(ActuatorCommandStatus.REJECTED, statusOf(commandID));
+        assertTrue(!stateData.containsKey(blindID));
+    }
+
+    /**
+     * A command for an actuator of a deactivated device is rejected.
+     */
+    @Test
+    void commandForDeactivatedDeviceIsRejected() {
+        Device device = mock(Device.class);
+        when(device.isActive()).thenReturn(false);
+        when(deviceRepositoryDouble.findEntityByID(deviceID)).thenReturn(Optional.of(device));
+
+        ActuatorCommandID commandID = service.enqueueCommand(blindID, 50);
+        runWorkerTasks();
+
+        assertEquals(ActuatorCommandStatus.REJECTED, statusOf(commandID));
+    }
+
+    /**
+     * Integer actuators only accept whole values.
+     */
+    @Test
+    void fractionalValueForIntegerActuatorIsRejected() {
+        ActuatorID switchID = new ActuatorID("Switch1");
+        when(actuatorRepositoryDouble.containsEntityByID(switchID)).thenReturn(true);
+        when(actuatorRepositoryDouble.findEntityByID(switchID)).thenReturn(Optional.of(
+                new SwitchActuator(switchID, new ActuatorFunctionalityID("Switch"), null, deviceID)));
+
+        ActuatorCommandID fractional = service.enqueueCommand(switchID, 0.5);
+        runWorkerTasks();
+        ActuatorCommandID whole = service.enqueueCommand(switchID, 0);
+        runWorkerTasks();
+
+        assertEquals(ActuatorCommandStatus.REJECTED, statusOf(fractional));
+        assertEquals(ActuatorCommandStatus.APPLIED, statusOf(whole));
+    }
+
+    /**
+     * Decimal setters store the value rounded to their precision.
+     */
+    @Test
+    void decimalSetterStoresValueRoundedToPrecision() {
+        ActuatorID decimalID = new ActuatorID("Decimal1");
+        when(actuatorRepositoryDouble.containsEntityByID(decimalID)).thenReturn(true);
+        when(actuatorRepositoryDouble.findEntityByID(decimalID)).thenReturn(Optional.of(new DecimalSetterActuator(
+                decimalID, new ActuatorFunctionalityID("DecimalSetter"), new ActuatorProperties(30.0, 10.0, 1), deviceID)));
+
+        service.enqueueCommand(decimalID, 21.47);
+        runWorkerTasks();
+        service.flushAppliedStates();
+
+        assertEquals(21.5, stateData.get(decimalID).getValue());
+    }
+
+    /**
+     * Commands for unknown actuators or without a numeric value are refused when they are sent.
+     */
+    @Test
+    void invalidCommandsAreRefusedWhenSent() {
+        ActuatorID unknownID = new ActuatorID("Unknown");
+
+        assertThrows(ActuatorNotFoundException.class, () -> service.enqueueCommand(unknownID, 10));
+        assertThrows(IllegalArgumentException.class, () -> service.enqueueCommand(blindID, Double.NaN));
+        assertTrue(workerTasks.isEmpty());
+    }
+
+    /**
+     * A command that fails unexpectedly is marked as failed and does not stop the commands queued after it.
+     */
+    @Test
+    void unexpectedErrorFailsCommand() {
+        when(actuatorRepositoryDouble.findEntityByID(blindID)).thenThrow(new IllegalStateException("Database down"));
+
+        ActuatorCommandID commandID = service.enqueueCommand(blindID, 10);
+        runWorkerTasks();
+
+        assertEquals(ActuatorCommandStatus.FAILED, statusOf(commandID));
+    }
+
+    /**
+     * States of a failed write are written with the next batch, unless a newer state of the same actuator arrived.
+     */
+    @Test
+    void statesOfFailedWriteAreRetriedWithNextBatch() {
+        ActuatorStateRepository stateRepositoryDouble = mock(ActuatorStateRepository.class);
+        doThrow(new IllegalStateException("Database down")).doNothing().when(stateRepositoryDouble).saveAll(anyList());
+        service = new ActuatorCommandService(actuatorRepositoryDouble, deviceRepositoryDouble, stateRepositoryDouble,
+                workerTasks::add, schedulerDouble, FLUSH_INTERVAL);
+
+        service.enqueueCommand(blindID, 10);
+        runWorkerTasks();
+        service.flushAppliedStates();
+        service.flushAppliedStates();
+
+        verify(schedulerDouble, times(2)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        verify(stateRepositoryDouble, times(2)).saveAll(argThat(states -> states.size() == 1 && states.get(0).getValue() == 10));
+    }
+
+    /**
+     * On shutdown, the commands already queued are applied before the executor stops, and their states are written
+     * once, without scheduling another write.
+     */
+    @Test
+    void shutdownAppliesQueuedCommandsAndWritesTheirStatesOnce() throws Exception {
+        ExecutorService workers = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        workers.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ActuatorStateRepository stateRepositoryDouble = mock(ActuatorStateRepository.class);
+        service = new ActuatorCommandService(actuatorRepositoryDouble, deviceRepositoryDouble, stateRepositoryDouble,
+                workers, schedulerDouble, FLUSH_INTERVAL);
+        ActuatorCommandID commandID = service.enqueueCommand(blindID, 40);
+
+        release.countDown();
+        service.shutdown();
+
+        assertTrue(workers.isTerminated());
+        assertEquals(ActuatorCommandStatus.APPLIED, statusOf(commandID));
+        verify(stateRepositoryDouble).saveAll(argThat(states -> states.size() == 1 && states.get(0).getValue() == 40));
+        verify(schedulerDouble, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    /**
+     * A write failing on shutdown is not scheduled again, since the scheduler is stopping too.
+     */
+    @Test
+    void failedWriteOnShutdownIsNotRetried() {
+        ActuatorStateRepository stateRepositoryDouble = mock(ActuatorStateRepository.class);
+        doThrow(new IllegalStateException("Database down")).when(stateRepositoryDouble).saveAll(anyList());
+        service = new ActuatorCommandService(actuatorRepositoryDouble, deviceRepositoryDouble, stateRepositoryDouble,
+                workerTasks::add, schedulerDouble, FLUSH_INTERVAL);
+        service.enqueueCommand(blindID, 10);
+        runWorkerTasks();
+        clearInvocations(schedulerDouble);
+
+        service.shutdown();
+
+        verify(stateRepositoryDouble).saveAll(anyList());
+        verify(schedulerDouble, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    /**
+     * A command is applied to a copy of a cached actuator, leaving the cached actuator as it was.
+     */
+    @Test
+    void commandLeavesCachedActuatorUnchanged() {
+        ActuatorID decimalID = new ActuatorID("Decimal1");
+        ActuatorProperties properties = new ActuatorProperties(30.0, 10.0, 1);
+        DecimalSetterActuator cachedActuator = new DecimalSetterActuator(decimalID,
+                new ActuatorFunctionalityID("DecimalSetter"), properties, deviceID);
+        when(actuatorRepositoryDouble.containsEntityByID(decimalID)).thenReturn(true);
+        when(actuatorRepositoryDouble.findEntityByID(decimalID)).thenReturn(Optional.of(cachedActuator));
+        ActuatorRepository cachingRepository = new CachingActuatorRepository(actuatorRepositoryDouble,
+                new TopologyCache("actuator", new SimpleMeterRegistry(), 10), actuator -> new DecimalSetterActuator(
+                actuator.identity(), actuator.getActuatorFunctionalityID(), properties, actuator.getDeviceName()));
+        service = new ActuatorCommandService(cachingRepository, deviceRepositoryDouble, actuatorStateRepository,
+                workerTasks::add, schedulerDouble, FLUSH_INTERVAL);
+
+        service.enqueueCommand(decimalID, 21.47);
+        runWorkerTasks();
+        service.flushAppliedStates();
+
+        assertEquals(21.5, stateData.get(decimalID).getValue());
+        assertNull(cachedActuator.getActuatorTarget());
+    }
+
+    /**
+     * Once more than the retained number of commands have finished, the oldest finished command is forgotten.
+     */
+    @Test
+    void oldestFinishedCommandIsForgotten() {
+        List<ActuatorCommandID> commandIDs = new ArrayList<>();
+        for (int command = 0; command <= ActuatorCommandService.MAX_RETAINED_COMMANDS; command++)
+            commandIDs.add(service.enqueueCommand(blindID, command % 101));
+        runWorkerTasks();
+
+        assertTrue(service.findCommand(commandIDs.get(0)).isEmpty());
+        assertEquals(ActuatorCommandStatus.SUPERSEDED, statusOf(commandIDs.get(1)));
+        assertEquals(ActuatorCommandStatus.APPLIED, statusOf(commandIDs.get(commandIDs.size() - 1)));
+    }
+
+    /**
+     * Under a burst of commands from concurrent senders, one per actuator, every command finishes and the last value
+     * sent to each actuator is the one left applied and written.
+     */
+    @Test
+    void burstOfCommandsEndsWithLastValueOfEachActuator() throws Exception {
+        int actuators = 8;
+        int commandsPerActuator = 101;
+        List<ActuatorID> actuatorIDs = new ArrayList<>();
+        for (int actuator = 0; actuator < actuators; actuator++) {
+            actuatorIDs.add(new ActuatorID("Blind" + actuator));
+            addBlind(actuatorIDs.get(actuator), deviceID);
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        ExecutorService senders = Executors.newFixedThreadPool(actuators);
+        try {
+            service = new ActuatorCommandService(actuatorRepositoryDouble, deviceRepositoryDouble, actuatorStateRepository,
+                    workers, scheduler, Duration.ofMillis(5));
+
+            List<Future<List<ActuatorCommandID>>> sent = new ArrayList<>();
+            for (ActuatorID actuatorID : actuatorIDs) {
+                sent.add(senders.submit(() -> {
+                    List<ActuatorCommandID> commandIDs = new ArrayList<>();
+                    for (int value = 0; value < commandsPerActuator; value++)
+                        commandIDs.add(service.enqueueCommand(actuatorID, value));
+                    return commandIDs;
+                }));
+            }
+
+            List<ActuatorCommandID> lastCommands = new ArrayList<>();
+            List<ActuatorCommandID> allCommands = new ArrayList<>();
+            for (Future<List<ActuatorCommandID>> commandIDs : sent) {
+                List<ActuatorCommandID> ofActuator = commandIDs.get(10, TimeUnit.SECONDS);
+                allCommands.addAll(ofActuator);
+                lastCommands.add(ofActuator.get(ofActuator.size() - 1));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!allCommands.stream().allMatch(commandID -> statusOf(commandID).isFinal()) && System.nanoTime() < deadline)
+                Thread.sleep(5);
+            service.flushAppliedStates();
+
+            for (ActuatorCommandID commandID : allCommands)
+                assertTrue(statusOf(commandID) == ActuatorCommandStatus.APPLIED || statusOf(commandID) == ActuatorCommandStatus.SUPERSEDED);
+            for (ActuatorCommandID commandID : lastCommands)
+                assertEquals(ActuatorCommandStatus.APPLIED, statusOf(commandID));
+            for (ActuatorID actuatorID : actuatorIDs)
+                assertEquals(commandsPerActuator - 1, stateData.get(actuatorID).getValue());
+        } finally {
+            senders.shutdownNow();
+            workers.shutdownNow();
+            scheduler.shutdownNow();
+        }
+    }
+}
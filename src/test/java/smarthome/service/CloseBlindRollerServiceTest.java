@@ -11,13 +11,23 @@ import smarthome.domain.actuators.BlindSetterActuator;
 import smarthome.domain.device.Device;
 import smarthome.domain.repository.ActuatorRepository;
 import smarthome.domain.repository.DeviceRepository;
+import smarthome.domain.repository.HouseRepository;
+import smarthome.domain.repository.RoomRepository;
+import smarthome.domain.repository.TopologyRepository;
+import smarthome.domain.repository.TopologyRepository.ActuatorTarget;
+import smarthome.domain.room.Room;
 import smarthome.domain.valueobjects.*;
+import smarthome.persistence.repositoriesmem.ActuatorStateRepository;
+import smarthome.util.exceptions.HouseNotFoundException;
+import smarthome.util.exceptions.RoomNotFoundException;
 
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
 
 /**
  * Test cases for the {@code CloseBlindRollerService} class.
@@ -36,6 +46,30 @@ class CloseBlindRollerServiceTest {
     @MockBean
     private DeviceRepository deviceRepository;
 
+    /**
+     * TopologyRepository attribute.
+     */
+    @MockBean
+    private TopologyRepository topologyRepository;
+
+    /**
+     * RoomRepository attribute.
+     */
+    @MockBean
+    private RoomRepository roomRepository;
+
+    /**
+     * HouseRepository attribute.
+     */
+    @MockBean
+    private HouseRepository houseRepository;
+
+    /**
+     * ActuatorStateRepository attribute.
+     */
+    @MockBean
+    private ActuatorStateRepository actuatorStateRepository;
+
     /**
      * {@code CloseBlindRollerService} class under test.
      */
@@ -60,28 +94,15 @@ class CloseBlindRollerServiceTest {
         ActuatorFunctionalityID actuatorFunctionalityID = mock(ActuatorFunctionalityID.class);
         when(actuatorFunctionalityID.toString()).thenReturn("BlindSetter");
 
-        //Instantiate the actuator and set up its behavior
-        Actuator actuator = mock(Actuator.class);
-        when(actuator.getActuatorFunctionalityID()).thenReturn(actuatorFunctionalityID);
-
-        //Instantiate the deviceID and set up its behavior
+        //Instantiate the actuator of the device and set up its behavior
         DeviceID deviceID = mock(DeviceID.class);
-        when(deviceID.toString()).thenReturn("BlindRoller");
+        Actuator actuator = mock(Actuator.class);
         when(actuator.getDeviceName()).thenReturn(deviceID);
-        when(actuatorRepository.findByActuatorFunctionalityID(actuatorFunctionalityID)).thenReturn(List.of(actuator));
-
-        //Instantiate the device and set up its behavior
-        Device device = mock(Device.class);
-        when(device.identity()).thenReturn(deviceID);
-        when(device.getDeviceName()).thenReturn("BlindRoller");
-        when(device.isActive()).thenReturn(true);
-        Optional<Device> deviceOptional = Optional.of(device);
-        when(deviceRepository.findEntityByID(deviceID)).thenReturn(deviceOptional);
 
-        //Instantiate the roomID and set up its behavior
+        //Set up the topologyRepository behavior
         RoomID roomID = mock(RoomID.class);
-        when(roomID.toString()).thenReturn("LivingRoom");
-        when(device.getRoomID()).thenReturn(roomID);
+        when(topologyRepository.findActuatorTargets(actuatorFunctionalityID))
+                .thenReturn(List.of(new ActuatorTarget(actuator, DeviceStatus.ACTIVE, roomID)));
 
         //Create expected map
         Map<DeviceID,RoomID> expectedMap = Map.of(deviceID, roomID);
@@ -94,7 +115,8 @@ class CloseBlindRollerServiceTest {
 
     /**
      * Test to get a map of multiple DeviceID and RoomID according to the functionality of the actuator.
-     * Returns a map with multiple DeviceID and RoomID, if multiple Devices have a certain ActuatorFunctionalityID.
+     * Returns a map with the room of each active Device with a certain ActuatorFunctionalityID, leaving out
+     * deactivated devices.
      */
     @Test
     void successfulGetMapOfMultipleDeviceIDAndMultipleRoomIDByActuatorFunctionality() {
@@ -102,44 +124,24 @@ class CloseBlindRollerServiceTest {
         ActuatorFunctionalityID actuatorFunctionalityID = mock(ActuatorFunctionalityID.class);
         when(actuatorFunctionalityID.toString()).thenReturn("BlindSetter");
 
-        //Instantiate the actuator and set up its behavior
+        //Instantiate the actuators of the devices and set up their behavior
+        DeviceID deviceID = new DeviceID("BlindRoller");
+        DeviceID deviceID2 = new DeviceID("BlindRoller2");
+        DeviceID deactivatedDeviceID = new DeviceID("BlindRoller3");
         Actuator actuator = mock(Actuator.class);
-        when(actuator.getActuatorFunctionalityID()).thenReturn(actuatorFunctionalityID);
-        Actuator actuator2 = mock(Actuator.class);
-        when(actuator2.getActuatorFunctionalityID()).thenReturn(actuatorFunctionalityID);
-
-        //Instantiate the deviceID's and set up their behavior
-        DeviceID deviceID = mock(DeviceID.class);
-        when(deviceID.toString()).thenReturn("BlindRoller");
         when(actuator.getDeviceName()).thenReturn(deviceID);
-
-        DeviceID deviceID2 = mock(DeviceID.class);
-        when(deviceID2.toString()).thenReturn("BlindRoller2");
+        Actuator actuator2 = mock(Actuator.class);
         when(actuator2.getDeviceName()).thenReturn(deviceID2);
-        when(actuatorRepository.findByActuatorFunctionalityID(actuatorFunctionalityID)).thenReturn(List.of(actuator,actuator2));
+        Actuator actuatorOfDeactivatedDevice = mock(Actuator.class);
+        when(actuatorOfDeactivatedDevice.getDeviceName()).thenReturn(deactivatedDeviceID);
 
-        //Instantiate the devices and set up their behavior
-        Device device = mock(Device.class);
-        when(device.identity()).thenReturn(deviceID);
-        when(device.getDeviceName()).thenReturn("BlindRoller");
-        when(device.isActive()).thenReturn(true);
-        Optional<Device> deviceOptional = Optional.of(device);
-        when(deviceRepository.findEntityByID(deviceID)).thenReturn(deviceOptional);
-
-        Device device2 = mock(Device.class);
-        when(device2.identity()).thenReturn(deviceID2);
-        when(device2.getDeviceName()).thenReturn("BlindRoller2");
-        Optional<Device> deviceOptional2 = Optional.of(device2);
-        when(deviceRepository.findEntityByID(deviceID2)).thenReturn(deviceOptional2);
-
-        //Instantiate the roomID's and set up their behavior
-        RoomID roomID = mock(RoomID.class);
-        when(roomID.toString()).thenReturn("LivingRoom");
-        when(device.getRoomID()).thenReturn(roomID);
-
-        RoomID roomID2 = mock(RoomID.class);
-        when(roomID2.toString()).thenReturn("LivingRoom");
-        when(device2.getRoomID()).thenReturn(roomID2);
+        //Set up the topologyRepository behavior
+        RoomID roomID = new RoomID("LivingRoom");
+        RoomID roomID2 = new RoomID("Kitchen");
+        when(topologyRepository.findActuatorTargets(actuatorFunctionalityID)).thenReturn(List.of(
+                new ActuatorTarget(actuator, DeviceStatus.ACTIVE, roomID),
+                new ActuatorTarget(actuator2, DeviceStatus.ACTIVE, roomID2),
+                new ActuatorTarget(actuatorOfDeactivatedDevice, DeviceStatus.DEACTIVATED, roomID)));
 
         //Create expected map
         Map<DeviceID, RoomID> expectedMap = new LinkedHashMap<>();
@@ -149,7 +151,8 @@ class CloseBlindRollerServiceTest {
         //Test the method
         Map<DeviceID, RoomID> deviceIDRoomIDMap = closeBlindRollerService.getMapOfDeviceIDAndRoomIDAccordingToFunctionality(actuatorFunctionalityID);
 
-        assertEquals(expectedMap.toString(), deviceIDRoomIDMap.toString());
+        assertEquals(expectedMap, deviceIDRoomIDMap);
+        verify(deviceRepository, never()).findEntityByID(any());
     }
 
     /**
@@ -162,8 +165,8 @@ class CloseBlindRollerServiceTest {
         ActuatorFunctionalityID actuatorFunctionalityID = mock(ActuatorFunctionalityID.class);
         when(actuatorFunctionalityID.toString()).thenReturn("BlindSetter");
 
-        //Set up the actuatorRepository behavior
-        when(actuatorRepository.findByActuatorFunctionalityID(actuatorFunctionalityID)).thenReturn(List.of());
+        //Set up the topologyRepository behavior
+        when(topologyRepository.findActuatorTargets(actuatorFunctionalityID)).thenReturn(List.of());
 
         //Create expected map
         Map<DeviceID,RoomID> expectedMap = Map.of();
@@ -175,37 +178,138 @@ class CloseBlindRollerServiceTest {
     }
 
     /**
-     * Test to get an empty map of DeviceID and RoomID according to the functionality of the actuator, if there's no Device.
-     * Returns an empty map, if there's no Device with a certain DeviceID.
+     * Test to set every blind roller in a room.
+     * Returns, for each device in the room, whether it was set, leaving out the devices of other rooms and not setting
+     * deactivated devices.
      */
     @Test
-    void failedMapOfDeviceIDAndRoomIDIfNoDevice() {
-        //Instantiate the actuatorFunctionalityID and set up its behavior
-        ActuatorFunctionalityID actuatorFunctionalityID = mock(ActuatorFunctionalityID.class);
-        when(actuatorFunctionalityID.toString()).thenReturn("BlindSetter");
+    void successfulSetActuatorStateOfBlindRollersInRoom() {
+        ActuatorFunctionalityID actuatorFunctionalityID = new ActuatorFunctionalityID("BlindSetter");
+        RoomID roomID = new RoomID("LivingRoom");
+        DeviceID deviceID = new DeviceID("BlindRoller");
+        DeviceID deactivatedDeviceID = new DeviceID("BlindRoller2");
 
-        //Instantiate the actuator and set up its behavior
-        Actuator actuator = mock(Actuator.class);
-        when(actuator.getActuatorFunctionalityID()).thenReturn(actuatorFunctionalityID);
+        ActuatorID actuatorID = new ActuatorID("BlindSetter1");
+        BlindSetterActuator blindSetterActuator = mock(BlindSetterActuator.class);
+        when(blindSetterActuator.identity()).thenReturn(actuatorID);
+        when(blindSetterActuator.getDeviceName()).thenReturn(deviceID);
+        when(blindSetterActuator.setActuatorSpecificValue(40)).thenReturn(true);
+        BlindSetterActuator actuatorOfDeactivatedDevice = mock(BlindSetterActuator.class);
+        when(actuatorOfDeactivatedDevice.getDeviceName()).thenReturn(deactivatedDeviceID);
+        BlindSetterActuator actuatorInOtherRoom = mock(BlindSetterActuator.class);
+        when(actuatorInOtherRoom.getDeviceName()).thenReturn(new DeviceID("BlindRoller3"));
+
+        when(roomRepository.containsEntityByID(roomID)).thenReturn(true);
+        when(topologyRepository.findActuatorTargets(actuatorFunctionalityID)).thenReturn(List.of(
+                new ActuatorTarget(blindSetterActuator, DeviceStatus.ACTIVE, roomID),
+                new ActuatorTarget(actuatorOfDeactivatedDevice, DeviceStatus.DEACTIVATED, roomID),
+                new ActuatorTarget(actuatorInOtherRoom, DeviceStatus.ACTIVE, new RoomID("Kitchen"))));
+
+        Map<DeviceID, Boolean> results = closeBlindRollerService.setActuatorStateOfBlindRollersInRoom(roomID,
+                actuatorFunctionalityID, 40);
+
+        assertEquals(Map.of(deviceID, true, deactivatedDeviceID, false), results);
+        verify(actuatorOfDeactivatedDevice, never()).setActuatorSpecificValue(anyInt());
+        verify(actuatorInOtherRoom, never()).setActuatorSpecificValue(anyInt());
+        verify(actuatorStateRepository).saveAll(argThat(states -> states.size() == 1
+                && states.get(0).getActuatorID().equals(actuatorID) && states.get(0).getValue() == 40));
+    }
 
-        //Instantiate the deviceID and set up its behavior
-        DeviceID deviceID = mock(DeviceID.class);
-        when(deviceID.toString()).thenReturn("BlindRoller");
-        when(actuator.getDeviceName()).thenReturn(deviceID);
+    /**
+     * Test to fail setting the blind rollers of a room that does not exist.
+     */
+    @Test
+    void failedSetActuatorStateOfBlindRollersInNonExistentRoom() {
+        ActuatorFunctionalityID actuatorFunctionalityID = new ActuatorFunctionalityID("BlindSetter");
+        RoomID roomID = new RoomID("LivingRoom");
+        when(roomRepository.containsEntityByID(roomID)).thenReturn(false);
 
-        //Set up the actuatorRepository behavior
-        when(actuatorRepository.findByActuatorFunctionalityID(actuatorFunctionalityID)).thenReturn(List.of(actuator));
+        assertThrows(RoomNotFoundException.class,
+                () -> closeBlindRollerService.setActuatorStateOfBlindRollersInRoom(roomID, actuatorFunctionalityID, 40));
+    }
 
-        //Set up the deviceRepository behavior
-        when(deviceRepository.findEntityByID(deviceID)).thenReturn(Optional.empty());
+    /**
+     * Test to set every blind roller in the house.
+     * Returns, for each device in the rooms of the house, whether it was set, leaving out the devices of rooms of
+     * other houses.
+     */
+    @Test
+    void successfulSetActuatorStateOfBlindRollersInHouse() {
+        ActuatorFunctionalityID actuatorFunctionalityID = new ActuatorFunctionalityID("BlindSetter");
+        HouseID houseID = new HouseID("House001");
+        RoomID roomID = new RoomID("LivingRoom");
+        DeviceID deviceID = new DeviceID("BlindRoller");
+        ActuatorID actuatorID = new ActuatorID("BlindSetter1");
+
+        Room room = mock(Room.class);
+        when(room.identity()).thenReturn(roomID);
+        BlindSetterActuator blindSetterActuator = mock(BlindSetterActuator.class);
+        when(blindSetterActuator.identity()).thenReturn(actuatorID);
+        when(blindSetterActuator.getDeviceName()).thenReturn(deviceID);
+        when(blindSetterActuator.setActuatorSpecificValue(40)).thenReturn(true);
+        BlindSetterActuator actuatorInOtherHouse = mock(BlindSetterActuator.class);
+        when(actuatorInOtherHouse.getDeviceName()).thenReturn(new DeviceID("BlindRoller2"));
+
+        when(houseRepository.containsEntityByID(houseID)).thenReturn(true);
+        when(roomRepository.findByHouseID(houseID)).thenReturn(List.of(room));
+        when(topologyRepository.findActuatorTargets(actuatorFunctionalityID)).thenReturn(List.of(
+                new ActuatorTarget(blindSetterActuator, DeviceStatus.ACTIVE, roomID),
+                new ActuatorTarget(actuatorInOtherHouse, DeviceStatus.ACTIVE, new RoomID("OtherHouseRoom"))));
+
+        Map<DeviceID, Boolean> results = closeBlindRollerService.setActuatorStateOfBlindRollersInHouse(houseID,
+                actuatorFunctionalityID, 40);
+
+        assertEquals(Map.of(deviceID, true), results);
+        verify(actuatorInOtherHouse, never()).setActuatorSpecificValue(anyInt());
+        verify(actuatorStateRepository).saveAll(argThat(states -> states.size() == 1
+                && states.get(0).getActuatorID().equals(actuatorID) && states.get(0).getValue() == 40));
+    }
 
-        //Create expected map
-        Map<DeviceID,RoomID> expectedMap = Map.of();
+    /**
+     * Test to set every blind roller in the house with an invalid percentage.
+     * Returns, for each device in the house, that it was not set.
+     */
+    @Test
+    void failedSetActuatorStateOfBlindRollersInHouseIfClosePercentageIsNotValid() {
+        ActuatorFunctionalityID actuatorFunctionalityID = new ActuatorFunctionalityID("BlindSetter");
+        HouseID houseID = new HouseID("House001");
+        DeviceID deviceID = new DeviceID("BlindRoller");
+        DeviceID deviceID2 = new DeviceID("BlindRoller2");
 
-        //Test the method
-        Map<DeviceID,RoomID> deviceIDRoomIDMap = closeBlindRollerService.getMapOfDeviceIDAndRoomIDAccordingToFunctionality(actuatorFunctionalityID);
+        BlindSetterActuator blindSetterActuator = mock(BlindSetterActuator.class);
+        when(blindSetterActuator.getDeviceName()).thenReturn(deviceID);
+        BlindSetterActuator blindSetterActuator2 = mock(BlindSetterActuator.class);
+        when(blindSetterActuator2.getDeviceName()).thenReturn(deviceID2);
+
+        Room livingRoom = mock(Room.class);
+        when(livingRoom.identity()).thenReturn(new RoomID("LivingRoom"));
+        Room kitchen = mock(Room.class);
+        when(kitchen.identity()).thenReturn(new RoomID("Kitchen"));
+
+        when(houseRepository.containsEntityByID(houseID)).thenReturn(true);
+        when(roomRepository.findByHouseID(houseID)).thenReturn(List.of(livingRoom, kitchen));
+        when(topologyRepository.findActuatorTargets(actuatorFunctionalityID)).thenReturn(List.of(
+                new ActuatorTarget(blindSetterActuator, DeviceStatus.ACTIVE, new RoomID("LivingRoom")),
+                new ActuatorTarget(blindSetterActuator2, DeviceStatus.ACTIVE, new RoomID("Kitchen"))));
+
+        Map<DeviceID, Boolean> results = closeBlindRollerService.setActuatorStateOfBlindRollersInHouse(houseID,
+                actuatorFunctionalityID, 110);
+
+        assertEquals(Map.of(deviceID, false, deviceID2, false), results);
+        verify(actuatorStateRepository, never()).saveAll(any());
+    }
 
-        assertEquals(expectedMap, deviceIDRoomIDMap);
+    /**
+     * Test to fail setting the blind rollers of a house that does not exist.
+     */
+    @Test
+    void failedSetActuatorStateOfBlindRollersInNonExistentHouse() {
+        ActuatorFunctionalityID actuatorFunctionalityID = new ActuatorFunctionalityID("BlindSetter");
+        HouseID houseID = new HouseID("House001");
+        when(houseRepository.containsEntityByID(houseID)).thenReturn(false);
+
+        assertThrows(HouseNotFoundException.class,
+                () -> closeBlindRollerService.setActuatorStateOfBlindRollersInHouse(houseID, actuatorFunctionalityID, 40));
     }
 
 
@@ -230,7 +334,9 @@ class CloseBlindRollerServiceTest {
         when(actuatorFunctionalityID.toString()).thenReturn("BlindSetter");
 
         // Mock BlindSetterActuator directly
+        ActuatorID actuatorID = new ActuatorID("BlindSetter1");
         BlindSetterActuator blindSetterActuator = mock(BlindSetterActuator.class);
+        when(blindSetterActuator.identity()).thenReturn(actuatorID);
         when(blindSetterActuator.getActuatorFunctionalityID()).thenReturn(actuatorFunctionalityID);
         when(blindSetterActuator.setActuatorSpecificValue(40)).thenReturn(true);
 
@@ -245,8 +351,10 @@ class CloseBlindRollerServiceTest {
         // Test the method
         boolean result = closeBlindRollerService.setActuatorStateOfBlindRoller(deviceID, actuatorFunctionalityID,40);
 
-        // Assert that the method returns true
+        // Assert that the method returns true and the percentage is written
         assertTrue(result);
+        verify(actuatorStateRepository).saveAll(argThat(states -> states.size() == 1
+                && states.get(0).getActuatorID().equals(actuatorID) && states.get(0).getValue() == 40));
     }
 
 
@@ -0,0 +1,119 @@
+package smarthome.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import smarthome.domain.device.Device;
+import smarthome.domain.device.FactoryDevice;
+import smarthome.domain.device.ImpFactoryDevice;
+import smarthome.domain.repository.DeviceRepository.DeviceSummary;
+import smarthome.domain.room.ImpFactoryRoom;
+import smarthome.domain.room.Room;
+import smarthome.domain.valueobjects.*;
+import smarthome.persistence.jpa.datamodel.DeviceDataModel;
+import smarthome.persistence.jpa.datamodel.RoomDataModel;
+import smarthome.persistence.jpa.repositoriesjpa.DeviceRepositoryJPAImp;
+import smarthome.persistence.jpa.repositoriesjpa.RoomRepositoryJPAImp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of listing the devices of a house stored in an in-memory H2 database through the JPA repositories, with
+ * 5 devices per room. The join reads every device of the house into summaries in one query, where the per-room
+ * listing it replaced issues a query for the rooms and then one per room, building every room and device on the way.
+ * Run with: mvn test-compile exec:exec -Pbenchmark -Dbenchmark=DeviceListingBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class DeviceListingBenchmark {
+
+    private static final int DEVICES_PER_ROOM = 5;
+    private static final HouseID HOUSE = new HouseID("House1");
+
+    /**
+     * Number of rooms in the house.
+     */
+    @Param({"10", "100", "1000"})
+    private int rooms;
+
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private RoomRepositoryJPAImp roomRepository;
+    private DeviceRepositoryJPAImp deviceRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(RoomDataModel.class)
+                .addAnnotatedClass(DeviceDataModel.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:devicelisting;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", "500")
+                .buildSessionFactory();
+
+        ImpFactoryRoom factoryRoom = new ImpFactoryRoom();
+        FactoryDevice factoryDevice = new ImpFactoryDevice();
+        EntityManager loader = sessionFactory.createEntityManager();
+        loader.getTransaction().begin();
+        for (int room = 0; room < rooms; room++) {
+            RoomID roomID = new RoomID("Room" + room);
+            loader.persist(new RoomDataModel(factoryRoom.createRoom(roomID, new RoomFloor(0),
+                    new RoomDimensions(2.5, 3.0, 4.0), HOUSE)));
+            for (int device = 0; device < DEVICES_PER_ROOM; device++)
+                loader.persist(new DeviceDataModel(factoryDevice.createDevice(
+                        new DeviceID("Device" + room + "-" + device), new DeviceModel("Model"), roomID)));
+        }
+        loader.getTransaction().commit();
+        loader.close();
+
+        entityManager = sessionFactory.createEntityManager();
+        roomRepository = new RoomRepositoryJPAImp(factoryRoom, entityManager);
+        deviceRepository = new DeviceRepositoryJPAImp(factoryDevice, entityManager);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearPersistenceContext() {
+        entityManager.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<DeviceSummary> join() {
+        List<DeviceSummary> summaries = new ArrayList<>();
+        deviceRepository.findDeviceSummariesByHouseID(HOUSE).forEach(summaries::add);
+        return summaries;
+    }
+
+    @Benchmark
+    public List<DeviceSummary> queryPerRoom() {
+        List<DeviceSummary> summaries = new ArrayList<>();
+        for (Room room : roomRepository.findByHouseID(HOUSE)) {
+            for (Device device : deviceRepository.findByRoomID(room.identity()))
+                summaries.add(new DeviceSummary(device.identity(), device.getDeviceModel(), device.getDeviceStatus(),
+                        device.getRoomID()));
+        }
+        return summaries;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DeviceListingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -7,11 +7,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import smarthome.domain.device.Device;
 import smarthome.domain.device.FactoryDevice;
 import smarthome.domain.repository.DeviceRepository;
+import smarthome.domain.repository.DeviceRepository.DeviceSummary;
 import smarthome.domain.repository.HouseRepository;
 import smarthome.domain.repository.RoomRepository;
 import smarthome.domain.room.Room;
 import smarthome.domain.valueobjects.DeviceID;
 import smarthome.domain.valueobjects.DeviceModel;
+import smarthome.domain.valueobjects.DeviceStatus;
 import smarthome.domain.valueobjects.HouseID;
 import smarthome.domain.valueobjects.RoomID;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,9 +22,14 @@ import smarthome.service.internaldto.InternalDeviceDTO;
 import smarthome.util.exceptions.*;
 
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -213,9 +220,9 @@ class DeviceServiceTest {
 
         //Create double of device and set behaviour to deactivate
         Device doubleDevice = mock(Device.class);
-        when(deviceRepository.findEntityByID(deviceIDDouble)).thenReturn(Optional.of(doubleDevice));
+        when(deviceRepository.update(eq(deviceIDDouble), any())).thenAnswer(invocation ->
+                Optional.ofNullable(invocation.<UnaryOperator<Device>>getArgument(1).apply(doubleDevice)));
         when(doubleDevice.deactivate()).thenReturn(true);
-        when(deviceRepository.update(doubleDevice)).thenReturn(doubleDevice);
 
         //Act
         boolean result = deviceService.deactivateDevice(deviceIDDouble);
@@ -234,9 +241,10 @@ class DeviceServiceTest {
 
         //Create double of device and set behaviour to deactivate
         Device doubleDevice = mock(Device.class);
-        when(deviceRepository.findEntityByID(deviceIDDouble)).thenReturn(Optional.of(doubleDevice));
+        when(deviceRepository.update(eq(deviceIDDouble), any())).thenAnswer(invocation ->
+                Optional.ofNullable(invocation.<UnaryOperator<Device>>getArgument(1).apply(doubleDevice)));
+        when(deviceRepository.containsEntityByID(deviceIDDouble)).thenReturn(true);
         when(doubleDevice.deactivate()).thenReturn(false); //device already deactivated, returns false
-        when(deviceRepository.update(doubleDevice)).thenReturn(doubleDevice);
 
         //Act
         boolean result = deviceService.deactivateDevice(deviceIDDouble);
@@ -253,11 +261,9 @@ class DeviceServiceTest {
         //Create double of deviceID
         DeviceID deviceIDDouble = mock(DeviceID.class);
 
-        //Create double of device and set behaviour to deactivate
-        Device doubleDevice = mock(Device.class);
-        when(deviceRepository.findEntityByID(deviceIDDouble)).thenReturn(Optional.ofNullable(null)); //device doesn't exist
-        when(doubleDevice.deactivate()).thenReturn(true);
-        when(deviceRepository.update(doubleDevice)).thenReturn(doubleDevice);
+        //Set the repository behaviour for a device that doesn't exist
+        when(deviceRepository.update(eq(deviceIDDouble), any())).thenReturn(Optional.empty());
+        when(deviceRepository.containsEntityByID(deviceIDDouble)).thenReturn(false);
 
         assertThrows(DeviceNotFoundException.class, () -> deviceService.deactivateDevice(deviceIDDouble));
     }
@@ -339,30 +345,26 @@ class DeviceServiceTest {
     void successGetListOfDevicesInHouse() {
         // Mock the necessary objects
         HouseID houseIdDouble = mock(HouseID.class);
-
         RoomID roomIdDouble = mock(RoomID.class);
-        Room room = mock(Room.class);
-
         DeviceID deviceIdDouble = mock(DeviceID.class);
-        Device deviceDouble = mock(Device.class);
-
-        // Set behaviour for room
-        when(room.identity()).thenReturn(roomIdDouble);
+        DeviceModel deviceModelDouble = mock(DeviceModel.class);
+        DeviceSummary summary = new DeviceSummary(deviceIdDouble, deviceModelDouble, DeviceStatus.ACTIVE, roomIdDouble);
 
         // Set behaviour for repository methods
         when(houseRepository.containsEntityByID(houseIdDouble)).thenReturn(true);
-        when(roomRepository.findByHouseID(houseIdDouble)).thenReturn(List.of(room));
-        when(deviceRepository.findByRoomID(roomIdDouble)).thenReturn(List.of(deviceDouble));
-
-        // Set behaviour for device
-        when(deviceDouble.identity()).thenReturn(deviceIdDouble);
-        when(deviceDouble.getRoomID()).thenReturn(roomIdDouble);
+        when(deviceRepository.findDeviceSummariesByHouseID(houseIdDouble)).thenReturn(List.of(summary));
 
         // Act
         List<InternalDeviceDTO> result = deviceService.getListOfDevicesInHouse(houseIdDouble);
 
         // Assert
         assertEquals(1, result.size());
+        assertEquals(deviceIdDouble, result.get(0).deviceID);
+        assertEquals(deviceModelDouble, result.get(0).deviceModel);
+        assertEquals(DeviceStatus.ACTIVE, result.get(0).deviceStatus);
+        assertEquals(roomIdDouble, result.get(0).roomID);
+        verify(roomRepository, never()).findByHouseID(houseIdDouble);
+        verify(deviceRepository, never()).findByRoomID(any());
     }
 
     /**
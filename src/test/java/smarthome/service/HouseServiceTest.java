@@ -20,6 +20,7 @@ import smarthome.util.exceptions.NoHouseInRepositoryException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -171,12 +172,12 @@ class HouseServiceTest {
     @Test
     void successEditLocation() {
         // Mock behavior of houseService and houseRepository
-        when(houseRepository.findEntityByID(houseID)).thenReturn(Optional.of(houseDouble));
+        when(houseRepository.update(eq(houseID), any())).thenAnswer(invocation ->
+                Optional.ofNullable(invocation.<UnaryOperator<House>>getArgument(1).apply(houseDouble)));
 
         // Mock behavior of house.editLocation to return a new LocationDTO
         when(houseDouble.editLocation(addressDouble, gpsCodeDouble)).thenReturn(locationDouble);
-
-        when(houseRepository.update(houseDouble)).thenReturn(houseDouble);
+        when(houseDouble.getHouseLocation()).thenReturn(locationDouble);
 
         // Call the method under test
         Location editedLocation = houseService.editLocation(houseID, addressDouble, gpsCodeDouble);
@@ -193,12 +194,11 @@ class HouseServiceTest {
     @Test
     void failedEditLocation() {
         // Mock behavior of houseService and houseRepository
-        when(houseRepository.findEntityByID(houseID)).thenReturn(Optional.of(houseDouble));
+        when(houseRepository.update(eq(houseID), any())).thenAnswer(invocation ->
+                Optional.ofNullable(invocation.<UnaryOperator<House>>getArgument(1).apply(houseDouble)));
 
         when(houseDouble.editLocation(addressDouble, gpsCodeDouble)).thenReturn(null);
 
-        when(houseRepository.update(houseDouble)).thenReturn(houseDouble);
-
         assertNull(houseService.editLocation(houseID, addressDouble, gpsCodeDouble));
     }
 
@@ -1,16 +1,21 @@
 package smarthome.service;
 
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedConstruction;
 import smarthome.domain.sensor.FactorySensor;
+import smarthome.domain.value.ImpFactoryInstantTimeValue;
 import smarthome.domain.value.InstantTimeValue;
+import smarthome.domain.value.Value;
 import smarthome.domain.valueobjects.Reading;
 import smarthome.domain.valueobjects.SensorID;
 import smarthome.persistence.repositoriesmem.InstantTimeValueRepositoryMem;
-import smarthome.util.ConfigScraper;
+import smarthome.util.GeneralProperties;
+import smarthome.util.GeneralPropertiesProvider;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -18,6 +23,12 @@ import static org.mockito.Mockito.verify;
 
 class MaxTempDifOutsideInsideServiceTest {
 
+    /**
+     * Provider of the general properties, with a tolerance of 5 minutes.
+     */
+    private final GeneralPropertiesProvider generalPropertiesProvider = new GeneralPropertiesProvider(
+            () -> new GeneralProperties(300000, "Grid Power Meter", 900000, "http://localhost:8080", 5));
+
     /**
      * Test case for successfully retrieving the maximum temperature difference between inside and outside sensors.
      */
@@ -27,51 +38,45 @@ class MaxTempDifOutsideInsideServiceTest {
         FactorySensor factorySensor = mock(FactorySensor.class);
         InstantTimeValueRepositoryMem valueRepositoryMem = mock(InstantTimeValueRepositoryMem.class);
 
-        try (MockedConstruction<ConfigScraper> ConfigScraper = mockConstruction(ConfigScraper.class,
-                (mock, context) -> {
-                    when(mock.loadTolerance()).thenReturn("300000");
-                })) {
-
-            // Create the service with mocks
-            MaxTempDifOutsideInsideService service = new MaxTempDifOutsideInsideService(valueRepositoryMem);
-
-            // Prepare test data
-            SensorID insideSensorID = mock(SensorID.class);
-            Timestamp startTime = Timestamp.valueOf("2024-04-15 08:00:00.0");
-            Timestamp endTime = Timestamp.valueOf("2024-04-15 21:00:00.0");
-
-            // Mocking value retrieval
-            InstantTimeValue insideValue1 = mock(InstantTimeValue.class);
-            when(valueRepositoryMem.findBySensorId(insideSensorID)).thenReturn(List.of(insideValue1));
-
-            // Mocking inside value properties
-            Timestamp insideValueTimestamp = Timestamp.valueOf("2024-04-15 14:00:00.0");
-            when(insideValue1.getInstantTimeReading()).thenReturn(insideValueTimestamp);
-            Reading reading1 = mock(Reading.class);
-            when(reading1.getMeasurement()).thenReturn("18");
-            when(reading1.getUnit()).thenReturn("Cº");
-            when(insideValue1.getReading()).thenReturn(reading1);
-
-            // Mocking outside value properties
-            SensorID outsideSensorID = mock(SensorID.class);
-            InstantTimeValue insideValue2 = mock(InstantTimeValue.class);
-            when(valueRepositoryMem.findBySensorId(outsideSensorID)).thenReturn(List.of(insideValue2));
-            Timestamp outsideValueTimestamp = Timestamp.valueOf("2024-04-15 14:05:00.0");
-            when(insideValue2.getInstantTimeReading()).thenReturn(outsideValueTimestamp);
-            Reading reading2 = mock(Reading.class);
-            when(reading2.getMeasurement()).thenReturn("24");
-            when(reading2.getUnit()).thenReturn("Cº");
-            when(insideValue2.getReading()).thenReturn(reading2);
-
-            // Invoke the method under test
-            double maxTemperatureDifference = service.getMaxTemperatureDifference(insideSensorID, outsideSensorID, startTime, endTime);
-
-            // Assert the result
-            assertEquals(6.0, maxTemperatureDifference, 0.01);
-
-            // Verify method calls
-            verify(valueRepositoryMem).findBySensorId(insideSensorID);
-        }
+        // Create the service with mocks
+        MaxTempDifOutsideInsideService service = new MaxTempDifOutsideInsideService(valueRepositoryMem, generalPropertiesProvider);
+
+        // Prepare test data
+        SensorID insideSensorID = mock(SensorID.class);
+        Timestamp startTime = Timestamp.valueOf("2024-04-15 08:00:00.0");
+        Timestamp endTime = Timestamp.valueOf("2024-04-15 21:00:00.0");
+
+        // Mocking value retrieval
+        InstantTimeValue insideValue1 = mock(InstantTimeValue.class);
+        when(valueRepositoryMem.findBySensorIdBetweenPeriodOfTime(eq(insideSensorID), any(), any())).thenReturn(List.of(insideValue1));
+
+        // Mocking inside value properties
+        Timestamp insideValueTimestamp = Timestamp.valueOf("2024-04-15 14:00:00.0");
+        when(insideValue1.getInstantTimeReading()).thenReturn(insideValueTimestamp);
+        Reading reading1 = mock(Reading.class);
+        when(reading1.getNumericMeasurement()).thenReturn(18.0);
+        when(reading1.getUnit()).thenReturn("Cº");
+        when(insideValue1.getReading()).thenReturn(reading1);
+
+        // Mocking outside value properties
+        SensorID outsideSensorID = mock(SensorID.class);
+        InstantTimeValue insideValue2 = mock(InstantTimeValue.class);
+        when(valueRepositoryMem.findBySensorIdBetweenPeriodOfTime(eq(outsideSensorID), any(), any())).thenReturn(List.of(insideValue2));
+        Timestamp outsideValueTimestamp = Timestamp.valueOf("2024-04-15 14:05:00.0");
+        when(insideValue2.getInstantTimeReading()).thenReturn(outsideValueTimestamp);
+        Reading reading2 = mock(Reading.class);
+        when(reading2.getNumericMeasurement()).thenReturn(24.0);
+        when(reading2.getUnit()).thenReturn("Cº");
+        when(insideValue2.getReading()).thenReturn(reading2);
+
+        // Invoke the method under test
+        double maxTemperatureDifference = service.getMaxTemperatureDifference(insideSensorID, outsideSensorID, startTime, endTime);
+
+        // Assert the result
+        assertEquals(6.0, maxTemperatureDifference, 0.01);
+
+        // Verify method calls
+        verify(valueRepositoryMem).findBySensorIdBetweenPeriodOfTime(eq(insideSensorID), any(), any());
     }
 
     /**
@@ -84,65 +89,59 @@ class MaxTempDifOutsideInsideServiceTest {
         FactorySensor factorySensor = mock(FactorySensor.class);
         InstantTimeValueRepositoryMem valueRepositoryMem = mock(InstantTimeValueRepositoryMem.class);
 
-        try (MockedConstruction<ConfigScraper> ConfigScraper = mockConstruction(ConfigScraper.class,
-                (mock, context) -> {
-                    when(mock.loadTolerance()).thenReturn("300000");
-                })) {
-
-            // Create the service with mocks
-            MaxTempDifOutsideInsideService service = new MaxTempDifOutsideInsideService(valueRepositoryMem);
-
-            // Prepare test data
-            SensorID insideSensorID = mock(SensorID.class);
-            Timestamp startTime = Timestamp.valueOf("2024-04-15 08:00:00.0");
-            Timestamp endTime = Timestamp.valueOf("2024-04-15 21:00:00.0");
-
-            // Mocking value retrieval
-            InstantTimeValue insideValue1 = mock(InstantTimeValue.class);
-            InstantTimeValue insideValue2 = mock(InstantTimeValue.class);
-            when(valueRepositoryMem.findBySensorId(insideSensorID)).thenReturn(List.of(insideValue1, insideValue2));
-
-            // Mocking inside value properties
-            Timestamp insideValueTimestamp = Timestamp.valueOf("2024-04-15 08:00:00.0");
-            Timestamp insideValueTimestamp2 = Timestamp.valueOf("2024-04-15 21:00:00.0");
-            when(insideValue1.getInstantTimeReading()).thenReturn(insideValueTimestamp);
-            when(insideValue2.getInstantTimeReading()).thenReturn(insideValueTimestamp2);
-            Reading reading1 = mock(Reading.class);
-            when(reading1.getMeasurement()).thenReturn("18");
-            when(reading1.getUnit()).thenReturn("Cº");
-            when(insideValue1.getReading()).thenReturn(reading1);
-            Reading reading2 = mock(Reading.class);
-            when(reading2.getMeasurement()).thenReturn("24");
-            when(reading2.getUnit()).thenReturn("Cº");
-            when(insideValue2.getReading()).thenReturn(reading2);
-
-            // Mocking outside value properties
-            SensorID outsideSensorID = mock(SensorID.class);
-            InstantTimeValue insideValue3 = mock(InstantTimeValue.class);
-            InstantTimeValue insideValue4 = mock(InstantTimeValue.class);
-            when(valueRepositoryMem.findBySensorId(outsideSensorID)).thenReturn(List.of(insideValue3, insideValue4));
-            Timestamp outsideValueTimestamp = Timestamp.valueOf("2024-04-15 08:05:00.0");
-            Timestamp outsideValueTimestamp2 = Timestamp.valueOf("2024-04-15 19:55:00.0");
-            when(insideValue3.getInstantTimeReading()).thenReturn(outsideValueTimestamp);
-            when(insideValue4.getInstantTimeReading()).thenReturn(outsideValueTimestamp2);
-            Reading reading3 = mock(Reading.class);
-            when(reading3.getMeasurement()).thenReturn("24");
-            when(reading3.getUnit()).thenReturn("Cº");
-            when(insideValue3.getReading()).thenReturn(reading3);
-            Reading reading4 = mock(Reading.class);
-            when(reading4.getMeasurement()).thenReturn("18");
-            when(reading4.getUnit()).thenReturn("Cº");
-            when(insideValue4.getReading()).thenReturn(reading4);
-
-            // Invoke the method under test
-            double maxTemperatureDifference = service.getMaxTemperatureDifference(insideSensorID, outsideSensorID, startTime, endTime);
-
-            // Assert the result
-            assertEquals(6.0, maxTemperatureDifference, 0.01);
-
-            // Verify method calls
-            verify(valueRepositoryMem).findBySensorId(insideSensorID);
-        }
+        // Create the service with mocks
+        MaxTempDifOutsideInsideService service = new MaxTempDifOutsideInsideService(valueRepositoryMem, generalPropertiesProvider);
+
+        // Prepare test data
+        SensorID insideSensorID = mock(SensorID.class);
+        Timestamp startTime = Timestamp.valueOf("2024-04-15 08:00:00.0");
+        Timestamp endTime = Timestamp.valueOf("2024-04-15 21:00:00.0");
+
+        // Mocking value retrieval
+        InstantTimeValue insideValue1 = mock(InstantTimeValue.class);
+        InstantTimeValue insideValue2 = mock(InstantTimeValue.class);
+        when(valueRepositoryMem.findBySensorIdBetweenPeriodOfTime(eq(insideSensorID), any(), any())).thenReturn(List.of(insideValue1, insideValue2));
+
+        // Mocking inside value properties
+        Timestamp insideValueTimestamp = Timestamp.valueOf("2024-04-15 08:00:00.0");
+        Timestamp insideValueTimestamp2 = Timestamp.valueOf("2024-04-15 21:00:00.0");
+        when(insideValue1.getInstantTimeReading()).thenReturn(insideValueTimestamp);
+        when(insideValue2.getInstantTimeReading()).thenReturn(insideValueTimestamp2);
+        Reading reading1 = mock(Reading.class);
+        when(reading1.getNumericMeasurement()).thenReturn(18.0);
+        when(reading1.getUnit()).thenReturn("Cº");
+        when(insideValue1.getReading()).thenReturn(reading1);
+        Reading reading2 = mock(Reading.class);
+        when(reading2.getNumericMeasurement()).thenReturn(24.0);
+        when(reading2.getUnit()).thenReturn("Cº");
+        when(insideValue2.getReading()).thenReturn(reading2);
+
+        // Mocking outside value properties
+        SensorID outsideSensorID = mock(SensorID.class);
+        InstantTimeValue insideValue3 = mock(InstantTimeValue.class);
+        InstantTimeValue insideValue4 = mock(InstantTimeValue.class);
+        when(valueRepositoryMem.findBySensorIdBetweenPeriodOfTime(eq(outsideSensorID), any(), any())).thenReturn(List.of(insideValue3, insideValue4));
+        Timestamp outsideValueTimestamp = Timestamp.valueOf("2024-04-15 08:05:00.0");
+        Timestamp outsideValueTimestamp2 = Timestamp.valueOf("2024-04-15 19:55:00.0");
+        when(insideValue3.getInstantTimeReading()).thenReturn(outsideValueTimestamp);
+        when(insideValue4.getInstantTimeReading()).thenReturn(outsideValueTimestamp2);
+        Reading reading3 = mock(Reading.class);
+        when(reading3.getNumericMeasurement()).thenReturn(24.0);
+        when(reading3.getUnit()).thenReturn("Cº");
+        when(insideValue3.getReading()).thenReturn(reading3);
+        Reading reading4 = mock(Reading.class);
+        when(reading4.getNumericMeasurement()).thenReturn(18.0);
+        when(reading4.getUnit()).thenReturn("Cº");
+        when(insideValue4.getReading()).thenReturn(reading4);
+
+        // Invoke the method under test
+        double maxTemperatureDifference = service.getMaxTemperatureDifference(insideSensorID, outsideSensorID, startTime, endTime);
+
+        // Assert the result
+        assertEquals(6.0, maxTemperatureDifference, 0.01);
+
+        // Verify method calls
+        verify(valueRepositoryMem).findBySensorIdBetweenPeriodOfTime(eq(insideSensorID), any(), any());
     }
 
     /**
@@ -154,51 +153,45 @@ class MaxTempDifOutsideInsideServiceTest {
         FactorySensor factorySensor = mock(FactorySensor.class);
         InstantTimeValueRepositoryMem valueRepositoryMem = mock(InstantTimeValueRepositoryMem.class);
 
-        try (MockedConstruction<ConfigScraper> ConfigScraper = mockConstruction(ConfigScraper.class,
-                (mock, context) -> {
-                    when(mock.loadTolerance()).thenReturn("300000");
-                })) {
-
-            // Create the service with mocks
-            MaxTempDifOutsideInsideService service = new MaxTempDifOutsideInsideService(valueRepositoryMem);
-
-            // Prepare test data
-            SensorID insideSensorID = mock(SensorID.class);
-            Timestamp startTime = Timestamp.valueOf("2024-04-15 08:00:00.0");
-            Timestamp endTime = Timestamp.valueOf("2024-04-15 21:00:00.0");
-
-            // Mocking value retrieval
-            InstantTimeValue insideValue1 = mock(InstantTimeValue.class);
-            when(valueRepositoryMem.findBySensorId(insideSensorID)).thenReturn(List.of(insideValue1));
-
-            // Mocking inside value properties
-            Timestamp insideValueTimestamp = Timestamp.valueOf("2024-04-15 22:00:00.0");
-            when(insideValue1.getInstantTimeReading()).thenReturn(insideValueTimestamp);
-            Reading reading1 = mock(Reading.class);
-            when(reading1.getMeasurement()).thenReturn("25");
-            when(reading1.getUnit()).thenReturn("Cº");
-            when(insideValue1.getReading()).thenReturn(reading1);
-
-            // Mocking outside value properties
-            SensorID outsideSensorID = mock(SensorID.class);
-            InstantTimeValue insideValue2 = mock(InstantTimeValue.class);
-            when(valueRepositoryMem.findBySensorId(outsideSensorID)).thenReturn(List.of(insideValue2));
-            Timestamp outsideValueTimestamp = Timestamp.valueOf("2024-04-15 12:05:00.0");
-            when(insideValue2.getInstantTimeReading()).thenReturn(outsideValueTimestamp);
-            Reading reading2 = mock(Reading.class);
-            when(reading2.getMeasurement()).thenReturn("24");
-            when(reading2.getUnit()).thenReturn("Cº");
-            when(insideValue2.getReading()).thenReturn(reading2);
-
-            // Invoke the method under test
-            double maxTemperatureDifference = service.getMaxTemperatureDifference(insideSensorID, outsideSensorID, startTime, endTime);
-
-            // Assert the result
-            assertEquals(-1.0, maxTemperatureDifference, 0.01);
-
-            // Verify method calls
-            verify(valueRepositoryMem).findBySensorId(insideSensorID);
-        }
+        // Create the service with mocks
+        MaxTempDifOutsideInsideService service = new MaxTempDifOutsideInsideService(valueRepositoryMem, generalPropertiesProvider);
+
+        // Prepare test data
+        SensorID insideSensorID = mock(SensorID.class);
+        Timestamp startTime = Timestamp.valueOf("2024-04-15 08:00:00.0");
+        Timestamp endTime = Timestamp.valueOf("2024-04-15 21:00:00.0");
+
+        // Mocking value retrieval
+        InstantTimeValue insideValue1 = mock(InstantTimeValue.class);
+        when(valueRepositoryMem.findBySensorIdBetweenPeriodOfTime(eq(insideSensorID), any(), any())).thenReturn(List.of(insideValue1));
+
+        // Mocking inside value properties
+        Timestamp insideValueTimestamp = Timestamp.valueOf("2024-04-15 22:00:00.0");
+        when(insideValue1.getInstantTimeReading()).thenReturn(insideValueTimestamp);
+        Reading reading1 = mock(Reading.class);
+        when(reading1.getNumericMeasurement()).thenReturn(25.0);
+        when(reading1.getUnit()).thenReturn("Cº");
+        when(insideValue1.getReading()).thenReturn(reading1);
+
+        // Mocking outside value properties
+        SensorID outsideSensorID = mock(SensorID.class);
+        InstantTimeValue insideValue2 = mock(InstantTimeValue.class);
+        when(valueRepositoryMem.findBySensorIdBetweenPeriodOfTime(eq(outsideSensorID), any(), any())).thenReturn(List.of(insideValue2));
+        Timestamp outsideValueTimestamp = Timestamp.valueOf("2024-04-15 12:05:00.0");
+        when(insideValue2.getInstantTimeReading()).thenReturn(outsideValueTimestamp);
+        Reading reading2 = mock(Reading.class);
+        when(reading2.getNumericMeasurement()).thenReturn(24.0);
+        when(reading2.getUnit()).thenReturn("Cº");
+        when(insideValue2.getReading()).thenReturn(reading2);
+
+        // Invoke the method under test
+        double maxTemperatureDifference = service.getMaxTemperatureDifference(insideSensorID, outsideSensorID, startTime, endTime);
+
+        // Assert the result
+        assertEquals(-1.0, maxTemperatureDifference, 0.01);
+
+        // Verify method calls
+        verify(valueRepositoryMem).findBySensorIdBetweenPeriodOfTime(eq(insideSensorID), any(), any());
     }
 
     /**
@@ -210,51 +203,45 @@ class MaxTempDifOutsideInsideServiceTest {
         FactorySensor factorySensor = mock(FactorySensor.class);
         InstantTimeValueRepositoryMem valueRepositoryMem = mock(InstantTimeValueRepositoryMem.class);
 
-        try (MockedConstruction<ConfigScraper> ConfigScraper = mockConstruction(ConfigScraper.class,
-                (mock, context) -> {
-                    when(mock.loadTolerance()).thenReturn("300000");
-                })) {
-
-            // Create the service with mocks
-            MaxTempDifOutsideInsideService service = new MaxTempDifOutsideInsideService(valueRepositoryMem);
-
-            // Prepare test data
-            SensorID insideSensorID = mock(SensorID.class);
-            Timestamp startTime = Timestamp.valueOf("2024-04-15 08:00:00.0");
-            Timestamp endTime = Timestamp.valueOf("2024-04-15 21:00:00.0");
-
-            // Mocking value retrieval
-            InstantTimeValue insideValue1 = mock(InstantTimeValue.class);
-            when(valueRepositoryMem.findBySensorId(insideSensorID)).thenReturn(List.of(insideValue1));
-
-            // Mocking inside value properties
-            Timestamp insideValueTimestamp = Timestamp.valueOf("2024-04-15 07:00:00.0");
-            when(insideValue1.getInstantTimeReading()).thenReturn(insideValueTimestamp);
-            Reading reading1 = mock(Reading.class);
-            when(reading1.getMeasurement()).thenReturn("25");
-            when(reading1.getUnit()).thenReturn("Cº");
-            when(insideValue1.getReading()).thenReturn(reading1);
-
-            // Mocking outside value properties
-            SensorID outsideSensorID = mock(SensorID.class);
-            InstantTimeValue insideValue2 = mock(InstantTimeValue.class);
-            when(valueRepositoryMem.findBySensorId(outsideSensorID)).thenReturn(List.of(insideValue2));
-            Timestamp outsideValueTimestamp = Timestamp.valueOf("2024-04-15 10:05:00.0");
-            when(insideValue2.getInstantTimeReading()).thenReturn(outsideValueTimestamp);
-            Reading reading2 = mock(Reading.class);
-            when(reading2.getMeasurement()).thenReturn("24");
-            when(reading2.getUnit()).thenReturn("Cº");
-            when(insideValue2.getReading()).thenReturn(reading2);
-
-            // Invoke the method under test
-            double maxTemperatureDifference = service.getMaxTemperatureDifference(insideSensorID, outsideSensorID, startTime, endTime);
-
-            // Assert the result
-            assertEquals(-1.0, maxTemperatureDifference, 0.01);
-
-            // Verify method calls
-            verify(valueRepositoryMem).findBySensorId(insideSensorID);
-        }
+        // Create the service with mocks
+        MaxTempDifOutsideInsideService service = new MaxTempDifOutsideInsideService(valueRepositoryMem, generalPropertiesProvider);
+
+        // Prepare test data
+        SensorID insideSensorID = mock(SensorID.class);
+        Timestamp startTime = Timestamp.valueOf("2024-04-15 08:00:00.0");
+        Timestamp endTime = Timestamp.valueOf("2024-04-15 21:00:00.0");
+
+        // Mocking value retrieval
+        InstantTimeValue insideValue1 = mock(InstantTimeValue.class);
+        when(valueRepositoryMem.findBySensorIdBetweenPeriodOfTime(eq(insideSensorID), any(), any())).thenReturn(List.of(insideValue1));
+
+        // Mocking inside value properties
+        Timestamp insideValueTimestamp = Timestamp.valueOf("2024-04-15 07:00:00.0");
+        when(insideValue1.getInstantTimeReading()).thenReturn(insideValueTimestamp);
+        Reading reading1 = mock(Reading.class);
+        when(reading1.getNumericMeasurement()).thenReturn(25.0);
+        when(reading1.getUnit()).thenReturn("Cº");
+        when(insideValue1.getReading()).thenReturn(reading1);
+
+        // Mocking outside value properties
+        SensorID outsideSensorID = mock(SensorID.class);
+        InstantTimeValue insideValue2 = mock(InstantTimeValue.class);
+        when(valueRepositoryMem.findBySensorIdBetweenPeriodOfTime(eq(outsideSensorID), any(), any())).thenReturn(List.of(insideValue2));
+        Timestamp outsideValueTimestamp = Timestamp.valueOf("2024-04-15 10:05:00.0");
+        when(insideValue2.getInstantTimeReading()).thenReturn(outsideValueTimestamp);
+        Reading reading2 = mock(Reading.class);
+        when(reading2.getNumericMeasurement()).thenReturn(24.0);
+        when(reading2.getUnit()).thenReturn("Cº");
+        when(insideValue2.getReading()).thenReturn(reading2);
+
+        // Invoke the method under test
+        double maxTemperatureDifference = service.getMaxTemperatureDifference(insideSensorID, outsideSensorID, startTime, endTime);
+
+        // Assert the result
+        assertEquals(-1.0, maxTemperatureDifference, 0.01);
+
+        // Verify method calls
+        verify(valueRepositoryMem).findBySensorIdBetweenPeriodOfTime(eq(insideSensorID), any(), any());
     }
 
     /**
@@ -266,50 +253,119 @@ class MaxTempDifOutsideInsideServiceTest {
         FactorySensor factorySensor = mock(FactorySensor.class);
         InstantTimeValueRepositoryMem valueRepositoryMem = mock(InstantTimeValueRepositoryMem.class);
 
-        try (MockedConstruction<ConfigScraper> ConfigScraper = mockConstruction(ConfigScraper.class,
-                (mock, context) -> {
-                    when(mock.loadTolerance()).thenReturn("300000");
-                })) {
-
-            // Create the service with mocks
-            MaxTempDifOutsideInsideService service = new MaxTempDifOutsideInsideService(valueRepositoryMem);
-
-            // Prepare test data
-            SensorID insideSensorID = mock(SensorID.class);
-            Timestamp startTime = Timestamp.valueOf("2024-04-15 08:00:00.0");
-            Timestamp endTime = Timestamp.valueOf("2024-04-15 21:00:00.0");
-
-            // Mocking value retrieval
-            InstantTimeValue insideValue1 = mock(InstantTimeValue.class);
-            when(valueRepositoryMem.findBySensorId(insideSensorID)).thenReturn(List.of(insideValue1));
-
-            // Mocking inside value properties
-            Timestamp insideValueTimestamp = Timestamp.valueOf("2024-04-15 17:06:00.0");
-            when(insideValue1.getInstantTimeReading()).thenReturn(insideValueTimestamp);
-            Reading reading1 = mock(Reading.class);
-            when(reading1.getMeasurement()).thenReturn("27");
-            when(reading1.getUnit()).thenReturn("Cº");
-            when(insideValue1.getReading()).thenReturn(reading1);
-
-            // Mocking outside value properties
-            SensorID outsideSensorID = mock(SensorID.class);
-            InstantTimeValue insideValue2 = mock(InstantTimeValue.class);
-            when(valueRepositoryMem.findBySensorId(outsideSensorID)).thenReturn(List.of(insideValue2));
-            Timestamp outsideValueTimestamp = Timestamp.valueOf("2024-04-15 14:05:00.0");
-            when(insideValue2.getInstantTimeReading()).thenReturn(outsideValueTimestamp);
-            Reading reading2 = mock(Reading.class);
-            when(reading2.getMeasurement()).thenReturn("24");
-            when(reading2.getUnit()).thenReturn("Cº");
-            when(insideValue2.getReading()).thenReturn(reading2);
-
-            // Invoke the method under test
-            double maxTemperatureDifference = service.getMaxTemperatureDifference(insideSensorID, outsideSensorID, startTime, endTime);
-
-            // Assert the result
-            assertEquals(-1.0, maxTemperatureDifference, 0.01);
-
-            // Verify method calls
-            verify(valueRepositoryMem).findBySensorId(insideSensorID);
+        // Create the service with mocks
+        MaxTempDifOutsideInsideService service = new MaxTempDifOutsideInsideService(valueRepositoryMem, generalPropertiesProvider);
+
+        // Prepare test data
+        SensorID insideSensorID = mock(SensorID.class);
+        Timestamp startTime = Timestamp.valueOf("2024-04-15 08:00:00.0");
+        Timestamp endTime = Timestamp.valueOf("2024-04-15 21:00:00.0");
+
+        // Mocking value retrieval
+        InstantTimeValue insideValue1 = mock(InstantTimeValue.class);
+        when(valueRepositoryMem.findBySensorIdBetweenPeriodOfTime(eq(insideSensorID), any(), any())).thenReturn(List.of(insideValue1));
+
+        // Mocking inside value properties
+        Timestamp insideValueTimestamp = Timestamp.valueOf("2024-04-15 17:06:00.0");
+        when(insideValue1.getInstantTimeReading()).thenReturn(insideValueTimestamp);
+        Reading reading1 = mock(Reading.class);
+        when(reading1.getNumericMeasurement()).thenReturn(27.0);
+        when(reading1.getUnit()).thenReturn("Cº");
+        when(insideValue1.getReading()).thenReturn(reading1);
+
+        // Mocking outside value properties
+        SensorID outsideSensorID = mock(SensorID.class);
+        InstantTimeValue insideValue2 = mock(InstantTimeValue.class);
+        when(valueRepositoryMem.findBySensorIdBetweenPeriodOfTime(eq(outsideSensorID), any(), any())).thenReturn(List.of(insideValue2));
+        Timestamp outsideValueTimestamp = Timestamp.valueOf("2024-04-15 14:05:00.0");
+        when(insideValue2.getInstantTimeReading()).thenReturn(outsideValueTimestamp);
+        Reading reading2 = mock(Reading.class);
+        when(reading2.getNumericMeasurement()).thenReturn(24.0);
+        when(reading2.getUnit()).thenReturn("Cº");
+        when(insideValue2.getReading()).thenReturn(reading2);
+
+        // Invoke the method under test
+        double maxTemperatureDifference = service.getMaxTemperatureDifference(insideSensorID, outsideSensorID, startTime, endTime);
+
+        // Assert the result
+        assertEquals(-1.0, maxTemperatureDifference, 0.01);
+
+        // Verify method calls
+        verify(valueRepositoryMem).findBySensorIdBetweenPeriodOfTime(eq(insideSensorID), any(), any());
+    }
+
+    /**
+     * Test case for the time window being pushed down to the repository, the outside one padded by the tolerance.
+     */
+    @Test
+    void testGetMaxTemperatureDifferenceRequestsOnlyThePeriod() {
+        InstantTimeValueRepositoryMem valueRepositoryMem = mock(InstantTimeValueRepositoryMem.class);
+        MaxTempDifOutsideInsideService service = new MaxTempDifOutsideInsideService(valueRepositoryMem, generalPropertiesProvider);
+        SensorID insideSensorID = new SensorID("InsideSensor");
+        SensorID outsideSensorID = new SensorID("OutsideSensor");
+        Timestamp startTime = Timestamp.valueOf("2024-04-15 08:00:00.0");
+        Timestamp endTime = Timestamp.valueOf("2024-04-15 21:00:00.0");
+
+        service.getMaxTemperatureDifference(insideSensorID, outsideSensorID, startTime, endTime);
+
+        verify(valueRepositoryMem).findBySensorIdBetweenPeriodOfTime(insideSensorID,
+                new Timestamp(startTime.getTime() - 1), new Timestamp(endTime.getTime() + 1));
+        verify(valueRepositoryMem).findBySensorIdBetweenPeriodOfTime(outsideSensorID,
+                new Timestamp(startTime.getTime() - 300001), new Timestamp(endTime.getTime() + 300001));
+        verify(valueRepositoryMem, never()).findBySensorId(any());
+    }
+
+    /**
+     * Test case for each inside reading being matched with the closest outside reading, the later one on a tie,
+     * whatever the order the readings are returned in.
+     */
+    @Test
+    void testGetMaxTemperatureDifferenceMatchesClosestOutsideReading() {
+        InstantTimeValueRepositoryMem valueRepositoryMem = mock(InstantTimeValueRepositoryMem.class);
+        MaxTempDifOutsideInsideService service = new MaxTempDifOutsideInsideService(valueRepositoryMem, generalPropertiesProvider);
+        SensorID insideSensorID = new SensorID("InsideSensor");
+        SensorID outsideSensorID = new SensorID("OutsideSensor");
+        ImpFactoryInstantTimeValue factory = new ImpFactoryInstantTimeValue();
+
+        List<Value> insideValues = List.of(
+                factory.createValue(insideSensorID, new Reading("20", "C"), Timestamp.valueOf("2024-04-15 14:00:00")),
+                factory.createValue(insideSensorID, new Reading("20", "C"), Timestamp.valueOf("2024-04-15 12:00:00")));
+        List<Value> outsideValues = List.of(
+                factory.createValue(outsideSensorID, new Reading("0", "C"), Timestamp.valueOf("2024-04-15 14:04:00")),
+                factory.createValue(outsideSensorID, new Reading("17", "C"), Timestamp.valueOf("2024-04-15 14:02:00")),
+                factory.createValue(outsideSensorID, new Reading("10", "C"), Timestamp.valueOf("2024-04-15 11:58:00")),
+                factory.createValue(outsideSensorID, new Reading("15", "C"), Timestamp.valueOf("2024-04-15 12:02:00")),
+                factory.createValue(outsideSensorID, new Reading("0", "C"), Timestamp.valueOf("2024-04-15 13:56:00")));
+        when(valueRepositoryMem.findBySensorIdBetweenPeriodOfTime(eq(insideSensorID), any(), any())).thenReturn(insideValues);
+        when(valueRepositoryMem.findBySensorIdBetweenPeriodOfTime(eq(outsideSensorID), any(), any())).thenReturn(outsideValues);
+
+        double maxTemperatureDifference = service.getMaxTemperatureDifference(insideSensorID, outsideSensorID,
+                Timestamp.valueOf("2024-04-15 08:00:00.0"), Timestamp.valueOf("2024-04-15 21:00:00.0"));
+
+        // 14:00 is matched with 14:02 (17), 12:00 with 12:02 (15) rather than 11:58 (10)
+        assertEquals(5.0, maxTemperatureDifference, 0.01);
+    }
+
+    /**
+     * Test case for the merge join matching the nested-loop calculation on random readings.
+     */
+    @Test
+    void testMaxTemperatureDifferenceMatchesNestedLoopCalculation() {
+        Random random = new Random(42);
+        Timestamp first = Timestamp.valueOf("2024-04-15 00:00:00");
+        List<Value> insideValues = TemperatureDifferenceFixtures.temperatureValues(
+                new SensorID("InsideSensor"), first, 3000, 60000, 20000, random);
+        List<Value> outsideValues = new ArrayList<>(TemperatureDifferenceFixtures.temperatureValues(
+                new SensorID("OutsideSensor"), first, 1000, 180000, 80000, random));
+        Collections.shuffle(outsideValues, random);
+        long start = first.getTime() + 3_600_000L;
+        long end = first.getTime() + 40_000_000L;
+
+        for (long tolerance : new long[]{0, 30000, 300000}) {
+            double expected = TemperatureDifferenceFixtures.nestedLoopMaxDifference(insideValues, outsideValues, start, end, tolerance);
+            double result = MaxTempDifOutsideInsideService.maxTemperatureDifference(insideValues, outsideValues, start, end, tolerance);
+
+            assertEquals(expected, result);
         }
     }
-}
\ No newline at end of file
+}
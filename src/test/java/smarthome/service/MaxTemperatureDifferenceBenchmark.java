@@ -0,0 +1,73 @@
+package smarthome.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.SensorID;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the maximum temperature difference between an inside and an outside sensor, merge joining 1-minute
+ * readings of both sensors over the whole series. The time per reading stays flat as the series grow, where the nested
+ * loop it replaced grew with the product of both series and is only run up to 10^4 readings.
+ * Run with: mvn test-compile exec:exec -Pbenchmark -Dbenchmark=MaxTemperatureDifferenceBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class MaxTemperatureDifferenceBenchmark {
+
+    private static final long INTERVAL = 60_000L;
+    private static final long TOLERANCE = 300_000L;
+    private static final int NESTED_LOOP_LIMIT = 10_000;
+
+    /**
+     * Number of readings per sensor.
+     */
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int readings;
+
+    private List<Value> insideValues;
+    private List<Value> outsideValues;
+    private long start;
+    private long end;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        Timestamp first = Timestamp.valueOf("2024-01-01 00:00:00");
+        insideValues = TemperatureDifferenceFixtures.temperatureValues(
+                new SensorID("InsideSensor"), first, readings, INTERVAL, 0, random);
+        outsideValues = TemperatureDifferenceFixtures.temperatureValues(
+                new SensorID("OutsideSensor"), first, readings, INTERVAL, INTERVAL / 3, random);
+        start = first.getTime();
+        end = first.getTime() + readings * INTERVAL;
+    }
+
+    @Benchmark
+    public double mergeJoin() {
+        return MaxTempDifOutsideInsideService.maxTemperatureDifference(insideValues, outsideValues, start, end, TOLERANCE);
+    }
+
+    @Benchmark
+    public double nestedLoop() {
+        if (readings > NESTED_LOOP_LIMIT)
+            return Double.NaN;
+        return TemperatureDifferenceFixtures.nestedLoopMaxDifference(insideValues, outsideValues, start, end, TOLERANCE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MaxTemperatureDifferenceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package smarthome.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import smarthome.domain.value.InstantTimeValue;
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.DeviceID;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the peak power consumption calculation: the nested loop it replaced against the PeakPowerCalculator sweep,
+ * on 15-minute grid readings and 1-minute power source readings.
+ * Run with: mvn test-compile exec:exec -Pbenchmark -Dbenchmark=PeakPowerCalculatorBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class PeakPowerCalculatorBenchmark {
+
+    private static final long CADENCE = 900_000L;
+    private static final long SOURCE_INTERVAL = 60_000L;
+
+    /**
+     * Number of days of readings.
+     */
+    @Param({"1", "7", "30"})
+    private int days;
+
+    /**
+     * Number of power source devices.
+     */
+    @Param({"5", "20"})
+    private int powerSources;
+
+    private List<Value> gridValues;
+    private Map<DeviceID, Map<Timestamp, InstantTimeValue>> powerSourceValues;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        Timestamp first = Timestamp.valueOf("2024-01-01 00:00:00");
+        gridValues = PeakPowerFixtures.gridValues(new Timestamp(first.getTime() + CADENCE),
+                (int) (days * 86_400_000L / CADENCE), CADENCE, random);
+        powerSourceValues = PeakPowerFixtures.powerSourceValues(first, powerSources,
+                (int) (days * 86_400_000L / SOURCE_INTERVAL), SOURCE_INTERVAL, random);
+    }
+
+    @Benchmark
+    public double nestedLoop() {
+        return PeakPowerFixtures.nestedLoopPeak(gridValues, powerSourceValues, CADENCE);
+    }
+
+    @Benchmark
+    public double sweep() {
+        return new PeakPowerCalculator(CADENCE).calculate(gridValues, powerSourceValues.values());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PeakPowerCalculatorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,105 @@
+package smarthome.service;
+
+import org.junit.jupiter.api.Test;
+import smarthome.domain.value.ImpFactoryInstantTimeValue;
+import smarthome.domain.value.ImpFactoryPeriodTimeValue;
+import smarthome.domain.value.InstantTimeValue;
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.DeviceID;
+import smarthome.domain.valueobjects.Reading;
+import smarthome.domain.valueobjects.SensorID;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PeakPowerCalculatorTest {
+
+    private static final long TOLERANCE = 900000;
+
+    private final ImpFactoryPeriodTimeValue periodFactory = new ImpFactoryPeriodTimeValue();
+    private final ImpFactoryInstantTimeValue instantFactory = new ImpFactoryInstantTimeValue();
+    private final SensorID gridSensorID = new SensorID("GridSensor");
+    private final SensorID sourceSensorID = new SensorID("SourceSensor");
+
+    private Value gridValue(String end, String measurement) {
+        Timestamp endTime = Timestamp.valueOf(end);
+        return periodFactory.createValue(gridSensorID, new Reading(measurement, "W"),
+                new Timestamp(endTime.getTime() - TOLERANCE), endTime);
+    }
+
+    private void putSourceValue(Map<Timestamp, InstantTimeValue> values, Timestamp timestamp, String measurement) {
+        values.put(timestamp, (InstantTimeValue) instantFactory.createValue(sourceSensorID, new Reading(measurement, "W"), timestamp));
+    }
+
+    /**
+     * Test that power source readings on both edges of an instant are added to it, and those just outside are not.
+     */
+    @Test
+    void instantEdgesAreInclusive() {
+        List<Value> grid = List.of(gridValue("2024-04-01 12:15:00", "100"));
+        Map<Timestamp, InstantTimeValue> source = new HashMap<>();
+        putSourceValue(source, Timestamp.valueOf("2024-04-01 12:00:00"), "10");
+        putSourceValue(source, Timestamp.valueOf("2024-04-01 12:15:00"), "20");
+        putSourceValue(source, Timestamp.valueOf("2024-04-01 11:59:59.999"), "1000");
+        putSourceValue(source, Timestamp.valueOf("2024-04-01 12:15:00.000000001"), "1000");
+
+        double result = new PeakPowerCalculator(TOLERANCE).calculate(grid, List.of(source));
+
+        assertEquals(130, result, 0.001);
+    }
+
+    /**
+     * Test that the peak is the highest instant, whatever the order of the grid readings.
+     */
+    @Test
+    void peakIsTheHighestInstant() {
+        List<Value> grid = List.of(
+                gridValue("2024-04-01 12:45:00", "50"),
+                gridValue("2024-04-01 12:15:00", "100"),
+                gridValue("2024-04-01 12:30:00", "100"));
+        Map<Timestamp, InstantTimeValue> source1 = new HashMap<>();
+        putSourceValue(source1, Timestamp.valueOf("2024-04-01 12:20:00"), "30");
+        putSourceValue(source1, Timestamp.valueOf("2024-04-01 12:40:00"), "90");
+        Map<Timestamp, InstantTimeValue> source2 = new HashMap<>();
+        putSourceValue(source2, Timestamp.valueOf("2024-04-01 12:35:00"), "5");
+
+        double result = new PeakPowerCalculator(TOLERANCE).calculate(grid, List.of(source1, source2));
+
+        assertEquals(145, result, 0.001);
+    }
+
+    /**
+     * Test that without grid readings the peak is 0.
+     */
+    @Test
+    void noGridReadingsGiveZero() {
+        Map<Timestamp, InstantTimeValue> source = new HashMap<>();
+        putSourceValue(source, Timestamp.valueOf("2024-04-01 12:00:00"), "10");
+
+        double result = new PeakPowerCalculator(TOLERANCE).calculate(List.of(), List.of(source));
+
+        assertEquals(0, result);
+    }
+
+    /**
+     * Test that the result matches the nested-loop calculation on random readings with many power sources.
+     */
+    @Test
+    void matchesNestedLoopCalculation() {
+        Random random = new Random(42);
+        Timestamp first = Timestamp.valueOf("2024-04-01 00:15:00");
+        List<Value> grid = PeakPowerFixtures.gridValues(first, 200, TOLERANCE, random);
+        Map<DeviceID, Map<Timestamp, InstantTimeValue>> sources =
+                PeakPowerFixtures.powerSourceValues(Timestamp.valueOf("2024-04-01 00:00:00"), 12, 3000, 60000, random);
+
+        double expected = PeakPowerFixtures.nestedLoopPeak(grid, sources, TOLERANCE);
+        double result = new PeakPowerCalculator(TOLERANCE).calculate(grid, sources.values());
+
+        assertEquals(expected, result);
+    }
+}
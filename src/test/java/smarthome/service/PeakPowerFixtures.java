@@ -0,0 +1,110 @@
+package smarthome.service;
+
+import smarthome.domain.value.ImpFactoryInstantTimeValue;
+import smarthome.domain.value.ImpFactoryPeriodTimeValue;
+import smarthome.domain.value.InstantTimeValue;
+import smarthome.domain.value.PeriodTimeValue;
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.DeviceID;
+import smarthome.domain.valueobjects.Reading;
+import smarthome.domain.valueobjects.SensorID;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic grid power meter and power source readings, and the nested-loop peak power calculation that
+ * PeakPowerCalculator replaced, used as reference by its test and benchmark.
+ */
+final class PeakPowerFixtures {
+
+    private PeakPowerFixtures() {
+    }
+
+    /**
+     * Creates grid power meter readings, one per cadence, with random consumptions.
+     *
+     * @param first   Timestamp the first reading ends at.
+     * @param count   number of readings.
+     * @param cadence time between readings in milliseconds.
+     * @param random  source of the consumptions.
+     * @return List of PeriodTimeValue objects, in random order.
+     */
+    static List<Value> gridValues(Timestamp first, int count, long cadence, Random random) {
+        ImpFactoryPeriodTimeValue factory = new ImpFactoryPeriodTimeValue();
+        SensorID sensorID = new SensorID("GridSensor");
+        List<Value> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long end = first.getTime() + i * cadence;
+            Reading reading = new Reading(String.valueOf(random.nextInt(5000)), "W");
+            values.add(factory.createValue(sensorID, reading, new Timestamp(end - cadence), new Timestamp(end)));
+        }
+        Collections.shuffle(values, random);
+        return values;
+    }
+
+    /**
+     * Creates power source readings for several devices, one per interval, with random consumptions and a random
+     * offset so some readings fall exactly on the edges of an instant.
+     *
+     * @param first    Timestamp of the first reading.
+     * @param devices  number of power source devices.
+     * @param count    number of readings per device.
+     * @param interval time between readings of a device in milliseconds.
+     * @param random   source of the consumptions and offsets.
+     * @return Map of each device's InstantTimeValue objects by timestamp.
+     */
+    static Map<DeviceID, Map<Timestamp, InstantTimeValue>> powerSourceValues(Timestamp first, int devices, int count,
+                                                                            long interval, Random random) {
+        ImpFactoryInstantTimeValue factory = new ImpFactoryInstantTimeValue();
+        Map<DeviceID, Map<Timestamp, InstantTimeValue>> values = new HashMap<>();
+        for (int d = 0; d < devices; d++) {
+            SensorID sensorID = new SensorID("SourceSensor" + d);
+            long offset = random.nextInt(3) * interval / 2;
+            Map<Timestamp, InstantTimeValue> valuesOfDevice = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                Timestamp timestamp = new Timestamp(first.getTime() + offset + i * interval);
+                Reading reading = new Reading(String.valueOf(random.nextInt(1000)), "W");
+                valuesOfDevice.put(timestamp, (InstantTimeValue) factory.createValue(sensorID, reading, timestamp));
+            }
+            values.put(new DeviceID("Source" + d), valuesOfDevice);
+        }
+        return values;
+    }
+
+    /**
+     * Peak power consumption as calculated before PeakPowerCalculator: for every grid reading, every power source
+     * reading is checked against the instant.
+     *
+     * @param gridValues        List of PeriodTimeValue objects with the consumption of the grid power meter.
+     * @param powerSourceValues Map of each power source device's InstantTimeValue objects by timestamp.
+     * @param tolerance         length of an "instant" in milliseconds.
+     * @return the peak power consumption.
+     */
+    static double nestedLoopPeak(List<Value> gridValues, Map<DeviceID, Map<Timestamp, InstantTimeValue>> powerSourceValues,
+                                 long tolerance) {
+        double peakPowerConsumption = 0.0;
+        for (Value powerGridValue : gridValues) {
+            PeriodTimeValue periodTimePowerGridValue = (PeriodTimeValue) powerGridValue;
+            Timestamp endTime = periodTimePowerGridValue.getEndTimeReading();
+            Timestamp startTime = new Timestamp(endTime.getTime() - tolerance);
+
+            double totalConsumption = Double.parseDouble(periodTimePowerGridValue.getReading().getMeasurement());
+            for (Map<Timestamp, InstantTimeValue> mapOfValuesPerDevice : powerSourceValues.values()) {
+                for (Map.Entry<Timestamp, InstantTimeValue> entry : mapOfValuesPerDevice.entrySet()) {
+                    Timestamp timestamp = entry.getKey();
+                    if (!timestamp.before(startTime) && !timestamp.after(endTime)) {
+                        totalConsumption += Double.parseDouble(entry.getValue().getReading().getMeasurement());
+                    }
+                }
+            }
+            peakPowerConsumption = Math.max(peakPowerConsumption, totalConsumption);
+        }
+        return peakPowerConsumption;
+    }
+}
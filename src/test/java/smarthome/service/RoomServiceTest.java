@@ -15,6 +15,7 @@ import smarthome.service.internaldto.InternalRoomDTO;
 import smarthome.util.exceptions.*;
 
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -312,7 +313,8 @@ class RoomServiceTest {
 
         //Create double of room and set repository behaviour
         Room roomDouble = mock(Room.class);
-        when(roomRepositoryDouble.findEntityByID(roomIDDouble)).thenReturn(Optional.of(roomDouble));
+        when(roomRepositoryDouble.update(eq(roomIDDouble), any())).thenAnswer(invocation ->
+                Optional.ofNullable(invocation.<UnaryOperator<Room>>getArgument(1).apply(roomDouble)));
 
         //Set behaviour of room to edit room configuration
         when(roomDouble.editRoom(roomFloorDouble, roomDimensionsDouble)).thenReturn(roomDouble);
@@ -366,7 +368,9 @@ class RoomServiceTest {
 
         //Create double of room and set repository behaviour
         Room roomDouble = mock(Room.class);
-        when(roomRepositoryDouble.findEntityByID(roomIDDouble)).thenReturn(Optional.of(roomDouble));
+        when(roomRepositoryDouble.update(eq(roomIDDouble), any())).thenAnswer(invocation ->
+                Optional.ofNullable(invocation.<UnaryOperator<Room>>getArgument(1).apply(roomDouble)));
+        when(roomRepositoryDouble.containsEntityByID(roomIDDouble)).thenReturn(true);
 
         assertThrows((RoomNotEditedException.class), () -> roomServices.editRoomAndSave(roomIDDouble,
                 roomFloorDouble, roomDimensionsDouble));
@@ -0,0 +1,87 @@
+package smarthome.service;
+
+import smarthome.domain.value.ImpFactoryInstantTimeValue;
+import smarthome.domain.value.InstantTimeValue;
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.Reading;
+import smarthome.domain.valueobjects.SensorID;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic temperature readings, and a nested-loop calculation of the maximum temperature difference that the merge
+ * join of MaxTempDifOutsideInsideService replaced, used as reference by its test and benchmark.
+ */
+final class TemperatureDifferenceFixtures {
+
+    private TemperatureDifferenceFixtures() {
+    }
+
+    /**
+     * Creates temperature readings, about one per interval, with random temperatures and a random jitter on their times.
+     *
+     * @param sensorID SensorID the readings belong to.
+     * @param first    Timestamp of the first reading.
+     * @param count    number of readings.
+     * @param interval time between readings in milliseconds.
+     * @param jitter   maximum shift of a reading from its slot in milliseconds, below half the interval.
+     * @param random   source of the temperatures and jitter.
+     * @return List of InstantTimeValue objects, in time order.
+     */
+    static List<Value> temperatureValues(SensorID sensorID, Timestamp first, int count, long interval, long jitter,
+                                         Random random) {
+        ImpFactoryInstantTimeValue factory = new ImpFactoryInstantTimeValue();
+        List<Value> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long shift = jitter == 0 ? 0 : random.nextLong(-jitter, jitter + 1);
+            Timestamp timestamp = new Timestamp(first.getTime() + i * interval + shift);
+            Reading reading = new Reading(String.valueOf(random.nextInt(-100, 400) / 10.0), "C");
+            values.add(factory.createValue(sensorID, reading, timestamp));
+        }
+        return values;
+    }
+
+    /**
+     * Maximum temperature difference found by checking, for every inside reading of the period, every outside reading.
+     * The closest outside reading within the tolerance is used, the later one on a tie.
+     *
+     * @param insideValues  InstantTimeValue objects of the inside sensor.
+     * @param outsideValues InstantTimeValue objects of the outside sensor.
+     * @param start         start of the period in milliseconds, inclusive.
+     * @param end           end of the period in milliseconds, inclusive.
+     * @param tolerance     maximum time between matched readings in milliseconds.
+     * @return the maximum temperature difference, or -1 if no inside reading has an outside match.
+     */
+    static double nestedLoopMaxDifference(List<Value> insideValues, List<Value> outsideValues, long start, long end,
+                                          long tolerance) {
+        double maxDifference = -1;
+        for (Value insideValue : insideValues) {
+            long insideTimestamp = ((InstantTimeValue) insideValue).getInstantTimeReading().getTime();
+            if (insideTimestamp < start || insideTimestamp > end)
+                continue;
+
+            Value closest = null;
+            long closestDistance = Long.MAX_VALUE;
+            long closestTimestamp = Long.MIN_VALUE;
+            for (Value outsideValue : outsideValues) {
+                long outsideTimestamp = ((InstantTimeValue) outsideValue).getInstantTimeReading().getTime();
+                long distance = Math.abs(outsideTimestamp - insideTimestamp);
+                if (distance < closestDistance || distance == closestDistance && outsideTimestamp > closestTimestamp) {
+                    closest = outsideValue;
+                    closestDistance = distance;
+                    closestTimestamp = outsideTimestamp;
+                }
+            }
+            if (closest == null || closestDistance > tolerance)
+                continue;
+
+            double difference = Math.abs(insideValue.getReading().getNumericMeasurement()
+                    - closest.getReading().getNumericMeasurement());
+            maxDifference = Math.max(maxDifference, difference);
+        }
+        return maxDifference;
+    }
+}
@@ -1,33 +1,49 @@
 package smarthome.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedConstruction;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import smarthome.domain.repository.SensorFunctionalityRepository;
 import smarthome.domain.repository.SensorRepository;
 import smarthome.domain.sensor.Sensor;
+import smarthome.domain.sensorfunctionality.SensorFunctionality;
+import smarthome.domain.value.ImpFactoryInstantTimeLocationValue;
+import smarthome.domain.value.ImpFactoryInstantTimeValue;
+import smarthome.domain.value.ImpFactoryPeriodTimeValue;
 import smarthome.domain.value.InstantTimeValue;
 import smarthome.domain.value.PeriodTimeValue;
 import smarthome.domain.value.Value;
 import smarthome.domain.valueobjects.*;
 import smarthome.persistence.repositoriesmem.*;
-import smarthome.util.ConfigScraper;
+import smarthome.service.internaldto.InternalReadingDTO;
+import smarthome.service.internaldto.InternalReadingPageDTO;
+import smarthome.util.GeneralProperties;
+import smarthome.util.GeneralPropertiesProvider;
+import smarthome.util.exceptions.SensorFunctionalityNotListedException;
 import smarthome.util.exceptions.SensorNotFoundException;
 import smarthome.util.exceptions.ValueNotFoundException;
 
 import java.sql.Timestamp;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest (classes = ValueService.class)
+@SpringBootTest (classes = {ValueService.class, SimpleMeterRegistry.class})
 class ValueServiceTest {
 
     @MockBean
@@ -45,12 +61,56 @@ class ValueServiceTest {
     @MockBean
     InstantTimeLocationValueRepository instantTimeLocationValueRepositoryDouble;
 
-    @InjectMocks
+    @MockBean
+    ImpFactoryInstantTimeValue factoryInstantTimeValueDouble;
+
+    @MockBean
+    ImpFactoryPeriodTimeValue factoryPeriodTimeValueDouble;
+
+    @MockBean
+    ImpFactoryInstantTimeLocationValue factoryInstantTimeLocationValueDouble;
+
+    @MockBean(name = "measurementFetchExecutor")
+    Executor measurementFetchExecutorDouble;
+
+    @MockBean
+    GeneralPropertiesProvider generalPropertiesProviderDouble;
+
+    @MockBean
+    ValueRollupRepository valueRollupRepositoryDouble;
+
+    MeterRegistry meterRegistry;
+
     ValueService valueService;
 
     @BeforeEach
     void setUp () {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        valueService = createValueService(Runnable::run);
+    }
+
+    /**
+     * Stubs the SensorFunctionalityRepository double to hold sensor functionalities with the given IDs.
+     */
+    private void stubSensorFunctionalities(SensorFunctionalityID... sensorFunctionalityIDs) {
+        List<SensorFunctionality> sensorFunctionalities = new ArrayList<>();
+        for (SensorFunctionalityID sensorFunctionalityID : sensorFunctionalityIDs) {
+            SensorFunctionality sensorFunctionality = mock(SensorFunctionality.class);
+            when(sensorFunctionality.identity()).thenReturn(sensorFunctionalityID);
+            sensorFunctionalities.add(sensorFunctionality);
+        }
+        when(sensorFunctionalityRepositoryDouble.findAllEntities()).thenReturn(sensorFunctionalities);
+    }
+
+    /**
+     * Creates a ValueService with the repository and factory doubles, running the per-sensor queries on the given executor.
+     */
+    private ValueService createValueService(Executor executor) {
+        return new ValueService(sensorRepositoryDouble, sensorFunctionalityRepositoryDouble, instantValueRepositoryDouble,
+                periodValueRepositoryDouble, instantTimeLocationValueRepositoryDouble, factoryInstantTimeValueDouble,
+                factoryPeriodTimeValueDouble, factoryInstantTimeLocationValueDouble, executor, meterRegistry,
+                generalPropertiesProviderDouble, valueRollupRepositoryDouble);
     }
 
     /**
@@ -143,6 +203,10 @@ class ValueServiceTest {
         when(sensorFunctionalityRepositoryDouble.getServiceMethodToCallForSensorFunctionalityID(sensorFunctionalityIDDouble2)).thenReturn(serviceMethodToCallDouble2);
         when(sensorFunctionalityRepositoryDouble.getServiceMethodToCallForSensorFunctionalityID(sensorFunctionalityIDDouble3)).thenReturn(serviceMethodToCallDouble3);
 
+        //Value queries are compiled when the service is created
+        stubSensorFunctionalities(sensorFunctionalityIDDouble1, sensorFunctionalityIDDouble2, sensorFunctionalityIDDouble3);
+        valueService = createValueService(Runnable::run);
+
         //-----------------------------------------Values-----------------------------------------------------
 
         //Create Timestamps here
@@ -229,122 +293,117 @@ class ValueServiceTest {
 
     @Test
     void successGetPeakPowerConsumption() {
-        //Create double of ConfigScraper
-        try (MockedConstruction<ConfigScraper> ConfigScraper = mockConstruction(ConfigScraper.class,
-                (mock, context) -> {
-                    //Stub methods to get the Strings set in the config file, for the expected name for the Grid Power
-                    // Meter device and the grid meter cadence (in min.) to be used as the time defined for an "instant".
-                    when(mock.loadGridPowerMeterID()).thenReturn("Grid Power Meter");
-                    when(mock.loadGridPowerMeterCadence()).thenReturn("900000");
-                })) {
-
-            //Create objects created with "new" keyword in the method
-            DeviceID deviceIDDoubleGrid = new DeviceID("Grid Power Meter");
-            DeviceID deviceIDDoubleSource2 = new DeviceID("Power Source 2");
-            DeviceID deviceIDDoubleSource3 = new DeviceID("Power Source 3");
-
-            SensorFunctionalityID gridPowerMeterSensorFunctionality = new SensorFunctionalityID("PowerAverage");
-            SensorFunctionalityID powerSourceSensorFunctionality = new SensorFunctionalityID("SpecificTimePowerConsumption");
-
-            //SENSORS---------------------------------------------------------------------------------------------------
-            //Create double of PowerGrid sensor - Period Sensors (functionality: PowerAverage - US25)
-            Sensor sensorDouble1 = mock(Sensor.class);
-
-            //Create double of Power Sources sensors - Instant Sensors (functionality: SpecificTimePowerConsumption - US24)
-            Sensor sensorDouble2 = mock(Sensor.class);
-            Sensor sensorDouble3 = mock(Sensor.class);
-            Sensor sensorDouble4 = mock(Sensor.class);
-
-            //Respective SensorIDs of all sensors
-            SensorID sensorIDDouble1 = mock(SensorID.class);
-            SensorID sensorIDDouble2 = mock(SensorID.class);
-            SensorID sensorIDDouble3 = mock(SensorID.class);
-            SensorID sensorIDDouble4 = mock(SensorID.class);
-
-            //VALUES----------------------------------------------------------------------------------------------------
-            //List of values of Grid Power Meter sensor
-            PeriodTimeValue gridValueDouble1 = mock(PeriodTimeValue.class); //value for sensor 1
-            PeriodTimeValue gridValueDouble2 = mock(PeriodTimeValue.class); //value for sensor 1
-            List<Value> valueListGridPowerMeterSensor = List.of(gridValueDouble1, gridValueDouble2);
-
-            //List of values of Power Source sensors
-            InstantTimeValue sensor2ValueDouble1 = mock(InstantTimeValue.class); //value for sensor 2
-            InstantTimeValue sensor2ValueDouble2 = mock(InstantTimeValue.class); //value for sensor 2
-            InstantTimeValue sensor3ValueDouble1 = mock(InstantTimeValue.class); //value for sensor 3
-            InstantTimeValue sensor4ValueDouble1 = mock(InstantTimeValue.class); //value for sensor 4
-
-            List<Value> listOfValuesForPowerSourceSensor2 = List.of(sensor2ValueDouble1, sensor2ValueDouble2);
-            List<Value> listOfValuesForPowerSourceSensor3 = List.of(sensor3ValueDouble1);
-            List<Value> listOfValuesForPowerSourceSensor4 = List.of(sensor4ValueDouble1);
-
-            //----------------------------------------------------------------------------------------------------------
-
-            //Find sensor of functionality "PowerAverage" (US25) from grid power meter device
-            when(sensorRepositoryDouble.findByDeviceIDAndSensorFunctionality(deviceIDDoubleGrid, gridPowerMeterSensorFunctionality)).thenReturn(List.of(sensorDouble1));
-
-            //Find ID of the found Grid Power Meter device
-            when(sensorDouble1.identity()).thenReturn(sensorIDDouble1);
-
-            //Get values from Grid Power Meter sensor
-            when(periodValueRepositoryDouble.findBySensorIdBetweenPeriodOfTime(sensorIDDouble1, Timestamp.valueOf("2024-04-01 12:15:00"), Timestamp.valueOf("2024-04-01 12:40:00"))).thenReturn(valueListGridPowerMeterSensor);
-
-            //Find sensors from functionality "SpecificTimePowerConsumption" (US24)
-            when(sensorRepositoryDouble.findBySensorFunctionality(powerSourceSensorFunctionality)).thenReturn(List.of(sensorDouble2, sensorDouble3, sensorDouble4));
-
-            //For each sensor in ListOfSensorsFromPowerSources, get the deviceID
-            when(sensorDouble2.getDeviceID()).thenReturn(deviceIDDoubleSource2); //sensor 2 (from Power Source) belongs to device 2
-            when(sensorDouble3.getDeviceID()).thenReturn(deviceIDDoubleSource2); //sensor 3 (from Power Source) belongs to device 2
-            when(sensorDouble4.getDeviceID()).thenReturn(deviceIDDoubleSource3); //sensor 4 (from Power Source) belongs to device 3
-
-            //For each sensor in ListOfSensorsFromPowerSources, get the sensorID
-            when(sensorDouble2.identity()).thenReturn(sensorIDDouble2);
-            when(sensorDouble3.identity()).thenReturn(sensorIDDouble3);
-            when(sensorDouble4.identity()).thenReturn(sensorIDDouble4);
-
-            Timestamp startPeriod = Timestamp.valueOf("2024-04-01 12:15:00");
-            Timestamp endPeriod = Timestamp.valueOf("2024-04-01 12:40:00");
-
-            //For each sensor in ListOfSensorsFromPowerSources, get the values
-            when(instantValueRepositoryDouble.findBySensorIdBetweenPeriodOfTime(sensorIDDouble2, startPeriod, endPeriod)).thenReturn(listOfValuesForPowerSourceSensor2);
-            when(instantValueRepositoryDouble.findBySensorIdBetweenPeriodOfTime(sensorIDDouble3, startPeriod, endPeriod)).thenReturn(listOfValuesForPowerSourceSensor3);
-            when(instantValueRepositoryDouble.findBySensorIdBetweenPeriodOfTime(sensorIDDouble4, startPeriod, endPeriod)).thenReturn(listOfValuesForPowerSourceSensor4);
-
-            //For each value, get the instantTimeValue
-            when(sensor2ValueDouble1.getInstantTimeReading()).thenReturn(Timestamp.valueOf("2024-04-01 12:16:00")); //first instant
-            when(sensor2ValueDouble2.getInstantTimeReading()).thenReturn(Timestamp.valueOf("2024-04-01 12:21:00")); //first instant
-            when(sensor3ValueDouble1.getInstantTimeReading()).thenReturn(Timestamp.valueOf("2024-04-01 12:35:00")); //second instant
-            when(sensor4ValueDouble1.getInstantTimeReading()).thenReturn(Timestamp.valueOf("2024-04-01 12:55:00")); //out of given period
-
-
-            /////CalculatePeakPowerConsumption()------------------------------------------------------------------------
-
-            //For each value of Grid Power Meter values, get end time
-            when(gridValueDouble1.getEndTimeReading()).thenReturn(Timestamp.valueOf("2024-04-01 12:30:00")); //first instant
-            when(gridValueDouble2.getEndTimeReading()).thenReturn(Timestamp.valueOf("2024-04-01 12:45:00")); //second instant
-
-            //For each value of Grid Power Meter values, get measurement
-            when(gridValueDouble1.getReading()).thenReturn(mock(Reading.class));
-            when(gridValueDouble2.getReading()).thenReturn(mock(Reading.class));
-            when(gridValueDouble1.getReading().getMeasurement()).thenReturn("50");
-            when(gridValueDouble2.getReading().getMeasurement()).thenReturn("60");
-
-            //For each value of Power Source Sensors, get measurement
-            when(sensor2ValueDouble1.getReading()).thenReturn(mock(Reading.class));
-            when(sensor2ValueDouble2.getReading()).thenReturn(mock(Reading.class));
-            when(sensor3ValueDouble1.getReading()).thenReturn(mock(Reading.class));
-            when(sensor4ValueDouble1.getReading()).thenReturn(mock(Reading.class));
-
-            when(sensor2ValueDouble1.getReading().getMeasurement()).thenReturn("10");
-            when(sensor2ValueDouble2.getReading().getMeasurement()).thenReturn("20");
-            when(sensor3ValueDouble1.getReading().getMeasurement()).thenReturn("30");
-            when(sensor4ValueDouble1.getReading().getMeasurement()).thenReturn("40");
-
-            //Act
-            double peakPowerConsumption = valueService.getPeakPowerConsumption(startPeriod, endPeriod);
+        //Stub the general properties, for the expected name for the Grid Power Meter device and the grid meter
+        // cadence (in ms) to be used as the time defined for an "instant".
+        when(generalPropertiesProviderDouble.current()).thenReturn(
+                new GeneralProperties(300000, "Grid Power Meter", 900000, "http://localhost:8080", 5));
 
-            //Assert
-            assertEquals(90, peakPowerConsumption);
-        }
+        //Create objects created with "new" keyword in the method
+        DeviceID deviceIDDoubleGrid = new DeviceID("Grid Power Meter");
+        DeviceID deviceIDDoubleSource2 = new DeviceID("Power Source 2");
+        DeviceID deviceIDDoubleSource3 = new DeviceID("Power Source 3");
+
+        SensorFunctionalityID gridPowerMeterSensorFunctionality = new SensorFunctionalityID("PowerAverage");
+        SensorFunctionalityID powerSourceSensorFunctionality = new SensorFunctionalityID("SpecificTimePowerConsumption");
+
+        //SENSORS---------------------------------------------------------------------------------------------------
+        //Create double of PowerGrid sensor - Period Sensors (functionality: PowerAverage - US25)
+        Sensor sensorDouble1 = mock(Sensor.class);
+
+        //Create double of Power Sources sensors - Instant Sensors (functionality: SpecificTimePowerConsumption - US24)
+        Sensor sensorDouble2 = mock(Sensor.class);
+        Sensor sensorDouble3 = mock(Sensor.class);
+        Sensor sensorDouble4 = mock(Sensor.class);
+
+        //Respective SensorIDs of all sensors
+        SensorID sensorIDDouble1 = mock(SensorID.class);
+        SensorID sensorIDDouble2 = mock(SensorID.class);
+        SensorID sensorIDDouble3 = mock(SensorID.class);
+        SensorID sensorIDDouble4 = mock(SensorID.class);
+
+        //VALUES----------------------------------------------------------------------------------------------------
+        //List of values of Grid Power Meter sensor
+        PeriodTimeValue gridValueDouble1 = mock(PeriodTimeValue.class); //value for sensor 1
+        PeriodTimeValue gridValueDouble2 = mock(PeriodTimeValue.class); //value for sensor 1
+        List<Value> valueListGridPowerMeterSensor = List.of(gridValueDouble1, gridValueDouble2);
+
+        //List of values of Power Source sensors
+        InstantTimeValue sensor2ValueDouble1 = mock(InstantTimeValue.class); //value for sensor 2
+        InstantTimeValue sensor2ValueDouble2 = mock(InstantTimeValue.class); //value for sensor 2
+        InstantTimeValue sensor3ValueDouble1 = mock(InstantTimeValue.class); //value for sensor 3
+        InstantTimeValue sensor4ValueDouble1 = mock(InstantTimeValue.class); //value for sensor 4
+
+        List<Value> listOfValuesForPowerSourceSensor2 = List.of(sensor2ValueDouble1, sensor2ValueDouble2);
+        List<Value> listOfValuesForPowerSourceSensor3 = List.of(sensor3ValueDouble1);
+        List<Value> listOfValuesForPowerSourceSensor4 = List.of(sensor4ValueDouble1);
+
+        //----------------------------------------------------------------------------------------------------------
+
+        //Find sensor of functionality "PowerAverage" (US25) from grid power meter device
+        when(sensorRepositoryDouble.findByDeviceIDAndSensorFunctionality(deviceIDDoubleGrid, gridPowerMeterSensorFunctionality)).thenReturn(List.of(sensorDouble1));
+
+        //Find ID of the found Grid Power Meter device
+        when(sensorDouble1.identity()).thenReturn(sensorIDDouble1);
+
+        //Get values from Grid Power Meter sensor
+        when(periodValueRepositoryDouble.findBySensorIdBetweenPeriodOfTime(sensorIDDouble1, Timestamp.valueOf("2024-04-01 12:15:00"), Timestamp.valueOf("2024-04-01 12:40:00"))).thenReturn(valueListGridPowerMeterSensor);
+
+        //Find sensors from functionality "SpecificTimePowerConsumption" (US24)
+        when(sensorRepositoryDouble.findBySensorFunctionality(powerSourceSensorFunctionality)).thenReturn(List.of(sensorDouble2, sensorDouble3, sensorDouble4));
+
+        //For each sensor in ListOfSensorsFromPowerSources, get the deviceID
+        when(sensorDouble2.getDeviceID()).thenReturn(deviceIDDoubleSource2); //sensor 2 (from Power Source) belongs to device 2
+        when(sensorDouble3.getDeviceID()).thenReturn(deviceIDDoubleSource2); //sensor 3 (from Power Source) belongs to device 2
+        when(sensorDouble4.getDeviceID()).thenReturn(deviceIDDoubleSource3); //sensor 4 (from Power Source) belongs to device 3
+
+        //For each sensor in ListOfSensorsFromPowerSources, get the sensorID
+        when(sensorDouble2.identity()).thenReturn(sensorIDDouble2);
+        when(sensorDouble3.identity()).thenReturn(sensorIDDouble3);
+        when(sensorDouble4.identity()).thenReturn(sensorIDDouble4);
+
+        Timestamp startPeriod = Timestamp.valueOf("2024-04-01 12:15:00");
+        Timestamp endPeriod = Timestamp.valueOf("2024-04-01 12:40:00");
+
+        //For each sensor in ListOfSensorsFromPowerSources, get the values
+        when(instantValueRepositoryDouble.findBySensorIdBetweenPeriodOfTime(sensorIDDouble2, startPeriod, endPeriod)).thenReturn(listOfValuesForPowerSourceSensor2);
+        when(instantValueRepositoryDouble.findBySensorIdBetweenPeriodOfTime(sensorIDDouble3, startPeriod, endPeriod)).thenReturn(listOfValuesForPowerSourceSensor3);
+        when(instantValueRepositoryDouble.findBySensorIdBetweenPeriodOfTime(sensorIDDouble4, startPeriod, endPeriod)).thenReturn(listOfValuesForPowerSourceSensor4);
+
+        //For each value, get the instantTimeValue
+        when(sensor2ValueDouble1.getInstantTimeReading()).thenReturn(Timestamp.valueOf("2024-04-01 12:16:00")); //first instant
+        when(sensor2ValueDouble2.getInstantTimeReading()).thenReturn(Timestamp.valueOf("2024-04-01 12:21:00")); //first instant
+        when(sensor3ValueDouble1.getInstantTimeReading()).thenReturn(Timestamp.valueOf("2024-04-01 12:35:00")); //second instant
+        when(sensor4ValueDouble1.getInstantTimeReading()).thenReturn(Timestamp.valueOf("2024-04-01 12:55:00")); //out of given period
+
+
+        /////CalculatePeakPowerConsumption()------------------------------------------------------------------------
+
+        //For each value of Grid Power Meter values, get end time
+        when(gridValueDouble1.getEndTimeReading()).thenReturn(Timestamp.valueOf("2024-04-01 12:30:00")); //first instant
+        when(gridValueDouble2.getEndTimeReading()).thenReturn(Timestamp.valueOf("2024-04-01 12:45:00")); //second instant
+
+        //For each value of Grid Power Meter values, get measurement
+        when(gridValueDouble1.getReading()).thenReturn(mock(Reading.class));
+        when(gridValueDouble2.getReading()).thenReturn(mock(Reading.class));
+        when(gridValueDouble1.getReading().getNumericMeasurement()).thenReturn(50.0);
+        when(gridValueDouble2.getReading().getNumericMeasurement()).thenReturn(60.0);
+
+        //For each value of Power Source Sensors, get measurement
+        when(sensor2ValueDouble1.getReading()).thenReturn(mock(Reading.class));
+        when(sensor2ValueDouble2.getReading()).thenReturn(mock(Reading.class));
+        when(sensor3ValueDouble1.getReading()).thenReturn(mock(Reading.class));
+        when(sensor4ValueDouble1.getReading()).thenReturn(mock(Reading.class));
+
+        when(sensor2ValueDouble1.getReading().getNumericMeasurement()).thenReturn(10.0);
+        when(sensor2ValueDouble2.getReading().getNumericMeasurement()).thenReturn(20.0);
+        when(sensor3ValueDouble1.getReading().getNumericMeasurement()).thenReturn(30.0);
+        when(sensor4ValueDouble1.getReading().getNumericMeasurement()).thenReturn(40.0);
+
+        //Act
+        double peakPowerConsumption = valueService.getPeakPowerConsumption(startPeriod, endPeriod);
+
+        //Assert
+        assertEquals(90, peakPowerConsumption);
     }
 
     /**
@@ -380,6 +439,8 @@ class ValueServiceTest {
 
         //Assert
         assertEquals("50", result);
+        verify(instantValueRepositoryDouble, times(1)).findLastValueRecorded(sensorID1);
+        verify(instantTimeLocationValueRepositoryDouble, never()).findLastValueRecorded(sensorID1);
     }
 
     /**
@@ -477,4 +538,578 @@ class ValueServiceTest {
 
         assertThrows(SensorNotFoundException.class, () -> valueService.getLastMeasurementOfASensor(deviceID, sensorFunctionalityID));
     }
-}
\ No newline at end of file
+
+    /**
+     * Verify that addReadingsToDevice creates a Value of the type configured for each sensor functionality and
+     * persists each type with a single saveAll call on the respective repository.
+     */
+    @Test
+    void successfullyAddReadingsToDevice() {
+        //Arrange
+        DeviceID deviceID = mock(DeviceID.class);
+
+        Sensor instantSensor = mock(Sensor.class);
+        SensorID instantSensorID = mock(SensorID.class);
+        SensorFunctionalityID instantFunctionalityID = mock(SensorFunctionalityID.class);
+        when(instantSensor.identity()).thenReturn(instantSensorID);
+        when(instantSensor.getSensorFunctionalityID()).thenReturn(instantFunctionalityID);
+
+        Sensor periodSensor = mock(Sensor.class);
+        SensorID periodSensorID = mock(SensorID.class);
+        SensorFunctionalityID periodFunctionalityID = mock(SensorFunctionalityID.class);
+        when(periodSensor.identity()).thenReturn(periodSensorID);
+        when(periodSensor.getSensorFunctionalityID()).thenReturn(periodFunctionalityID);
+
+        Sensor locationSensor = mock(Sensor.class);
+        SensorID locationSensorID = mock(SensorID.class);
+        SensorFunctionalityID locationFunctionalityID = mock(SensorFunctionalityID.class);
+        when(locationSensor.identity()).thenReturn(locationSensorID);
+        when(locationSensor.getSensorFunctionalityID()).thenReturn(locationFunctionalityID);
+
+        when(sensorRepositoryDouble.findByDeviceID(deviceID)).thenReturn(List.of(instantSensor, periodSensor, locationSensor));
+
+        stubSensorFunctionalities(instantFunctionalityID, periodFunctionalityID, locationFunctionalityID);
+        when(sensorFunctionalityRepositoryDouble.getServiceMethodToCallForSensorFunctionalityID(instantFunctionalityID)).thenReturn("listInstantValuesForSensorID");
+        when(sensorFunctionalityRepositoryDouble.getServiceMethodToCallForSensorFunctionalityID(periodFunctionalityID)).thenReturn("listPeriodValuesForSensorID");
+        when(sensorFunctionalityRepositoryDouble.getServiceMethodToCallForSensorFunctionalityID(locationFunctionalityID)).thenReturn("listInstantLocationValuesForSensorID");
+        when(sensorFunctionalityRepositoryDouble.getUnitForSensorFunctionalityID(any())).thenReturn("W");
+        valueService = createValueService(Runnable::run);
+
+        Timestamp instant = Timestamp.valueOf("2024-04-01 12:00:00");
+        Timestamp start = Timestamp.valueOf("2024-04-01 11:45:00");
+        GPSCode gpsCode = mock(GPSCode.class);
+
+        Value instantValue1 = mock(Value.class);
+        Value instantValue2 = mock(Value.class);
+        Value periodValue = mock(Value.class);
+        Value locationValue = mock(Value.class);
+        when(factoryInstantTimeValueDouble.createValue(eq(instantSensorID), any(Reading.class), eq(instant))).thenReturn(instantValue1, instantValue2);
+        when(factoryPeriodTimeValueDouble.createValue(eq(periodSensorID), any(Reading.class), eq(start), eq(instant))).thenReturn(periodValue);
+        when(factoryInstantTimeLocationValueDouble.createValue(eq(locationSensorID), any(Reading.class), eq(instant), eq(gpsCode))).thenReturn(locationValue);
+
+        List<InternalReadingDTO> readings = List.of(
+                new InternalReadingDTO(instantSensorID, "10", instant, null, null, null),
+                new InternalReadingDTO(instantSensorID, "20", instant, null, null, null),
+                new InternalReadingDTO(periodSensorID, "30", null, start, instant, null),
+                new InternalReadingDTO(locationSensorID, "40", instant, null, null, gpsCode));
+
+        //Act
+        int result = valueService.addReadingsToDevice(deviceID, readings);
+
+        //Assert
+        assertEquals(4, result);
+        verify(instantValueRepositoryDouble, times(1)).saveAll(List.of(instantValue1, instantValue2));
+        verify(periodValueRepositoryDouble, times(1)).saveAll(List.of(periodValue));
+        verify(instantTimeLocationValueRepositoryDouble, times(1)).saveAll(List.of(locationValue));
+    }
+
+    /**
+     * Verify that addReadingsToDevice folds the numeric readings of the batch into one rollup per bucket and resolution,
+     * merged with a single call, and leaves non-numeric readings out of the rollups.
+     */
+    @Test
+    void addReadingsToDeviceRollsUpNumericReadings() {
+        //Arrange
+        DeviceID deviceID = mock(DeviceID.class);
+        Sensor sensor = mock(Sensor.class);
+        SensorID sensorID = new SensorID("Sensor1");
+        SensorFunctionalityID sensorFunctionalityID = mock(SensorFunctionalityID.class);
+        when(sensor.identity()).thenReturn(sensorID);
+        when(sensor.getSensorFunctionalityID()).thenReturn(sensorFunctionalityID);
+        when(sensorRepositoryDouble.findByDeviceID(deviceID)).thenReturn(List.of(sensor));
+        stubSensorFunctionalities(sensorFunctionalityID);
+        when(sensorFunctionalityRepositoryDouble.getServiceMethodToCallForSensorFunctionalityID(sensorFunctionalityID)).thenReturn("listInstantValuesForSensorID");
+        when(sensorFunctionalityRepositoryDouble.getUnitForSensorFunctionalityID(sensorFunctionalityID)).thenReturn("W");
+        valueService = createValueService(Runnable::run);
+
+        Timestamp firstInstant = Timestamp.valueOf("2024-04-01 12:00:10");
+        Timestamp secondInstant = Timestamp.valueOf("2024-04-01 12:00:50");
+        List<InternalReadingDTO> readings = List.of(
+                new InternalReadingDTO(sensorID, "10", firstInstant, null, null, null),
+                new InternalReadingDTO(sensorID, "ON", firstInstant, null, null, null),
+                new InternalReadingDTO(sensorID, "25", secondInstant, null, null, null));
+
+        //Act
+        valueService.addReadingsToDevice(deviceID, readings);
+
+        //Assert
+        List<ValueRollup> expected = new ArrayList<>();
+        for (RollupResolution resolution : RollupResolution.values()) {
+            expected.add(new ValueRollup(sensorID, resolution, resolution.bucketStartOf(firstInstant), "W", 10, 25, 35, 2));
+        }
+        verify(valueRollupRepositoryDouble, times(1)).mergeAll(expected);
+    }
+
+    /**
+     * Verify that backfillRollups folds the streamed numeric readings of each sensor into its rollups, computing them
+     * only when the repository asks for them.
+     */
+    @Test
+    void backfillRollupsFoldsStoredReadingsOfEachSensor() {
+        //Arrange
+        SensorFunctionalityID sensorFunctionalityID = mock(SensorFunctionalityID.class);
+        stubSensorFunctionalities(sensorFunctionalityID);
+        when(sensorFunctionalityRepositoryDouble.getServiceMethodToCallForSensorFunctionalityID(sensorFunctionalityID)).thenReturn("listInstantValuesForSensorID");
+        valueService = createValueService(Runnable::run);
+
+        Sensor sensor = mock(Sensor.class);
+        SensorID sensorID = new SensorID("Sensor1");
+        when(sensor.identity()).thenReturn(sensorID);
+        when(sensor.getSensorFunctionalityID()).thenReturn(sensorFunctionalityID);
+        when(sensorRepositoryDouble.findAllEntities()).thenReturn(List.of(sensor));
+
+        Timestamp firstInstant = Timestamp.valueOf("2024-04-01 12:00:10");
+        Timestamp secondInstant = Timestamp.valueOf("2024-04-01 12:00:50");
+        List<Value> storedValues = new ArrayList<>();
+        for (Object[] stored : new Object[][]{{"10", firstInstant}, {"ON", firstInstant}, {"25", secondInstant}}) {
+            InstantTimeValue value = mock(InstantTimeValue.class);
+            when(value.getSensorID()).thenReturn(sensorID);
+            when(value.getReading()).thenReturn(new Reading((String) stored[0], "W"));
+            when(value.getInstantTimeReading()).thenReturn((Timestamp) stored[1]);
+            storedValues.add(value);
+        }
+        when(instantValueRepositoryDouble.streamBySensorIdBetweenPeriodOfTime(eq(sensorID), any(), any()))
+                .thenAnswer(invocation -> storedValues.stream());
+
+        List<List<ValueRollup>> backfilled = new ArrayList<>();
+        when(valueRollupRepositoryDouble.backfill(eq(sensorID), any())).thenAnswer(invocation -> {
+            Supplier<List<ValueRollup>> rollups = invocation.getArgument(1);
+            backfilled.add(rollups.get());
+            return true;
+        });
+
+        //Act
+        int result = valueService.backfillRollups();
+
+        //Assert
+        List<ValueRollup> expected = new ArrayList<>();
+        for (RollupResolution resolution : RollupResolution.values()) {
+            expected.add(new ValueRollup(sensorID, resolution, resolution.bucketStartOf(firstInstant), "W", 10, 25, 35, 2));
+        }
+        assertEquals(1, result);
+        assertEquals(List.of(expected), backfilled);
+    }
+
+    /**
+     * Verify that getRollupsForDeviceBetweenPeriod queries the finest resolution that fits the period in the point limit
+     * and groups the rollups by sensor functionality.
+     */
+    @Test
+    void successfullyRetrieveRollupsForDeviceID() {
+        //Arrange
+        DeviceID deviceID = mock(DeviceID.class);
+        Sensor sensor = mock(Sensor.class);
+        SensorID sensorID = new SensorID("Sensor1");
+        SensorFunctionalityID sensorFunctionalityID = mock(SensorFunctionalityID.class);
+        when(sensor.identity()).thenReturn(sensorID);
+        when(sensor.getSensorFunctionalityID()).thenReturn(sensorFunctionalityID);
+        when(sensorRepositoryDouble.findByDeviceID(deviceID)).thenReturn(List.of(sensor));
+
+        Timestamp start = Timestamp.valueOf("2024-04-01 00:00:00");
+        Timestamp end = Timestamp.valueOf("2024-04-03 00:00:00");
+        ValueRollup rollup = ValueRollup.of(sensorID, RollupResolution.ONE_HOUR, start, 10, "W");
+        when(valueRollupRepositoryDouble.findBySensorIdBetweenPeriodOfTime(sensorID, RollupResolution.ONE_HOUR, start, end))
+                .thenReturn(List.of(rollup));
+
+        //Act
+        Map<SensorFunctionalityID, List<ValueRollup>> result = valueService.getRollupsForDeviceBetweenPeriod(deviceID, start, end, 100);
+
+        //Assert
+        assertEquals(Map.of(sensorFunctionalityID, List.of(rollup)), result);
+    }
+
+    /**
+     * Verify that addReadingsToDevice throws a SensorNotFoundException and persists nothing when a reading refers to a
+     * sensor that does not belong to the device.
+     */
+    @Test
+    void failAddReadingsToDeviceWhenSensorNotInDevice() {
+        //Arrange
+        DeviceID deviceID = mock(DeviceID.class);
+        SensorID unknownSensorID = mock(SensorID.class);
+        when(sensorRepositoryDouble.findByDeviceID(deviceID)).thenReturn(List.of());
+
+        List<InternalReadingDTO> readings = List.of(
+                new InternalReadingDTO(unknownSensorID, "10", Timestamp.valueOf("2024-04-01 12:00:00"), null, null, null));
+
+        //Act + Assert
+        assertThrows(SensorNotFoundException.class, () -> valueService.addReadingsToDevice(deviceID, readings));
+        verify(instantValueRepositoryDouble, never()).saveAll(any());
+    }
+
+    /**
+     * Verify that addReadingsToDevice throws a SensorFunctionalityNotListedException when the sensor functionality is not
+     * in the SensorFunctionalityRepository, so it has no configured value type.
+     */
+    @Test
+    void failAddReadingsToDeviceWhenFunctionalityHasNoValueType() {
+        //Arrange
+        DeviceID deviceID = mock(DeviceID.class);
+        Sensor sensor = mock(Sensor.class);
+        SensorID sensorID = mock(SensorID.class);
+        SensorFunctionalityID sensorFunctionalityID = mock(SensorFunctionalityID.class);
+        when(sensor.identity()).thenReturn(sensorID);
+        when(sensor.getSensorFunctionalityID()).thenReturn(sensorFunctionalityID);
+        when(sensorRepositoryDouble.findByDeviceID(deviceID)).thenReturn(List.of(sensor));
+        when(sensorFunctionalityRepositoryDouble.getUnitForSensorFunctionalityID(sensorFunctionalityID)).thenReturn("W");
+
+        List<InternalReadingDTO> readings = List.of(
+                new InternalReadingDTO(sensorID, "10", Timestamp.valueOf("2024-04-01 12:00:00"), null, null, null));
+
+        //Act + Assert
+        assertThrows(SensorFunctionalityNotListedException.class, () -> valueService.addReadingsToDevice(deviceID, readings));
+    }
+
+    /**
+     * Verify that the service cannot be created when a sensor functionality has a serviceRepoCall entry that does not
+     * match any value query.
+     */
+    @Test
+    void failToCreateServiceWithUnknownServiceRepoCall() {
+        //Arrange
+        SensorFunctionalityID sensorFunctionalityID = mock(SensorFunctionalityID.class);
+        stubSensorFunctionalities(sensorFunctionalityID);
+        when(sensorFunctionalityRepositoryDouble.getServiceMethodToCallForSensorFunctionalityID(sensorFunctionalityID)).thenReturn("listUnknownValuesForSensorID");
+
+        //Act + Assert
+        assertThrows(SensorFunctionalityNotListedException.class, () -> createValueService(Runnable::run));
+    }
+
+    /**
+     * Verify that getAllMeasurementsForDeviceBetweenPeriod throws a SensorFunctionalityNotListedException when a sensor's
+     * functionality is not in the SensorFunctionalityRepository.
+     */
+    @Test
+    void failToRetrieveReadingsForSensorWithUnlistedFunctionality() {
+        //Arrange
+        DeviceID deviceID = mock(DeviceID.class);
+        Sensor sensor = mock(Sensor.class);
+        when(sensor.getSensorFunctionalityID()).thenReturn(mock(SensorFunctionalityID.class));
+        when(sensorRepositoryDouble.findByDeviceID(deviceID)).thenReturn(List.of(sensor));
+        Timestamp start = new Timestamp(0);
+        Timestamp end = new Timestamp(1000);
+
+        //Act + Assert
+        assertThrows(SensorFunctionalityNotListedException.class,
+                () -> valueService.getAllMeasurementsForDeviceBetweenPeriod(deviceID, start, end));
+    }
+
+    /**
+     * Verify that streamMeasurementsOfSensorsBetweenPeriod hands every reading of every sensor found for the device to
+     * the consumer, read from the stream of the repository of its functionality, and closes each stream.
+     */
+    @Test
+    void successfullyStreamReadingsForDeviceID() {
+        //Arrange
+        DeviceID deviceID = mock(DeviceID.class);
+        SensorFunctionalityID instantFunctionalityID = mock(SensorFunctionalityID.class);
+        SensorFunctionalityID periodFunctionalityID = mock(SensorFunctionalityID.class);
+        Sensor instantSensor = mock(Sensor.class);
+        Sensor periodSensor = mock(Sensor.class);
+        SensorID instantSensorID = mock(SensorID.class);
+        SensorID periodSensorID = mock(SensorID.class);
+        when(instantSensor.identity()).thenReturn(instantSensorID);
+        when(periodSensor.identity()).thenReturn(periodSensorID);
+        when(instantSensor.getSensorFunctionalityID()).thenReturn(instantFunctionalityID);
+        when(periodSensor.getSensorFunctionalityID()).thenReturn(periodFunctionalityID);
+        when(sensorRepositoryDouble.findByDeviceID(deviceID)).thenReturn(List.of(instantSensor, periodSensor));
+        stubSensorFunctionalities(instantFunctionalityID, periodFunctionalityID);
+        when(sensorFunctionalityRepositoryDouble.getServiceMethodToCallForSensorFunctionalityID(instantFunctionalityID)).thenReturn("listInstantValuesForSensorID");
+        when(sensorFunctionalityRepositoryDouble.getServiceMethodToCallForSensorFunctionalityID(periodFunctionalityID)).thenReturn("listPeriodValuesForSensorID");
+
+        Timestamp start = new Timestamp(0);
+        Timestamp end = new Timestamp(1000);
+        Reading reading1 = mock(Reading.class);
+        Reading reading2 = mock(Reading.class);
+        Reading reading3 = mock(Reading.class);
+        Value value1 = mock(Value.class);
+        Value value2 = mock(Value.class);
+        Value value3 = mock(Value.class);
+        when(value1.getReading()).thenReturn(reading1);
+        when(value2.getReading()).thenReturn(reading2);
+        when(value3.getReading()).thenReturn(reading3);
+
+        List<String> closedStreams = new ArrayList<>();
+        when(instantValueRepositoryDouble.streamBySensorIdBetweenPeriodOfTime(instantSensorID, start, end))
+                .thenReturn(Stream.of(value1, value2).onClose(() -> closedStreams.add("instant")));
+        when(periodValueRepositoryDouble.streamBySensorIdBetweenPeriodOfTime(periodSensorID, start, end))
+                .thenReturn(Stream.of(value3).onClose(() -> closedStreams.add("period")));
+
+        ValueService streamingValueService = createValueService(Runnable::run);
+        List<SensorFunctionalityID> functionalities = new ArrayList<>();
+        List<Reading> readings = new ArrayList<>();
+
+        //Act
+        List<Sensor> sensors = streamingValueService.findStreamableSensorsOfDevice(deviceID);
+        streamingValueService.streamMeasurementsOfSensorsBetweenPeriod(sensors, start, end, (sensorFunctionalityID, reading) -> {
+            functionalities.add(sensorFunctionalityID);
+            readings.add(reading);
+        });
+
+        //Assert
+        assertEquals(List.of(instantFunctionalityID, instantFunctionalityID, periodFunctionalityID), functionalities);
+        assertEquals(List.of(reading1, reading2, reading3), readings);
+        assertEquals(List.of("instant", "period"), closedStreams);
+        verify(instantValueRepositoryDouble, never()).findBySensorIdBetweenPeriodOfTime(any(), any(), any());
+        verify(periodValueRepositoryDouble, never()).findBySensorIdBetweenPeriodOfTime(any(), any(), any());
+    }
+
+    /**
+     * Verify that findStreamableSensorsOfDevice throws a SensorFunctionalityNotListedException, before anything is
+     * streamed, when a sensor's functionality is not in the SensorFunctionalityRepository.
+     */
+    @Test
+    void failToStreamReadingsForSensorWithUnlistedFunctionality() {
+        //Arrange
+        DeviceID deviceID = mock(DeviceID.class);
+        SensorFunctionalityID listedFunctionalityID = mock(SensorFunctionalityID.class);
+        Sensor listedSensor = mock(Sensor.class);
+        Sensor unlistedSensor = mock(Sensor.class);
+        when(listedSensor.getSensorFunctionalityID()).thenReturn(listedFunctionalityID);
+        when(unlistedSensor.getSensorFunctionalityID()).thenReturn(mock(SensorFunctionalityID.class));
+        when(sensorRepositoryDouble.findByDeviceID(deviceID)).thenReturn(List.of(listedSensor, unlistedSensor));
+        stubSensorFunctionalities(listedFunctionalityID);
+        when(sensorFunctionalityRepositoryDouble.getServiceMethodToCallForSensorFunctionalityID(listedFunctionalityID)).thenReturn("listInstantValuesForSensorID");
+        ValueService streamingValueService = createValueService(Runnable::run);
+
+        //Act + Assert
+        assertThrows(SensorFunctionalityNotListedException.class,
+                () -> streamingValueService.findStreamableSensorsOfDevice(deviceID));
+        verify(instantValueRepositoryDouble, never()).streamBySensorIdBetweenPeriodOfTime(any(), any(), any());
+    }
+
+    /**
+     * Verify that getMeasurementsPageForDeviceBetweenPeriod merges the pages sought after the cursor from every sensor of
+     * the device by time, keeps the first limit readings, and returns the cursor of the last one as the next cursor.
+     * Each sensor is asked for one reading more than the limit.
+     */
+    @Test
+    void successfullyRetrievePageOfReadingsForDeviceID() {
+        //Arrange
+        DeviceID deviceID = mock(DeviceID.class);
+        SensorFunctionalityID temperatureID = new SensorFunctionalityID("Temperature");
+        SensorFunctionalityID powerID = new SensorFunctionalityID("Power");
+        SensorID temperatureSensorID = new SensorID("TemperatureSensor");
+        SensorID powerSensorID = new SensorID("PowerSensor");
+        Sensor temperatureSensor = mock(Sensor.class);
+        Sensor powerSensor = mock(Sensor.class);
+        when(temperatureSensor.identity()).thenReturn(temperatureSensorID);
+        when(powerSensor.identity()).thenReturn(powerSensorID);
+        when(temperatureSensor.getSensorFunctionalityID()).thenReturn(temperatureID);
+        when(powerSensor.getSensorFunctionalityID()).thenReturn(powerID);
+        when(sensorRepositoryDouble.findByDeviceID(deviceID)).thenReturn(List.of(temperatureSensor, powerSensor));
+        stubSensorFunctionalities(temperatureID, powerID);
+        when(sensorFunctionalityRepositoryDouble.getServiceMethodToCallForSensorFunctionalityID(temperatureID)).thenReturn("listInstantValuesForSensorID");
+        when(sensorFunctionalityRepositoryDouble.getServiceMethodToCallForSensorFunctionalityID(powerID)).thenReturn("listPeriodValuesForSensorID");
+
+        Timestamp start = Timestamp.valueOf("2024-04-01 00:00:00");
+        Timestamp end = Timestamp.valueOf("2024-04-02 00:00:00");
+        ValueCursor after = new ValueCursor(Timestamp.valueOf("2024-04-01 07:00:00"), new ValueID("Previous"));
+        ImpFactoryInstantTimeValue instantFactory = new ImpFactoryInstantTimeValue();
+        ImpFactoryPeriodTimeValue periodFactory = new ImpFactoryPeriodTimeValue();
+        Value temperature8h = instantFactory.createValue(new ValueID("T1"), temperatureSensorID, new Reading("20", "C"), Timestamp.valueOf("2024-04-01 08:00:00"));
+        Value temperature10h = instantFactory.createValue(new ValueID("T2"), temperatureSensorID, new Reading("21", "C"), Timestamp.valueOf("2024-04-01 10:00:00"));
+        Value power9h = periodFactory.createValue(new ValueID("P1"), powerSensorID, new Reading("10", "W"),
+                Timestamp.valueOf("2024-04-01 09:00:00"), Timestamp.valueOf("2024-04-01 09:15:00"));
+        Value power11h = periodFactory.createValue(new ValueID("P2"), powerSensorID, new Reading("11", "W"),
+                Timestamp.valueOf("2024-04-01 11:00:00"), Timestamp.valueOf("2024-04-01 11:15:00"));
+        when(instantValueRepositoryDouble.findPageBySensorIdBetweenPeriodOfTime(temperatureSensorID, start, end, after, 4))
+                .thenReturn(List.of(temperature8h, temperature10h));
+        when(periodValueRepositoryDouble.findPageBySensorIdBetweenPeriodOfTime(powerSensorID, start, end, after, 4))
+                .thenReturn(List.of(power9h, power11h));
+        ValueService pagingValueService = createValueService(Runnable::run);
+
+        //Act
+        InternalReadingPageDTO page = pagingValueService.getMeasurementsPageForDeviceBetweenPeriod(deviceID, start, end, after, 3);
+
+        //Assert
+        assertEquals(List.of(
+                        new InternalReadingPageDTO.PagedReading(temperatureID, temperature8h.getReading()),
+                        new InternalReadingPageDTO.PagedReading(powerID, power9h.getReading()),
+                        new InternalReadingPageDTO.PagedReading(temperatureID, temperature10h.getReading())),
+                page.readings);
+        assertEquals(ValueCursor.of(temperature10h), page.nextCursor);
+    }
+
+    /**
+     * Verify that the last page of getMeasurementsPageForDeviceBetweenPeriod has no next cursor.
+     */
+    @Test
+    void lastPageOfReadingsHasNoNextCursor() {
+        //Arrange
+        DeviceID deviceID = mock(DeviceID.class);
+        SensorFunctionalityID temperatureID = new SensorFunctionalityID("Temperature");
+        SensorID sensorID = new SensorID("TemperatureSensor");
+        Sensor sensor = mock(Sensor.class);
+        when(sensor.identity()).thenReturn(sensorID);
+        when(sensor.getSensorFunctionalityID()).thenReturn(temperatureID);
+        when(sensorRepositoryDouble.findByDeviceID(deviceID)).thenReturn(List.of(sensor));
+        stubSensorFunctionalities(temperatureID);
+        when(sensorFunctionalityRepositoryDouble.getServiceMethodToCallForSensorFunctionalityID(temperatureID)).thenReturn("listInstantValuesForSensorID");
+
+        Timestamp start = new Timestamp(0);
+        Timestamp end = new Timestamp(10000);
+        Value value = new ImpFactoryInstantTimeValue().createValue(sensorID, new Reading("20", "C"), new Timestamp(1000));
+        when(instantValueRepositoryDouble.findPageBySensorIdBetweenPeriodOfTime(sensorID, start, end, null, 3))
+                .thenReturn(List.of(value));
+        ValueService pagingValueService = createValueService(Runnable::run);
+
+        //Act
+        InternalReadingPageDTO page = pagingValueService.getMeasurementsPageForDeviceBetweenPeriod(deviceID, start, end, null, 2);
+
+        //Assert
+        assertEquals(List.of(new InternalReadingPageDTO.PagedReading(temperatureID, value.getReading())), page.readings);
+        assertNull(page.nextCursor);
+    }
+
+    /**
+     * Verify that getAllValuesForDeviceBetweenPeriod keeps the values of the sensors of a device, rather than only their
+     * readings, so their times are available to the caller, merging sensors of the same functionality.
+     */
+    @Test
+    void successfullyRetrieveValuesForDeviceID() {
+        //Arrange
+        DeviceID deviceID = mock(DeviceID.class);
+        SensorFunctionalityID temperatureID = new SensorFunctionalityID("Temperature");
+        SensorID firstSensorID = new SensorID("FirstSensor");
+        SensorID secondSensorID = new SensorID("SecondSensor");
+        Sensor firstSensor = mock(Sensor.class);
+        Sensor secondSensor = mock(Sensor.class);
+        when(firstSensor.identity()).thenReturn(firstSensorID);
+        when(secondSensor.identity()).thenReturn(secondSensorID);
+        when(firstSensor.getSensorFunctionalityID()).thenReturn(temperatureID);
+        when(secondSensor.getSensorFunctionalityID()).thenReturn(temperatureID);
+        when(sensorRepositoryDouble.findByDeviceID(deviceID)).thenReturn(List.of(firstSensor, secondSensor));
+        stubSensorFunctionalities(temperatureID);
+        when(sensorFunctionalityRepositoryDouble.getServiceMethodToCallForSensorFunctionalityID(temperatureID)).thenReturn("listInstantValuesForSensorID");
+
+        Timestamp start = new Timestamp(0);
+        Timestamp end = new Timestamp(10000);
+        ImpFactoryInstantTimeValue instantFactory = new ImpFactoryInstantTimeValue();
+        Value firstValue = instantFactory.createValue(firstSensorID, new Reading("20", "C"), new Timestamp(1000));
+        Value secondValue = instantFactory.createValue(secondSensorID, new Reading("21", "C"), new Timestamp(2000));
+        when(instantValueRepositoryDouble.findBySensorIdBetweenPeriodOfTime(firstSensorID, start, end)).thenReturn(List.of(firstValue));
+        when(instantValueRepositoryDouble.findBySensorIdBetweenPeriodOfTime(secondSensorID, start, end)).thenReturn(List.of(secondValue));
+        ValueService service = createValueService(Runnable::run);
+
+        //Act
+        Map<SensorFunctionalityID, List<Value>> result = service.getAllValuesForDeviceBetweenPeriod(deviceID, start, end);
+
+        //Assert
+        assertEquals(Map.of(temperatureID, List.of(firstValue, secondValue)), result);
+    }
+
+    /**
+     * Verify that getMeasurementsPageForDeviceBetweenPeriod rejects a limit outside 1 and MAX_PAGE_LIMIT.
+     */
+    @Test
+    void failToRetrievePageOfReadingsWithInvalidLimit() {
+        DeviceID deviceID = mock(DeviceID.class);
+        Timestamp start = new Timestamp(0);
+        Timestamp end = new Timestamp(1000);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> valueService.getMeasurementsPageForDeviceBetweenPeriod(deviceID, start, end, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> valueService.getMeasurementsPageForDeviceBetweenPeriod(deviceID, start, end, null, ValueService.MAX_PAGE_LIMIT + 1));
+    }
+
+    /**
+     * Verify that the range queries of the sensors of a device run concurrently on the executor, and that their results
+     * are merged by sensor functionality. Each query only returns once both have started, so the listing would never
+     * finish if they ran one after another.
+     */
+    @Test
+    void successfullyRetrieveReadingsConcurrently() throws InterruptedException {
+        //Arrange
+        DeviceID deviceID = mock(DeviceID.class);
+        SensorFunctionalityID sensorFunctionalityID = mock(SensorFunctionalityID.class);
+        Sensor sensor1 = mock(Sensor.class);
+        Sensor sensor2 = mock(Sensor.class);
+        SensorID sensorID1 = mock(SensorID.class);
+        SensorID sensorID2 = mock(SensorID.class);
+        when(sensor1.identity()).thenReturn(sensorID1);
+        when(sensor2.identity()).thenReturn(sensorID2);
+        when(sensor1.getSensorFunctionalityID()).thenReturn(sensorFunctionalityID);
+        when(sensor2.getSensorFunctionalityID()).thenReturn(sensorFunctionalityID);
+        when(sensorRepositoryDouble.findByDeviceID(deviceID)).thenReturn(List.of(sensor1, sensor2));
+        stubSensorFunctionalities(sensorFunctionalityID);
+        when(sensorFunctionalityRepositoryDouble.getServiceMethodToCallForSensorFunctionalityID(sensorFunctionalityID)).thenReturn("listInstantValuesForSensorID");
+
+        Timestamp start = new Timestamp(0);
+        Timestamp end = new Timestamp(1000);
+        Reading reading1 = mock(Reading.class);
+        Reading reading2 = mock(Reading.class);
+        Value value1 = mock(Value.class);
+        Value value2 = mock(Value.class);
+        when(value1.getReading()).thenReturn(reading1);
+        when(value2.getReading()).thenReturn(reading2);
+
+        CountDownLatch bothQueriesStarted = new CountDownLatch(2);
+        when(instantValueRepositoryDouble.findBySensorIdBetweenPeriodOfTime(sensorID1, start, end)).thenAnswer(invocation -> {
+            bothQueriesStarted.countDown();
+            bothQueriesStarted.await(5, TimeUnit.SECONDS);
+            return List.of(value1);
+        });
+        when(instantValueRepositoryDouble.findBySensorIdBetweenPeriodOfTime(sensorID2, start, end)).thenAnswer(invocation -> {
+            bothQueriesStarted.countDown();
+            bothQueriesStarted.await(5, TimeUnit.SECONDS);
+            return List.of(value2);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ValueService concurrentValueService = createValueService(executor);
+
+        //Act
+        Map<SensorFunctionalityID, List<Reading>> result = concurrentValueService.getAllMeasurementsForDeviceBetweenPeriod(deviceID, start, end);
+        executor.shutdown();
+
+        //Assert
+        assertEquals(0, bothQueriesStarted.getCount());
+        assertEquals(List.of(reading1, reading2), result.get(sensorFunctionalityID));
+    }
+
+    /**
+     * Verify that a listing records its wall-clock time, the sum of its range query times and the speedup between them.
+     */
+    @Test
+    void successfullyRecordListingMetrics() {
+        //Arrange
+        DeviceID deviceID = mock(DeviceID.class);
+        when(sensorRepositoryDouble.findByDeviceID(deviceID)).thenReturn(List.of());
+
+        //Act
+        valueService.getAllMeasurementsForDeviceBetweenPeriod(deviceID, new Timestamp(0), new Timestamp(1000));
+
+        //Assert
+        assertEquals(1, meterRegistry.get("smarthome.device.measurements.wall").timer().count());
+        assertEquals(1, meterRegistry.get("smarthome.device.measurements.queries.summed").timer().count());
+        assertEquals(1, meterRegistry.get("smarthome.device.measurements.speedup").summary().count());
+    }
+
+    /**
+     * Verify that an exception thrown by a range query reaches the caller unwrapped.
+     */
+    @Test
+    void rangeQueryExceptionIsRethrown() {
+        //Arrange
+        DeviceID deviceID = mock(DeviceID.class);
+        SensorFunctionalityID sensorFunctionalityID = mock(SensorFunctionalityID.class);
+        Sensor sensor = mock(Sensor.class);
+        SensorID sensorID = mock(SensorID.class);
+        when(sensor.identity()).thenReturn(sensorID);
+        when(sensor.getSensorFunctionalityID()).thenReturn(sensorFunctionalityID);
+        when(sensorRepositoryDouble.findByDeviceID(deviceID)).thenReturn(List.of(sensor));
+        stubSensorFunctionalities(sensorFunctionalityID);
+        when(sensorFunctionalityRepositoryDouble.getServiceMethodToCallForSensorFunctionalityID(sensorFunctionalityID)).thenReturn("listPeriodValuesForSensorID");
+        when(periodValueRepositoryDouble.findBySensorIdBetweenPeriodOfTime(any(), any(), any())).thenThrow(new IllegalArgumentException("Invalid period"));
+        ValueService service = createValueService(Runnable::run);
+        Timestamp start = new Timestamp(0);
+        Timestamp end = new Timestamp(1000);
+
+        //Act + Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> service.getAllMeasurementsForDeviceBetweenPeriod(deviceID, start, end));
+        assertEquals("Invalid period", exception.getMessage());
+    }
+}
@@ -12,17 +12,21 @@ import smarthome.domain.value.InstantTimeValue;
 import smarthome.domain.value.Value;
 import smarthome.domain.valueobjects.GPSCode;
 import smarthome.domain.valueobjects.Location;
+import smarthome.domain.gateway.AsyncWeatherAPIGateway;
 import smarthome.domain.gateway.WeatherAPIGateway;
 import smarthome.domain.valueobjects.Reading;
 import smarthome.domain.valueobjects.SensorID;
 import smarthome.service.internaldto.InstTemperatureDTO;
 import smarthome.persistence.repositoriesmem.InstantTimeValueRepository;
 import smarthome.service.internaldto.SunriseSunsetDTO;
+import smarthome.util.GeneralProperties;
+import smarthome.util.GeneralPropertiesProvider;
 
 import java.sql.Timestamp;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,6 +43,12 @@ public class WeatherAPIServiceTest {
     @MockBean
     private WeatherAPIGateway weatherAPIGateway;
 
+    /**
+     * Mocked non-blocking gateway for interacting with the Weather API.
+     */
+    @MockBean
+    private AsyncWeatherAPIGateway asyncWeatherAPIGateway;
+
     /**
      * Mocked repository for managing house data.
      */
@@ -51,6 +61,12 @@ public class WeatherAPIServiceTest {
     @MockBean
     private InstantTimeValueRepository valueRepository;
 
+    /**
+     * Mocked provider of the general properties.
+     */
+    @MockBean
+    private GeneralPropertiesProvider generalPropertiesProvider;
+
     /**
      * Service under test, which uses the mocked dependencies.
      */
@@ -63,6 +79,8 @@ public class WeatherAPIServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(generalPropertiesProvider.current()).thenReturn(
+                new GeneralProperties(300000, "Grid Power Meter", 900000, "http://localhost:8080", 5));
     }
 
     /**
@@ -193,15 +211,15 @@ public class WeatherAPIServiceTest {
 
         when(value1.getInstantTimeReading()).thenReturn(Timestamp.valueOf("2023-06-01 10:00:00"));
         when(value1.getReading()).thenReturn(reading1);
-        when(reading1.getMeasurement()).thenReturn("25.0");
+        when(reading1.getNumericMeasurement()).thenReturn(25.0);
         when(value2.getInstantTimeReading()).thenReturn(Timestamp.valueOf("2023-06-01 14:00:00"));
         when(value2.getReading()).thenReturn(reading2);
-        when(reading2.getMeasurement()).thenReturn("20.0");
+        when(reading2.getNumericMeasurement()).thenReturn(20.0);
         List<Value> insideValues = Arrays.asList(value1, value2);
 
         when(valueRepository.findBySensorId(insideSensorID)).thenReturn(insideValues);
-        when(weatherAPIGateway.getInstantaneousTemperature(5, latitude, longitude, 10)).thenReturn(instTemperatureDTO1);
-        when(weatherAPIGateway.getInstantaneousTemperature(5, latitude, longitude, 14)).thenReturn(instTemperatureDTO2);
+        when(asyncWeatherAPIGateway.getInstantaneousTemperatureAsync(5, latitude, longitude, 10)).thenReturn(CompletableFuture.completedFuture(instTemperatureDTO1));
+        when(asyncWeatherAPIGateway.getInstantaneousTemperatureAsync(5, latitude, longitude, 14)).thenReturn(CompletableFuture.completedFuture(instTemperatureDTO2));
 
         double maxDifference = weatherAPIService.getMaxTemperatureDifferenceWithWeatherService(insideSensorID, startTime, endTime);
 
@@ -222,7 +240,7 @@ public class WeatherAPIServiceTest {
 
         when(value1.getInstantTimeReading()).thenReturn(Timestamp.valueOf("2023-05-25 10:20:00"));
         when(value1.getReading()).thenReturn(reading1);
-        when(reading1.getMeasurement()).thenReturn("25.0");
+        when(reading1.getNumericMeasurement()).thenReturn(25.0);
 
         List<Value> insideValues = Collections.singletonList(value1);
 
@@ -247,7 +265,7 @@ public class WeatherAPIServiceTest {
 
         when(value1.getInstantTimeReading()).thenReturn(Timestamp.valueOf("2023-07-25 10:20:00"));
         when(value1.getReading()).thenReturn(reading1);
-        when(reading1.getMeasurement()).thenReturn("25.0");
+        when(reading1.getNumericMeasurement()).thenReturn(25.0);
 
         List<Value> insideValues = Collections.singletonList(value1);
 
@@ -284,12 +302,12 @@ public class WeatherAPIServiceTest {
 
         when(value1.getInstantTimeReading()).thenReturn(Timestamp.valueOf("2023-06-01 10:20:00"));
         when(value1.getReading()).thenReturn(reading1);
-        when(reading1.getMeasurement()).thenReturn("25.0");
+        when(reading1.getNumericMeasurement()).thenReturn(25.0);
 
         List<Value> insideValues = Collections.singletonList(value1);
 
         when(valueRepository.findBySensorId(insideSensorID)).thenReturn(insideValues);
-        when(weatherAPIGateway.getInstantaneousTemperature(5, latitude, longitude, 10)).thenReturn(instTemperatureDTO);
+        when(asyncWeatherAPIGateway.getInstantaneousTemperatureAsync(5, latitude, longitude, 10)).thenReturn(CompletableFuture.completedFuture(instTemperatureDTO));
 
 
         double maxDifference = weatherAPIService.getMaxTemperatureDifferenceWithWeatherService(insideSensorID, startTime, endTime);
@@ -330,23 +348,29 @@ public class WeatherAPIServiceTest {
 
         when(value1.getInstantTimeReading()).thenReturn(Timestamp.valueOf("2023-06-01 00:00:00"));
         when(value1.getReading()).thenReturn(reading1);
-        when(reading1.getMeasurement()).thenReturn("25.0");
+        when(reading1.getNumericMeasurement()).thenReturn(25.0);
         when(value2.getInstantTimeReading()).thenReturn(Timestamp.valueOf("2023-06-01 14:45:00"));
         when(value2.getReading()).thenReturn(reading2);
-        when(reading2.getMeasurement()).thenReturn("18.0");
+        when(reading2.getNumericMeasurement()).thenReturn(18.0);
         when(value3.getInstantTimeReading()).thenReturn(Timestamp.valueOf("2023-06-01 23:59:59"));
         when(value3.getReading()).thenReturn(reading3);
-        when(reading3.getMeasurement()).thenReturn("25.0");
+        when(reading3.getNumericMeasurement()).thenReturn(25.0);
 
         List<Value> insideValues = Arrays.asList(value1, value2, value3);
 
         when(valueRepository.findBySensorId(insideSensorID)).thenReturn(insideValues);
-        when(weatherAPIGateway.getInstantaneousTemperature(5, latitude, longitude, 0)).thenReturn(instTemperatureDTO1);
-        when(weatherAPIGateway.getInstantaneousTemperature(5, latitude, longitude, 15)).thenReturn(instTemperatureDTO2);
+        when(asyncWeatherAPIGateway.getInstantaneousTemperatureAsync(5, latitude, longitude, 0)).thenReturn(CompletableFuture.completedFuture(instTemperatureDTO1));
+        when(asyncWeatherAPIGateway.getInstantaneousTemperatureAsync(5, latitude, longitude, 15)).thenReturn(CompletableFuture.completedFuture(instTemperatureDTO2));
 
         double maxDifference = weatherAPIService.getMaxTemperatureDifferenceWithWeatherService(insideSensorID, startTime, endTime);
 
         assertEquals(20.0, maxDifference, 0.01);
+        // The house location is defined once for all readings
+        verify(houseRepository, times(1)).findAllEntities();
+        // Both readings matched to hour 0 share one request; the reading outside the tolerance requests nothing
+        verify(asyncWeatherAPIGateway, times(1)).getInstantaneousTemperatureAsync(5, latitude, longitude, 0);
+        verify(asyncWeatherAPIGateway, never()).getInstantaneousTemperatureAsync(5, latitude, longitude, 15);
+        verifyNoInteractions(weatherAPIGateway);
     }
 
     /**
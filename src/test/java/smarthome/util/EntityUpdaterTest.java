@@ -7,6 +7,8 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 import static org.mockito.Mockito.*;
 
+import java.util.List;
+
 /**
  * Test class for EntityUpdater.
  */
@@ -122,4 +124,67 @@ class EntityUpdaterTest {
         // Assert the result
         assertFalse(result);
     }
+
+    /**
+     * Test case for the persistEntities method, persisting all entities in one transaction and flushing every interval.
+     */
+    @Test
+    void persistEntitiesSuccess() {
+        // Mock EntityManager and EntityTransaction
+        EntityManager entityManager = mock(EntityManager.class);
+        EntityTransaction transaction = mock(EntityTransaction.class);
+        when(entityManager.getTransaction()).thenReturn(transaction);
+
+        // Create five entities to persist, flushing every two
+        List<Object> entities = List.of(new Object(), new Object(), new Object(), new Object(), new Object());
+
+        EntityUpdater entityUpdater = new EntityUpdater();
+
+        boolean result = entityUpdater.persistEntities(entities, entityManager, 2);
+
+        // One transaction for the whole batch, two intermediate flushes
+        verify(transaction, times(1)).begin();
+        verify(entityManager, times(5)).persist(any());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(transaction, times(1)).commit();
+        verify(entityManager, never()).close();
+
+        assertTrue(result);
+    }
+
+    /**
+     * Test case for the persistEntities method when persisting one of the entities fails.
+     */
+    @Test
+    void persistEntitiesFailureRollsBackBatch() {
+        EntityManager entityManager = mock(EntityManager.class);
+        EntityTransaction transaction = mock(EntityTransaction.class);
+        when(entityManager.getTransaction()).thenReturn(transaction);
+        when(transaction.isActive()).thenReturn(true);
+
+        Object failingEntity = new Object();
+        doThrow(new RuntimeException()).when(entityManager).persist(failingEntity);
+
+        EntityUpdater entityUpdater = new EntityUpdater();
+
+        boolean result = entityUpdater.persistEntities(List.of(new Object(), failingEntity), entityManager, 10);
+
+        verify(transaction).rollback();
+        verify(transaction, never()).commit();
+        assertFalse(result);
+    }
+
+    /**
+     * Test case for the persistEntities method with invalid arguments.
+     */
+    @Test
+    void persistEntitiesInvalidArguments() {
+        EntityManager entityManager = mock(EntityManager.class);
+        EntityUpdater entityUpdater = new EntityUpdater();
+
+        assertFalse(entityUpdater.persistEntities(List.of(new Object()), null, 10));
+        assertFalse(entityUpdater.persistEntities(null, entityManager, 10));
+        assertFalse(entityUpdater.persistEntities(List.of(new Object()), entityManager, 0));
+    }
 }
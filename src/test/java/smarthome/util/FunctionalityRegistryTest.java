@@ -0,0 +1,118 @@
+package smarthome.util;
+
+import org.junit.jupiter.api.Test;
+import smarthome.domain.valueobjects.ActuatorFunctionalityID;
+import smarthome.domain.valueobjects.SensorFunctionalityID;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FunctionalityRegistryTest {
+
+    private static final String CONFIG_PROPERTIES = "config/config.properties";
+
+    /**
+     * Builds a PropertyLoader that counts how many times a file is opened.
+     */
+    private static PropertyLoader countingPropertyLoader(AtomicInteger reads) {
+        return new PropertyLoader() {
+            @Override
+            public BufferedReader getBufferedReader(String filePath) throws IOException {
+                reads.incrementAndGet();
+                return super.getBufferedReader(filePath);
+            }
+        };
+    }
+
+    @Test
+    void shouldResolveSensorFunctionalityFromConfig() {
+        // Arrange
+        FunctionalityRegistry registry = FunctionalityRegistry.from(new ConfigScraper(CONFIG_PROPERTIES, new PropertyLoader()));
+        SensorFunctionalityID humidity = new SensorFunctionalityID("HumidityPercentage");
+
+        // Act + Assert
+        assertEquals("smarthome.domain.sensor.HumidityPercentageSensor", registry.getClassNameForSensorFunctionalityID(humidity));
+    }
+
+    @Test
+    void shouldResolveActuatorFunctionalityFromConfig() {
+        // Arrange
+        FunctionalityRegistry registry = FunctionalityRegistry.from(new ConfigScraper(CONFIG_PROPERTIES, new PropertyLoader()));
+
+        // Act
+        String className = registry.getClassNameForActuatorFunctionalityID(new ActuatorFunctionalityID("BlindSetter"));
+
+        // Assert
+        assertEquals("smarthome.domain.actuators.BlindSetterActuator", className);
+    }
+
+    @Test
+    void shouldReturnNullForUnknownFunctionalities() {
+        // Arrange
+        FunctionalityRegistry registry = new FunctionalityRegistry(Map.of(), Map.of());
+        SensorFunctionalityID unknownSensor = new SensorFunctionalityID("Unknown");
+
+        // Act + Assert
+        assertNull(registry.getClassNameForSensorFunctionalityID(unknownSensor));
+        assertNull(registry.getClassNameForActuatorFunctionalityID(new ActuatorFunctionalityID("Unknown")));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenMapsAreNull() {
+        assertThrows(IllegalArgumentException.class, () -> new FunctionalityRegistry(null, Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> new FunctionalityRegistry(Map.of(), null));
+    }
+
+    @Test
+    void shouldNotBeAffectedByChangesToSourceMaps() {
+        // Arrange
+        Map<ActuatorFunctionalityID, String> actuatorClassNames = new HashMap<>();
+        actuatorClassNames.put(new ActuatorFunctionalityID("Switch"), "smarthome.domain.actuators.SwitchActuator");
+        FunctionalityRegistry registry = new FunctionalityRegistry(Map.of(), actuatorClassNames);
+
+        // Act
+        actuatorClassNames.clear();
+
+        // Assert
+        assertEquals("smarthome.domain.actuators.SwitchActuator",
+                registry.getClassNameForActuatorFunctionalityID(new ActuatorFunctionalityID("Switch")));
+    }
+
+    @Test
+    void shouldReadConfigOnlyWhileBuilding() {
+        // Arrange
+        AtomicInteger reads = new AtomicInteger();
+        FunctionalityRegistry registry = FunctionalityRegistry.from(new ConfigScraper(CONFIG_PROPERTIES, countingPropertyLoader(reads)));
+        int readsWhileBuilding = reads.get();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            registry.getClassNameForSensorFunctionalityID(new SensorFunctionalityID("TemperatureCelsius"));
+            registry.getClassNameForActuatorFunctionalityID(new ActuatorFunctionalityID("Switch"));
+        }
+
+        // Assert
+        assertTrue(readsWhileBuilding > 0);
+        assertEquals(readsWhileBuilding, reads.get());
+    }
+
+    @Test
+    void shouldListRegisteredClassNames() {
+        // Arrange
+        FunctionalityRegistry registry = FunctionalityRegistry.from(new ConfigScraper(CONFIG_PROPERTIES, new PropertyLoader()));
+
+        // Act + Assert
+        assertTrue(registry.getSensorClassNames().contains("smarthome.domain.sensor.TemperatureCelsiusSensor"));
+        assertEquals(4, registry.getActuatorClassNames().size());
+    }
+
+    @Test
+    void shouldShareOneInstance() {
+        assertSame(FunctionalityRegistry.getInstance(), FunctionalityRegistry.getInstance());
+    }
+}
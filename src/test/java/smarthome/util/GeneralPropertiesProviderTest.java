@@ -0,0 +1,127 @@
+package smarthome.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneralPropertiesProviderTest {
+
+    private static GeneralProperties generalPropertiesWithTolerance(long tolerance) {
+        return new GeneralProperties(tolerance, "Grid Power Meter", 900000, "http://localhost:8080", 5);
+    }
+
+    /**
+     * The snapshot is loaded once on construction and kept until reloaded.
+     */
+    @Test
+    void currentLoadsSnapshotOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        GeneralPropertiesProvider provider = new GeneralPropertiesProvider(() -> {
+            loads.incrementAndGet();
+            return generalPropertiesWithTolerance(300000);
+        });
+
+        GeneralProperties first = provider.current();
+        GeneralProperties second = provider.current();
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    /**
+     * Construction fails if the first snapshot cannot be parsed.
+     */
+    @Test
+    void failConstructionInvalidProperties() {
+        assertThrows(IllegalArgumentException.class, () -> new GeneralPropertiesProvider(() -> {
+            throw new IllegalArgumentException("Property tolerance is missing.");
+        }));
+    }
+
+    /**
+     * Reloading swaps in a new snapshot.
+     */
+    @Test
+    void reloadSwapsSnapshot() {
+        Deque<GeneralProperties> snapshots = new ArrayDeque<>();
+        snapshots.add(generalPropertiesWithTolerance(300000));
+        snapshots.add(generalPropertiesWithTolerance(60000));
+        GeneralPropertiesProvider provider = new GeneralPropertiesProvider(snapshots::poll);
+
+        boolean reloaded = provider.reload();
+
+        assertTrue(reloaded);
+        assertEquals(60000, provider.current().getTolerance());
+    }
+
+    /**
+     * Reloading keeps the current snapshot if the new one cannot be parsed.
+     */
+    @Test
+    void reloadKeepsSnapshotWhenInvalid() {
+        AtomicInteger loads = new AtomicInteger();
+        GeneralPropertiesProvider provider = new GeneralPropertiesProvider(() -> {
+            if (loads.incrementAndGet() > 1)
+                throw new IllegalArgumentException("Property tolerance is missing.");
+            return generalPropertiesWithTolerance(300000);
+        });
+        GeneralProperties before = provider.current();
+
+        boolean reloaded = provider.reload();
+
+        assertFalse(reloaded);
+        assertSame(before, provider.current());
+    }
+
+    /**
+     * Watching a file reloads the snapshot when the file is modified.
+     */
+    @Test
+    void watchReloadsSnapshotWhenFileChanges(@TempDir Path directory) throws IOException, InterruptedException {
+        Path file = directory.resolve("general.properties");
+        Files.writeString(file, "300000");
+        GeneralPropertiesProvider provider = new GeneralPropertiesProvider(() -> {
+            try {
+                return generalPropertiesWithTolerance(Long.parseLong(Files.readString(file).trim()));
+            } catch (IOException exception) {
+                throw new IllegalArgumentException(exception.getMessage());
+            }
+        });
+
+        try (provider) {
+            provider.watch(file);
+            Files.writeString(file, "60000");
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (provider.current().getTolerance() != 60000 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+        }
+
+        assertEquals(60000, provider.current().getTolerance());
+    }
+
+    /**
+     * Watching fails if the file is already being watched.
+     */
+    @Test
+    void failWatchTwice(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("general.properties");
+        Files.writeString(file, "300000");
+
+        try (GeneralPropertiesProvider provider = new GeneralPropertiesProvider(() -> generalPropertiesWithTolerance(300000))) {
+            provider.watch(file);
+
+            assertThrows(IllegalStateException.class, () -> provider.watch(file));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package smarthome.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GeneralPropertiesTest {
+    private static final String GENERAL_FILE_PATH = "config/general.properties";
+
+    /**
+     * Successful parsing of config/general.properties into a snapshot.
+     */
+    @Test
+    void successfulFromGeneralPropertiesFile() {
+        ConfigScraper configScraper = new ConfigScraper(GENERAL_FILE_PATH, new PropertyLoader());
+
+        GeneralProperties generalProperties = GeneralProperties.from(configScraper);
+
+        assertEquals(300000, generalProperties.getTolerance());
+        assertEquals("Grid Power Meter", generalProperties.getGridPowerMeterID());
+        assertEquals(900000, generalProperties.getGridPowerMeterCadence());
+        assertEquals("http://10.9.24.170:8080", generalProperties.getWeatherServiceAPIHTTPURL());
+        assertEquals(5, generalProperties.getGroupNumber());
+    }
+
+    /**
+     * Fail parsing when a numeric property is missing.
+     */
+    @Test
+    void failFromMissingProperty() {
+        ConfigScraper configScraper = mock(ConfigScraper.class);
+        when(configScraper.loadTolerance()).thenReturn(null);
+        when(configScraper.loadGridPowerMeterID()).thenReturn("Grid Power Meter");
+        when(configScraper.loadGridPowerMeterCadence()).thenReturn("900000");
+        when(configScraper.loadWeatherServicesAPIHTTPURL()).thenReturn("http://localhost:8080");
+        when(configScraper.loadGroupNumber()).thenReturn("5");
+
+        assertThrows(IllegalArgumentException.class, () -> GeneralProperties.from(configScraper));
+    }
+
+    /**
+     * Fail parsing when a numeric property is not a number.
+     */
+    @Test
+    void failFromPropertyNotANumber() {
+        ConfigScraper configScraper = mock(ConfigScraper.class);
+        when(configScraper.loadTolerance()).thenReturn("300000");
+        when(configScraper.loadGridPowerMeterID()).thenReturn("Grid Power Meter");
+        when(configScraper.loadGridPowerMeterCadence()).thenReturn("15 minutes");
+        when(configScraper.loadWeatherServicesAPIHTTPURL()).thenReturn("http://localhost:8080");
+        when(configScraper.loadGroupNumber()).thenReturn("5");
+
+        assertThrows(IllegalArgumentException.class, () -> GeneralProperties.from(configScraper));
+    }
+
+    /**
+     * Fail construction when the Grid Power Meter ID is empty.
+     */
+    @Test
+    void failConstructionEmptyGridPowerMeterID() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new GeneralProperties(300000, "", 900000, "http://localhost:8080", 5));
+    }
+
+    /**
+     * Fail construction when the WeatherServicesAPI HTTP URL is null.
+     */
+    @Test
+    void failConstructionNullWeatherServiceAPIHTTPURL() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new GeneralProperties(300000, "Grid Power Meter", 900000, null, 5));
+    }
+}
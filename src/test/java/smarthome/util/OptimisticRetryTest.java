@@ -0,0 +1,86 @@
+package smarthome.util;
+
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.RollbackException;
+import org.hibernate.StaleObjectStateException;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import smarthome.util.exceptions.ConcurrentUpdateException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for OptimisticRetry.
+ */
+class OptimisticRetryTest {
+
+    /**
+     * An attempt that does not conflict runs once and its result is returned.
+     */
+    @Test
+    void attemptWithoutConflictRunsOnce() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertEquals("updated", OptimisticRetry.retryOnConflict(() -> {
+            attempts.incrementAndGet();
+            return "updated";
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    /**
+     * An attempt that conflicts runs again until it does not conflict.
+     */
+    @Test
+    void conflictingAttemptRunsAgain() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertEquals("updated", OptimisticRetry.retryOnConflict(() -> {
+            if (attempts.incrementAndGet() < 3)
+                throw new ObjectOptimisticLockingFailureException(Object.class, "id");
+            return "updated";
+        }));
+        assertEquals(3, attempts.get());
+    }
+
+    /**
+     * An attempt that keeps conflicting gives up after the maximum number of attempts.
+     */
+    @Test
+    void attemptThatKeepsConflictingGivesUp() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ConcurrentUpdateException.class, () -> OptimisticRetry.retryOnConflict(() -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Object.class, "id");
+        }));
+        assertEquals(OptimisticRetry.MAX_ATTEMPTS, attempts.get());
+    }
+
+    /**
+     * An exception that does not report a conflict is thrown at once, without running the attempt again.
+     */
+    @Test
+    void otherExceptionIsNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> OptimisticRetry.retryOnConflict(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Write failed");
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    /**
+     * A conflict is recognised from Spring, JPA and Hibernate exceptions, also when wrapped in another exception.
+     */
+    @Test
+    void conflictIsRecognisedInCauseChain() {
+        assertTrue(OptimisticRetry.isConflict(new ObjectOptimisticLockingFailureException(Object.class, "id")));
+        assertTrue(OptimisticRetry.isConflict(new RollbackException(new OptimisticLockException())));
+        assertTrue(OptimisticRetry.isConflict(new RuntimeException(new StaleObjectStateException("Entity", "id"))));
+        assertFalse(OptimisticRetry.isConflict(new RuntimeException(new IllegalStateException())));
+    }
+}
@@ -0,0 +1,81 @@
+package smarthome.util.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import smarthome.domain.repository.*;
+import smarthome.domain.valueobjects.DeviceID;
+import smarthome.persistence.cache.*;
+
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for verifying that the topology repositories are served through their caches when
+ * smarthome.topology.cache.enabled is set, in front of the repositories of the active profile.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TopologyCacheConfigTest {
+
+    /**
+     * The application context used for retrieving the repository beans.
+     */
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    /**
+     * The registry the cache metrics are published to.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Test that the primary topology repositories are the caching ones.
+     */
+    @Test
+    void topologyRepositoriesAreCached() {
+        assertInstanceOf(CachingHouseRepository.class, applicationContext.getBean(HouseRepository.class));
+        assertInstanceOf(CachingRoomRepository.class, applicationContext.getBean(RoomRepository.class));
+        assertInstanceOf(CachingDeviceRepository.class, applicationContext.getBean(DeviceRepository.class));
+        assertInstanceOf(CachingSensorRepository.class, applicationContext.getBean(SensorRepository.class));
+        assertInstanceOf(CachingActuatorRepository.class, applicationContext.getBean(ActuatorRepository.class));
+        assertInstanceOf(CachingTopologyRepository.class, applicationContext.getBean(TopologyRepository.class));
+    }
+
+    /**
+     * Test that the cached topology projection is reused until a device is written. The written device does not
+     * exist, so the update leaves the repository unchanged but still clears the caches.
+     */
+    @Test
+    void topologyProjectionIsClearedByDeviceWrites() {
+        TopologyRepository topologyRepository = applicationContext.getBean(TopologyRepository.class);
+        DeviceRepository deviceRepository = applicationContext.getBean(DeviceRepository.class);
+
+        Iterable<TopologyRepository.FunctionalityLocation> locations = topologyRepository.findFunctionalityLocations();
+        assertSame(locations, topologyRepository.findFunctionalityLocations());
+
+        deviceRepository.update(new DeviceID("TopologyCacheDevice"), UnaryOperator.identity());
+        assertNotSame(locations, topologyRepository.findFunctionalityLocations());
+    }
+
+    /**
+     * Test that repeated reads of a repository are counted as cache hits.
+     */
+    @Test
+    void repeatedReadsAreCountedAsHits() {
+        DeviceRepository deviceRepository = applicationContext.getBean(DeviceRepository.class);
+        double hitsBefore = meterRegistry.get("smarthome.topology.cache.requests")
+                .tag("repository", "device").tag("result", "hit").counter().count();
+
+        deviceRepository.findAllEntities();
+        deviceRepository.findAllEntities();
+
+        assertTrue(meterRegistry.get("smarthome.topology.cache.requests")
+                .tag("repository", "device").tag("result", "hit").counter().count() > hitsBefore);
+    }
+}
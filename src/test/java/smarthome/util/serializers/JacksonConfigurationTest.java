@@ -1,18 +1,28 @@
 package smarthome.util.serializers;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import smarthome.mapper.ActuatorFunctionalityDTO;
 import smarthome.mapper.DeviceDTO;
+import smarthome.mapper.ReadingDTO;
 import smarthome.mapper.RoomDTO;
 import smarthome.mapper.SensorFunctionalityDTO;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -37,6 +47,13 @@ public class JacksonConfigurationTest {
     @Autowired
     private MappingJackson2HttpMessageConverter converter;
 
+    /**
+     * The MappingJackson2CborHttpMessageConverter instance configured by JacksonConfiguration.
+     * This converter is expected to write CBOR with the same custom serializers as the JSON ObjectMapper.
+     */
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
     /**
      * Configuration class for using JacksonConfiguration in SpringBootTest.
      */
@@ -111,5 +128,26 @@ public class JacksonConfigurationTest {
         // Verify default charset is UTF-8
         assertEquals(StandardCharsets.UTF_8, converter.getDefaultCharset());
     }
-}
 
+    /**
+     * Tests that the CBOR converter writes maps keyed by DTOs with the custom key serializers, like the JSON ObjectMapper,
+     * and that the same content takes fewer bytes in CBOR than in JSON.
+     */
+    @Test
+    public void testMappingJackson2CborHttpMessageConverterConfiguration() throws IOException {
+        assertInstanceOf(CBORMapper.class, cborConverter.getObjectMapper());
+        assertTrue(cborConverter.canWrite(HashMap.class, MediaType.APPLICATION_CBOR));
+
+        Map<SensorFunctionalityDTO, List<ReadingDTO>> measurements = new LinkedHashMap<>();
+        measurements.put(new SensorFunctionalityDTO("TemperatureCelsius"), List.of(new ReadingDTO("20 C"), new ReadingDTO("21 C")));
+        measurements.put(new SensorFunctionalityDTO("PowerConsumption"), List.of(new ReadingDTO("10 W")));
+
+        byte[] cbor = cborConverter.getObjectMapper().writeValueAsBytes(measurements);
+        byte[] json = objectMapper.writeValueAsBytes(measurements);
+
+        JsonNode fromCbor = cborConverter.getObjectMapper().readTree(cbor);
+        assertEquals(objectMapper.readTree(json), fromCbor);
+        assertEquals("20 C", fromCbor.get("TemperatureCelsius").get(0).get("valueWithUnit").asText());
+        assertTrue(cbor.length < json.length);
+    }
+}
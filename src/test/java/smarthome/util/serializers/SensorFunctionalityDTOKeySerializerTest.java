@@ -1,12 +1,16 @@
 package smarthome.util.serializers;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import smarthome.mapper.SensorFunctionalityDTO;
 
 import java.io.IOException;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -33,4 +37,24 @@ class SensorFunctionalityDTOKeySerializerTest {
         // Assert
         verify(gen).writeFieldName("TestSensorFunctionality");
     }
+
+    /**
+     * Tests that the serializer writes the sensor functionality name as a map key in CBOR as it does in JSON.
+     *
+     * @throws IOException if an I/O error occurs during the test.
+     */
+    @Test
+    void testSerializeAsCborKey() throws IOException {
+        // Arrange
+        SimpleModule module = new SimpleModule();
+        module.addKeySerializer(SensorFunctionalityDTO.class, new SensorFunctionalityDTOKeySerializer());
+        CBORMapper cborMapper = new CBORMapper();
+        cborMapper.registerModule(module);
+
+        // Act
+        byte[] cbor = cborMapper.writeValueAsBytes(Map.of(new SensorFunctionalityDTO("TestSensorFunctionality"), 1));
+
+        // Assert
+        assertEquals(1, cborMapper.readTree(cbor).get("TestSensorFunctionality").asInt());
+    }
 }
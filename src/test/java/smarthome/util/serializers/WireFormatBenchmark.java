@@ -0,0 +1,105 @@
+package smarthome.util.serializers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import smarthome.domain.value.ImpFactoryInstantTimeValue;
+import smarthome.domain.value.Value;
+import smarthome.domain.valueobjects.Reading;
+import smarthome.domain.valueobjects.SensorFunctionalityID;
+import smarthome.domain.valueobjects.SensorID;
+import smarthome.mapper.ColumnarSeriesDTO;
+import smarthome.mapper.ReadingDTO;
+import smarthome.mapper.ReadingMapperDTO;
+import smarthome.mapper.SensorFunctionalityDTO;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the serialization of the readings of a device in a period, in the row shape (a reading DTO per
+ * reading, keyed by sensor functionality) and in the columnar shape, each as JSON and as CBOR, with the mappers
+ * configured by JacksonConfiguration. The payload size of each combination is printed once per trial.
+ * Run with: mvn test-compile exec:exec -Pbenchmark -Dbenchmark=WireFormatBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+public class WireFormatBenchmark {
+
+    private static final long INTERVAL = 60_000L;
+
+    /**
+     * Number of readings of the device, one a minute.
+     */
+    @Param({"1440", "43200"})
+    private int readings;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private Map<SensorFunctionalityDTO, List<ReadingDTO>> rows;
+    private List<ColumnarSeriesDTO> columns;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        JacksonConfiguration configuration = new JacksonConfiguration();
+        jsonMapper = configuration.objectMapper();
+        cborMapper = configuration.mappingJackson2CborHttpMessageConverter().getObjectMapper();
+
+        Random random = new Random(42);
+        SensorID sensorID = new SensorID("TemperatureSensor");
+        ImpFactoryInstantTimeValue factory = new ImpFactoryInstantTimeValue();
+        long first = Timestamp.valueOf("2024-01-01 00:00:00").getTime();
+        List<Value> values = new ArrayList<>(readings);
+        List<Reading> readingList = new ArrayList<>(readings);
+        for (int i = 0; i < readings; i++) {
+            String measurement = String.valueOf(Math.round((15 + random.nextDouble() * 10) * 10) / 10.0);
+            Reading reading = new Reading(measurement, "C");
+            readingList.add(reading);
+            values.add(factory.createValue(sensorID, reading, new Timestamp(first + i * INTERVAL)));
+        }
+
+        ReadingMapperDTO mapper = new ReadingMapperDTO();
+        rows = Map.of(new SensorFunctionalityDTO("TemperatureCelsius"), mapper.readingsToDTOList(readingList));
+        columns = mapper.valuesToColumnarSeriesDTOList(Map.of(new SensorFunctionalityID("TemperatureCelsius"), values));
+
+        System.out.printf("%n%d readings: json rows %d B, cbor rows %d B, json columnar %d B, cbor columnar %d B%n",
+                readings, jsonRows().length, cborRows().length, jsonColumnar().length, cborColumnar().length);
+    }
+
+    @Benchmark
+    public byte[] jsonRows() throws JsonProcessingException {
+        return jsonMapper.writeValueAsBytes(rows);
+    }
+
+    @Benchmark
+    public byte[] cborRows() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(rows);
+    }
+
+    @Benchmark
+    public byte[] jsonColumnar() throws JsonProcessingException {
+        return jsonMapper.writeValueAsBytes(columns);
+    }
+
+    @Benchmark
+    public byte[] cborColumnar() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(columns);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WireFormatBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}